@@ -31,7 +31,7 @@ public class GenerateJavaCode32 extends GenerateCode32 {
     public GenerateJavaCode32() {
         super("java",new ConvertFile32From64(false));
 
-        String[] sufficeRoot = new String[]{"DRM","DMA","DRB","SCC","STL","DF2","DF3","DF4","DF5","DF6","TRIPLET"};
+        String[] sufficeRoot = new String[]{"DRM","DMA","DRB","SCC","SCR","STL","DF2","DF3","DF4","DF5","DF6","TRIPLET"};
 
         suffices64.add("_DDRB_to_DDRM");
         suffices64.add("_F64");
@@ -74,6 +74,9 @@ public class GenerateJavaCode32 extends GenerateCode32 {
         prefix32.add("FSubmatrix");
         prefix64.add("DConvert");
         prefix32.add("FConvert");
+        // sparse vectors, e.g. DVectorSparse. Without this entry no FVectorSparse is generated
+        prefix64.add("DVector");
+        prefix32.add("FVector");
         prefix64.add("GenericTestsDMatrix");
         prefix32.add("GenericTestsFMatrix");
         prefix64.add("GenericTestsZMatrix");
@@ -106,6 +109,7 @@ public class GenerateJavaCode32 extends GenerateCode32 {
         converter.replacePattern("DSemiRing", "FSemiRing");
         converter.replacePattern("DMask", "FMask");
         converter.replacePattern("DConvert", "FConvert");
+        converter.replacePattern("DVector", "FVector");
         converter.replacePattern("DGrowArray", "FGrowArray");
         converter.replacePattern("DMatrix", "FMatrix");
         converter.replacePattern("DSubmatrix", "FSubmatrix");
@@ -122,6 +126,7 @@ public class GenerateJavaCode32 extends GenerateCode32 {
         converter.replacePattern("64-bit", "32-bit");
         converter.replacePattern("UtilEjml.PI", "UtilEjml.F_PI");
         converter.replacePattern("UtilEjml.EPS", "UtilEjml.F_EPS");
+        converter.replacePattern("UtilEjml.RESCALE_LIMIT", "UtilEjml.F_RESCALE_LIMIT");
 
         converter.replaceStartsWith("Math.sqrt", "(float)Math.sqrt");
         converter.replaceStartsWith("Math.pow", "(float)Math.pow");
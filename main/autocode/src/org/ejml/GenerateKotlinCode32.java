@@ -32,7 +32,7 @@ public class GenerateKotlinCode32 extends GenerateCode32{
     public GenerateKotlinCode32() {
         super("kt",new ConvertFile32From64(Language.KOTLIN,false));
 
-        String[] sufficeRoot = new String[]{"DRM","DMA","DRB","SCC","STL","DF2","DF3","DF4","DF5","DF6","TRIPLET"};
+        String[] sufficeRoot = new String[]{"DRM","DMA","DRB","SCC","SCR","STL","DF2","DF3","DF4","DF5","DF6","TRIPLET"};
 
         suffices64.add("_DDRB_to_DDRM");
         suffices64.add("_F64");
@@ -63,6 +63,9 @@ public class GenerateKotlinCode32 extends GenerateCode32{
         prefix32.add("FSubmatrix");
         prefix64.add("DConvert");
         prefix32.add("FConvert");
+        // sparse vectors, e.g. DVectorSparse. Without this entry no FVectorSparse is generated
+        prefix64.add("DVector");
+        prefix32.add("FVector");
         prefix64.add("GenericTestsDMatrix");
         prefix32.add("GenericTestsFMatrix");
 
@@ -86,6 +89,7 @@ public class GenerateKotlinCode32 extends GenerateCode32{
 
         converter.replacePattern("DScalar", "FScalar");
         converter.replacePattern("DConvert", "FConvert");
+        converter.replacePattern("DVector", "FVector");
         converter.replacePattern("DGrowArray", "FGrowArray");
         converter.replacePattern("DMatrix", "FMatrix");
         converter.replacePattern("DSubmatrix", "FSubmatrix");
@@ -102,6 +106,7 @@ public class GenerateKotlinCode32 extends GenerateCode32{
         converter.replacePattern("64-bit", "32-bit");
         converter.replacePattern("UtilEjml.PI", "UtilEjml.F_PI");
         converter.replacePattern("UtilEjml.EPS", "UtilEjml.F_EPS");
+        converter.replacePattern("UtilEjml.RESCALE_LIMIT", "UtilEjml.F_RESCALE_LIMIT");
 
         converter.replacePatternAfter("FIXED_STEP", "DoubleStep");
     }
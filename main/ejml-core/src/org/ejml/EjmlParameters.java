@@ -57,6 +57,37 @@ public class EjmlParameters {
     public static int MULT_TRANAB_COLUMN_SWITCH = 40;
     public static int MULT_INNER_SWITCH = 100;
 
+    /**
+     * When the number of rows and columns in both inputs is at least this value a matrix multiply will switch
+     * to the packed algorithm
+     */
+    public static int MULT_PACKED_SWITCH = 64;
+
+    /**
+     * Number of dense columns which are processed together when multiplying a sparse matrix by a dense matrix.
+     * The sparse matrix is traversed once for each panel.
+     */
+    public static int MULT_SPARSE_PANEL = 64;
+
+    /**
+     * When the fraction of elements in a {@link org.ejml.data.DVectorSparse} which are assigned is more than
+     * this value, it's stored as a bitmap instead of a sorted list of indexes.
+     */
+    public static double SPARSE_VECTOR_BITMAP = 0.1;
+
+    /**
+     * Sparse matrix times sparse vector multiplication switches from push (scattering the columns selected by the
+     * vector) to pull (a dot product for every output element) when the number of matrix elements that push
+     * would touch is more than this fraction of all the elements in the matrix.
+     */
+    public static double MULT_SPARSE_VECTOR_PULL = 0.2;
+
+    /**
+     * Kernels which don't index the mask's columns convert a sparse mask into a bitmap when at least this fraction
+     * of its elements are assigned. Below this the mask is searched with a cursor that's merged against the output.
+     */
+    public static double MASK_BITMAP_DENSITY = 0.05;
+
     public static int CMULT_COLUMN_SWITCH = 7;
     public static int CMULT_TRANAB_COLUMN_SWITCH = 20;
 
@@ -74,6 +105,11 @@ public class EjmlParameters {
 
     public static int SWITCH_BLOCK64_QR = 1500;
 
+    /**
+     * At which point should it switch to the block LU algorithm.
+     */
+    public static int SWITCH_BLOCK64_LU = 300;
+
     public enum MemoryUsage {
         /**
          * Use lower memory algorithm while not totally sacrificing speed.
@@ -50,6 +50,10 @@ public class UtilEjml {
     public static float F_PI2 = (float)(2.0*Math.PI);
     public static float F_PId2 = (float)(Math.PI/2.0);
 
+    // Values larger than this are rescaled by iterative algorithms to avoid overflow
+    public static double RESCALE_LIMIT = 1e100;
+    public static float F_RESCALE_LIMIT = 1e30f;
+
     // tolerances for unit tests
     public static float TEST_F32 = 5e-4f;
     public static double TEST_F64 = 1e-8;
@@ -196,6 +200,14 @@ public class UtilEjml {
         return target;
     }
 
+    public static DMatrixSparseCSR reshapeOrDeclare( @Nullable DMatrixSparseCSR target, int rows, int cols, int nz_length ) {
+        if (target == null)
+            return new DMatrixSparseCSR(rows, cols, nz_length);
+        else
+            target.reshape(rows, cols, nz_length);
+        return target;
+    }
+
     public static FMatrixSparseCSC reshapeOrDeclare( @Nullable FMatrixSparseCSC target, int rows, int cols, int nz_length ) {
         if (target == null)
             return new FMatrixSparseCSC(rows, cols, nz_length);
@@ -204,6 +216,14 @@ public class UtilEjml {
         return target;
     }
 
+    public static FMatrixSparseCSR reshapeOrDeclare( @Nullable FMatrixSparseCSR target, int rows, int cols, int nz_length ) {
+        if (target == null)
+            return new FMatrixSparseCSR(rows, cols, nz_length);
+        else
+            target.reshape(rows, cols, nz_length);
+        return target;
+    }
+
     public static void checkSameShape( Matrix a, Matrix b, boolean allowedSameInstance ) {
         if (a.getNumRows() != b.getNumRows() || a.getNumCols() != b.getNumCols()) {
             throw new MatrixDimensionException("Must be same shape. " + a.getNumRows() + "x" + a.getNumCols() + " vs " + b.getNumRows() + "x" + b.getNumCols());
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.data;
+
+import java.util.Arrays;
+
+/**
+ * A batch of small matrices which all have the same shape, e.g. thousands of 3x3 covariance matrices. Instead of
+ * one object per matrix, all the matrices are stored in a single array using a structure-of-arrays layout. Element
+ * (row, col) of matrix 'index' is at:
+ *
+ * <pre>data[(row*numCols + col)*size + index]</pre>
+ *
+ * This puts the same element of consecutive matrices next to each other in memory. Operations on the batch can
+ * then go through all the matrices in one pass without creating objects or following pointers. See BatchOps_DDF3
+ * and related classes for operations.
+ *
+ * @author Peter Abeles
+ */
+public class DMatrixBatch {
+    /** Number of rows in each matrix */
+    public int numRows;
+    /** Number of columns in each matrix */
+    public int numCols;
+    /** Number of matrices in the batch */
+    public int size;
+    /** Storage for all the matrices in the batch */
+    public double[] data = new double[0];
+
+    public DMatrixBatch( int numRows, int numCols, int size ) {
+        reshape(numRows, numCols, size);
+    }
+
+    public DMatrixBatch() {}
+
+    /**
+     * Changes the shape of each matrix and the number of matrices. Values are not preserved, even if only
+     * 'size' changes, since the location of each element depends on the number of matrices.
+     */
+    public DMatrixBatch reshape( int numRows, int numCols, int size ) {
+        int length = numRows*numCols*size;
+        if (data.length < length)
+            data = new double[length];
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.size = size;
+        return this;
+    }
+
+    /**
+     * Number of elements in a single matrix
+     */
+    public int getNumElements() {
+        return numRows*numCols;
+    }
+
+    public double get( int index, int row, int col ) {
+        checkBounds(index, row, col);
+        return data[(row*numCols + col)*size + index];
+    }
+
+    public void set( int index, int row, int col, double value ) {
+        checkBounds(index, row, col);
+        data[(row*numCols + col)*size + index] = value;
+    }
+
+    /**
+     * Copies the matrix at the specified index into 'output'
+     *
+     * @param index Which matrix in the batch
+     * @param output (Output) Storage for the matrix. Must have the same shape.
+     * @return The output matrix
+     */
+    public <T extends DMatrix> T getMatrix( int index, T output ) {
+        if (output.getNumRows() != numRows || output.getNumCols() != numCols)
+            throw new IllegalArgumentException("Output has an incompatible shape");
+        if (index < 0 || index >= size)
+            throw new IllegalArgumentException("Index out of bounds");
+
+        for (int row = 0, element = 0; row < numRows; row++) {
+            for (int col = 0; col < numCols; col++, element++) {
+                output.unsafe_set(row, col, data[element*size + index]);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Copies 'src' into the matrix at the specified index
+     *
+     * @param index Which matrix in the batch
+     * @param src The matrix which is to be copied. Must have the same shape.
+     */
+    public void setMatrix( int index, DMatrix src ) {
+        if (src.getNumRows() != numRows || src.getNumCols() != numCols)
+            throw new IllegalArgumentException("Input has an incompatible shape");
+        if (index < 0 || index >= size)
+            throw new IllegalArgumentException("Index out of bounds");
+
+        for (int row = 0, element = 0; row < numRows; row++) {
+            for (int col = 0; col < numCols; col++, element++) {
+                data[element*size + index] = src.unsafe_get(row, col);
+            }
+        }
+    }
+
+    public void setTo( DMatrixBatch src ) {
+        reshape(src.numRows, src.numCols, src.size);
+        System.arraycopy(src.data, 0, data, 0, src.numRows*src.numCols*src.size);
+    }
+
+    public DMatrixBatch copy() {
+        var ret = new DMatrixBatch();
+        ret.setTo(this);
+        return ret;
+    }
+
+    public void zero() {
+        Arrays.fill(data, 0, numRows*numCols*size, 0.0);
+    }
+
+    private void checkBounds( int index, int row, int col ) {
+        if (index < 0 || index >= size || row < 0 || row >= numRows || col < 0 || col >= numCols)
+            throw new IllegalArgumentException("Out of bounds. index=" + index + " row=" + row + " col=" + col);
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.data;
+
+import org.ejml.EjmlParameters;
+import org.ejml.UtilEjml;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Sparse vector where only assigned elements are stored. There are two formats. In the sparse format, the indexes
+ * of assigned elements are stored in increasing order in nz_indexes, with their values in nz_values. In the bitmap
+ * format, bitmap[i] is true if element 'i' is assigned and its value is stored in bitmap_values[i]. The sparse
+ * format is best when only a few elements are assigned, while the bitmap format has constant time access and
+ * is best when many elements are assigned. {@link #selectFormat()} switches to the better format based on
+ * {@link EjmlParameters#SPARSE_VECTOR_BITMAP}.
+ * </p>
+ *
+ * <p>
+ * Elements which are not assigned are different from elements which are assigned a value of zero. This is needed
+ * for semi-rings where zero is not the additive identity.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DVectorSparse {
+    /**
+     * Number of elements in the vector
+     */
+    public int size;
+    /**
+     * Number of assigned elements
+     */
+    public int nz_length;
+    /**
+     * If true the vector is stored in bitmap format, otherwise it's in sparse format
+     */
+    public boolean isBitmap;
+
+    /**
+     * Sparse format. Indexes of assigned elements in increasing order. Only valid up to nz_length-1.
+     */
+    public int[] nz_indexes = UtilEjml.ZERO_LENGTH_I32;
+    /**
+     * Sparse format. Values of assigned elements. Only valid up to nz_length-1.
+     */
+    public double[] nz_values = UtilEjml.ZERO_LENGTH_F64;
+
+    /**
+     * Bitmap format. True if the element is assigned. Only valid up to size-1.
+     */
+    public boolean[] bitmap = new boolean[0];
+    /**
+     * Bitmap format. Values of every element. Only valid if the element is assigned.
+     */
+    public double[] bitmap_values = UtilEjml.ZERO_LENGTH_F64;
+
+    /**
+     * Creates a vector in sparse format with no assigned elements
+     *
+     * @param size Number of elements in the vector
+     * @param arrayLength Initial maximum number of assigned elements
+     */
+    public DVectorSparse( int size, int arrayLength ) {
+        if (size < 0 || arrayLength < 0)
+            throw new IllegalArgumentException("Size and arrayLength must be not be negative");
+        this.size = size;
+        growMaxLength(arrayLength, false);
+    }
+
+    public DVectorSparse( int size ) {
+        this(size, 0);
+    }
+
+    public DVectorSparse( DVectorSparse original ) {
+        this(original.size, original.isBitmap ? 0 : original.nz_length);
+        setTo(original);
+    }
+
+    /**
+     * Creates a vector from a dense array. Elements which are not equal to 'zero' are assigned.
+     */
+    public static DVectorSparse fromDense( double[] values, double zero ) {
+        var v = new DVectorSparse(values.length);
+        v.setTo(values, zero);
+        return v;
+    }
+
+    public DVectorSparse copy() {
+        return new DVectorSparse(this);
+    }
+
+    public void setTo( DVectorSparse original ) {
+        this.size = original.size;
+        this.nz_length = original.nz_length;
+        this.isBitmap = original.isBitmap;
+        if (isBitmap) {
+            growBitmap();
+            System.arraycopy(original.bitmap, 0, bitmap, 0, size);
+            System.arraycopy(original.bitmap_values, 0, bitmap_values, 0, size);
+        } else {
+            growMaxLength(nz_length, false);
+            System.arraycopy(original.nz_indexes, 0, nz_indexes, 0, nz_length);
+            System.arraycopy(original.nz_values, 0, nz_values, 0, nz_length);
+        }
+    }
+
+    /**
+     * Sets the vector to be the same as a dense array. Elements which are not equal to 'zero' are assigned.
+     * The best format is then selected.
+     */
+    public void setTo( double[] values, double zero ) {
+        reshape(values.length);
+        convertToBitmap();
+        for (int i = 0; i < size; i++) {
+            if (values[i] != zero) {
+                bitmap[i] = true;
+                bitmap_values[i] = values[i];
+                nz_length++;
+            }
+        }
+        selectFormat();
+    }
+
+    /**
+     * Writes the vector into a dense array. Elements which are not assigned are set to 'zero'.
+     */
+    public double[] toDense( double[] output, double zero ) {
+        if (output.length < size)
+            throw new IllegalArgumentException("Output array is too small");
+        if (isBitmap) {
+            for (int i = 0; i < size; i++) {
+                output[i] = bitmap[i] ? bitmap_values[i] : zero;
+            }
+        } else {
+            Arrays.fill(output, 0, size, zero);
+            for (int i = 0; i < nz_length; i++) {
+                output[nz_indexes[i]] = nz_values[i];
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Changes the number of elements and removes all assigned elements. The format is changed to sparse.
+     */
+    public void reshape( int size ) {
+        if (size < 0)
+            throw new IllegalArgumentException("Size must be not be negative");
+        this.size = size;
+        this.nz_length = 0;
+        this.isBitmap = false;
+    }
+
+    /**
+     * Removes all assigned elements. The format is not changed.
+     */
+    public void zero() {
+        if (isBitmap) {
+            Arrays.fill(bitmap, 0, size, false);
+        }
+        nz_length = 0;
+    }
+
+    /**
+     * Returns true if the element has been assigned a value
+     */
+    public boolean isAssigned( int index ) {
+        checkIndex(index);
+        if (isBitmap)
+            return bitmap[index];
+        return Arrays.binarySearch(nz_indexes, 0, nz_length, index) >= 0;
+    }
+
+    /**
+     * Returns the element's value or zero if it has not been assigned
+     */
+    public double get( int index ) {
+        return get(index, 0.0);
+    }
+
+    /**
+     * Returns the element's value or 'fallback' if it has not been assigned
+     */
+    public double get( int index, double fallback ) {
+        checkIndex(index);
+        if (isBitmap)
+            return bitmap[index] ? bitmap_values[index] : fallback;
+        int location = Arrays.binarySearch(nz_indexes, 0, nz_length, index);
+        return location >= 0 ? nz_values[location] : fallback;
+    }
+
+    /**
+     * Assigns a value to the element. In sparse format this requires elements after it to be shifted, if it was
+     * not already assigned. Use {@link #append} when building a vector in order.
+     */
+    public void set( int index, double value ) {
+        checkIndex(index);
+        if (isBitmap) {
+            if (!bitmap[index]) {
+                bitmap[index] = true;
+                nz_length++;
+            }
+            bitmap_values[index] = value;
+            return;
+        }
+
+        int location = Arrays.binarySearch(nz_indexes, 0, nz_length, index);
+        if (location >= 0) {
+            nz_values[location] = value;
+            return;
+        }
+        location = -location - 1;
+        if (nz_length == nz_indexes.length)
+            growMaxLength(nz_length*2 + 1, true);
+        System.arraycopy(nz_indexes, location, nz_indexes, location + 1, nz_length - location);
+        System.arraycopy(nz_values, location, nz_values, location + 1, nz_length - location);
+        nz_indexes[location] = index;
+        nz_values[location] = value;
+        nz_length++;
+    }
+
+    /**
+     * Removes the element so that it's no longer assigned
+     */
+    public void remove( int index ) {
+        checkIndex(index);
+        if (isBitmap) {
+            if (bitmap[index]) {
+                bitmap[index] = false;
+                nz_length--;
+            }
+            return;
+        }
+
+        int location = Arrays.binarySearch(nz_indexes, 0, nz_length, index);
+        if (location < 0)
+            return;
+        System.arraycopy(nz_indexes, location + 1, nz_indexes, location, nz_length - location - 1);
+        System.arraycopy(nz_values, location + 1, nz_values, location, nz_length - location - 1);
+        nz_length--;
+    }
+
+    /**
+     * Adds an element to the end of a vector in sparse format. The index must be larger than all the indexes
+     * which are already assigned. No checks are done.
+     */
+    public void append( int index, double value ) {
+        if (nz_length == nz_indexes.length)
+            growMaxLength(nz_length*2 + 1, true);
+        nz_indexes[nz_length] = index;
+        nz_values[nz_length++] = value;
+    }
+
+    /**
+     * Increases the maximum number of assigned elements in sparse format
+     *
+     * @param arrayLength Desired maximum number of assigned elements
+     * @param preserveValue If true the current values will be copied
+     */
+    public void growMaxLength( int arrayLength, boolean preserveValue ) {
+        if (arrayLength < 0)
+            throw new IllegalArgumentException("Negative array length. Overflow?");
+        // don't allow more than the number of elements
+        arrayLength = Math.min(size, arrayLength);
+        if (arrayLength <= nz_indexes.length)
+            return;
+
+        int[] indexes = new int[arrayLength];
+        double[] values = new double[arrayLength];
+        if (preserveValue) {
+            System.arraycopy(nz_indexes, 0, indexes, 0, nz_length);
+            System.arraycopy(nz_values, 0, values, 0, nz_length);
+        }
+        nz_indexes = indexes;
+        nz_values = values;
+    }
+
+    /**
+     * Converts the vector into bitmap format. Does nothing if it's already in that format.
+     */
+    public void convertToBitmap() {
+        if (isBitmap)
+            return;
+        growBitmap();
+        Arrays.fill(bitmap, 0, size, false);
+        for (int i = 0; i < nz_length; i++) {
+            int index = nz_indexes[i];
+            bitmap[index] = true;
+            bitmap_values[index] = nz_values[i];
+        }
+        isBitmap = true;
+    }
+
+    /**
+     * Converts the vector into sparse format. Does nothing if it's already in that format.
+     */
+    public void convertToSparse() {
+        if (!isBitmap)
+            return;
+        growMaxLength(nz_length, false);
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (bitmap[i]) {
+                nz_indexes[count] = i;
+                nz_values[count++] = bitmap_values[i];
+            }
+        }
+        isBitmap = false;
+    }
+
+    /**
+     * Switches to the format which is best for the number of assigned elements. See
+     * {@link EjmlParameters#SPARSE_VECTOR_BITMAP}
+     */
+    public void selectFormat() {
+        if (nz_length > size*EjmlParameters.SPARSE_VECTOR_BITMAP) {
+            convertToBitmap();
+        } else {
+            convertToSparse();
+        }
+    }
+
+    /**
+     * Fraction of elements which are assigned
+     */
+    public double density() {
+        return size == 0 ? 0.0 : nz_length/(double)size;
+    }
+
+    private void growBitmap() {
+        if (bitmap.length < size) {
+            bitmap = new boolean[size];
+            bitmap_values = new double[size];
+        }
+    }
+
+    private void checkIndex( int index ) {
+        if (index < 0 || index >= size)
+            throw new IllegalArgumentException("Index out of bounds. index=" + index + " size=" + size);
+    }
+}
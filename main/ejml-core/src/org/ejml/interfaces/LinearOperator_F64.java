@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.interfaces;
+
+/**
+ * A linear operator which is only known through its product with a vector, y = Op*x. This allows algorithms
+ * which only need matrix-vector products to work on matrix free problems, or on implicit operators like
+ * (A - &sigma;I)<sup>-1</sup> which are never explicitly computed.
+ *
+ * @author Peter Abeles
+ */
+public interface LinearOperator_F64 {
+    /** Number of rows in the operator. Length of y. */
+    int getNumRows();
+
+    /** Number of columns in the operator. Length of x. */
+    int getNumCols();
+
+    /**
+     * Computes y = Op*x
+     *
+     * @param x (Input) vector. Not modified.
+     * @param y (Output) vector. Can't be the same array as x.
+     */
+    void mult( double[] x, double[] y );
+}
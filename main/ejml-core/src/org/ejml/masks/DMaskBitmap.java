@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.masks;
+
+import org.ejml.EjmlParameters;
+import org.ejml.data.DMatrixSparseCSC;
+
+/**
+ * <p>
+ * Mask implementation which stores which elements are set in a bitmap, one bit for every element in the matrix.
+ * Look ups are O(1) for any access pattern and there is no internal state, so it can be shared between threads.
+ * The bitmap is built from a matrix in CSC format, and changes to that matrix afterwards are not reflected
+ * in the mask.
+ * </p>
+ *
+ * <p>
+ * The bitmap needs a bit for every element in the matrix, so it's only compact and fast to build when the mask
+ * is dense enough. See {@link #isPreferred}.
+ * </p>
+ */
+public class DMaskBitmap extends Mask {
+    // Each column starts at a new word. Element (row, col) is bit row%64 in word col*wordsPerColumn + row/64
+    protected final long[] bits;
+    protected final int wordsPerColumn;
+    protected final int numRows;
+    protected final int numCols;
+    // Number of set bits
+    protected final int count;
+    /**
+     * Value representing that the entry is not set in the mask. Ignored if structural.
+     */
+    public final double zeroElement;
+
+    /**
+     * Creates a bitmap from a sparse matrix
+     *
+     * @param matrix Matrix to be used as a mask
+     * @param negated Whether the mask entries should be negated
+     * @param structural If true then every assigned element is set, otherwise only elements which are not
+     * zeroElement are set
+     * @param zeroElement Value to represent the zero-element in the mask
+     */
+    public DMaskBitmap( DMatrixSparseCSC matrix, boolean negated, boolean structural, double zeroElement ) {
+        super(negated);
+        this.numRows = matrix.numRows;
+        this.numCols = matrix.numCols;
+        this.zeroElement = zeroElement;
+        this.wordsPerColumn = (numRows + 63) >>> 6;
+        this.bits = new long[Math.toIntExact(numWords(matrix))];
+
+        int count = 0;
+        for (int col = 0; col < numCols; col++) {
+            int offset = col*wordsPerColumn;
+            int idx0 = matrix.col_idx[col];
+            int idx1 = matrix.col_idx[col + 1];
+            for (int i = idx0; i < idx1; i++) {
+                if (!structural && matrix.nz_values[i] == zeroElement)
+                    continue;
+                int row = matrix.nz_rows[i];
+                int word = offset + (row >>> 6);
+                long flag = 1L << row;
+                // a duplicate element should only be counted once
+                if ((bits[word] & flag) == 0) {
+                    bits[word] |= flag;
+                    count++;
+                }
+            }
+        }
+        this.count = count;
+    }
+
+    /**
+     * Returns true if a bitmap should be used to represent the mask instead of the sparse matrix. This is
+     * the case when the fraction of elements which are assigned is at least
+     * {@link EjmlParameters#MASK_BITMAP_DENSITY} and the bitmap can be stored in an array.
+     */
+    public static boolean isPreferred( DMatrixSparseCSC matrix ) {
+        long N = (long)matrix.numRows*matrix.numCols;
+        if (N == 0 || numWords(matrix) > Integer.MAX_VALUE - 8)
+            return false;
+        return matrix.nz_length >= EjmlParameters.MASK_BITMAP_DENSITY*N;
+    }
+
+    private static long numWords( DMatrixSparseCSC matrix ) {
+        return (long)((matrix.numRows + 63) >>> 6)*matrix.numCols;
+    }
+
+    @Override
+    public boolean isSet( int row, int col ) {
+        return negated ^ ((bits[col*wordsPerColumn + (row >>> 6)] & (1L << row)) != 0);
+    }
+
+    @Override
+    public boolean isSet( int idx ) {
+        // assuming a column vector
+        return isSet(idx, 0);
+    }
+
+    @Override
+    public int getNumCols() {
+        return numCols;
+    }
+
+    @Override
+    public int getNumRows() {
+        return numRows;
+    }
+
+    @Override
+    public void setIndexColumn( int column ) {
+        // Nothing to index
+    }
+
+    @Override
+    public int maxMaskedEntries() {
+        if (negated) {
+            return numCols*numRows - count;
+        } else {
+            return count;
+        }
+    }
+
+    /**
+     * Utility class to build {@link DMaskBitmap}
+     */
+    public static class Builder extends MaskBuilder<DMaskBitmap> {
+        private DMatrixSparseCSC matrix;
+        private double zeroElement = 0;
+        private boolean structural = false;
+
+        public Builder( DMatrixSparseCSC matrix ) {
+            this.matrix = matrix;
+        }
+
+        /**
+         * @param zeroElement Value to represent the zero-element in the mask
+         */
+        public Builder withZeroElement( double zeroElement ) {
+            this.zeroElement = zeroElement;
+            return this;
+        }
+
+        /**
+         * @param structural Whether only the structure of the matrix is relevant or the actual value are considered
+         */
+        public Builder withStructural( boolean structural ) {
+            this.structural = structural;
+            return this;
+        }
+
+        @Override
+        public DMaskBitmap build() {
+            return new DMaskBitmap(matrix, negated, structural, zeroElement);
+        }
+    }
+}
@@ -30,7 +30,7 @@ public class DMaskSparse extends Mask {
     // Matrix to check for Mask.isSet(row, col)
     protected final DMatrixSparseCSC matrix;
     /**
-     * Value representing that the entry is not set in the mask
+     * Value representing that the entry is not set in the mask. Unassigned entries are never set.
      */
     public final double zeroElement;
     // Corresponding column to rowIndicesInIndexedColumn
@@ -54,7 +54,9 @@ public class DMaskSparse extends Mask {
     @Override
     public boolean isSet( int row, int col ) {
         if (col != indexedColumn) {
-            return negated ^ (matrix.unsafe_get(row, col) != zeroElement);
+            // unassigned elements are not set, even if zeroElement isn't zero
+            int index = matrix.nz_index(row, col);
+            return negated ^ (index >= 0 && matrix.nz_values[index] != zeroElement);
         } else {
             return negated ^ (rowIndicesInIndexedColumn[row] - 1 == col);
         }
@@ -88,6 +90,25 @@ public class DMaskSparse extends Mask {
         }
     }
 
+    @Override
+    public Mask copyForThread() {
+        return new DMaskSparse(matrix, negated, zeroElement, null, false);
+    }
+
+    /**
+     * Dense enough masks become a {@link DMaskBitmap}. Otherwise if the row indices are sorted it becomes a
+     * {@link DMaskSparseMerge}, which avoids searching or indexing the column for every look up.
+     */
+    @Override
+    public Mask optimized() {
+        if (DMaskBitmap.isPreferred(matrix)) {
+            return new DMaskBitmap(matrix, negated, false, zeroElement);
+        } else if (matrix.indicesSorted) {
+            return new DMaskSparseMerge(matrix, negated, false, zeroElement);
+        }
+        return this;
+    }
+
     @Override
     public int maxMaskedEntries() {
         if (negated) {
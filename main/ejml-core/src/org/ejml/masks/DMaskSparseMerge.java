@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.masks;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+
+/**
+ * <p>
+ * Mask implementation backed by a matrix in CSC format with sorted row indices. Instead of indexing a column
+ * or searching for every look up, a cursor is kept inside the current column. Masked kernels typically visit
+ * rows in increasing order, so each look up only moves the cursor forward a few entries, which is a two-pointer
+ * merge between the mask column and the output column. If the cursor needs to move far it gallops, and if a row
+ * before the cursor is requested the column is searched again from the start.
+ * </p>
+ *
+ * <p>
+ * Changing the column is O(1), so unlike {@link DMaskSparse} there's no cost when every column in the mask is
+ * visited. Since the cursor is internal state, use {@link #copyForThread()} when shared between threads.
+ * </p>
+ */
+public class DMaskSparseMerge extends Mask {
+    // Matrix to check for Mask.isSet(row, col). Row indices must be sorted.
+    protected final DMatrixSparseCSC matrix;
+    /**
+     * Value representing that the entry is not set in the mask. Ignored if structural.
+     */
+    public final double zeroElement;
+    /**
+     * If true then only the structure of the matrix is considered and not the values
+     */
+    public final boolean structural;
+
+    // Column the cursor is inside of
+    private int column = -1;
+    // Range of non-zero elements in the column
+    private int start, end;
+    // Index of the first element in the column with a row which is not less than the last row requested
+    private int cursor;
+
+    public DMaskSparseMerge( DMatrixSparseCSC matrix, boolean negated, boolean structural, double zeroElement ) {
+        super(negated);
+        UtilEjml.assertTrue(matrix.indicesSorted, "Row indices in the mask must be sorted");
+        this.matrix = matrix;
+        this.structural = structural;
+        this.zeroElement = zeroElement;
+    }
+
+    @Override
+    public boolean isSet( int row, int col ) {
+        if (col != column) {
+            setIndexColumn(col);
+        }
+
+        int index = search(row);
+        boolean assigned = index < end && matrix.nz_rows[index] == row &&
+                (structural || matrix.nz_values[index] != zeroElement);
+        return negated ^ assigned;
+    }
+
+    @Override
+    public boolean isSet( int idx ) {
+        // assuming a column vector
+        return isSet(idx, 0);
+    }
+
+    /**
+     * Moves the cursor to the first element in the column with a row that's not less than 'row'
+     */
+    private int search( int row ) {
+        final int[] rows = matrix.nz_rows;
+
+        // requesting a row before the previous one, start over from the beginning of the column
+        int lo = cursor;
+        if (lo > start && rows[lo - 1] >= row) {
+            lo = start;
+        }
+
+        // the common case, it's at the cursor
+        if (lo >= end || rows[lo] >= row) {
+            return cursor = lo;
+        }
+
+        // gallop until an element that's not less than row is found, then binary search the last step
+        int step = 1;
+        while (lo + step < end && rows[lo + step] < row) {
+            step <<= 1;
+        }
+        int low = lo + (step >> 1) + 1;
+        int high = Math.min(lo + step, end);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rows[mid] < row) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return cursor = low;
+    }
+
+    @Override
+    public int getNumCols() {
+        return matrix.numCols;
+    }
+
+    @Override
+    public int getNumRows() {
+        return matrix.numRows;
+    }
+
+    @Override
+    public void setIndexColumn( int col ) {
+        this.column = col;
+        this.start = matrix.col_idx[col];
+        this.end = matrix.col_idx[col + 1];
+        this.cursor = start;
+    }
+
+    @Override
+    public Mask copyForThread() {
+        return new DMaskSparseMerge(matrix, negated, structural, zeroElement);
+    }
+
+    @Override
+    public int maxMaskedEntries() {
+        if (negated) {
+            return matrix.getNumCols()*matrix.getNumRows() - matrix.nz_length;
+        } else {
+            return matrix.nz_length;
+        }
+    }
+
+    /**
+     * Utility class to build {@link DMaskSparseMerge}
+     */
+    public static class Builder extends MaskBuilder<DMaskSparseMerge> {
+        private DMatrixSparseCSC matrix;
+        private double zeroElement = 0;
+        private boolean structural = false;
+
+        public Builder( DMatrixSparseCSC matrix ) {
+            this.matrix = matrix;
+        }
+
+        /**
+         * @param zeroElement Value to represent the zero-element in the mask
+         */
+        public Builder withZeroElement( double zeroElement ) {
+            this.zeroElement = zeroElement;
+            return this;
+        }
+
+        /**
+         * @param structural Whether only the structure of the matrix is relevant or the actual value are considered
+         */
+        public Builder withStructural( boolean structural ) {
+            this.structural = structural;
+            return this;
+        }
+
+        @Override
+        public DMaskSparseMerge build() {
+            return new DMaskSparseMerge(matrix, negated, structural, zeroElement);
+        }
+    }
+}
@@ -80,6 +80,25 @@ public class DMaskSparseStructural extends Mask {
         }
     }
 
+    @Override
+    public Mask copyForThread() {
+        return new DMaskSparseStructural(matrix, negated, null, false);
+    }
+
+    /**
+     * Dense enough masks become a {@link DMaskBitmap}. Otherwise if the row indices are sorted it becomes a
+     * {@link DMaskSparseMerge}, which avoids searching or indexing the column for every look up.
+     */
+    @Override
+    public Mask optimized() {
+        if (DMaskBitmap.isPreferred(matrix)) {
+            return new DMaskBitmap(matrix, negated, true, 0);
+        } else if (matrix.indicesSorted) {
+            return new DMaskSparseMerge(matrix, negated, true, 0);
+        }
+        return this;
+    }
+
     @Override
     public int maxMaskedEntries() {
         if (negated) {
@@ -79,6 +79,25 @@ public abstract class Mask {
      */
     public abstract void setIndexColumn( int column );
 
+    /**
+     * Returns a mask which references the same data, but has its own internal state. Needed when a mask is
+     * used by multiple threads, since {@link #setIndexColumn} modifies the mask. Masks without internal
+     * state return themselves.
+     */
+    public Mask copyForThread() {
+        return this;
+    }
+
+    /**
+     * Returns a mask with the same entries which is faster to evaluate when {@link #setIndexColumn} is not
+     * called and rows inside a column are requested in increasing order, or this mask if there isn't one.
+     * Kernels with this access pattern call it once before they start, so the cost of creating the new mask
+     * should be small relative to the operation.
+     */
+    public Mask optimized() {
+        return this;
+    }
+
     /**
      * Checks whether the dimensions of the mask and matrix match
      *
@@ -66,6 +66,10 @@ public class ConvertMatrixType {
                         m = new FMatrixSparseCSC(matrix.getNumRows(), matrix.getNumCols());
                         ConvertMatrixData.convert((DMatrixRMaj)matrix, (FMatrixSparseCSC)m);
                     } break;
+
+                    case DSCR: {
+                        m = DConvertMatrixStruct.convert((DMatrixRMaj)matrix, (DMatrixSparseCSR)null, 0.0);
+                    } break;
                 }
             }
             break;
@@ -158,6 +162,26 @@ public class ConvertMatrixType {
                         m = new FMatrixSparseCSC(matrix.getNumRows(), matrix.getNumCols());
                         ConvertMatrixData.convert((DMatrixSparseCSC)matrix, (FMatrixSparseCSC)m);
                     } break;
+
+                    case DSCR: {
+                        m = DConvertMatrixStruct.convert((DMatrixSparseCSC)matrix, (DMatrixSparseCSR)null);
+                    } break;
+                }
+            }
+            break;
+
+            case DSCR: {
+                switch (desired) {
+                    case DSCR: {
+                        m = matrix.copy();
+                    } break;
+                    case DDRM: {
+                        m = DConvertMatrixStruct.convert((DMatrixSparseCSR)matrix, (DMatrixRMaj)null);
+                    } break;
+
+                    case DSCC: {
+                        m = DConvertMatrixStruct.convert((DMatrixSparseCSR)matrix, (DMatrixSparseCSC)null);
+                    } break;
                 }
             }
             break;
@@ -907,4 +907,144 @@ public class DConvertMatrixStruct {
 
         return dst;
     }
+
+    /**
+     * Converts a {@link DMatrixSparseCSC} into a {@link DMatrixSparseCSR}. Runs in O(nz_length + numRows + numCols)
+     * using a counting sort. Since the columns are traversed in order, the column indices inside each row of
+     * the output will always be sorted.
+     *
+     * @param src Original matrix which is to be converted. Not modified.
+     * @param dst (Output) Storage for the converted matrix. If null a new instance will be returned.
+     * @param workspace (Optional) Work space. Can be null.
+     * @return The converted matrix
+     */
+    public static DMatrixSparseCSR convert( DMatrixSparseCSC src, @Nullable DMatrixSparseCSR dst,
+                                            @Nullable IGrowArray workspace ) {
+        dst = UtilEjml.reshapeOrDeclare(dst, src.numRows, src.numCols, src.nz_length);
+
+        int[] hist = UtilEjml.adjustClear(workspace, src.numRows);
+
+        // number of elements in each row
+        for (int i = 0; i < src.nz_length; i++) {
+            hist[src.nz_rows[i]]++;
+        }
+        dst.histogramToStructure(hist);
+        System.arraycopy(dst.row_idx, 0, hist, 0, dst.numRows);
+
+        for (int col = 0; col < src.numCols; col++) {
+            int idx0 = src.col_idx[col];
+            int idx1 = src.col_idx[col + 1];
+            for (int i = idx0; i < idx1; i++) {
+                int index = hist[src.nz_rows[i]]++;
+                dst.nz_cols[index] = col;
+                dst.nz_values[index] = src.nz_values[i];
+            }
+        }
+        dst.indicesSorted = true;
+
+        return dst;
+    }
+
+    public static DMatrixSparseCSR convert( DMatrixSparseCSC src, @Nullable DMatrixSparseCSR dst ) {
+        return convert(src, dst, null);
+    }
+
+    /**
+     * Converts a {@link DMatrixSparseCSR} into a {@link DMatrixSparseCSC}. Runs in O(nz_length + numRows + numCols)
+     * using a counting sort. Since the rows are traversed in order, the row indices inside each column of
+     * the output will always be sorted.
+     *
+     * @param src Original matrix which is to be converted. Not modified.
+     * @param dst (Output) Storage for the converted matrix. If null a new instance will be returned.
+     * @param workspace (Optional) Work space. Can be null.
+     * @return The converted matrix
+     */
+    public static DMatrixSparseCSC convert( DMatrixSparseCSR src, @Nullable DMatrixSparseCSC dst,
+                                            @Nullable IGrowArray workspace ) {
+        dst = UtilEjml.reshapeOrDeclare(dst, src.numRows, src.numCols, src.nz_length);
+
+        int[] hist = UtilEjml.adjustClear(workspace, src.numCols);
+
+        // number of elements in each column
+        for (int i = 0; i < src.nz_length; i++) {
+            hist[src.nz_cols[i]]++;
+        }
+        dst.histogramToStructure(hist);
+        System.arraycopy(dst.col_idx, 0, hist, 0, dst.numCols);
+
+        for (int row = 0; row < src.numRows; row++) {
+            int idx0 = src.row_idx[row];
+            int idx1 = src.row_idx[row + 1];
+            for (int i = idx0; i < idx1; i++) {
+                int index = hist[src.nz_cols[i]]++;
+                dst.nz_rows[index] = row;
+                dst.nz_values[index] = src.nz_values[i];
+            }
+        }
+        dst.indicesSorted = true;
+
+        return dst;
+    }
+
+    public static DMatrixSparseCSC convert( DMatrixSparseCSR src, @Nullable DMatrixSparseCSC dst ) {
+        return convert(src, dst, null);
+    }
+
+    public static DMatrixRMaj convert( DMatrixSparseCSR src, @Nullable DMatrixRMaj dst ) {
+        if (dst == null)
+            dst = new DMatrixRMaj(src.numRows, src.numCols);
+        else {
+            dst.reshape(src.numRows, src.numCols);
+            dst.zero();
+        }
+
+        for (int row = 0; row < src.numRows; row++) {
+            int idx0 = src.row_idx[row];
+            int idx1 = src.row_idx[row + 1];
+            int indexDst = row*src.numCols;
+            for (int i = idx0; i < idx1; i++) {
+                dst.data[indexDst + src.nz_cols[i]] = src.nz_values[i];
+            }
+        }
+
+        return dst;
+    }
+
+    /**
+     * Converts DMatrixRMaj into a DMatrixSparseCSR
+     *
+     * @param src Original matrix that is to be converted.
+     * @param dst Storage for the converted matrix. If null a new instance will be returned.
+     * @param tol Elements with a magnitude less than or equal to this value are skipped
+     * @return The converted matrix
+     */
+    public static DMatrixSparseCSR convert( DMatrixRMaj src, @Nullable DMatrixSparseCSR dst, double tol ) {
+        int nonzero = 0;
+        int N = src.numRows*src.numCols;
+        for (int i = 0; i < N; i++) {
+            if (Math.abs(src.data[i]) > tol)
+                nonzero++;
+        }
+
+        dst = UtilEjml.reshapeOrDeclare(dst, src.numRows, src.numCols, nonzero);
+        dst.nz_length = 0;
+
+        dst.row_idx[0] = 0;
+        for (int row = 0; row < src.numRows; row++) {
+            int indexSrc = row*src.numCols;
+            for (int col = 0; col < src.numCols; col++) {
+                double value = src.data[indexSrc + col];
+                if (Math.abs(value) <= tol)
+                    continue;
+
+                dst.nz_cols[dst.nz_length] = col;
+                dst.nz_values[dst.nz_length] = value;
+                dst.nz_length += 1;
+            }
+            dst.row_idx[row + 1] = dst.nz_length;
+        }
+        dst.indicesSorted = true;
+
+        return dst;
+    }
 }
@@ -726,6 +726,8 @@ public class MatrixIO {
             case DSCC -> print(out, (DMatrixSparseCSC)mat, format);
             case DTRIPLET -> print(out, (DMatrixSparseTriplet)mat, format);
             case FSCC -> print(out, (FMatrixSparseCSC)mat, format);
+            case DSCR -> print(out, (DMatrixSparseCSR)mat, format);
+            case FSCR -> print(out, (FMatrixSparseCSR)mat, format);
             case FTRIPLET -> print(out, (FMatrixSparseTriplet)mat, format);
             default -> throw new RuntimeException("Unknown type " + mat.getType());
         }
@@ -832,6 +834,50 @@ public class MatrixIO {
         }
     }
 
+    public static void print( PrintStream out, DMatrixSparseCSR m, String format ) {
+        printTypeSize(out, m);
+
+        int length = String.format(format, -1.1123).length();
+        char[] zero = new char[length];
+        Arrays.fill(zero, ' ');
+        zero[length/2] = '*';
+
+        for (int row = 0; row < m.numRows; row++) {
+            for (int col = 0; col < m.numCols; col++) {
+                int index = m.nz_index(row, col);
+                if (index >= 0)
+                    out.printf(local, format, m.nz_values[index]);
+                else
+                    out.print(zero);
+                if (col != m.numCols - 1)
+                    out.print(" ");
+            }
+            out.println();
+        }
+    }
+
+    public static void print( PrintStream out, FMatrixSparseCSR m, String format ) {
+        printTypeSize(out, m);
+
+        int length = String.format(format, -1.1123).length();
+        char[] zero = new char[length];
+        Arrays.fill(zero, ' ');
+        zero[length/2] = '*';
+
+        for (int row = 0; row < m.numRows; row++) {
+            for (int col = 0; col < m.numCols; col++) {
+                int index = m.nz_index(row, col);
+                if (index >= 0)
+                    out.printf(local, format, m.nz_values[index]);
+                else
+                    out.print(zero);
+                if (col != m.numCols - 1)
+                    out.print(" ");
+            }
+            out.println();
+        }
+    }
+
     public static void print( PrintStream out, FMatrixSparseCSC m, String format ) {
         if (format.equalsIgnoreCase("matlab")) {
             printMatlab(out, m);
@@ -28,6 +28,16 @@ public enum FillReducing {
      * No fill reduction permutation will be applied
      */
     NONE,
+    /**
+     * Approximate Minimum Degree (AMD) ordering of the graph of A+A<sup>T</sup>. Designed for Cholesky and also
+     * works well for LU when the matrix's structure is nearly symmetric.
+     */
+    AMD,
+    /**
+     * Column Approximate Minimum Degree (COLAMD) ordering. Columns are ordered using the graph of
+     * A<sup>T</sup>A with dense rows removed. Designed for QR and LU.
+     */
+    COLAMD,
     /**
      * TESTING ONLY. Completely random permutation
      */
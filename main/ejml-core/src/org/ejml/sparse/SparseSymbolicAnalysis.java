@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse;
+
+import org.ejml.data.MatrixSparse;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * <p>Results from the symbolic analysis of a sparse decomposition. The symbolic analysis only depends on the
+ * non-zero pattern of the input matrix and can be reused when matrices with an identical pattern are decomposed.
+ * This includes the fill reducing permutation, elimination tree, column counts, and the size of the factored
+ * matrices.</p>
+ *
+ * <p>A decomposition or solver will copy what it needs and never modify this object. It can then be saved,
+ * loaded, and shared between decompositions which are running in different threads.</p>
+ *
+ * @author Peter Abeles
+ */
+public class SparseSymbolicAnalysis implements Serializable {
+    /** Which type of decomposition the analysis was computed for */
+    public Type type;
+
+    /** Shape of the input matrix */
+    public int numRows, numCols;
+
+    /** Fill reducing row permutation. null if the rows are not permuted */
+    public @Nullable int[] fillRow;
+    /** Fill reducing column permutation. null if the columns are not permuted */
+    public @Nullable int[] fillCol;
+
+    /** Elimination tree. Cholesky: tree of A. QR: tree of A<sup>T</sup>A. Not used by LU */
+    public int[] parent = new int[0];
+    /** Post ordering of the elimination tree */
+    public int[] post = new int[0];
+    /** Number of non-zero elements in each column of L (Cholesky) or R (QR) */
+    public int[] counts = new int[0];
+
+    /** QR: Left most column in each row */
+    public int[] leftmost = new int[0];
+    /** QR: Inverse row permutation which ensures all diagonal elements are structurally non-zero */
+    public int[] pinvStructure = new int[0];
+    /** QR: Number of rows after fictitious rows are added */
+    public int numRowsStructure;
+
+    /** Number of non-zero elements in L (Cholesky and LU) or V (QR) */
+    public int nz_L;
+    /** Number of non-zero elements in U (LU) or R (QR). Not used by Cholesky */
+    public int nz_U;
+
+    public SparseSymbolicAnalysis( Type type ) {
+        this.type = type;
+    }
+
+    /**
+     * Returns true if the matrix has the same shape. This is a quick sanity check and it doesn't check the
+     * location of each non-zero element.
+     */
+    public boolean isCompatible( MatrixSparse A ) {
+        return A.getNumRows() == numRows && A.getNumCols() == numCols;
+    }
+
+    /**
+     * Checks to see if the matrix is compatible and if not throws an IllegalArgumentException
+     *
+     * @see #isCompatible(MatrixSparse)
+     */
+    public void checkCompatible( MatrixSparse A ) {
+        if (!isCompatible(A))
+            throw new IllegalArgumentException("Matrix shape doesn't match symbolic analysis. " +
+                    A.getNumRows() + "x" + A.getNumCols() + " expected " + numRows + "x" + numCols);
+    }
+
+    /**
+     * Checks to see if it was computed for the specified type of decomposition and throws an exception if not
+     */
+    public void checkType( Type expected ) {
+        if (type != expected)
+            throw new IllegalArgumentException("Analysis is for " + type + " not " + expected);
+    }
+
+    /**
+     * Sets the shape of the input matrix
+     */
+    public void setInputShape( MatrixSparse A ) {
+        this.numRows = A.getNumRows();
+        this.numCols = A.getNumCols();
+    }
+
+    /**
+     * Copies the first 'length' elements of 'src' into 'dst', growing 'dst' if needed
+     *
+     * @return The array which the values were written to
+     */
+    public static int[] copy( int[] src, int length, int[] dst ) {
+        if (dst.length != length)
+            dst = new int[length];
+        System.arraycopy(src, 0, dst, 0, length);
+        return dst;
+    }
+
+    /**
+     * Returns a copy of the array or null if the input is null
+     */
+    public static @Nullable int[] copy( @Nullable int[] src, int length ) {
+        return src == null ? null : Arrays.copyOf(src, length);
+    }
+
+    /**
+     * Creates a deep copy
+     */
+    public SparseSymbolicAnalysis copy() {
+        var ret = new SparseSymbolicAnalysis(type);
+        ret.numRows = numRows;
+        ret.numCols = numCols;
+        ret.fillRow = fillRow == null ? null : fillRow.clone();
+        ret.fillCol = fillCol == null ? null : fillCol.clone();
+        ret.parent = parent.clone();
+        ret.post = post.clone();
+        ret.counts = counts.clone();
+        ret.leftmost = leftmost.clone();
+        ret.pinvStructure = pinvStructure.clone();
+        ret.numRowsStructure = numRowsStructure;
+        ret.nz_L = nz_L;
+        ret.nz_U = nz_U;
+        return ret;
+    }
+
+    /** Types of decompositions which can be analyzed */
+    public enum Type {
+        CHOLESKY,
+        LU,
+        QR
+    }
+}
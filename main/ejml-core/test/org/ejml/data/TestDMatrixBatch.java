@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.data;
+
+import org.ejml.EjmlStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDMatrixBatch extends EjmlStandardJUnit {
+    @Test void reshape() {
+        var batch = new DMatrixBatch(2, 3, 5);
+        assertEquals(30, batch.data.length);
+        assertEquals(6, batch.getNumElements());
+
+        // smaller, array should not be declared again
+        double[] original = batch.data;
+        batch.reshape(3, 3, 2);
+        assertSame(original, batch.data);
+        assertEquals(3, batch.numRows);
+        assertEquals(3, batch.numCols);
+        assertEquals(2, batch.size);
+
+        batch.reshape(3, 3, 4);
+        assertEquals(36, batch.data.length);
+    }
+
+    /**
+     * Checks the structure-of-arrays layout
+     */
+    @Test void get_set() {
+        var batch = new DMatrixBatch(2, 3, 4);
+        batch.set(2, 1, 2, 5.0);
+        assertEquals(5.0, batch.get(2, 1, 2));
+        assertEquals(5.0, batch.data[(1*3 + 2)*4 + 2]);
+
+        assertThrows(IllegalArgumentException.class, () -> batch.get(4, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> batch.get(0, 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> batch.set(0, 0, 3, 1.0));
+    }
+
+    @Test void getMatrix_setMatrix() {
+        var batch = new DMatrixBatch(2, 3, 4);
+        var A = new DMatrixRMaj(2, 3, true, 1, 2, 3, 4, 5, 6);
+
+        batch.setMatrix(1, A);
+        for (int row = 0; row < 2; row++) {
+            for (int col = 0; col < 3; col++) {
+                assertEquals(A.get(row, col), batch.get(1, row, col));
+                assertEquals(0.0, batch.get(0, row, col));
+            }
+        }
+
+        var found = batch.getMatrix(1, new DMatrixRMaj(2, 3));
+        assertArrayEquals(A.data, found.data);
+
+        assertThrows(IllegalArgumentException.class, () -> batch.getMatrix(1, new DMatrixRMaj(3, 2)));
+        assertThrows(IllegalArgumentException.class, () -> batch.setMatrix(4, A));
+    }
+
+    @Test void setTo_copy() {
+        var batch = new DMatrixBatch(2, 2, 3);
+        for (int i = 0; i < batch.data.length; i++) {
+            batch.data[i] = i;
+        }
+
+        DMatrixBatch copy = batch.copy();
+        assertNotSame(batch.data, copy.data);
+        assertEquals(batch.numRows, copy.numRows);
+        assertEquals(batch.numCols, copy.numCols);
+        assertEquals(batch.size, copy.size);
+        assertArrayEquals(batch.data, copy.data);
+
+        copy.zero();
+        for (int i = 0; i < copy.data.length; i++) {
+            assertEquals(0.0, copy.data[i]);
+        }
+    }
+}
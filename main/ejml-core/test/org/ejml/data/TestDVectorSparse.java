@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.data;
+
+import org.ejml.EjmlParameters;
+import org.ejml.EjmlStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDVectorSparse extends EjmlStandardJUnit {
+    @Test void set_get_sparse() {
+        var v = new DVectorSparse(10);
+        v.set(5, 2.0);
+        v.set(1, 3.0);
+        v.set(8, 0.0);
+        v.set(5, 4.0);
+
+        assertFalse(v.isBitmap);
+        assertEquals(3, v.nz_length);
+        assertArrayEquals(new int[]{1, 5, 8}, Arrays.copyOf(v.nz_indexes, 3));
+        assertEquals(3.0, v.get(1));
+        assertEquals(4.0, v.get(5));
+        // assigned zero is different from not being assigned
+        assertTrue(v.isAssigned(8));
+        assertFalse(v.isAssigned(7));
+        assertEquals(-1.0, v.get(7, -1.0));
+        assertEquals(0.0, v.get(8, -1.0));
+    }
+
+    @Test void set_get_bitmap() {
+        var v = new DVectorSparse(10);
+        v.convertToBitmap();
+        v.set(5, 2.0);
+        v.set(1, 3.0);
+        v.set(5, 4.0);
+
+        assertTrue(v.isBitmap);
+        assertEquals(2, v.nz_length);
+        assertEquals(3.0, v.get(1));
+        assertEquals(4.0, v.get(5));
+        assertFalse(v.isAssigned(2));
+        assertEquals(-1.0, v.get(2, -1.0));
+    }
+
+    @Test void remove() {
+        for (boolean bitmap : new boolean[]{false, true}) {
+            var v = new DVectorSparse(10);
+            v.set(1, 1.0);
+            v.set(4, 2.0);
+            v.set(7, 3.0);
+            if (bitmap)
+                v.convertToBitmap();
+
+            v.remove(4);
+            v.remove(5);
+            assertEquals(2, v.nz_length);
+            assertFalse(v.isAssigned(4));
+            assertEquals(1.0, v.get(1));
+            assertEquals(3.0, v.get(7));
+        }
+    }
+
+    @Test void checkIndex() {
+        var v = new DVectorSparse(4);
+        assertThrows(IllegalArgumentException.class, () -> v.set(4, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> v.get(-1));
+    }
+
+    @Test void convert_bitmap_sparse() {
+        var v = new DVectorSparse(20);
+        for (int i = 0; i < 20; i += 3) {
+            v.set(i, i + 0.5);
+        }
+        int count = v.nz_length;
+
+        v.convertToBitmap();
+        assertTrue(v.isBitmap);
+        assertEquals(count, v.nz_length);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i%3 == 0, v.isAssigned(i));
+        }
+
+        v.convertToSparse();
+        assertFalse(v.isBitmap);
+        assertEquals(count, v.nz_length);
+        for (int i = 0; i < count; i++) {
+            assertEquals(i*3, v.nz_indexes[i]);
+            assertEquals(i*3 + 0.5, v.nz_values[i]);
+        }
+    }
+
+    @Test void selectFormat() {
+        var v = new DVectorSparse(100);
+        int threshold = (int)(100*EjmlParameters.SPARSE_VECTOR_BITMAP);
+        for (int i = 0; i < threshold; i++) {
+            v.append(i*2, 1.0);
+        }
+        v.selectFormat();
+        assertFalse(v.isBitmap);
+
+        v.set(99, 1.0);
+        v.selectFormat();
+        assertTrue(v.isBitmap);
+        assertEquals(threshold + 1, v.nz_length);
+    }
+
+    @Test void dense() {
+        double[] values = new double[50];
+        for (int i = 0; i < values.length; i += 7) {
+            values[i] = i + 1;
+        }
+        DVectorSparse v = DVectorSparse.fromDense(values, 0.0);
+        assertEquals(8, v.nz_length);
+        assertArrayEquals(values, v.toDense(new double[50], 0.0));
+
+        // zero is handled as being assigned
+        double[] found = v.toDense(new double[50], Double.MAX_VALUE);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(i%7 == 0 ? values[i] : Double.MAX_VALUE, found[i]);
+        }
+    }
+
+    @Test void copy() {
+        for (boolean bitmap : new boolean[]{false, true}) {
+            var v = new DVectorSparse(12);
+            v.set(2, 1.0);
+            v.set(9, 2.0);
+            if (bitmap)
+                v.convertToBitmap();
+
+            DVectorSparse c = v.copy();
+            assertEquals(bitmap, c.isBitmap);
+            assertEquals(2, c.nz_length);
+            assertEquals(1.0, c.get(2));
+            assertEquals(2.0, c.get(9));
+
+            // make sure it's a deep copy
+            c.set(2, 5.0);
+            assertEquals(1.0, v.get(2));
+        }
+    }
+
+    @Test void reshape_zero() {
+        var v = new DVectorSparse(10);
+        v.set(3, 1.0);
+        v.convertToBitmap();
+
+        v.zero();
+        assertTrue(v.isBitmap);
+        assertEquals(0, v.nz_length);
+        assertFalse(v.isAssigned(3));
+
+        v.set(3, 1.0);
+        v.reshape(20);
+        assertFalse(v.isBitmap);
+        assertEquals(20, v.size);
+        assertEquals(0, v.nz_length);
+
+        // make sure stale bitmap elements are cleared
+        v.convertToBitmap();
+        assertFalse(v.isAssigned(3));
+    }
+}
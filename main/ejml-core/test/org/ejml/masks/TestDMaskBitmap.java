@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.masks;
+
+import org.ejml.EjmlParameters;
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDMaskBitmap extends EjmlStandardJUnit {
+    @Test void mask() {
+        // number of elements isn't a multiple of 64
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(13, 11, 60, rand);
+
+        for (boolean negated : new boolean[]{false, true}) {
+            Mask mask = new DMaskBitmap.Builder(matrix).withStructural(true).withNegated(negated).build();
+            for (int col = 0; col < matrix.numCols; col++) {
+                mask.setIndexColumn(col);
+                for (int row = 0; row < matrix.numRows; row++) {
+                    assertEquals(negated != matrix.isAssigned(row, col), mask.isSet(row, col));
+                }
+            }
+        }
+    }
+
+    /**
+     * If not structural then elements which are equal to the zero element are not set
+     */
+    @Test void values() {
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(20, 20, 150, rand);
+        for (int i = 0; i < matrix.nz_length; i += 3) {
+            matrix.nz_values[i] = 2.0;
+        }
+
+        Mask structural = new DMaskBitmap.Builder(matrix).withStructural(true).withZeroElement(2.0).build();
+        Mask values = new DMaskBitmap.Builder(matrix).withZeroElement(2.0).build();
+
+        for (int col = 0; col < matrix.numCols; col++) {
+            for (int row = 0; row < matrix.numRows; row++) {
+                boolean assigned = matrix.isAssigned(row, col);
+                assertEquals(assigned, structural.isSet(row, col));
+                assertEquals(assigned && matrix.get(row, col) != 2.0, values.isSet(row, col));
+            }
+        }
+        assertEquals(matrix.nz_length, structural.maxMaskedEntries());
+        assertEquals(matrix.nz_length - (matrix.nz_length + 2)/3, values.maxMaskedEntries());
+    }
+
+    @Test void vector() {
+        DMatrixSparseCSC column = RandomMatrices_DSCC.rectangle(70, 1, 20, rand);
+        Mask mask = new DMaskBitmap.Builder(column).build();
+        for (int i = 0; i < column.numRows; i++) {
+            assertEquals(column.isAssigned(i, 0), mask.isSet(i));
+        }
+    }
+
+    @Test void isPreferred() {
+        int N = 100;
+        int threshold = (int)Math.ceil(EjmlParameters.MASK_BITMAP_DENSITY*N*N);
+        assertFalse(DMaskBitmap.isPreferred(RandomMatrices_DSCC.rectangle(N, N, threshold - 1, rand)));
+        assertTrue(DMaskBitmap.isPreferred(RandomMatrices_DSCC.rectangle(N, N, threshold, rand)));
+        assertFalse(DMaskBitmap.isPreferred(new DMatrixSparseCSC(0, 5, 0)));
+    }
+
+    @Test void maxEntries() {
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(10, 10, 20, rand);
+        assertEquals(20, new DMaskBitmap.Builder(matrix).build().maxMaskedEntries());
+        assertEquals(80, new DMaskBitmap.Builder(matrix).withNegated(true).build().maxMaskedEntries());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.masks;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDMaskSparseMerge extends EjmlStandardJUnit {
+    /**
+     * Visits every column with rows in increasing order, which is how the masked kernels access it
+     */
+    @Test void ascending() {
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(40, 15, 120, rand);
+
+        for (boolean negated : new boolean[]{false, true}) {
+            Mask mask = new DMaskSparseMerge.Builder(matrix).withStructural(true).withNegated(negated).build();
+            for (int col = 0; col < matrix.numCols; col++) {
+                mask.setIndexColumn(col);
+                for (int row = 0; row < matrix.numRows; row++) {
+                    assertEquals(negated != matrix.isAssigned(row, col), mask.isSet(row, col));
+                }
+            }
+        }
+    }
+
+    /**
+     * Rows are skipped or requested in any order, which requires it to gallop or search from the start
+     */
+    @Test void randomOrder() {
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(200, 6, 400, rand);
+        Mask mask = new DMaskSparseMerge.Builder(matrix).withStructural(true).build();
+
+        for (int trial = 0; trial < 2000; trial++) {
+            int row = rand.nextInt(matrix.numRows);
+            int col = rand.nextInt(matrix.numCols);
+            if (rand.nextBoolean())
+                mask.setIndexColumn(col);
+            assertEquals(matrix.isAssigned(row, col), mask.isSet(row, col));
+        }
+
+        // Same row multiple times and then going backwards
+        mask.setIndexColumn(2);
+        for (int row = matrix.numRows - 1; row >= 0; row--) {
+            assertEquals(matrix.isAssigned(row, 2), mask.isSet(row, 2));
+            assertEquals(matrix.isAssigned(row, 2), mask.isSet(row, 2));
+        }
+    }
+
+    /**
+     * If not structural then elements which are equal to the zero element are not set
+     */
+    @Test void values() {
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(20, 20, 150, rand);
+        for (int i = 0; i < matrix.nz_length; i += 3) {
+            matrix.nz_values[i] = 2.0;
+        }
+
+        Mask structural = new DMaskSparseMerge.Builder(matrix).withStructural(true).withZeroElement(2.0).build();
+        Mask values = new DMaskSparseMerge.Builder(matrix).withZeroElement(2.0).build();
+
+        for (int col = 0; col < matrix.numCols; col++) {
+            for (int row = 0; row < matrix.numRows; row++) {
+                boolean assigned = matrix.isAssigned(row, col);
+                assertEquals(assigned, structural.isSet(row, col));
+                assertEquals(assigned && matrix.get(row, col) != 2.0, values.isSet(row, col));
+            }
+        }
+    }
+
+    @Test void vector() {
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(50, 1, 15, rand);
+        Mask mask = new DMaskSparseMerge.Builder(matrix).build();
+
+        for (int i = 0; i < matrix.numRows; i++) {
+            assertEquals(matrix.isAssigned(i, 0), mask.isSet(i));
+        }
+    }
+
+    /**
+     * The copy must produce the same results and moving the cursor in one must not affect the other
+     */
+    @Test void copyForThread() {
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(30, 10, 80, rand);
+        Mask mask = new DMaskSparseMerge.Builder(matrix).withStructural(true).build();
+        Mask copy = mask.copyForThread();
+        assertNotSame(mask, copy);
+
+        for (int col = 0; col < matrix.numCols; col++) {
+            mask.setIndexColumn(col);
+            copy.setIndexColumn(matrix.numCols - 1 - col);
+            for (int row = 0; row < matrix.numRows; row++) {
+                assertEquals(matrix.isAssigned(row, col), mask.isSet(row, col));
+                int colCopy = matrix.numCols - 1 - col;
+                assertEquals(matrix.isAssigned(row, colCopy), copy.isSet(row, colCopy));
+            }
+        }
+    }
+
+    @Test void unsortedIsAnError() {
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(10, 10, 30, rand);
+        matrix.indicesSorted = false;
+        assertThrows(IllegalArgumentException.class, () -> new DMaskSparseMerge.Builder(matrix).build());
+    }
+
+    @Test void maxEntries() {
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(10, 10, 20, rand);
+        assertEquals(20, new DMaskSparseMerge.Builder(matrix).build().maxMaskedEntries());
+        assertEquals(80, new DMaskSparseMerge.Builder(matrix).withNegated(true).build().maxMaskedEntries());
+    }
+}
@@ -30,6 +30,9 @@ import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestDMasksSparse extends EjmlStandardJUnit {
 
@@ -80,6 +83,111 @@ public class TestDMasksSparse extends EjmlStandardJUnit {
         }
     }
 
+    /**
+     * The copy must produce the same results and changing the indexed column in one must not affect the other
+     */
+    @Test
+    void copyForThread() {
+        int dim = 10;
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(dim, dim, 50, new Random(42));
+
+        for (boolean negated : new boolean[]{false, true}) {
+            Mask mask = new DMaskSparse.Builder(matrix).withNegated(negated).build();
+            Mask copy = mask.copyForThread();
+            assertNotSame(mask, copy);
+
+            mask.setIndexColumn(2);
+            for (int col = 0; col < dim; col++) {
+                copy.setIndexColumn(col);
+                for (int row = 0; row < dim; row++) {
+                    boolean expected = negated != (matrix.get(row, col) != 0);
+                    assertEquals(expected, copy.isSet(row, col));
+                    assertEquals(expected, mask.isSet(row, col));
+                }
+            }
+        }
+    }
+
+    /**
+     * Dense masks should become a bitmap and sparse masks a merge, unless the indices are not sorted
+     */
+    @Test
+    void optimized() {
+        int dim = 40;
+        DMatrixSparseCSC dense = RandomMatrices_DSCC.rectangle(dim, dim, 400, new Random(42));
+        DMatrixSparseCSC sparse = RandomMatrices_DSCC.rectangle(dim, dim, 30, new Random(42));
+
+        for (boolean negated : new boolean[]{false, true}) {
+            Mask mask = new DMaskSparse.Builder(dense).withNegated(negated).build();
+            Mask found = mask.optimized();
+            assertTrue(found instanceof DMaskBitmap);
+            assertSameEntries(mask, found);
+
+            mask = new DMaskSparse.Builder(sparse).withNegated(negated).build();
+            found = mask.optimized();
+            assertTrue(found instanceof DMaskSparseMerge);
+            assertSameEntries(mask, found);
+        }
+
+        sparse.indicesSorted = false;
+        Mask mask = new DMaskSparse.Builder(sparse).build();
+        assertSame(mask, mask.optimized());
+    }
+
+    /**
+     * Unassigned elements are not set when zeroElement isn't zero, independent of the indices being sorted
+     */
+    @Test
+    void unassignedWithNonZeroZeroElement() {
+        int dim = 20;
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(dim, dim, 15, 4, 6, new Random(42));
+        for (int i = 0; i < matrix.nz_length; i += 3) {
+            matrix.nz_values[i] = 5;
+        }
+
+        for (boolean sorted : new boolean[]{true, false}) {
+            DMatrixSparseCSC input = sorted ? matrix : reverseColumns(matrix);
+            for (boolean negated : new boolean[]{false, true}) {
+                Mask mask = new DMaskSparse.Builder(input).withZeroElement(5).withNegated(negated).build().optimized();
+                assertEquals(!sorted, mask instanceof DMaskSparse);
+
+                for (int col = 0; col < dim; col++) {
+                    for (int row = 0; row < dim; row++) {
+                        boolean expected = matrix.isAssigned(row, col) && matrix.get(row, col) != 5;
+                        assertEquals(negated != expected, mask.isSet(row, col));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the matrix with the order of the row indices in each column reversed
+     */
+    static DMatrixSparseCSC reverseColumns( DMatrixSparseCSC matrix ) {
+        DMatrixSparseCSC out = matrix.copy();
+        for (int col = 0; col < matrix.numCols; col++) {
+            int idx0 = matrix.col_idx[col];
+            int idx1 = matrix.col_idx[col + 1];
+            for (int i = idx0; i < idx1; i++) {
+                out.nz_rows[i] = matrix.nz_rows[idx1 - 1 - (i - idx0)];
+                out.nz_values[i] = matrix.nz_values[idx1 - 1 - (i - idx0)];
+            }
+        }
+        out.indicesSorted = false;
+        return out;
+    }
+
+    private static void assertSameEntries( Mask expected, Mask found ) {
+        assertEquals(expected.maxMaskedEntries(), found.maxMaskedEntries());
+        for (int col = 0; col < expected.getNumCols(); col++) {
+            found.setIndexColumn(col);
+            for (int row = 0; row < expected.getNumRows(); row++) {
+                assertEquals(expected.isSet(row, col), found.isSet(row, col));
+            }
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("maskAndExpectedMaxEntries")
     void maxEntries( Mask mask, int expected ) {
@@ -30,6 +30,9 @@ import java.util.Random;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestDMasksSparseStructural extends EjmlStandardJUnit {
 
@@ -80,6 +83,90 @@ public class TestDMasksSparseStructural extends EjmlStandardJUnit {
         }
     }
 
+    /**
+     * The copy must produce the same results and changing the indexed column in one must not affect the other
+     */
+    @Test
+    void copyForThread() {
+        int dim = 10;
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(dim, dim, 50, new Random(42));
+
+        for (boolean negated : new boolean[]{false, true}) {
+            Mask mask = new DMaskSparseStructural.Builder(matrix).withNegated(negated).build();
+            Mask copy = mask.copyForThread();
+            assertNotSame(mask, copy);
+
+            mask.setIndexColumn(2);
+            for (int col = 0; col < dim; col++) {
+                copy.setIndexColumn(col);
+                for (int row = 0; row < dim; row++) {
+                    boolean expected = negated != matrix.isAssigned(row, col);
+                    assertEquals(expected, copy.isSet(row, col));
+                    assertEquals(expected, mask.isSet(row, col));
+                }
+            }
+        }
+    }
+
+    /**
+     * Dense masks should become a bitmap and sparse masks a merge, unless the indices are not sorted
+     */
+    @Test
+    void optimized() {
+        int dim = 40;
+        DMatrixSparseCSC dense = RandomMatrices_DSCC.rectangle(dim, dim, 400, new Random(42));
+        DMatrixSparseCSC sparse = RandomMatrices_DSCC.rectangle(dim, dim, 30, new Random(42));
+
+        for (boolean negated : new boolean[]{false, true}) {
+            Mask mask = new DMaskSparseStructural.Builder(dense).withNegated(negated).build();
+            Mask found = mask.optimized();
+            assertTrue(found instanceof DMaskBitmap);
+            assertSameEntries(mask, found);
+
+            mask = new DMaskSparseStructural.Builder(sparse).withNegated(negated).build();
+            found = mask.optimized();
+            assertTrue(found instanceof DMaskSparseMerge);
+            assertSameEntries(mask, found);
+        }
+
+        sparse.indicesSorted = false;
+        Mask mask = new DMaskSparseStructural.Builder(sparse).build();
+        assertSame(mask, mask.optimized());
+    }
+
+    /**
+     * Only assigned elements are set, independent of the indices being sorted
+     */
+    @Test
+    void unassignedSortedAndUnsorted() {
+        int dim = 20;
+        DMatrixSparseCSC matrix = RandomMatrices_DSCC.rectangle(dim, dim, 15, new Random(42));
+
+        for (boolean sorted : new boolean[]{true, false}) {
+            DMatrixSparseCSC input = sorted ? matrix : TestDMasksSparse.reverseColumns(matrix);
+            for (boolean negated : new boolean[]{false, true}) {
+                Mask mask = new DMaskSparseStructural.Builder(input).withNegated(negated).build().optimized();
+                assertEquals(!sorted, mask instanceof DMaskSparseStructural);
+
+                for (int col = 0; col < dim; col++) {
+                    for (int row = 0; row < dim; row++) {
+                        assertEquals(negated != matrix.isAssigned(row, col), mask.isSet(row, col));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void assertSameEntries( Mask expected, Mask found ) {
+        assertEquals(expected.maxMaskedEntries(), found.maxMaskedEntries());
+        for (int col = 0; col < expected.getNumCols(); col++) {
+            found.setIndexColumn(col);
+            for (int row = 0; row < expected.getNumRows(); row++) {
+                assertEquals(expected.isSet(row, col), found.isSet(row, col));
+            }
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("maskAndExpectedMaxEntries")
     void maxEntries( Mask mask, int expected ) {
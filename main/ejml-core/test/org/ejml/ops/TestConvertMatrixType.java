@@ -55,4 +55,22 @@ public class TestConvertMatrixType extends EjmlStandardJUnit {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void compressedRow() {
+        MatrixType[] types = new MatrixType[]{DDRM,DSCC,DSCR};
+
+        for (MatrixType a : types) {
+            Matrix matA = a.create(4, 6);
+
+            for (MatrixType b : types) {
+                Matrix matB = ConvertMatrixType.convert(matA, b);
+
+                assertEquals(b, matB.getType());
+                assertNotSame(matA, matB);
+                assertEquals(matA.getNumRows(), matB.getNumRows());
+                assertEquals(matA.getNumCols(), matB.getNumCols());
+            }
+        }
+    }
+}
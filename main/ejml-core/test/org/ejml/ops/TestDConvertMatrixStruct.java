@@ -28,6 +28,7 @@ import org.ejml.dense.row.RandomMatrices_DDRM;
 import org.ejml.sparse.csc.CommonOps_DSCC;
 import org.ejml.sparse.csc.MatrixFeatures_DSCC;
 import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csr.CommonOps_DSCR;
 import org.ejml.sparse.triplet.MatrixFeatures_DSTL;
 import org.ejml.sparse.triplet.RandomMatrices_DSTL;
 import org.jetbrains.annotations.Nullable;
@@ -312,6 +313,66 @@ public class TestDConvertMatrixStruct extends EjmlStandardJUnit {
         assertTrue(CommonOps_DSCC.checkIndicesSorted(c));
     }
 
+    @Test
+    public void SparseCSC_SparseCSR() {
+        // the output is always sorted, even if the input isn't
+        DMatrixSparseTriplet t = RandomMatrices_DSTL.uniform(7,5,15,-1,1,rand);
+        DMatrixSparseCSC a = DConvertMatrixStruct.convert(t, (DMatrixSparseCSC)null);
+
+        SparseCSC_SparseCSR(a, null);
+        SparseCSC_SparseCSR(a, new DMatrixSparseCSR(1,1,2));
+    }
+
+    public void SparseCSC_SparseCSR( DMatrixSparseCSC a, @Nullable DMatrixSparseCSR b ) {
+        b = DConvertMatrixStruct.convert(a, b);
+
+        assertEquals(a.numRows, b.numRows);
+        assertEquals(a.numCols, b.numCols);
+        assertEquals(a.nz_length, b.nz_length);
+        assertTrue(CommonOps_DSCR.checkStructure(b));
+        assertTrue(b.indicesSorted);
+        EjmlUnitTests.assertEquals(a, b, UtilEjml.TEST_F64);
+
+        // now try it the other direction
+        DMatrixSparseCSC c = DConvertMatrixStruct.convert(b, (DMatrixSparseCSC)null);
+        assertTrue(MatrixFeatures_DSCC.isEqualsSort(a, c, UtilEjml.TEST_F64));
+        assertTrue(c.indicesSorted);
+        assertTrue(CommonOps_DSCC.checkStructure(c));
+
+        c = DConvertMatrixStruct.convert(b, new DMatrixSparseCSC(1,1,1));
+        assertTrue(MatrixFeatures_DSCC.isEqualsSort(a, c, UtilEjml.TEST_F64));
+    }
+
+    @Test
+    public void DMatrixRow_SparseCSR() {
+        DMatrixRMaj a = RandomMatrices_DDRM.rectangle(5,6,-1,1,rand);
+
+        a.set(4,3, 0);
+        a.set(1,3, 0);
+        a.set(2,3, 0);
+        a.set(2,0, 0);
+
+        DMatrixRow_SparseCSR(a, null);
+        DMatrixRow_SparseCSR(a, new DMatrixSparseCSR(1,1,2));
+    }
+
+    public void DMatrixRow_SparseCSR( DMatrixRMaj a, @Nullable DMatrixSparseCSR b ) {
+        b = DConvertMatrixStruct.convert(a, b, UtilEjml.EPS);
+
+        assertEquals(a.numRows, b.numRows);
+        assertEquals(a.numCols, b.numCols);
+        assertEquals(5*6-4, b.nz_length);
+        assertTrue(CommonOps_DSCR.checkStructure(b));
+        EjmlUnitTests.assertEquals(a, b, UtilEjml.TEST_F64);
+
+        // now try it the other direction
+        DMatrixRMaj c = DConvertMatrixStruct.convert(b, (DMatrixRMaj)null);
+        assertTrue(MatrixFeatures_DDRM.isEquals(a, c, UtilEjml.TEST_F64));
+
+        c = DConvertMatrixStruct.convert(b, new DMatrixRMaj(1,1));
+        assertTrue(MatrixFeatures_DDRM.isEquals(a, c, UtilEjml.TEST_F64));
+    }
+
     @Test
     public void SMatrixTriplet_SMatrixCC() {
         DMatrixSparseTriplet a = RandomMatrices_DSTL.uniform(5,6,10,-1,1,rand);
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.block.decompose.lu;
+
+import org.ejml.EjmlParameters;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.block.decomposition.lu.LURightLooking_MT_DDRB;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionAlt_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecomposition_DDRB_to_DDRM;
+import org.ejml.interfaces.decomposition.LUDecomposition_F64;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the row major LU decomposition against the blocked right looking one
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 2)
+public class BenchmarkDecompositionLU_MT_DDRB {
+    @Param({"100", "500", "1000", "2000", "5000"})
+    public int size;
+
+    public DMatrixRMaj A;
+
+    LUDecomposition_F64<DMatrixRMaj> row = new LUDecompositionAlt_DDRM();
+    LUDecomposition_F64<DMatrixRMaj> block = new LUDecomposition_DDRB_to_DDRM();
+    LUDecomposition_F64<DMatrixRMaj> blockMT =
+            new LUDecomposition_DDRB_to_DDRM(new LURightLooking_MT_DDRB(), EjmlParameters.BLOCK_WIDTH);
+
+    @Setup
+    public void setup() {
+        A = RandomMatrices_DDRM.rectangle(size, size, -1, 1, new Random(234));
+    }
+
+    @Benchmark
+    public void row() {
+        row.decompose(A.copy());
+    }
+
+    @Benchmark
+    public void block() {
+        block.decompose(A.copy());
+    }
+
+    @Benchmark
+    public void block_MT() {
+        blockMT.decompose(A.copy());
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkDecompositionLU_MT_DDRB.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.data.DMatrix3;
+import org.ejml.data.DMatrix3x3;
+import org.ejml.data.DMatrixBatch;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares processing many 3x3 matrices stored as individual objects with {@link CommonOps_DDF3} against
+ * storing them in a {@link DMatrixBatch} and using {@link BatchOps_DDF3}
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 2)
+public class BenchmarkBatchOps_DDF3 {
+    @Param({"1000", "1000000"})
+    public int size;
+
+    DMatrix3x3[] arrayA, arrayB, arrayC;
+    DMatrix3[] arrayX, arrayY;
+
+    DMatrixBatch batchA = new DMatrixBatch();
+    DMatrixBatch batchB = new DMatrixBatch();
+    DMatrixBatch batchC = new DMatrixBatch();
+    DMatrixBatch batchX = new DMatrixBatch();
+    DMatrixBatch batchY = new DMatrixBatch();
+    double[] det = new double[0];
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(234);
+
+        arrayA = new DMatrix3x3[size];
+        arrayB = new DMatrix3x3[size];
+        arrayC = new DMatrix3x3[size];
+        arrayX = new DMatrix3[size];
+        arrayY = new DMatrix3[size];
+
+        batchA.reshape(3, 3, size);
+        batchB.reshape(3, 3, size);
+        batchX.reshape(3, 1, size);
+
+        for (int i = 0; i < size; i++) {
+            arrayA[i] = new DMatrix3x3();
+            arrayB[i] = new DMatrix3x3();
+            arrayC[i] = new DMatrix3x3();
+            arrayX[i] = new DMatrix3();
+            arrayY[i] = new DMatrix3();
+            // symmetric positive definite so that Cholesky and solve succeed
+            arrayA[i].setTo(0, RandomMatrices_DDRM.symmetricPosDef(3, rand).data);
+            arrayB[i].setTo(0, RandomMatrices_DDRM.symmetricPosDef(3, rand).data);
+            arrayX[i].setTo(rand.nextDouble(), rand.nextDouble(), rand.nextDouble());
+
+            batchA.setMatrix(i, arrayA[i]);
+            batchB.setMatrix(i, arrayB[i]);
+            batchX.setMatrix(i, arrayX[i]);
+        }
+    }
+
+    @Benchmark public void mult_object() {
+        for (int i = 0; i < size; i++) {
+            CommonOps_DDF3.mult(arrayA[i], arrayB[i], arrayC[i]);
+        }
+    }
+
+    @Benchmark public void mult_batch() {BatchOps_DDF3.mult(batchA, batchB, batchC);}
+
+    @Benchmark public void mult_batch_MT() {BatchOps_MT_DDF3.mult(batchA, batchB, batchC);}
+
+    @Benchmark public void invert_object() {
+        for (int i = 0; i < size; i++) {
+            CommonOps_DDF3.invert(arrayA[i], arrayC[i]);
+        }
+    }
+
+    @Benchmark public void invert_batch() {BatchOps_DDF3.invert(batchA, batchC);}
+
+    @Benchmark public void solve_object() {
+        for (int i = 0; i < size; i++) {
+            CommonOps_DDF3.invert(arrayA[i], arrayC[i]);
+            CommonOps_DDF3.mult(arrayC[i], arrayX[i], arrayY[i]);
+        }
+    }
+
+    @Benchmark public void solve_batch() {BatchOps_DDF3.solve(batchA, batchX, batchY);}
+
+    @Benchmark public double det_object() {
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += CommonOps_DDF3.det(arrayA[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark public void det_batch() {det = BatchOps_DDF3.det(batchA, det);}
+
+    @Benchmark public void chol_object() {
+        for (int i = 0; i < size; i++) {
+            arrayC[i].setTo(arrayA[i]);
+            CommonOps_DDF3.cholL(arrayC[i]);
+        }
+    }
+
+    @Benchmark public void chol_batch() {
+        batchC.setTo(batchA);
+        BatchOps_DDF3.cholL(batchC);
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkBatchOps_DDF3.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -43,6 +43,7 @@ public class BenchmarkDecompositionSvd_DDRM {
     public DMatrixRMaj A, U, V;
 
     SvdImplicitQrDecompose_DDRM svd = new SvdImplicitQrDecompose_DDRM(true, true, true, true);
+    SvdRandomized_DDRM randomized = new SvdRandomized_DDRM(10, 10, 2);
 
     @Setup
     public void setup() {
@@ -65,6 +66,14 @@ public class BenchmarkDecompositionSvd_DDRM {
         svd.decompose(A.copy());
     }
 
+    /** Only the 10 largest singular values */
+    @Benchmark
+    public void randomized_uv() {
+        randomized.decompose(A);
+        randomized.getU(U, false);
+        randomized.getV(V, true);
+    }
+
     public static void main( String[] args ) throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(BenchmarkDecompositionSvd_DDRM.class.getSimpleName())
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.mult;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the packed matrix multiplication against the algorithms in {@link MatrixMatrixMult_DDRM}, single
+ * threaded and concurrent.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 2)
+public class BenchmarkMatrixMultPacked_DDRM {
+
+    @Param({"64", "500", "1000", "2000", "4000"})
+    public int size;
+
+    public DMatrixRMaj A = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj B = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj C = new DMatrixRMaj(1, 1);
+
+    DGrowArray workA = new DGrowArray();
+    DGrowArray workB = new DGrowArray();
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(234);
+
+        A.reshape(size, size);
+        B.reshape(size, size);
+        C.reshape(size, size);
+
+        RandomMatrices_DDRM.fillUniform(A, -1, 1, rand);
+        RandomMatrices_DDRM.fillUniform(B, -1, 1, rand);
+    }
+
+    // @formatter:off
+    @Benchmark public void mult_reorder() { MatrixMatrixMult_DDRM.mult_reorder(A, B, C); }
+    @Benchmark public void mult_packed() { MatrixMultPacked_DDRM.mult(1.0, A, false, B, false, C, false, workA, workB); }
+    @Benchmark public void multTransA_reorder() { MatrixMatrixMult_DDRM.multTransA_reorder(A, B, C); }
+    @Benchmark public void multTransA_packed() { MatrixMultPacked_DDRM.mult(1.0, A, true, B, false, C, false, workA, workB); }
+    @Benchmark public void multTransB() { MatrixMatrixMult_DDRM.multTransB(A, B, C); }
+    @Benchmark public void multTransB_packed() { MatrixMultPacked_DDRM.mult(1.0, A, false, B, true, C, false, workA, workB); }
+    @Benchmark public void multTransAB_aux() { MatrixMatrixMult_DDRM.multTransAB_aux(A, B, C, null); }
+    @Benchmark public void multTransAB_packed() { MatrixMultPacked_DDRM.mult(1.0, A, true, B, true, C, false, workA, workB); }
+    @Benchmark public void mult_reorder_MT() { MatrixMatrixMult_MT_DDRM.mult_reorder(A, B, C); }
+    @Benchmark public void mult_packed_MT() { MatrixMultPacked_MT_DDRM.mult(1.0, A, false, B, false, C, false, workA, workB); }
+    // @formatter:on
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkMatrixMultPacked_DDRM.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -60,6 +60,9 @@ public class GeneratorBlockInnerMultiplication {
                 "\n" +
                 "package org.ejml.dense.block;\n" +
                 "\n" +
+                "import org.ejml.dense.row.mult.SimdKernels_DDRM;\n" +
+                "import org.ejml.dense.row.mult.VectorKernels_DDRM;\n" +
+                "\n" +
                 "/**\n" +
                 " * <p>\n" +
                 " * Matrix multiplication for the inner row major blocks, typically inside of a {@link org.ejml.data.DMatrixRBlock}.\n" +
@@ -79,6 +82,7 @@ public class GeneratorBlockInnerMultiplication {
     private void print_mult( boolean hasAlpha , Operation opType ) {
 
         createHeader(hasAlpha,opType,false,false);
+        printSimdAxpy(hasAlpha,opType,false);
 
         stream.print(
                 "//        for( int i = 0; i < heightA; i++ ) {\n" +
@@ -91,49 +95,104 @@ public class GeneratorBlockInnerMultiplication {
 
         stream.println();
 
-        String o = ( opType == Operation.MINUS ) ? "-=" : "+=";
+        printRegisterBlocked(hasAlpha,opType);
+
+        stream.println("    }");
+
+    }
+    
+
+    /**
+     * Computes a 4x4 block of C at a time with the sums stored in local variables, which greatly reduces
+     * the number of times C is read and written to.
+     */
+    private void printRegisterBlocked( boolean hasAlpha , Operation opType ) {
+        String o = opString(opType);
         String m = hasAlpha ? "alpha*" : "";
 
         stream.print(
-                "        int a = indexA;\n"+
-                "        int rowC = indexC;\n"+
-                "        for( int i = 0; i < heightA; i++ , rowC += widthC ) {\n" +
-                "            int b = indexB;\n" +
+                "        // Computes a 4x4 block of C at a time with the sums stored in local variables\n" +
+                "        final int heightA4 = heightA - heightA%4;\n" +
+                "        final int widthC4 = widthC - widthC%4;\n" +
+                "        for (int i = 0; i < heightA4; i += 4) {\n" +
+                "            final int a0 = indexA + i*widthA, a1 = a0 + widthA, a2 = a1 + widthA, a3 = a2 + widthA;\n" +
+                "            for (int j = 0; j < widthC4; j += 4) {\n");
+        for( int r = 0; r < 4; r++ ) {
+            stream.print("                double c"+r+"0 = 0, c"+r+"1 = 0, c"+r+"2 = 0, c"+r+"3 = 0;\n");
+        }
+        stream.print(
                 "\n" +
-                "            final int endC = rowC + widthC;\n" +
-                "            final int endA = a + widthA;"+
-                "\n"+
-                "            while( a != endA ) {//for( int k = 0; k < widthA; k++ ) {\n" +
-                "                double valA = "+m+"dataA[a++];\n" +
+                "                int b = indexB + j;\n" +
+                "                for (int k = 0; k < widthA; k++, b += widthC) {\n" +
+                "                    double b0 = dataB[b], b1 = dataB[b + 1], b2 = dataB[b + 2], b3 = dataB[b + 3];\n");
+        for( int r = 0; r < 4; r++ ) {
+            stream.print("                    double v"+r+" = dataA[a"+r+" + k];\n");
+        }
+        for( int r = 0; r < 4; r++ ) {
+            stream.print("                    c"+r+"0 += v"+r+"*b0; c"+r+"1 += v"+r+"*b1; c"+r+"2 += v"+r+"*b2; c"+r+"3 += v"+r+"*b3;\n");
+        }
+        stream.print(
+                "                }\n" +
                 "\n" +
-                "                int c = rowC;\n" +
-                "\n");
+                "                int c = indexC + i*widthC + j;\n");
+        for( int r = 0; r < 4; r++ ) {
+            stream.print("                dataC[c] "+o+" "+m+"c"+r+"0; dataC[c + 1] "+o+" "+m+"c"+r+"1; "+
+                    "dataC[c + 2] "+o+" "+m+"c"+r+"2; dataC[c + 3] "+o+" "+m+"c"+r+"3;\n");
+            if( r < 3 )
+                stream.print("                c += widthC;\n");
+        }
+        stream.print(
+                "            }\n" +
+                "        }\n" +
+                "\n" +
+                "        // Elements in C which are not inside of a 4x4 block\n" +
+                "        for (int i = 0; i < heightA; i++) {\n" +
+                "            final int rowA = indexA + i*widthA;\n" +
+                "            final int rowC = indexC + i*widthC;\n" +
+                "            for (int j = i < heightA4 ? widthC4 : 0; j < widthC; j++) {\n" +
+                "                double sum = 0;\n" +
+                "                for (int k = 0; k < widthA; k++) {\n" +
+                "                    sum += dataA[rowA + k]*dataB[indexB + k*widthC + j];\n" +
+                "                }\n" +
+                "                dataC[rowC + j] "+o+" "+m+"sum;\n" +
+                "            }\n" +
+                "        }\n");
+    }
+
+    /**
+     * Prints a branch which processes each row of C using vectorized kernels, if they are available
+     */
+    private void printSimdAxpy( boolean hasAlpha , Operation opType , boolean transA ) {
+        String outer = transA ? "widthA" : "heightA";
+        String inner = transA ? "heightA" : "widthA";
+        String valA = transA ? "dataA[k*widthA + i + indexA]" : "dataA[i*widthA + k + indexA]";
+        String m = hasAlpha ? "alpha*" : "";
+        String sign = opType == Operation.MINUS ? "-" : "";
 
+        stream.print(
+                "        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthC);\n" +
+                "        if( simd != null ) {\n" +
+                "            for( int i = 0; i < "+outer+"; i++ ) {\n" +
+                "                int rowC = i*widthC + indexC;\n" +
+                "                for( int k = 0; k < "+inner+"; k++ ) {\n" +
+                "                    double valA = "+m+valA+";\n");
         if( opType == Operation.SET ) {
-             stream.print(
-                "                if( b == indexB ) {\n" +
-                "                    while( c != endC  ) {//for( int j = 0; j < widthC; j++ ) {\n" +
-                "                        dataC[ c++ ] = valA * dataB[ b++ ];\n" +
-                "                    }\n" +
-                "                } else {\n" +
-                "                    while( c != endC  ) {//for( int j = 0; j < widthC; j++ ) {\n" +
-                "                        dataC[ c++ ] "+o+" valA * dataB[ b++ ];\n" +
-                "                    }\n" +
-                "                }\n");
+            stream.print(
+                "                    if( k == 0 )\n" +
+                "                        simd.scale(valA, dataB, k*widthC + indexB, dataC, rowC, widthC);\n" +
+                "                    else\n" +
+                "                        simd.addScaled(dataC, rowC, valA, dataB, k*widthC + indexB, dataC, rowC, widthC);\n");
         } else {
-             stream.print(
-                "                while( c != endC  ) {//for( int j = 0; j < widthC; j++ ) {\n" +
-                "                    dataC[ c++ ] "+o+" valA * dataB[ b++ ];\n" +
-                "                }\n");
+            stream.print(
+                "                    simd.addScaled(dataC, rowC, "+sign+"valA, dataB, k*widthC + indexB, dataC, rowC, widthC);\n");
         }
-        stream.println(
+        stream.print(
+                "                }\n" +
                 "            }\n" +
-                "        }");
-
-        stream.println("    }");
-
+                "            return;\n" +
+                "        }\n" +
+                "\n");
     }
-    
 
     private String createOpString(boolean hasAlpha, Operation opType) {
         String o = opString(opType);
@@ -144,6 +203,7 @@ public class GeneratorBlockInnerMultiplication {
     private void print_multTransA( boolean hasAlpha , Operation opType ) {
 
         createHeader(hasAlpha,opType,true,false);
+        printSimdAxpy(hasAlpha,opType,true);
 
         String o = ( opType == Operation.MINUS ) ? "-=" : "+=";
         String m = hasAlpha ? "alpha*" : "";
@@ -206,6 +266,19 @@ public class GeneratorBlockInnerMultiplication {
 
         String o = createOpString(hasAlpha, opType);
 
+        stream.print(
+                "        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthA);\n" +
+                "        if( simd != null ) {\n" +
+                "            for( int i = 0; i < heightA; i++ ) {\n" +
+                "                for( int j = 0; j < widthC; j++ ) {\n" +
+                "                    double val = simd.dot(dataA, i*widthA + indexA, dataB, j*widthA + indexB, widthA);\n" +
+                "                    dataC[ i*widthC + j + indexC ] "+o+" val;\n" +
+                "                }\n" +
+                "            }\n" +
+                "            return;\n" +
+                "        }\n" +
+                "\n");
+
         stream.println(
                 "        for( int i = 0; i < heightA; i++ ) {\n" +
                 "            for( int j = 0; j < widthC; j++ ) {\n" +
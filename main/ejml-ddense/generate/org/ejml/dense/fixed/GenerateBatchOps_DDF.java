@@ -0,0 +1,538 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.dense.row.misc.GenerateDeterminantFromMinor;
+import org.ejml.dense.row.misc.GenerateUnrolledInverseFromMinor_DDRM;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.function.Consumer;
+
+/**
+ * Automatic code generator for BatchOps_DDF and BatchOps_MT_DDF. Operations are applied to every matrix in a
+ * {@link org.ejml.data.DMatrixBatch}. Inside the loop over the batch each matrix is loaded into local variables
+ * and the same unrolled code as {@link GenerateCommonOps_DDF} is used.
+ *
+ * @author Peter Abeles
+ */
+public class GenerateBatchOps_DDF extends GenerateFixed {
+
+    int N;
+    boolean concurrent;
+
+    public GenerateBatchOps_DDF() {
+        super("BatchOps_DDF");
+    }
+
+    @Override
+    public void generate() throws FileNotFoundException {
+        for (int dimension = 2; dimension <= 6; dimension++) {
+            for (int i = 0; i < 2; i++) {
+                N = dimension;
+                concurrent = i == 1;
+                printPreable();
+
+                mult();
+                multVector();
+                if (dimension <= UtilEjml.maxInverseSize) {
+                    invert();
+                    solve();
+                    det();
+                }
+                cholL();
+                solveChol();
+
+                out.println("}\n");
+            }
+        }
+    }
+
+    public void printPreable() throws FileNotFoundException {
+        String single = "BatchOps_DDF" + N;
+        setOutputFile(concurrent ? "BatchOps_MT_DDF" + N : single);
+
+        String doc;
+        if (concurrent) {
+            doc = " * <p>Concurrent implementation of {@link " + single + "}. The batch is split into blocks of at least\n" +
+                    " * {@link #MIN_BLOCK_SIZE} matrices which are processed in parallel.</p>\n";
+        } else {
+            doc = " * <p>Operations on a batch of " + N + " x " + N + " matrices or " + N + " element vectors stored in a {@link DMatrixBatch}.\n" +
+                    " * Each function is applied to every matrix in the batch. Variants which have 'idx0' and 'idx1' as arguments\n" +
+                    " * only process matrices in that range and skip all sanity checks, which allows them to be called from\n" +
+                    " * concurrent code.</p>\n";
+        }
+
+        out.print("import org.ejml.UtilEjml;\n");
+        if (concurrent)
+            out.print("import org.ejml.concurrency.EjmlConcurrency;\n");
+        out.print("import org.ejml.data.DMatrixBatch;\n");
+        if (N <= UtilEjml.maxInverseSize)
+            out.print("import org.jetbrains.annotations.Nullable;\n");
+        out.print("\n" +
+                "/**\n" +
+                doc +
+                standardClassDocClosing("Peter Abeles") +
+                "@SuppressWarnings(\"Duplicates\")\n" +
+                "public class " + className + " {\n");
+        if (concurrent) {
+            out.print("    /** Minimum number of matrices processed by a single thread */\n" +
+                    "    public static int MIN_BLOCK_SIZE = 500;\n\n");
+        }
+    }
+
+    private void mult() {
+        out.print("    /**\n" +
+                "     * <p>Performs matrix multiplication on each matrix in the batch:<br>\n" +
+                "     * <br>\n" +
+                "     * c[k] = a[k] * b[k]</p>\n" +
+                "     *\n" +
+                "     * @param a (Input) Batch of " + N + "x" + N + " matrices. Not modified.\n" +
+                "     * @param b (Input) Batch of " + N + "x" + N + " matrices. Not modified.\n" +
+                "     * @param c (Output) Batch of " + N + "x" + N + " matrices. Can be the same instance as 'a' or 'b'.\n" +
+                "     */\n" +
+                "    public static void mult( DMatrixBatch a, DMatrixBatch b, DMatrixBatch c ) {\n");
+        checkMatrix("a", null);
+        checkMatrix("b", "a");
+        out.print("        c.reshape(" + N + ", " + N + ", a.size);\n");
+        callKernel("mult(a, b, c, ", false);
+        out.print("    }\n\n");
+
+        if (concurrent)
+            return;
+
+        kernelHeader("void mult( DMatrixBatch a, DMatrixBatch b, DMatrixBatch c, int idx0, int idx1 )",
+                "A = a.data, B = b.data, C = c.data", "a");
+        loadMatrix("A", "a");
+        loadMatrix("B", "b");
+        for (int row = 1; row <= N; row++) {
+            for (int col = 1; col <= N; col++) {
+                out.print("            C[" + idx((row - 1)*N + col - 1) + "] = ");
+                for (int i = 1; i <= N; i++) {
+                    out.print("a" + row + i + "*b" + i + col + (i < N ? " + " : ";\n"));
+                }
+            }
+        }
+        kernelFooter(false);
+    }
+
+    private void multVector() {
+        out.print("    /**\n" +
+                "     * <p>Performs matrix vector multiplication on each matrix in the batch:<br>\n" +
+                "     * <br>\n" +
+                "     * y[k] = a[k] * x[k]</p>\n" +
+                "     *\n" +
+                "     * @param a (Input) Batch of " + N + "x" + N + " matrices. Not modified.\n" +
+                "     * @param x (Input) Batch of " + N + " element column vectors. Not modified.\n" +
+                "     * @param y (Output) Batch of " + N + " element column vectors. Can be the same instance as 'x'.\n" +
+                "     */\n" +
+                "    public static void multVector( DMatrixBatch a, DMatrixBatch x, DMatrixBatch y ) {\n");
+        checkMatrix("a", null);
+        checkVector("x", "a");
+        out.print("        y.reshape(" + N + ", 1, a.size);\n");
+        callKernel("multVector(a, x, y, ", false);
+        out.print("    }\n\n");
+
+        if (concurrent)
+            return;
+
+        kernelHeader("void multVector( DMatrixBatch a, DMatrixBatch x, DMatrixBatch y, int idx0, int idx1 )",
+                "A = a.data, X = x.data, Y = y.data", "a");
+        loadMatrix("A", "a");
+        loadVector("X", "x");
+        for (int row = 1; row <= N; row++) {
+            out.print("            Y[" + idx(row - 1) + "] = ");
+            for (int i = 1; i <= N; i++) {
+                out.print("a" + row + i + "*x" + i + (i < N ? " + " : ";\n"));
+            }
+        }
+        kernelFooter(false);
+    }
+
+    private void invert() {
+        out.print("    /**\n" +
+                "     * Inverts each matrix in the batch using minor matrices. Scaling is applied to improve\n" +
+                "     * stability against overflow and underflow.\n" +
+                "     *\n" +
+                "     * WARNING: Potentially less stable than using LU decomposition.\n" +
+                "     *\n" +
+                "     * @param a (Input) Batch of " + N + "x" + N + " matrices. Not modified.\n" +
+                "     * @param inv (Output) Inverted matrices. Can be the same instance as 'a'.\n" +
+                "     * @return true if it was successful for every matrix or false if any failed. Not reliable.\n" +
+                "     */\n" +
+                "    public static boolean invert( DMatrixBatch a, DMatrixBatch inv ) {\n");
+        checkMatrix("a", null);
+        out.print("        inv.reshape(" + N + ", " + N + ", a.size);\n");
+        callKernel("invert(a, inv, ", true);
+        out.print("    }\n\n");
+
+        if (concurrent)
+            return;
+
+        kernelHeader("boolean invert( DMatrixBatch a, DMatrixBatch inv, int idx0, int idx1 )",
+                "A = a.data, INV = inv.data", "a");
+        loadScaledMatrix();
+        printIndented(( s ) -> GenerateUnrolledInverseFromMinor_DDRM.printMinors(identity(), N, s));
+        out.println();
+        for (int row = 1; row <= N; row++) {
+            for (int col = 1; col <= N; col++) {
+                out.print("            INV[" + idx((row - 1)*N + col - 1) + "] = m" + col + row + "/det;\n");
+            }
+        }
+        out.print("            success &= !Double.isNaN(det) && !Double.isInfinite(det);\n");
+        kernelFooter(true);
+    }
+
+    private void solve() {
+        out.print("    /**\n" +
+                "     * Solves the linear system a[k]*x[k] = b[k] for each matrix in the batch using minor matrices.\n" +
+                "     *\n" +
+                "     * WARNING: Potentially less stable than using LU decomposition.\n" +
+                "     *\n" +
+                "     * @param a (Input) Batch of " + N + "x" + N + " matrices. Not modified.\n" +
+                "     * @param b (Input) Batch of " + N + " element column vectors. Not modified.\n" +
+                "     * @param x (Output) Solution. Can be the same instance as 'b'.\n" +
+                "     * @return true if it was successful for every matrix or false if any failed. Not reliable.\n" +
+                "     */\n" +
+                "    public static boolean solve( DMatrixBatch a, DMatrixBatch b, DMatrixBatch x ) {\n");
+        checkMatrix("a", null);
+        checkVector("b", "a");
+        out.print("        x.reshape(" + N + ", 1, a.size);\n");
+        callKernel("solve(a, b, x, ", true);
+        out.print("    }\n\n");
+
+        if (concurrent)
+            return;
+
+        kernelHeader("boolean solve( DMatrixBatch a, DMatrixBatch b, DMatrixBatch x, int idx0, int idx1 )",
+                "A = a.data, B = b.data, X = x.data", "a");
+        loadVector("B", "b");
+        loadScaledMatrix();
+        printIndented(( s ) -> GenerateUnrolledInverseFromMinor_DDRM.printMinors(identity(), N, s));
+        out.println();
+        // x = inv(A)*b where inv(A)[i][j] = m[j][i]/det
+        for (int row = 1; row <= N; row++) {
+            out.print("            X[" + idx(row - 1) + "] = (");
+            for (int i = 1; i <= N; i++) {
+                out.print("m" + i + row + "*b" + i + (i < N ? " + " : ")/det;\n"));
+            }
+        }
+        out.print("            success &= !Double.isNaN(det) && !Double.isInfinite(det);\n");
+        kernelFooter(true);
+    }
+
+    private void det() {
+        out.print("    /**\n" +
+                "     * Computes the determinant of each matrix in the batch using minor matrices.<br>\n" +
+                "     * WARNING: Potentially less stable than using LU decomposition.\n" +
+                "     *\n" +
+                "     * @param a (Input) Batch of " + N + "x" + N + " matrices. Not modified.\n" +
+                "     * @param output (Output) Storage for the determinants. If null or too small a new array is created.\n" +
+                "     * @return The determinant of each matrix\n" +
+                "     */\n" +
+                "    public static double[] det( DMatrixBatch a, @Nullable double[] output ) {\n");
+        checkMatrix("a", null);
+        out.print("        double[] results = output == null || output.length < a.size ? new double[a.size] : output;\n");
+        if (concurrent) {
+            out.print("        EjmlConcurrency.loopBlocks(0, a.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) ->\n" +
+                    "                BatchOps_DDF" + N + ".det(a, results, idx0, idx1));\n");
+        } else {
+            out.print("        det(a, results, 0, a.size);\n");
+        }
+        out.print("        return results;\n" +
+                "    }\n\n");
+
+        if (concurrent)
+            return;
+
+        kernelHeader("void det( DMatrixBatch a, double[] output, int idx0, int idx1 )",
+                "A = a.data", "a");
+        if (N <= 3) {
+            loadMatrix("A", "a");
+            if (N == 2) {
+                out.print("            output[k] = a11*a22 - a12*a21;\n");
+            } else {
+                out.print("            double m1 = a11*(a22*a33 - a23*a32);\n" +
+                        "            double m2 = a12*(a21*a33 - a23*a31);\n" +
+                        "            double m3 = a13*(a21*a32 - a31*a22);\n" +
+                        "            output[k] = m1 - m2 + m3;\n");
+            }
+        } else {
+            printIndented(( s ) -> new GenerateDeterminantFromMinor(s) {
+                @Override protected String getInputValue( int element ) {
+                    return "A[" + idx(element) + "]";
+                }
+            }.printFunctionInner(N));
+            out.print("            output[k] = ret;\n");
+        }
+        kernelFooter(false);
+    }
+
+    private void cholL() {
+        out.print("    /**\n" +
+                "     * Performs a lower Cholesky decomposition of each matrix in the batch and stores the result in place.\n" +
+                "     *\n" +
+                "     * @param a (Input) Batch of SPD matrices. (Output) lower cholesky.\n" +
+                "     * @return true if it was successful for every matrix or false if any failed. Not always reliable.\n" +
+                "     */\n" +
+                "    public static boolean cholL( DMatrixBatch a ) {\n");
+        checkMatrix("a", null);
+        callKernel("cholL(a, ", true);
+        out.print("    }\n\n");
+
+        if (concurrent)
+            return;
+
+        kernelHeader("boolean cholL( DMatrixBatch a, int idx0, int idx1 )",
+                "A = a.data", "a");
+        loadLower("A", "a");
+        for (int i = 1; i <= N; i++) {
+            for (int j = 1; j <= i; j++) {
+                if (i == j) {
+                    out.print("            a" + i + i + " = Math.sqrt(a" + i + i);
+                    for (int k = 1; k < j; k++) {
+                        out.print(" - a" + i + k + "*a" + i + k);
+                    }
+                    out.println(");");
+                } else {
+                    out.print("            a" + i + j + " = (a" + i + j);
+                    for (int k = 1; k < j; k++) {
+                        out.print(" - a" + i + k + "*a" + j + k);
+                    }
+                    out.println(")/a" + j + j + ";");
+                }
+            }
+        }
+        for (int i = 1; i <= N; i++) {
+            for (int j = 1; j <= N; j++) {
+                String value = j > i ? "0" : "a" + i + j;
+                out.print("            A[" + idx((i - 1)*N + j - 1) + "] = " + value + ";\n");
+            }
+        }
+        out.print("            success &= !UtilEjml.isUncountable(a" + N + N + ");\n");
+        kernelFooter(true);
+    }
+
+    private void solveChol() {
+        out.print("    /**\n" +
+                "     * Solves the linear system L[k]*L[k]<sup>T</sup>*x[k] = b[k] for each matrix in the batch, where L[k] is\n" +
+                "     * a lower Cholesky decomposition computed by {@link #cholL(DMatrixBatch)}.\n" +
+                "     *\n" +
+                "     * @param L (Input) Batch of lower triangular " + N + "x" + N + " matrices. Not modified.\n" +
+                "     * @param b (Input) Batch of " + N + " element column vectors. Not modified.\n" +
+                "     * @param x (Output) Solution. Can be the same instance as 'b'.\n" +
+                "     */\n" +
+                "    public static void solveChol( DMatrixBatch L, DMatrixBatch b, DMatrixBatch x ) {\n");
+        checkMatrix("L", null);
+        checkVector("b", "L");
+        out.print("        x.reshape(" + N + ", 1, L.size);\n");
+        callKernel("solveChol(L, b, x, ", false);
+        out.print("    }\n\n");
+
+        if (concurrent)
+            return;
+
+        kernelHeader("void solveChol( DMatrixBatch L, DMatrixBatch b, DMatrixBatch x, int idx0, int idx1 )",
+                "A = L.data, B = b.data, X = x.data", "L");
+        loadLower("A", "a");
+        loadVector("B", "b");
+        // forward substitution, L*y = b
+        for (int i = 1; i <= N; i++) {
+            out.print("            double y" + i + " = (b" + i);
+            for (int j = 1; j < i; j++) {
+                out.print(" - a" + i + j + "*y" + j);
+            }
+            out.print(")/a" + i + i + ";\n");
+        }
+        // backwards substitution, L'*x = y
+        for (int i = N; i >= 1; i--) {
+            out.print("            double x" + i + " = (y" + i);
+            for (int j = i + 1; j <= N; j++) {
+                out.print(" - a" + j + i + "*x" + j);
+            }
+            out.print(")/a" + i + i + ";\n");
+        }
+        for (int i = 1; i <= N; i++) {
+            out.print("            X[" + idx(i - 1) + "] = x" + i + ";\n");
+        }
+        kernelFooter(false);
+    }
+
+    /**
+     * Prints the sanity check for an input batch of NxN matrices
+     */
+    private void checkMatrix( String name, String reference ) {
+        out.print("        UtilEjml.assertShape(" + name + ".numRows == " + N + " && " + name + ".numCols == " + N +
+                ", \"'" + name + "' must contain " + N + "x" + N + " matrices\");\n");
+        if (reference != null)
+            checkSize(name, reference);
+    }
+
+    /**
+     * Prints the sanity check for an input batch of N-element column vectors
+     */
+    private void checkVector( String name, String reference ) {
+        out.print("        UtilEjml.assertShape(" + name + ".numRows == " + N + " && " + name + ".numCols == 1" +
+                ", \"'" + name + "' must contain " + N + " element column vectors\");\n");
+        checkSize(name, reference);
+    }
+
+    private void checkSize( String name, String reference ) {
+        out.print("        UtilEjml.assertShape(" + name + ".size == " + reference + ".size" +
+                ", \"'" + name + "' and '" + reference + "' must have the same number of matrices\");\n");
+    }
+
+    /**
+     * Prints the call to the kernel which processes the entire batch. The concurrent version splits the batch
+     * into blocks.
+     */
+    private void callKernel( String call, boolean hasResult ) {
+        String first = call.substring(call.indexOf('(') + 1, call.indexOf(','));
+        if (!concurrent) {
+            out.print("        " + (hasResult ? "return " : "") + call + "0, " + first + ".size);\n");
+        } else if (hasResult) {
+            out.print("        var success = new boolean[]{true};\n" +
+                    "        EjmlConcurrency.loopBlocks(0, " + first + ".size, MIN_BLOCK_SIZE, ( idx0, idx1 ) -> {\n" +
+                    "            if (!BatchOps_DDF" + N + "." + call + "idx0, idx1))\n" +
+                    "                success[0] = false;\n" +
+                    "        });\n" +
+                    "        return success[0];\n");
+        } else {
+            out.print("        EjmlConcurrency.loopBlocks(0, " + first + ".size, MIN_BLOCK_SIZE, ( idx0, idx1 ) ->\n" +
+                    "                BatchOps_DDF" + N + "." + call + "idx0, idx1));\n");
+        }
+    }
+
+    /**
+     * Prints the start of the function which processes matrices from idx0 to idx1-1. Only the single threaded
+     * class has these functions.
+     *
+     * @param first Name of the batch which specifies the number of matrices
+     */
+    private void kernelHeader( String signature, String arrays, String first ) {
+        out.print("    public static " + signature + " {\n" +
+                "        final double[] " + arrays + ";\n" +
+                "        final int n = " + first + ".size;\n");
+        if (signature.startsWith("boolean"))
+            out.print("        boolean success = true;\n");
+        out.print("\n" +
+                "        for (int k = idx0; k < idx1; k++) {\n");
+    }
+
+    private void kernelFooter( boolean hasResult ) {
+        out.print("        }\n");
+        if (hasResult)
+            out.print("        return success;\n");
+        out.print("    }\n\n");
+    }
+
+    /**
+     * Loads all the elements of the matrix into local variables, e.g. a11, a12, ...
+     */
+    private void loadMatrix( String array, String prefix ) {
+        for (int row = 1; row <= N; row++) {
+            out.print("            double ");
+            for (int col = 1; col <= N; col++) {
+                out.print(prefix + row + col + " = " + array + "[" + idx((row - 1)*N + col - 1) + "]" + (col < N ? ", " : ";\n"));
+            }
+        }
+    }
+
+    /**
+     * Loads the lower triangular portion of the matrix into local variables
+     */
+    private void loadLower( String array, String prefix ) {
+        for (int row = 1; row <= N; row++) {
+            out.print("            double ");
+            for (int col = 1; col <= row; col++) {
+                out.print(prefix + row + col + " = " + array + "[" + idx((row - 1)*N + col - 1) + "]" + (col < row ? ", " : ";\n"));
+            }
+        }
+    }
+
+    private void loadVector( String array, String prefix ) {
+        out.print("            double ");
+        for (int i = 1; i <= N; i++) {
+            out.print(prefix + i + " = " + array + "[" + idx(i - 1) + "]" + (i < N ? ", " : ";\n"));
+        }
+    }
+
+    /**
+     * Loads the matrix and scales it by the inverse of the element with the largest magnitude. A conditional
+     * is used instead of Math.max() since it compiles into much faster code inside of the batch loop. NaN
+     * will still propagate into the determinant.
+     */
+    private void loadScaledMatrix() {
+        loadMatrix("A", "a");
+        out.print("            double scale = Math.abs(a11), tmp;\n");
+        for (int row = 1; row <= N; row++) {
+            for (int col = 1; col <= N; col++) {
+                if (row == 1 && col == 1)
+                    continue;
+                out.print("            tmp = Math.abs(a" + row + col + "); if (tmp > scale) scale = tmp;\n");
+            }
+        }
+        out.print("            scale = 1.0/scale;\n");
+        for (int row = 1; row <= N; row++) {
+            out.print("            ");
+            for (int col = 1; col <= N; col++) {
+                out.print("a" + row + col + " *= scale;" + (col < N ? " " : "\n"));
+            }
+        }
+        out.println();
+    }
+
+    /**
+     * Captures code printed by another generator and indents it so that it's inside the batch loop
+     */
+    private void printIndented( Consumer<PrintStream> printer ) {
+        var bytes = new ByteArrayOutputStream();
+        printer.accept(new PrintStream(bytes));
+        for (String line : bytes.toString().split("\n")) {
+            out.println(line.isEmpty() ? "" : "    " + line);
+        }
+    }
+
+    private int[] identity() {
+        int[] matrix = new int[N*N];
+        for (int i = 0; i < matrix.length; i++) {
+            matrix[i] = i;
+        }
+        return matrix;
+    }
+
+    /**
+     * Index of the element inside the array for matrix 'k'
+     */
+    private static String idx( int element ) {
+        if (element == 0)
+            return "k";
+        else if (element == 1)
+            return "k + n";
+        return "k + " + element + "*n";
+    }
+
+    public static void main( String[] args ) throws FileNotFoundException {
+        GenerateBatchOps_DDF app = new GenerateBatchOps_DDF();
+
+        app.generate();
+    }
+}
@@ -19,6 +19,8 @@
 package org.ejml.dense.block;
 
 import org.ejml.data.DMatrixRBlock;
+import org.ejml.dense.row.mult.SimdKernels_DDRM;
+import org.ejml.dense.row.mult.VectorKernels_DDRM;
 
 /**
  * <p>
@@ -43,6 +45,18 @@ public class InnerMultiplication_DDRB {
     public static void blockMultPlus( final double[] dataA, final double[] dataB, final double[] dataC,
                                       int indexA, int indexB, int indexC,
                                       final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthC);
+        if (simd != null) {
+            for (int i = 0; i < heightA; i++) {
+                int rowC = i*widthC + indexC;
+                for (int k = 0; k < widthA; k++) {
+                    double valA = dataA[i*widthA + k + indexA];
+                    simd.addScaled(dataC, rowC, valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                }
+            }
+            return;
+        }
+
 //        for( int i = 0; i < heightA; i++ ) {
 //            for( int k = 0; k < widthA; k++ ) {
 //                for( int j = 0; j < widthC; j++ ) {
@@ -51,21 +65,51 @@ public class InnerMultiplication_DDRB {
 //            }
 //        }
 
-        int a = indexA;
-        int rowC = indexC;
-        for (int i = 0; i < heightA; i++, rowC += widthC) {
-            int b = indexB;
-
-            final int endC = rowC + widthC;
-            final int endA = a + widthA;
-            while (a != endA) {//for( int k = 0; k < widthA; k++ ) {
-                double valA = dataA[a++];
+        // Computes a 4x4 block of C at a time with the sums stored in local variables
+        final int heightA4 = heightA - heightA%4;
+        final int widthC4 = widthC - widthC%4;
+        for (int i = 0; i < heightA4; i += 4) {
+            final int a0 = indexA + i*widthA, a1 = a0 + widthA, a2 = a1 + widthA, a3 = a2 + widthA;
+            for (int j = 0; j < widthC4; j += 4) {
+                double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+                double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+                double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+                double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+                int b = indexB + j;
+                for (int k = 0; k < widthA; k++, b += widthC) {
+                    double b0 = dataB[b], b1 = dataB[b + 1], b2 = dataB[b + 2], b3 = dataB[b + 3];
+                    double v0 = dataA[a0 + k];
+                    double v1 = dataA[a1 + k];
+                    double v2 = dataA[a2 + k];
+                    double v3 = dataA[a3 + k];
+                    c00 += v0*b0; c01 += v0*b1; c02 += v0*b2; c03 += v0*b3;
+                    c10 += v1*b0; c11 += v1*b1; c12 += v1*b2; c13 += v1*b3;
+                    c20 += v2*b0; c21 += v2*b1; c22 += v2*b2; c23 += v2*b3;
+                    c30 += v3*b0; c31 += v3*b1; c32 += v3*b2; c33 += v3*b3;
+                }
 
-                int c = rowC;
+                int c = indexC + i*widthC + j;
+                dataC[c] += c00; dataC[c + 1] += c01; dataC[c + 2] += c02; dataC[c + 3] += c03;
+                c += widthC;
+                dataC[c] += c10; dataC[c + 1] += c11; dataC[c + 2] += c12; dataC[c + 3] += c13;
+                c += widthC;
+                dataC[c] += c20; dataC[c + 1] += c21; dataC[c + 2] += c22; dataC[c + 3] += c23;
+                c += widthC;
+                dataC[c] += c30; dataC[c + 1] += c31; dataC[c + 2] += c32; dataC[c + 3] += c33;
+            }
+        }
 
-                while (c != endC) {//for( int j = 0; j < widthC; j++ ) {
-                    dataC[c++] += valA*dataB[b++];
+        // Elements in C which are not inside of a 4x4 block
+        for (int i = 0; i < heightA; i++) {
+            final int rowA = indexA + i*widthA;
+            final int rowC = indexC + i*widthC;
+            for (int j = i < heightA4 ? widthC4 : 0; j < widthC; j++) {
+                double sum = 0;
+                for (int k = 0; k < widthA; k++) {
+                    sum += dataA[rowA + k]*dataB[indexB + k*widthC + j];
                 }
+                dataC[rowC + j] += sum;
             }
         }
     }
@@ -80,6 +124,18 @@ public class InnerMultiplication_DDRB {
     public static void blockMultPlusTransA( final double[] dataA, final double[] dataB, final double[] dataC,
                                             int indexA, int indexB, int indexC,
                                             final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthC);
+        if (simd != null) {
+            for (int i = 0; i < widthA; i++) {
+                int rowC = i*widthC + indexC;
+                for (int k = 0; k < heightA; k++) {
+                    double valA = dataA[k*widthA + i + indexA];
+                    simd.addScaled(dataC, rowC, valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                }
+            }
+            return;
+        }
+
 //        for( int i = 0; i < widthA; i++ ) {
 //            for( int k = 0; k < heightA; k++ ) {
 //                double valA = dataA[k*widthA + i + indexA];
@@ -121,6 +177,17 @@ public class InnerMultiplication_DDRB {
     public static void blockMultPlusTransB( final double[] dataA, final double[] dataB, final double[] dataC,
                                             int indexA, int indexB, int indexC,
                                             final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthA);
+        if (simd != null) {
+            for (int i = 0; i < heightA; i++) {
+                for (int j = 0; j < widthC; j++) {
+                    double val = simd.dot(dataA, i*widthA + indexA, dataB, j*widthA + indexB, widthA);
+                    dataC[i*widthC + j + indexC] += val;
+                }
+            }
+            return;
+        }
+
         for (int i = 0; i < heightA; i++) {
             for (int j = 0; j < widthC; j++) {
                 double val = 0;
@@ -144,6 +211,18 @@ public class InnerMultiplication_DDRB {
     public static void blockMultMinus( final double[] dataA, final double[] dataB, final double[] dataC,
                                        int indexA, int indexB, int indexC,
                                        final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthC);
+        if (simd != null) {
+            for (int i = 0; i < heightA; i++) {
+                int rowC = i*widthC + indexC;
+                for (int k = 0; k < widthA; k++) {
+                    double valA = dataA[i*widthA + k + indexA];
+                    simd.addScaled(dataC, rowC, -valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                }
+            }
+            return;
+        }
+
 //        for( int i = 0; i < heightA; i++ ) {
 //            for( int k = 0; k < widthA; k++ ) {
 //                for( int j = 0; j < widthC; j++ ) {
@@ -152,21 +231,51 @@ public class InnerMultiplication_DDRB {
 //            }
 //        }
 
-        int a = indexA;
-        int rowC = indexC;
-        for (int i = 0; i < heightA; i++, rowC += widthC) {
-            int b = indexB;
-
-            final int endC = rowC + widthC;
-            final int endA = a + widthA;
-            while (a != endA) {//for( int k = 0; k < widthA; k++ ) {
-                double valA = dataA[a++];
+        // Computes a 4x4 block of C at a time with the sums stored in local variables
+        final int heightA4 = heightA - heightA%4;
+        final int widthC4 = widthC - widthC%4;
+        for (int i = 0; i < heightA4; i += 4) {
+            final int a0 = indexA + i*widthA, a1 = a0 + widthA, a2 = a1 + widthA, a3 = a2 + widthA;
+            for (int j = 0; j < widthC4; j += 4) {
+                double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+                double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+                double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+                double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+                int b = indexB + j;
+                for (int k = 0; k < widthA; k++, b += widthC) {
+                    double b0 = dataB[b], b1 = dataB[b + 1], b2 = dataB[b + 2], b3 = dataB[b + 3];
+                    double v0 = dataA[a0 + k];
+                    double v1 = dataA[a1 + k];
+                    double v2 = dataA[a2 + k];
+                    double v3 = dataA[a3 + k];
+                    c00 += v0*b0; c01 += v0*b1; c02 += v0*b2; c03 += v0*b3;
+                    c10 += v1*b0; c11 += v1*b1; c12 += v1*b2; c13 += v1*b3;
+                    c20 += v2*b0; c21 += v2*b1; c22 += v2*b2; c23 += v2*b3;
+                    c30 += v3*b0; c31 += v3*b1; c32 += v3*b2; c33 += v3*b3;
+                }
 
-                int c = rowC;
+                int c = indexC + i*widthC + j;
+                dataC[c] -= c00; dataC[c + 1] -= c01; dataC[c + 2] -= c02; dataC[c + 3] -= c03;
+                c += widthC;
+                dataC[c] -= c10; dataC[c + 1] -= c11; dataC[c + 2] -= c12; dataC[c + 3] -= c13;
+                c += widthC;
+                dataC[c] -= c20; dataC[c + 1] -= c21; dataC[c + 2] -= c22; dataC[c + 3] -= c23;
+                c += widthC;
+                dataC[c] -= c30; dataC[c + 1] -= c31; dataC[c + 2] -= c32; dataC[c + 3] -= c33;
+            }
+        }
 
-                while (c != endC) {//for( int j = 0; j < widthC; j++ ) {
-                    dataC[c++] -= valA*dataB[b++];
+        // Elements in C which are not inside of a 4x4 block
+        for (int i = 0; i < heightA; i++) {
+            final int rowA = indexA + i*widthA;
+            final int rowC = indexC + i*widthC;
+            for (int j = i < heightA4 ? widthC4 : 0; j < widthC; j++) {
+                double sum = 0;
+                for (int k = 0; k < widthA; k++) {
+                    sum += dataA[rowA + k]*dataB[indexB + k*widthC + j];
                 }
+                dataC[rowC + j] -= sum;
             }
         }
     }
@@ -181,6 +290,18 @@ public class InnerMultiplication_DDRB {
     public static void blockMultMinusTransA( final double[] dataA, final double[] dataB, final double[] dataC,
                                              int indexA, int indexB, int indexC,
                                              final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthC);
+        if (simd != null) {
+            for (int i = 0; i < widthA; i++) {
+                int rowC = i*widthC + indexC;
+                for (int k = 0; k < heightA; k++) {
+                    double valA = dataA[k*widthA + i + indexA];
+                    simd.addScaled(dataC, rowC, -valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                }
+            }
+            return;
+        }
+
 //        for( int i = 0; i < widthA; i++ ) {
 //            for( int k = 0; k < heightA; k++ ) {
 //                double valA = dataA[k*widthA + i + indexA];
@@ -222,6 +343,17 @@ public class InnerMultiplication_DDRB {
     public static void blockMultMinusTransB( final double[] dataA, final double[] dataB, final double[] dataC,
                                              int indexA, int indexB, int indexC,
                                              final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthA);
+        if (simd != null) {
+            for (int i = 0; i < heightA; i++) {
+                for (int j = 0; j < widthC; j++) {
+                    double val = simd.dot(dataA, i*widthA + indexA, dataB, j*widthA + indexB, widthA);
+                    dataC[i*widthC + j + indexC] -= val;
+                }
+            }
+            return;
+        }
+
         for (int i = 0; i < heightA; i++) {
             for (int j = 0; j < widthC; j++) {
                 double val = 0;
@@ -245,6 +377,21 @@ public class InnerMultiplication_DDRB {
     public static void blockMultSet( final double[] dataA, final double[] dataB, final double[] dataC,
                                      int indexA, int indexB, int indexC,
                                      final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthC);
+        if (simd != null) {
+            for (int i = 0; i < heightA; i++) {
+                int rowC = i*widthC + indexC;
+                for (int k = 0; k < widthA; k++) {
+                    double valA = dataA[i*widthA + k + indexA];
+                    if (k == 0)
+                        simd.scale(valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                    else
+                        simd.addScaled(dataC, rowC, valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                }
+            }
+            return;
+        }
+
 //        for( int i = 0; i < heightA; i++ ) {
 //            for( int k = 0; k < widthA; k++ ) {
 //                for( int j = 0; j < widthC; j++ ) {
@@ -253,27 +400,51 @@ public class InnerMultiplication_DDRB {
 //            }
 //        }
 
-        int a = indexA;
-        int rowC = indexC;
-        for (int i = 0; i < heightA; i++, rowC += widthC) {
-            int b = indexB;
-
-            final int endC = rowC + widthC;
-            final int endA = a + widthA;
-            while (a != endA) {//for( int k = 0; k < widthA; k++ ) {
-                double valA = dataA[a++];
+        // Computes a 4x4 block of C at a time with the sums stored in local variables
+        final int heightA4 = heightA - heightA%4;
+        final int widthC4 = widthC - widthC%4;
+        for (int i = 0; i < heightA4; i += 4) {
+            final int a0 = indexA + i*widthA, a1 = a0 + widthA, a2 = a1 + widthA, a3 = a2 + widthA;
+            for (int j = 0; j < widthC4; j += 4) {
+                double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+                double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+                double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+                double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+                int b = indexB + j;
+                for (int k = 0; k < widthA; k++, b += widthC) {
+                    double b0 = dataB[b], b1 = dataB[b + 1], b2 = dataB[b + 2], b3 = dataB[b + 3];
+                    double v0 = dataA[a0 + k];
+                    double v1 = dataA[a1 + k];
+                    double v2 = dataA[a2 + k];
+                    double v3 = dataA[a3 + k];
+                    c00 += v0*b0; c01 += v0*b1; c02 += v0*b2; c03 += v0*b3;
+                    c10 += v1*b0; c11 += v1*b1; c12 += v1*b2; c13 += v1*b3;
+                    c20 += v2*b0; c21 += v2*b1; c22 += v2*b2; c23 += v2*b3;
+                    c30 += v3*b0; c31 += v3*b1; c32 += v3*b2; c33 += v3*b3;
+                }
 
-                int c = rowC;
+                int c = indexC + i*widthC + j;
+                dataC[c] = c00; dataC[c + 1] = c01; dataC[c + 2] = c02; dataC[c + 3] = c03;
+                c += widthC;
+                dataC[c] = c10; dataC[c + 1] = c11; dataC[c + 2] = c12; dataC[c + 3] = c13;
+                c += widthC;
+                dataC[c] = c20; dataC[c + 1] = c21; dataC[c + 2] = c22; dataC[c + 3] = c23;
+                c += widthC;
+                dataC[c] = c30; dataC[c + 1] = c31; dataC[c + 2] = c32; dataC[c + 3] = c33;
+            }
+        }
 
-                if (b == indexB) {
-                    while (c != endC) {//for( int j = 0; j < widthC; j++ ) {
-                        dataC[c++] = valA*dataB[b++];
-                    }
-                } else {
-                    while (c != endC) {//for( int j = 0; j < widthC; j++ ) {
-                        dataC[c++] += valA*dataB[b++];
-                    }
+        // Elements in C which are not inside of a 4x4 block
+        for (int i = 0; i < heightA; i++) {
+            final int rowA = indexA + i*widthA;
+            final int rowC = indexC + i*widthC;
+            for (int j = i < heightA4 ? widthC4 : 0; j < widthC; j++) {
+                double sum = 0;
+                for (int k = 0; k < widthA; k++) {
+                    sum += dataA[rowA + k]*dataB[indexB + k*widthC + j];
                 }
+                dataC[rowC + j] = sum;
             }
         }
     }
@@ -288,6 +459,21 @@ public class InnerMultiplication_DDRB {
     public static void blockMultSetTransA( final double[] dataA, final double[] dataB, final double[] dataC,
                                            int indexA, int indexB, int indexC,
                                            final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthC);
+        if (simd != null) {
+            for (int i = 0; i < widthA; i++) {
+                int rowC = i*widthC + indexC;
+                for (int k = 0; k < heightA; k++) {
+                    double valA = dataA[k*widthA + i + indexA];
+                    if (k == 0)
+                        simd.scale(valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                    else
+                        simd.addScaled(dataC, rowC, valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                }
+            }
+            return;
+        }
+
 //        for( int i = 0; i < widthA; i++ ) {
 //            for( int k = 0; k < heightA; k++ ) {
 //                double valA = dataA[k*widthA + i + indexA];
@@ -335,6 +521,17 @@ public class InnerMultiplication_DDRB {
     public static void blockMultSetTransB( final double[] dataA, final double[] dataB, final double[] dataC,
                                            int indexA, int indexB, int indexC,
                                            final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthA);
+        if (simd != null) {
+            for (int i = 0; i < heightA; i++) {
+                for (int j = 0; j < widthC; j++) {
+                    double val = simd.dot(dataA, i*widthA + indexA, dataB, j*widthA + indexB, widthA);
+                    dataC[i*widthC + j + indexC] = val;
+                }
+            }
+            return;
+        }
+
         for (int i = 0; i < heightA; i++) {
             for (int j = 0; j < widthC; j++) {
                 double val = 0;
@@ -358,6 +555,18 @@ public class InnerMultiplication_DDRB {
     public static void blockMultPlus( double alpha, final double[] dataA, final double[] dataB, final double[] dataC,
                                       int indexA, int indexB, int indexC,
                                       final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthC);
+        if (simd != null) {
+            for (int i = 0; i < heightA; i++) {
+                int rowC = i*widthC + indexC;
+                for (int k = 0; k < widthA; k++) {
+                    double valA = alpha*dataA[i*widthA + k + indexA];
+                    simd.addScaled(dataC, rowC, valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                }
+            }
+            return;
+        }
+
 //        for( int i = 0; i < heightA; i++ ) {
 //            for( int k = 0; k < widthA; k++ ) {
 //                for( int j = 0; j < widthC; j++ ) {
@@ -366,21 +575,51 @@ public class InnerMultiplication_DDRB {
 //            }
 //        }
 
-        int a = indexA;
-        int rowC = indexC;
-        for (int i = 0; i < heightA; i++, rowC += widthC) {
-            int b = indexB;
-
-            final int endC = rowC + widthC;
-            final int endA = a + widthA;
-            while (a != endA) {//for( int k = 0; k < widthA; k++ ) {
-                double valA = alpha*dataA[a++];
+        // Computes a 4x4 block of C at a time with the sums stored in local variables
+        final int heightA4 = heightA - heightA%4;
+        final int widthC4 = widthC - widthC%4;
+        for (int i = 0; i < heightA4; i += 4) {
+            final int a0 = indexA + i*widthA, a1 = a0 + widthA, a2 = a1 + widthA, a3 = a2 + widthA;
+            for (int j = 0; j < widthC4; j += 4) {
+                double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+                double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+                double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+                double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+                int b = indexB + j;
+                for (int k = 0; k < widthA; k++, b += widthC) {
+                    double b0 = dataB[b], b1 = dataB[b + 1], b2 = dataB[b + 2], b3 = dataB[b + 3];
+                    double v0 = dataA[a0 + k];
+                    double v1 = dataA[a1 + k];
+                    double v2 = dataA[a2 + k];
+                    double v3 = dataA[a3 + k];
+                    c00 += v0*b0; c01 += v0*b1; c02 += v0*b2; c03 += v0*b3;
+                    c10 += v1*b0; c11 += v1*b1; c12 += v1*b2; c13 += v1*b3;
+                    c20 += v2*b0; c21 += v2*b1; c22 += v2*b2; c23 += v2*b3;
+                    c30 += v3*b0; c31 += v3*b1; c32 += v3*b2; c33 += v3*b3;
+                }
 
-                int c = rowC;
+                int c = indexC + i*widthC + j;
+                dataC[c] += alpha*c00; dataC[c + 1] += alpha*c01; dataC[c + 2] += alpha*c02; dataC[c + 3] += alpha*c03;
+                c += widthC;
+                dataC[c] += alpha*c10; dataC[c + 1] += alpha*c11; dataC[c + 2] += alpha*c12; dataC[c + 3] += alpha*c13;
+                c += widthC;
+                dataC[c] += alpha*c20; dataC[c + 1] += alpha*c21; dataC[c + 2] += alpha*c22; dataC[c + 3] += alpha*c23;
+                c += widthC;
+                dataC[c] += alpha*c30; dataC[c + 1] += alpha*c31; dataC[c + 2] += alpha*c32; dataC[c + 3] += alpha*c33;
+            }
+        }
 
-                while (c != endC) {//for( int j = 0; j < widthC; j++ ) {
-                    dataC[c++] += valA*dataB[b++];
+        // Elements in C which are not inside of a 4x4 block
+        for (int i = 0; i < heightA; i++) {
+            final int rowA = indexA + i*widthA;
+            final int rowC = indexC + i*widthC;
+            for (int j = i < heightA4 ? widthC4 : 0; j < widthC; j++) {
+                double sum = 0;
+                for (int k = 0; k < widthA; k++) {
+                    sum += dataA[rowA + k]*dataB[indexB + k*widthC + j];
                 }
+                dataC[rowC + j] += alpha*sum;
             }
         }
     }
@@ -395,6 +634,18 @@ public class InnerMultiplication_DDRB {
     public static void blockMultPlusTransA( double alpha, final double[] dataA, final double[] dataB, final double[] dataC,
                                             int indexA, int indexB, int indexC,
                                             final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthC);
+        if (simd != null) {
+            for (int i = 0; i < widthA; i++) {
+                int rowC = i*widthC + indexC;
+                for (int k = 0; k < heightA; k++) {
+                    double valA = alpha*dataA[k*widthA + i + indexA];
+                    simd.addScaled(dataC, rowC, valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                }
+            }
+            return;
+        }
+
 //        for( int i = 0; i < widthA; i++ ) {
 //            for( int k = 0; k < heightA; k++ ) {
 //                double valA = dataA[k*widthA + i + indexA];
@@ -436,6 +687,17 @@ public class InnerMultiplication_DDRB {
     public static void blockMultPlusTransB( double alpha, final double[] dataA, final double[] dataB, final double[] dataC,
                                             int indexA, int indexB, int indexC,
                                             final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthA);
+        if (simd != null) {
+            for (int i = 0; i < heightA; i++) {
+                for (int j = 0; j < widthC; j++) {
+                    double val = simd.dot(dataA, i*widthA + indexA, dataB, j*widthA + indexB, widthA);
+                    dataC[i*widthC + j + indexC] += alpha*val;
+                }
+            }
+            return;
+        }
+
         for (int i = 0; i < heightA; i++) {
             for (int j = 0; j < widthC; j++) {
                 double val = 0;
@@ -459,6 +721,21 @@ public class InnerMultiplication_DDRB {
     public static void blockMultSet( double alpha, final double[] dataA, final double[] dataB, final double[] dataC,
                                      int indexA, int indexB, int indexC,
                                      final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthC);
+        if (simd != null) {
+            for (int i = 0; i < heightA; i++) {
+                int rowC = i*widthC + indexC;
+                for (int k = 0; k < widthA; k++) {
+                    double valA = alpha*dataA[i*widthA + k + indexA];
+                    if (k == 0)
+                        simd.scale(valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                    else
+                        simd.addScaled(dataC, rowC, valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                }
+            }
+            return;
+        }
+
 //        for( int i = 0; i < heightA; i++ ) {
 //            for( int k = 0; k < widthA; k++ ) {
 //                for( int j = 0; j < widthC; j++ ) {
@@ -467,27 +744,51 @@ public class InnerMultiplication_DDRB {
 //            }
 //        }
 
-        int a = indexA;
-        int rowC = indexC;
-        for (int i = 0; i < heightA; i++, rowC += widthC) {
-            int b = indexB;
-
-            final int endC = rowC + widthC;
-            final int endA = a + widthA;
-            while (a != endA) {//for( int k = 0; k < widthA; k++ ) {
-                double valA = alpha*dataA[a++];
+        // Computes a 4x4 block of C at a time with the sums stored in local variables
+        final int heightA4 = heightA - heightA%4;
+        final int widthC4 = widthC - widthC%4;
+        for (int i = 0; i < heightA4; i += 4) {
+            final int a0 = indexA + i*widthA, a1 = a0 + widthA, a2 = a1 + widthA, a3 = a2 + widthA;
+            for (int j = 0; j < widthC4; j += 4) {
+                double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+                double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+                double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+                double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+                int b = indexB + j;
+                for (int k = 0; k < widthA; k++, b += widthC) {
+                    double b0 = dataB[b], b1 = dataB[b + 1], b2 = dataB[b + 2], b3 = dataB[b + 3];
+                    double v0 = dataA[a0 + k];
+                    double v1 = dataA[a1 + k];
+                    double v2 = dataA[a2 + k];
+                    double v3 = dataA[a3 + k];
+                    c00 += v0*b0; c01 += v0*b1; c02 += v0*b2; c03 += v0*b3;
+                    c10 += v1*b0; c11 += v1*b1; c12 += v1*b2; c13 += v1*b3;
+                    c20 += v2*b0; c21 += v2*b1; c22 += v2*b2; c23 += v2*b3;
+                    c30 += v3*b0; c31 += v3*b1; c32 += v3*b2; c33 += v3*b3;
+                }
 
-                int c = rowC;
+                int c = indexC + i*widthC + j;
+                dataC[c] = alpha*c00; dataC[c + 1] = alpha*c01; dataC[c + 2] = alpha*c02; dataC[c + 3] = alpha*c03;
+                c += widthC;
+                dataC[c] = alpha*c10; dataC[c + 1] = alpha*c11; dataC[c + 2] = alpha*c12; dataC[c + 3] = alpha*c13;
+                c += widthC;
+                dataC[c] = alpha*c20; dataC[c + 1] = alpha*c21; dataC[c + 2] = alpha*c22; dataC[c + 3] = alpha*c23;
+                c += widthC;
+                dataC[c] = alpha*c30; dataC[c + 1] = alpha*c31; dataC[c + 2] = alpha*c32; dataC[c + 3] = alpha*c33;
+            }
+        }
 
-                if (b == indexB) {
-                    while (c != endC) {//for( int j = 0; j < widthC; j++ ) {
-                        dataC[c++] = valA*dataB[b++];
-                    }
-                } else {
-                    while (c != endC) {//for( int j = 0; j < widthC; j++ ) {
-                        dataC[c++] += valA*dataB[b++];
-                    }
+        // Elements in C which are not inside of a 4x4 block
+        for (int i = 0; i < heightA; i++) {
+            final int rowA = indexA + i*widthA;
+            final int rowC = indexC + i*widthC;
+            for (int j = i < heightA4 ? widthC4 : 0; j < widthC; j++) {
+                double sum = 0;
+                for (int k = 0; k < widthA; k++) {
+                    sum += dataA[rowA + k]*dataB[indexB + k*widthC + j];
                 }
+                dataC[rowC + j] = alpha*sum;
             }
         }
     }
@@ -502,6 +803,21 @@ public class InnerMultiplication_DDRB {
     public static void blockMultSetTransA( double alpha, final double[] dataA, final double[] dataB, final double[] dataC,
                                            int indexA, int indexB, int indexC,
                                            final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthC);
+        if (simd != null) {
+            for (int i = 0; i < widthA; i++) {
+                int rowC = i*widthC + indexC;
+                for (int k = 0; k < heightA; k++) {
+                    double valA = alpha*dataA[k*widthA + i + indexA];
+                    if (k == 0)
+                        simd.scale(valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                    else
+                        simd.addScaled(dataC, rowC, valA, dataB, k*widthC + indexB, dataC, rowC, widthC);
+                }
+            }
+            return;
+        }
+
 //        for( int i = 0; i < widthA; i++ ) {
 //            for( int k = 0; k < heightA; k++ ) {
 //                double valA = dataA[k*widthA + i + indexA];
@@ -549,6 +865,17 @@ public class InnerMultiplication_DDRB {
     public static void blockMultSetTransB( double alpha, final double[] dataA, final double[] dataB, final double[] dataC,
                                            int indexA, int indexB, int indexC,
                                            final int heightA, final int widthA, final int widthC ) {
+        final VectorKernels_DDRM simd = SimdKernels_DDRM.select(widthA);
+        if (simd != null) {
+            for (int i = 0; i < heightA; i++) {
+                for (int j = 0; j < widthC; j++) {
+                    double val = simd.dot(dataA, i*widthA + indexA, dataB, j*widthA + indexB, widthA);
+                    dataC[i*widthC + j + indexC] = alpha*val;
+                }
+            }
+            return;
+        }
+
         for (int i = 0; i < heightA; i++) {
             for (int j = 0; j < widthC; j++) {
                 double val = 0;
@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.block.decomposition.lu;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrixRBlock;
+import org.ejml.data.DSubmatrixD1;
+import org.ejml.data.IGrowArray;
+import org.ejml.dense.block.MatrixMult_DDRB;
+import org.ejml.dense.block.TriangularSolver_DDRB;
+import org.ejml.interfaces.decomposition.LUDecomposition_F64;
+import org.jetbrains.annotations.Nullable;
+
+//CONCURRENT_MACRO MatrixMult_DDRB MatrixMult_MT_DDRB
+//CONCURRENT_MACRO TriangularSolver_DDRB TriangularSolver_MT_DDRB
+
+/**
+ * <p>
+ * Blocked right looking LU decomposition with partial (row) pivoting. The matrix is processed one column
+ * of blocks at a time. First the column of blocks (panel) is decomposed using an unblocked algorithm and the
+ * selected row swaps are applied to the entire matrix. Then the row of blocks to the right of the panel is
+ * solved for using the panel's unit lower triangular block and the trailing matrix is updated with a matrix
+ * multiplication, which is where almost all the computations are done.
+ * </p>
+ *
+ * <p>
+ * The original matrix is modified and contains L and U when finished. L has ones along its diagonal, which
+ * are not saved.
+ * </p>
+ *
+ * <p>
+ * Based on the description provided in "Matrix Computations" 4th Ed. by Golub and Van Loan.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings("NullAway.Init")
+public class LURightLooking_DDRB implements LUDecomposition_F64<DMatrixRBlock> {
+
+    // The decomposed matrix
+    private DMatrixRBlock T;
+
+    // pivot[i] is the row in the original matrix which was moved to row i
+    private int[] pivot = new int[0];
+    // sign of the pivot permutation
+    private double pivsign;
+
+    // Copy of the diagonal block with ones along the diagonal and zeros above
+    private final DMatrixRBlock L11 = new DMatrixRBlock(1, 1);
+
+    // predeclare local work space
+    private final DSubmatrixD1 subL = new DSubmatrixD1();
+    private final DSubmatrixD1 subU = new DSubmatrixD1();
+    private final DSubmatrixD1 subA = new DSubmatrixD1();
+
+    // storage for the determinant
+    private final Complex_F64 det = new Complex_F64();
+
+    /**
+     * Decomposes the provided matrix and stores the result in the same matrix.
+     *
+     * @param A Matrix that is to be decomposed. Modified.
+     * @return true if it finished. Check {@link #isSingular()} to see if the matrix is singular.
+     */
+    @Override
+    public boolean decompose( DMatrixRBlock A ) {
+        this.T = A;
+        final int blockLength = A.blockLength;
+        final int m = A.numRows;
+        final int n = A.numCols;
+
+        if (pivot.length < m) {
+            pivot = new int[m];
+        }
+        for (int i = 0; i < m; i++) {
+            pivot[i] = i;
+        }
+        pivsign = 1;
+
+        int min = Math.min(m, n);
+        for (int k = 0; k < min; k += blockLength) {
+            int widthK = Math.min(blockLength, n - k);
+            int heightK = Math.min(blockLength, m - k);
+
+            decomposePanel(k, widthK);
+
+            // there's nothing to the right of the panel
+            if (k + widthK >= n)
+                break;
+
+            // U12 = L11^-1 A12
+            copyUnitLower(k, heightK, widthK);
+            subL.set(L11, 0, heightK, 0, heightK);
+            subU.set(T, k, k + heightK, k + widthK, n);
+            TriangularSolver_DDRB.solveBlock(blockLength, false, subL, subU, false, false);
+
+            // there's nothing below the panel
+            if (k + heightK >= m)
+                break;
+
+            // A22 = A22 - L21*U12
+            subL.set(T, k + heightK, m, k, k + widthK);
+            subA.set(T, k + heightK, m, k + widthK, n);
+            MatrixMult_DDRB.multMinus(blockLength, subL, subU, subA);
+        }
+
+        return true;
+    }
+
+    /**
+     * Decomposes a column of blocks using an unblocked algorithm with partial pivoting. Rows are swapped
+     * across the entire matrix.
+     *
+     * @param col0 First column in the panel. Aligned to a block.
+     * @param width Number of columns in the panel.
+     */
+    void decomposePanel( int col0, int width ) {
+        final int blockLength = T.blockLength;
+        final int m = T.numRows;
+        final int n = T.numCols;
+        final double[] data = T.data;
+
+        final int end = Math.min(col0 + width, m);
+        for (int j = col0; j < end; j++) {
+            final int offsetJ = j - col0;
+            final int blockJ = j - j%blockLength;
+
+            // Find the element with the largest magnitude in the column
+            int p = j;
+            double max = Math.abs(data[index(j, col0, width) + offsetJ]);
+            for (int row0 = blockJ; row0 < m; row0 += blockLength) {
+                int height = Math.min(blockLength, m - row0);
+                int indexBlock = row0*n + col0*height + offsetJ;
+                for (int i = Math.max(row0, j + 1); i < row0 + height; i++) {
+                    double v = Math.abs(data[indexBlock + (i - row0)*width]);
+                    if (v > max) {
+                        p = i;
+                        max = v;
+                    }
+                }
+            }
+
+            if (p != j) {
+                swapRows(j, p);
+                int k = pivot[p];
+                pivot[p] = pivot[j];
+                pivot[j] = k;
+                pivsign = -pivsign;
+            }
+
+            // Compute the multipliers and update the remainder of the panel
+            final int indexJ = index(j, col0, width) + offsetJ;
+            final double ujj = data[indexJ];
+            final int remaining = width - offsetJ - 1;
+            for (int row0 = blockJ; row0 < m; row0 += blockLength) {
+                int height = Math.min(blockLength, m - row0);
+                int indexBlock = row0*n + col0*height + offsetJ;
+                for (int i = Math.max(row0, j + 1); i < row0 + height; i++) {
+                    int indexI = indexBlock + (i - row0)*width;
+                    if (ujj != 0)
+                        data[indexI] /= ujj;
+                    double lij = data[indexI];
+                    for (int c = 1; c <= remaining; c++) {
+                        data[indexI + c] -= lij*data[indexJ + c];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Swaps two rows in the block matrix
+     */
+    void swapRows( int rowA, int rowB ) {
+        final int blockLength = T.blockLength;
+        final int n = T.numCols;
+        final double[] data = T.data;
+
+        int row0A = rowA - rowA%blockLength;
+        int row0B = rowB - rowB%blockLength;
+        int heightA = Math.min(blockLength, T.numRows - row0A);
+        int heightB = Math.min(blockLength, T.numRows - row0B);
+
+        for (int col0 = 0; col0 < n; col0 += blockLength) {
+            int width = Math.min(blockLength, n - col0);
+            int indexA = row0A*n + col0*heightA + (rowA - row0A)*width;
+            int indexB = row0B*n + col0*heightB + (rowB - row0B)*width;
+            for (int i = 0; i < width; i++) {
+                double tmp = data[indexA + i];
+                data[indexA + i] = data[indexB + i];
+                data[indexB + i] = tmp;
+            }
+        }
+    }
+
+    /**
+     * Copies the lower triangular portion of the diagonal block into {@link #L11} and sets the diagonal
+     * elements to one.
+     */
+    private void copyUnitLower( int k, int heightK, int widthK ) {
+        L11.reshape(heightK, heightK, T.blockLength, false);
+        final double[] data = T.data;
+        final int indexK = k*T.numCols + k*heightK;
+        for (int row = 0; row < heightK; row++) {
+            int indexL = row*heightK;
+            for (int col = 0; col < row; col++) {
+                L11.data[indexL++] = data[indexK + row*widthK + col];
+            }
+            L11.data[indexL++] = 1.0;
+            for (int col = row + 1; col < heightK; col++) {
+                L11.data[indexL++] = 0.0;
+            }
+        }
+    }
+
+    /**
+     * Index of the first element in the specified row inside a block which starts at column 'col0'
+     */
+    private int index( int row, int col0, int width ) {
+        int row0 = row - row%T.blockLength;
+        int height = Math.min(T.blockLength, T.numRows - row0);
+        return row0*T.numCols + col0*height + (row - row0)*width;
+    }
+
+    @Override
+    public DMatrixRBlock getLower( @Nullable DMatrixRBlock lower ) {
+        int numRows = T.numRows;
+        int numCols = Math.min(T.numRows, T.numCols);
+
+        if (lower == null) {
+            lower = new DMatrixRBlock(numRows, numCols, T.blockLength);
+        } else {
+            lower.reshape(numRows, numCols, T.blockLength, false);
+        }
+        lower.zero();
+
+        for (int i = 0; i < numRows; i++) {
+            int end = Math.min(i, numCols);
+            for (int j = 0; j < end; j++) {
+                lower.unsafe_set(i, j, T.unsafe_get(i, j));
+            }
+            if (i < numCols)
+                lower.unsafe_set(i, i, 1.0);
+        }
+        return lower;
+    }
+
+    @Override
+    public DMatrixRBlock getUpper( @Nullable DMatrixRBlock upper ) {
+        int numRows = Math.min(T.numRows, T.numCols);
+        int numCols = T.numCols;
+
+        if (upper == null) {
+            upper = new DMatrixRBlock(numRows, numCols, T.blockLength);
+        } else {
+            upper.reshape(numRows, numCols, T.blockLength, false);
+        }
+        upper.zero();
+
+        for (int i = 0; i < numRows; i++) {
+            for (int j = i; j < numCols; j++) {
+                upper.unsafe_set(i, j, T.unsafe_get(i, j));
+            }
+        }
+        return upper;
+    }
+
+    @Override
+    public DMatrixRBlock getRowPivot( @Nullable DMatrixRBlock pivot ) {
+        int N = T.numRows;
+        if (pivot == null) {
+            pivot = new DMatrixRBlock(N, N, T.blockLength);
+        } else {
+            pivot.reshape(N, N, T.blockLength, false);
+        }
+        pivot.zero();
+
+        for (int i = 0; i < N; i++) {
+            pivot.unsafe_set(i, this.pivot[i], 1.0);
+        }
+        return pivot;
+    }
+
+    @Override
+    public int[] getRowPivotV( @Nullable IGrowArray pivot ) {
+        return UtilEjml.pivotVector(this.pivot, T.numRows, pivot);
+    }
+
+    @Override
+    public boolean isSingular() {
+        int N = Math.min(T.numRows, T.numCols);
+        for (int i = 0; i < N; i++) {
+            if (Math.abs(T.unsafe_get(i, i)) < UtilEjml.EPS)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public Complex_F64 computeDeterminant() {
+        if (T.numRows != T.numCols)
+            throw new IllegalArgumentException("Must be a square matrix.");
+
+        double prod = pivsign;
+
+        int blockLength = T.blockLength;
+        for (int i = 0; i < T.numCols; i += blockLength) {
+            // width of the submatrix
+            int widthA = Math.min(blockLength, T.numCols - i);
+
+            // index of the first element in the block
+            int indexT = i*T.numCols + i*widthA;
+
+            // product along the diagonal
+            for (int j = 0; j < widthA; j++) {
+                prod *= T.data[indexT];
+                indexT += widthA + 1;
+            }
+        }
+
+        det.real = prod;
+        det.imaginary = 0;
+
+        return det;
+    }
+
+    @Override
+    public boolean inputModified() {
+        return true;
+    }
+}
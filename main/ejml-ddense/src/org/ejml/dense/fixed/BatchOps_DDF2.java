@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixBatch;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>Operations on a batch of 2 x 2 matrices or 2 element vectors stored in a {@link DMatrixBatch}.
+ * Each function is applied to every matrix in the batch. Variants which have 'idx0' and 'idx1' as arguments
+ * only process matrices in that range and skip all sanity checks, which allows them to be called from
+ * concurrent code.</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateBatchOps_DDF</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.dense.fixed.GenerateBatchOps_DDF")
+@SuppressWarnings("Duplicates")
+public class BatchOps_DDF2 {
+    /**
+     * <p>Performs matrix multiplication on each matrix in the batch:<br>
+     * <br>
+     * c[k] = a[k] * b[k]</p>
+     *
+     * @param a (Input) Batch of 2x2 matrices. Not modified.
+     * @param b (Input) Batch of 2x2 matrices. Not modified.
+     * @param c (Output) Batch of 2x2 matrices. Can be the same instance as 'a' or 'b'.
+     */
+    public static void mult( DMatrixBatch a, DMatrixBatch b, DMatrixBatch c ) {
+        UtilEjml.assertShape(a.numRows == 2 && a.numCols == 2, "'a' must contain 2x2 matrices");
+        UtilEjml.assertShape(b.numRows == 2 && b.numCols == 2, "'b' must contain 2x2 matrices");
+        UtilEjml.assertShape(b.size == a.size, "'b' and 'a' must have the same number of matrices");
+        c.reshape(2, 2, a.size);
+        mult(a, b, c, 0, a.size);
+    }
+
+    public static void mult( DMatrixBatch a, DMatrixBatch b, DMatrixBatch c, int idx0, int idx1 ) {
+        final double[] A = a.data, B = b.data, C = c.data;
+        final int n = a.size;
+
+        for (int k = idx0; k < idx1; k++) {
+            double a11 = A[k], a12 = A[k + n];
+            double a21 = A[k + 2*n], a22 = A[k + 3*n];
+            double b11 = B[k], b12 = B[k + n];
+            double b21 = B[k + 2*n], b22 = B[k + 3*n];
+            C[k] = a11*b11 + a12*b21;
+            C[k + n] = a11*b12 + a12*b22;
+            C[k + 2*n] = a21*b11 + a22*b21;
+            C[k + 3*n] = a21*b12 + a22*b22;
+        }
+    }
+
+    /**
+     * <p>Performs matrix vector multiplication on each matrix in the batch:<br>
+     * <br>
+     * y[k] = a[k] * x[k]</p>
+     *
+     * @param a (Input) Batch of 2x2 matrices. Not modified.
+     * @param x (Input) Batch of 2 element column vectors. Not modified.
+     * @param y (Output) Batch of 2 element column vectors. Can be the same instance as 'x'.
+     */
+    public static void multVector( DMatrixBatch a, DMatrixBatch x, DMatrixBatch y ) {
+        UtilEjml.assertShape(a.numRows == 2 && a.numCols == 2, "'a' must contain 2x2 matrices");
+        UtilEjml.assertShape(x.numRows == 2 && x.numCols == 1, "'x' must contain 2 element column vectors");
+        UtilEjml.assertShape(x.size == a.size, "'x' and 'a' must have the same number of matrices");
+        y.reshape(2, 1, a.size);
+        multVector(a, x, y, 0, a.size);
+    }
+
+    public static void multVector( DMatrixBatch a, DMatrixBatch x, DMatrixBatch y, int idx0, int idx1 ) {
+        final double[] A = a.data, X = x.data, Y = y.data;
+        final int n = a.size;
+
+        for (int k = idx0; k < idx1; k++) {
+            double a11 = A[k], a12 = A[k + n];
+            double a21 = A[k + 2*n], a22 = A[k + 3*n];
+            double x1 = X[k], x2 = X[k + n];
+            Y[k] = a11*x1 + a12*x2;
+            Y[k + n] = a21*x1 + a22*x2;
+        }
+    }
+
+    /**
+     * Inverts each matrix in the batch using minor matrices. Scaling is applied to improve
+     * stability against overflow and underflow.
+     *
+     * WARNING: Potentially less stable than using LU decomposition.
+     *
+     * @param a (Input) Batch of 2x2 matrices. Not modified.
+     * @param inv (Output) Inverted matrices. Can be the same instance as 'a'.
+     * @return true if it was successful for every matrix or false if any failed. Not reliable.
+     */
+    public static boolean invert( DMatrixBatch a, DMatrixBatch inv ) {
+        UtilEjml.assertShape(a.numRows == 2 && a.numCols == 2, "'a' must contain 2x2 matrices");
+        inv.reshape(2, 2, a.size);
+        return invert(a, inv, 0, a.size);
+    }
+
+    public static boolean invert( DMatrixBatch a, DMatrixBatch inv, int idx0, int idx1 ) {
+        final double[] A = a.data, INV = inv.data;
+        final int n = a.size;
+        boolean success = true;
+
+        for (int k = idx0; k < idx1; k++) {
+            double a11 = A[k], a12 = A[k + n];
+            double a21 = A[k + 2*n], a22 = A[k + 3*n];
+            double scale = Math.abs(a11), tmp;
+            tmp = Math.abs(a12); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a21); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a22); if (tmp > scale) scale = tmp;
+            scale = 1.0/scale;
+            a11 *= scale; a12 *= scale;
+            a21 *= scale; a22 *= scale;
+
+            double m11 = a22;
+            double m12 = -( a21);
+            double m21 = -( a12);
+            double m22 = a11;
+
+            double det = (a11*m11 + a12*m12)/scale;
+
+            INV[k] = m11/det;
+            INV[k + n] = m21/det;
+            INV[k + 2*n] = m12/det;
+            INV[k + 3*n] = m22/det;
+            success &= !Double.isNaN(det) && !Double.isInfinite(det);
+        }
+        return success;
+    }
+
+    /**
+     * Solves the linear system a[k]*x[k] = b[k] for each matrix in the batch using minor matrices.
+     *
+     * WARNING: Potentially less stable than using LU decomposition.
+     *
+     * @param a (Input) Batch of 2x2 matrices. Not modified.
+     * @param b (Input) Batch of 2 element column vectors. Not modified.
+     * @param x (Output) Solution. Can be the same instance as 'b'.
+     * @return true if it was successful for every matrix or false if any failed. Not reliable.
+     */
+    public static boolean solve( DMatrixBatch a, DMatrixBatch b, DMatrixBatch x ) {
+        UtilEjml.assertShape(a.numRows == 2 && a.numCols == 2, "'a' must contain 2x2 matrices");
+        UtilEjml.assertShape(b.numRows == 2 && b.numCols == 1, "'b' must contain 2 element column vectors");
+        UtilEjml.assertShape(b.size == a.size, "'b' and 'a' must have the same number of matrices");
+        x.reshape(2, 1, a.size);
+        return solve(a, b, x, 0, a.size);
+    }
+
+    public static boolean solve( DMatrixBatch a, DMatrixBatch b, DMatrixBatch x, int idx0, int idx1 ) {
+        final double[] A = a.data, B = b.data, X = x.data;
+        final int n = a.size;
+        boolean success = true;
+
+        for (int k = idx0; k < idx1; k++) {
+            double b1 = B[k], b2 = B[k + n];
+            double a11 = A[k], a12 = A[k + n];
+            double a21 = A[k + 2*n], a22 = A[k + 3*n];
+            double scale = Math.abs(a11), tmp;
+            tmp = Math.abs(a12); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a21); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a22); if (tmp > scale) scale = tmp;
+            scale = 1.0/scale;
+            a11 *= scale; a12 *= scale;
+            a21 *= scale; a22 *= scale;
+
+            double m11 = a22;
+            double m12 = -( a21);
+            double m21 = -( a12);
+            double m22 = a11;
+
+            double det = (a11*m11 + a12*m12)/scale;
+
+            X[k] = (m11*b1 + m21*b2)/det;
+            X[k + n] = (m12*b1 + m22*b2)/det;
+            success &= !Double.isNaN(det) && !Double.isInfinite(det);
+        }
+        return success;
+    }
+
+    /**
+     * Computes the determinant of each matrix in the batch using minor matrices.<br>
+     * WARNING: Potentially less stable than using LU decomposition.
+     *
+     * @param a (Input) Batch of 2x2 matrices. Not modified.
+     * @param output (Output) Storage for the determinants. If null or too small a new array is created.
+     * @return The determinant of each matrix
+     */
+    public static double[] det( DMatrixBatch a, @Nullable double[] output ) {
+        UtilEjml.assertShape(a.numRows == 2 && a.numCols == 2, "'a' must contain 2x2 matrices");
+        double[] results = output == null || output.length < a.size ? new double[a.size] : output;
+        det(a, results, 0, a.size);
+        return results;
+    }
+
+    public static void det( DMatrixBatch a, double[] output, int idx0, int idx1 ) {
+        final double[] A = a.data;
+        final int n = a.size;
+
+        for (int k = idx0; k < idx1; k++) {
+            double a11 = A[k], a12 = A[k + n];
+            double a21 = A[k + 2*n], a22 = A[k + 3*n];
+            output[k] = a11*a22 - a12*a21;
+        }
+    }
+
+    /**
+     * Performs a lower Cholesky decomposition of each matrix in the batch and stores the result in place.
+     *
+     * @param a (Input) Batch of SPD matrices. (Output) lower cholesky.
+     * @return true if it was successful for every matrix or false if any failed. Not always reliable.
+     */
+    public static boolean cholL( DMatrixBatch a ) {
+        UtilEjml.assertShape(a.numRows == 2 && a.numCols == 2, "'a' must contain 2x2 matrices");
+        return cholL(a, 0, a.size);
+    }
+
+    public static boolean cholL( DMatrixBatch a, int idx0, int idx1 ) {
+        final double[] A = a.data;
+        final int n = a.size;
+        boolean success = true;
+
+        for (int k = idx0; k < idx1; k++) {
+            double a11 = A[k];
+            double a21 = A[k + 2*n], a22 = A[k + 3*n];
+            a11 = Math.sqrt(a11);
+            a21 = (a21)/a11;
+            a22 = Math.sqrt(a22 - a21*a21);
+            A[k] = a11;
+            A[k + n] = 0;
+            A[k + 2*n] = a21;
+            A[k + 3*n] = a22;
+            success &= !UtilEjml.isUncountable(a22);
+        }
+        return success;
+    }
+
+    /**
+     * Solves the linear system L[k]*L[k]<sup>T</sup>*x[k] = b[k] for each matrix in the batch, where L[k] is
+     * a lower Cholesky decomposition computed by {@link #cholL(DMatrixBatch)}.
+     *
+     * @param L (Input) Batch of lower triangular 2x2 matrices. Not modified.
+     * @param b (Input) Batch of 2 element column vectors. Not modified.
+     * @param x (Output) Solution. Can be the same instance as 'b'.
+     */
+    public static void solveChol( DMatrixBatch L, DMatrixBatch b, DMatrixBatch x ) {
+        UtilEjml.assertShape(L.numRows == 2 && L.numCols == 2, "'L' must contain 2x2 matrices");
+        UtilEjml.assertShape(b.numRows == 2 && b.numCols == 1, "'b' must contain 2 element column vectors");
+        UtilEjml.assertShape(b.size == L.size, "'b' and 'L' must have the same number of matrices");
+        x.reshape(2, 1, L.size);
+        solveChol(L, b, x, 0, L.size);
+    }
+
+    public static void solveChol( DMatrixBatch L, DMatrixBatch b, DMatrixBatch x, int idx0, int idx1 ) {
+        final double[] A = L.data, B = b.data, X = x.data;
+        final int n = L.size;
+
+        for (int k = idx0; k < idx1; k++) {
+            double a11 = A[k];
+            double a21 = A[k + 2*n], a22 = A[k + 3*n];
+            double b1 = B[k], b2 = B[k + n];
+            double y1 = (b1)/a11;
+            double y2 = (b2 - a21*y1)/a22;
+            double x2 = (y2)/a22;
+            double x1 = (y1 - a21*x2)/a11;
+            X[k] = x1;
+            X[k + n] = x2;
+        }
+    }
+
+}
+
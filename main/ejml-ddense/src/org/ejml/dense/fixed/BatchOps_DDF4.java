@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixBatch;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>Operations on a batch of 4 x 4 matrices or 4 element vectors stored in a {@link DMatrixBatch}.
+ * Each function is applied to every matrix in the batch. Variants which have 'idx0' and 'idx1' as arguments
+ * only process matrices in that range and skip all sanity checks, which allows them to be called from
+ * concurrent code.</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateBatchOps_DDF</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.dense.fixed.GenerateBatchOps_DDF")
+@SuppressWarnings("Duplicates")
+public class BatchOps_DDF4 {
+    /**
+     * <p>Performs matrix multiplication on each matrix in the batch:<br>
+     * <br>
+     * c[k] = a[k] * b[k]</p>
+     *
+     * @param a (Input) Batch of 4x4 matrices. Not modified.
+     * @param b (Input) Batch of 4x4 matrices. Not modified.
+     * @param c (Output) Batch of 4x4 matrices. Can be the same instance as 'a' or 'b'.
+     */
+    public static void mult( DMatrixBatch a, DMatrixBatch b, DMatrixBatch c ) {
+        UtilEjml.assertShape(a.numRows == 4 && a.numCols == 4, "'a' must contain 4x4 matrices");
+        UtilEjml.assertShape(b.numRows == 4 && b.numCols == 4, "'b' must contain 4x4 matrices");
+        UtilEjml.assertShape(b.size == a.size, "'b' and 'a' must have the same number of matrices");
+        c.reshape(4, 4, a.size);
+        mult(a, b, c, 0, a.size);
+    }
+
+    public static void mult( DMatrixBatch a, DMatrixBatch b, DMatrixBatch c, int idx0, int idx1 ) {
+        final double[] A = a.data, B = b.data, C = c.data;
+        final int n = a.size;
+
+        for (int k = idx0; k < idx1; k++) {
+            double a11 = A[k], a12 = A[k + n], a13 = A[k + 2*n], a14 = A[k + 3*n];
+            double a21 = A[k + 4*n], a22 = A[k + 5*n], a23 = A[k + 6*n], a24 = A[k + 7*n];
+            double a31 = A[k + 8*n], a32 = A[k + 9*n], a33 = A[k + 10*n], a34 = A[k + 11*n];
+            double a41 = A[k + 12*n], a42 = A[k + 13*n], a43 = A[k + 14*n], a44 = A[k + 15*n];
+            double b11 = B[k], b12 = B[k + n], b13 = B[k + 2*n], b14 = B[k + 3*n];
+            double b21 = B[k + 4*n], b22 = B[k + 5*n], b23 = B[k + 6*n], b24 = B[k + 7*n];
+            double b31 = B[k + 8*n], b32 = B[k + 9*n], b33 = B[k + 10*n], b34 = B[k + 11*n];
+            double b41 = B[k + 12*n], b42 = B[k + 13*n], b43 = B[k + 14*n], b44 = B[k + 15*n];
+            C[k] = a11*b11 + a12*b21 + a13*b31 + a14*b41;
+            C[k + n] = a11*b12 + a12*b22 + a13*b32 + a14*b42;
+            C[k + 2*n] = a11*b13 + a12*b23 + a13*b33 + a14*b43;
+            C[k + 3*n] = a11*b14 + a12*b24 + a13*b34 + a14*b44;
+            C[k + 4*n] = a21*b11 + a22*b21 + a23*b31 + a24*b41;
+            C[k + 5*n] = a21*b12 + a22*b22 + a23*b32 + a24*b42;
+            C[k + 6*n] = a21*b13 + a22*b23 + a23*b33 + a24*b43;
+            C[k + 7*n] = a21*b14 + a22*b24 + a23*b34 + a24*b44;
+            C[k + 8*n] = a31*b11 + a32*b21 + a33*b31 + a34*b41;
+            C[k + 9*n] = a31*b12 + a32*b22 + a33*b32 + a34*b42;
+            C[k + 10*n] = a31*b13 + a32*b23 + a33*b33 + a34*b43;
+            C[k + 11*n] = a31*b14 + a32*b24 + a33*b34 + a34*b44;
+            C[k + 12*n] = a41*b11 + a42*b21 + a43*b31 + a44*b41;
+            C[k + 13*n] = a41*b12 + a42*b22 + a43*b32 + a44*b42;
+            C[k + 14*n] = a41*b13 + a42*b23 + a43*b33 + a44*b43;
+            C[k + 15*n] = a41*b14 + a42*b24 + a43*b34 + a44*b44;
+        }
+    }
+
+    /**
+     * <p>Performs matrix vector multiplication on each matrix in the batch:<br>
+     * <br>
+     * y[k] = a[k] * x[k]</p>
+     *
+     * @param a (Input) Batch of 4x4 matrices. Not modified.
+     * @param x (Input) Batch of 4 element column vectors. Not modified.
+     * @param y (Output) Batch of 4 element column vectors. Can be the same instance as 'x'.
+     */
+    public static void multVector( DMatrixBatch a, DMatrixBatch x, DMatrixBatch y ) {
+        UtilEjml.assertShape(a.numRows == 4 && a.numCols == 4, "'a' must contain 4x4 matrices");
+        UtilEjml.assertShape(x.numRows == 4 && x.numCols == 1, "'x' must contain 4 element column vectors");
+        UtilEjml.assertShape(x.size == a.size, "'x' and 'a' must have the same number of matrices");
+        y.reshape(4, 1, a.size);
+        multVector(a, x, y, 0, a.size);
+    }
+
+    public static void multVector( DMatrixBatch a, DMatrixBatch x, DMatrixBatch y, int idx0, int idx1 ) {
+        final double[] A = a.data, X = x.data, Y = y.data;
+        final int n = a.size;
+
+        for (int k = idx0; k < idx1; k++) {
+            double a11 = A[k], a12 = A[k + n], a13 = A[k + 2*n], a14 = A[k + 3*n];
+            double a21 = A[k + 4*n], a22 = A[k + 5*n], a23 = A[k + 6*n], a24 = A[k + 7*n];
+            double a31 = A[k + 8*n], a32 = A[k + 9*n], a33 = A[k + 10*n], a34 = A[k + 11*n];
+            double a41 = A[k + 12*n], a42 = A[k + 13*n], a43 = A[k + 14*n], a44 = A[k + 15*n];
+            double x1 = X[k], x2 = X[k + n], x3 = X[k + 2*n], x4 = X[k + 3*n];
+            Y[k] = a11*x1 + a12*x2 + a13*x3 + a14*x4;
+            Y[k + n] = a21*x1 + a22*x2 + a23*x3 + a24*x4;
+            Y[k + 2*n] = a31*x1 + a32*x2 + a33*x3 + a34*x4;
+            Y[k + 3*n] = a41*x1 + a42*x2 + a43*x3 + a44*x4;
+        }
+    }
+
+    /**
+     * Inverts each matrix in the batch using minor matrices. Scaling is applied to improve
+     * stability against overflow and underflow.
+     *
+     * WARNING: Potentially less stable than using LU decomposition.
+     *
+     * @param a (Input) Batch of 4x4 matrices. Not modified.
+     * @param inv (Output) Inverted matrices. Can be the same instance as 'a'.
+     * @return true if it was successful for every matrix or false if any failed. Not reliable.
+     */
+    public static boolean invert( DMatrixBatch a, DMatrixBatch inv ) {
+        UtilEjml.assertShape(a.numRows == 4 && a.numCols == 4, "'a' must contain 4x4 matrices");
+        inv.reshape(4, 4, a.size);
+        return invert(a, inv, 0, a.size);
+    }
+
+    public static boolean invert( DMatrixBatch a, DMatrixBatch inv, int idx0, int idx1 ) {
+        final double[] A = a.data, INV = inv.data;
+        final int n = a.size;
+        boolean success = true;
+
+        for (int k = idx0; k < idx1; k++) {
+            double a11 = A[k], a12 = A[k + n], a13 = A[k + 2*n], a14 = A[k + 3*n];
+            double a21 = A[k + 4*n], a22 = A[k + 5*n], a23 = A[k + 6*n], a24 = A[k + 7*n];
+            double a31 = A[k + 8*n], a32 = A[k + 9*n], a33 = A[k + 10*n], a34 = A[k + 11*n];
+            double a41 = A[k + 12*n], a42 = A[k + 13*n], a43 = A[k + 14*n], a44 = A[k + 15*n];
+            double scale = Math.abs(a11), tmp;
+            tmp = Math.abs(a12); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a13); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a14); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a21); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a22); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a23); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a24); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a31); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a32); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a33); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a34); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a41); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a42); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a43); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a44); if (tmp > scale) scale = tmp;
+            scale = 1.0/scale;
+            a11 *= scale; a12 *= scale; a13 *= scale; a14 *= scale;
+            a21 *= scale; a22 *= scale; a23 *= scale; a24 *= scale;
+            a31 *= scale; a32 *= scale; a33 *= scale; a34 *= scale;
+            a41 *= scale; a42 *= scale; a43 *= scale; a44 *= scale;
+
+            double m11 =  + a22*(a33*a44 - a34*a43) - a23*(a32*a44 - a34*a42) + a24*(a32*a43 - a33*a42);
+            double m12 = -(  + a21*(a33*a44 - a34*a43) - a23*(a31*a44 - a34*a41) + a24*(a31*a43 - a33*a41));
+            double m13 =  + a21*(a32*a44 - a34*a42) - a22*(a31*a44 - a34*a41) + a24*(a31*a42 - a32*a41);
+            double m14 = -(  + a21*(a32*a43 - a33*a42) - a22*(a31*a43 - a33*a41) + a23*(a31*a42 - a32*a41));
+            double m21 = -(  + a12*(a33*a44 - a34*a43) - a13*(a32*a44 - a34*a42) + a14*(a32*a43 - a33*a42));
+            double m22 =  + a11*(a33*a44 - a34*a43) - a13*(a31*a44 - a34*a41) + a14*(a31*a43 - a33*a41);
+            double m23 = -(  + a11*(a32*a44 - a34*a42) - a12*(a31*a44 - a34*a41) + a14*(a31*a42 - a32*a41));
+            double m24 =  + a11*(a32*a43 - a33*a42) - a12*(a31*a43 - a33*a41) + a13*(a31*a42 - a32*a41);
+            double m31 =  + a12*(a23*a44 - a24*a43) - a13*(a22*a44 - a24*a42) + a14*(a22*a43 - a23*a42);
+            double m32 = -(  + a11*(a23*a44 - a24*a43) - a13*(a21*a44 - a24*a41) + a14*(a21*a43 - a23*a41));
+            double m33 =  + a11*(a22*a44 - a24*a42) - a12*(a21*a44 - a24*a41) + a14*(a21*a42 - a22*a41);
+            double m34 = -(  + a11*(a22*a43 - a23*a42) - a12*(a21*a43 - a23*a41) + a13*(a21*a42 - a22*a41));
+            double m41 = -(  + a12*(a23*a34 - a24*a33) - a13*(a22*a34 - a24*a32) + a14*(a22*a33 - a23*a32));
+            double m42 =  + a11*(a23*a34 - a24*a33) - a13*(a21*a34 - a24*a31) + a14*(a21*a33 - a23*a31);
+            double m43 = -(  + a11*(a22*a34 - a24*a32) - a12*(a21*a34 - a24*a31) + a14*(a21*a32 - a22*a31));
+            double m44 =  + a11*(a22*a33 - a23*a32) - a12*(a21*a33 - a23*a31) + a13*(a21*a32 - a22*a31);
+
+            double det = (a11*m11 + a12*m12 + a13*m13 + a14*m14)/scale;
+
+            INV[k] = m11/det;
+            INV[k + n] = m21/det;
+            INV[k + 2*n] = m31/det;
+            INV[k + 3*n] = m41/det;
+            INV[k + 4*n] = m12/det;
+            INV[k + 5*n] = m22/det;
+            INV[k + 6*n] = m32/det;
+            INV[k + 7*n] = m42/det;
+            INV[k + 8*n] = m13/det;
+            INV[k + 9*n] = m23/det;
+            INV[k + 10*n] = m33/det;
+            INV[k + 11*n] = m43/det;
+            INV[k + 12*n] = m14/det;
+            INV[k + 13*n] = m24/det;
+            INV[k + 14*n] = m34/det;
+            INV[k + 15*n] = m44/det;
+            success &= !Double.isNaN(det) && !Double.isInfinite(det);
+        }
+        return success;
+    }
+
+    /**
+     * Solves the linear system a[k]*x[k] = b[k] for each matrix in the batch using minor matrices.
+     *
+     * WARNING: Potentially less stable than using LU decomposition.
+     *
+     * @param a (Input) Batch of 4x4 matrices. Not modified.
+     * @param b (Input) Batch of 4 element column vectors. Not modified.
+     * @param x (Output) Solution. Can be the same instance as 'b'.
+     * @return true if it was successful for every matrix or false if any failed. Not reliable.
+     */
+    public static boolean solve( DMatrixBatch a, DMatrixBatch b, DMatrixBatch x ) {
+        UtilEjml.assertShape(a.numRows == 4 && a.numCols == 4, "'a' must contain 4x4 matrices");
+        UtilEjml.assertShape(b.numRows == 4 && b.numCols == 1, "'b' must contain 4 element column vectors");
+        UtilEjml.assertShape(b.size == a.size, "'b' and 'a' must have the same number of matrices");
+        x.reshape(4, 1, a.size);
+        return solve(a, b, x, 0, a.size);
+    }
+
+    public static boolean solve( DMatrixBatch a, DMatrixBatch b, DMatrixBatch x, int idx0, int idx1 ) {
+        final double[] A = a.data, B = b.data, X = x.data;
+        final int n = a.size;
+        boolean success = true;
+
+        for (int k = idx0; k < idx1; k++) {
+            double b1 = B[k], b2 = B[k + n], b3 = B[k + 2*n], b4 = B[k + 3*n];
+            double a11 = A[k], a12 = A[k + n], a13 = A[k + 2*n], a14 = A[k + 3*n];
+            double a21 = A[k + 4*n], a22 = A[k + 5*n], a23 = A[k + 6*n], a24 = A[k + 7*n];
+            double a31 = A[k + 8*n], a32 = A[k + 9*n], a33 = A[k + 10*n], a34 = A[k + 11*n];
+            double a41 = A[k + 12*n], a42 = A[k + 13*n], a43 = A[k + 14*n], a44 = A[k + 15*n];
+            double scale = Math.abs(a11), tmp;
+            tmp = Math.abs(a12); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a13); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a14); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a21); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a22); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a23); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a24); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a31); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a32); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a33); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a34); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a41); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a42); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a43); if (tmp > scale) scale = tmp;
+            tmp = Math.abs(a44); if (tmp > scale) scale = tmp;
+            scale = 1.0/scale;
+            a11 *= scale; a12 *= scale; a13 *= scale; a14 *= scale;
+            a21 *= scale; a22 *= scale; a23 *= scale; a24 *= scale;
+            a31 *= scale; a32 *= scale; a33 *= scale; a34 *= scale;
+            a41 *= scale; a42 *= scale; a43 *= scale; a44 *= scale;
+
+            double m11 =  + a22*(a33*a44 - a34*a43) - a23*(a32*a44 - a34*a42) + a24*(a32*a43 - a33*a42);
+            double m12 = -(  + a21*(a33*a44 - a34*a43) - a23*(a31*a44 - a34*a41) + a24*(a31*a43 - a33*a41));
+            double m13 =  + a21*(a32*a44 - a34*a42) - a22*(a31*a44 - a34*a41) + a24*(a31*a42 - a32*a41);
+            double m14 = -(  + a21*(a32*a43 - a33*a42) - a22*(a31*a43 - a33*a41) + a23*(a31*a42 - a32*a41));
+            double m21 = -(  + a12*(a33*a44 - a34*a43) - a13*(a32*a44 - a34*a42) + a14*(a32*a43 - a33*a42));
+            double m22 =  + a11*(a33*a44 - a34*a43) - a13*(a31*a44 - a34*a41) + a14*(a31*a43 - a33*a41);
+            double m23 = -(  + a11*(a32*a44 - a34*a42) - a12*(a31*a44 - a34*a41) + a14*(a31*a42 - a32*a41));
+            double m24 =  + a11*(a32*a43 - a33*a42) - a12*(a31*a43 - a33*a41) + a13*(a31*a42 - a32*a41);
+            double m31 =  + a12*(a23*a44 - a24*a43) - a13*(a22*a44 - a24*a42) + a14*(a22*a43 - a23*a42);
+            double m32 = -(  + a11*(a23*a44 - a24*a43) - a13*(a21*a44 - a24*a41) + a14*(a21*a43 - a23*a41));
+            double m33 =  + a11*(a22*a44 - a24*a42) - a12*(a21*a44 - a24*a41) + a14*(a21*a42 - a22*a41);
+            double m34 = -(  + a11*(a22*a43 - a23*a42) - a12*(a21*a43 - a23*a41) + a13*(a21*a42 - a22*a41));
+            double m41 = -(  + a12*(a23*a34 - a24*a33) - a13*(a22*a34 - a24*a32) + a14*(a22*a33 - a23*a32));
+            double m42 =  + a11*(a23*a34 - a24*a33) - a13*(a21*a34 - a24*a31) + a14*(a21*a33 - a23*a31);
+            double m43 = -(  + a11*(a22*a34 - a24*a32) - a12*(a21*a34 - a24*a31) + a14*(a21*a32 - a22*a31));
+            double m44 =  + a11*(a22*a33 - a23*a32) - a12*(a21*a33 - a23*a31) + a13*(a21*a32 - a22*a31);
+
+            double det = (a11*m11 + a12*m12 + a13*m13 + a14*m14)/scale;
+
+            X[k] = (m11*b1 + m21*b2 + m31*b3 + m41*b4)/det;
+            X[k + n] = (m12*b1 + m22*b2 + m32*b3 + m42*b4)/det;
+            X[k + 2*n] = (m13*b1 + m23*b2 + m33*b3 + m43*b4)/det;
+            X[k + 3*n] = (m14*b1 + m24*b2 + m34*b3 + m44*b4)/det;
+            success &= !Double.isNaN(det) && !Double.isInfinite(det);
+        }
+        return success;
+    }
+
+    /**
+     * Computes the determinant of each matrix in the batch using minor matrices.<br>
+     * WARNING: Potentially less stable than using LU decomposition.
+     *
+     * @param a (Input) Batch of 4x4 matrices. Not modified.
+     * @param output (Output) Storage for the determinants. If null or too small a new array is created.
+     * @return The determinant of each matrix
+     */
+    public static double[] det( DMatrixBatch a, @Nullable double[] output ) {
+        UtilEjml.assertShape(a.numRows == 4 && a.numCols == 4, "'a' must contain 4x4 matrices");
+        double[] results = output == null || output.length < a.size ? new double[a.size] : output;
+        det(a, results, 0, a.size);
+        return results;
+    }
+
+    public static void det( DMatrixBatch a, double[] output, int idx0, int idx1 ) {
+        final double[] A = a.data;
+        final int n = a.size;
+
+        for (int k = idx0; k < idx1; k++) {
+            double  a11 = A[k + 5*n];
+            double  a12 = A[k + 6*n];
+            double  a13 = A[k + 7*n];
+            double  a21 = A[k + 9*n];
+            double  a22 = A[k + 10*n];
+            double  a23 = A[k + 11*n];
+            double  a31 = A[k + 13*n];
+            double  a32 = A[k + 14*n];
+            double  a33 = A[k + 15*n];
+
+            double ret = 0;
+            ret += A[k] * ( + a11*(a22*a33 - a23*a32) - a12*(a21*a33 - a23*a31) + a13*(a21*a32 - a22*a31));
+            a11 = A[k + 4*n];
+            a21 = A[k + 8*n];
+            a31 = A[k + 12*n];
+            ret -= A[k + n] * ( + a11*(a22*a33 - a23*a32) - a12*(a21*a33 - a23*a31) + a13*(a21*a32 - a22*a31));
+            a12 = A[k + 5*n];
+            a22 = A[k + 9*n];
+            a32 = A[k + 13*n];
+            ret += A[k + 2*n] * ( + a11*(a22*a33 - a23*a32) - a12*(a21*a33 - a23*a31) + a13*(a21*a32 - a22*a31));
+            a13 = A[k + 6*n];
+            a23 = A[k + 10*n];
+            a33 = A[k + 14*n];
+            ret -= A[k + 3*n] * ( + a11*(a22*a33 - a23*a32) - a12*(a21*a33 - a23*a31) + a13*(a21*a32 - a22*a31));
+            output[k] = ret;
+        }
+    }
+
+    /**
+     * Performs a lower Cholesky decomposition of each matrix in the batch and stores the result in place.
+     *
+     * @param a (Input) Batch of SPD matrices. (Output) lower cholesky.
+     * @return true if it was successful for every matrix or false if any failed. Not always reliable.
+     */
+    public static boolean cholL( DMatrixBatch a ) {
+        UtilEjml.assertShape(a.numRows == 4 && a.numCols == 4, "'a' must contain 4x4 matrices");
+        return cholL(a, 0, a.size);
+    }
+
+    public static boolean cholL( DMatrixBatch a, int idx0, int idx1 ) {
+        final double[] A = a.data;
+        final int n = a.size;
+        boolean success = true;
+
+        for (int k = idx0; k < idx1; k++) {
+            double a11 = A[k];
+            double a21 = A[k + 4*n], a22 = A[k + 5*n];
+            double a31 = A[k + 8*n], a32 = A[k + 9*n], a33 = A[k + 10*n];
+            double a41 = A[k + 12*n], a42 = A[k + 13*n], a43 = A[k + 14*n], a44 = A[k + 15*n];
+            a11 = Math.sqrt(a11);
+            a21 = (a21)/a11;
+            a22 = Math.sqrt(a22 - a21*a21);
+            a31 = (a31)/a11;
+            a32 = (a32 - a31*a21)/a22;
+            a33 = Math.sqrt(a33 - a31*a31 - a32*a32);
+            a41 = (a41)/a11;
+            a42 = (a42 - a41*a21)/a22;
+            a43 = (a43 - a41*a31 - a42*a32)/a33;
+            a44 = Math.sqrt(a44 - a41*a41 - a42*a42 - a43*a43);
+            A[k] = a11;
+            A[k + n] = 0;
+            A[k + 2*n] = 0;
+            A[k + 3*n] = 0;
+            A[k + 4*n] = a21;
+            A[k + 5*n] = a22;
+            A[k + 6*n] = 0;
+            A[k + 7*n] = 0;
+            A[k + 8*n] = a31;
+            A[k + 9*n] = a32;
+            A[k + 10*n] = a33;
+            A[k + 11*n] = 0;
+            A[k + 12*n] = a41;
+            A[k + 13*n] = a42;
+            A[k + 14*n] = a43;
+            A[k + 15*n] = a44;
+            success &= !UtilEjml.isUncountable(a44);
+        }
+        return success;
+    }
+
+    /**
+     * Solves the linear system L[k]*L[k]<sup>T</sup>*x[k] = b[k] for each matrix in the batch, where L[k] is
+     * a lower Cholesky decomposition computed by {@link #cholL(DMatrixBatch)}.
+     *
+     * @param L (Input) Batch of lower triangular 4x4 matrices. Not modified.
+     * @param b (Input) Batch of 4 element column vectors. Not modified.
+     * @param x (Output) Solution. Can be the same instance as 'b'.
+     */
+    public static void solveChol( DMatrixBatch L, DMatrixBatch b, DMatrixBatch x ) {
+        UtilEjml.assertShape(L.numRows == 4 && L.numCols == 4, "'L' must contain 4x4 matrices");
+        UtilEjml.assertShape(b.numRows == 4 && b.numCols == 1, "'b' must contain 4 element column vectors");
+        UtilEjml.assertShape(b.size == L.size, "'b' and 'L' must have the same number of matrices");
+        x.reshape(4, 1, L.size);
+        solveChol(L, b, x, 0, L.size);
+    }
+
+    public static void solveChol( DMatrixBatch L, DMatrixBatch b, DMatrixBatch x, int idx0, int idx1 ) {
+        final double[] A = L.data, B = b.data, X = x.data;
+        final int n = L.size;
+
+        for (int k = idx0; k < idx1; k++) {
+            double a11 = A[k];
+            double a21 = A[k + 4*n], a22 = A[k + 5*n];
+            double a31 = A[k + 8*n], a32 = A[k + 9*n], a33 = A[k + 10*n];
+            double a41 = A[k + 12*n], a42 = A[k + 13*n], a43 = A[k + 14*n], a44 = A[k + 15*n];
+            double b1 = B[k], b2 = B[k + n], b3 = B[k + 2*n], b4 = B[k + 3*n];
+            double y1 = (b1)/a11;
+            double y2 = (b2 - a21*y1)/a22;
+            double y3 = (b3 - a31*y1 - a32*y2)/a33;
+            double y4 = (b4 - a41*y1 - a42*y2 - a43*y3)/a44;
+            double x4 = (y4)/a44;
+            double x3 = (y3 - a43*x4)/a33;
+            double x2 = (y2 - a32*x3 - a42*x4)/a22;
+            double x1 = (y1 - a21*x2 - a31*x3 - a41*x4)/a11;
+            X[k] = x1;
+            X[k + n] = x2;
+            X[k + 2*n] = x3;
+            X[k + 3*n] = x4;
+        }
+    }
+
+}
+
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixBatch;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>Concurrent implementation of {@link BatchOps_DDF3}. The batch is split into blocks of at least
+ * {@link #MIN_BLOCK_SIZE} matrices which are processed in parallel.</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateBatchOps_DDF</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.dense.fixed.GenerateBatchOps_DDF")
+@SuppressWarnings("Duplicates")
+public class BatchOps_MT_DDF3 {
+    /** Minimum number of matrices processed by a single thread */
+    public static int MIN_BLOCK_SIZE = 500;
+
+    /**
+     * <p>Performs matrix multiplication on each matrix in the batch:<br>
+     * <br>
+     * c[k] = a[k] * b[k]</p>
+     *
+     * @param a (Input) Batch of 3x3 matrices. Not modified.
+     * @param b (Input) Batch of 3x3 matrices. Not modified.
+     * @param c (Output) Batch of 3x3 matrices. Can be the same instance as 'a' or 'b'.
+     */
+    public static void mult( DMatrixBatch a, DMatrixBatch b, DMatrixBatch c ) {
+        UtilEjml.assertShape(a.numRows == 3 && a.numCols == 3, "'a' must contain 3x3 matrices");
+        UtilEjml.assertShape(b.numRows == 3 && b.numCols == 3, "'b' must contain 3x3 matrices");
+        UtilEjml.assertShape(b.size == a.size, "'b' and 'a' must have the same number of matrices");
+        c.reshape(3, 3, a.size);
+        EjmlConcurrency.loopBlocks(0, a.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) ->
+                BatchOps_DDF3.mult(a, b, c, idx0, idx1));
+    }
+
+    /**
+     * <p>Performs matrix vector multiplication on each matrix in the batch:<br>
+     * <br>
+     * y[k] = a[k] * x[k]</p>
+     *
+     * @param a (Input) Batch of 3x3 matrices. Not modified.
+     * @param x (Input) Batch of 3 element column vectors. Not modified.
+     * @param y (Output) Batch of 3 element column vectors. Can be the same instance as 'x'.
+     */
+    public static void multVector( DMatrixBatch a, DMatrixBatch x, DMatrixBatch y ) {
+        UtilEjml.assertShape(a.numRows == 3 && a.numCols == 3, "'a' must contain 3x3 matrices");
+        UtilEjml.assertShape(x.numRows == 3 && x.numCols == 1, "'x' must contain 3 element column vectors");
+        UtilEjml.assertShape(x.size == a.size, "'x' and 'a' must have the same number of matrices");
+        y.reshape(3, 1, a.size);
+        EjmlConcurrency.loopBlocks(0, a.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) ->
+                BatchOps_DDF3.multVector(a, x, y, idx0, idx1));
+    }
+
+    /**
+     * Inverts each matrix in the batch using minor matrices. Scaling is applied to improve
+     * stability against overflow and underflow.
+     *
+     * WARNING: Potentially less stable than using LU decomposition.
+     *
+     * @param a (Input) Batch of 3x3 matrices. Not modified.
+     * @param inv (Output) Inverted matrices. Can be the same instance as 'a'.
+     * @return true if it was successful for every matrix or false if any failed. Not reliable.
+     */
+    public static boolean invert( DMatrixBatch a, DMatrixBatch inv ) {
+        UtilEjml.assertShape(a.numRows == 3 && a.numCols == 3, "'a' must contain 3x3 matrices");
+        inv.reshape(3, 3, a.size);
+        var success = new boolean[]{true};
+        EjmlConcurrency.loopBlocks(0, a.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) -> {
+            if (!BatchOps_DDF3.invert(a, inv, idx0, idx1))
+                success[0] = false;
+        });
+        return success[0];
+    }
+
+    /**
+     * Solves the linear system a[k]*x[k] = b[k] for each matrix in the batch using minor matrices.
+     *
+     * WARNING: Potentially less stable than using LU decomposition.
+     *
+     * @param a (Input) Batch of 3x3 matrices. Not modified.
+     * @param b (Input) Batch of 3 element column vectors. Not modified.
+     * @param x (Output) Solution. Can be the same instance as 'b'.
+     * @return true if it was successful for every matrix or false if any failed. Not reliable.
+     */
+    public static boolean solve( DMatrixBatch a, DMatrixBatch b, DMatrixBatch x ) {
+        UtilEjml.assertShape(a.numRows == 3 && a.numCols == 3, "'a' must contain 3x3 matrices");
+        UtilEjml.assertShape(b.numRows == 3 && b.numCols == 1, "'b' must contain 3 element column vectors");
+        UtilEjml.assertShape(b.size == a.size, "'b' and 'a' must have the same number of matrices");
+        x.reshape(3, 1, a.size);
+        var success = new boolean[]{true};
+        EjmlConcurrency.loopBlocks(0, a.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) -> {
+            if (!BatchOps_DDF3.solve(a, b, x, idx0, idx1))
+                success[0] = false;
+        });
+        return success[0];
+    }
+
+    /**
+     * Computes the determinant of each matrix in the batch using minor matrices.<br>
+     * WARNING: Potentially less stable than using LU decomposition.
+     *
+     * @param a (Input) Batch of 3x3 matrices. Not modified.
+     * @param output (Output) Storage for the determinants. If null or too small a new array is created.
+     * @return The determinant of each matrix
+     */
+    public static double[] det( DMatrixBatch a, @Nullable double[] output ) {
+        UtilEjml.assertShape(a.numRows == 3 && a.numCols == 3, "'a' must contain 3x3 matrices");
+        double[] results = output == null || output.length < a.size ? new double[a.size] : output;
+        EjmlConcurrency.loopBlocks(0, a.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) ->
+                BatchOps_DDF3.det(a, results, idx0, idx1));
+        return results;
+    }
+
+    /**
+     * Performs a lower Cholesky decomposition of each matrix in the batch and stores the result in place.
+     *
+     * @param a (Input) Batch of SPD matrices. (Output) lower cholesky.
+     * @return true if it was successful for every matrix or false if any failed. Not always reliable.
+     */
+    public static boolean cholL( DMatrixBatch a ) {
+        UtilEjml.assertShape(a.numRows == 3 && a.numCols == 3, "'a' must contain 3x3 matrices");
+        var success = new boolean[]{true};
+        EjmlConcurrency.loopBlocks(0, a.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) -> {
+            if (!BatchOps_DDF3.cholL(a, idx0, idx1))
+                success[0] = false;
+        });
+        return success[0];
+    }
+
+    /**
+     * Solves the linear system L[k]*L[k]<sup>T</sup>*x[k] = b[k] for each matrix in the batch, where L[k] is
+     * a lower Cholesky decomposition computed by {@link #cholL(DMatrixBatch)}.
+     *
+     * @param L (Input) Batch of lower triangular 3x3 matrices. Not modified.
+     * @param b (Input) Batch of 3 element column vectors. Not modified.
+     * @param x (Output) Solution. Can be the same instance as 'b'.
+     */
+    public static void solveChol( DMatrixBatch L, DMatrixBatch b, DMatrixBatch x ) {
+        UtilEjml.assertShape(L.numRows == 3 && L.numCols == 3, "'L' must contain 3x3 matrices");
+        UtilEjml.assertShape(b.numRows == 3 && b.numCols == 1, "'b' must contain 3 element column vectors");
+        UtilEjml.assertShape(b.size == L.size, "'b' and 'L' must have the same number of matrices");
+        x.reshape(3, 1, L.size);
+        EjmlConcurrency.loopBlocks(0, L.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) ->
+                BatchOps_DDF3.solveChol(L, b, x, idx0, idx1));
+    }
+
+}
+
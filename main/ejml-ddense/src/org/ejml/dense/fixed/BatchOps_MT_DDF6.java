@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixBatch;
+
+import javax.annotation.Generated;
+
+/**
+ * <p>Concurrent implementation of {@link BatchOps_DDF6}. The batch is split into blocks of at least
+ * {@link #MIN_BLOCK_SIZE} matrices which are processed in parallel.</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateBatchOps_DDF</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.dense.fixed.GenerateBatchOps_DDF")
+@SuppressWarnings("Duplicates")
+public class BatchOps_MT_DDF6 {
+    /** Minimum number of matrices processed by a single thread */
+    public static int MIN_BLOCK_SIZE = 500;
+
+    /**
+     * <p>Performs matrix multiplication on each matrix in the batch:<br>
+     * <br>
+     * c[k] = a[k] * b[k]</p>
+     *
+     * @param a (Input) Batch of 6x6 matrices. Not modified.
+     * @param b (Input) Batch of 6x6 matrices. Not modified.
+     * @param c (Output) Batch of 6x6 matrices. Can be the same instance as 'a' or 'b'.
+     */
+    public static void mult( DMatrixBatch a, DMatrixBatch b, DMatrixBatch c ) {
+        UtilEjml.assertShape(a.numRows == 6 && a.numCols == 6, "'a' must contain 6x6 matrices");
+        UtilEjml.assertShape(b.numRows == 6 && b.numCols == 6, "'b' must contain 6x6 matrices");
+        UtilEjml.assertShape(b.size == a.size, "'b' and 'a' must have the same number of matrices");
+        c.reshape(6, 6, a.size);
+        EjmlConcurrency.loopBlocks(0, a.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) ->
+                BatchOps_DDF6.mult(a, b, c, idx0, idx1));
+    }
+
+    /**
+     * <p>Performs matrix vector multiplication on each matrix in the batch:<br>
+     * <br>
+     * y[k] = a[k] * x[k]</p>
+     *
+     * @param a (Input) Batch of 6x6 matrices. Not modified.
+     * @param x (Input) Batch of 6 element column vectors. Not modified.
+     * @param y (Output) Batch of 6 element column vectors. Can be the same instance as 'x'.
+     */
+    public static void multVector( DMatrixBatch a, DMatrixBatch x, DMatrixBatch y ) {
+        UtilEjml.assertShape(a.numRows == 6 && a.numCols == 6, "'a' must contain 6x6 matrices");
+        UtilEjml.assertShape(x.numRows == 6 && x.numCols == 1, "'x' must contain 6 element column vectors");
+        UtilEjml.assertShape(x.size == a.size, "'x' and 'a' must have the same number of matrices");
+        y.reshape(6, 1, a.size);
+        EjmlConcurrency.loopBlocks(0, a.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) ->
+                BatchOps_DDF6.multVector(a, x, y, idx0, idx1));
+    }
+
+    /**
+     * Performs a lower Cholesky decomposition of each matrix in the batch and stores the result in place.
+     *
+     * @param a (Input) Batch of SPD matrices. (Output) lower cholesky.
+     * @return true if it was successful for every matrix or false if any failed. Not always reliable.
+     */
+    public static boolean cholL( DMatrixBatch a ) {
+        UtilEjml.assertShape(a.numRows == 6 && a.numCols == 6, "'a' must contain 6x6 matrices");
+        var success = new boolean[]{true};
+        EjmlConcurrency.loopBlocks(0, a.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) -> {
+            if (!BatchOps_DDF6.cholL(a, idx0, idx1))
+                success[0] = false;
+        });
+        return success[0];
+    }
+
+    /**
+     * Solves the linear system L[k]*L[k]<sup>T</sup>*x[k] = b[k] for each matrix in the batch, where L[k] is
+     * a lower Cholesky decomposition computed by {@link #cholL(DMatrixBatch)}.
+     *
+     * @param L (Input) Batch of lower triangular 6x6 matrices. Not modified.
+     * @param b (Input) Batch of 6 element column vectors. Not modified.
+     * @param x (Output) Solution. Can be the same instance as 'b'.
+     */
+    public static void solveChol( DMatrixBatch L, DMatrixBatch b, DMatrixBatch x ) {
+        UtilEjml.assertShape(L.numRows == 6 && L.numCols == 6, "'L' must contain 6x6 matrices");
+        UtilEjml.assertShape(b.numRows == 6 && b.numCols == 1, "'b' must contain 6 element column vectors");
+        UtilEjml.assertShape(b.size == L.size, "'b' and 'L' must have the same number of matrices");
+        x.reshape(6, 1, L.size);
+        EjmlConcurrency.loopBlocks(0, L.size, MIN_BLOCK_SIZE, ( idx0, idx1 ) ->
+                BatchOps_DDF6.solveChol(L, b, x, idx0, idx1));
+    }
+
+}
+
@@ -23,16 +23,17 @@ import org.ejml.MatrixDimensionException;
 import org.ejml.UtilEjml;
 import org.ejml.data.*;
 import org.ejml.dense.row.decomposition.TriangularSolver_DDRM;
-import org.ejml.dense.row.decomposition.lu.LUDecompositionAlt_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
 import org.ejml.dense.row.factory.LinearSolverFactory_DDRM;
 import org.ejml.dense.row.linsol.chol.LinearSolverChol_DDRM;
-import org.ejml.dense.row.linsol.lu.LinearSolverLu_DDRM;
 import org.ejml.dense.row.linsol.svd.SolvePseudoInverseSvd_DDRM;
 import org.ejml.dense.row.misc.*;
 import org.ejml.dense.row.mult.MatrixMatrixMult_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
 import org.ejml.dense.row.mult.MatrixMultProduct_DDRM;
 import org.ejml.dense.row.mult.MatrixVectorMult_DDRM;
 import org.ejml.dense.row.mult.VectorVectorMult_DDRM;
+import org.ejml.interfaces.decomposition.LUDecomposition_F64;
 import org.ejml.interfaces.linsol.LinearSolverDense;
 import org.ejml.interfaces.linsol.ReducedRowEchelonForm_F64;
 import org.ejml.ops.DElementCoorBoolean;
@@ -81,7 +82,9 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        if (b.numCols == 1) {
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_DDRM.mult(1.0, a, false, b, false, output, false, null, null);
+        } else if (b.numCols == 1) {
             MatrixVectorMult_DDRM.mult(a, b, output);
         } else if (b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.mult_reorder(a, b, output);
@@ -111,7 +114,9 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(b, output);
 
         // TODO add a matrix vectory multiply here
-        if (b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_DDRM.mult(alpha, a, false, b, false, output, false, null, null);
+        } else if (b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.mult_reorder(alpha, a, b, output);
         } else {
             MatrixMatrixMult_DDRM.mult_small(alpha, a, b, output);
@@ -137,7 +142,9 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        if (b.numCols == 1) {
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_DDRM.mult(1.0, a, true, b, false, output, false, null, null);
+        } else if (b.numCols == 1) {
             // todo check a.numCols == 1 and do inner product?
             // there are significantly faster algorithms when dealing with vectors
             if (a.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
@@ -174,7 +181,9 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(b, output);
 
         // TODO add a matrix vectory multiply here
-        if (a.numCols >= EjmlParameters.MULT_COLUMN_SWITCH ||
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_DDRM.mult(alpha, a, true, b, false, output, false, null, null);
+        } else if (a.numCols >= EjmlParameters.MULT_COLUMN_SWITCH ||
                 b.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.multTransA_reorder(alpha, a, b, output);
         } else {
@@ -201,7 +210,9 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        if (b.numRows == 1) {
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_DDRM.mult(1.0, a, false, b, true, output, false, null, null);
+        } else if (b.numRows == 1) {
             MatrixVectorMult_DDRM.mult(a, b, output);
         } else {
             MatrixMatrixMult_DDRM.multTransB(a, b, output);
@@ -229,7 +240,11 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(b, output);
 
         // TODO add a matrix vectory multiply here
-        MatrixMatrixMult_DDRM.multTransB(alpha, a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_DDRM.mult(alpha, a, false, b, true, output, false, null, null);
+        } else {
+            MatrixMatrixMult_DDRM.multTransB(alpha, a, b, output);
+        }
 
         return output;
     }
@@ -251,7 +266,9 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        if (b.numRows == 1) {
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_DDRM.mult(1.0, a, true, b, true, output, false, null, null);
+        } else if (b.numRows == 1) {
             // there are significantly faster algorithms when dealing with vectors
             if (a.numCols >= EjmlParameters.MULT_COLUMN_SWITCH) {
                 MatrixVectorMult_DDRM.multTransA_reorder(a, b, output);
@@ -286,7 +303,9 @@ public class CommonOps_DDRM {
         UtilEjml.checkSameInstance(b, output);
 
         // TODO add a matrix vectory multiply here
-        if (a.numCols >= EjmlParameters.MULT_TRANAB_COLUMN_SWITCH) {
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_DDRM.mult(alpha, a, true, b, true, output, false, null, null);
+        } else if (a.numCols >= EjmlParameters.MULT_TRANAB_COLUMN_SWITCH) {
             MatrixMatrixMult_DDRM.multTransAB_aux(alpha, a, b, output, null);
         } else {
             MatrixMatrixMult_DDRM.multTransAB(alpha, a, b, output);
@@ -718,7 +737,7 @@ public class CommonOps_DDRM {
                 return mat.get(0);
             }
         } else {
-            LUDecompositionAlt_DDRM alg = new LUDecompositionAlt_DDRM();
+            LUDecomposition_F64<DMatrixRMaj> alg = DecompositionFactory_DDRM.lu(numRow, numCol);
 
             if (alg.inputModified()) {
                 mat = mat.copy();
@@ -759,8 +778,7 @@ public class CommonOps_DDRM {
                 mat.set(0, 1.0/mat.get(0));
             }
         } else {
-            LUDecompositionAlt_DDRM alg = new LUDecompositionAlt_DDRM();
-            LinearSolverLu_DDRM solver = new LinearSolverLu_DDRM(alg);
+            LinearSolverDense<DMatrixRMaj> solver = LinearSolverFactory_DDRM.lu(mat.numCols);
             if (solver.setA(mat)) {
                 solver.invert(mat);
             } else {
@@ -807,8 +825,7 @@ public class CommonOps_DDRM {
                 result.set(0, 1.0/mat.get(0));
             }
         } else {
-            LUDecompositionAlt_DDRM alg = new LUDecompositionAlt_DDRM();
-            LinearSolverLu_DDRM solver = new LinearSolverLu_DDRM(alg);
+            LinearSolverDense<DMatrixRMaj> solver = LinearSolverFactory_DDRM.lu(mat.numCols);
 
             if (solver.modifiesA())
                 mat = mat.copy();
@@ -23,6 +23,8 @@ import org.ejml.data.DMatrix1Row;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.dense.row.misc.TransposeAlgs_MT_DDRM;
 import org.ejml.dense.row.mult.MatrixMatrixMult_MT_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_DDRM;
+import org.ejml.dense.row.mult.MatrixMultPacked_MT_DDRM;
 import org.jetbrains.annotations.Nullable;
 
 import static org.ejml.UtilEjml.reshapeOrDeclare;
@@ -52,7 +54,11 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.mult_reorder(a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.mult(1.0, a, false, b, false, output, false, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.mult_reorder(a, b, output);
+        }
 
         return output;
     }
@@ -75,7 +81,11 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.mult_reorder(alpha, a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numCols, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.mult(alpha, a, false, b, false, output, false, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.mult_reorder(alpha, a, b, output);
+        }
 
         return output;
     }
@@ -97,7 +107,11 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransA_reorder(a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.mult(1.0, a, true, b, false, output, false, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransA_reorder(a, b, output);
+        }
 
         return output;
     }
@@ -120,7 +134,11 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransA_reorder(alpha, a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numCols, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.mult(alpha, a, true, b, false, output, false, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransA_reorder(alpha, a, b, output);
+        }
 
         return output;
     }
@@ -142,7 +160,11 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransB(a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.mult(1.0, a, false, b, true, output, false, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransB(a, b, output);
+        }
 
         return output;
     }
@@ -165,7 +187,11 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransB(alpha, a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numRows, b.numRows, a.numCols)) {
+            MatrixMultPacked_MT_DDRM.mult(alpha, a, false, b, true, output, false, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransB(alpha, a, b, output);
+        }
 
         return output;
     }
@@ -187,7 +213,11 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransAB(a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.mult(1.0, a, true, b, true, output, false, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransAB(a, b, output);
+        }
 
         return output;
     }
@@ -210,7 +240,11 @@ public class CommonOps_MT_DDRM {
         UtilEjml.checkSameInstance(a, output);
         UtilEjml.checkSameInstance(b, output);
 
-        MatrixMatrixMult_MT_DDRM.multTransAB(alpha, a, b, output);
+        if (MatrixMultPacked_DDRM.isPreferred(a.numCols, b.numRows, a.numRows)) {
+            MatrixMultPacked_MT_DDRM.mult(alpha, a, true, b, true, output, false, null, null);
+        } else {
+            MatrixMatrixMult_MT_DDRM.multTransAB(alpha, a, b, output);
+        }
 
         return output;
     }
@@ -192,6 +192,40 @@ public class SingularOps_DDRM {
         return true;
     }
 
+    /**
+     * Computes a truncated SVD which only contains the largest singular values, sorted in descending order.
+     * A randomized algorithm is used, which is much faster than the full SVD when only a few singular values
+     * of a large matrix are needed.
+     *
+     * U*W*V<sup>T</sup> ~ A
+     *
+     * @param A (Input) Matrix being decomposed. Not modified.
+     * @param numSingular Number of singular values which are computed.
+     * @param U (Output) Storage for U. If null then it's ignored.
+     * @param sv (Output) sorted list of singular values.
+     * @param Vt (Output) Storage for transposed V. If null then it's ignored.
+     * @see DecompositionFactory_DDRM#svdTruncated(int, int, int)
+     */
+    public static boolean svdTruncated( DMatrixRMaj A, int numSingular,
+                                        @Nullable DMatrixRMaj U, DGrowArray sv, @Nullable DMatrixRMaj Vt ) {
+        SingularValueDecomposition_F64<DMatrixRMaj> svd = DecompositionFactory_DDRM.svdTruncated(numSingular);
+
+        if (!svd.decompose(A)) {
+            return false;
+        }
+
+        if (U != null)
+            svd.getU(U, false);
+        if (Vt != null)
+            svd.getV(Vt, true);
+
+        int N = svd.numberOfSingularValues();
+        sv.reshape(N);
+        System.arraycopy(svd.getSingularValues(), 0, sv.data, 0, N);
+
+        return true;
+    }
+
     /**
      * <p>
      * Adjusts the matrices so that the singular values are in descending order.
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.decomposition.lu;
+
+import org.ejml.EjmlParameters;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRBlock;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.IGrowArray;
+import org.ejml.dense.block.MatrixOps_DDRB;
+import org.ejml.dense.block.decomposition.lu.LURightLooking_DDRB;
+import org.ejml.interfaces.decomposition.LUDecomposition_F64;
+
+/**
+ * Wrapper around a {@link DMatrixRBlock} LU decomposition, e.g. {@link LURightLooking_DDRB}, that allows
+ * it to process {@link DMatrixRMaj}. The decomposed matrix is converted back into a row-major format
+ * so that it can be used by any of the LU based solvers.
+ *
+ * @author Peter Abeles
+ */
+public class LUDecomposition_DDRB_to_DDRM extends LUDecompositionBase_DDRM {
+
+    protected LUDecomposition_F64<DMatrixRBlock> alg;
+    protected int blockLength;
+
+    protected DGrowArray workspace = new DGrowArray();
+    protected DMatrixRBlock Ablock = new DMatrixRBlock();
+
+    // the pivot vector computed by the block algorithm and its inverse
+    protected IGrowArray blockPivot = new IGrowArray();
+    protected IGrowArray location = new IGrowArray();
+
+    public LUDecomposition_DDRB_to_DDRM( LUDecomposition_F64<DMatrixRBlock> alg, int blockLength ) {
+        this.alg = alg;
+        this.blockLength = blockLength;
+    }
+
+    public LUDecomposition_DDRB_to_DDRM() {
+        this(new LURightLooking_DDRB(), EjmlParameters.BLOCK_WIDTH);
+    }
+
+    @Override
+    public boolean decompose( DMatrixRMaj a ) {
+        decomposeCommonInit(a);
+
+        Ablock.numRows = m;
+        Ablock.numCols = n;
+        Ablock.blockLength = blockLength;
+        Ablock.data = LU.data;
+
+        // the copy of 'a' is converted in-place to reduce memory usage
+        MatrixOps_DDRB.convertRowToBlock(m, n, blockLength, LU.data, workspace);
+        boolean ret = alg.decompose(Ablock);
+        MatrixOps_DDRB.convertBlockToRow(m, n, blockLength, LU.data, workspace);
+
+        int[] p = alg.getRowPivotV(blockPivot);
+        pivotToSwaps(p);
+
+        return ret;
+    }
+
+    /**
+     * Converts the final pivot vector into the sequence of row swaps expected by
+     * {@link #_solveVectorInternal(double[])} and computes the sign of the permutation. When it's done
+     * {@link #pivot} will be identical to 'p'.
+     */
+    private void pivotToSwaps( int[] p ) {
+        // location[i] is the current row of the original row 'i'. Initially pivot is the identity
+        this.location.reshape(m);
+        int[] location = this.location.data;
+        for (int i = 0; i < m; i++) {
+            location[i] = i;
+        }
+
+        for (int i = 0; i < m; i++) {
+            int q = location[p[i]];
+            indx[i] = q;
+            if (q == i)
+                continue;
+
+            int tmp = pivot[i];
+            pivot[i] = pivot[q];
+            pivot[q] = tmp;
+            location[pivot[i]] = i;
+            location[pivot[q]] = q;
+            pivsign = -pivsign;
+        }
+    }
+}
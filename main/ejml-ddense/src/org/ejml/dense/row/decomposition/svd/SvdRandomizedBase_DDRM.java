@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.decomposition.svd;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.Matrix;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.CommonOps_MT_DDRM;
+import org.ejml.dense.row.SingularOps_DDRM;
+import org.ejml.dense.row.decomposition.qr.QRDecompositionHouseholderColumn_DDRM;
+import org.ejml.dense.row.decomposition.qr.QRDecompositionHouseholderColumn_MT_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_MT_DDRM;
+import org.ejml.interfaces.decomposition.QRDecomposition;
+import org.ejml.interfaces.decomposition.SingularValueDecomposition_F64;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Truncated singular value decomposition which only computes the largest singular values, using a randomized
+ * range finder [1]. A is multiplied by a random Gaussian matrix with k + p columns, where k is the number
+ * of singular values and p is the amount of oversampling. An orthonormal basis Q for the product
+ * approximates the range of A. The approximation is refined with power iterations, which multiply by
+ * A*A<sup>T</sup> and reorthogonalize. Finally the SVD of the small matrix Q<sup>T</sup>*A is computed with
+ * a dense decomposition and rotated back.
+ * </p>
+ *
+ * <p>
+ * A is only accessed through multiplications, see {@link #multA} and {@link #multTransA}, so this works
+ * with dense and sparse inputs. Concurrent algorithms are used for the dense multiplications and QR when
+ * the matrices are large enough, see {@link EjmlConcurrency#useConcurrent}.
+ * </p>
+ *
+ * <p>
+ * Accuracy depends on how quickly the singular values decay. Power iterations improve the results when they
+ * decay slowly. Results are returned in descending order.
+ * </p>
+ *
+ * <p>
+ * Internally U, W, and V are always dense. They are copied into the input's matrix type, see {@link #convert},
+ * when they are requested.
+ * </p>
+ *
+ * <p>
+ * [1] Halko, Martinsson, and Tropp. "Finding structure with randomness: Probabilistic algorithms for
+ * constructing approximate matrix decompositions." SIAM review 53.2 (2011)
+ * </p>
+ *
+ * @param <T> Type of input matrix
+ * @author Peter Abeles
+ */
+public abstract class SvdRandomizedBase_DDRM<T extends Matrix> implements SingularValueDecomposition_F64<T> {
+    /** Number of singular values which are requested */
+    protected int numSingular;
+    /** Number of extra columns in the random matrix */
+    protected int oversample;
+    /** Number of power iterations */
+    protected int powerIterations;
+
+    protected Random rand = new Random(0xBEEF);
+
+    // number of singular values found in the most recent decomposition
+    protected int numFound;
+    protected int numRows, numCols;
+
+    // Found singular values and vectors. U and V are not transposed
+    protected double[] singularValues = new double[0];
+    protected DMatrixRMaj U = new DMatrixRMaj(1, 1);
+    protected DMatrixRMaj V = new DMatrixRMaj(1, 1);
+
+    // Random matrix
+    protected DMatrixRMaj Omega = new DMatrixRMaj(1, 1);
+    // Orthonormal basis for the range of A
+    protected DMatrixRMaj Q = new DMatrixRMaj(1, 1);
+    // Orthonormal basis for the range of A^T
+    protected DMatrixRMaj Z = new DMatrixRMaj(1, 1);
+    protected DMatrixRMaj work = new DMatrixRMaj(1, 1);
+
+    protected QRDecomposition<DMatrixRMaj> qr = new QRDecompositionHouseholderColumn_DDRM();
+    protected QRDecomposition<DMatrixRMaj> qrConcurrent = new QRDecompositionHouseholderColumn_MT_DDRM();
+
+    /**
+     * @param numSingular Number of singular values which are computed.
+     * @param oversample Number of extra columns in the random matrix. Larger values improve accuracy. Try 10.
+     * @param powerIterations Number of power iterations. Improves accuracy when singular values decay slowly. Try 2.
+     */
+    protected SvdRandomizedBase_DDRM( int numSingular, int oversample, int powerIterations ) {
+        if (numSingular <= 0)
+            throw new IllegalArgumentException("Number of singular values must be positive");
+        if (oversample < 0 || powerIterations < 0)
+            throw new IllegalArgumentException("Oversample and power iterations can't be negative");
+        this.numSingular = numSingular;
+        this.oversample = oversample;
+        this.powerIterations = powerIterations;
+    }
+
+    /**
+     * Computes output = A*X
+     */
+    protected abstract void multA( T A, DMatrixRMaj X, DMatrixRMaj output );
+
+    /**
+     * Computes output = A<sup>T</sup>*X
+     */
+    protected abstract void multTransA( T A, DMatrixRMaj X, DMatrixRMaj output );
+
+    /**
+     * Copies a dense matrix into the output's matrix type
+     *
+     * @param src (Input) Dense matrix. Not modified.
+     * @param dst (Optional) Storage for the output. If null a new instance is returned. Modified.
+     */
+    protected abstract T convert( DMatrixRMaj src, @Nullable T dst );
+
+    /**
+     * Computes the truncated SVD of A
+     *
+     * @param A (Input) Matrix which is decomposed. Not modified.
+     * @return true if successful
+     */
+    @Override
+    public boolean decompose( T A ) {
+        numRows = A.getNumRows();
+        numCols = A.getNumCols();
+        int minLength = Math.min(numRows, numCols);
+        numFound = Math.min(numSingular, minLength);
+        int numSample = Math.min(numSingular + oversample, minLength);
+
+        if (minLength == 0) {
+            singularValues = new double[0];
+            U.reshape(numRows, 0);
+            V.reshape(numCols, 0);
+            return true;
+        }
+
+        // Find an orthonormal basis for the range of A*Omega
+        Omega.reshape(numCols, numSample);
+        for (int i = 0; i < Omega.data.length; i++) {
+            Omega.data[i] = (double)rand.nextGaussian();
+        }
+        multA(A, Omega, Q);
+        orthonormalize(Q);
+
+        // Power iterations. Reorthogonalize after every multiplication to avoid loss of precision
+        for (int iter = 0; iter < powerIterations; iter++) {
+            multTransA(A, Q, Z);
+            orthonormalize(Z);
+            multA(A, Z, Q);
+            orthonormalize(Q);
+        }
+
+        // Z = A'*Q = (Q'*A)', which is the transpose of the small matrix B that's decomposed
+        multTransA(A, Q, Z);
+
+        // Z = Uz*S*Vz' and A ~ Q*Z' = (Q*Vz)*S*Uz'
+        boolean concurrent = EjmlConcurrency.useConcurrent(Z);
+        SingularValueDecomposition_F64<DMatrixRMaj> svd = concurrent ?
+                DecompositionFactory_MT_DDRM.svd(Z.numRows, Z.numCols, true, true, true) :
+                DecompositionFactory_DDRM.svd(Z.numRows, Z.numCols, true, true, true);
+        if (!svd.decompose(Z))
+            return false;
+
+        DMatrixRMaj Uz = svd.getU(null, false);
+        DMatrixRMaj Vz = svd.getV(null, false);
+        if (concurrent)
+            CommonOps_MT_DDRM.mult(Q, Vz, work);
+        else
+            CommonOps_DDRM.mult(Q, Vz, work);
+
+        double[] found = svd.getSingularValues().clone();
+        SingularOps_DDRM.descendingOrder(work, false, found, numSample, Uz, false);
+
+        // Only keep the requested number of singular values
+        singularValues = new double[numFound];
+        System.arraycopy(found, 0, singularValues, 0, numFound);
+        CommonOps_DDRM.extract(work, 0, numRows, 0, numFound, U);
+        CommonOps_DDRM.extract(Uz, 0, numCols, 0, numFound, V);
+
+        return true;
+    }
+
+    /**
+     * Replaces the columns in M with an orthonormal basis for the space they span
+     */
+    protected void orthonormalize( DMatrixRMaj M ) {
+        QRDecomposition<DMatrixRMaj> qr = EjmlConcurrency.useConcurrent(M) ? qrConcurrent : this.qr;
+        // A rank deficient matrix causes the decomposition to report a failure when it encounters a column
+        // of zeros. The reflector for that column is the identity, so Q is still orthonormal.
+        work.setTo(M);
+        qr.decompose(work);
+        qr.getQ(M, true);
+    }
+
+    /**
+     * Returns the singular values in descending order
+     */
+    @Override
+    public double[] getSingularValues() {
+        return singularValues;
+    }
+
+    /**
+     * Number of singular values found. This is the requested number or the smallest side of the matrix,
+     * whichever is less.
+     */
+    @Override
+    public int numberOfSingularValues() {
+        return numFound;
+    }
+
+    /**
+     * Always true since only the largest singular values are computed
+     */
+    @Override
+    public boolean isCompact() {
+        return true;
+    }
+
+    /**
+     * Returns the left singular vectors. The columns of U correspond to the singular values.
+     *
+     * @param U Optional storage for U. If null a new instance is returned. Modified.
+     * @param transposed If the returned U is transposed.
+     */
+    @Override
+    public T getU( @Nullable T U, boolean transposed ) {
+        return convert(transposed ? CommonOps_DDRM.transpose(this.U, work) : this.U, U);
+    }
+
+    /**
+     * Returns the right singular vectors. The columns of V correspond to the singular values.
+     *
+     * @param V Optional storage for V. If null a new instance is returned. Modified.
+     * @param transposed If the returned V is transposed.
+     */
+    @Override
+    public T getV( @Nullable T V, boolean transposed ) {
+        return convert(transposed ? CommonOps_DDRM.transpose(this.V, work) : this.V, V);
+    }
+
+    /**
+     * Returns a square diagonal matrix with the singular values
+     *
+     * @param W Optional storage for W. If null a new instance is returned. Modified.
+     */
+    @Override
+    public T getW( @Nullable T W ) {
+        work.reshape(numFound, numFound);
+        work.zero();
+        for (int i = 0; i < numFound; i++) {
+            work.unsafe_set(i, i, singularValues[i]);
+        }
+        return convert(work, W);
+    }
+
+    /**
+     * A is only used in multiplications and is never modified
+     */
+    @Override
+    public boolean inputModified() {
+        return false;
+    }
+
+    @Override
+    public int numRows() {
+        return numRows;
+    }
+
+    @Override
+    public int numCols() {
+        return numCols;
+    }
+
+    public int getNumSingular() {
+        return numSingular;
+    }
+
+    public void setNumSingular( int numSingular ) {
+        if (numSingular <= 0)
+            throw new IllegalArgumentException("Number of singular values must be positive");
+        this.numSingular = numSingular;
+    }
+
+    public int getOversample() {
+        return oversample;
+    }
+
+    public int getPowerIterations() {
+        return powerIterations;
+    }
+
+    /**
+     * Changes the seed used to generate the random matrix
+     */
+    public void setSeed( long seed ) {
+        rand = new Random(seed);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.decomposition.svd;
+
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.CommonOps_MT_DDRM;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Randomized truncated SVD for dense matrices. See {@link SvdRandomizedBase_DDRM} for details.
+ *
+ * @author Peter Abeles
+ */
+public class SvdRandomized_DDRM extends SvdRandomizedBase_DDRM<DMatrixRMaj> {
+
+    public SvdRandomized_DDRM( int numSingular, int oversample, int powerIterations ) {
+        super(numSingular, oversample, powerIterations);
+    }
+
+    @Override protected void multA( DMatrixRMaj A, DMatrixRMaj X, DMatrixRMaj output ) {
+        if (EjmlConcurrency.useConcurrent(A))
+            CommonOps_MT_DDRM.mult(A, X, output);
+        else
+            CommonOps_DDRM.mult(A, X, output);
+    }
+
+    @Override protected void multTransA( DMatrixRMaj A, DMatrixRMaj X, DMatrixRMaj output ) {
+        if (EjmlConcurrency.useConcurrent(A))
+            CommonOps_MT_DDRM.multTransA(A, X, output);
+        else
+            CommonOps_DDRM.multTransA(A, X, output);
+    }
+
+    @Override protected DMatrixRMaj convert( DMatrixRMaj src, @Nullable DMatrixRMaj dst ) {
+        dst = UtilEjml.reshapeOrDeclare(dst, src.numRows, src.numCols);
+        dst.setTo(src);
+        return dst;
+    }
+}
@@ -35,9 +35,11 @@ import org.ejml.dense.row.decomposition.eig.WatchedDoubleStepQRDecomposition_DDR
 import org.ejml.dense.row.decomposition.hessenberg.TridiagonalDecompositionHouseholder_DDRM;
 import org.ejml.dense.row.decomposition.hessenberg.TridiagonalDecomposition_DDRB_to_DDRM;
 import org.ejml.dense.row.decomposition.lu.LUDecompositionAlt_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecomposition_DDRB_to_DDRM;
 import org.ejml.dense.row.decomposition.qr.QRColPivDecompositionHouseholderColumn_DDRM;
 import org.ejml.dense.row.decomposition.qr.QRDecompositionHouseholderColumn_DDRM;
 import org.ejml.dense.row.decomposition.svd.SvdImplicitQrDecompose_DDRM;
+import org.ejml.dense.row.decomposition.svd.SvdRandomized_DDRM;
 import org.ejml.interfaces.decomposition.*;
 
 /**
@@ -114,11 +116,15 @@ public class DecompositionFactory_DDRM {
      * @return LUDecomposition
      */
     public static LUDecomposition_F64<DMatrixRMaj> lu( int numRows, int numCol ) {
-        return new LUDecompositionAlt_DDRM();
+        if (Math.min(numRows, numCol) < EjmlParameters.SWITCH_BLOCK64_LU) {
+            return new LUDecompositionAlt_DDRM();
+        } else {
+            return new LUDecomposition_DDRB_to_DDRM();
+        }
     }
 
     public static LUDecomposition_F64<DMatrixRMaj> lu() {
-        return new LUDecompositionAlt_DDRM();
+        return lu(100, 100);
     }
 
     /**
@@ -152,6 +158,36 @@ public class DecompositionFactory_DDRM {
         return svd(100, 100, needU, needV, compact);
     }
 
+    /**
+     * <p>
+     * Returns a truncated {@link SingularValueDecomposition} which only computes the largest singular values
+     * using a randomized algorithm. This is much faster than the full decomposition when only a few singular
+     * values of a large matrix are needed. Singular values are returned in descending order.
+     * </p>
+     *
+     * @param numSingular Number of singular values which are computed.
+     * @param oversample Number of extra random samples. Larger values improve accuracy. If not sure set to 10.
+     * @param powerIterations Number of power iterations. Improves accuracy when singular values decay slowly.
+     * If not sure set to 2.
+     * @return SVD
+     * @see SvdRandomized_DDRM
+     */
+    public static SingularValueDecomposition_F64<DMatrixRMaj> svdTruncated( int numSingular,
+                                                                            int oversample, int powerIterations ) {
+        return new SvdRandomized_DDRM(numSingular, oversample, powerIterations);
+    }
+
+    /**
+     * Returns a truncated {@link SingularValueDecomposition} with the default oversampling and power iterations
+     *
+     * @param numSingular Number of singular values which are computed.
+     * @return SVD
+     * @see #svdTruncated(int, int, int)
+     */
+    public static SingularValueDecomposition_F64<DMatrixRMaj> svdTruncated( int numSingular ) {
+        return svdTruncated(numSingular, 10, 2);
+    }
+
     /**
      * <p>
      * Returns a {@link org.ejml.interfaces.decomposition.QRDecomposition} that has been optimized for the specified matrix size.
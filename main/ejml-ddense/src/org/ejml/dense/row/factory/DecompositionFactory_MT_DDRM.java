@@ -21,6 +21,7 @@ import org.ejml.EjmlParameters;
 import org.ejml.UtilEjml;
 import org.ejml.data.DMatrix;
 import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.block.decomposition.lu.LURightLooking_MT_DDRB;
 import org.ejml.dense.row.decomposition.chol.CholeskyDecompositionBlock_MT_DDRM;
 import org.ejml.dense.row.decomposition.eig.SwitchingEigenDecomposition_DDRM;
 import org.ejml.dense.row.decomposition.eig.SymmetricQRAlgorithmDecomposition_DDRM;
@@ -30,6 +31,8 @@ import org.ejml.dense.row.decomposition.eig.watched.WatchedDoubleStepQREigen_MT_
 import org.ejml.dense.row.decomposition.hessenberg.HessenbergSimilarDecomposition_DDRM;
 import org.ejml.dense.row.decomposition.hessenberg.HessenbergSimilarDecomposition_MT_DDRM;
 import org.ejml.dense.row.decomposition.hessenberg.TridiagonalDecompositionHouseholder_MT_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionAlt_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecomposition_DDRB_to_DDRM;
 import org.ejml.dense.row.decomposition.qr.QRDecompositionHouseholderColumn_MT_DDRM;
 import org.ejml.dense.row.decomposition.svd.SvdImplicitQrDecompose_MT_DDRM;
 import org.ejml.interfaces.decomposition.*;
@@ -70,6 +73,28 @@ public class DecompositionFactory_MT_DDRM {
         return chol(100, lower);
     }
 
+    /**
+     * <p>
+     * Returns a {@link LUDecomposition_F64} that has been optimized for the specified matrix size. Larger
+     * matrices use a concurrent block algorithm.
+     * </p>
+     *
+     * @param numRows Shape of the matrix that the code should be targeted towards. Does not need to be exact.
+     * @param numCols Shape of the matrix that the code should be targeted towards. Does not need to be exact.
+     * @return LUDecomposition
+     */
+    public static LUDecomposition_F64<DMatrixRMaj> lu( int numRows, int numCols ) {
+        if (Math.min(numRows, numCols) < EjmlParameters.SWITCH_BLOCK64_LU) {
+            return new LUDecompositionAlt_DDRM();
+        } else {
+            return new LUDecomposition_DDRB_to_DDRM(new LURightLooking_MT_DDRB(), EjmlParameters.BLOCK_WIDTH);
+        }
+    }
+
+    public static LUDecomposition_F64<DMatrixRMaj> lu() {
+        return lu(100, 100);
+    }
+
     /**
      * <p>
      * Returns a {@link SingularValueDecomposition} that has been optimized for the specified matrix size.
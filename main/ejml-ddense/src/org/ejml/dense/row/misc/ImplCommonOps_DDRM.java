@@ -21,6 +21,8 @@ package org.ejml.dense.row.misc;
 import org.ejml.data.DMatrixD1;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.ElementLocation;
+import org.ejml.dense.row.mult.SimdKernels_DDRM;
+import org.ejml.dense.row.mult.VectorKernels_DDRM;
 import org.jetbrains.annotations.Nullable;
 
 import static org.ejml.UtilEjml.checkSameShape;
@@ -134,6 +136,12 @@ public class ImplCommonOps_DDRM {
 
         int length = A.getNumElements();
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(length);
+        if (simd != null) {
+            simd.elementMult(A.data, 0, B.data, 0, A.data, 0, length);
+            return;
+        }
+
         for (int i = 0; i < length; i++) {
             A.times(i, B.get(i));
         }
@@ -145,6 +153,12 @@ public class ImplCommonOps_DDRM {
 
         int length = A.getNumElements();
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(length);
+        if (simd != null) {
+            simd.elementMult(A.data, 0, B.data, 0, output.data, 0, length);
+            return output;
+        }
+
         for (int i = 0; i < length; i++) {
             output.set(i, A.get(i)*B.get(i));
         }
@@ -157,6 +171,12 @@ public class ImplCommonOps_DDRM {
 
         int length = A.getNumElements();
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(length);
+        if (simd != null) {
+            simd.elementDiv(A.data, 0, B.data, 0, A.data, 0, length);
+            return;
+        }
+
         for (int i = 0; i < length; i++) {
             A.div(i, B.get(i));
         }
@@ -168,6 +188,12 @@ public class ImplCommonOps_DDRM {
 
         int length = A.getNumElements();
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(length);
+        if (simd != null) {
+            simd.elementDiv(A.data, 0, B.data, 0, output.data, 0, length);
+            return output;
+        }
+
         for (int i = 0; i < length; i++) {
             output.set(i, A.get(i)/B.get(i));
         }
@@ -180,6 +206,10 @@ public class ImplCommonOps_DDRM {
 
         int size = mat.getNumElements();
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(size);
+        if (simd != null)
+            return simd.elementSum(mat.data, 0, size);
+
         for (int i = 0; i < size; i++) {
             total += mat.get(i);
         }
@@ -192,6 +222,10 @@ public class ImplCommonOps_DDRM {
 
         int size = mat.getNumElements();
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(size);
+        if (simd != null)
+            return simd.elementSumAbs(mat.data, 0, size);
+
         for (int i = 0; i < size; i++) {
             total += Math.abs(mat.get(i));
         }
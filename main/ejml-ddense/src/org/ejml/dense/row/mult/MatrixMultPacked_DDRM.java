@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlParameters;
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrix1Row;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Matrix multiplication for large matrices which packs blocks of A and B into contiguous arrays, in the same
+ * way as BLIS and GotoBLAS. B is split into blocks with {@link #KC} rows and {@link #NC} columns, and A into
+ * blocks with {@link #MC} rows and {@link #KC} columns. Each block is copied into a packed array where every
+ * element used by the inner most loop is next to each other. A micro-kernel then computes a
+ * {@link #MR} by {@link #NR} block of C, with all of its elements kept in local variables.
+ * Transposed inputs are handled while packing, so all variants use the same kernel.
+ * </p>
+ *
+ * <p>
+ * C = &alpha;*op(A)*op(B) + C, where op(A) is A or A<sup>T</sup>
+ * </p>
+ *
+ * <p>
+ * Packing has an overhead of O(m*k + k*n), so it only pays off for larger matrices.
+ * See {@link #isPreferred}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MatrixMultPacked_DDRM {
+    /** Number of rows in a block of A */
+    public static final int MC = 128;
+    /** Number of columns in a block of A and rows in a block of B */
+    public static final int KC = 256;
+    /** Number of columns in a block of B */
+    public static final int NC = 2048;
+
+    /** Number of rows computed by the micro-kernel */
+    public static final int MR = 4;
+    /** Number of columns computed by the micro-kernel */
+    public static final int NR = 4;
+
+    /**
+     * Computes C = &alpha;*op(A)*op(B) or C = C + &alpha;*op(A)*op(B)
+     *
+     * @param alpha Scaling factor
+     * @param A (Input) Matrix. Not modified.
+     * @param transA If true then A is transposed
+     * @param B (Input) Matrix. Not modified.
+     * @param transB If true then B is transposed
+     * @param C (Output) Matrix. If 'add' is false it's reshaped, otherwise it must be the correct shape.
+     * @param add If true the product is added to C, otherwise C is overwritten
+     * @param workA (Optional) Storage for the packed block of A
+     * @param workB (Optional) Storage for the packed block of B
+     */
+    public static void mult( double alpha, DMatrix1Row A, boolean transA, DMatrix1Row B, boolean transB,
+                             DMatrix1Row C, boolean add,
+                             @Nullable DGrowArray workA, @Nullable DGrowArray workB ) {
+        UtilEjml.assertTrue(A != C && B != C, "Neither 'A' or 'B' can be the same matrix as 'C'");
+
+        final int m = transA ? A.numCols : A.numRows;
+        final int k = transA ? A.numRows : A.numCols;
+        final int kB = transB ? B.numCols : B.numRows;
+        final int n = transB ? B.numRows : B.numCols;
+        UtilEjml.assertShape(k, kB, "The 'A' and 'B' matrices do not have compatible dimensions");
+
+        if (add) {
+            UtilEjml.assertShape(C.numRows == m && C.numCols == n, "C is not the expected shape");
+        } else {
+            C.reshape(m, n);
+            Arrays.fill(C.data, 0, m*n, 0.0);
+        }
+
+        if (m == 0 || n == 0 || k == 0)
+            return;
+
+        double[] packedA = UtilEjml.adjust(workA, roundUp(Math.min(m, MC), MR)*Math.min(k, KC));
+        double[] packedB = UtilEjml.adjust(workB, roundUp(Math.min(n, NC), NR)*Math.min(k, KC));
+
+        for (int jc = 0; jc < n; jc += NC) {
+            int nc = Math.min(NC, n - jc);
+            int panelsB = (nc + NR - 1)/NR;
+            for (int pc = 0; pc < k; pc += KC) {
+                int kc = Math.min(KC, k - pc);
+                packB(B, transB, pc, jc, kc, nc, packedB, 0, panelsB);
+
+                for (int ic = 0; ic < m; ic += MC) {
+                    int mc = Math.min(MC, m - ic);
+                    packA(A, transA, ic, pc, mc, kc, packedA);
+                    macroKernel(alpha, packedA, packedB, mc, nc, kc, C, ic, jc, 0, panelsB);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns true if the packed algorithm should be used for a product with the specified shape
+     *
+     * @param m Number of rows in op(A)
+     * @param n Number of columns in op(B)
+     * @param k Number of columns in op(A)
+     */
+    public static boolean isPreferred( int m, int n, int k ) {
+        int threshold = EjmlParameters.MULT_PACKED_SWITCH;
+        return m >= threshold && n >= threshold && k >= threshold;
+    }
+
+    /**
+     * Rounds up value to the nearest multiple of 'size'
+     */
+    static int roundUp( int value, int size ) {
+        return ((value + size - 1)/size)*size;
+    }
+
+    /**
+     * Copies a block of op(A) into micro-panels with {@link #MR} rows. Inside a micro-panel, the elements for
+     * each column are next to each other. Rows past the end of the matrix are filled with zeros.
+     */
+    static void packA( DMatrix1Row A, boolean transA, int row0, int col0, int mc, int kc, double[] packed ) {
+        final double[] data = A.data;
+        final int stride = A.numCols;
+        int index = 0;
+        for (int ir = 0; ir < mc; ir += MR) {
+            int mr = Math.min(MR, mc - ir);
+            for (int p = 0; p < kc; p++) {
+                int col = col0 + p;
+                int r = 0;
+                if (transA) {
+                    int indexA = col*stride + row0 + ir;
+                    for (; r < mr; r++) {
+                        packed[index++] = data[indexA + r];
+                    }
+                } else {
+                    int indexA = (row0 + ir)*stride + col;
+                    for (; r < mr; r++) {
+                        packed[index++] = data[indexA + r*stride];
+                    }
+                }
+                for (; r < MR; r++) {
+                    packed[index++] = 0.0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies a block of op(B) into micro-panels with {@link #NR} columns. Inside a micro-panel, the elements for
+     * each row are next to each other. Columns past the end of the matrix are filled with zeros. Only
+     * micro-panels from panel0 to panel1-1 are copied.
+     */
+    static void packB( DMatrix1Row B, boolean transB, int row0, int col0, int kc, int nc, double[] packed,
+                       int panel0, int panel1 ) {
+        final double[] data = B.data;
+        final int stride = B.numCols;
+        int index = panel0*NR*kc;
+        for (int jr = panel0*NR; jr < panel1*NR; jr += NR) {
+            int nr = Math.min(NR, nc - jr);
+            for (int p = 0; p < kc; p++) {
+                int row = row0 + p;
+                int c = 0;
+                if (transB) {
+                    int indexB = (col0 + jr)*stride + row;
+                    for (; c < nr; c++) {
+                        packed[index++] = data[indexB + c*stride];
+                    }
+                } else {
+                    int indexB = row*stride + col0 + jr;
+                    for (; c < nr; c++) {
+                        packed[index++] = data[indexB + c];
+                    }
+                }
+                for (; c < NR; c++) {
+                    packed[index++] = 0.0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Multiplies the packed block of A against micro-panels panel0 to panel1-1 in the packed block of B and
+     * adds the results to C
+     */
+    static void macroKernel( double alpha, double[] packedA, double[] packedB, int mc, int nc, int kc,
+                             DMatrix1Row C, int row0, int col0, int panel0, int panel1 ) {
+        for (int jr = panel0*NR; jr < panel1*NR; jr += NR) {
+            int nr = Math.min(NR, nc - jr);
+            int offsetB = jr*kc;
+            for (int ir = 0; ir < mc; ir += MR) {
+                int mr = Math.min(MR, mc - ir);
+                int offsetA = ir*kc;
+                if (mr == MR && nr == NR) {
+                    microKernel(alpha, kc, packedA, offsetA, packedB, offsetB, C, row0 + ir, col0 + jr);
+                } else {
+                    microKernelEdge(alpha, kc, packedA, offsetA, packedB, offsetB, C, row0 + ir, col0 + jr, mr, nr);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes a {@link #MR} by {@link #NR} block of C. All the elements in the block are stored in local
+     * variables so that they can be kept in registers.
+     */
+    static void microKernel( double alpha, int kc, double[] packedA, int indexA, double[] packedB, int indexB,
+                             DMatrix1Row C, int row, int col ) {
+        double c00 = 0, c01 = 0, c02 = 0, c03 = 0;
+        double c10 = 0, c11 = 0, c12 = 0, c13 = 0;
+        double c20 = 0, c21 = 0, c22 = 0, c23 = 0;
+        double c30 = 0, c31 = 0, c32 = 0, c33 = 0;
+
+        for (int p = 0; p < kc; p++, indexA += MR, indexB += NR) {
+            double b0 = packedB[indexB];
+            double b1 = packedB[indexB + 1];
+            double b2 = packedB[indexB + 2];
+            double b3 = packedB[indexB + 3];
+
+            double a = packedA[indexA];
+            c00 += a*b0;
+            c01 += a*b1;
+            c02 += a*b2;
+            c03 += a*b3;
+            a = packedA[indexA + 1];
+            c10 += a*b0;
+            c11 += a*b1;
+            c12 += a*b2;
+            c13 += a*b3;
+            a = packedA[indexA + 2];
+            c20 += a*b0;
+            c21 += a*b1;
+            c22 += a*b2;
+            c23 += a*b3;
+            a = packedA[indexA + 3];
+            c30 += a*b0;
+            c31 += a*b1;
+            c32 += a*b2;
+            c33 += a*b3;
+        }
+
+        final double[] data = C.data;
+        final int stride = C.numCols;
+        int indexC = row*stride + col;
+        data[indexC] += alpha*c00;
+        data[indexC + 1] += alpha*c01;
+        data[indexC + 2] += alpha*c02;
+        data[indexC + 3] += alpha*c03;
+        indexC += stride;
+        data[indexC] += alpha*c10;
+        data[indexC + 1] += alpha*c11;
+        data[indexC + 2] += alpha*c12;
+        data[indexC + 3] += alpha*c13;
+        indexC += stride;
+        data[indexC] += alpha*c20;
+        data[indexC + 1] += alpha*c21;
+        data[indexC + 2] += alpha*c22;
+        data[indexC + 3] += alpha*c23;
+        indexC += stride;
+        data[indexC] += alpha*c30;
+        data[indexC + 1] += alpha*c31;
+        data[indexC + 2] += alpha*c32;
+        data[indexC + 3] += alpha*c33;
+    }
+
+    /**
+     * Handles blocks along the bottom and right side of C which are smaller than the micro-kernel. The packed
+     * arrays are padded with zeros so the full block is computed and only the valid elements are saved.
+     */
+    static void microKernelEdge( double alpha, int kc, double[] packedA, int indexA, double[] packedB, int indexB,
+                                 DMatrix1Row C, int row, int col, int mr, int nr ) {
+        for (int r = 0; r < mr; r++) {
+            int indexC = (row + r)*C.numCols + col;
+            for (int c = 0; c < nr; c++) {
+                double sum = 0;
+                int a = indexA + r;
+                int b = indexB + c;
+                for (int p = 0; p < kc; p++, a += MR, b += NR) {
+                    sum += packedA[a]*packedB[b];
+                }
+                C.data[indexC + c] += alpha*sum;
+            }
+        }
+    }
+}
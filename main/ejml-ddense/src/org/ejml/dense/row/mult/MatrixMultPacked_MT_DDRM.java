@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.mult;
+
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrix1Row;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static org.ejml.dense.row.mult.MatrixMultPacked_DDRM.*;
+
+/**
+ * Concurrent implementation of {@link MatrixMultPacked_DDRM}. The packed block of B is shared by all threads
+ * and its micro-panels are split between the threads, first when packing and then when multiplying against
+ * the packed block of A. Each thread writes to a different set of columns in C.
+ *
+ * @author Peter Abeles
+ */
+public class MatrixMultPacked_MT_DDRM {
+    /**
+     * Computes C = &alpha;*op(A)*op(B) or C = C + &alpha;*op(A)*op(B)
+     *
+     * @see MatrixMultPacked_DDRM#mult
+     */
+    public static void mult( double alpha, DMatrix1Row A, boolean transA, DMatrix1Row B, boolean transB,
+                             DMatrix1Row C, boolean add,
+                             @Nullable DGrowArray workA, @Nullable DGrowArray workB ) {
+        UtilEjml.assertTrue(A != C && B != C, "Neither 'A' or 'B' can be the same matrix as 'C'");
+
+        final int m = transA ? A.numCols : A.numRows;
+        final int k = transA ? A.numRows : A.numCols;
+        final int kB = transB ? B.numCols : B.numRows;
+        final int n = transB ? B.numRows : B.numCols;
+        UtilEjml.assertShape(k, kB, "The 'A' and 'B' matrices do not have compatible dimensions");
+
+        if (add) {
+            UtilEjml.assertShape(C.numRows == m && C.numCols == n, "C is not the expected shape");
+        } else {
+            C.reshape(m, n);
+            Arrays.fill(C.data, 0, m*n, 0.0);
+        }
+
+        if (m == 0 || n == 0 || k == 0)
+            return;
+
+        final double[] packedA = UtilEjml.adjust(workA, roundUp(Math.min(m, MC), MR)*Math.min(k, KC));
+        final double[] packedB = UtilEjml.adjust(workB, roundUp(Math.min(n, NC), NR)*Math.min(k, KC));
+
+        for (int jc = 0; jc < n; jc += NC) {
+            final int col0 = jc;
+            final int nc = Math.min(NC, n - jc);
+            final int panelsB = (nc + NR - 1)/NR;
+            for (int pc = 0; pc < k; pc += KC) {
+                final int row0 = pc;
+                final int kc = Math.min(KC, k - pc);
+                EjmlConcurrency.loopBlocks(0, panelsB, ( panel0, panel1 ) ->
+                        packB(B, transB, row0, col0, kc, nc, packedB, panel0, panel1));
+
+                for (int ic = 0; ic < m; ic += MC) {
+                    final int rowC = ic;
+                    final int mc = Math.min(MC, m - ic);
+                    packA(A, transA, ic, pc, mc, kc, packedA);
+                    EjmlConcurrency.loopBlocks(0, panelsB, ( panel0, panel1 ) ->
+                            macroKernel(alpha, packedA, packedB, mc, nc, kc, C, rowC, col0, panel0, panel1));
+                }
+            }
+        }
+    }
+}
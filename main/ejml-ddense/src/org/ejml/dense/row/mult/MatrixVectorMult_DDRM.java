@@ -77,6 +77,14 @@ public class MatrixVectorMult_DDRM {
             return;
         }
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(A.numCols);
+        if (simd != null) {
+            for (int i = 0; i < A.numRows; i++) {
+                C.set(i, simd.dot(A.data, i*A.numCols, B.data, 0, A.numCols));
+            }
+            return;
+        }
+
         int indexA = 0;
         int cIndex = 0;
         double b0 = B.get(0);
@@ -127,6 +135,14 @@ public class MatrixVectorMult_DDRM {
             return;
         }
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(A.numCols);
+        if (simd != null) {
+            for (int i = 0; i < A.numRows; i++) {
+                C.plus(i, simd.dot(A.data, i*A.numCols, B.data, 0, A.numCols));
+            }
+            return;
+        }
+
         int indexA = 0;
         int cIndex = 0;
         for (int i = 0; i < A.numRows; i++) {
@@ -335,6 +351,15 @@ public class MatrixVectorMult_DDRM {
         int cols = B.numCols;
         double output = 0;
 
+        // Rows of B are contiguous, so a^T*(B*c) can be computed with dot products
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(cols);
+        if (simd != null) {
+            for (int i = 0; i < B.numRows; i++) {
+                output += a[offsetA + i]*simd.dot(B.data, i*cols, c, offsetC, cols);
+            }
+            return output;
+        }
+
         for (int k = 0; k < B.numCols; k++) {
             double sum = 0;
             for (int i = 0; i < B.numRows; i++) {
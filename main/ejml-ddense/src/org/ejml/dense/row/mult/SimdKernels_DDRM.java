@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.mult;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ServiceLoader;
+
+/**
+ * Selects the {@link VectorKernels_DDRM} used by the dense inner loops. When the class is first loaded it searches
+ * the class path for an implementation using {@link ServiceLoader}. If none is found, or it can't be loaded because
+ * the JVM lacks the required modules, the scalar code is used. The search can be disabled by setting the system
+ * property "ejml.simd" to "false".
+ *
+ * <p>
+ * Callers request a kernel using {@link #select(int)}, which returns null when the scalar loop should be used
+ * instead. Short vectors always go to the scalar loop since the vector setup costs more than it saves.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SimdKernels_DDRM {
+    /** Vectors with fewer elements than this are processed by the scalar loops */
+    public static int MIN_LENGTH = 16;
+
+    private static @Nullable VectorKernels_DDRM kernels = load();
+
+    /**
+     * Returns the kernels which should be used to process a vector of the specified length, or null if the
+     * scalar code should be used.
+     */
+    public static @Nullable VectorKernels_DDRM select( int length ) {
+        return length >= MIN_LENGTH ? kernels : null;
+    }
+
+    /**
+     * Returns the current kernels, or null if there are none.
+     */
+    public static @Nullable VectorKernels_DDRM get() {
+        return kernels;
+    }
+
+    /**
+     * Overrides the kernels found at class load time. Pass in null to force the scalar code to be used.
+     */
+    public static void set( @Nullable VectorKernels_DDRM kernels ) {
+        SimdKernels_DDRM.kernels = kernels;
+    }
+
+    /**
+     * Returns true if a vectorized implementation is being used
+     */
+    public static boolean isAvailable() {
+        return kernels != null;
+    }
+
+    /**
+     * Searches the class path for the first implementation which can be instantiated
+     */
+    static @Nullable VectorKernels_DDRM load() {
+        if ("false".equalsIgnoreCase(System.getProperty("ejml.simd")))
+            return null;
+
+        try {
+            for (VectorKernels_DDRM k : ServiceLoader.load(VectorKernels_DDRM.class, SimdKernels_DDRM.class.getClassLoader())) {
+                return k;
+            }
+        } catch (Throwable ignore) {
+            // ServiceConfigurationError or a LinkageError if the vector module isn't part of the JVM
+        }
+        return null;
+    }
+}
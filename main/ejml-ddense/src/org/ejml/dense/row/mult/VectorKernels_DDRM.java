@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.mult;
+
+/**
+ * Low level kernels which operate on contiguous runs of a double array. The inner loops of
+ * {@link VectorVectorMult_DDRM}, {@link MatrixVectorMult_DDRM}, {@link org.ejml.dense.row.misc.ImplCommonOps_DDRM}
+ * and {@link org.ejml.dense.block.InnerMultiplication_DDRB} delegate to an implementation of this interface when one
+ * has been registered with {@link SimdKernels_DDRM}. Implementations are discovered at runtime using
+ * {@link java.util.ServiceLoader} so that a vectorized backend, e.g. ejml-simd, can be added by just placing it on
+ * the class path.
+ *
+ * <p>
+ * Each function must produce the same result as the scalar loop it replaces, up to floating point round off
+ * caused by a different order of summation. Bounds are not checked.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface VectorKernels_DDRM {
+    /**
+     * Returns the inner product: sum<sub>i</sub> a[offsetA+i]*b[offsetB+i]
+     */
+    double dot( double[] a, int offsetA, double[] b, int offsetB, int length );
+
+    /**
+     * c[offsetC+i] = a[offsetA+i] + beta*b[offsetB+i]. The output can be the same array and offset as 'a', which
+     * turns this into an in-place axpy.
+     */
+    void addScaled( double[] a, int offsetA, double beta, double[] b, int offsetB,
+                    double[] c, int offsetC, int length );
+
+    /**
+     * c[offsetC+i] = alpha*a[offsetA+i]
+     */
+    void scale( double alpha, double[] a, int offsetA, double[] c, int offsetC, int length );
+
+    /**
+     * c[offsetC+i] = a[offsetA+i]*b[offsetB+i]
+     */
+    void elementMult( double[] a, int offsetA, double[] b, int offsetB, double[] c, int offsetC, int length );
+
+    /**
+     * c[offsetC+i] = a[offsetA+i]/b[offsetB+i]
+     */
+    void elementDiv( double[] a, int offsetA, double[] b, int offsetB, double[] c, int offsetC, int length );
+
+    /**
+     * Returns sum<sub>i</sub> a[offset+i]
+     */
+    double elementSum( double[] a, int offset, int length );
+
+    /**
+     * Returns sum<sub>i</sub> |a[offset+i]|
+     */
+    double elementSumAbs( double[] a, int offset, int length );
+}
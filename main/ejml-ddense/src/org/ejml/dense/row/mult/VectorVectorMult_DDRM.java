@@ -49,6 +49,10 @@ public class VectorVectorMult_DDRM {
     public static double innerProd( DMatrixD1 x, DMatrixD1 y ) {
         int m = x.getNumElements();
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(m);
+        if (simd != null)
+            return simd.dot(x.data, 0, y.data, 0, m);
+
         double total = 0;
         for (int i = 0; i < m; i++) {
             total += x.get(i)*y.get(i);
@@ -153,6 +157,14 @@ public class VectorVectorMult_DDRM {
         int m = A.numRows;
         int n = A.numCols;
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(n);
+        if (simd != null) {
+            for (int i = 0; i < m; i++) {
+                simd.scale(x.get(i), y.data, 0, A.data, i*n, n);
+            }
+            return;
+        }
+
         int index = 0;
         for (int i = 0; i < m; i++) {
             double xdat = x.get(i);
@@ -188,6 +200,14 @@ public class VectorVectorMult_DDRM {
         int m = A.numRows;
         int n = A.numCols;
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(n);
+        if (simd != null) {
+            for (int i = 0; i < m; i++) {
+                simd.addScaled(A.data, i*n, gamma*x.get(i), y.data, 0, A.data, i*n, n);
+            }
+            return;
+        }
+
         int index = 0;
         if (gamma == 1.0) {
             for (int i = 0; i < m; i++) {
@@ -225,6 +245,13 @@ public class VectorVectorMult_DDRM {
                                     DMatrixD1 x, DMatrixD1 y ) {
         int n = u.getNumElements();
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(n);
+        if (simd != null) {
+            double sum = simd.dot(u.data, 0, x.data, 0, n);
+            simd.addScaled(x.data, 0, gamma*sum, u.data, 0, y.data, 0, n);
+            return;
+        }
+
         double sum = 0;
         for (int i = 0; i < n; i++) {
             sum += u.get(i)*x.get(i);
@@ -257,6 +284,14 @@ public class VectorVectorMult_DDRM {
                                     DMatrixRMaj B ) {
         int n = u.getNumElements();
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(n);
+        if (simd != null) {
+            for (int i = 0; i < n; i++) {
+                simd.addScaled(A.data, i*n, gamma*u.data[i], w.data, 0, B.data, i*n, n);
+            }
+            return;
+        }
+
         int matrixIndex = 0;
         for (int i = 0; i < n; i++) {
             double elementU = u.data[i];
@@ -287,6 +322,14 @@ public class VectorVectorMult_DDRM {
                                     DMatrixRMaj w ) {
         int n = u.getNumElements();
 
+        VectorKernels_DDRM simd = SimdKernels_DDRM.select(n);
+        if (simd != null) {
+            for (int i = 0; i < n; i++) {
+                simd.addScaled(A.data, i*n, gamma*u.data[i], w.data, 0, A.data, i*n, n);
+            }
+            return;
+        }
+
         int matrixIndex = 0;
         for (int i = 0; i < n; i++) {
             double elementU = u.data[i];
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.block.decomposition.lu;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRBlock;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.block.MatrixOps_DDRB;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.decomposition.lu.LUDecompositionAlt_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestLURightLooking_DDRB extends EjmlStandardJUnit {
+    // size of a block
+    int bl = 5;
+
+    /**
+     * Decomposes matrices of different shapes and sizes relative to the block size and sees if the original
+     * matrix can be reconstructed
+     */
+    @Test void reconstruct() {
+        for (int numRows = 1; numRows <= 3*bl + 1; numRows += 2) {
+            for (int numCols = 1; numCols <= 3*bl + 1; numCols += 2) {
+                DMatrixRMaj A = RandomMatrices_DDRM.rectangle(numRows, numCols, -1, 1, rand);
+                DMatrixRBlock Ab = MatrixOps_DDRB.convert(A, bl);
+
+                var alg = new LURightLooking_DDRB();
+                assertTrue(alg.decompose(Ab));
+                assertFalse(alg.isSingular());
+
+                DMatrixRMaj L = toRow(alg.getLower(null));
+                DMatrixRMaj U = toRow(alg.getUpper(null));
+                DMatrixRMaj P = toRow(alg.getRowPivot(null));
+
+                DMatrixRMaj LU = CommonOps_DDRM.mult(L, U, null);
+                DMatrixRMaj found = CommonOps_DDRM.multTransA(P, LU, null);
+
+                assertTrue(MatrixFeatures_DDRM.isIdentical(A, found, UtilEjml.TEST_F64));
+            }
+        }
+    }
+
+    /**
+     * The same pivots should be selected as the row major algorithm
+     */
+    @Test void compareToAlt() {
+        for (int N = 1; N <= 3*bl + 1; N++) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, N, -1, 1, rand);
+            DMatrixRBlock Ab = MatrixOps_DDRB.convert(A, bl);
+
+            var expected = new LUDecompositionAlt_DDRM();
+            var found = new LURightLooking_DDRB();
+
+            assertTrue(expected.decompose(A));
+            assertTrue(found.decompose(Ab));
+
+            DMatrixRMaj LU = toRow(Ab);
+            assertTrue(MatrixFeatures_DDRM.isIdentical(expected.getLU(), LU, UtilEjml.TEST_F64));
+            assertArrayEquals(expected.getRowPivotV(null), found.getRowPivotV(null));
+            assertEquals(expected.computeDeterminant().real, found.computeDeterminant().real, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void singular() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(2*bl + 2, 2*bl + 2, -1, 1, rand);
+        // make one column a copy of another
+        for (int i = 0; i < A.numRows; i++) {
+            A.set(i, bl + 1, A.get(i, 1));
+        }
+
+        var alg = new LURightLooking_DDRB();
+        assertTrue(alg.decompose(MatrixOps_DDRB.convert(A, bl)));
+        assertTrue(alg.isSingular());
+        assertEquals(0.0, alg.computeDeterminant().real, UtilEjml.TEST_F64);
+    }
+
+    @Test void swapRows() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(2*bl + 2, 3*bl - 1, -1, 1, rand);
+        DMatrixRBlock Ab = MatrixOps_DDRB.convert(A, bl);
+
+        var alg = new LURightLooking_DDRB();
+        alg.decompose(Ab);
+        // restore the original matrix, which is still referenced internally
+        MatrixOps_DDRB.convert(A, Ab);
+
+        alg.swapRows(1, 2*bl + 1);
+
+        for (int col = 0; col < A.numCols; col++) {
+            assertEquals(A.get(1, col), Ab.get(2*bl + 1, col));
+            assertEquals(A.get(2*bl + 1, col), Ab.get(1, col));
+            assertEquals(A.get(3, col), Ab.get(3, col));
+        }
+    }
+
+    private static DMatrixRMaj toRow( DMatrixRBlock A ) {
+        return MatrixOps_DDRB.convert(A, new DMatrixRMaj(A.numRows, A.numCols));
+    }
+}
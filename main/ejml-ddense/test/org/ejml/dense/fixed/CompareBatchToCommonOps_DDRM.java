@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.fixed;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.MatrixDimensionException;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixBatch;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.interfaces.decomposition.CholeskyDecomposition_F64;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the results of batch operations against applying the equivalent function in {@link CommonOps_DDRM}
+ * to each matrix individually.
+ *
+ * @author Peter Abeles
+ */
+public abstract class CompareBatchToCommonOps_DDRM extends EjmlStandardJUnit {
+    Class<?> classBatch;
+    int N;
+
+    // number of matrices in the batch. Large enough to be split into multiple blocks by concurrent code
+    int size = 1203;
+
+    protected CompareBatchToCommonOps_DDRM( Class<?> classBatch ) {
+        this.classBatch = classBatch;
+
+        String name = classBatch.getName();
+        N = Integer.parseInt(name.charAt(name.length() - 1) + "");
+    }
+
+    @Test void mult() {
+        DMatrixBatch a = randomMatrices();
+        DMatrixBatch b = randomMatrices();
+        DMatrixBatch c = new DMatrixBatch(1, 1, 1);
+
+        call("mult", a, b, c);
+
+        for (int k = 0; k < size; k++) {
+            DMatrixRMaj expected = CommonOps_DDRM.mult(matrix(a, k), matrix(b, k), null);
+            assertMatrix(expected, c, k);
+        }
+
+        // output is the same as an input
+        DMatrixBatch expected = c.copy();
+        call("mult", a, b, a);
+        assertBatch(expected, a);
+    }
+
+    @Test void multVector() {
+        DMatrixBatch a = randomMatrices();
+        DMatrixBatch x = randomVectors();
+        DMatrixBatch y = new DMatrixBatch(2, 2, 2);
+
+        call("multVector", a, x, y);
+
+        for (int k = 0; k < size; k++) {
+            DMatrixRMaj expected = CommonOps_DDRM.mult(matrix(a, k), matrix(x, k), null);
+            assertMatrix(expected, y, k);
+        }
+    }
+
+    @Test void invert() {
+        if (N > UtilEjml.maxInverseSize)
+            return;
+
+        DMatrixBatch a = randomMatrices();
+        DMatrixBatch inv = new DMatrixBatch();
+
+        assertTrue((Boolean)call("invert", a, inv));
+
+        for (int k = 0; k < size; k++) {
+            DMatrixRMaj expected = matrix(a, k);
+            CommonOps_DDRM.invert(expected);
+            assertMatrix(expected, inv, k);
+        }
+
+        // a matrix of zeros should cause it to fail
+        for (int row = 0; row < N; row++) {
+            for (int col = 0; col < N; col++) {
+                a.set(size/2, row, col, 0.0);
+            }
+        }
+        assertFalse((Boolean)call("invert", a, inv));
+    }
+
+    @Test void solve() {
+        if (N > UtilEjml.maxInverseSize)
+            return;
+
+        DMatrixBatch a = randomMatrices();
+        DMatrixBatch b = randomVectors();
+        DMatrixBatch x = new DMatrixBatch();
+
+        assertTrue((Boolean)call("solve", a, b, x));
+
+        for (int k = 0; k < size; k++) {
+            var expected = new DMatrixRMaj(N, 1);
+            assertTrue(CommonOps_DDRM.solve(matrix(a, k), matrix(b, k), expected));
+            assertMatrix(expected, x, k);
+        }
+
+        // output is the same as the input
+        DMatrixBatch expected = x.copy();
+        assertTrue((Boolean)call("solve", a, b, b));
+        assertBatch(expected, b);
+    }
+
+    @Test void det() {
+        if (N > UtilEjml.maxInverseSize)
+            return;
+
+        DMatrixBatch a = randomMatrices();
+
+        // the array is too small and should be replaced
+        double[] found = (double[])call("det", a, new double[2]);
+        assertEquals(size, found.length);
+
+        for (int k = 0; k < size; k++) {
+            double expected = CommonOps_DDRM.det(matrix(a, k));
+            assertEquals(expected, found[k], UtilEjml.TEST_F64*Math.max(1.0, Math.abs(expected)));
+        }
+    }
+
+    @Test void cholL() {
+        DMatrixBatch a = randomSPD();
+        DMatrixBatch L = a.copy();
+
+        assertTrue((Boolean)call("cholL", L));
+
+        CholeskyDecomposition_F64<DMatrixRMaj> chol = DecompositionFactory_DDRM.chol(N, true);
+        for (int k = 0; k < size; k++) {
+            assertTrue(chol.decompose(matrix(a, k)));
+            assertMatrix(chol.getT(null), L, k);
+        }
+
+        // not positive definite
+        a.set(size - 1, N - 1, N - 1, -1.0);
+        assertFalse((Boolean)call("cholL", a));
+    }
+
+    @Test void solveChol() {
+        DMatrixBatch a = randomSPD();
+        DMatrixBatch b = randomVectors();
+        DMatrixBatch x = new DMatrixBatch();
+
+        DMatrixBatch L = a.copy();
+        assertTrue((Boolean)call("cholL", L));
+        call("solveChol", L, b, x);
+
+        for (int k = 0; k < size; k++) {
+            var expected = new DMatrixRMaj(N, 1);
+            assertTrue(CommonOps_DDRM.solveSPD(matrix(a, k), matrix(b, k), expected));
+            assertMatrix(expected, x, k);
+        }
+    }
+
+    @Test void badShape() {
+        DMatrixBatch a = randomMatrices();
+        DMatrixBatch b = new DMatrixBatch(N + 1, N, size);
+        DMatrixBatch c = new DMatrixBatch(N, N, size + 1);
+        DMatrixBatch x = new DMatrixBatch(N, 2, size);
+
+        assertThrows(MatrixDimensionException.class, () -> call("mult", a, b, new DMatrixBatch()));
+        assertThrows(MatrixDimensionException.class, () -> call("mult", a, c, new DMatrixBatch()));
+        assertThrows(MatrixDimensionException.class, () -> call("multVector", a, x, new DMatrixBatch()));
+        assertThrows(MatrixDimensionException.class, () -> call("cholL", b));
+    }
+
+    DMatrixBatch randomMatrices() {
+        var batch = new DMatrixBatch(N, N, size);
+        for (int i = 0; i < batch.data.length; i++) {
+            batch.data[i] = rand.nextDouble()*2.0 - 1.0;
+        }
+        return batch;
+    }
+
+    DMatrixBatch randomVectors() {
+        var batch = new DMatrixBatch(N, 1, size);
+        for (int i = 0; i < batch.data.length; i++) {
+            batch.data[i] = rand.nextDouble()*2.0 - 1.0;
+        }
+        return batch;
+    }
+
+    DMatrixBatch randomSPD() {
+        var batch = new DMatrixBatch(N, N, size);
+        for (int k = 0; k < size; k++) {
+            batch.setMatrix(k, RandomMatrices_DDRM.symmetricPosDef(N, rand));
+        }
+        return batch;
+    }
+
+    static DMatrixRMaj matrix( DMatrixBatch batch, int index ) {
+        return batch.getMatrix(index, new DMatrixRMaj(batch.numRows, batch.numCols));
+    }
+
+    static void assertMatrix( DMatrixRMaj expected, DMatrixBatch found, int index ) {
+        assertEquals(expected.numRows, found.numRows);
+        assertEquals(expected.numCols, found.numCols);
+        for (int row = 0; row < expected.numRows; row++) {
+            for (int col = 0; col < expected.numCols; col++) {
+                double e = expected.get(row, col);
+                assertEquals(e, found.get(index, row, col), UtilEjml.TEST_F64*Math.max(1.0, Math.abs(e)));
+            }
+        }
+    }
+
+    static void assertBatch( DMatrixBatch expected, DMatrixBatch found ) {
+        assertEquals(expected.size, found.size);
+        for (int i = 0; i < expected.getNumElements()*expected.size; i++) {
+            assertEquals(expected.data[i], found.data[i], UtilEjml.TEST_F64);
+        }
+    }
+
+    /**
+     * Invokes the function in the batch class which processes the entire batch
+     */
+    Object call( String name, Object... args ) {
+        for (Method m : classBatch.getMethods()) {
+            if (!m.getName().equals(name) || m.getParameterCount() != args.length)
+                continue;
+            try {
+                return m.invoke(null, args);
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException)e.getCause();
+                throw new RuntimeException(e);
+            }
+        }
+        throw new RuntimeException("Function not found " + name);
+    }
+}
@@ -95,6 +95,27 @@ public class TestSingularOps_DDRM extends EjmlStandardJUnit {
         }
     }
 
+    @Test void svdTruncated() {
+        DMatrixRMaj A = RandomMatrices_DDRM.singular(30, 20, rand, 9, 7, 5, 3, 1, 0.5, 0.1);
+        DMatrixRMaj A_orig = A.copy();
+
+        DMatrixRMaj U = new DMatrixRMaj(1, 1);
+        DGrowArray sv = new DGrowArray();
+        DMatrixRMaj Vt = new DMatrixRMaj(1, 1);
+
+        assertTrue(SingularOps_DDRM.svdTruncated(A, 3, U, sv, Vt));
+        assertTrue(MatrixFeatures_DDRM.isIdentical(A_orig, A, 0));
+
+        assertEquals(3, sv.length);
+        assertEquals(9, sv.data[0], UtilEjml.TEST_F64);
+        assertEquals(7, sv.data[1], UtilEjml.TEST_F64);
+        assertEquals(5, sv.data[2], UtilEjml.TEST_F64);
+        assertEquals(30, U.numRows);
+        assertEquals(3, U.numCols);
+        assertEquals(3, Vt.numRows);
+        assertEquals(20, Vt.numCols);
+    }
+
     @Test void descendingOrder() {
         // test different shapes of input matrices
         testDescendingOrder(3, 4, false, false);
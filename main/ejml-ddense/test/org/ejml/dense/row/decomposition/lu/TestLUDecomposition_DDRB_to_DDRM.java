@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.decomposition.lu;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.block.decomposition.lu.LURightLooking_DDRB;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.linsol.lu.LinearSolverLu_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLUDecomposition_DDRB_to_DDRM extends GeneralLuDecompositionChecks_DDRM {
+    // use a small block so that the matrices in the tests span multiple blocks
+    int blockLength = 3;
+
+    @Override
+    public LUDecompositionBase_DDRM create( int numRows, int numCols ) {
+        return new LUDecomposition_DDRB_to_DDRM(new LURightLooking_DDRB(), blockLength);
+    }
+
+    /**
+     * The pivots and the decomposed matrix should be the same as the unblocked algorithm since the same pivots
+     * are selected
+     */
+    @Test void compareToAlt() {
+        for (int numRows = 1; numRows <= 14; numRows++) {
+            for (int numCols = 1; numCols <= 14; numCols++) {
+                DMatrixRMaj A = RandomMatrices_DDRM.rectangle(numRows, numCols, -1, 1, rand);
+
+                LUDecompositionBase_DDRM expected = new LUDecompositionAlt_DDRM();
+                LUDecompositionBase_DDRM found = create(numRows, numCols);
+
+                assertTrue(expected.decompose(A));
+                assertTrue(found.decompose(A));
+
+                assertTrue(MatrixFeatures_DDRM.isIdentical(expected.getLU(), found.getLU(), UtilEjml.TEST_F64));
+                for (int i = 0; i < numRows; i++) {
+                    assertEquals(expected.getPivot()[i], found.getPivot()[i]);
+                }
+                if (numRows == numCols)
+                    assertEquals(expected.computeDeterminant().real, found.computeDeterminant().real, UtilEjml.TEST_F64);
+            }
+        }
+    }
+
+    /**
+     * The row swaps are reconstructed from the pivot vector. See if they are used correctly by the solver
+     */
+    @Test void solve() {
+        for (int N = 1; N <= 16; N++) {
+            DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, N, -1, 1, rand);
+            DMatrixRMaj X = RandomMatrices_DDRM.rectangle(N, 2, -1, 1, rand);
+            DMatrixRMaj B = new DMatrixRMaj(N, 2);
+            CommonOps_DDRM.mult(A, X, B);
+
+            var solver = new LinearSolverLu_DDRM(create(N, N));
+            assertTrue(solver.setA(A));
+            DMatrixRMaj found = new DMatrixRMaj(N, 2);
+            solver.solve(B, found);
+
+            assertTrue(MatrixFeatures_DDRM.isIdentical(X, found, UtilEjml.TEST_F64_SQ));
+        }
+    }
+}
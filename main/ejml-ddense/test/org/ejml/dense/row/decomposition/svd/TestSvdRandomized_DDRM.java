@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.decomposition.svd;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSvdRandomized_DDRM extends EjmlStandardJUnit {
+    /**
+     * When the rank is less than the number of samples the decomposition is exact
+     */
+    @Test void exactLowRank() {
+        for (int[] shape : new int[][]{{40, 30}, {30, 40}, {35, 35}}) {
+            DMatrixRMaj A = RandomMatrices_DDRM.singular(shape[0], shape[1], rand, 5, 4, 3, 2, 1);
+            DMatrixRMaj A_orig = A.copy();
+
+            var alg = new SvdRandomized_DDRM(5, 5, 0);
+            assertTrue(alg.decompose(A));
+            EjmlUnitTests.assertEquals(A_orig, A, 0.0);
+
+            assertEquals(5, alg.numberOfSingularValues());
+            double[] sv = alg.getSingularValues();
+            for (int i = 0; i < 5; i++) {
+                assertEquals(5 - i, sv[i], UtilEjml.TEST_F64);
+            }
+            checkReconstruction(A, alg, UtilEjml.TEST_F64);
+        }
+    }
+
+    /**
+     * Compare the largest singular values against the full decomposition for a matrix with decaying
+     * singular values
+     */
+    @Test void compareToFullSvd() {
+        int N = 60;
+        double[] expected = new double[N];
+        for (int i = 0; i < N; i++) {
+            expected[i] = Math.pow(0.7, i);
+        }
+        DMatrixRMaj A = RandomMatrices_DDRM.singular(80, N, rand, expected);
+
+        var alg = new SvdRandomized_DDRM(6, 10, 2);
+        assertTrue(alg.decompose(A));
+        assertEquals(6, alg.numberOfSingularValues());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(expected[i], alg.getSingularValues()[i], 1e-6);
+        }
+
+        checkOrthonormal(alg);
+    }
+
+    /**
+     * More singular values are requested than the size of the matrix
+     */
+    @Test void requestMoreThanSize() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(7, 4, rand);
+        var alg = new SvdRandomized_DDRM(10, 10, 1);
+        assertTrue(alg.decompose(A));
+        assertEquals(4, alg.numberOfSingularValues());
+        checkReconstruction(A, alg, UtilEjml.TEST_F64);
+    }
+
+    @Test void descendingOrder() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(30, 20, rand);
+        var alg = new SvdRandomized_DDRM(8, 10, 2);
+        assertTrue(alg.decompose(A));
+        double[] sv = alg.getSingularValues();
+        for (int i = 1; i < alg.numberOfSingularValues(); i++) {
+            assertTrue(sv[i - 1] >= sv[i]);
+        }
+    }
+
+    @Test void allZeros() {
+        var A = new DMatrixRMaj(20, 15);
+        var alg = new SvdRandomized_DDRM(3, 5, 1);
+        assertTrue(alg.decompose(A));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0.0, alg.getSingularValues()[i], UtilEjml.TEST_F64);
+        }
+        checkOrthonormal(alg);
+    }
+
+    /**
+     * Results from the previous decomposition must not be returned after decomposing an empty matrix
+     */
+    @Test void emptyAfterNonEmpty() {
+        var alg = new SvdRandomized_DDRM(3, 2, 1);
+        assertTrue(alg.decompose(RandomMatrices_DDRM.rectangle(10, 8, rand)));
+        assertTrue(alg.decompose(new DMatrixRMaj(0, 5)));
+
+        assertEquals(0, alg.numberOfSingularValues());
+        assertEquals(0, alg.getSingularValues().length);
+        assertEquals(0, alg.getW(null).getNumElements());
+    }
+
+    /**
+     * The concurrent code path should produce the same results
+     */
+    @Test void concurrent() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(50, 40, rand);
+        int threshold = EjmlConcurrency.ELEMENT_THRESHOLD;
+        try {
+            var expected = new SvdRandomized_DDRM(5, 5, 2);
+            assertTrue(expected.decompose(A));
+
+            EjmlConcurrency.ELEMENT_THRESHOLD = 0;
+            var found = new SvdRandomized_DDRM(5, 5, 2);
+            assertTrue(found.decompose(A));
+
+            for (int i = 0; i < 5; i++) {
+                assertEquals(expected.getSingularValues()[i], found.getSingularValues()[i], UtilEjml.TEST_F64);
+            }
+        } finally {
+            EjmlConcurrency.ELEMENT_THRESHOLD = threshold;
+        }
+    }
+
+    @Test void getU_getV_transposed() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(12, 9, rand);
+        var alg = new SvdRandomized_DDRM(3, 2, 1);
+        assertTrue(alg.decompose(A));
+
+        DMatrixRMaj U = alg.getU(null, false);
+        DMatrixRMaj Ut = alg.getU(null, true);
+        DMatrixRMaj V = alg.getV(null, false);
+        DMatrixRMaj Vt = alg.getV(null, true);
+        assertEquals(12, U.numRows);
+        assertEquals(3, U.numCols);
+        assertEquals(9, V.numRows);
+        assertEquals(3, V.numCols);
+        EjmlUnitTests.assertEquals(U, CommonOps_DDRM.transpose(Ut, null), 0.0);
+        EjmlUnitTests.assertEquals(V, CommonOps_DDRM.transpose(Vt, null), 0.0);
+    }
+
+    public static void checkReconstruction( DMatrixRMaj A, SvdRandomized_DDRM alg, double tol ) {
+        DMatrixRMaj U = alg.getU(null, false);
+        DMatrixRMaj W = alg.getW(null);
+        DMatrixRMaj Vt = alg.getV(null, true);
+
+        DMatrixRMaj found = new DMatrixRMaj(1, 1);
+        CommonOps_DDRM.mult(U, W, found);
+        DMatrixRMaj tmp = found.copy();
+        CommonOps_DDRM.mult(tmp, Vt, found);
+        assertTrue(MatrixFeatures_DDRM.isIdentical(A, found, tol));
+
+        // the same quality metric used for other SVD implementations
+        assertTrue(DecompositionFactory_DDRM.quality(A, alg) < tol);
+    }
+
+    public static void checkOrthonormal( SvdRandomized_DDRM alg ) {
+        DMatrixRMaj U = alg.getU(null, false);
+        DMatrixRMaj V = alg.getV(null, false);
+        assertTrue(MatrixFeatures_DDRM.isIdentity(CommonOps_DDRM.multTransA(U, U, null), UtilEjml.TEST_F64));
+        assertTrue(MatrixFeatures_DDRM.isIdentity(CommonOps_DDRM.multTransA(V, V, null), UtilEjml.TEST_F64));
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.ejml.dense.row.factory;
 
+import org.ejml.EjmlParameters;
 import org.ejml.EjmlStandardJUnit;
 import org.ejml.LinearSolverSafe;
 import org.ejml.UtilEjml;
@@ -56,6 +57,20 @@ public class TestLinearSolverFactory_DDRM extends EjmlStandardJUnit {
         standardTest(A, x, y, solver);
     }
 
+    /**
+     * Large enough to use the block LU
+     */
+    @Test void linear_block() {
+        int N = EjmlParameters.SWITCH_BLOCK64_LU + 7;
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N,N,rand);
+        DMatrixRMaj x = RandomMatrices_DDRM.rectangle(N,1,rand);
+        DMatrixRMaj y = new DMatrixRMaj(N,1);
+
+        LinearSolverDense<DMatrixRMaj> solver = LinearSolverFactory_DDRM.linear(A.numRows);
+
+        standardTest(A, x, y, solver);
+    }
+
     @Test void leastSquares() {
         DMatrixRMaj A = RandomMatrices_DDRM.rectangle(5,4,rand);
         DMatrixRMaj x = RandomMatrices_DDRM.rectangle(4,1,rand);
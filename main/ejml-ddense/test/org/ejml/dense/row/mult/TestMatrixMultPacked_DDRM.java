@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.MatrixDimensionException;
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.ejml.dense.row.mult.MatrixMultPacked_DDRM.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMatrixMultPacked_DDRM extends EjmlStandardJUnit {
+    /**
+     * Shapes which are smaller than the micro-kernel, not a multiple of its size, and larger than a block
+     */
+    public static final int[][] SHAPES = new int[][]{
+            {1, 1, 1}, {3, 2, 5}, {MR, NR, 7}, {MR + 1, NR + 3, 10}, {MC + 3, 9, KC + 5}, {11, NC + 5, 3}, {30, 40, 20}};
+
+    @Test void mult() {
+        var workA = new DGrowArray();
+        var workB = new DGrowArray();
+        for (boolean transA : new boolean[]{false, true}) {
+            for (boolean transB : new boolean[]{false, true}) {
+                for (boolean add : new boolean[]{false, true}) {
+                    for (int[] shape : SHAPES) {
+                        check(shape[0], shape[1], shape[2], transA, transB, add, workA, workB);
+                    }
+                }
+            }
+        }
+    }
+
+    private void check( int m, int n, int k, boolean transA, boolean transB, boolean add,
+                        DGrowArray workA, DGrowArray workB ) {
+        DMatrixRMaj A = transA ? RandomMatrices_DDRM.rectangle(k, m, rand) : RandomMatrices_DDRM.rectangle(m, k, rand);
+        DMatrixRMaj B = transB ? RandomMatrices_DDRM.rectangle(n, k, rand) : RandomMatrices_DDRM.rectangle(k, n, rand);
+        DMatrixRMaj C = RandomMatrices_DDRM.rectangle(m, n, rand);
+
+        // compute the expected results using the simple algorithm
+        DMatrixRMaj opA = transA ? CommonOps_DDRM.transpose(A, null) : A;
+        DMatrixRMaj opB = transB ? CommonOps_DDRM.transpose(B, null) : B;
+        DMatrixRMaj expected = C.copy();
+        if (add) {
+            MatrixMatrixMult_DDRM.multAdd_small(1.5, opA, opB, expected);
+        } else {
+            MatrixMatrixMult_DDRM.mult_small(1.5, opA, opB, expected);
+        }
+
+        // Make sure it reshapes the output when not adding
+        if (!add)
+            C.reshape(1, 2);
+        MatrixMultPacked_DDRM.mult(1.5, A, transA, B, transB, C, add, workA, workB);
+
+        EjmlUnitTests.assertEquals(expected, C, UtilEjml.TEST_F64);
+    }
+
+    @Test void zeroSize() {
+        DMatrixRMaj A = new DMatrixRMaj(4, 0);
+        DMatrixRMaj B = new DMatrixRMaj(0, 5);
+        DMatrixRMaj C = RandomMatrices_DDRM.rectangle(4, 5, rand);
+
+        MatrixMultPacked_DDRM.mult(1.0, A, false, B, false, C, false, null, null);
+        assertEquals(4, C.numRows);
+        assertEquals(5, C.numCols);
+        assertEquals(0.0, CommonOps_DDRM.elementMaxAbs(C));
+    }
+
+    @Test void badShape() {
+        DMatrixRMaj A = new DMatrixRMaj(4, 3);
+        DMatrixRMaj B = new DMatrixRMaj(2, 5);
+        DMatrixRMaj C = new DMatrixRMaj(4, 5);
+
+        assertThrows(MatrixDimensionException.class, () ->
+                MatrixMultPacked_DDRM.mult(1.0, A, false, B, false, C, false, null, null));
+        // The output can't be reshaped when adding
+        B.reshape(3, 5);
+        C.reshape(4, 6);
+        assertThrows(MatrixDimensionException.class, () ->
+                MatrixMultPacked_DDRM.mult(1.0, A, false, B, false, C, true, null, null));
+        // Output can't be an input
+        assertThrows(IllegalArgumentException.class, () ->
+                MatrixMultPacked_DDRM.mult(1.0, A, false, A, true, A, false, null, null));
+    }
+}
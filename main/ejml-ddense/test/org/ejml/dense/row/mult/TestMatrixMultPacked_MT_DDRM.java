@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMatrixMultPacked_MT_DDRM extends EjmlStandardJUnit {
+    @Test void compareToSingleThread() {
+        for (boolean transA : new boolean[]{false, true}) {
+            for (boolean transB : new boolean[]{false, true}) {
+                for (boolean add : new boolean[]{false, true}) {
+                    for (int[] shape : TestMatrixMultPacked_DDRM.SHAPES) {
+                        int m = shape[0], n = shape[1], k = shape[2];
+                        DMatrixRMaj A = transA ? RandomMatrices_DDRM.rectangle(k, m, rand) :
+                                RandomMatrices_DDRM.rectangle(m, k, rand);
+                        DMatrixRMaj B = transB ? RandomMatrices_DDRM.rectangle(n, k, rand) :
+                                RandomMatrices_DDRM.rectangle(k, n, rand);
+                        DMatrixRMaj expected = RandomMatrices_DDRM.rectangle(m, n, rand);
+                        DMatrixRMaj found = expected.copy();
+
+                        MatrixMultPacked_DDRM.mult(0.5, A, transA, B, transB, expected, add, null, null);
+                        MatrixMultPacked_MT_DDRM.mult(0.5, A, transA, B, transB, found, add, null, null);
+
+                        EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.dense.row.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.block.InnerMultiplication_DDRB;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.misc.ImplCommonOps_DDRM;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that operations produce the same results when they delegate to {@link VectorKernels_DDRM}
+ *
+ * @author Peter Abeles
+ */
+public class TestSimdKernels_DDRM extends EjmlStandardJUnit {
+    @Nullable VectorKernels_DDRM original;
+    CountingKernels counting = new CountingKernels();
+
+    // Large enough to use the kernels with one odd element
+    int N = SimdKernels_DDRM.MIN_LENGTH + 3;
+
+    @BeforeEach void before() {original = SimdKernels_DDRM.get();}
+
+    @AfterEach void after() {SimdKernels_DDRM.set(original);}
+
+    @Test void select() {
+        SimdKernels_DDRM.set(counting);
+        assertTrue(SimdKernels_DDRM.isAvailable());
+        assertSame(counting, SimdKernels_DDRM.select(SimdKernels_DDRM.MIN_LENGTH));
+        assertNull(SimdKernels_DDRM.select(SimdKernels_DDRM.MIN_LENGTH - 1));
+
+        SimdKernels_DDRM.set(null);
+        assertFalse(SimdKernels_DDRM.isAvailable());
+        assertNull(SimdKernels_DDRM.select(1000));
+    }
+
+    @Test void vectorVector() {
+        DMatrixRMaj x = RandomMatrices_DDRM.rectangle(N, 1, -1, 1, rand);
+        DMatrixRMaj y = RandomMatrices_DDRM.rectangle(N, 1, -1, 1, rand);
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, N, -1, 1, rand);
+
+        compare(( ignore ) -> scalar(VectorVectorMult_DDRM.innerProd(x, y)));
+        compare(( B ) -> {B.reshape(N, N); VectorVectorMult_DDRM.outerProd(x, y, B); return B;});
+        compare(( B ) -> {B.reshape(N, N); VectorVectorMult_DDRM.addOuterProd(0.5, x, y, B); return B;});
+        compare(( B ) -> {B.reshape(N, N); VectorVectorMult_DDRM.addOuterProd(1.0, x, y, B); return B;});
+        compare(( ignore ) -> {
+            DMatrixRMaj out = new DMatrixRMaj(N, 1);
+            VectorVectorMult_DDRM.householder(-0.3, x, y, out);
+            return out;
+        });
+        compare(( B ) -> {B.reshape(N, N); VectorVectorMult_DDRM.rank1Update(0.7, A, x, y, B); return B;});
+        compare(( B ) -> {B.reshape(N, N); VectorVectorMult_DDRM.rank1Update(0.7, B, x, y); return B;});
+    }
+
+    @Test void matrixVector() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N - 2, N, -1, 1, rand);
+        DMatrixRMaj a = RandomMatrices_DDRM.rectangle(N - 2, 1, -1, 1, rand);
+        DMatrixRMaj x = RandomMatrices_DDRM.rectangle(N, 1, -1, 1, rand);
+        DMatrixRMaj xt = RandomMatrices_DDRM.rectangle(1, N, -1, 1, rand);
+
+        compare(( ignore ) -> {
+            DMatrixRMaj out = new DMatrixRMaj(1, 1);
+            MatrixVectorMult_DDRM.mult(A, x, out);
+            return out;
+        });
+        compare(( ignore ) -> {
+            DMatrixRMaj out = RandomMatrices_DDRM.rectangle(N - 2, 1, -1, 1, new Random(2));
+            MatrixVectorMult_DDRM.multAdd(A, xt, out);
+            return out;
+        });
+        compare(( ignore ) -> scalar(MatrixVectorMult_DDRM.innerProduct(a.data, 0, A, x.data, 0)));
+    }
+
+    @Test void elementWise() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(N, 2, -1, 1, rand);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(N, 2, 0.5, 2, rand);
+
+        compare(( ignore ) -> ImplCommonOps_DDRM.elementMult(A, B, null));
+        compare(( ignore ) -> ImplCommonOps_DDRM.elementDiv(A, B, null));
+        compare(( ignore ) -> {
+            DMatrixRMaj C = A.copy();
+            ImplCommonOps_DDRM.elementMult(C, B);
+            return C;
+        });
+        compare(( ignore ) -> {
+            DMatrixRMaj C = A.copy();
+            ImplCommonOps_DDRM.elementDiv(C, B);
+            return C;
+        });
+        compare(( ignore ) -> scalar(ImplCommonOps_DDRM.elementSum(A)));
+        compare(( ignore ) -> scalar(ImplCommonOps_DDRM.elementSumAbs(A)));
+    }
+
+    @Test void innerBlockMultiplication() {
+        int heightA = N - 4, widthA = N + 1, widthC = N;
+        double[] dataA = RandomMatrices_DDRM.rectangle(1, 2 + heightA*widthA, -1, 1, rand).data;
+        double[] dataB = RandomMatrices_DDRM.rectangle(1, 3 + widthA*widthC, -1, 1, rand).data;
+        // transposed A and B
+        double[] dataAt = RandomMatrices_DDRM.rectangle(1, 2 + widthA*heightA, -1, 1, rand).data;
+        double[] dataBt = RandomMatrices_DDRM.rectangle(1, 3 + widthC*widthA, -1, 1, rand).data;
+
+        // C is initialized with random values to test plus/minus and offsets are used to check indexing
+        compare(( C ) -> {
+            InnerMultiplication_DDRB.blockMultPlus(dataA, dataB, C.data, 2, 3, 1, heightA, widthA, widthC);
+            return C;
+        });
+        compare(( C ) -> {
+            InnerMultiplication_DDRB.blockMultMinus(dataA, dataB, C.data, 2, 3, 1, heightA, widthA, widthC);
+            return C;
+        });
+        compare(( C ) -> {
+            InnerMultiplication_DDRB.blockMultSet(1.5, dataA, dataB, C.data, 2, 3, 1, heightA, widthA, widthC);
+            return C;
+        });
+        compare(( C ) -> {
+            InnerMultiplication_DDRB.blockMultPlusTransA(dataAt, dataB, C.data, 2, 3, 1, widthA, heightA, widthC);
+            return C;
+        });
+        compare(( C ) -> {
+            InnerMultiplication_DDRB.blockMultSetTransA(dataAt, dataB, C.data, 2, 3, 1, widthA, heightA, widthC);
+            return C;
+        });
+        compare(( C ) -> {
+            InnerMultiplication_DDRB.blockMultMinusTransB(dataA, dataBt, C.data, 2, 3, 1, heightA, widthA, widthC);
+            return C;
+        });
+        compare(( C ) -> {
+            InnerMultiplication_DDRB.blockMultPlusTransB(0.5, dataA, dataBt, C.data, 2, 3, 1, heightA, widthA, widthC);
+            return C;
+        });
+    }
+
+    /**
+     * Runs the operation with the scalar code and the kernels then checks that the results match and that the
+     * kernels were called. The input is an N+2 by N+2 matrix which the operation can use as input and output.
+     */
+    void compare( Function<DMatrixRMaj, DMatrixRMaj> op ) {
+        DMatrixRMaj input = RandomMatrices_DDRM.rectangle(N + 2, N + 2, -1, 1, rand);
+
+        SimdKernels_DDRM.set(null);
+        DMatrixRMaj expected = op.apply(input.copy());
+
+        counting.calls = 0;
+        SimdKernels_DDRM.set(counting);
+        DMatrixRMaj found = op.apply(input.copy());
+
+        assertTrue(counting.calls > 0);
+        assertEquals(expected.numRows, found.numRows);
+        assertEquals(expected.numCols, found.numCols);
+        for (int i = 0; i < expected.getNumElements(); i++) {
+            assertEquals(expected.data[i], found.data[i], UtilEjml.TEST_F64*(1.0 + Math.abs(expected.data[i])));
+        }
+    }
+
+    static DMatrixRMaj scalar( double value ) {
+        return new DMatrixRMaj(new double[][]{{value}});
+    }
+
+    /**
+     * Scalar implementation which records the number of times it has been called. The order the elements are
+     * summed in is reversed to catch code which relies on identical round off.
+     */
+    static class CountingKernels implements VectorKernels_DDRM {
+        int calls;
+
+        @Override public double dot( double[] a, int offsetA, double[] b, int offsetB, int length ) {
+            calls++;
+            double total = 0;
+            for (int i = length - 1; i >= 0; i--) {
+                total += a[offsetA + i]*b[offsetB + i];
+            }
+            return total;
+        }
+
+        @Override public void addScaled( double[] a, int offsetA, double beta, double[] b, int offsetB,
+                                         double[] c, int offsetC, int length ) {
+            calls++;
+            for (int i = 0; i < length; i++) {
+                c[offsetC + i] = a[offsetA + i] + beta*b[offsetB + i];
+            }
+        }
+
+        @Override public void scale( double alpha, double[] a, int offsetA, double[] c, int offsetC, int length ) {
+            calls++;
+            for (int i = 0; i < length; i++) {
+                c[offsetC + i] = alpha*a[offsetA + i];
+            }
+        }
+
+        @Override
+        public void elementMult( double[] a, int offsetA, double[] b, int offsetB, double[] c, int offsetC, int length ) {
+            calls++;
+            for (int i = 0; i < length; i++) {
+                c[offsetC + i] = a[offsetA + i]*b[offsetB + i];
+            }
+        }
+
+        @Override
+        public void elementDiv( double[] a, int offsetA, double[] b, int offsetB, double[] c, int offsetC, int length ) {
+            calls++;
+            for (int i = 0; i < length; i++) {
+                c[offsetC + i] = a[offsetA + i]/b[offsetB + i];
+            }
+        }
+
+        @Override public double elementSum( double[] a, int offset, int length ) {
+            calls++;
+            double total = 0;
+            for (int i = length - 1; i >= 0; i--) {
+                total += a[offset + i];
+            }
+            return total;
+        }
+
+        @Override public double elementSumAbs( double[] a, int offset, int length ) {
+            calls++;
+            double total = 0;
+            for (int i = length - 1; i >= 0; i--) {
+                total += Math.abs(a[offset + i]);
+            }
+            return total;
+        }
+    }
+}
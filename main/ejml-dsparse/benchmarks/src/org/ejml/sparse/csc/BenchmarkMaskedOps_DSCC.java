@@ -52,7 +52,11 @@ public class BenchmarkMaskedOps_DSCC {
 
     DMatrixSparseCSC A;
     DMatrixSparseCSC B;
+    DMatrixSparseCSC C = new DMatrixSparseCSC(1, 1);
     Mask mask;
+    // masks backed by sparse matrices, which the kernels will evaluate with a merge or a bitmap
+    Mask sparseVectorMask;
+    Mask sparseMatrixMask;
     DSemiRing semiRing = DSemiRings.PLUS_TIMES;
     double[] v, result;
 
@@ -69,11 +73,19 @@ public class BenchmarkMaskedOps_DSCC {
         }
 
         mask = DMaskFactory.builder(v).build();
+
+        DMatrixSparseCSC maskVector = RandomMatrices_DSCC.rectangle(dimension, 1, countPerColumn*5, rand);
+        sparseVectorMask = DMaskFactory.builder(maskVector, true).build();
+        DMatrixSparseCSC maskMatrix = RandomMatrices_DSCC.generateUniform(dimension, dimension, countPerColumn/4, -1, 1, rand);
+        sparseMatrixMask = DMaskFactory.builder(maskMatrix, true).build();
     }
 
     // @formatter:off
     @Benchmark public void vxm() { MatrixVectorMultWithSemiRing_DSCC.mult(A, v, result, semiRing, mask); }
     @Benchmark public void mxv() { MatrixVectorMultWithSemiRing_DSCC.mult(v, A, result, semiRing, mask); }
+    @Benchmark public void vxm_sparseMask() { MatrixVectorMultWithSemiRing_DSCC.mult(A, v, result, semiRing, sparseVectorMask); }
+    @Benchmark public void mxv_sparseMask() { MatrixVectorMultWithSemiRing_DSCC.mult(v, A, result, semiRing, sparseVectorMask); }
+    @Benchmark public void elementMult_sparseMask() { CommonOpsWithSemiRing_DSCC.elementMult(A, B, C, semiRing, sparseMatrixMask, null, null); }
     // @formatter:on
 
     public static void main( String[] args ) throws RunnerException {
@@ -49,10 +49,19 @@ public class BenchmarkMatrixMultDense_MT_DSCC {
     @Param({"50"})
     private int countPerColumn;
 
+    /** Number of columns in the tall dense matrices */
+    @Param({"64", "512"})
+    private int denseColumns;
+
     DMatrixSparseCSC A,A_small;
     DMatrixRMaj B = new DMatrixRMaj(1, 1);
     DMatrixRMaj C = new DMatrixRMaj(1, 1);
 
+    // Tall dense matrix and its transpose
+    DMatrixRMaj B_tall = new DMatrixRMaj(1, 1);
+    DMatrixRMaj B_wide = new DMatrixRMaj(1, 1);
+    DMatrixRMaj C_tall = new DMatrixRMaj(1, 1);
+
     GrowArray<DGrowArray> work = new GrowArray<>(DGrowArray::new);
 
     @Setup
@@ -62,6 +71,9 @@ public class BenchmarkMatrixMultDense_MT_DSCC {
         A_small = RandomMatrices_DSCC.generateUniform(dimension/4, dimension/4, countPerColumn/4, -1,1,rand);
         B = RandomMatrices_DDRM.rectangle(dimension, dimension, -1, 1, rand);
         C = B.create(dimension, dimension);
+        B_tall = RandomMatrices_DDRM.rectangle(dimension, denseColumns, -1, 1, rand);
+        B_wide = RandomMatrices_DDRM.rectangle(denseColumns, dimension, -1, 1, rand);
+        C_tall = B.create(dimension, denseColumns);
     }
 
     // @formatter:off
@@ -74,6 +86,10 @@ public class BenchmarkMatrixMultDense_MT_DSCC {
     @Benchmark public void multTransAB() { CommonOps_MT_DSCC.multTransAB(A, B, C); }
     @Benchmark public void multAddTransAB() { CommonOps_MT_DSCC.multAddTransAB(A, B, C); }
 //    @Benchmark public void invert() { CommonOps_MT_DSCC.invert(A_small, C); }
+    @Benchmark public void multTall() { CommonOps_MT_DSCC.mult(A, B_tall, C_tall, work); }
+    @Benchmark public void multTransATall() { CommonOps_MT_DSCC.multTransA(A, B_tall, C_tall, work); }
+    @Benchmark public void multTransBTall() { CommonOps_MT_DSCC.multTransB(A, B_wide, C_tall, work); }
+    @Benchmark public void multTransABTall() { CommonOps_MT_DSCC.multTransAB(A, B_wide, C_tall); }
     // @formatter:on
 
     public static void main( String[] args ) throws RunnerException {
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.data.IGrowArray;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.misc.HashAssembler_DSCC;
+import org.ejml.sparse.csc.misc.ImplConvertTriplet_MT_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares different ways to assemble a sparse matrix which has duplicate elements, similar to
+ * a finite element stiffness matrix.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 2)
+public class BenchmarkTripletAssembly_DSCC {
+
+    @Param({"200000"})
+    private int dimension;
+
+    @Param({"25"})
+    private int countPerColumn;
+
+    DMatrixSparseTriplet triplet;
+    DMatrixSparseCSC C = new DMatrixSparseCSC(1, 1);
+
+    IGrowArray gw = new IGrowArray();
+    ImplConvertTriplet_MT_DSCC workspace = new ImplConvertTriplet_MT_DSCC();
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(42);
+        triplet = new DMatrixSparseTriplet(dimension, dimension, dimension*countPerColumn);
+        // elements are near the diagonal and there are duplicates
+        for (int i = 0; i < dimension*countPerColumn; i++) {
+            int col = rand.nextInt(dimension);
+            int row = Math.max(0, Math.min(dimension - 1, col + rand.nextInt(60) - 30));
+            triplet.addItem(row, col, rand.nextDouble());
+        }
+    }
+
+    /** Single threaded conversion followed by summing of duplicates */
+    @Benchmark public void convert() {
+        DConvertMatrixStruct.convert(triplet, C, gw);
+        CommonOps_DSCC.duplicatesAdd(C, gw);
+    }
+
+    @Benchmark public void convert_MT() {
+        CommonOps_MT_DSCC.convert(triplet, C, workspace);
+    }
+
+    @Benchmark public void hash() {
+        var assembler = new HashAssembler_DSCC(dimension, dimension, triplet.nz_length);
+        int[] rowcol = triplet.nz_rowcol.data;
+        double[] values = triplet.nz_value.data;
+        for (int i = 0; i < triplet.nz_length; i++) {
+            assembler.unsafe_add(rowcol[i*2], rowcol[i*2 + 1], values[i]);
+        }
+        assembler.convert(C);
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkTripletAssembly_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.graph;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks graph algorithms on power-law graphs generated with R-MAT
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkGraphOps_DSCC {
+    /** Graph has 2^scale vertices */
+    @Param({"14", "17"})
+    public int scale;
+
+    @Param({"16"})
+    public int edgeFactor;
+
+    // directed graph, its transpose, and a weighted version
+    DMatrixSparseCSC A, AT, W;
+    // undirected graph
+    DMatrixSparseCSC S;
+
+    int source;
+    int[] labels;
+    double[] values;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(234);
+        A = RandomMatrices_DSCC.rmat(scale, edgeFactor, false, rand);
+        AT = CommonOps_DSCC.transpose(A, null, null);
+        W = CommonOps_DSCC.apply(A, x -> rand.nextDouble(), null);
+        S = RandomMatrices_DSCC.rmat(scale, edgeFactor, true, rand);
+
+        // start from the vertex with the most edges so that most of the graph is reached
+        int best = 0;
+        for (int col = 0; col < AT.numCols; col++) {
+            if (AT.col_idx[col + 1] - AT.col_idx[col] > AT.col_idx[best + 1] - AT.col_idx[best])
+                best = col;
+        }
+        source = best;
+        labels = new int[A.numRows];
+        values = new double[A.numRows];
+    }
+
+    // @formatter:off
+    @Benchmark public void bfsLevels() { GraphOps_DSCC.bfsLevels(A, AT, source, labels); }
+    @Benchmark public void bfsLevels_pull() { GraphOps_DSCC.bfsLevels(A, null, source, labels); }
+    @Benchmark public void bfsParents() { GraphOps_DSCC.bfsParents(A, AT, source, labels); }
+    @Benchmark public void ssspBellmanFord() { GraphOps_DSCC.ssspBellmanFord(W, null, source, values); }
+    @Benchmark public void ssspDeltaStepping() { GraphOps_DSCC.ssspDeltaStepping(W, source, 0.1, values); }
+    @Benchmark public void pageRank() { GraphOps_DSCC.pageRank(A, 0.85, 1e-8, 100, values); }
+    @Benchmark public void connectedComponents() { GraphOps_DSCC.connectedComponents(S, labels); }
+    @Benchmark public void triangleCount() { GraphOps_DSCC.triangleCount(S); }
+    @Benchmark public void kTruss() { GraphOps_DSCC.kTruss(S, 5, null); }
+    // @formatter:on
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkGraphOps_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
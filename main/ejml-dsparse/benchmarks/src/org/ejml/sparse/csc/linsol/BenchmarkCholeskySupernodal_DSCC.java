@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.decomposition.chol.CholeskySupernodal_DSCC;
+import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
+import org.ejml.sparse.csc.factory.FillReductionFactory_DSCC;
+import org.ejml.sparse.csc.misc.ApplyFillReductionPermutation_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares up looking against supernodal Cholesky on a 3D Laplacian which has been reordered using AMD.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 2)
+public class BenchmarkCholeskySupernodal_DSCC {
+
+    /** Width of the grid. The matrix has width^3 rows and columns */
+    @Param({"20", "30"})
+    private int width;
+
+    DMatrixSparseCSC A;
+
+    CholeskyUpLooking_DSCC upLooking = new CholeskyUpLooking_DSCC();
+    CholeskySupernodal_DSCC supernodal = new CholeskySupernodal_DSCC();
+
+    @Setup
+    public void setup() {
+        var reduce = new ApplyFillReductionPermutation_DSCC(FillReductionFactory_DSCC.create(FillReducing.AMD), true);
+        A = reduce.apply(laplacian3D(width)).copy();
+
+        // Only the numerical decomposition is benchmarked
+        upLooking.setStructureLocked(true);
+        supernodal.setStructureLocked(true);
+        upLooking.decompose(A);
+        supernodal.decompose(A);
+    }
+
+    @Benchmark public void upLooking() {
+        if (!upLooking.decompose(A))
+            throw new RuntimeException("Failed");
+    }
+
+    @Benchmark public void supernodal() {
+        if (!supernodal.decompose(A))
+            throw new RuntimeException("Failed");
+    }
+
+    /**
+     * Creates a 7-point 3D Laplacian for a grid with the specified width
+     */
+    public static DMatrixSparseCSC laplacian3D( int width ) {
+        int N = width*width*width;
+        DMatrixSparseCSC A = new DMatrixSparseCSC(N, N, 7*N);
+        for (int z = 0; z < width; z++) {
+            for (int y = 0; y < width; y++) {
+                for (int x = 0; x < width; x++) {
+                    int i = (z*width + y)*width + x;
+                    if (z > 0) A.set(i - width*width, i, -1);
+                    if (y > 0) A.set(i - width, i, -1);
+                    if (x > 0) A.set(i - 1, i, -1);
+                    A.set(i, i, 6.1);
+                    if (x + 1 < width) A.set(i + 1, i, -1);
+                    if (y + 1 < width) A.set(i + width, i, -1);
+                    if (z + 1 < width) A.set(i + width*width, i, -1);
+                }
+            }
+        }
+        return A;
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkCholeskySupernodal_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2020, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
+import org.ejml.sparse.csc.decomposition.lu.LuUpLooking_DSCC;
+import org.ejml.sparse.csc.decomposition.qr.QrLeftLookingDecomposition_DSCC;
+import org.ejml.sparse.csc.factory.FillReductionFactory_DSCC;
+import org.ejml.sparse.csc.misc.ApplyFillReductionPermutation_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time to decompose a matrix with different fill reducing permutations. The number of non-zero
+ * elements in the factors is printed at the end of each trial since that's what the fill reduction is minimizing.
+ * The matrix is a 2D Laplacian on a grid, which is typical of problems where fill in is a problem.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 2)
+public class BenchmarkFillReduction_DSCC {
+
+    /** Width of the grid. The matrix has width*width rows and columns */
+    @Param({"60"})
+    private int width;
+
+    @Param({"NONE", "AMD", "COLAMD"})
+    private FillReducing fill;
+
+    DMatrixSparseCSC A;
+
+    ApplyFillReductionPermutation_DSCC reduce;
+    CholeskyUpLooking_DSCC cholesky = new CholeskyUpLooking_DSCC();
+    LuUpLooking_DSCC lu;
+    QrLeftLookingDecomposition_DSCC qr;
+
+    @Setup
+    public void setup() {
+        A = laplacian2D(width);
+        reduce = new ApplyFillReductionPermutation_DSCC(FillReductionFactory_DSCC.create(fill), true);
+        lu = new LuUpLooking_DSCC(FillReductionFactory_DSCC.create(fill));
+        qr = new QrLeftLookingDecomposition_DSCC(FillReductionFactory_DSCC.create(fill));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.printf("%n%s nnz: A=%d chol L=%d lu L+U=%d qr R=%d%n", fill, A.nz_length,
+                cholesky.getL().nz_length, lu.getL().nz_length + lu.getU().nz_length, qr.getR().nz_length);
+    }
+
+    @Benchmark public void ordering() {
+        reduce.apply(A);
+    }
+
+    @Benchmark public void cholesky() {
+        if (!cholesky.decompose(reduce.apply(A)))
+            throw new RuntimeException("Failed");
+    }
+
+    @Benchmark public void lu() {
+        if (!lu.decompose(A))
+            throw new RuntimeException("Failed");
+    }
+
+    @Benchmark public void qr() {
+        if (!qr.decompose(A))
+            throw new RuntimeException("Failed");
+    }
+
+    /**
+     * Creates a 5-point 2D Laplacian for a grid with the specified width
+     */
+    public static DMatrixSparseCSC laplacian2D( int width ) {
+        int N = width*width;
+        DMatrixSparseCSC A = new DMatrixSparseCSC(N, N, 5*N);
+        for (int y = 0; y < width; y++) {
+            for (int x = 0; x < width; x++) {
+                int i = y*width + x;
+                if (y > 0) A.set(i - width, i, -1);
+                if (x > 0) A.set(i - 1, i, -1);
+                A.set(i, i, 4);
+                if (x + 1 < width) A.set(i + 1, i, -1);
+                if (y + 1 < width) A.set(i + width, i, -1);
+            }
+        }
+        return A;
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkFillReduction_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.factory.LinearSolverFactory_DSCC;
+import org.ejml.sparse.csc.linsol.chol.LinearSolverCholesky_DSCC;
+import org.ejml.sparse.csc.linsol.lu.LinearSolverLu_DSCC;
+import org.ejml.sparse.csc.linsol.qr.LinearSolverQrLeftLooking_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to solve for multiple right hand sides after the matrix has been decomposed. A panel width of 1 is
+ * the same as solving one column at a time.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 2)
+public class BenchmarkMultipleRhs_DSCC {
+
+    /** Width of the grid. The matrix has width*width rows and columns */
+    @Param({"100"})
+    private int width;
+
+    /** Number of columns in B */
+    @Param({"50", "500"})
+    private int numRhs;
+
+    @Param({"1", "16"})
+    private int panelWidth;
+
+    DMatrixRMaj B, X;
+
+    LinearSolverCholesky_DSCC cholesky;
+    LinearSolverLu_DSCC lu;
+    LinearSolverQrLeftLooking_DSCC qr;
+
+    @Setup
+    public void setup() {
+        DMatrixSparseCSC A = BenchmarkFillReduction_DSCC.laplacian2D(width);
+        B = RandomMatrices_DDRM.rectangle(A.numRows, numRhs, new Random(234));
+        X = new DMatrixRMaj(A.numCols, numRhs);
+
+        cholesky = (LinearSolverCholesky_DSCC)LinearSolverFactory_DSCC.cholesky(FillReducing.AMD);
+        lu = (LinearSolverLu_DSCC)LinearSolverFactory_DSCC.lu(FillReducing.COLAMD);
+        qr = (LinearSolverQrLeftLooking_DSCC)LinearSolverFactory_DSCC.qr(FillReducing.COLAMD);
+
+        cholesky.panelWidth = panelWidth;
+        lu.panelWidth = panelWidth;
+        qr.panelWidth = panelWidth;
+
+        if (!cholesky.setA(A) || !lu.setA(A) || !qr.setA(A))
+            throw new RuntimeException("Failed");
+    }
+
+    @Benchmark public void cholesky() {
+        cholesky.solve(B, X);
+    }
+
+    @Benchmark public void lu() {
+        lu.solve(B, X);
+    }
+
+    @Benchmark public void qr() {
+        qr.solve(B, X);
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkMultipleRhs_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
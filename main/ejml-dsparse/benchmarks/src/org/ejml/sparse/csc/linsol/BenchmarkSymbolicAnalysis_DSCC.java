@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.SparseSymbolicAnalysis;
+import org.ejml.sparse.csc.factory.LinearSolverFactory_DSCC;
+import org.ejml.sparse.csc.linsol.chol.LinearSolverCholesky_DSCC;
+import org.ejml.sparse.csc.linsol.lu.LinearSolverLu_DSCC;
+import org.ejml.sparse.csc.linsol.qr.LinearSolverQrLeftLooking_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to call setA() repeatedly on matrices with the same structure, as is done inside a nonlinear optimizer.
+ * The symbolic analysis is either computed every time (NONE), the structure is locked (LOCKED), or it's
+ * provided by a {@link SparseSymbolicAnalysis} computed earlier (SHARED). LU can't be locked, so LOCKED is the same
+ * as NONE for LU.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 2)
+public class BenchmarkSymbolicAnalysis_DSCC {
+
+    /** Width of the grid. The matrix has width*width rows and columns */
+    @Param({"100"})
+    private int width;
+
+    @Param({"NONE", "LOCKED", "SHARED"})
+    private String reuse;
+
+    DMatrixSparseCSC A;
+
+    LinearSolverCholesky_DSCC cholesky;
+    LinearSolverLu_DSCC lu;
+    LinearSolverQrLeftLooking_DSCC qr;
+
+    @Setup
+    public void setup() {
+        A = BenchmarkFillReduction_DSCC.laplacian2D(width);
+
+        cholesky = (LinearSolverCholesky_DSCC)LinearSolverFactory_DSCC.cholesky(FillReducing.AMD);
+        lu = (LinearSolverLu_DSCC)LinearSolverFactory_DSCC.lu(FillReducing.COLAMD);
+        qr = (LinearSolverQrLeftLooking_DSCC)LinearSolverFactory_DSCC.qr(FillReducing.COLAMD);
+
+        switch (reuse) {
+            case "LOCKED" -> {
+                cholesky.setStructureLocked(true);
+                qr.setStructureLocked(true);
+            }
+            case "SHARED" -> {
+                // The analysis is computed by a different solver, as it would be when shared between threads
+                var tmpCholesky = (LinearSolverCholesky_DSCC)LinearSolverFactory_DSCC.cholesky(FillReducing.AMD);
+                var tmpLu = (LinearSolverLu_DSCC)LinearSolverFactory_DSCC.lu(FillReducing.COLAMD);
+                var tmpQr = (LinearSolverQrLeftLooking_DSCC)LinearSolverFactory_DSCC.qr(FillReducing.COLAMD);
+                if (!tmpCholesky.setA(A) || !tmpLu.setA(A) || !tmpQr.setA(A))
+                    throw new RuntimeException("Failed");
+                cholesky.setSymbolicAnalysis(tmpCholesky.getSymbolicAnalysis(null));
+                lu.setSymbolicAnalysis(tmpLu.getSymbolicAnalysis(null));
+                qr.setSymbolicAnalysis(tmpQr.getSymbolicAnalysis(null));
+            }
+            default -> {}
+        }
+    }
+
+    @Benchmark public void cholesky() {
+        if (!cholesky.setA(A))
+            throw new RuntimeException("Failed");
+    }
+
+    @Benchmark public void lu() {
+        if (!lu.setA(A))
+            throw new RuntimeException("Failed");
+    }
+
+    @Benchmark public void qr() {
+        if (!qr.setA(A))
+            throw new RuntimeException("Failed");
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkSymbolicAnalysis_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
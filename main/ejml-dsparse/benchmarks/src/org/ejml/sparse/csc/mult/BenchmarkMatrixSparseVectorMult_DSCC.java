@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DVectorSparse;
+import org.ejml.ops.DSemiRing;
+import org.ejml.ops.DSemiRings;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.mult.MatrixSparseVectorMultWithSemiRing_DSCC.Direction;
+import org.ejml.sparse.csc.mult.MatrixSparseVectorMultWithSemiRing_DSCC.Workspace;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares push, pull, and automatic selection for sparse matrix times sparse vector at different vector
+ * densities. The dense vector implementation is included as a baseline.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkMatrixSparseVectorMult_DSCC {
+    @Param({"100000"})
+    public int size;
+
+    @Param({"10"})
+    public int countPerColumn;
+
+    /** Fraction of assigned elements in the vector */
+    @Param({"0.0001", "0.01", "0.1", "0.5"})
+    public double density;
+
+    DSemiRing semiRing = DSemiRings.OR_AND;
+
+    DMatrixSparseCSC A, AT;
+    DVectorSparse b;
+    DVectorSparse c = new DVectorSparse(1);
+    Workspace work = new Workspace();
+    double[] b_dense, c_dense;
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(234);
+        A = RandomMatrices_DSCC.generateUniform(size, size, countPerColumn, 1, 1, rand);
+        AT = CommonOps_DSCC.transpose(A, null, null);
+
+        b = new DVectorSparse(size);
+        for (int i = 0; i < size; i++) {
+            if (rand.nextDouble() < density)
+                b.append(i, 1);
+        }
+        b.selectFormat();
+
+        b_dense = new double[size];
+        b.toDense(b_dense, semiRing.add.id);
+        c_dense = new double[size];
+    }
+
+    // @formatter:off
+    @Benchmark public void push() { MatrixSparseVectorMultWithSemiRing_DSCC.mult(A, AT, b, c, semiRing, null, Direction.PUSH, work); }
+    @Benchmark public void pull() { MatrixSparseVectorMultWithSemiRing_DSCC.mult(A, AT, b, c, semiRing, null, Direction.PULL, work); }
+    @Benchmark public void auto() { MatrixSparseVectorMultWithSemiRing_DSCC.mult(A, AT, b, c, semiRing, null, Direction.AUTO, work); }
+    @Benchmark public void dense() { MatrixVectorMultWithSemiRing_DSCC.mult(A, b_dense, c_dense, semiRing, null); }
+    // @formatter:on
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkMatrixSparseVectorMult_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.ops.DSemiRing;
+import org.ejml.ops.DSemiRings;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the specialized kernels for predefined semirings against the generic implementation. The generic
+ * code is forced by using a copy of the semiring, which has the same operators but a different identity.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class BenchmarkSemiRingMult_DSCC {
+    @Param({"PLUS_TIMES", "MIN_PLUS", "MAX_PLUS", "MIN_TIMES", "MIN_MAX", "MAX_MIN", "MAX_TIMES", "PLUS_MIN",
+            "OR_AND", "AND_OR", "XOR_AND", "XNOR_OR", "MIN_FIRST", "MIN_SECOND", "MAX_FIRST", "MAX_SECOND"})
+    public String semiRingName;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"10"})
+    public int countPerColumn;
+
+    DMatrixSparseCSC A, B;
+    DMatrixSparseCSC C = new DMatrixSparseCSC(1, 1);
+    DMatrixRMaj B_dense, C_dense;
+    double[] v, result;
+
+    DSemiRing specialized;
+    DSemiRing generic;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        Random rand = new Random(234);
+        specialized = (DSemiRing)DSemiRings.class.getField(semiRingName).get(null);
+        generic = new DSemiRing(specialized.add, specialized.mult);
+
+        A = RandomMatrices_DSCC.generateUniform(size, size, countPerColumn, -1, 1, rand);
+        B = RandomMatrices_DSCC.generateUniform(size, size, countPerColumn, -1, 1, rand);
+        C.reshape(size, size);
+        B_dense = RandomMatrices_DDRM.rectangle(size, 8, -1, 1, rand);
+        C_dense = new DMatrixRMaj(size, 8);
+        v = RandomMatrices_DDRM.rectangle(size, 1, -1, 1, rand).data;
+        result = new double[size];
+    }
+
+    // @formatter:off
+    @Benchmark public void mult_s_s() { ImplMultiplicationWithSemiRing_DSCC.mult(A, B, C, specialized, null, null, null); }
+    @Benchmark public void mult_s_s_generic() { ImplMultiplicationWithSemiRing_DSCC.mult(A, B, C, generic, null, null, null); }
+    @Benchmark public void mult_s_d() { ImplMultiplicationWithSemiRing_DSCC.mult(A, B_dense, C_dense, specialized); }
+    @Benchmark public void mult_s_d_generic() { ImplMultiplicationWithSemiRing_DSCC.mult(A, B_dense, C_dense, generic); }
+    @Benchmark public void mxv() { MatrixVectorMultWithSemiRing_DSCC.mult(A, v, result, specialized, null); }
+    @Benchmark public void mxv_generic() { MatrixVectorMultWithSemiRing_DSCC.mult(A, v, result, generic, null); }
+    @Benchmark public void vxm() { MatrixVectorMultWithSemiRing_DSCC.mult(v, A, result, specialized, null); }
+    @Benchmark public void vxm_generic() { MatrixVectorMultWithSemiRing_DSCC.mult(v, A, result, generic, null); }
+    // @formatter:on
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkSemiRingMult_DSCC.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csr;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseCSR;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.CommonOps_MT_DSCC;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares matrix-vector and matrix-matrix multiplication using compressed column and compressed row formats
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 2)
+public class BenchmarkMultiplication_DSCR {
+
+    @Param({"200000"})
+    private int dimension;
+
+    @Param({"8"})
+    private int countPerColumn;
+
+    DMatrixSparseCSC A_csc;
+    DMatrixSparseCSR A_csr;
+    DMatrixRMaj x;
+    DMatrixRMaj y;
+
+    DMatrixSparseCSC C_csc = new DMatrixSparseCSC(1, 1);
+    DMatrixSparseCSR C_csr = new DMatrixSparseCSR(1, 1);
+
+    @Setup
+    public void setup() {
+        Random rand = new Random(42);
+        var triplet = new DMatrixSparseTriplet(dimension, dimension, dimension*countPerColumn);
+        for (int i = 0; i < dimension*countPerColumn; i++) {
+            triplet.addItem(rand.nextInt(dimension), rand.nextInt(dimension), rand.nextDouble());
+        }
+        A_csc = DConvertMatrixStruct.convert(triplet, (DMatrixSparseCSC)null);
+        CommonOps_DSCC.duplicatesAdd(A_csc, null);
+        A_csr = DConvertMatrixStruct.convert(A_csc, (DMatrixSparseCSR)null);
+        x = RandomMatrices_DDRM.rectangle(dimension, 1, -1, 1, rand);
+        y = new DMatrixRMaj(dimension, 1);
+    }
+
+    @Benchmark public void spmv_csc() {
+        CommonOps_DSCC.mult(A_csc, x, y);
+    }
+
+    @Benchmark public void spmv_csc_MT() {
+        CommonOps_MT_DSCC.mult(A_csc, x, y, null);
+    }
+
+    @Benchmark public void spmv_csr() {
+        CommonOps_DSCR.mult(A_csr, x, y);
+    }
+
+    @Benchmark public void spmv_csr_MT() {
+        CommonOps_MT_DSCR.mult(A_csr, x, y);
+    }
+
+    @Benchmark public void convert_csc_to_csr() {
+        DConvertMatrixStruct.convert(A_csc, C_csr);
+    }
+
+    @Benchmark public void spgemm_csc() {
+        CommonOps_DSCC.mult(A_csc, A_csc, C_csc);
+    }
+
+    @Benchmark public void spgemm_csc_MT() {
+        CommonOps_MT_DSCC.mult(A_csc, A_csc, C_csc);
+    }
+
+    @Benchmark public void spgemm_csr() {
+        CommonOps_DSCR.mult(A_csr, A_csr, C_csr);
+    }
+
+    @Benchmark public void spgemm_csr_MT() {
+        CommonOps_MT_DSCR.mult(A_csr, A_csr, C_csr);
+    }
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkMultiplication_DSCR.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.CodeGeneratorBase;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BinaryOperator;
+
+/**
+ * <p>
+ * Generates ImplSemiRingKernels_DSCC. Calling the operators in a {@link org.ejml.ops.DSemiRing} through
+ * {@link org.ejml.ops.DOperatorBinary} for every non-zero element prevents the JIT from inlining them once several
+ * semi-rings have been used, since the call site becomes megamorphic. This creates a copy of each kernel for every
+ * semi-ring in {@link org.ejml.ops.DSemiRings} with the operators written out inline.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GenerateImplSemiRingKernels_DSCC extends CodeGeneratorBase {
+
+    /** Operator in a monoid. Writes out the code for applying it to two variables */
+    record Op( String name, BinaryOperator<String> code ) {}
+
+    record Ring( Op add, Op mult ) {
+        String name() {return add.name + "_" + mult.name;}
+    }
+
+    static final Op AND = new Op("AND", ( a, b ) -> "(" + a + " == 0 || " + b + " == 0) ? 0 : 1");
+    static final Op OR = new Op("OR", ( a, b ) -> "(" + a + " != 0 || " + b + " != 0) ? 1 : 0");
+    static final Op XOR = new Op("XOR", ( a, b ) -> "((" + a + " != 0) == (" + b + " != 0)) ? 0 : 1");
+    static final Op XNOR = new Op("XNOR", ( a, b ) -> "((" + a + " != 0) == (" + b + " != 0)) ? 1 : 0");
+    static final Op PLUS = new Op("PLUS", ( a, b ) -> a + " + " + b);
+    static final Op TIMES = new Op("TIMES", ( a, b ) -> a + "*" + b);
+    static final Op MIN = new Op("MIN", ( a, b ) -> "(" + a + " <= " + b + ") ? " + a + " : " + b);
+    static final Op MAX = new Op("MAX", ( a, b ) -> "(" + a + " >= " + b + ") ? " + a + " : " + b);
+    static final Op FIRST = new Op("FIRST", ( a, b ) -> a);
+    static final Op SECOND = new Op("SECOND", ( a, b ) -> b);
+
+    final List<Ring> rings = new ArrayList<>();
+
+    public GenerateImplSemiRingKernels_DSCC() {
+        // Same order as DSemiRings
+        rings.add(new Ring(PLUS, TIMES));
+        rings.add(new Ring(MIN, PLUS));
+        rings.add(new Ring(MAX, PLUS));
+        rings.add(new Ring(MIN, TIMES));
+        rings.add(new Ring(MIN, MAX));
+        rings.add(new Ring(MAX, MIN));
+        rings.add(new Ring(MAX, TIMES));
+        rings.add(new Ring(PLUS, MIN));
+        rings.add(new Ring(OR, AND));
+        rings.add(new Ring(AND, OR));
+        rings.add(new Ring(XOR, AND));
+        rings.add(new Ring(XNOR, OR));
+        rings.add(new Ring(MIN, FIRST));
+        rings.add(new Ring(MIN, SECOND));
+        rings.add(new Ring(MAX, FIRST));
+        rings.add(new Ring(MAX, SECOND));
+    }
+
+    @Override
+    public void generate() throws FileNotFoundException {
+        setOutputFile("ImplSemiRingKernels_DSCC");
+        printPreamble();
+        printIsSupported();
+        printDispatchMult();
+        printDispatchMultAddVector();
+        printDispatchMultVectorTrans();
+        printDispatchMultAddDense();
+        for (Ring ring : rings) {
+            printMult(ring);
+            printMultAddVector(ring);
+            printMultVectorTrans(ring);
+            printMultAddDense(ring);
+        }
+        printGrow();
+        out.println("}");
+        out.close();
+    }
+
+    private void printPreamble() {
+        out.print("import org.ejml.data.DMatrixRMaj;\n" +
+                "import org.ejml.data.DMatrixSparseCSC;\n" +
+                "import org.ejml.masks.Mask;\n" +
+                "import org.ejml.ops.DSemiRing;\n" +
+                "import org.ejml.ops.DSemiRings;\n" +
+                "import org.jetbrains.annotations.Nullable;\n" +
+                "\n" +
+                "/**\n" +
+                " * <p>\n" +
+                " * Kernels for sparse matrix multiplication with the semi-rings in {@link DSemiRings}. Each kernel has the\n" +
+                " * operators of its semi-ring written out inline, so there's no call through an interface for every\n" +
+                " * non-zero element. The dispatch functions select the kernel by comparing the reference of the semi-ring\n" +
+                " * and return false if there is no kernel for it, in which case the caller should use the generic code.\n" +
+                " * </p>\n" +
+                " *\n" +
+                " * <p>Invoke through {@link ImplMultiplicationWithSemiRing_DSCC} and {@link MatrixVectorMultWithSemiRing_DSCC}</p>\n" +
+                standardClassDocClosing("Peter Abeles") +
+                "@SuppressWarnings({\"Duplicates\", \"ConstantConditions\"})\n" +
+                "public class " + className + " {\n");
+    }
+
+    private void printIsSupported() {
+        out.print("    /**\n" +
+                "     * Returns true if there is a specialized kernel for the semi-ring\n" +
+                "     */\n" +
+                "    public static boolean isSupported( DSemiRing semiRing ) {\n" +
+                "        return ");
+        for (int i = 0; i < rings.size(); i++) {
+            if (i > 0)
+                out.print(" ||\n                ");
+            out.print("semiRing == DSemiRings." + rings.get(i).name());
+        }
+        out.print(";\n" +
+                "    }\n\n");
+    }
+
+    /**
+     * Prints a function which calls the kernel for the matching semi-ring
+     */
+    private void printDispatch( String doc, String signature, String kernel, String arguments ) {
+        out.print("    /**\n" +
+                doc +
+                "     *\n" +
+                "     * @return true if a kernel was found for the semi-ring\n" +
+                "     */\n" +
+                "    public static boolean " + signature + " {\n");
+        for (Ring ring : rings) {
+            out.print("        if (semiRing == DSemiRings." + ring.name() + ") {\n" +
+                    "            " + kernel + "_" + ring.name() + "(" + arguments + ");\n" +
+                    "            return true;\n" +
+                    "        }\n");
+        }
+        out.print("        return false;\n" +
+                "    }\n\n");
+    }
+
+    private void printDispatchMult() {
+        printDispatch("     * Computes columns col0 to col1-1 of A*B and writes them to columns 0 to col1-col0-1 in C. C must be\n" +
+                        "     * initialized the same way as in\n" +
+                        "     * {@link ImplMultiplicationWithSemiRing_DSCC#mult(DMatrixSparseCSC, DMatrixSparseCSC, DMatrixSparseCSC, DSemiRing, Mask, org.ejml.data.IGrowArray, org.ejml.data.DGrowArray)}.\n" +
+                        "     * The mask is referenced using columns in B.\n",
+                "mult( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1, DMatrixSparseCSC C,\n" +
+                        "                                DSemiRing semiRing, @Nullable Mask mask, double[] x, int[] w )",
+                "mult", "A, B, col0, col1, C, mask, x, w");
+    }
+
+    private void printDispatchMultAddVector() {
+        printDispatch("     * c = c + A(:,col0:col1-1)*b(col0:col1-1)\n",
+                "multAdd( DMatrixSparseCSC A, int col0, int col1, double[] b, int offsetB,\n" +
+                        "                                   double[] c, int offsetC, DSemiRing semiRing )",
+                "multAdd", "A, col0, col1, b, offsetB, c, offsetC");
+    }
+
+    private void printDispatchMultVectorTrans() {
+        printDispatch("     * c(col0:col1-1) = a<sup>T</sup>*B(:,col0:col1-1)\n",
+                "mult( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,\n" +
+                        "                                double[] c, int offsetC, DSemiRing semiRing, @Nullable Mask mask )",
+                "mult", "a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask");
+    }
+
+    private void printDispatchMultAddDense() {
+        printDispatch("     * C = C + A*B\n",
+                "multAdd( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C, DSemiRing semiRing )",
+                "multAdd", "A, B, C");
+    }
+
+    private void printMult( Ring ring ) {
+        out.print("    public static void mult_" + ring.name() + "( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,\n" +
+                "                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {\n" +
+                "        // C(i,j) = sum_k A(i,k) * B(k,j)\n" +
+                "        int idx0 = B.col_idx[col0];\n" +
+                "        for (int colB = col0; colB < col1; colB++) {\n" +
+                "            int colC = colB - col0;\n" +
+                "            int mark = colC + 1;\n" +
+                "            int idx1 = B.col_idx[colB + 1];\n" +
+                "            C.col_idx[mark] = C.nz_length;\n" +
+                "\n" +
+                "            if (idx0 == idx1) {\n" +
+                "                continue;\n" +
+                "            }\n" +
+                "\n" +
+                "            if (mask != null) {\n" +
+                "                mask.setIndexColumn(colB);\n" +
+                "            }\n" +
+                "\n" +
+                "            // C(:,j) = sum_k A(:,k)*B(k,j)\n" +
+                "            for (int bi = idx0; bi < idx1; bi++) {\n" +
+                "                int rowB = B.nz_rows[bi];\n" +
+                "                double valB = B.nz_values[bi];\n" +
+                "\n" +
+                "                int idxA1 = A.col_idx[rowB + 1];\n" +
+                "                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {\n" +
+                "                    int row = A.nz_rows[indexA];\n" +
+                "                    if (mask != null && !mask.isSet(row, colB))\n" +
+                "                        continue;\n" +
+                "\n" +
+                "                    double valA = A.nz_values[indexA];\n" +
+                "                    double product = " + ring.mult.code.apply("valA", "valB") + ";\n" +
+                "                    if (w[row] < mark) {\n" +
+                "                        if (C.nz_length >= C.nz_rows.length) {\n" +
+                "                            grow(C, mask);\n" +
+                "                        }\n" +
+                "                        w[row] = mark;\n" +
+                "                        C.nz_rows[C.nz_length] = row;\n" +
+                "                        C.col_idx[mark] = ++C.nz_length;\n" +
+                "                        x[row] = product;\n" +
+                "                    } else {\n" +
+                "                        double sum = x[row];\n" +
+                "                        x[row] = " + ring.add.code.apply("sum", "product") + ";\n" +
+                "                    }\n" +
+                "                }\n" +
+                "            }\n" +
+                "\n" +
+                "            // take the values in the dense vector 'x' and put them into 'C'\n" +
+                "            int idxC0 = C.col_idx[colC];\n" +
+                "            int idxC1 = C.col_idx[mark];\n" +
+                "            for (int i = idxC0; i < idxC1; i++) {\n" +
+                "                C.nz_values[i] = x[C.nz_rows[i]];\n" +
+                "            }\n" +
+                "\n" +
+                "            idx0 = idx1;\n" +
+                "        }\n" +
+                "    }\n\n");
+    }
+
+    private void printMultAddVector( Ring ring ) {
+        out.print("    public static void multAdd_" + ring.name() + "( DMatrixSparseCSC A, int col0, int col1,\n" +
+                "                                   double[] b, int offsetB, double[] c, int offsetC ) {\n" +
+                "        for (int k = col0; k < col1; k++) {\n" +
+                "            int idx1 = A.col_idx[k + 1];\n" +
+                "            double valB = b[offsetB + k];\n" +
+                "\n" +
+                "            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {\n" +
+                "                int indexC = offsetC + A.nz_rows[indexA];\n" +
+                "                double valA = A.nz_values[indexA];\n" +
+                "                double product = " + ring.mult.code.apply("valA", "valB") + ";\n" +
+                "                double sum = c[indexC];\n" +
+                "                c[indexC] = " + ring.add.code.apply("sum", "product") + ";\n" +
+                "            }\n" +
+                "        }\n" +
+                "    }\n\n");
+    }
+
+    private void printMultVectorTrans( Ring ring ) {
+        out.print("    public static void mult_" + ring.name() + "( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,\n" +
+                "                                double[] c, int offsetC, double id, @Nullable Mask mask ) {\n" +
+                "        for (int k = col0; k < col1; k++) {\n" +
+                "            if (mask != null && !mask.isSet(k))\n" +
+                "                continue;\n" +
+                "\n" +
+                "            int idx1 = B.col_idx[k + 1];\n" +
+                "            double sum = id;\n" +
+                "            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {\n" +
+                "                double valA = a[offsetA + B.nz_rows[indexB]];\n" +
+                "                double valB = B.nz_values[indexB];\n" +
+                "                double product = " + ring.mult.code.apply("valA", "valB") + ";\n" +
+                "                sum = " + ring.add.code.apply("sum", "product") + ";\n" +
+                "            }\n" +
+                "            c[offsetC + k] = sum;\n" +
+                "        }\n" +
+                "    }\n\n");
+    }
+
+    private void printMultAddDense( Ring ring ) {
+        out.print("    public static void multAdd_" + ring.name() + "( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {\n" +
+                "        // C(i,j) = sum_k A(i,k) * B(k,j)\n" +
+                "        for (int k = 0; k < A.numCols; k++) {\n" +
+                "            int idx1 = A.col_idx[k + 1];\n" +
+                "\n" +
+                "            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {\n" +
+                "                double valA = A.nz_values[indexA];\n" +
+                "                int indexB = k*B.numCols;\n" +
+                "                int indexC = A.nz_rows[indexA]*C.numCols;\n" +
+                "                int end = indexB + B.numCols;\n" +
+                "\n" +
+                "                while (indexB < end) {\n" +
+                "                    double valB = B.data[indexB++];\n" +
+                "                    double product = " + ring.mult.code.apply("valA", "valB") + ";\n" +
+                "                    double sum = C.data[indexC];\n" +
+                "                    C.data[indexC++] = " + ring.add.code.apply("sum", "product") + ";\n" +
+                "                }\n" +
+                "            }\n" +
+                "        }\n" +
+                "    }\n\n");
+    }
+
+    private void printGrow() {
+        out.print("    private static void grow( DMatrixSparseCSC C, @Nullable Mask mask ) {\n" +
+                "        int growToLength = C.nz_length*2 + 1;\n" +
+                "        if (mask != null) {\n" +
+                "            growToLength = Math.min(growToLength, mask.maxMaskedEntries());\n" +
+                "        }\n" +
+                "        C.growMaxLength(growToLength, true);\n" +
+                "    }\n");
+    }
+
+    public static void main( String[] args ) throws FileNotFoundException {
+        GenerateImplSemiRingKernels_DSCC app = new GenerateImplSemiRingKernels_DSCC();
+
+        app.generate();
+    }
+}
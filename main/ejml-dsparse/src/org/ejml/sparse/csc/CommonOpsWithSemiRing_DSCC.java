@@ -18,6 +18,7 @@
 package org.ejml.sparse.csc;
 
 import org.ejml.MatrixDimensionException;
+import org.ejml.concurrency.EjmlConcurrency;
 import org.ejml.data.DGrowArray;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.DMatrixSparseCSC;
@@ -25,8 +26,14 @@ import org.ejml.data.IGrowArray;
 import org.ejml.masks.Mask;
 import org.ejml.ops.DSemiRing;
 import org.ejml.sparse.csc.misc.ImplCommonOpsWithSemiRing_DSCC;
+import org.ejml.sparse.csc.misc.ImplCommonOpsWithSemiRing_MT_DSCC;
 import org.ejml.sparse.csc.mult.ImplMultiplicationWithSemiRing_DSCC;
+import org.ejml.sparse.csc.mult.ImplMultiplicationWithSemiRing_MT_DSCC;
+import org.ejml.sparse.csc.mult.MatrixVectorMultWithSemiRing_DSCC;
+import org.ejml.sparse.csc.mult.MatrixVectorMultWithSemiRing_MT_DSCC;
+import org.ejml.sparse.csc.mult.Workspace_MT_DSCC;
 import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
 
 import static org.ejml.UtilEjml.reshapeOrDeclare;
 import static org.ejml.UtilEjml.stringShapes;
@@ -40,7 +47,8 @@ public class CommonOpsWithSemiRing_DSCC {
     }
 
     /**
-     * Performs matrix multiplication. output = A*B
+     * Performs matrix multiplication. output = A*B. If the inputs are large enough the concurrent implementation
+     * is used, see {@link EjmlConcurrency#useConcurrent}, and the workspace arrays are not used.
      *
      * @param A        (Input) Matrix. Not modified.
      * @param B        (Input) Matrix. Not modified.
@@ -56,7 +64,11 @@ public class CommonOpsWithSemiRing_DSCC {
             throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B));
         output = reshapeOrDeclare(output, A, A.numRows, B.numCols);
 
-        ImplMultiplicationWithSemiRing_DSCC.mult(A, B, output, semiRing, mask, gw, gx);
+        if (EjmlConcurrency.useConcurrent(A) || EjmlConcurrency.useConcurrent(B)) {
+            ImplMultiplicationWithSemiRing_MT_DSCC.mult(A, B, output, semiRing, mask, new GrowArray<>(Workspace_MT_DSCC::new));
+        } else {
+            ImplMultiplicationWithSemiRing_DSCC.mult(A, B, output, semiRing, mask, gw, gx);
+        }
 
         return output;
     }
@@ -178,7 +190,8 @@ public class CommonOpsWithSemiRing_DSCC {
 
     /**
      * Performs matrix addition:<br>
-     * output = &alpha;A + &beta;B
+     * output = &alpha;A + &beta;B<br>
+     * If the inputs are large enough the concurrent implementation is used, see {@link EjmlConcurrency#useConcurrent}.
      *
      * @param alpha    scalar value multiplied against A
      * @param A        Matrix
@@ -200,7 +213,11 @@ public class CommonOpsWithSemiRing_DSCC {
             mask.compatible(output);
         }
 
-        ImplCommonOpsWithSemiRing_DSCC.add(alpha, A, beta, B, output, semiRing, mask, gw, gx);
+        if (EjmlConcurrency.useConcurrent(A) || EjmlConcurrency.useConcurrent(B)) {
+            ImplCommonOpsWithSemiRing_MT_DSCC.add(alpha, A, beta, B, output, semiRing, mask, new GrowArray<>(Workspace_MT_DSCC::new));
+        } else {
+            ImplCommonOpsWithSemiRing_DSCC.add(alpha, A, beta, B, output, semiRing, mask, gw, gx);
+        }
 
         return output;
     }
@@ -208,7 +225,8 @@ public class CommonOpsWithSemiRing_DSCC {
     /**
      * Performs an element-wise multiplication.<br>
      * output[i,j] = A[i,j]*B[i,j]<br>
-     * All matrices must have the same shape.
+     * All matrices must have the same shape. If the inputs are large enough the concurrent implementation is used,
+     * see {@link EjmlConcurrency#useConcurrent}.
      *
      * @param A        (Input) Matrix.
      * @param B        (Input) Matrix
@@ -224,8 +242,48 @@ public class CommonOpsWithSemiRing_DSCC {
             throw new MatrixDimensionException("All inputs must have the same number of rows and columns. " + stringShapes(A, B));
         output = reshapeOrDeclare(output, A, A.numRows, A.numCols);
 
-        ImplCommonOpsWithSemiRing_DSCC.elementMult(A, B, output, semiRing, mask, gw, gx);
+        if (EjmlConcurrency.useConcurrent(A) || EjmlConcurrency.useConcurrent(B)) {
+            ImplCommonOpsWithSemiRing_MT_DSCC.elementMult(A, B, output, semiRing, mask, new GrowArray<>(Workspace_MT_DSCC::new));
+        } else {
+            ImplCommonOpsWithSemiRing_DSCC.elementMult(A, B, output, semiRing, mask, gw, gx);
+        }
 
         return output;
     }
+
+    /**
+     * Performs matrix-vector multiplication. c = A*b. If A is large enough the concurrent implementation
+     * is used, see {@link EjmlConcurrency#useConcurrent}.
+     *
+     * @param A        (Input) Matrix. Not modified.
+     * @param b        (Input) Vector. Not modified.
+     * @param c        (Output) Vector. Must have at least A.numRows elements.
+     * @param semiRing Semi-Ring to define + and *
+     * @param mask     (Optional) Mask for specifying which entries should be overwritten
+     */
+    public static void mult( DMatrixSparseCSC A, double[] b, double[] c, DSemiRing semiRing, @Nullable Mask mask ) {
+        if (EjmlConcurrency.useConcurrent(A)) {
+            MatrixVectorMultWithSemiRing_MT_DSCC.mult(A, b, c, semiRing, mask);
+        } else {
+            MatrixVectorMultWithSemiRing_DSCC.mult(A, b, c, semiRing, mask);
+        }
+    }
+
+    /**
+     * Performs vector-matrix multiplication. c = a<sup>T</sup>*B. If B is large enough the concurrent
+     * implementation is used, see {@link EjmlConcurrency#useConcurrent}.
+     *
+     * @param a        (Input) Vector. Not modified.
+     * @param B        (Input) Matrix. Not modified.
+     * @param c        (Output) Vector. Must have at least B.numCols elements.
+     * @param semiRing Semi-Ring to define + and *
+     * @param mask     (Optional) Mask for specifying which entries should be overwritten
+     */
+    public static void mult( double[] a, DMatrixSparseCSC B, double[] c, DSemiRing semiRing, @Nullable Mask mask ) {
+        if (EjmlConcurrency.useConcurrent(B)) {
+            MatrixVectorMultWithSemiRing_MT_DSCC.mult(a, B, c, semiRing, mask);
+        } else {
+            MatrixVectorMultWithSemiRing_DSCC.mult(a, B, c, semiRing, mask);
+        }
+    }
 }
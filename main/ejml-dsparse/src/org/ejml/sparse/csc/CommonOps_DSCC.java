@@ -289,6 +289,57 @@ public class CommonOps_DSCC {
         ImplMultiplication_DSCC.multAddTransAB(A, B, outputC);
     }
 
+    /**
+     * <p>Computes one triangle of the symmetric matrix C = A<sup>T</sup>*W*A, where W is an optional diagonal
+     * weight matrix. This is the matrix found in the normal equations of a weighted least squares problem.
+     * A is not transposed and only the requested triangle is computed. The upper triangle can be passed
+     * directly into a sparse Cholesky decomposition.</p>
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param weights (Optional) Diagonal elements of W. Must have A.numRows elements. If null then W = I.
+     * @param lower If true the lower triangle is computed, otherwise the upper triangle.
+     * @param outputC (Output) Triangle of the symmetric matrix. Data length is increased if insufficient.
+     * @param gw (Optional) Storage for internal workspace. Can be null.
+     * @param gx (Optional) Storage for internal workspace. Can be null.
+     * @return The triangular matrix
+     * @see #symmLowerToFull
+     */
+    public static DMatrixSparseCSC multInner( DMatrixSparseCSC A, @Nullable double[] weights, boolean lower,
+                                              @Nullable DMatrixSparseCSC outputC,
+                                              @Nullable IGrowArray gw, @Nullable DGrowArray gx ) {
+        if (weights != null && weights.length < A.numRows)
+            throw new IllegalArgumentException("weights must have at least A.numRows elements");
+        outputC = reshapeOrDeclare(outputC, A, A.numCols, A.numCols);
+
+        ImplMultiplication_DSCC.multInner(A, weights, lower, outputC, gw, gx);
+
+        return outputC;
+    }
+
+    /**
+     * <p>Computes one triangle of the symmetric matrix C = A*W*A<sup>T</sup>, where W is an optional diagonal
+     * weight matrix. A is not transposed and only the requested triangle is computed.</p>
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param weights (Optional) Diagonal elements of W. Must have A.numCols elements. If null then W = I.
+     * @param lower If true the lower triangle is computed, otherwise the upper triangle.
+     * @param outputC (Output) Triangle of the symmetric matrix. Data length is increased if insufficient.
+     * @param gw (Optional) Storage for internal workspace. Can be null.
+     * @param gx (Optional) Storage for internal workspace. Can be null.
+     * @return The triangular matrix
+     */
+    public static DMatrixSparseCSC multOuter( DMatrixSparseCSC A, @Nullable double[] weights, boolean lower,
+                                              @Nullable DMatrixSparseCSC outputC,
+                                              @Nullable IGrowArray gw, @Nullable DGrowArray gx ) {
+        if (weights != null && weights.length < A.numCols)
+            throw new IllegalArgumentException("weights must have at least A.numCols elements");
+        outputC = reshapeOrDeclare(outputC, A, A.numRows, A.numRows);
+
+        ImplMultiplication_DSCC.multOuter(A, weights, lower, outputC, gw, gx);
+
+        return outputC;
+    }
+
     /**
      * Given a symmetric matrix, which is represented by a lower triangular matrix, convert it back into
      * a full symmetric matrix
@@ -1951,6 +2002,9 @@ public class CommonOps_DSCC {
             output.reshape(1, input.numCols);
         }
 
+        if (mask != null)
+            mask = mask.optimized();
+
         for (int col = 0; col < input.numCols; col++) {
             int start = input.col_idx[col];
             int end = input.col_idx[col + 1];
@@ -21,7 +21,9 @@ import org.ejml.MatrixDimensionException;
 import org.ejml.data.DGrowArray;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
 import org.ejml.sparse.csc.misc.ImplCommonOps_MT_DSCC;
+import org.ejml.sparse.csc.misc.ImplConvertTriplet_MT_DSCC;
 import org.ejml.sparse.csc.mult.ImplMultiplication_MT_DSCC;
 import org.ejml.sparse.csc.mult.Workspace_MT_DSCC;
 import org.jetbrains.annotations.Nullable;
@@ -267,4 +269,26 @@ public class CommonOps_MT_DSCC {
 
         ImplMultiplication_MT_DSCC.multAddTransAB(A, B, outputC);
     }
+
+    /**
+     * Converts a triplet matrix into a CSC matrix using a concurrent counting sort. Elements which appear
+     * multiple times in the triplet are summed together and row indexes in the output are sorted. This
+     * is a faster alternative to {@link org.ejml.ops.DConvertMatrixStruct#convert(DMatrixSparseTriplet, DMatrixSparseCSC)}
+     * for large matrices.
+     *
+     * @param src (Input) Triplet matrix. Not modified.
+     * @param dst (Output) Storage for the converted matrix. If null a new instance is returned.
+     * @param workspace (Optional) Storage for internal workspace. Can be null.
+     * @return The converted matrix
+     */
+    public static DMatrixSparseCSC convert( DMatrixSparseTriplet src, @Nullable DMatrixSparseCSC dst,
+                                            @Nullable ImplConvertTriplet_MT_DSCC workspace ) {
+        dst = reshapeOrDeclare(dst, src.numRows, src.numCols, src.nz_length);
+        if (workspace == null)
+            workspace = new ImplConvertTriplet_MT_DSCC();
+
+        workspace.convert(src, dst);
+
+        return dst;
+    }
 }
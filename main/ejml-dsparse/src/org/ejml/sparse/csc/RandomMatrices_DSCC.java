@@ -376,6 +376,102 @@ public class RandomMatrices_DSCC {
         return matrix;
     }
 
+    /**
+     * Creates the adjacency matrix of a random graph with a power-law degree distribution, using the R-MAT model.
+     * Each edge is placed by recursively selecting one of the matrix's four quadrants, with probabilities a, b, c,
+     * and 1-a-b-c for the top-left, top-right, bottom-left, and bottom-right quadrants. Vertex labels are then
+     * shuffled so that high degree vertices aren't grouped together. Self loops and duplicate edges are removed
+     * and every edge is assigned a value of one.
+     *
+     * @param scale The graph will have 2<sup>scale</sup> vertices
+     * @param edgeFactor Number of edges generated per vertex. Fewer will be in the graph after duplicates are removed.
+     * @param a Probability of the top-left quadrant
+     * @param b Probability of the top-right quadrant
+     * @param c Probability of the bottom-left quadrant
+     * @param symmetric If true the graph is undirected and the matrix is symmetric
+     * @param rand Random number generator
+     * @return Adjacency matrix
+     */
+    public static DMatrixSparseCSC rmat( int scale, int edgeFactor, double a, double b, double c,
+                                         boolean symmetric, Random rand ) {
+        if (scale < 0 || scale > 30)
+            throw new IllegalArgumentException("Scale must be from 0 to 30");
+        if (a < 0 || b < 0 || c < 0 || a + b + c > 1)
+            throw new IllegalArgumentException("Invalid quadrant probabilities");
+
+        int N = 1 << scale;
+        int numEdges = Math.toIntExact((long)N*edgeFactor);
+        int[] rows = new int[symmetric ? Math.multiplyExact(numEdges, 2) : numEdges];
+        int[] cols = new int[rows.length];
+        int[] labels = UtilEjml.shuffled(N, rand);
+
+        int count = 0;
+        for (int edge = 0; edge < numEdges; edge++) {
+            int row = 0, col = 0;
+            for (int bit = N >> 1; bit > 0; bit >>= 1) {
+                double r = rand.nextDouble();
+                if (r < a) {
+                    continue;
+                } else if (r < a + b) {
+                    col |= bit;
+                } else if (r < a + b + c) {
+                    row |= bit;
+                } else {
+                    row |= bit;
+                    col |= bit;
+                }
+            }
+            if (row == col)
+                continue;
+            rows[count] = labels[row];
+            cols[count++] = labels[col];
+            if (symmetric) {
+                rows[count] = labels[col];
+                cols[count++] = labels[row];
+            }
+        }
+
+        // Convert into CSC format
+        int[] histogram = new int[N];
+        for (int i = 0; i < count; i++) {
+            histogram[cols[i]]++;
+        }
+        DMatrixSparseCSC matrix = new DMatrixSparseCSC(N, N, count);
+        matrix.histogramToStructure(histogram);
+        int[] next = Arrays.copyOf(matrix.col_idx, N);
+        for (int i = 0; i < count; i++) {
+            matrix.nz_rows[next[cols[i]]++] = rows[i];
+        }
+
+        // Sort each column and remove duplicates
+        int nz = 0;
+        for (int col = 0; col < N; col++) {
+            int idx0 = matrix.col_idx[col];
+            int idx1 = matrix.col_idx[col + 1];
+            Arrays.sort(matrix.nz_rows, idx0, idx1);
+            matrix.col_idx[col] = nz;
+            for (int i = idx0; i < idx1; i++) {
+                if (i > idx0 && matrix.nz_rows[i] == matrix.nz_rows[i - 1])
+                    continue;
+                matrix.nz_rows[nz] = matrix.nz_rows[i];
+                matrix.nz_values[nz++] = 1.0;
+            }
+        }
+        matrix.col_idx[N] = nz;
+        matrix.nz_length = nz;
+        matrix.indicesSorted = true;
+
+        return matrix;
+    }
+
+    /**
+     * Creates a power-law graph using the R-MAT model with the same probabilities as the Graph500 benchmark.
+     * See {@link #rmat(int, int, double, double, double, boolean, Random)}.
+     */
+    public static DMatrixSparseCSC rmat( int scale, int edgeFactor, boolean symmetric, Random rand ) {
+        return rmat(scale, edgeFactor, 0.57, 0.19, 0.19, symmetric, rand);
+    }
+
     /**
      * Modies the matrix to make sure that at least one element in each column has a value
      */
@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.SparseSymbolicAnalysis;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
+
+import java.util.Arrays;
+
+/**
+ * <p>Supernodal left-looking Cholesky decomposition of a {@link DMatrixSparseCSC}. Adjacent columns in L which
+ * have the same non-zero pattern below the diagonal block are grouped into a supernode and stored as a dense
+ * row-major panel. Updates between supernodes and the factorization of each panel are then done with dense
+ * kernels, which operate on two rows and two columns at a time, instead of one element at a time. This is much
+ * faster when L has large dense blocks, e.g. matrices from 3D meshes which have been reordered with a fill
+ * reducing permutation.</p>
+ *
+ * <p>Supernodes are found from the elimination tree and column counts. Column j+1 is added to the supernode
+ * containing column j if j+1 is the parent of j and column j has one more non-zero element than j+1. Small
+ * supernodes are then merged with their parent if only a few explicit zeros are added to L, which
+ * is known as relaxed supernodes.</p>
+ *
+ * <p>Output is the same as {@link CholeskyUpLooking_DSCC}, except that L can have explicit zeros, which allows it
+ * to be used anywhere the up looking algorithm can be used.</p>
+ *
+ * @author Peter Abeles
+ */
+public class CholeskySupernodal_DSCC extends CholeskyUpLooking_DSCC {
+    // Number of supernodes
+    int numSuper;
+    // First column in each supernode. Has numSuper+1 elements.
+    int[] superStart = new int[0];
+    // Number of rows in each supernode. The first rows are the supernode's columns.
+    int[] superRows = new int[0];
+    // Which supernode each column belongs to
+    int[] columnToSuper = new int[0];
+    // Start index of each supernode's panel in 'panels'
+    int[] panelOffset = new int[0];
+
+    // Storage for the row-major dense panels of all supernodes
+    DGrowArray panels = new DGrowArray();
+
+    // Supernodes are merged if they have at most relaxSize[i] columns and less than relaxFraction[i] zeros.
+    // The last fraction has no size limit.
+    int[] relaxSize = new int[]{4, 16, 48};
+    double[] relaxFraction = new double[]{0.8, 0.1, 0.05};
+
+    // Storage for the exact structure of L while the supernodal structure is computed
+    DMatrixSparseCSC Lwork = new DMatrixSparseCSC(1, 1, 0);
+
+    // Lower triangular portion of the input matrix stored in column-major format
+    DMatrixSparseCSC lowerA = new DMatrixSparseCSC(1, 1, 0);
+
+    // Workspace
+    int[] relativeRow = new int[0]; // location of a row in the current supernode's panel
+    int[] listHead = new int[0];    // linked list of supernodes which will update a supernode
+    int[] listNext = new int[0];
+    int[] updateRow = new int[0];   // next row in a supernode's panel which has yet to update other supernodes
+    IGrowArray growMap = new IGrowArray(); // index of the start of a row in the panel being updated
+    IGrowArray gcolMap = new IGrowArray(); // column in the panel being updated
+    DGrowArray gzeros = new DGrowArray();
+    IGrowArray gmark = new IGrowArray();
+
+    @Override
+    public void performSymbolic( DMatrixSparseCSC A ) {
+        super.performSymbolic(A);
+        computeSupernodes(A);
+    }
+
+    @Override
+    protected void applySymbolic( DMatrixSparseCSC A, SparseSymbolicAnalysis analysis ) {
+        super.applySymbolic(A, analysis);
+        computeSupernodes(A);
+    }
+
+    /**
+     * Finds the supernodes and structure of L using the elimination tree and column counts
+     */
+    private void computeSupernodes( DMatrixSparseCSC A ) {
+        computeStructureL(A);
+        findSupernodes();
+        relaxSupernodes();
+        computeStructureSupernodal();
+    }
+
+    /**
+     * The non-zero pattern of L is computed by finding the pattern of each row. Rows are stored in increasing
+     * order in each column with the diagonal first.
+     */
+    void computeStructureL( DMatrixSparseCSC A ) {
+        int[] c = UtilEjml.adjust(gw, N);
+        int[] s = UtilEjml.adjust(gs, N);
+        int[] mark = UtilEjml.adjustClear(gmark, N);
+
+        System.arraycopy(L.col_idx, 0, c, 0, N);
+        for (int k = 0; k < N; k++) {
+            int top = TriangularSolver_DSCC.searchNzRowsElim(A, k, parent, s, mark);
+            for (; top < N; top++) {
+                L.nz_rows[c[s[top]]++] = k;
+            }
+            L.nz_rows[c[k]++] = k;
+        }
+        L.nz_length = L.col_idx[N];
+        L.indicesSorted = true;
+    }
+
+    /**
+     * Finds the fundamental supernodes. Column j is added to the supernode containing column j-1 if
+     * j is the parent of j-1 and they have the same structure below the diagonal.
+     */
+    void findSupernodes() {
+        if (superStart.length < N + 1) {
+            superStart = new int[N + 1];
+            superRows = new int[N];
+            columnToSuper = new int[N];
+            panelOffset = new int[N + 1];
+            relativeRow = new int[N];
+            listHead = new int[N];
+            listNext = new int[N];
+            updateRow = new int[N];
+        }
+
+        numSuper = 0;
+        for (int j = 0; j < N; j++) {
+            if (j == 0 || parent[j - 1] != j || counts[j - 1] != counts[j] + 1) {
+                superStart[numSuper++] = j;
+            }
+        }
+        superStart[numSuper] = N;
+    }
+
+    /**
+     * Merges a supernode with the supernode which follows it when that supernode is its parent and the number
+     * of explicit zeros which are added is small. Larger supernodes are more efficient since more of the work
+     * is done inside the dense kernels. The thresholds are the defaults used by CHOLMOD.
+     */
+    void relaxSupernodes() {
+        // Describes the merged supernode which starts with a fundamental supernode
+        int[] mergedEnd = UtilEjml.adjust(gw, numSuper);
+        double[] mergedZeros = UtilEjml.adjust(gzeros, numSuper);
+
+        // Go backwards so that a supernode is merged with its parent after its parent has been merged
+        for (int s = numSuper - 1; s >= 0; s--) {
+            int col0 = superStart[s];
+            int col1 = superStart[s + 1];
+            mergedEnd[s] = col1;
+            mergedZeros[s] = 0;
+            superRows[s] = counts[col0];
+
+            // the parent must be the next supernode
+            if (s == numSuper - 1 || parent[col1 - 1] != col1)
+                continue;
+
+            int widthS = col1 - col0;
+            int width = mergedEnd[s + 1] - col0;
+            int rows = widthS + superRows[s + 1];
+
+            // columns in 's' will now have the same pattern as its parent
+            double zeros = widthS*(double)(rows - counts[col0]) + mergedZeros[s + 1];
+            double total = width*(double)rows - width*(width - 1.0)/2.0;
+            double fraction = zeros/total;
+
+            if (width <= relaxSize[0] || (width <= relaxSize[1] && fraction < relaxFraction[0]) ||
+                    (width <= relaxSize[2] && fraction < relaxFraction[1]) || fraction < relaxFraction[2]) {
+                mergedEnd[s] = mergedEnd[s + 1];
+                mergedZeros[s] = zeros;
+                superRows[s] = rows;
+            }
+        }
+
+        // Save the merged supernodes
+        int count = 0;
+        for (int s = 0; s < numSuper; ) {
+            int end = mergedEnd[s];
+            superStart[count] = superStart[s];
+            superRows[count++] = superRows[s];
+            while (s < numSuper && superStart[s] < end) s++;
+        }
+        superStart[count] = N;
+        numSuper = count;
+    }
+
+    /**
+     * Computes the structure of L after supernodes have been relaxed, which adds explicit zeros. The pattern of a
+     * supernode is its columns followed by the rows below the diagonal in its last column.
+     */
+    void computeStructureSupernodal() {
+        int total = 0;
+        panelOffset[0] = 0;
+        for (int s = 0; s < numSuper; s++) {
+            int width = superStart[s + 1] - superStart[s];
+            panelOffset[s + 1] = panelOffset[s] + width*superRows[s];
+            total += width*superRows[s] - width*(width - 1)/2;
+        }
+
+        Lwork.reshape(N, N, total);
+        for (int s = 0; s < numSuper; s++) {
+            int col0 = superStart[s];
+            int col1 = superStart[s + 1];
+            int rows = superRows[s];
+            int idxLast = L.col_idx[col1 - 1];
+            for (int col = col0; col < col1; col++) {
+                columnToSuper[col] = s;
+                int idx = Lwork.col_idx[col];
+                Lwork.col_idx[col + 1] = idx + rows - (col - col0);
+                for (int row = col; row < col1; row++) {
+                    Lwork.nz_rows[idx++] = row;
+                }
+                System.arraycopy(L.nz_rows, idxLast + 1, Lwork.nz_rows, idx, Lwork.col_idx[col + 1] - idx);
+            }
+        }
+        Lwork.nz_length = total;
+        Lwork.indicesSorted = true;
+
+        DMatrixSparseCSC tmp = L;
+        L = Lwork;
+        Lwork = tmp;
+    }
+
+    @Override
+    protected boolean performDecomposition( DMatrixSparseCSC A ) {
+        // elements in the lower triangle are found by looking at the transpose of the upper triangle
+        CommonOps_DSCC.transpose(A, lowerA, gw);
+
+        double[] panel = UtilEjml.adjust(panels, panelOffset[numSuper]);
+        Arrays.fill(listHead, 0, numSuper, -1);
+
+        for (int s = 0; s < numSuper; s++) {
+            int col0 = superStart[s];
+            int width = superStart[s + 1] - col0;
+            int rows = superRows[s];
+            int offset = panelOffset[s];
+            int idxRows = L.col_idx[col0];
+
+            // location of each row in the dense panel
+            for (int i = 0; i < rows; i++) {
+                relativeRow[L.nz_rows[idxRows + i]] = i;
+            }
+
+            //----- Copy the lower triangular portion of A into the panel
+            Arrays.fill(panel, offset, offset + rows*width, 0);
+            for (int c = 0; c < width; c++) {
+                int col = col0 + c;
+                for (int p = lowerA.col_idx[col]; p < lowerA.col_idx[col + 1]; p++) {
+                    int row = lowerA.nz_rows[p];
+                    if (row < col)
+                        continue;
+                    panel[offset + relativeRow[row]*width + c] += lowerA.nz_values[p];
+                }
+            }
+
+            //----- Apply updates from all the descendants which have a non-zero row in this supernode
+            int d = listHead[s];
+            while (d != -1) {
+                int dnext = listNext[d];
+                updateSupernode(panel, d, s);
+                d = dnext;
+            }
+
+            //----- Factor the panel: L11*L11' = A11 and L21 = A21*inv(L11')
+            if (!factorPanel(panel, offset, width, rows))
+                return false;
+
+            // this supernode will now update the supernode which contains its first off diagonal row
+            updateRow[s] = width;
+            if (rows > width)
+                addToList(s, L.nz_rows[idxRows + width]);
+
+            //----- Copy the results into L
+            for (int c = 0; c < width; c++) {
+                int idxL = L.col_idx[col0 + c];
+                for (int r = c; r < rows; r++) {
+                    L.nz_values[idxL++] = panel[offset + r*width + c];
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Subtracts the contribution of descendant supernode 'd' from supernode 's'
+     */
+    private void updateSupernode( double[] panel, int d, int s ) {
+        int col0 = superStart[s];
+        int colEnd = superStart[s + 1];
+        int width = colEnd - col0;
+        int offset = panelOffset[s];
+
+        int widthD = superStart[d + 1] - superStart[d];
+        int rowsD = superRows[d];
+        int idxRowsD = L.col_idx[superStart[d]];
+
+        // rows in 'd' which are in this supernode's columns
+        int p0 = updateRow[d];
+        int p1 = p0;
+        while (p1 < rowsD && L.nz_rows[idxRowsD + p1] < colEnd)
+            p1++;
+
+        int heightC = rowsD - p0;
+        int widthC = p1 - p0;
+        int[] rowMap = UtilEjml.adjust(growMap, heightC);
+        for (int r = 0; r < heightC; r++) {
+            rowMap[r] = offset + relativeRow[L.nz_rows[idxRowsD + p0 + r]]*width;
+        }
+        int[] colMap = UtilEjml.adjust(gcolMap, widthC);
+        for (int c = 0; c < widthC; c++) {
+            colMap[c] = L.nz_rows[idxRowsD + p0 + c] - col0;
+        }
+        // panel(rows, cols) -= L_d(p0:end,:)*L_d(p0:p1,:)'. Only the lower triangle is updated.
+        int indexD = panelOffset[d] + p0*widthD;
+        int r = 0;
+        for (; r + 1 < heightC; r += 2) {
+            int a0 = indexD + r*widthD;
+            int a1 = a0 + widthD;
+            int P0 = rowMap[r], P1 = rowMap[r + 1];
+            int cEnd = Math.min(widthC, r + 2);
+            int c = 0;
+            for (; c + 1 < cEnd; c += 2) {
+                int b0 = indexD + c*widthD;
+                int b1 = b0 + widthD;
+                double s00 = 0, s01 = 0, s10 = 0, s11 = 0;
+                for (int k = 0; k < widthD; k++) {
+                    double x0 = panel[a0 + k], x1 = panel[a1 + k];
+                    double y0 = panel[b0 + k], y1 = panel[b1 + k];
+                    s00 += x0*y0; s01 += x0*y1; s10 += x1*y0; s11 += x1*y1;
+                }
+                panel[P0 + colMap[c]] -= s00;
+                panel[P0 + colMap[c + 1]] -= s01;
+                panel[P1 + colMap[c]] -= s10;
+                panel[P1 + colMap[c + 1]] -= s11;
+            }
+            for (; c < cEnd; c++) {
+                int b0 = indexD + c*widthD;
+                double s00 = 0, s10 = 0;
+                for (int k = 0; k < widthD; k++) {
+                    double y0 = panel[b0 + k];
+                    s00 += panel[a0 + k]*y0; s10 += panel[a1 + k]*y0;
+                }
+                panel[P0 + colMap[c]] -= s00;
+                panel[P1 + colMap[c]] -= s10;
+            }
+        }
+        for (; r < heightC; r++) {
+            int a0 = indexD + r*widthD;
+            int P0 = rowMap[r];
+            int cEnd = Math.min(widthC, r + 1);
+            for (int c = 0; c < cEnd; c++) {
+                int b0 = indexD + c*widthD;
+                double sum = 0;
+                for (int k = 0; k < widthD; k++) sum += panel[a0 + k]*panel[b0 + k];
+                panel[P0 + colMap[c]] -= sum;
+            }
+        }
+
+        // move on to the next supernode it will update
+        updateRow[d] = p1;
+        if (p1 < rowsD)
+            addToList(d, L.nz_rows[idxRowsD + p1]);
+    }
+
+    /**
+     * Computes the Cholesky decomposition of the panel's diagonal block, L11*L11' = A11, and L21 = A21*inv(L11')
+     * in a single left-looking pass over the row-major panel. Two rows and two columns are processed at the same
+     * time to reduce the number of times memory is read.
+     *
+     * @return true if successful or false if the matrix is not positive definite
+     */
+    static boolean factorPanel( double[] P, int offset, int width, int rows ) {
+        for (int j = 0; j < width; j += 2) {
+            int rowJ0 = offset + j*width;
+            double l00 = P[rowJ0 + j] - dot(P, rowJ0, rowJ0, j);
+            if (l00 <= 0)
+                return false;
+            l00 = Math.sqrt(l00);
+            P[rowJ0 + j] = l00;
+
+            if (j + 1 == width) {
+                // only a single column is left
+                for (int r = j + 1; r < rows; r++) {
+                    int a0 = offset + r*width;
+                    P[a0 + j] = (P[a0 + j] - dot(P, a0, rowJ0, j))/l00;
+                }
+                break;
+            }
+
+            int rowJ1 = rowJ0 + width;
+            double l10 = (P[rowJ1 + j] - dot(P, rowJ1, rowJ0, j))/l00;
+            double l11 = P[rowJ1 + j + 1] - dot(P, rowJ1, rowJ1, j) - l10*l10;
+            if (l11 <= 0)
+                return false;
+            l11 = Math.sqrt(l11);
+            P[rowJ1 + j] = l10;
+            P[rowJ1 + j + 1] = l11;
+
+            int r = j + 2;
+            for (; r + 1 < rows; r += 2) {
+                int a0 = offset + r*width;
+                int a1 = a0 + width;
+                double s00 = P[a0 + j], s01 = P[a0 + j + 1];
+                double s10 = P[a1 + j], s11 = P[a1 + j + 1];
+                for (int k = 0; k < j; k++) {
+                    double x0 = P[a0 + k], x1 = P[a1 + k];
+                    double y0 = P[rowJ0 + k], y1 = P[rowJ1 + k];
+                    s00 -= x0*y0;
+                    s01 -= x0*y1;
+                    s10 -= x1*y0;
+                    s11 -= x1*y1;
+                }
+                s00 /= l00;
+                s10 /= l00;
+                P[a0 + j] = s00;
+                P[a1 + j] = s10;
+                P[a0 + j + 1] = (s01 - s00*l10)/l11;
+                P[a1 + j + 1] = (s11 - s10*l10)/l11;
+            }
+            if (r < rows) {
+                int a0 = offset + r*width;
+                double s00 = P[a0 + j], s01 = P[a0 + j + 1];
+                for (int k = 0; k < j; k++) {
+                    double x0 = P[a0 + k];
+                    s00 -= x0*P[rowJ0 + k];
+                    s01 -= x0*P[rowJ1 + k];
+                }
+                s00 /= l00;
+                P[a0 + j] = s00;
+                P[a0 + j + 1] = (s01 - s00*l10)/l11;
+            }
+        }
+        return true;
+    }
+
+    private static double dot( double[] P, int indexA, int indexB, int length ) {
+        double sum = 0;
+        for (int k = 0; k < length; k++) {
+            sum += P[indexA + k]*P[indexB + k];
+        }
+        return sum;
+    }
+
+    private void addToList( int s, int row ) {
+        int target = columnToSuper[row];
+        listNext[s] = listHead[target];
+        listHead[target] = s;
+    }
+
+    public int getNumSupernodes() {
+        return numSuper;
+    }
+
+    public int[] getSuperStart() {
+        return superStart;
+    }
+}
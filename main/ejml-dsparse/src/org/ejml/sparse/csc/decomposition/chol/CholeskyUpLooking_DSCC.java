@@ -23,6 +23,7 @@ import org.ejml.data.DGrowArray;
 import org.ejml.data.DMatrixSparseCSC;
 import org.ejml.data.IGrowArray;
 import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
+import org.ejml.sparse.SparseSymbolicAnalysis;
 import org.ejml.sparse.csc.misc.ColumnCounts_DSCC;
 import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
 import org.jetbrains.annotations.Nullable;
@@ -38,7 +39,7 @@ import static org.ejml.UtilEjml.adjust;
  */
 public class CholeskyUpLooking_DSCC implements
         CholeskySparseDecomposition_F64<DMatrixSparseCSC> {
-    private int N;
+    int N;
 
     // storage for decomposition
     DMatrixSparseCSC L = new DMatrixSparseCSC(1, 1, 0);
@@ -57,13 +58,25 @@ public class CholeskyUpLooking_DSCC implements
     // if true then the structure is locked and won't be computed again
     private boolean locked = false;
 
+    // If not null then the symbolic step is skipped and this is used instead
+    private @Nullable SparseSymbolicAnalysis analysis;
+    // true if the analysis has been applied
+    private boolean analysisApplied = false;
+
     @Override
     public boolean decompose( DMatrixSparseCSC orig ) {
         if (orig.numCols != orig.numRows)
             throw new IllegalArgumentException("Must be a square matrix");
 
-        if (!locked || !decomposed)
+        if (analysis != null) {
+            analysis.checkCompatible(orig);
+            if (!analysisApplied) {
+                applySymbolic(orig, analysis);
+                analysisApplied = true;
+            }
+        } else if (!locked || !decomposed) {
             performSymbolic(orig);
+        }
 
         if (performDecomposition(orig)) {
             decomposed = true;
@@ -83,6 +96,61 @@ public class CholeskyUpLooking_DSCC implements
         L.histogramToStructure(counts);
     }
 
+    /**
+     * Initializes the decomposition using a previously computed symbolic analysis instead of performing
+     * the symbolic step.
+     *
+     * @param A The matrix which is about to be decomposed
+     * @param analysis Symbolic analysis for a matrix with the same structure as A. Not modified.
+     */
+    protected void applySymbolic( DMatrixSparseCSC A, SparseSymbolicAnalysis analysis ) {
+        init(A.numCols);
+
+        System.arraycopy(analysis.parent, 0, parent, 0, N);
+        System.arraycopy(analysis.post, 0, post, 0, N);
+        System.arraycopy(analysis.counts, 0, counts, 0, N);
+        L.reshape(A.numRows, A.numCols, 0);
+        L.histogramToStructure(counts);
+    }
+
+    /**
+     * Saves the symbolic analysis of the most recently decomposed matrix. It can then be used to skip the
+     * symbolic step when a matrix with the same structure is decomposed.
+     *
+     * @param output (Optional) Storage for the output. If null a new instance is created
+     * @return The symbolic analysis
+     */
+    public SparseSymbolicAnalysis getSymbolicAnalysis( @Nullable SparseSymbolicAnalysis output ) {
+        if (!decomposed)
+            throw new IllegalArgumentException("Must successfully decompose a matrix first");
+        if (output == null)
+            output = new SparseSymbolicAnalysis(SparseSymbolicAnalysis.Type.CHOLESKY);
+        output.type = SparseSymbolicAnalysis.Type.CHOLESKY;
+        output.numRows = output.numCols = N;
+        output.parent = SparseSymbolicAnalysis.copy(parent, N, output.parent);
+        output.post = SparseSymbolicAnalysis.copy(post, N, output.post);
+        output.counts = SparseSymbolicAnalysis.copy(counts, N, output.counts);
+        output.nz_L = 0;
+        for (int i = 0; i < N; i++) {
+            output.nz_L += counts[i];
+        }
+        return output;
+    }
+
+    /**
+     * Specifies a symbolic analysis which is used instead of computing the symbolic step. The analysis
+     * is not modified and can be shared between multiple decompositions. The structure is locked while
+     * the analysis is set.
+     *
+     * @param analysis Symbolic analysis or null to compute the symbolic step as usual
+     */
+    public void setSymbolicAnalysis( @Nullable SparseSymbolicAnalysis analysis ) {
+        if (analysis != null)
+            analysis.checkType(SparseSymbolicAnalysis.Type.CHOLESKY);
+        this.analysis = analysis;
+        this.analysisApplied = false;
+    }
+
     private void init( int N ) {
         this.N = N;
         if (parent.length < N) {
@@ -93,7 +161,7 @@ public class CholeskyUpLooking_DSCC implements
         }
     }
 
-    private boolean performDecomposition( DMatrixSparseCSC A ) {
+    protected boolean performDecomposition( DMatrixSparseCSC A ) {
         int[] c = adjust(gw, N);
         int[] s = adjust(gs, N);
         double[] x = adjust(gx, N);
@@ -101,47 +169,62 @@ public class CholeskyUpLooking_DSCC implements
         System.arraycopy(L.col_idx, 0, c, 0, N);
 
         for (int k = 0; k < N; k++) {
-            //----  Nonzero pattern of L(k,:)
-            int top = TriangularSolver_DSCC.searchNzRowsElim(A, k, parent, s, c);
-
-            // x(0:k) is now zero
-            x[k] = 0;
-            int idx0 = A.col_idx[k];
-            int idx1 = A.col_idx[k + 1];
-
-            // x = full(triu(C(:,k)))
-            for (int p = idx0; p < idx1; p++) {
-                if (A.nz_rows[p] <= k) {
-                    x[A.nz_rows[p]] = A.nz_values[p];
-                }
-            }
-            double d = x[k]; // d = C(k,k)
-            x[k] = 0; // clear x for k+1 iteration
-
-            //---- Triangular Solve
-            for (; top < N; top++) {
-                int i = s[top];
-                double lki = x[i]/L.nz_values[L.col_idx[i]]; // L(k,i) = x(i) / L(i,i)
-                x[i] = 0;
-                for (int p = L.col_idx[i] + 1; p < c[i]; p++) {
-                    x[L.nz_rows[p]] -= L.nz_values[p]*lki;
-                }
-                d -= lki*lki; // d = d - L(k,i)**L(k,i)
-                int p = c[i]++;
-                L.nz_rows[p] = k;     // store L(k,i) in column i
-                L.nz_values[p] = lki;
+            if (!factorRow(A, k, c, s, x))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Computes row 'k' in L. All the rows in L which row 'k' depends on, i.e. its descendants in the elimination
+     * tree, must have already been computed.
+     *
+     * @param c Index of the next free element in each column of L
+     * @param s Workspace of length N
+     * @param x Dense workspace of length N. All elements must be zero and will be zero when it returns.
+     * @return true if successful or false if the matrix is not positive definite
+     */
+    boolean factorRow( DMatrixSparseCSC A, int k, int[] c, int[] s, double[] x ) {
+        //----  Nonzero pattern of L(k,:)
+        int top = TriangularSolver_DSCC.searchNzRowsElim(A, k, parent, s, c);
+
+        // x(0:k) is now zero
+        x[k] = 0;
+        int idx0 = A.col_idx[k];
+        int idx1 = A.col_idx[k + 1];
+
+        // x = full(triu(C(:,k)))
+        for (int p = idx0; p < idx1; p++) {
+            if (A.nz_rows[p] <= k) {
+                x[A.nz_rows[p]] = A.nz_values[p];
             }
+        }
+        double d = x[k]; // d = C(k,k)
+        x[k] = 0; // clear x for k+1 iteration
 
-            //----- Compute L(k,k)
-            if (d <= 0) {
-                // it's not positive definite
-                return false;
+        //---- Triangular Solve
+        for (; top < N; top++) {
+            int i = s[top];
+            double lki = x[i]/L.nz_values[L.col_idx[i]]; // L(k,i) = x(i) / L(i,i)
+            x[i] = 0;
+            for (int p = L.col_idx[i] + 1; p < c[i]; p++) {
+                x[L.nz_rows[p]] -= L.nz_values[p]*lki;
             }
-            int p = c[k]++;
-            L.nz_rows[p] = k;
-            L.nz_values[p] = Math.sqrt(d);
+            d -= lki*lki; // d = d - L(k,i)**L(k,i)
+            int p = c[i]++;
+            L.nz_rows[p] = k;     // store L(k,i) in column i
+            L.nz_values[p] = lki;
         }
 
+        //----- Compute L(k,k)
+        if (d <= 0) {
+            // it's not positive definite
+            return false;
+        }
+        int p = c[k]++;
+        L.nz_rows[p] = k;
+        L.nz_values[p] = Math.sqrt(d);
         return true;
     }
 
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.SparseSymbolicAnalysis;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+import static org.ejml.UtilEjml.adjustClear;
+
+/**
+ * Concurrent implementation of {@link CholeskyUpLooking_DSCC}. Row 'k' in L only depends on rows which are
+ * descendants of 'k' in the elimination tree and it only writes to their columns. Disjoint subtrees can
+ * then be factored at the same time and the output is identical to the single threaded algorithm.
+ *
+ * <p>The schedule is computed in the symbolic step. The elimination tree is split into subtrees which each have
+ * about the same number of floating point operations, and these are all processed in the first level. The remaining
+ * nodes near the roots are split into chains. A chain is processed in the level after all the chains below it.
+ * Inside a level, tasks are assigned to threads so that the load is balanced.</p>
+ *
+ * @author Peter Abeles
+ */
+public class CholeskyUpLooking_MT_DSCC extends CholeskyUpLooking_DSCC {
+
+    /** The elimination tree is split into approximately this many subtrees per thread */
+    public int subtreesPerThread = 4;
+
+    // Rows sorted by the bin they are in. Inside a bin rows are in the order they are processed.
+    int[] binRows = new int[0];
+    // Index of the first row in each bin. Length = numBins + 1
+    IGrowArray binOffset = new IGrowArray();
+    // Index of the first bin in each level. Length = numLevels + 1
+    IGrowArray levelOffset = new IGrowArray();
+    int numLevels;
+
+    // Workspace for the symbolic step
+    IGrowArray gtask = new IGrowArray();
+    IGrowArray gchildren = new IGrowArray();
+    IGrowArray gchild = new IGrowArray();
+    IGrowArray gchildLevel = new IGrowArray();
+    IGrowArray glevel = new IGrowArray();
+    DGrowArray gcost = new DGrowArray();
+    DGrowArray gload = new DGrowArray();
+
+    // Workspace for each thread
+    GrowArray<Workspace> workspaces = new GrowArray<>(Workspace::new, w -> w.failed = false);
+
+    @Override
+    public void performSymbolic( DMatrixSparseCSC A ) {
+        super.performSymbolic(A);
+        computeSchedule(EjmlConcurrency.getMaxThreads());
+    }
+
+    @Override
+    protected void applySymbolic( DMatrixSparseCSC A, SparseSymbolicAnalysis analysis ) {
+        super.applySymbolic(A, analysis);
+        computeSchedule(EjmlConcurrency.getMaxThreads());
+    }
+
+    /**
+     * Splits the elimination tree up into tasks, assigns each task to a level, then assigns tasks in each
+     * level to bins. A bin is processed by a single thread.
+     *
+     * @param numThreads Maximum number of threads which can be used
+     */
+    void computeSchedule( int numThreads ) {
+        if (binRows.length < N)
+            binRows = new int[N];
+
+        // The cost of computing a row is approximated using the column counts. Sum up the cost of each subtree
+        double[] cost = adjust(gcost, N);
+        Arrays.fill(cost, 0, N, 0.0);
+        double total = 0;
+        for (int j = 0; j < N; j++) {
+            double c = (double)counts[j]*counts[j];
+            total += c;
+            cost[j] += c;
+            if (parent[j] != -1)
+                cost[parent[j]] += cost[j];
+        }
+        double target = total/Math.max(1, numThreads*subtreesPerThread);
+
+        int[] task = adjust(gtask, N);
+        int[] taskLevel = adjust(glevel, N);
+
+        // Find the largest subtrees which are below the target cost. Go from roots to leaves so that
+        // a node's parent has already been assigned
+        int numTasks = 0;
+        for (int j = N - 1; j >= 0; j--) {
+            int p = parent[j];
+            if (p != -1 && task[p] >= 0) {
+                task[j] = task[p];
+            } else if (cost[j] <= target) {
+                taskLevel[numTasks] = 0;
+                task[j] = numTasks++;
+            } else {
+                task[j] = -1;
+            }
+        }
+
+        // Count the number of children of each node which are not in a subtree
+        int[] numChildren = adjustClear(gchildren, N);
+        int[] onlyChild = adjust(gchild, N);
+        int[] childLevel = adjustClear(gchildLevel, N);
+        for (int j = 0; j < N; j++) {
+            if (task[j] == -1 && parent[j] != -1) {
+                numChildren[parent[j]]++;
+                onlyChild[parent[j]] = j;
+            }
+        }
+
+        // Split the remaining nodes into chains. Go from leaves to roots so that children are assigned first.
+        // A node can only be added to its child's chain if it has one child that's not in a subtree
+        numLevels = 1;
+        for (int j = 0; j < N; j++) {
+            if (task[j] != -1)
+                continue;
+            if (numChildren[j] == 1) {
+                task[j] = task[onlyChild[j]];
+            } else {
+                taskLevel[numTasks] = childLevel[j] + 1;
+                task[j] = numTasks++;
+                numLevels = Math.max(numLevels, taskLevel[task[j]] + 1);
+            }
+            int p = parent[j];
+            if (p != -1)
+                childLevel[p] = Math.max(childLevel[p], taskLevel[task[j]]);
+        }
+
+        // Compute the cost of each task and the number of tasks in each level
+        double[] taskCost = adjust(gload, numTasks + numThreads);
+        Arrays.fill(taskCost, 0, numTasks, 0.0);
+        for (int j = 0; j < N; j++) {
+            taskCost[task[j]] += (double)counts[j]*counts[j];
+        }
+        int[] levelTasks = adjust(levelOffset, numLevels + 1);
+        Arrays.fill(levelTasks, 0, numLevels + 1, 0);
+        for (int t = 0; t < numTasks; t++) {
+            levelTasks[taskLevel[t] + 1]++;
+        }
+
+        // Each level has as many bins as there are threads, unless it has fewer tasks
+        int[] levels = levelTasks;
+        for (int level = 0; level < numLevels; level++) {
+            levels[level + 1] = levels[level] + Math.min(numThreads, levels[level + 1]);
+        }
+        int numBins = levels[numLevels];
+
+        // Greedily assign each task to the bin with the smallest load in its level. The task index is
+        // replaced by the bin's index
+        int[] taskBin = numChildren; // reuse the array since children are no longer needed
+        double[] binLoad = adjust(gcost, numBins);
+        Arrays.fill(binLoad, 0, numBins, 0.0);
+        for (int t = 0; t < numTasks; t++) {
+            int bin0 = levels[taskLevel[t]];
+            int bin1 = levels[taskLevel[t] + 1];
+            int best = bin0;
+            for (int bin = bin0 + 1; bin < bin1; bin++) {
+                if (binLoad[bin] < binLoad[best])
+                    best = bin;
+            }
+            binLoad[best] += taskCost[t];
+            taskBin[t] = best;
+        }
+
+        // Sort rows by bin. Rows are processed in increasing order inside a bin, which ensures children come first
+        int[] offset = adjust(binOffset, numBins + 1);
+        Arrays.fill(offset, 0, numBins + 1, 0);
+        for (int j = 0; j < N; j++) {
+            offset[taskBin[task[j]] + 1]++;
+        }
+        for (int bin = 0; bin < numBins; bin++) {
+            offset[bin + 1] += offset[bin];
+        }
+        int[] next = adjust(glevel, numBins); // task levels are no longer needed
+        System.arraycopy(offset, 0, next, 0, numBins);
+        for (int j = 0; j < N; j++) {
+            binRows[next[taskBin[task[j]]]++] = j;
+        }
+    }
+
+    @Override
+    protected boolean performDecomposition( DMatrixSparseCSC A ) {
+        final int[] c = adjust(gw, N);
+        final int[] offset = binOffset.data;
+        final int[] levels = levelOffset.data;
+
+        System.arraycopy(L.col_idx, 0, c, 0, N);
+
+        for (int level = 0; level < numLevels; level++) {
+            // The first level is empty if no subtree was small enough
+            if (levels[level] == levels[level + 1])
+                continue;
+
+            EjmlConcurrency.loopFor(levels[level], levels[level + 1], 1, workspaces, ( work, bin ) -> {
+                int[] s = adjust(work.gs, N);
+                double[] x = adjust(work.gx, N);
+
+                for (int idx = offset[bin]; idx < offset[bin + 1]; idx++) {
+                    if (!factorRow(A, binRows[idx], c, s, x)) {
+                        work.failed = true;
+                        return;
+                    }
+                }
+            });
+
+            for (int i = 0; i < workspaces.size(); i++) {
+                if (workspaces.get(i).failed)
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Number of levels in the schedule. Levels are processed one after another.
+     */
+    public int getNumLevels() {
+        return numLevels;
+    }
+
+    /**
+     * Workspace used by each thread
+     */
+    static class Workspace {
+        IGrowArray gs = new IGrowArray();
+        DGrowArray gx = new DGrowArray();
+        // true if a row was found to not be positive definite
+        boolean failed;
+    }
+}
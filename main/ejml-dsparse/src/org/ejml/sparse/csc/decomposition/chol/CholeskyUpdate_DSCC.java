@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+
+/**
+ * <p>
+ * Modifies a sparse Cholesky factor after a low rank change to the matrix it was computed from. Given
+ * A = L*L<sup>T</sup>, the factor of A + C*C<sup>T</sup> (update) or A - C*C<sup>T</sup> (downdate) is computed
+ * in place, one column of C at a time. Only the columns of L on the path from the first non-zero row of C
+ * to the root of the elimination tree are modified, which is often much less work than factoring the
+ * matrix again.
+ * </p>
+ *
+ * <p>
+ * The non-zero pattern of L is not changed. This requires that the pattern of each column in C is a subset of
+ * the pattern of column 'f' in L, where 'f' is the first non-zero row in that column of C. In practice this
+ * means that C can only modify elements of A which were already non-zero. If any fill reducing permutation was
+ * used when computing L then the same permutation needs to be applied to the rows of C first. In L, the diagonal
+ * element must be the first element in each column.
+ * </p>
+ *
+ * <p>
+ * For more information see, Timothy A. Davis and William W. Hager, "Modifying a Sparse Cholesky Factorization",
+ * SIAM Journal on Matrix Analysis and Applications, 1999.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CholeskyUpdate_DSCC {
+    // Dense workspace. All elements are zero between calls
+    DGrowArray gw = new DGrowArray();
+
+    /**
+     * Computes the Cholesky factor of L*L<sup>T</sup> + C*C<sup>T</sup>
+     *
+     * @param L (Input/Output) Lower triangular Cholesky factor. Modified.
+     * @param C (Input) Matrix with N rows and k columns. Not modified.
+     * @return true if successful. An update can only fail if L is singular.
+     */
+    public boolean update( DMatrixSparseCSC L, DMatrixSparseCSC C ) {
+        return modify(L, true, C);
+    }
+
+    /**
+     * Computes the Cholesky factor of L*L<sup>T</sup> - C*C<sup>T</sup>
+     *
+     * @param L (Input/Output) Lower triangular Cholesky factor. Modified.
+     * @param C (Input) Matrix with N rows and k columns. Not modified.
+     * @return true if successful or false if the modified matrix isn't positive definite. If false, then L
+     * has been partially modified and the matrix needs to be decomposed again.
+     */
+    public boolean downdate( DMatrixSparseCSC L, DMatrixSparseCSC C ) {
+        return modify(L, false, C);
+    }
+
+    /**
+     * Applies each column in C as a rank-1 update or downdate
+     */
+    boolean modify( DMatrixSparseCSC L, boolean up, DMatrixSparseCSC C ) {
+        if (C.numRows != L.numCols)
+            throw new IllegalArgumentException("Number of rows in C must match L. " + C.numRows + " != " + L.numCols);
+
+        // grows the array while keeping the already zeroed elements
+        if (gw.data.length < L.numCols)
+            gw.data = new double[L.numCols];
+
+        // Check all the columns before modifying L so that it isn't left in a partially modified state
+        for (int col = 0; col < C.numCols; col++) {
+            checkPattern(L, C, col);
+        }
+
+        for (int col = 0; col < C.numCols; col++) {
+            if (!rank1(L, up, C, col))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Makes sure the pattern of a column in C is contained in the pattern of L(:,f)
+     */
+    void checkPattern( DMatrixSparseCSC L, DMatrixSparseCSC C, int col ) {
+        double[] w = gw.data;
+        int f = scatter(C, col, w);
+        if (f < 0)
+            return;
+
+        // Count how many of the non-zero elements in C are in L(:,f)
+        int found = 0;
+        for (int p = L.col_idx[f]; p < L.col_idx[f + 1]; p++) {
+            if (w[L.nz_rows[p]] != 0.0)
+                found++;
+        }
+
+        int count = 0;
+        for (int p = C.col_idx[col]; p < C.col_idx[col + 1]; p++) {
+            if (w[C.nz_rows[p]] != 0.0)
+                count++;
+            w[C.nz_rows[p]] = 0.0;
+        }
+
+        if (found != count)
+            throw new IllegalArgumentException("Column " + col + " in C has non-zero elements outside the " +
+                    "pattern of L(:," + f + "). This would change the pattern of L.");
+    }
+
+    /**
+     * Copies a column in C into the dense workspace
+     *
+     * @return The first row with a non-zero value or -1 if the column is zero
+     */
+    static int scatter( DMatrixSparseCSC C, int col, double[] w ) {
+        int f = Integer.MAX_VALUE;
+        for (int p = C.col_idx[col]; p < C.col_idx[col + 1]; p++) {
+            double value = C.nz_values[p];
+            if (value == 0.0)
+                continue;
+            int row = C.nz_rows[p];
+            w[row] = value;
+            f = Math.min(f, row);
+        }
+        return f == Integer.MAX_VALUE ? -1 : f;
+    }
+
+    /**
+     * Applies a rank-1 update or downdate to L with a column from C. The path from 'f' through the elimination
+     * tree is found by following the first off-diagonal row in each column.
+     *
+     * @return true if successful
+     */
+    boolean rank1( DMatrixSparseCSC L, boolean up, DMatrixSparseCSC C, int col ) {
+        final double[] w = gw.data;
+        final double sigma = up ? 1.0 : -1.0;
+
+        int j = scatter(C, col, w);
+        double beta = 1.0;
+        boolean success = true;
+
+        while (j >= 0) {
+            int idx0 = L.col_idx[j];
+            int idx1 = L.col_idx[j + 1];
+
+            // The parent of 'j' is the smallest off-diagonal row
+            int parent = Integer.MAX_VALUE;
+            for (int p = idx0 + 1; p < idx1; p++) {
+                parent = Math.min(parent, L.nz_rows[p]);
+            }
+
+            if (success) {
+                double alpha = w[j]/L.nz_values[idx0];
+                double beta2 = beta*beta + sigma*alpha*alpha;
+                if (beta2 <= 0.0) {
+                    // keep on going so that the workspace is cleaned up
+                    success = false;
+                } else {
+                    beta2 = Math.sqrt(beta2);
+                    double delta = up ? beta/beta2 : beta2/beta;
+                    double gamma = sigma*alpha/(beta2*beta);
+                    L.nz_values[idx0] = delta*L.nz_values[idx0] + (up ? gamma*w[j] : 0.0);
+                    beta = beta2;
+
+                    for (int p = idx0 + 1; p < idx1; p++) {
+                        int row = L.nz_rows[p];
+                        double w1 = w[row];
+                        double w2 = w1 - alpha*L.nz_values[p];
+                        w[row] = w2;
+                        L.nz_values[p] = delta*L.nz_values[p] + gamma*(up ? w1 : w2);
+                    }
+                }
+            }
+
+            // Nothing after this will read w[j]
+            w[j] = 0.0;
+            j = parent == Integer.MAX_VALUE ? -1 : parent;
+        }
+
+        return success;
+    }
+
+    /**
+     * Computes the Cholesky factor of A + C*C<sup>T</sup> in place, where A was decomposed by 'cholesky'. The
+     * rows of C must be in the same order as the matrix which was decomposed.
+     *
+     * @see #update(DMatrixSparseCSC, DMatrixSparseCSC)
+     */
+    public boolean update( CholeskyUpLooking_DSCC cholesky, DMatrixSparseCSC C ) {
+        return update(cholesky.getL(), C);
+    }
+
+    /**
+     * Computes the Cholesky factor of A - C*C<sup>T</sup> in place, where A was decomposed by 'cholesky'. The
+     * rows of C must be in the same order as the matrix which was decomposed.
+     *
+     * @see #downdate(DMatrixSparseCSC, DMatrixSparseCSC)
+     */
+    public boolean downdate( CholeskyUpLooking_DSCC cholesky, DMatrixSparseCSC C ) {
+        return downdate(cholesky.getL(), C);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.interfaces.decomposition.EigenDecomposition_F64;
+import org.ejml.interfaces.decomposition.WhichEigenvalues;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * <p>
+ * Implicitly restarted Arnoldi. Finds a few eigenpairs of a large general square matrix. H is upper
+ * Hessenberg and eigenvalues can be complex. Complex conjugate pairs are used together as a real double shift.
+ * Eigenvectors are only found for real eigenvalues.
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see EigenKrylovBase_DSCC
+ */
+public class EigenArnoldi_DSCC extends EigenKrylovBase_DSCC {
+    EigenDecomposition_F64<DMatrixRMaj> eig = DecompositionFactory_DDRM.eig(20, true, false);
+    DMatrixRMaj Hcopy = new DMatrixRMaj(1, 1);
+
+    // Storage for a complex eigenvector of H
+    DGrowArray gsr = new DGrowArray();
+    DGrowArray gsi = new DGrowArray();
+
+    /**
+     * @param numEigen Number of eigenvalues to find
+     * @param which Which eigenvalues are found
+     */
+    public EigenArnoldi_DSCC( int numEigen, WhichEigenvalues which ) {
+        super(false, numEigen, which);
+    }
+
+    @Override
+    protected boolean computeRitz( int m ) {
+        Hcopy.setTo(H);
+        if (!eig.decompose(Hcopy))
+            return false;
+
+        resizeRitz(m);
+        for (int i = 0; i < m; i++) {
+            Complex_F64 value = eig.getEigenvalue(i);
+            ritzValues.get(i).setTo(value);
+
+            DMatrixRMaj s = value.isReal() ? eig.getEigenVector(i) : null;
+            if (s != null) {
+                ritzVectors.get(i).setTo(s);
+                ritzLast.data[i] = Math.abs(s.data[m - 1])/norm(s.data, m);
+            } else {
+                ritzLast.data[i] = lastElementOfEigenvector(m, value.real, value.imaginary);
+                if (value.isReal()) {
+                    // The eigenvector is found with the same back substitution
+                    DMatrixRMaj v = ritzVectors.get(i);
+                    v.reshape(m, 1);
+                    System.arraycopy(gsr.data, 0, v.data, 0, m);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the eigenvector of the Hessenberg matrix H for eigenvalue (a + b*i) by setting its last
+     * element to one and solving for the others one row at a time, from the bottom up. Returns the magnitude
+     * of the last element once the vector has been normalized.
+     */
+    double lastElementOfEigenvector( int m, double a, double b ) {
+        double[] sr = adjust(gsr, m);
+        double[] si = adjust(gsi, m);
+        sr[m - 1] = 1.0;
+        si[m - 1] = 0.0;
+        double scale = Math.max(1.0, CommonOps_DDRM.elementMaxAbs(H));
+
+        for (int i = m - 1; i >= 1; i--) {
+            // Row i: sum_j (H(i,j) - theta*delta(i,j))*s(j) = 0
+            double tr = 0.0, ti = 0.0;
+            for (int j = i; j < m; j++) {
+                double h = H.unsafe_get(i, j);
+                if (j == i) {
+                    double d = h - a;
+                    tr += d*sr[j] + b*si[j];
+                    ti += d*si[j] - b*sr[j];
+                } else {
+                    tr += h*sr[j];
+                    ti += h*si[j];
+                }
+            }
+            double sub = H.unsafe_get(i, i - 1);
+            if (sub == 0.0) {
+                // H is reducible. If theta is an eigenvalue of the upper block then the last element is zero.
+                // Otherwise the upper part of the vector is ignored, which over estimates the last element.
+                double lowerNorm = 0.0;
+                for (int j = i; j < m; j++) {
+                    lowerNorm += sr[j]*sr[j] + si[j]*si[j];
+                }
+                lowerNorm = Math.sqrt(lowerNorm);
+                if (Math.sqrt(tr*tr + ti*ti) > UtilEjml.TEST_F64*scale*lowerNorm)
+                    return 0.0;
+                return Math.sqrt(sr[m - 1]*sr[m - 1] + si[m - 1]*si[m - 1])/lowerNorm;
+            }
+            sr[i - 1] = -tr/sub;
+            si[i - 1] = -ti/sub;
+
+            // avoid overflow
+            double max = Math.max(Math.abs(sr[i - 1]), Math.abs(si[i - 1]));
+            if (max > UtilEjml.RESCALE_LIMIT) {
+                for (int j = i - 1; j < m; j++) {
+                    sr[j] /= max;
+                    si[j] /= max;
+                }
+            }
+        }
+
+        double norm = 0.0;
+        for (int j = 0; j < m; j++) {
+            norm += sr[j]*sr[j] + si[j]*si[j];
+        }
+        return Math.sqrt(sr[m - 1]*sr[m - 1] + si[m - 1]*si[m - 1])/Math.sqrt(norm);
+    }
+}
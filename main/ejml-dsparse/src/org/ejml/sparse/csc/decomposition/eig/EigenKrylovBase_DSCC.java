@@ -0,0 +1,601 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.interfaces.LinearOperator_F64;
+import org.ejml.interfaces.decomposition.QRDecomposition;
+import org.ejml.interfaces.decomposition.WhichEigenvalues;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * <p>
+ * Base class for implicitly restarted Krylov subspace eigen solvers. They find a few eigenpairs of a large
+ * matrix using only products between the matrix and a vector. An m-step factorization
+ * A*V<sub>m</sub> = V<sub>m</sub>*H<sub>m</sub> + f*e<sub>m</sub><sup>T</sup> is computed, where V<sub>m</sub>
+ * has orthonormal columns and H<sub>m</sub> is small. The eigenpairs of H<sub>m</sub> (Ritz pairs)
+ * approximate the eigenpairs of A. If they haven't converged then the unwanted Ritz values are used as shifts
+ * in implicitly shifted QR steps, which compresses the factorization down to the wanted part. The
+ * factorization is then extended back to m steps and this repeats.
+ * </p>
+ *
+ * <p>
+ * A Ritz pair (&theta;, V*s) has converged once ||f||*|e<sub>m</sub><sup>T</sup>*s| &le;
+ * tolerance*max(|&theta;|, &epsilon;<sup>2/3</sup>), which is the norm of its residual.
+ * </p>
+ *
+ * <p>
+ * D. C. Sorensen, "Implicit Application of Polynomial Filters in a k-Step Arnoldi Method",
+ * SIAM Journal on Matrix Analysis and Applications, 1992
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class EigenKrylovBase_DSCC {
+    /** Relative tolerance used to decide if an eigenpair has converged */
+    public double tolerance = 1e-10;
+
+    /** Maximum number of restarts before it gives up */
+    public int maxRestarts = 500;
+
+    /**
+     * Number of vectors in the Krylov subspace. Must be more than the number of eigenvalues. Larger values
+     * need fewer restarts but use more memory. If &le; 0 then max(2*numEigen+1, 20) is used.
+     */
+    public int numKrylov = 0;
+
+    // If true then H is symmetric tridiagonal, otherwise it's upper Hessenberg
+    protected final boolean symmetric;
+
+    // Number of eigenvalues requested
+    protected int numEigen;
+    protected WhichEigenvalues which;
+
+    protected Random rand = new Random(0xBEEF);
+
+    // Orthonormal basis of the Krylov subspace. Each row is a vector
+    protected DMatrixRMaj V = new DMatrixRMaj(1, 1);
+    // Projection of the operator onto the basis. m x m
+    protected DMatrixRMaj H = new DMatrixRMaj(1, 1);
+    // Residual of the factorization
+    protected DGrowArray gf = new DGrowArray();
+    protected double normF;
+
+    // Ritz values, the last element in their normalized eigenvectors of H, and eigenvectors of H. Eigenvectors
+    // are null when the Ritz value is complex
+    protected List<Complex_F64> ritzValues = new ArrayList<>();
+    protected DGrowArray ritzLast = new DGrowArray();
+    protected List<DMatrixRMaj> ritzVectors = new ArrayList<>();
+    // Indexes of Ritz values sorted so that the wanted ones are first
+    protected Integer[] order = new Integer[0];
+
+    // Found eigenpairs. Eigenvectors are null when the eigenvalue is complex
+    protected List<Complex_F64> eigenvalues = new ArrayList<>();
+    protected List<DMatrixRMaj> eigenvectors = new ArrayList<>();
+    protected int numRestarts;
+    protected int numConverged;
+
+    // Workspace
+    DGrowArray gw = new DGrowArray();
+    DGrowArray gh = new DGrowArray();
+    DMatrixRMaj Q = new DMatrixRMaj(1, 1);
+    DMatrixRMaj Qj = new DMatrixRMaj(1, 1);
+    DMatrixRMaj M = new DMatrixRMaj(1, 1);
+    DMatrixRMaj tmp = new DMatrixRMaj(1, 1);
+    DMatrixRMaj Vtmp = new DMatrixRMaj(1, 1);
+    QRDecomposition<DMatrixRMaj> qr = DecompositionFactory_DDRM.qr();
+
+    protected EigenKrylovBase_DSCC( boolean symmetric, int numEigen, WhichEigenvalues which ) {
+        if (numEigen <= 0)
+            throw new IllegalArgumentException("numEigen must be more than zero");
+        this.symmetric = symmetric;
+        this.numEigen = numEigen;
+        this.which = which;
+    }
+
+    /**
+     * Computes the eigenvalues of H, the last element in their normalized eigenvectors, and the eigenvectors
+     * for real eigenvalues. Results are saved in {@link #ritzValues}, {@link #ritzLast}, and
+     * {@link #ritzVectors}.
+     *
+     * @param m Size of H
+     * @return true if successful
+     */
+    protected abstract boolean computeRitz( int m );
+
+    /**
+     * Finds the eigenvalues of A
+     *
+     * @param A (Input) Square matrix. Not modified.
+     * @return true if all the requested eigenvalues converged
+     */
+    public boolean process( DMatrixSparseCSC A ) {
+        return process(EigenOperators_DSCC.matrix(A));
+    }
+
+    /**
+     * Finds the eigenvalues of A closest to &sigma; using the shift-invert operator (A - &sigma;I)<sup>-1</sup>.
+     * This converges much faster than {@link WhichEigenvalues#SMALLEST_MAGNITUDE}. The selected
+     * {@link WhichEigenvalues} is ignored.
+     *
+     * @param A (Input) Square matrix. Not modified.
+     * @param sigma Eigenvalues closest to this value are found
+     * @param solver (Optional) Solver for A - &sigma;I. If null then LU is used.
+     * @return true if all the requested eigenvalues converged
+     * @see EigenOperators_DSCC#shiftInvert
+     */
+    public boolean processShiftInvert( DMatrixSparseCSC A, double sigma,
+                                       @Nullable LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> solver ) {
+        LinearOperator_F64 op = EigenOperators_DSCC.shiftInvert(A, sigma, solver);
+
+        WhichEigenvalues original = which;
+        which = WhichEigenvalues.LARGEST_MAGNITUDE;
+        boolean success;
+        try {
+            success = process(op);
+        } finally {
+            which = original;
+        }
+
+        // theta = 1/(lambda - sigma)
+        for (int i = 0; i < eigenvalues.size(); i++) {
+            Complex_F64 theta = eigenvalues.get(i);
+            double mag2 = theta.getMagnitude2();
+            theta.setTo(sigma + theta.real/mag2, -theta.imaginary/mag2);
+        }
+        return success;
+    }
+
+    /**
+     * Finds the eigenvalues of a matrix free operator
+     *
+     * @param op (Input) Square operator
+     * @return true if all the requested eigenvalues converged
+     */
+    public boolean process( LinearOperator_F64 op ) {
+        if (op.getNumRows() != op.getNumCols())
+            throw new IllegalArgumentException("Operator must be square");
+        final int N = op.getNumRows();
+        if (numEigen > N)
+            throw new IllegalArgumentException("Requested more eigenvalues than the size of the matrix");
+
+        // There needs to be at least two unwanted Ritz values so that complex conjugates can be removed together
+        int m = numKrylov > 0 ? numKrylov : Math.max(2*numEigen + 1, 20);
+        m = Math.min(N, Math.max(m, numEigen + 2));
+
+        V.reshape(m, N);
+        H.reshape(m, m);
+        H.zero();
+        eigenvalues.clear();
+        eigenvectors.clear();
+        numConverged = 0;
+
+        // random starting vector
+        for (int i = 0; i < N; i++) {
+            V.data[i] = rand.nextDouble() - 0.5;
+        }
+        normalizeRow(V, 0, N);
+
+        extend(op, 0, m);
+        for (numRestarts = 0; ; numRestarts++) {
+            if (!computeRitz(m))
+                return false;
+            sortRitz(m);
+
+            numConverged = 0;
+            for (int i = 0; i < Math.min(numEigen, m); i++) {
+                Complex_F64 theta = ritzValues.get(order[i]);
+                double threshold = tolerance*Math.max(theta.getMagnitude(), Math.pow(UtilEjml.EPS, 2.0/3.0));
+                if (normF*ritzLast.data[order[i]] <= threshold)
+                    numConverged++;
+            }
+
+            // If m == N then the subspace is invariant and the Ritz values are exact
+            if (numConverged >= numEigen || m == N) {
+                saveResults(N, m);
+                return true;
+            }
+
+            int keep = selectNumberToKeep(m);
+            if (numRestarts >= maxRestarts || keep >= m) {
+                saveResults(N, m);
+                return false;
+            }
+
+            applyShifts(m, keep);
+            compress(N, m, keep);
+            extend(op, keep, m);
+        }
+    }
+
+    /**
+     * Extends the Krylov factorization from k0 to k1 vectors
+     */
+    void extend( LinearOperator_F64 op, int k0, int k1 ) {
+        final int N = V.numCols;
+        double[] f = adjust(gf, N);
+        double[] w = adjust(gw, N);
+        double[] h = adjust(gh, k1);
+
+        for (int j = k0; j < k1; j++) {
+            if (j > 0) {
+                // the next basis vector is the normalized residual
+                int offset = j*N;
+                if (normF > UtilEjml.EPS*Math.max(1.0, normH(j))) {
+                    for (int i = 0; i < N; i++) {
+                        V.data[offset + i] = f[i]/normF;
+                    }
+                    H.unsafe_set(j, j - 1, normF);
+                } else {
+                    // An invariant subspace has been found. Continue with a random vector orthogonal to it
+                    for (int i = 0; i < N; i++) {
+                        w[i] = rand.nextDouble() - 0.5;
+                    }
+                    orthogonalize(w, j, h);
+                    orthogonalize(w, j, h);
+                    System.arraycopy(w, 0, V.data, offset, N);
+                    normalizeRow(V, j, N);
+                    H.unsafe_set(j, j - 1, 0.0);
+                }
+            }
+
+            op.mult(rowArray(j, w), f);
+
+            // Orthogonalize against the basis twice to remove round off errors
+            Arrays.fill(h, 0, j + 1, 0.0);
+            orthogonalize(f, j + 1, h);
+            orthogonalize(f, j + 1, h);
+
+            for (int i = 0; i <= j; i++) {
+                H.unsafe_set(i, j, h[i]);
+            }
+            if (symmetric) {
+                // Only the tridiagonal part is kept and it's forced to be symmetric
+                for (int i = 0; i < j - 1; i++) {
+                    H.unsafe_set(i, j, 0.0);
+                }
+                if (j > 0)
+                    H.unsafe_set(j - 1, j, H.unsafe_get(j, j - 1));
+            }
+            normF = norm(f, N);
+        }
+    }
+
+    /**
+     * Copies row j in V into w and returns w
+     */
+    private double[] rowArray( int j, double[] w ) {
+        System.arraycopy(V.data, j*V.numCols, w, 0, V.numCols);
+        return w;
+    }
+
+    /**
+     * Removes the component of f which lies in the first 'numRows' rows of V. The removed components are added
+     * to h.
+     */
+    void orthogonalize( double[] f, int numRows, double[] h ) {
+        final int N = V.numCols;
+        for (int i = 0; i < numRows; i++) {
+            int offset = i*N;
+            double dot = 0.0;
+            for (int k = 0; k < N; k++) {
+                dot += V.data[offset + k]*f[k];
+            }
+            for (int k = 0; k < N; k++) {
+                f[k] -= dot*V.data[offset + k];
+            }
+            h[i] += dot;
+        }
+    }
+
+    /**
+     * Largest absolute value in the first j columns of H
+     */
+    private double normH( int j ) {
+        double max = 0.0;
+        for (int row = 0; row <= j; row++) {
+            for (int col = 0; col < j; col++) {
+                max = Math.max(max, Math.abs(H.unsafe_get(row, col)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Sorts the Ritz values so that the wanted ones are first
+     */
+    void sortRitz( int m ) {
+        if (order.length != m) {
+            order = new Integer[m];
+        }
+        for (int i = 0; i < m; i++) {
+            order[i] = i;
+        }
+
+        Comparator<Integer> comparator;
+        switch (which) {
+            case LARGEST_MAGNITUDE:
+                comparator = ( i, j ) -> Double.compare(
+                        ritzValues.get(j).getMagnitude2(), ritzValues.get(i).getMagnitude2());
+                break;
+            case SMALLEST_MAGNITUDE:
+                comparator = ( i, j ) -> Double.compare(
+                        ritzValues.get(i).getMagnitude2(), ritzValues.get(j).getMagnitude2());
+                break;
+            case LARGEST_REAL:
+                comparator = ( i, j ) -> Double.compare(ritzValues.get(j).real, ritzValues.get(i).real);
+                break;
+            case SMALLEST_REAL:
+                comparator = ( i, j ) -> Double.compare(ritzValues.get(i).real, ritzValues.get(j).real);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown " + which);
+        }
+        // Complex conjugates are next to each other, with the positive imaginary first
+        comparator = comparator.thenComparing(( i, j ) ->
+                Double.compare(ritzValues.get(j).imaginary, ritzValues.get(i).imaginary));
+        Arrays.sort(order, comparator);
+    }
+
+    /**
+     * Selects the number of Ritz values which are kept when restarting. Complex conjugate pairs are not split.
+     */
+    int selectNumberToKeep( int m ) {
+        // Keeping a few extra converged values speeds up convergence of the rest
+        int keep = Math.min(numEigen + numConverged/2, m - 2);
+        keep = Math.max(keep, numEigen);
+
+        // If the last kept value is complex and its conjugate isn't kept then keep the conjugate too
+        if (keep < m) {
+            Complex_F64 last = ritzValues.get(order[keep - 1]);
+            if (last.imaginary > 0.0)
+                keep++;
+        }
+        return keep;
+    }
+
+    /**
+     * Applies the unwanted Ritz values as shifts in QR steps. H = Q'*H*Q
+     */
+    void applyShifts( int m, int keep ) {
+        Q.reshape(m, m);
+        CommonOps_DDRM.setIdentity(Q);
+
+        for (int idx = keep; idx < m; idx++) {
+            Complex_F64 mu = ritzValues.get(order[idx]);
+            if (mu.imaginary < 0.0)
+                continue;
+
+            if (mu.imaginary == 0.0) {
+                // M = H - mu*I
+                M.setTo(H);
+                for (int i = 0; i < m; i++) {
+                    M.unsafe_set(i, i, M.unsafe_get(i, i) - mu.real);
+                }
+            } else {
+                // M = (H - mu*I)*(H - conj(mu)*I) which is real
+                CommonOps_DDRM.mult(H, H, M);
+                CommonOps_DDRM.addEquals(M, -2.0*mu.real, H);
+                double mag2 = mu.getMagnitude2();
+                for (int i = 0; i < m; i++) {
+                    M.unsafe_set(i, i, M.unsafe_get(i, i) + mag2);
+                }
+            }
+
+            // An exact shift makes M singular and the decomposition reports a failure when it encounters a
+            // column of zeros. The reflector for that column is the identity, so Q is still valid.
+            qr.decompose(M);
+            qr.getQ(Qj, false);
+
+            // H = Qj'*H*Qj and Q = Q*Qj
+            CommonOps_DDRM.multTransA(Qj, H, tmp);
+            CommonOps_DDRM.mult(tmp, Qj, H);
+            CommonOps_DDRM.mult(Q, Qj, tmp);
+            Q.setTo(tmp);
+
+            cleanUpH(m);
+        }
+    }
+
+    /**
+     * Zeros elements in H which are zero in exact arithmetic
+     */
+    void cleanUpH( int m ) {
+        for (int row = 0; row < m; row++) {
+            for (int col = 0; col < row - 1; col++) {
+                H.unsafe_set(row, col, 0.0);
+            }
+            if (symmetric) {
+                for (int col = row + 2; col < m; col++) {
+                    H.unsafe_set(row, col, 0.0);
+                }
+                if (row > 0) {
+                    double v = 0.5*(H.unsafe_get(row, row - 1) + H.unsafe_get(row - 1, row));
+                    H.unsafe_set(row, row - 1, v);
+                    H.unsafe_set(row - 1, row, v);
+                }
+            }
+        }
+    }
+
+    /**
+     * After the shifts have been applied, reduce the factorization to the first 'keep' vectors.
+     * V = V*Q(:,0:keep) and f = V*Q(:,keep)*H(keep,keep-1) + f*Q(m-1,keep-1)
+     */
+    void compress( int N, int m, int keep ) {
+        double[] f = gf.data;
+        double beta = H.unsafe_get(keep, keep - 1);
+        double sigma = Q.unsafe_get(m - 1, keep - 1);
+
+        for (int i = 0; i < N; i++) {
+            f[i] *= sigma;
+        }
+        for (int j = 0; j < m; j++) {
+            double scale = beta*Q.unsafe_get(j, keep);
+            int offset = j*N;
+            for (int i = 0; i < N; i++) {
+                f[i] += scale*V.data[offset + i];
+            }
+        }
+        normF = norm(f, N);
+
+        // V(0:keep,:) = Q(:,0:keep)'*V
+        tmp.reshape(m, keep);
+        CommonOps_DDRM.extract(Q, 0, m, 0, keep, tmp, 0, 0);
+        CommonOps_DDRM.multTransA(tmp, V, Vtmp);
+        System.arraycopy(Vtmp.data, 0, V.data, 0, keep*N);
+
+        // Zero the part of H which is no longer used
+        for (int row = 0; row < m; row++) {
+            for (int col = 0; col < m; col++) {
+                if (row >= keep || col >= keep)
+                    H.unsafe_set(row, col, 0.0);
+            }
+        }
+    }
+
+    /**
+     * Saves the wanted eigenpairs. Eigenvectors are only computed for real eigenvalues.
+     */
+    void saveResults( int N, int m ) {
+        eigenvalues.clear();
+        eigenvectors.clear();
+        for (int i = 0; i < Math.min(numEigen, m); i++) {
+            int index = order[i];
+            Complex_F64 value = ritzValues.get(index);
+            eigenvalues.add(new Complex_F64(value.real, value.imaginary));
+
+            DMatrixRMaj s = ritzVectors.get(index);
+            if (!ritzValues.get(index).isReal()) {
+                eigenvectors.add(null);
+                continue;
+            }
+            // x = V'*s
+            DMatrixRMaj x = new DMatrixRMaj(N, 1);
+            CommonOps_DDRM.multTransA(V, s, x);
+            CommonOps_DDRM.divide(x, norm(x.data, N));
+            eigenvectors.add(x);
+        }
+    }
+
+    /**
+     * Resizes the storage for Ritz values
+     */
+    protected void resizeRitz( int m ) {
+        while (ritzValues.size() < m) {
+            ritzValues.add(new Complex_F64());
+            ritzVectors.add(new DMatrixRMaj(1, 1));
+        }
+        while (ritzValues.size() > m) {
+            ritzValues.remove(ritzValues.size() - 1);
+            ritzVectors.remove(ritzVectors.size() - 1);
+        }
+        ritzLast.reshape(m);
+    }
+
+    static void normalizeRow( DMatrixRMaj V, int row, int N ) {
+        int offset = row*N;
+        double norm = 0.0;
+        for (int i = 0; i < N; i++) {
+            double v = V.data[offset + i];
+            norm += v*v;
+        }
+        norm = Math.sqrt(norm);
+        for (int i = 0; i < N; i++) {
+            V.data[offset + i] /= norm;
+        }
+    }
+
+    static double norm( double[] a, int length ) {
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            sum += a[i]*a[i];
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * Number of eigenvalues found. Less than requested if it didn't converge.
+     */
+    public int getNumberOfEigenvalues() {
+        return eigenvalues.size();
+    }
+
+    /**
+     * Returns an eigenvalue. They are sorted by {@link WhichEigenvalues}, or by their distance from &sigma;
+     * if shift-invert is used.
+     */
+    public Complex_F64 getEigenvalue( int index ) {
+        return eigenvalues.get(index);
+    }
+
+    /**
+     * Returns the normalized eigenvector for an eigenvalue or null if the eigenvalue is complex
+     */
+    @SuppressWarnings("NullAway")
+    public @Nullable DMatrixRMaj getEigenVector( int index ) {
+        return eigenvectors.get(index);
+    }
+
+    /** Number of restarts in the most recent call to process */
+    public int getNumRestarts() {
+        return numRestarts;
+    }
+
+    /** Number of the requested eigenvalues which converged */
+    public int getNumConverged() {
+        return numConverged;
+    }
+
+    public WhichEigenvalues getWhich() {
+        return which;
+    }
+
+    public void setWhich( WhichEigenvalues which ) {
+        this.which = which;
+    }
+
+    public int getNumEigen() {
+        return numEigen;
+    }
+
+    public void setNumEigen( int numEigen ) {
+        this.numEigen = numEigen;
+    }
+
+    /** Specifies the seed for the random initial vector */
+    public void setSeed( long seed ) {
+        this.rand = new Random(seed);
+    }
+}
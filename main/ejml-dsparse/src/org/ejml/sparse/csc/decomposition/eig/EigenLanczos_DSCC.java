@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.interfaces.decomposition.EigenDecomposition_F64;
+import org.ejml.interfaces.decomposition.WhichEigenvalues;
+
+/**
+ * <p>
+ * Implicitly restarted Lanczos. Finds a few eigenpairs of a large symmetric matrix. H is then a symmetric
+ * tridiagonal matrix and all the eigenvalues are real. The basis is fully reorthogonalized, which avoids
+ * spurious copies of eigenvalues at the cost of O(m*N) operations per iteration.
+ * </p>
+ *
+ * <p>
+ * The matrix is assumed to be symmetric and this isn't checked. Use {@link EigenArnoldi_DSCC} if it's not.
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see EigenKrylovBase_DSCC
+ */
+public class EigenLanczos_DSCC extends EigenKrylovBase_DSCC {
+    EigenDecomposition_F64<DMatrixRMaj> eig = DecompositionFactory_DDRM.eig(20, true, true);
+    DMatrixRMaj T = new DMatrixRMaj(1, 1);
+
+    /**
+     * @param numEigen Number of eigenvalues to find
+     * @param which Which eigenvalues are found
+     */
+    public EigenLanczos_DSCC( int numEigen, WhichEigenvalues which ) {
+        super(true, numEigen, which);
+    }
+
+    @Override
+    protected boolean computeRitz( int m ) {
+        T.setTo(H);
+        if (!eig.decompose(T))
+            return false;
+
+        resizeRitz(m);
+        for (int i = 0; i < m; i++) {
+            ritzValues.get(i).setTo(eig.getEigenvalue(i).real, 0.0);
+
+            DMatrixRMaj s = ritzVectors.get(i);
+            s.setTo(eig.getEigenVector(i));
+            double norm = norm(s.data, m);
+            ritzLast.data[i] = Math.abs(s.data[m - 1])/norm;
+        }
+        return true;
+    }
+}
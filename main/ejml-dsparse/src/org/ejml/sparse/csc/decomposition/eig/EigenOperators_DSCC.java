@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.LinearOperator_F64;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.factory.LinearSolverFactory_DSCC;
+import org.ejml.sparse.csc.mult.MatrixVectorMult_DSCC;
+import org.ejml.sparse.csc.mult.MatrixVectorMult_MT_DSCC;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Creates {@link LinearOperator_F64} from sparse matrices for use in Krylov subspace eigen solvers
+ *
+ * @author Peter Abeles
+ */
+public class EigenOperators_DSCC {
+    /**
+     * Operator which multiplies a vector by A. A concurrent implementation is used if A is large enough.
+     */
+    public static LinearOperator_F64 matrix( DMatrixSparseCSC A ) {
+        final GrowArray<DGrowArray> workspace = new GrowArray<>(DGrowArray::new);
+        return new LinearOperator_F64() {
+            @Override public int getNumRows() {return A.numRows;}
+
+            @Override public int getNumCols() {return A.numCols;}
+
+            @Override public void mult( double[] x, double[] y ) {
+                if (EjmlConcurrency.useConcurrent(A)) {
+                    MatrixVectorMult_MT_DSCC.mult(A, x, 0, y, 0, workspace);
+                } else {
+                    MatrixVectorMult_DSCC.mult(A, x, 0, y, 0);
+                }
+            }
+        };
+    }
+
+    /**
+     * <p>
+     * Shift-invert operator, (A - &sigma;I)<sup>-1</sup>. The eigenvalues of A closest to &sigma; are the
+     * largest eigenvalues of this operator, &theta; = 1/(&lambda; - &sigma;). A - &sigma;I is decomposed
+     * once and each product is a solve.
+     * </p>
+     *
+     * @param A (Input) Square matrix. Not modified.
+     * @param sigma The shift
+     * @param solver (Optional) Solver for A - &sigma;I. A Cholesky solver can be used if A - &sigma;I is positive
+     * definite. If null then LU with a fill reducing permutation is used.
+     * @throws IllegalArgumentException If the decomposition fails, which happens when &sigma; is an eigenvalue
+     */
+    public static LinearOperator_F64 shiftInvert( DMatrixSparseCSC A, double sigma,
+                                                  @Nullable LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> solver ) {
+        if (A.numRows != A.numCols)
+            throw new IllegalArgumentException("A must be square");
+        if (solver == null)
+            solver = LinearSolverFactory_DSCC.lu(FillReducing.AMD);
+
+        final int N = A.numRows;
+        DMatrixSparseCSC shifted = CommonOps_DSCC.add(1.0, A, -sigma, CommonOps_DSCC.identity(N), null, null, null);
+        if (!solver.setA(shifted))
+            throw new IllegalArgumentException("Failed to decompose A - sigma*I. sigma might be an eigenvalue.");
+
+        final LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> _solver = solver;
+        final DMatrixRMaj b = new DMatrixRMaj(N, 1);
+        final DMatrixRMaj x = new DMatrixRMaj(N, 1);
+        return new LinearOperator_F64() {
+            @Override public int getNumRows() {return N;}
+
+            @Override public int getNumCols() {return N;}
+
+            @Override public void mult( double[] input, double[] output ) {
+                System.arraycopy(input, 0, b.data, 0, N);
+                _solver.solve(b, x);
+                System.arraycopy(x.data, 0, output, 0, N);
+            }
+        };
+    }
+}
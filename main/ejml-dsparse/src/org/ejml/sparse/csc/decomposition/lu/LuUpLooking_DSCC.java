@@ -24,6 +24,7 @@ import org.ejml.data.DMatrixSparseCSC;
 import org.ejml.data.IGrowArray;
 import org.ejml.interfaces.decomposition.LUSparseDecomposition_F64;
 import org.ejml.sparse.ComputePermutation;
+import org.ejml.sparse.SparseSymbolicAnalysis;
 import org.ejml.sparse.csc.CommonOps_DSCC;
 import org.ejml.sparse.csc.misc.ApplyFillReductionPermutation_DSCC;
 import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
@@ -57,6 +58,11 @@ public class LuUpLooking_DSCC
 
     // true if a singular matrix is detected
     private boolean singular;
+    // true if it has successfully decomposed a matrix
+    private boolean decomposed;
+
+    // If not null then the fill reducing permutation and size of L and U are taken from here
+    private @Nullable SparseSymbolicAnalysis analysis;
 
     public LuUpLooking_DSCC( @Nullable ComputePermutation<DMatrixSparseCSC> reduceFill ) {
         this.applyReduce = new ApplyFillReductionPermutation_DSCC(reduceFill, false);
@@ -64,18 +70,22 @@ public class LuUpLooking_DSCC
 
     @Override
     public boolean decompose( DMatrixSparseCSC A ) {
+        if (analysis != null)
+            analysis.checkCompatible(A);
         initialize(A);
-        return performLU(applyReduce.apply(A));
+        decomposed = performLU(applyReduce.apply(A));
+        return decomposed;
     }
 
     private void initialize( DMatrixSparseCSC A ) {
         int m = A.numRows;
         int n = A.numCols;
         int o = Math.min(m, n);
-        // number of non-zero elements can only be easily estimated because of pivots
-        L.reshape(m, m, 4*A.nz_length + o);
+        // number of non-zero elements can only be easily estimated because of pivots. The analysis has the
+        // number from a previous decomposition. Extra space is needed to avoid growing the last column
+        L.reshape(m, m, analysis == null ? 4*A.nz_length + o : analysis.nz_L + m);
         L.nz_length = 0;
-        U.reshape(m, n, 4*A.nz_length + o);
+        U.reshape(m, n, analysis == null ? 4*A.nz_length + o : analysis.nz_U + n);
         U.nz_length = 0;
 
         singular = false;
@@ -93,7 +103,6 @@ public class LuUpLooking_DSCC
     private boolean performLU( DMatrixSparseCSC A ) {
         int m = A.numRows;
         int n = A.numCols;
-        int[] q = applyReduce.getArrayP();
 
         int[] w = UtilEjml.adjust(gw, m*2, m);
 
@@ -109,8 +118,7 @@ public class LuUpLooking_DSCC
             if (U.nz_length + n > U.nz_values.length)
                 U.growMaxLength(2*U.nz_values.length + n, true);
 
-            int col = q != null ? q[k] : k;
-            int top = TriangularSolver_DSCC.solveColB(L, true, A, col, x, pinv, gxi, w);
+            int top = TriangularSolver_DSCC.solveColB(L, true, A, k, x, pinv, gxi, w);
             int[] xi = gxi.data;
 
             //--------- Find the Next Pivot. That will be the row with the largest value
@@ -166,6 +174,15 @@ public class LuUpLooking_DSCC
             L.nz_rows[p] = pinv[L.nz_rows[p]];
         }
 
+        // Combine the fill reducing row permutation with the row pivots so that pinv is relative to the input matrix
+        int[] pinvFill = applyReduce.getArrayPinv();
+        if (pinvFill != null) {
+            System.arraycopy(pinv, 0, w, 0, m);
+            for (int i = 0; i < m; i++) {
+                pinv[i] = w[pinvFill[i]];
+            }
+        }
+
 //        System.out.println("  reduce "+(reduceFill!=null));
 //        System.out.print("  pinv[ ");
 //        for (int i = 0; i < A.numCols; i++) {
@@ -181,6 +198,9 @@ public class LuUpLooking_DSCC
         // see dense algorithm. There is probably a faster way to compute the sign while decomposing
         // the matrix.
         double value = permutationSign(pinv, U.numCols, gw.data);
+        int[] q = applyReduce.getArrayQ();
+        if (q != null)
+            value *= permutationSign(q, U.numCols, gw.data);
         for (int i = 0; i < U.numCols; i++) {
             value *= U.nz_values[U.col_idx[i + 1] - 1];
         }
@@ -248,7 +268,7 @@ public class LuUpLooking_DSCC
     }
 
     public boolean isReduceFill() {
-        return applyReduce.isApplied();
+        return applyReduce.getArrayQ() != null;
     }
 
     public ComputePermutation<DMatrixSparseCSC> getReduceFill() {
@@ -258,13 +278,55 @@ public class LuUpLooking_DSCC
         return ret;
     }
 
+    /**
+     * Returns the fill reducing column permutation. Row permutations are included in {@link #getPinv()}.
+     */
     public int[] getReducePermutation() {
-        int[] ret = applyReduce.getArrayP();
+        int[] ret = applyReduce.getArrayQ();
         if (ret == null)
             throw new RuntimeException("Check to see if there is any fill reduce ordering to apply first");
         return ret;
     }
 
+    /**
+     * Saves the symbolic analysis of the most recently decomposed matrix. Since the row pivots depend on
+     * the numerical values, only the fill reducing permutation and the number of non-zero elements in L
+     * and U are saved.
+     *
+     * @param output (Optional) Storage for the output. If null a new instance is created
+     * @return The symbolic analysis
+     */
+    public SparseSymbolicAnalysis getSymbolicAnalysis( @Nullable SparseSymbolicAnalysis output ) {
+        if (!decomposed)
+            throw new IllegalArgumentException("Must successfully decompose a matrix first");
+        if (output == null)
+            output = new SparseSymbolicAnalysis(SparseSymbolicAnalysis.Type.LU);
+        output.type = SparseSymbolicAnalysis.Type.LU;
+        output.numRows = L.numRows;
+        output.numCols = U.numCols;
+        output.fillRow = SparseSymbolicAnalysis.copy(applyReduce.getArrayP(), L.numRows);
+        output.fillCol = SparseSymbolicAnalysis.copy(applyReduce.getArrayQ(), U.numCols);
+        output.nz_L = L.nz_length;
+        output.nz_U = U.nz_length;
+        return output;
+    }
+
+    /**
+     * Specifies a symbolic analysis which is used instead of computing the fill reducing permutation. The analysis
+     * is not modified and can be shared between multiple decompositions.
+     *
+     * @param analysis Symbolic analysis or null to compute the fill reducing permutation as usual
+     */
+    public void setSymbolicAnalysis( @Nullable SparseSymbolicAnalysis analysis ) {
+        if (analysis == null) {
+            applyReduce.clearFixedPermutation();
+        } else {
+            analysis.checkType(SparseSymbolicAnalysis.Type.LU);
+            applyReduce.setFixedPermutation(analysis.fillRow, analysis.fillCol);
+        }
+        this.analysis = analysis;
+    }
+
     @Override
     public void setStructureLocked( boolean locked ) {
         if (locked)
@@ -26,6 +26,8 @@ import org.ejml.sparse.csc.CommonOps_DSCC;
 import org.ejml.sparse.csc.misc.ImplCommonOps_DSCC;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+
 /**
  * Functions used with a sparse QR decomposition
  *
@@ -63,6 +65,47 @@ public class QrHelperFunctions_DSCC {
         }
     }
 
+    /**
+     * Applies a sparse Householder vector to a panel of dense vectors stored in a row-major format.
+     * <pre>
+     * X = X - v*(beta*v<sup>T</sup>*X)
+     * </pre>
+     *
+     * @param V (Input) Matrix containing the Householder
+     * @param colV Column in V with the Householder vector
+     * @param beta The beta value
+     * @param X (Input and Output) Panel with 'width' columns
+     * @param width Number of columns in the panel
+     * @param tau (Output) Workspace. Must have at least 'width' elements.
+     */
+    public static void applyHouseholder( DMatrixSparseCSC V, int colV, double beta,
+                                         double[] X, int width, double[] tau ) {
+        int idx0 = V.col_idx[colV];
+        int idx1 = V.col_idx[colV + 1];
+
+        // Compute tau = v'*X
+        Arrays.fill(tau, 0, width, 0.0);
+        for (int p = idx0; p < idx1; p++) {
+            int indexRow = V.nz_rows[p]*width;
+            double v = V.nz_values[p];
+            for (int k = 0; k < width; k++) {
+                tau[k] += v*X[indexRow + k];
+            }
+        }
+        for (int k = 0; k < width; k++) {
+            tau[k] *= beta;
+        }
+
+        // X = X - v*tau
+        for (int p = idx0; p < idx1; p++) {
+            int indexRow = V.nz_rows[p]*width;
+            double v = V.nz_values[p];
+            for (int k = 0; k < width; k++) {
+                X[indexRow + k] -= v*tau[k];
+            }
+        }
+    }
+
     /**
      * <p>
      * Performs a rank-1 update operation on the submatrix specified by V with the multiply on the right.<br>
@@ -25,6 +25,7 @@ import org.ejml.data.IGrowArray;
 import org.ejml.dense.row.decomposition.qr.QrHelperFunctions_DDRM;
 import org.ejml.interfaces.decomposition.QRSparseDecomposition;
 import org.ejml.sparse.ComputePermutation;
+import org.ejml.sparse.SparseSymbolicAnalysis;
 import org.ejml.sparse.csc.CommonOps_DSCC;
 import org.ejml.sparse.csc.misc.ApplyFillReductionPermutation_DSCC;
 import org.ejml.sparse.csc.mult.ImplMultiplication_DSCC;
@@ -69,6 +70,11 @@ public class QrLeftLookingDecomposition_DSCC implements
     // if true then the structure is locked and won't be computed again
     private boolean locked = false;
 
+    // If not null then the symbolic step is skipped and this is used instead
+    private @Nullable SparseSymbolicAnalysis analysis;
+    // true if the analysis has been applied
+    private boolean analysisApplied = false;
+
     public QrLeftLookingDecomposition_DSCC( @Nullable ComputePermutation<DMatrixSparseCSC> permutation ) {
         this.applyReduce = new ApplyFillReductionPermutation_DSCC(permutation, false);
 
@@ -78,9 +84,18 @@ public class QrLeftLookingDecomposition_DSCC implements
 
     @Override
     public boolean decompose( DMatrixSparseCSC A ) {
+        if (analysis != null)
+            analysis.checkCompatible(A);
+
         DMatrixSparseCSC C = applyReduce.apply(A);
 
-        if (!decomposed || !locked) {
+        if (analysis != null) {
+            if (!analysisApplied) {
+                structure.setTo(analysis);
+                initializeDecomposition(C);
+                analysisApplied = true;
+            }
+        } else if (!decomposed || !locked) {
             // compute the structure of V and R
             if (!structure.process(C))
                 return false;
@@ -98,7 +113,6 @@ public class QrLeftLookingDecomposition_DSCC implements
 
     private void performDecomposition( DMatrixSparseCSC A ) {
         int[] w = gwork.data;
-        int[] permCol = applyReduce.getArrayQ();
         int[] parent = structure.getParent();
         int[] leftmost = structure.getLeftMost();
         // permutation that was done to ensure all rows have non-zero elements
@@ -120,10 +134,8 @@ public class QrLeftLookingDecomposition_DSCC implements
             w[k] = k;
             V.nz_rows[V.nz_length++] = k;                       // Add V(k,k) to V's pattern
             int top = n;
-            int col = permCol != null ? permCol[k] : k;
-
-            int idx0 = A.col_idx[col];
-            int idx1 = A.col_idx[col + 1];
+            int idx0 = A.col_idx[k];
+            int idx1 = A.col_idx[k + 1];
 
             for (int p = idx0; p < idx1; p++) {
                 int i = leftmost[A.nz_rows[p]];
@@ -272,21 +284,72 @@ public class QrLeftLookingDecomposition_DSCC implements
         return beta[index];
     }
 
+    /**
+     * Returns the fill reducing column permutation
+     */
     public int[] getFillPermutation() {
-        int[] ret = applyReduce.getArrayP();
+        int[] ret = applyReduce.getArrayQ();
         if (ret == null)
             throw new RuntimeException("No permutation. Should have called isFillPermuted()");
         return ret;
     }
 
+    /**
+     * Returns the inverse of the fill reducing row permutation or null if the rows were not permuted
+     */
+    public @Nullable int[] getFillRowPinv() {
+        return applyReduce.getArrayPinv();
+    }
+
+    /**
+     * Returns true if there is a fill reducing column permutation
+     */
     public boolean isFillPermutated() {
-        return applyReduce.isApplied();
+        return applyReduce.getArrayQ() != null;
     }
 
     public boolean isSingular() {
         return singular;
     }
 
+    /**
+     * Saves the symbolic analysis of the most recently decomposed matrix. It can then be used to skip the
+     * symbolic step when a matrix with the same structure is decomposed.
+     *
+     * @param output (Optional) Storage for the output. If null a new instance is created
+     * @return The symbolic analysis
+     */
+    public SparseSymbolicAnalysis getSymbolicAnalysis( @Nullable SparseSymbolicAnalysis output ) {
+        if (!decomposed)
+            throw new IllegalArgumentException("Must successfully decompose a matrix first");
+        if (output == null)
+            output = new SparseSymbolicAnalysis(SparseSymbolicAnalysis.Type.QR);
+        output.type = SparseSymbolicAnalysis.Type.QR;
+        output.numRows = m;
+        output.numCols = n;
+        output.fillRow = SparseSymbolicAnalysis.copy(applyReduce.getArrayP(), m);
+        output.fillCol = SparseSymbolicAnalysis.copy(applyReduce.getArrayQ(), n);
+        structure.saveTo(output);
+        return output;
+    }
+
+    /**
+     * Specifies a symbolic analysis which is used instead of computing the fill reducing permutation and
+     * the structure of V and R. The analysis is not modified and can be shared between multiple decompositions.
+     *
+     * @param analysis Symbolic analysis or null to compute the symbolic step as usual
+     */
+    public void setSymbolicAnalysis( @Nullable SparseSymbolicAnalysis analysis ) {
+        if (analysis == null) {
+            applyReduce.clearFixedPermutation();
+        } else {
+            analysis.checkType(SparseSymbolicAnalysis.Type.QR);
+            applyReduce.setFixedPermutation(analysis.fillRow, analysis.fillCol);
+        }
+        this.analysis = analysis;
+        this.analysisApplied = false;
+    }
+
     @Override
     public void setStructureLocked( boolean locked ) {
         this.locked = locked;
@@ -20,6 +20,7 @@ package org.ejml.sparse.csc.decomposition.qr;
 
 import org.ejml.data.DMatrixSparseCSC;
 import org.ejml.data.IGrowArray;
+import org.ejml.sparse.SparseSymbolicAnalysis;
 import org.ejml.sparse.csc.misc.ColumnCounts_DSCC;
 import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
 
@@ -85,13 +86,49 @@ public class QrStructuralCounts_DSCC {
         return true;
     }
 
+    /**
+     * Sets the structure to what was previously computed instead of examining a matrix
+     *
+     * @param analysis Symbolic analysis for QR. Not modified.
+     */
+    public void setTo( SparseSymbolicAnalysis analysis ) {
+        init(analysis.numRows, analysis.numCols);
+
+        System.arraycopy(analysis.parent, 0, parent, 0, n);
+        System.arraycopy(analysis.post, 0, post, 0, n);
+        System.arraycopy(analysis.counts, 0, countsR, 0, n);
+        System.arraycopy(analysis.leftmost, 0, leftmost, 0, m);
+        System.arraycopy(analysis.pinvStructure, 0, pinv, 0, analysis.numRowsStructure);
+        m2 = analysis.numRowsStructure;
+        nz_in_V = analysis.nz_L;
+        nz_in_R = analysis.nz_U;
+    }
+
+    /**
+     * Saves the structure into the symbolic analysis
+     */
+    public void saveTo( SparseSymbolicAnalysis analysis ) {
+        analysis.parent = SparseSymbolicAnalysis.copy(parent, n, analysis.parent);
+        analysis.post = SparseSymbolicAnalysis.copy(post, n, analysis.post);
+        analysis.counts = SparseSymbolicAnalysis.copy(countsR, n, analysis.counts);
+        analysis.leftmost = SparseSymbolicAnalysis.copy(leftmost, m, analysis.leftmost);
+        analysis.pinvStructure = SparseSymbolicAnalysis.copy(pinv, m2, analysis.pinvStructure);
+        analysis.numRowsStructure = m2;
+        analysis.nz_L = nz_in_V;
+        analysis.nz_U = nz_in_R;
+    }
+
     /**
      * Initializes data structures
      */
     void init( DMatrixSparseCSC A ) {
         this.A = A;
-        this.m = A.numRows;
-        this.n = A.numCols;
+        init(A.numRows, A.numCols);
+    }
+
+    private void init( int m, int n ) {
+        this.m = m;
+        this.n = n;
 
         this.next = 0;
         this.head = m;
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.svd;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.decomposition.svd.SvdRandomizedBase_DDRM;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.CommonOps_MT_DSCC;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+/**
+ * Randomized truncated SVD for sparse matrices. The singular vectors are computed as dense matrices and
+ * converted into sparse matrices when requested. See {@link SvdRandomizedBase_DDRM} for details.
+ *
+ * @author Peter Abeles
+ */
+public class SvdRandomized_DSCC extends SvdRandomizedBase_DDRM<DMatrixSparseCSC> {
+    // Workspace for multiplication
+    DGrowArray workspace = new DGrowArray();
+    GrowArray<DGrowArray> workspaceMT = new GrowArray<>(DGrowArray::new);
+
+    public SvdRandomized_DSCC( int numSingular, int oversample, int powerIterations ) {
+        super(numSingular, oversample, powerIterations);
+    }
+
+    @Override protected void multA( DMatrixSparseCSC A, DMatrixRMaj X, DMatrixRMaj output ) {
+        if (EjmlConcurrency.useConcurrent(A))
+            CommonOps_MT_DSCC.mult(A, X, output, workspaceMT);
+        else
+            CommonOps_DSCC.mult(A, X, output);
+    }
+
+    @Override protected void multTransA( DMatrixSparseCSC A, DMatrixRMaj X, DMatrixRMaj output ) {
+        if (EjmlConcurrency.useConcurrent(A))
+            CommonOps_MT_DSCC.multTransA(A, X, output, workspaceMT);
+        else
+            CommonOps_DSCC.multTransA(A, X, output, workspace);
+    }
+
+    @Override protected DMatrixSparseCSC convert( DMatrixRMaj src, @Nullable DMatrixSparseCSC dst ) {
+        return DConvertMatrixStruct.convert(src, dst, 0.0);
+    }
+}
@@ -22,10 +22,15 @@ import org.ejml.data.DMatrixSparseCSC;
 import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
 import org.ejml.interfaces.decomposition.LUSparseDecomposition_F64;
 import org.ejml.interfaces.decomposition.QRSparseDecomposition;
+import org.ejml.interfaces.decomposition.WhichEigenvalues;
 import org.ejml.sparse.ComputePermutation;
 import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.decomposition.chol.CholeskySupernodal_DSCC;
 import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
+import org.ejml.sparse.csc.decomposition.eig.EigenArnoldi_DSCC;
+import org.ejml.sparse.csc.decomposition.eig.EigenLanczos_DSCC;
 import org.ejml.sparse.csc.decomposition.lu.LuUpLooking_DSCC;
+import org.ejml.sparse.csc.decomposition.svd.SvdRandomized_DSCC;
 import org.ejml.sparse.csc.decomposition.qr.QrLeftLookingDecomposition_DSCC;
 
 /**
@@ -38,6 +43,16 @@ public class DecompositionFactory_DSCC {
         return new CholeskyUpLooking_DSCC();
     }
 
+    /**
+     * Creates a Cholesky decomposition.
+     *
+     * @param supernodal If true a supernodal algorithm is used, which is faster when the factor has large
+     * dense blocks. Otherwise an up looking algorithm is used, which is better for very sparse matrices.
+     */
+    public static CholeskySparseDecomposition_F64 cholesky( boolean supernodal ) {
+        return supernodal ? new CholeskySupernodal_DSCC() : new CholeskyUpLooking_DSCC();
+    }
+
     public static QRSparseDecomposition<DMatrixSparseCSC> qr(FillReducing permutation) {
         ComputePermutation<DMatrixSparseCSC> cp = FillReductionFactory_DSCC.create(permutation);
         return new QrLeftLookingDecomposition_DSCC(cp);
@@ -47,4 +62,43 @@ public class DecompositionFactory_DSCC {
         ComputePermutation<DMatrixSparseCSC> cp = FillReductionFactory_DSCC.create(permutation);
         return new LuUpLooking_DSCC(cp);
     }
+
+    /**
+     * Creates an implicitly restarted Lanczos eigen solver for symmetric matrices. Only a few eigenvalues
+     * are computed.
+     *
+     * @param numEigen Number of eigenvalues which are computed
+     * @param which Which eigenvalues are computed
+     */
+    public static EigenLanczos_DSCC eigenSymmetric( int numEigen, WhichEigenvalues which ) {
+        return new EigenLanczos_DSCC(numEigen, which);
+    }
+
+    /**
+     * Creates an implicitly restarted Arnoldi eigen solver for general square matrices. Only a few
+     * eigenvalues are computed.
+     *
+     * @param numEigen Number of eigenvalues which are computed
+     * @param which Which eigenvalues are computed
+     */
+    public static EigenArnoldi_DSCC eigenGeneral( int numEigen, WhichEigenvalues which ) {
+        return new EigenArnoldi_DSCC(numEigen, which);
+    }
+
+    /**
+     * Creates a truncated SVD which only computes the largest singular values using a randomized algorithm.
+     * The singular vectors are dense.
+     *
+     * @param numSingular Number of singular values which are computed.
+     * @param oversample Number of extra random samples. Larger values improve accuracy. If not sure set to 10.
+     * @param powerIterations Number of power iterations. Improves accuracy when singular values decay slowly.
+     * If not sure set to 2.
+     */
+    public static SvdRandomized_DSCC svdTruncated( int numSingular, int oversample, int powerIterations ) {
+        return new SvdRandomized_DSCC(numSingular, oversample, powerIterations);
+    }
+
+    public static SvdRandomized_DSCC svdTruncated( int numSingular ) {
+        return svdTruncated(numSingular, 10, 2);
+    }
 }
@@ -23,6 +23,7 @@ import org.ejml.data.DMatrixSparseCSC;
 import org.ejml.data.IGrowArray;
 import org.ejml.sparse.ComputePermutation;
 import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.misc.ApproximateMinimumDegree_DSCC;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Random;
@@ -44,6 +45,28 @@ public class FillReductionFactory_DSCC {
             case NONE:
                 return null;
 
+            case AMD:
+                return new ComputePermutation<>(false, true) {
+                    final ApproximateMinimumDegree_DSCC amd = new ApproximateMinimumDegree_DSCC();
+
+                    @Override
+                    @SuppressWarnings("NullAway") // constructor parameters ensures these are not null
+                    public void process(DMatrixSparseCSC m) {
+                        amd.orderSymmetric(m, pcol);
+                    }
+                };
+
+            case COLAMD:
+                return new ComputePermutation<>(false, true) {
+                    final ApproximateMinimumDegree_DSCC amd = new ApproximateMinimumDegree_DSCC();
+
+                    @Override
+                    @SuppressWarnings("NullAway") // constructor parameters ensures these are not null
+                    public void process(DMatrixSparseCSC m) {
+                        amd.orderColumns(m, pcol);
+                    }
+                };
+
             case RANDOM:
                 return new ComputePermutation<>(true, true) {
                     @Override
@@ -27,8 +27,10 @@ import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
 import org.ejml.sparse.csc.decomposition.lu.LuUpLooking_DSCC;
 import org.ejml.sparse.csc.decomposition.qr.QrLeftLookingDecomposition_DSCC;
 import org.ejml.sparse.csc.linsol.chol.LinearSolverCholesky_DSCC;
+import org.ejml.sparse.csc.linsol.iterative.*;
 import org.ejml.sparse.csc.linsol.lu.LinearSolverLu_DSCC;
 import org.ejml.sparse.csc.linsol.qr.LinearSolverQrLeftLooking_DSCC;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Factory for sparse linear solvers
@@ -37,8 +39,19 @@ import org.ejml.sparse.csc.linsol.qr.LinearSolverQrLeftLooking_DSCC;
  */
 public class LinearSolverFactory_DSCC {
     public static LinearSolverSparse<DMatrixSparseCSC,DMatrixRMaj> cholesky(FillReducing permutation) {
+        return cholesky(permutation, false);
+    }
+
+    /**
+     * Creates a linear solver using Cholesky decomposition
+     *
+     * @param permutation Fill reducing permutation
+     * @param supernodal If true the supernodal Cholesky decomposition is used. This is faster when L has large
+     * dense blocks, e.g. from 2D or 3D meshes.
+     */
+    public static LinearSolverSparse<DMatrixSparseCSC,DMatrixRMaj> cholesky(FillReducing permutation, boolean supernodal) {
         ComputePermutation<DMatrixSparseCSC> cp = FillReductionFactory_DSCC.create(permutation);
-        CholeskyUpLooking_DSCC chol = (CholeskyUpLooking_DSCC)DecompositionFactory_DSCC.cholesky();
+        CholeskyUpLooking_DSCC chol = (CholeskyUpLooking_DSCC)DecompositionFactory_DSCC.cholesky(supernodal);
         return new LinearSolverCholesky_DSCC(chol,cp);
     }
 
@@ -53,4 +66,42 @@ public class LinearSolverFactory_DSCC {
         LuUpLooking_DSCC lu = new LuUpLooking_DSCC(cp);
         return new LinearSolverLu_DSCC(lu);
     }
+
+    /**
+     * Creates an iterative Conjugate Gradient solver. Only for symmetric positive definite matrices.
+     *
+     * @param preconditioner (Optional) Preconditioner, e.g. {@link PreconditionerIncompleteCholesky_DSCC}.
+     * If null then none is used.
+     */
+    public static LinearSolverIterative_DSCC conjugateGradient( @Nullable Preconditioner_DSCC preconditioner ) {
+        return new LinearSolverConjugateGradient_DSCC(preconditioner);
+    }
+
+    /**
+     * Creates an iterative BiCGSTAB solver for general square matrices.
+     *
+     * @param preconditioner (Optional) Preconditioner, e.g. {@link PreconditionerIncompleteLU_DSCC}.
+     * If null then none is used.
+     */
+    public static LinearSolverIterative_DSCC bicgstab( @Nullable Preconditioner_DSCC preconditioner ) {
+        return new LinearSolverBiCGStab_DSCC(preconditioner);
+    }
+
+    /**
+     * Creates an iterative restarted GMRES solver for general square matrices.
+     *
+     * @param restart Number of iterations before it restarts. Memory grows linearly with this value. Try 30.
+     * @param preconditioner (Optional) Preconditioner, e.g. {@link PreconditionerIncompleteLU_DSCC}.
+     * If null then none is used.
+     */
+    public static LinearSolverIterative_DSCC gmres( int restart, @Nullable Preconditioner_DSCC preconditioner ) {
+        return new LinearSolverGmres_DSCC(restart, preconditioner);
+    }
+
+    /**
+     * Creates an iterative LSQR solver. Solves least-squares problems for any shape of matrix.
+     */
+    public static LinearSolverIterative_DSCC lsqr() {
+        return new LinearSolverLsqr_DSCC();
+    }
 }
@@ -0,0 +1,692 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.graph;
+
+import org.ejml.MatrixDimensionException;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DVectorSparse;
+import org.ejml.data.IGrowArray;
+import org.ejml.masks.DMaskFactory;
+import org.ejml.masks.Mask;
+import org.ejml.ops.DMonoid;
+import org.ejml.ops.DMonoids;
+import org.ejml.ops.DSemiRing;
+import org.ejml.ops.DSemiRings;
+import org.ejml.sparse.csc.CommonOpsWithSemiRing_DSCC;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.mult.MatrixSparseVectorMultWithSemiRing_DSCC;
+import org.ejml.sparse.csc.mult.MatrixSparseVectorMultWithSemiRing_DSCC.Direction;
+import org.ejml.sparse.csc.mult.MatrixSparseVectorMultWithSemiRing_DSCC.Workspace;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Graph algorithms which are expressed as linear algebra over semi-rings. A graph is described by its adjacency
+ * matrix A, where A(i,j) is an edge from vertex 'i' to vertex 'j' and its value is the edge's weight. Only the
+ * structure of A is used, unless the algorithm uses weights, so an element which has been assigned a value of
+ * zero is still an edge.
+ * </p>
+ *
+ * <p>
+ * Traversals are computed as a sparse vector times A, see {@link MatrixSparseVectorMultWithSemiRing_DSCC}. With
+ * the CSC format this is computed by pulling along the columns of A. If the transpose of A is provided then
+ * the traversal can also push along the columns of A<sup>T</sup>, which is much faster when only a few vertices
+ * are in the frontier. For undirected graphs A is symmetric and can be passed in as its own transpose.
+ * </p>
+ *
+ * More about the connection between graphs and linear algebra can be found at:
+ * https://github.com/GraphBLAS/GraphBLAS-Pointers.
+ *
+ * @author Peter Abeles
+ */
+public class GraphOps_DSCC {
+    /** OR for addition and the value from the vector for multiplication. Ignores the value of edges */
+    private static final DSemiRing OR_FIRST = new DSemiRing(DMonoids.OR, new DMonoid(0, ( x, y ) -> x));
+
+    private GraphOps_DSCC() {}
+
+    /**
+     * Breadth first search which finds the number of edges in the shortest path from the source to every vertex.
+     *
+     * @param A (Input) Adjacency matrix. Not modified.
+     * @param AT (Optional) Transpose of A. Not modified.
+     * @param source Index of the vertex the search starts from
+     * @param levels (Optional/Output) Number of edges to reach each vertex or -1 if it can't be reached.
+     * @return The levels array
+     */
+    public static int[] bfsLevels( DMatrixSparseCSC A, @Nullable DMatrixSparseCSC AT, int source,
+                                   @Nullable int[] levels ) {
+        final int N = checkGraph(A, AT, source);
+        levels = reshape(levels, N, -1);
+        levels[source] = 0;
+
+        // mask which only allows vertices which have not been visited yet to be in the next frontier
+        double[] visited = new double[N];
+        visited[source] = 1;
+        Mask unvisited = DMaskFactory.builder(visited).withNegated(true).build();
+
+        var frontier = new DVectorSparse(N);
+        var next = new DVectorSparse(N);
+        var work = new Workspace();
+        frontier.append(source, 1);
+
+        for (int level = 1; frontier.nz_length > 0; level++) {
+            MatrixSparseVectorMultWithSemiRing_DSCC.mult(frontier, A, AT, next, OR_FIRST, unvisited,
+                    Direction.AUTO, work);
+            next.convertToSparse();
+            for (int i = 0; i < next.nz_length; i++) {
+                int vertex = next.nz_indexes[i];
+                levels[vertex] = level;
+                visited[vertex] = 1;
+            }
+
+            DVectorSparse tmp = frontier;
+            frontier = next;
+            next = tmp;
+        }
+
+        return levels;
+    }
+
+    /**
+     * Breadth first search which finds the parent of each vertex in a shortest path tree. If a vertex has several
+     * possible parents then the one with the lowest index is selected.
+     *
+     * @param A (Input) Adjacency matrix. Not modified.
+     * @param AT (Optional) Transpose of A. Not modified.
+     * @param source Index of the vertex the search starts from
+     * @param parents (Optional/Output) Parent of each vertex or -1 if it can't be reached. The source is its own
+     * parent.
+     * @return The parents array
+     */
+    public static int[] bfsParents( DMatrixSparseCSC A, @Nullable DMatrixSparseCSC AT, int source,
+                                    @Nullable int[] parents ) {
+        final int N = checkGraph(A, AT, source);
+        parents = reshape(parents, N, -1);
+        parents[source] = source;
+
+        double[] visited = new double[N];
+        visited[source] = 1;
+        Mask unvisited = DMaskFactory.builder(visited).withNegated(true).build();
+
+        // The value of each vertex in the frontier is its own index, so MIN_FIRST selects the parent
+        var frontier = new DVectorSparse(N);
+        var next = new DVectorSparse(N);
+        var work = new Workspace();
+        frontier.append(source, source);
+
+        while (frontier.nz_length > 0) {
+            MatrixSparseVectorMultWithSemiRing_DSCC.mult(frontier, A, AT, next, DSemiRings.MIN_FIRST, unvisited,
+                    Direction.AUTO, work);
+            next.convertToSparse();
+            for (int i = 0; i < next.nz_length; i++) {
+                int vertex = next.nz_indexes[i];
+                parents[vertex] = (int)next.nz_values[i];
+                visited[vertex] = 1;
+                next.nz_values[i] = vertex;
+            }
+
+            DVectorSparse tmp = frontier;
+            frontier = next;
+            next = tmp;
+        }
+
+        return parents;
+    }
+
+    /**
+     * Single source shortest path using Bellman-Ford over the MIN_PLUS semi-ring. Negative weights are allowed.
+     * Only vertices whose distance changed in the previous iteration are relaxed.
+     *
+     * @param A (Input) Adjacency matrix with edge weights. Not modified.
+     * @param AT (Optional) Transpose of A. Not modified.
+     * @param source Index of the vertex the paths start from
+     * @param distances (Output) Distance to each vertex or positive infinity if it can't be reached.
+     * @return false if there is a negative cycle which can be reached from the source, true otherwise
+     */
+    public static boolean ssspBellmanFord( DMatrixSparseCSC A, @Nullable DMatrixSparseCSC AT, int source,
+                                           double[] distances ) {
+        final int N = checkGraph(A, AT, source);
+        if (distances.length < N)
+            throw new IllegalArgumentException("distances is too small");
+        Arrays.fill(distances, 0, N, Double.POSITIVE_INFINITY);
+        distances[source] = 0;
+
+        var frontier = new DVectorSparse(N);
+        var relaxed = new DVectorSparse(N);
+        var work = new Workspace();
+        frontier.append(source, 0);
+
+        for (int iteration = 0; frontier.nz_length > 0; iteration++) {
+            // A shortest path has at most N-1 edges, so changes after that can only come from a negative cycle
+            if (iteration == N)
+                return false;
+
+            MatrixSparseVectorMultWithSemiRing_DSCC.mult(frontier, A, AT, relaxed, DSemiRings.MIN_PLUS, null,
+                    Direction.AUTO, work);
+            relax(relaxed, distances, Double.POSITIVE_INFINITY, frontier, null);
+        }
+
+        return true;
+    }
+
+    /**
+     * <p>
+     * Single source shortest path using delta-stepping over the MIN_PLUS semi-ring. Vertices are put into buckets
+     * of width delta based on their distance, which are processed in order. Inside a bucket only edges with a weight
+     * of at most delta are relaxed until the bucket stops changing, then the heavier edges are relaxed once. This
+     * requires fewer relaxations than Bellman-Ford, but weights can't be negative.
+     * </p>
+     *
+     * <p>
+     * A good value for delta is close to the average edge weight. If delta is larger than every weight then this
+     * is the same as Bellman-Ford, and if it's very small it's the same as Dijkstra.
+     * </p>
+     *
+     * @param A (Input) Adjacency matrix with edge weights. Not modified.
+     * @param source Index of the vertex the paths start from
+     * @param delta Width of each bucket. Must be positive.
+     * @param distances (Optional/Output) Distance to each vertex or positive infinity if it can't be reached.
+     * @return The distances array
+     */
+    public static double[] ssspDeltaStepping( DMatrixSparseCSC A, int source, double delta,
+                                              @Nullable double[] distances ) {
+        final int N = checkGraph(A, null, source);
+        if (!(delta > 0))
+            throw new IllegalArgumentException("delta must be positive");
+        for (int i = 0; i < A.nz_length; i++) {
+            if (A.nz_values[i] < 0)
+                throw new IllegalArgumentException("Negative weights are not allowed");
+        }
+        if (distances == null || distances.length < N)
+            distances = new double[N];
+        Arrays.fill(distances, 0, N, Double.POSITIVE_INFINITY);
+        distances[source] = 0;
+
+        // Split edges into light and heavy edges. Transposes allow the frontier to be pushed
+        DMatrixSparseCSC light = selectWeights(A, true, delta);
+        DMatrixSparseCSC heavy = selectWeights(A, false, delta);
+        DMatrixSparseCSC lightT = CommonOps_DSCC.transpose(light, null, null);
+        DMatrixSparseCSC heavyT = CommonOps_DSCC.transpose(heavy, null, null);
+
+        // Vertices which have been reached but not settled, ordered by distance. Finding the next bucket and its
+        // vertices only touches vertices which have been reached instead of scanning every vertex
+        var queue = new DistanceQueue();
+        queue.push(source, 0);
+
+        boolean[] settled = new boolean[N];
+        // Vertices settled in the current bucket. inBucket[vertex] is the bucket's number if it's in the list
+        int[] inBucket = new int[N];
+        var members = new IGrowArray();
+        var bucket = new DVectorSparse(N);
+        var relaxed = new DVectorSparse(N);
+        var work = new Workspace();
+
+        for (int bucketNumber = 1; ; bucketNumber++) {
+            // Skip vertices which were settled or found a shorter path after they were added
+            while (queue.size > 0 && queue.isStale(settled, distances))
+                queue.pop();
+            if (queue.size == 0)
+                break;
+            double upper = ((double)Math.floor(queue.keys[0]/delta) + 1.0)*delta;
+
+            // Move the vertices in this bucket out of the queue
+            members.reshape(0);
+            while (queue.size > 0 && queue.keys[0] < upper) {
+                if (!queue.isStale(settled, distances)) {
+                    int vertex = queue.vertices[0];
+                    settled[vertex] = true;
+                    inBucket[vertex] = bucketNumber;
+                    members.add(vertex);
+                }
+                queue.pop();
+            }
+            toVector(members, distances, bucket);
+
+            // Relax light edges until no vertex is added to the bucket
+            while (bucket.nz_length > 0) {
+                for (int i = 0; i < bucket.nz_length; i++) {
+                    int vertex = bucket.nz_indexes[i];
+                    settled[vertex] = true;
+                    if (inBucket[vertex] != bucketNumber) {
+                        inBucket[vertex] = bucketNumber;
+                        members.add(vertex);
+                    }
+                }
+                MatrixSparseVectorMultWithSemiRing_DSCC.mult(bucket, light, lightT, relaxed, DSemiRings.MIN_PLUS,
+                        null, Direction.AUTO, work);
+                relax(relaxed, distances, upper, bucket, queue);
+            }
+
+            // Heavy edges can't end inside the bucket so they only need to be relaxed once
+            toVector(members, distances, bucket);
+            MatrixSparseVectorMultWithSemiRing_DSCC.mult(bucket, heavy, heavyT, relaxed,
+                    DSemiRings.MIN_PLUS, null, Direction.AUTO, work);
+            relax(relaxed, distances, upper, null, queue);
+        }
+
+        return distances;
+    }
+
+    /**
+     * <p>
+     * Computes the PageRank of every vertex using power iteration. Every vertex spreads its rank evenly along its
+     * outgoing edges. Vertices without outgoing edges spread their rank evenly to all vertices.
+     * </p>
+     *
+     * rank = (1-d)/N + d*(rank<sup>T</sup>*P + dangling/N)
+     *
+     * @param A (Input) Adjacency matrix. Not modified.
+     * @param damping Probability of following an edge instead of jumping to a random vertex. Typically 0.85.
+     * @param tolerance Stops when the L1 norm of the change in rank is less than this value.
+     * @param maxIterations Maximum number of iterations.
+     * @param rank (Output) Rank of each vertex. Adds up to one.
+     * @return Number of iterations
+     */
+    public static int pageRank( DMatrixSparseCSC A, double damping, double tolerance, int maxIterations,
+                                double[] rank ) {
+        final int N = checkGraph(A, null);
+        if (rank.length < N)
+            throw new IllegalArgumentException("rank is too small");
+        if (damping < 0 || damping > 1)
+            throw new IllegalArgumentException("damping must be from 0 to 1");
+
+        // P(i,j) = 1/(out degree of i). Dividing the edges ahead of time removes a pass over the vector
+        int[] degree = new int[N];
+        for (int i = 0; i < A.nz_length; i++) {
+            degree[A.nz_rows[i]]++;
+        }
+        DMatrixSparseCSC P = A.copy();
+        for (int i = 0; i < P.nz_length; i++) {
+            P.nz_values[i] = 1.0/degree[P.nz_rows[i]];
+        }
+
+        double[] next = new double[N];
+        Arrays.fill(rank, 0, N, 1.0/N);
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            CommonOpsWithSemiRing_DSCC.mult(rank, P, next, DSemiRings.PLUS_TIMES, null);
+
+            double dangling = 0;
+            for (int i = 0; i < N; i++) {
+                if (degree[i] == 0)
+                    dangling += rank[i];
+            }
+
+            double base = (1.0 - damping)/N + damping*dangling/N;
+            double change = 0;
+            for (int i = 0; i < N; i++) {
+                double value = base + damping*next[i];
+                change += Math.abs(value - rank[i]);
+                rank[i] = value;
+            }
+
+            if (change < tolerance)
+                return iteration + 1;
+        }
+
+        return maxIterations;
+    }
+
+    /**
+     * Finds the connected components in an undirected graph. Each vertex is labeled with the lowest index of all
+     * the vertices in its component. The minimum label is propagated along edges using the MIN_FIRST semi-ring,
+     * with only vertices whose label changed being in the frontier. After each iteration labels are replaced by
+     * their label's label, which shortens long paths.
+     *
+     * @param A (Input) Adjacency matrix. Must be symmetric. For the weakly connected components of a directed graph
+     * use A + A<sup>T</sup>. Not modified.
+     * @param labels (Output) Component each vertex belongs to
+     * @return Number of components
+     */
+    public static int connectedComponents( DMatrixSparseCSC A, int[] labels ) {
+        final int N = checkGraph(A, null);
+        if (labels.length < N)
+            throw new IllegalArgumentException("labels is too small");
+
+        var frontier = new DVectorSparse(N, N);
+        var changed = new DVectorSparse(N);
+        var work = new Workspace();
+        for (int i = 0; i < N; i++) {
+            labels[i] = i;
+            frontier.append(i, i);
+        }
+
+        while (frontier.nz_length > 0) {
+            // A is symmetric so it's also its own transpose
+            MatrixSparseVectorMultWithSemiRing_DSCC.mult(frontier, A, A, changed, DSemiRings.MIN_FIRST, null,
+                    Direction.AUTO, work);
+            changed.convertToSparse();
+
+            frontier.reshape(N);
+            for (int i = 0; i < changed.nz_length; i++) {
+                int vertex = changed.nz_indexes[i];
+                int label = (int)changed.nz_values[i];
+                if (label < labels[vertex]) {
+                    // labels are never larger than their vertex, so this can only make the label smaller
+                    labels[vertex] = labels[label];
+                    frontier.append(vertex, labels[vertex]);
+                }
+            }
+        }
+
+        int count = 0;
+        for (int i = 0; i < N; i++) {
+            if (labels[i] == i)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * <p>
+     * Counts the number of triangles in an undirected graph. With L and U as the strictly lower and upper triangular
+     * parts of A, C&lt;L&gt; = L*U counts the number of triangles each edge in L is part of. Using L as the mask
+     * avoids computing paths of length two which are not closed, and each triangle is only counted once.
+     * </p>
+     *
+     * <p>
+     * The mask is much sparser than L*U, so each element in the mask is computed as a dot product instead of
+     * computing all of L*U. Row i of L is column i of U, which turns the dot product into counting the elements
+     * two columns of U have in common. The vertices are ordered by decreasing degree instead of by index, so that
+     * the columns of U only contain neighbors with a higher degree. This prevents high degree vertices in
+     * power-law graphs from dominating the cost.
+     * </p>
+     *
+     * @param A (Input) Adjacency matrix. Must be symmetric. Not modified.
+     * @return Number of triangles
+     */
+    public static long triangleCount( DMatrixSparseCSC A ) {
+        checkGraph(A, null);
+        DMatrixSparseCSC U = orientByDegree(A);
+
+        long total = 0;
+        for (int col = 0; col < U.numCols; col++) {
+            int idx1 = U.col_idx[col + 1];
+            for (int i = U.col_idx[col]; i < idx1; i++) {
+                total += countCommon(U, U.nz_rows[i], col);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * <p>
+     * Finds the k-truss of an undirected graph. The k-truss is the largest subgraph where every edge is part of at
+     * least k-2 triangles. The number of triangles each edge is part of, C&lt;C&gt; = C*C, is computed and edges
+     * without enough are removed, until no more edges are removed.
+     * </p>
+     *
+     * <p>
+     * Triangles are found the same way as {@link #triangleCount}, which finds each triangle once, and all three of
+     * its edges are then incremented.
+     * </p>
+     *
+     * @param A (Input) Adjacency matrix. Must be symmetric. Self loops are ignored. Not modified.
+     * @param k Size of the truss. Must be at least 3.
+     * @param output (Optional/Output) Adjacency matrix of the k-truss. The value of each edge is the number of
+     * triangles it's part of.
+     * @return The k-truss
+     */
+    public static DMatrixSparseCSC kTruss( DMatrixSparseCSC A, int k, @Nullable DMatrixSparseCSC output ) {
+        checkGraph(A, null);
+        if (k < 3)
+            throw new IllegalArgumentException("k must be at least 3");
+
+        final int minSupport = k - 2;
+        DMatrixSparseCSC U = orientByDegree(A);
+        int[] support = new int[U.nz_length];
+
+        while (true) {
+            // Number of triangles each edge is part of
+            Arrays.fill(support, 0, U.nz_length, 0);
+            for (int col = 0; col < U.numCols; col++) {
+                int idx1 = U.col_idx[col + 1];
+                for (int i = U.col_idx[col]; i < idx1; i++) {
+                    int row = U.nz_rows[i];
+                    int idxA = U.col_idx[col];
+                    int idxB = U.col_idx[row], endB = U.col_idx[row + 1];
+                    while (idxA < idx1 && idxB < endB) {
+                        int rowA = U.nz_rows[idxA];
+                        int rowB = U.nz_rows[idxB];
+                        if (rowA < rowB) {
+                            idxA++;
+                        } else if (rowA > rowB) {
+                            idxB++;
+                        } else {
+                            support[i]++;
+                            support[idxA++]++;
+                            support[idxB++]++;
+                        }
+                    }
+                }
+            }
+
+            // Remove edges which are not part of enough triangles
+            int nz = 0;
+            for (int col = 0; col < U.numCols; col++) {
+                int idx0 = U.col_idx[col];
+                int idx1 = U.col_idx[col + 1];
+                U.col_idx[col] = nz;
+                for (int i = idx0; i < idx1; i++) {
+                    if (support[i] >= minSupport) {
+                        U.nz_rows[nz] = U.nz_rows[i];
+                        U.nz_values[nz++] = support[i];
+                    }
+                }
+            }
+            U.col_idx[U.numCols] = nz;
+
+            boolean changed = nz != U.nz_length;
+            U.nz_length = nz;
+            if (!changed)
+                break;
+        }
+
+        // Each edge is only in U once, so add the other direction
+        DMatrixSparseCSC UT = CommonOps_DSCC.transpose(U, null, null);
+        return CommonOps_DSCC.add(1.0, U, 1.0, UT, output, null, null);
+    }
+
+    /**
+     * Sets distances of vertices which have a shorter path and adds them to the frontier
+     *
+     * @param relaxed (Input) Distances to vertices after following an edge
+     * @param upper Only vertices with a distance less than this are added to the frontier
+     * @param frontier (Output) Optional. Vertices with a shorter distance.
+     * @param queue (Output) Optional. Vertices with a shorter distance which are not added to the frontier.
+     */
+    private static void relax( DVectorSparse relaxed, double[] distances, double upper,
+                               @Nullable DVectorSparse frontier, @Nullable DistanceQueue queue ) {
+        relaxed.convertToSparse();
+        if (frontier != null)
+            frontier.reshape(distances.length);
+        for (int i = 0; i < relaxed.nz_length; i++) {
+            int vertex = relaxed.nz_indexes[i];
+            double distance = relaxed.nz_values[i];
+            if (distance < distances[vertex]) {
+                distances[vertex] = distance;
+                if (frontier != null && distance < upper)
+                    frontier.append(vertex, distance);
+                else if (queue != null)
+                    queue.push(vertex, distance);
+            }
+        }
+    }
+
+    /**
+     * Sorts the vertices and saves them with their distances in the vector
+     */
+    private static void toVector( IGrowArray vertices, double[] distances, DVectorSparse output ) {
+        Arrays.sort(vertices.data, 0, vertices.length);
+        output.reshape(distances.length);
+        output.growMaxLength(vertices.length, false);
+        for (int i = 0; i < vertices.length; i++) {
+            int vertex = vertices.data[i];
+            output.append(vertex, distances[vertex]);
+        }
+    }
+
+    /**
+     * Selects edges with a weight which is less than or equal to the threshold, if light is true, or more than
+     * the threshold if light is false.
+     */
+    private static DMatrixSparseCSC selectWeights( DMatrixSparseCSC A, boolean light, double threshold ) {
+        var output = new DMatrixSparseCSC(A.numRows, A.numCols, A.nz_length);
+        int nz = 0;
+        for (int col = 0; col < A.numCols; col++) {
+            output.col_idx[col] = nz;
+            int idx1 = A.col_idx[col + 1];
+            for (int i = A.col_idx[col]; i < idx1; i++) {
+                if ((A.nz_values[i] <= threshold) == light) {
+                    output.nz_rows[nz] = A.nz_rows[i];
+                    output.nz_values[nz++] = A.nz_values[i];
+                }
+            }
+        }
+        output.col_idx[A.numCols] = nz;
+        output.nz_length = nz;
+        output.indicesSorted = A.indicesSorted;
+        return output;
+    }
+
+    /**
+     * Selects the edges in a symmetric matrix which go from a vertex to a vertex with a higher degree. Ties are
+     * broken with the vertex's index. Every edge is selected once and each column only has the neighbors with a
+     * higher degree. Self loops are removed and rows are sorted.
+     */
+    private static DMatrixSparseCSC orientByDegree( DMatrixSparseCSC A ) {
+        int[] degree = new int[A.numCols];
+        for (int col = 0; col < A.numCols; col++) {
+            degree[col] = A.col_idx[col + 1] - A.col_idx[col];
+        }
+        DMatrixSparseCSC U = CommonOps_DSCC.select(A, ( row, col ) ->
+                degree[row] > degree[col] || (degree[row] == degree[col] && row < col), null);
+        if (!U.indicesSorted)
+            U.sortIndices(null);
+        return U;
+    }
+
+    /**
+     * Counts the number of rows which columns 'colA' and 'colB' have in common. Rows must be sorted.
+     */
+    private static int countCommon( DMatrixSparseCSC M, int colA, int colB ) {
+        int idxA = M.col_idx[colA], endA = M.col_idx[colA + 1];
+        int idxB = M.col_idx[colB], endB = M.col_idx[colB + 1];
+
+        int count = 0;
+        while (idxA < endA && idxB < endB) {
+            int rowA = M.nz_rows[idxA];
+            int rowB = M.nz_rows[idxB];
+            if (rowA < rowB) {
+                idxA++;
+            } else if (rowA > rowB) {
+                idxB++;
+            } else {
+                count++;
+                idxA++;
+                idxB++;
+            }
+        }
+        return count;
+    }
+
+    private static int checkGraph( DMatrixSparseCSC A, @Nullable DMatrixSparseCSC AT ) {
+        if (A.numRows != A.numCols)
+            throw new MatrixDimensionException("Adjacency matrix must be square");
+        if (AT != null && (AT.numRows != A.numRows || AT.numCols != A.numCols))
+            throw new MatrixDimensionException("AT must be the same shape as A");
+        return A.numRows;
+    }
+
+    /**
+     * Same as checkGraph(A, AT) but also checks the source vertex. A graph with no vertices has no valid source.
+     */
+    private static int checkGraph( DMatrixSparseCSC A, @Nullable DMatrixSparseCSC AT, int source ) {
+        int N = checkGraph(A, AT);
+        if (source < 0 || source >= N)
+            throw new IllegalArgumentException("Source vertex is out of bounds");
+        return N;
+    }
+
+    private static int[] reshape( @Nullable int[] array, int length, int value ) {
+        if (array == null || array.length < length)
+            array = new int[length];
+        Arrays.fill(array, 0, length, value);
+        return array;
+    }
+
+    /**
+     * Binary min-heap of vertices ordered by their distance. When the distance of a vertex decreases it's added
+     * again instead of being moved, so an entry is stale once its distance no longer matches the vertex's.
+     */
+    private static class DistanceQueue {
+        int[] vertices = new int[16];
+        double[] keys = new double[16];
+        int size;
+
+        void push( int vertex, double key ) {
+            if (size == vertices.length) {
+                vertices = Arrays.copyOf(vertices, size*2);
+                keys = Arrays.copyOf(keys, size*2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1)/2;
+                if (keys[parent] <= key)
+                    break;
+                vertices[i] = vertices[parent];
+                keys[i] = keys[parent];
+                i = parent;
+            }
+            vertices[i] = vertex;
+            keys[i] = key;
+        }
+
+        /** Removes the vertex with the smallest distance, which is stored at index 0 */
+        void pop() {
+            size--;
+            int vertex = vertices[size];
+            double key = keys[size];
+            int i = 0;
+            while (true) {
+                int child = 2*i + 1;
+                if (child >= size)
+                    break;
+                if (child + 1 < size && keys[child + 1] < keys[child])
+                    child++;
+                if (key <= keys[child])
+                    break;
+                vertices[i] = vertices[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            vertices[i] = vertex;
+            keys[i] = key;
+        }
+
+        /** True if the vertex at index 0 has been settled or has a shorter path */
+        boolean isStale( boolean[] settled, double[] distances ) {
+            int vertex = vertices[0];
+            return settled[vertex] || keys[0] != distances[vertex];
+        }
+    }
+}
@@ -19,6 +19,7 @@
 package org.ejml.sparse.csc.linsol.chol;
 
 import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
 import org.ejml.data.DGrowArray;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.DMatrixSparseCSC;
@@ -26,11 +27,16 @@ import org.ejml.data.IGrowArray;
 import org.ejml.interfaces.decomposition.DecompositionInterface;
 import org.ejml.interfaces.linsol.LinearSolverSparse;
 import org.ejml.sparse.ComputePermutation;
+import org.ejml.sparse.SparseSymbolicAnalysis;
 import org.ejml.sparse.csc.CommonOps_DSCC;
 import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
+import org.ejml.sparse.csc.decomposition.chol.CholeskyUpdate_DSCC;
 import org.ejml.sparse.csc.misc.ApplyFillReductionPermutation_DSCC;
+import org.ejml.sparse.csc.misc.LevelSchedule_DSCC;
 import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
+import org.ejml.sparse.csc.misc.TriangularSolver_MT_DSCC;
 import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
 
 import static org.ejml.UtilEjml.adjust;
 
@@ -50,10 +56,34 @@ public class LinearSolverCholesky_DSCC implements LinearSolverSparse<DMatrixSpar
     IGrowArray gw = new IGrowArray();
 
     DMatrixSparseCSC tmp = new DMatrixSparseCSC(1, 1, 1);
+    DMatrixSparseCSC Bp = new DMatrixSparseCSC(1, 1, 1);
+    DMatrixSparseCSC Cp = new DMatrixSparseCSC(1, 1, 1);
+    IGrowArray gperm = new IGrowArray();
 
     // Number of rows in A
     int AnumRows, AnumCols;
 
+    // Used to apply low rank modifications to the decomposition
+    CholeskyUpdate_DSCC updater = new CholeskyUpdate_DSCC();
+
+    // If not null then the symbolic analysis is provided
+    @Nullable SparseSymbolicAnalysis analysis;
+
+    // Used when solving large systems concurrently. L is transposed so that L*x=b can be solved one row at a time
+    DMatrixSparseCSC Lt = new DMatrixSparseCSC(1, 1, 0);
+    LevelSchedule_DSCC scheduleL = new LevelSchedule_DSCC();
+    LevelSchedule_DSCC scheduleLt = new LevelSchedule_DSCC();
+    // true if Lt has been computed for the current decomposition
+    boolean transposed = false;
+    // true if the level schedules match the structure of L
+    boolean scheduled = false;
+
+    /** Number of columns in B which are solved together when there are multiple right hand sides */
+    public int panelWidth = 16;
+
+    // Storage for each panel of right hand sides
+    GrowArray<DGrowArray> panels = new GrowArray<>(DGrowArray::new);
+
     public LinearSolverCholesky_DSCC( CholeskyUpLooking_DSCC cholesky, @Nullable ComputePermutation<DMatrixSparseCSC> fillReduce ) {
         this.cholesky = cholesky;
         this.reduce = new ApplyFillReductionPermutation_DSCC(fillReduce, true);
@@ -61,8 +91,16 @@ public class LinearSolverCholesky_DSCC implements LinearSolverSparse<DMatrixSpar
 
     @Override
     public boolean setA( DMatrixSparseCSC A ) {
+        if (analysis != null)
+            analysis.checkCompatible(A);
         this.AnumRows = A.numRows;
         this.AnumCols = A.numCols;
+
+        // The structure of L will only be the same if it's locked
+        transposed = false;
+        if (analysis == null && !cholesky.isStructureLocked())
+            scheduled = false;
+
         DMatrixSparseCSC C = reduce.apply(A);
         return cholesky.decompose(C);
     }
@@ -83,8 +121,98 @@ public class LinearSolverCholesky_DSCC implements LinearSolverSparse<DMatrixSpar
         tmp.reshape(L.numRows, B.numCols, 1);
         int[] Pinv = reduce.getArrayPinv();
 
-        TriangularSolver_DSCC.solve(L, true, B, tmp, Pinv, gx, gw, gw1);
-        TriangularSolver_DSCC.solveTran(L, true, tmp, X, null, gx, gw, gw1);
+        if (Pinv == null) {
+            TriangularSolver_DSCC.solve(L, true, B, tmp, null, gx, gw, gw1);
+            TriangularSolver_DSCC.solveTran(L, true, tmp, X, null, gx, gw, gw1);
+            return;
+        }
+
+        // apply the fill reducing permutation to B, solve, then undo the permutation
+        CommonOps_DSCC.permuteRowInv(Pinv, B, Bp);
+        TriangularSolver_DSCC.solve(L, true, Bp, tmp, null, gx, gw, gw1);
+        Bp.reshape(X.numRows, X.numCols, 1);
+        TriangularSolver_DSCC.solveTran(L, true, tmp, Bp, null, gx, gw, gw1);
+
+        int N = L.numRows;
+        int[] P = adjust(gperm, N);
+        CommonOps_DSCC.permutationInverse(Pinv, P, N);
+        CommonOps_DSCC.permuteRowInv(P, Bp, X);
+    }
+
+    /**
+     * Modifies the decomposition so that it's the decomposition of A + C*C<sup>T</sup>, where A is the most
+     * recent matrix passed to {@link #setA}. This is much faster than calling setA() again when only a few
+     * elements in A change. The pattern of C must not change the pattern of L.
+     *
+     * @param C (Input) Matrix with the same number of rows as A. Not modified.
+     * @return true if successful
+     * @see CholeskyUpdate_DSCC
+     */
+    public boolean update( DMatrixSparseCSC C ) {
+        transposed = false;
+        return updater.update(cholesky.getL(), permuteUpdate(C));
+    }
+
+    /**
+     * Modifies the decomposition so that it's the decomposition of A - C*C<sup>T</sup>, where A is the most
+     * recent matrix passed to {@link #setA}.
+     *
+     * @param C (Input) Matrix with the same number of rows as A. Not modified.
+     * @return true if successful. If false then the modified matrix isn't positive definite and setA() needs
+     * to be called again.
+     * @see CholeskyUpdate_DSCC
+     */
+    public boolean downdate( DMatrixSparseCSC C ) {
+        transposed = false;
+        return updater.downdate(cholesky.getL(), permuteUpdate(C));
+    }
+
+    /**
+     * Applies the fill reducing permutation to the rows in C
+     */
+    private DMatrixSparseCSC permuteUpdate( DMatrixSparseCSC C ) {
+        if (C.numRows != AnumRows)
+            throw new IllegalArgumentException("Number of rows in C must match A. " + C.numRows + " != " + AnumRows);
+        int[] Pinv = reduce.getArrayPinv();
+        if (Pinv == null)
+            return C;
+        CommonOps_DSCC.permuteRowInv(Pinv, C, Cp);
+        return Cp;
+    }
+
+    /**
+     * Saves the symbolic analysis, which includes the fill reducing permutation, from the most recent call
+     * to {@link #setA}. It can be used to skip the symbolic step in this or other solvers which process a
+     * matrix with the same structure.
+     *
+     * @param output (Optional) Storage for the output. If null a new instance is created
+     * @return The symbolic analysis
+     */
+    public SparseSymbolicAnalysis getSymbolicAnalysis( @Nullable SparseSymbolicAnalysis output ) {
+        output = cholesky.getSymbolicAnalysis(output);
+        output.fillRow = SparseSymbolicAnalysis.copy(reduce.getArrayP(), AnumRows);
+        output.fillCol = SparseSymbolicAnalysis.copy(reduce.getArrayQ(), AnumCols);
+        return output;
+    }
+
+    /**
+     * Specifies a symbolic analysis which is used instead of computing the fill reducing permutation and the
+     * symbolic step in the decomposition. Only the numerical factorization is done in {@link #setA}.
+     * The analysis is not modified and can be shared between multiple solvers.
+     *
+     * @param analysis Symbolic analysis or null to compute it as usual
+     */
+    public void setSymbolicAnalysis( @Nullable SparseSymbolicAnalysis analysis ) {
+        cholesky.setSymbolicAnalysis(analysis);
+        if (analysis == null)
+            reduce.clearFixedPermutation();
+        else
+            reduce.setFixedPermutation(analysis.fillRow, analysis.fillCol);
+        this.analysis = analysis;
+
+        // The structure of L can be different with the new analysis
+        transposed = false;
+        scheduled = false;
     }
 
     @Override
@@ -103,6 +231,11 @@ public class LinearSolverCholesky_DSCC implements LinearSolverSparse<DMatrixSpar
 
         DMatrixSparseCSC L = cholesky.getL();
 
+        if (B.numCols > 1) {
+            solvePanels(L, B, X);
+            return;
+        }
+
         int N = L.numRows;
 
         double[] b = adjust(gb, N);
@@ -110,18 +243,20 @@ public class LinearSolverCholesky_DSCC implements LinearSolverSparse<DMatrixSpar
 
         int[] Pinv = reduce.getArrayPinv();
 
+        boolean concurrent = EjmlConcurrency.useConcurrent(L);
+        if (concurrent)
+            prepareConcurrent(L);
+
         for (int col = 0; col < B.numCols; col++) {
             int index = col;
             for (int i = 0; i < N; i++, index += B.numCols) b[i] = B.data[index];
 
             if (Pinv != null) {
                 CommonOps_DSCC.permuteInv(Pinv, b, x, N);
-                TriangularSolver_DSCC.solveL(L, x);
-                TriangularSolver_DSCC.solveTranL(L, x);
+                solveLTranL(L, x, concurrent);
                 CommonOps_DSCC.permute(Pinv, x, b, N);
             } else {
-                TriangularSolver_DSCC.solveL(L, b);
-                TriangularSolver_DSCC.solveTranL(L, b);
+                solveLTranL(L, b, concurrent);
             }
 
             index = col;
@@ -129,6 +264,83 @@ public class LinearSolverCholesky_DSCC implements LinearSolverSparse<DMatrixSpar
         }
     }
 
+    /**
+     * Solves for multiple right hand sides by processing panels of columns together. Each element in L is
+     * then read once per panel instead of once per column. Panels are independent and are solved concurrently
+     * when the problem is large enough.
+     */
+    void solvePanels( DMatrixSparseCSC L, DMatrixRMaj B, DMatrixRMaj X ) {
+        int[] Pinv = reduce.getArrayPinv();
+
+        boolean concurrent = EjmlConcurrency.useConcurrent(L);
+        int width = TriangularSolver_MT_DSCC.selectPanelWidth(B.numCols, panelWidth, concurrent);
+        int numPanels = (B.numCols + width - 1)/width;
+
+        if (concurrent && numPanels > 1) {
+            EjmlConcurrency.loopFor(0, numPanels, 1, panels, ( work, panel ) ->
+                    solvePanel(L, Pinv, B, X, panel*width, Math.min(B.numCols, (panel + 1)*width), work));
+        } else {
+            panels.reset();
+            DGrowArray work = panels.grow();
+            for (int col0 = 0; col0 < B.numCols; col0 += width) {
+                solvePanel(L, Pinv, B, X, col0, Math.min(B.numCols, col0 + width), work);
+            }
+        }
+    }
+
+    /**
+     * Solves for columns col0 to col1-1 in B and writes the results into X
+     */
+    static void solvePanel( DMatrixSparseCSC L, @Nullable int[] Pinv, DMatrixRMaj B, DMatrixRMaj X,
+                            int col0, int col1, DGrowArray work ) {
+        final int N = L.numRows;
+        final int width = col1 - col0;
+        double[] panel = adjust(work, N*width);
+
+        // copy B into the panel and apply the fill reducing permutation
+        for (int i = 0; i < N; i++) {
+            int row = Pinv == null ? i : Pinv[i];
+            System.arraycopy(B.data, i*B.numCols + col0, panel, row*width, width);
+        }
+
+        TriangularSolver_DSCC.solveL(L, panel, width);
+        TriangularSolver_DSCC.solveTranL(L, panel, width);
+
+        // undo the permutation and copy into X
+        for (int i = 0; i < N; i++) {
+            int row = Pinv == null ? i : Pinv[i];
+            System.arraycopy(panel, row*width, X.data, i*X.numCols + col0, width);
+        }
+    }
+
+    /**
+     * Solves L*L<sup>T</sup>*x = b
+     */
+    private void solveLTranL( DMatrixSparseCSC L, double[] x, boolean concurrent ) {
+        if (concurrent) {
+            TriangularSolver_MT_DSCC.solveTran(Lt, x, scheduleLt);
+            TriangularSolver_MT_DSCC.solveTran(L, x, scheduleL);
+        } else {
+            TriangularSolver_DSCC.solveL(L, x);
+            TriangularSolver_DSCC.solveTranL(L, x);
+        }
+    }
+
+    /**
+     * Computes L<sup>T</sup> and the level schedules if they are out of date
+     */
+    private void prepareConcurrent( DMatrixSparseCSC L ) {
+        if (!transposed) {
+            CommonOps_DSCC.transpose(L, Lt, gw);
+            transposed = true;
+        }
+        if (!scheduled) {
+            scheduleL.process(L, true);
+            scheduleLt.process(Lt, false);
+            scheduled = true;
+        }
+    }
+
     @Override
     public boolean modifiesA() {
         return cholesky.inputModified();
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DGrowArray;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * Stabilized Bi-Conjugate Gradient (BiCGSTAB) with right preconditioning. Works with general square matrices.
+ * Each iteration requires two matrix-vector products and two applications of the preconditioner. Unlike GMRES
+ * the amount of memory doesn't grow with the number of iterations, but convergence can be erratic.
+ *
+ * @author Peter Abeles
+ */
+public class LinearSolverBiCGStab_DSCC extends LinearSolverIterative_DSCC {
+    DGrowArray gr = new DGrowArray();
+    DGrowArray grHat = new DGrowArray();
+    DGrowArray gp = new DGrowArray();
+    DGrowArray gv = new DGrowArray();
+    DGrowArray gpHat = new DGrowArray();
+    DGrowArray gsHat = new DGrowArray();
+    DGrowArray gt = new DGrowArray();
+
+    public LinearSolverBiCGStab_DSCC( @Nullable Preconditioner_DSCC preconditioner ) {
+        super(preconditioner);
+    }
+
+    public LinearSolverBiCGStab_DSCC() {
+        this(null);
+    }
+
+    @Override
+    protected void solveColumn( double[] b, double[] x ) {
+        final int N = A.numRows;
+        double[] r = adjust(gr, N);
+        double[] rHat = adjust(grHat, N);
+        double[] p = adjust(gp, N);
+        double[] v = adjust(gv, N);
+        double[] pHat = adjust(gpHat, N);
+        double[] sHat = adjust(gsHat, N);
+        double[] t = adjust(gt, N);
+
+        // r = b - A*x
+        multA(x, r);
+        for (int i = 0; i < N; i++) {
+            r[i] = b[i] - r[i];
+        }
+        if (isFinished(0, norm(r, N)/normB))
+            return;
+
+        System.arraycopy(r, 0, rHat, 0, N);
+        Arrays.fill(p, 0, N, 0.0);
+        Arrays.fill(v, 0, N, 0.0);
+        double rho = 1.0, alpha = 1.0, omega = 1.0;
+
+        for (int iteration = 1; ; iteration++) {
+            double rhoNext = dot(rHat, r, N);
+            // breakdown
+            if (rhoNext == 0.0)
+                return;
+            double beta = (rhoNext/rho)*(alpha/omega);
+            rho = rhoNext;
+
+            for (int i = 0; i < N; i++) {
+                p[i] = r[i] + beta*(p[i] - omega*v[i]);
+            }
+            precondition(p, pHat);
+            multA(pHat, v);
+            double rHatV = dot(rHat, v, N);
+            if (rHatV == 0.0)
+                return;
+            alpha = rho/rHatV;
+
+            // s = r - alpha*v. r is used to store s
+            addScaled(-alpha, v, r, N);
+            addScaled(alpha, pHat, x, N);
+            double normS = norm(r, N);
+            if (normS/normB <= tolerance) {
+                isFinished(iteration, normS/normB);
+                return;
+            }
+
+            precondition(r, sHat);
+            multA(sHat, t);
+            double tt = dot(t, t, N);
+            if (tt == 0.0)
+                return;
+            omega = dot(t, r, N)/tt;
+
+            addScaled(omega, sHat, x, N);
+            addScaled(-omega, t, r, N);
+
+            if (isFinished(iteration, norm(r, N)/normB) || omega == 0.0)
+                return;
+        }
+    }
+}
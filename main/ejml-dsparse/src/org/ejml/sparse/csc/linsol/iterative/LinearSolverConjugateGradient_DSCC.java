@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DGrowArray;
+import org.jetbrains.annotations.Nullable;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * Preconditioned Conjugate Gradient (CG). Only for symmetric positive definite matrices. Each iteration
+ * requires one matrix-vector product and one application of the preconditioner, which must also be
+ * symmetric positive definite.
+ *
+ * @author Peter Abeles
+ */
+public class LinearSolverConjugateGradient_DSCC extends LinearSolverIterative_DSCC {
+    // residual, preconditioned residual, search direction, and A times the search direction
+    DGrowArray gr = new DGrowArray();
+    DGrowArray gz = new DGrowArray();
+    DGrowArray gp = new DGrowArray();
+    DGrowArray gq = new DGrowArray();
+
+    public LinearSolverConjugateGradient_DSCC( @Nullable Preconditioner_DSCC preconditioner ) {
+        super(preconditioner);
+    }
+
+    public LinearSolverConjugateGradient_DSCC() {
+        this(null);
+    }
+
+    @Override
+    protected void solveColumn( double[] b, double[] x ) {
+        final int N = A.numRows;
+        double[] r = adjust(gr, N);
+        double[] z = adjust(gz, N);
+        double[] p = adjust(gp, N);
+        double[] q = adjust(gq, N);
+
+        // r = b - A*x
+        multA(x, r);
+        for (int i = 0; i < N; i++) {
+            r[i] = b[i] - r[i];
+        }
+        if (isFinished(0, norm(r, N)/normB))
+            return;
+
+        precondition(r, z);
+        System.arraycopy(z, 0, p, 0, N);
+        double rz = dot(r, z, N);
+
+        for (int iteration = 1; ; iteration++) {
+            multA(p, q);
+            double pq = dot(p, q, N);
+            // A or M isn't positive definite
+            if (pq <= 0.0 || rz <= 0.0)
+                return;
+            double alpha = rz/pq;
+
+            addScaled(alpha, p, x, N);
+            addScaled(-alpha, q, r, N);
+
+            if (isFinished(iteration, norm(r, N)/normB))
+                return;
+
+            precondition(r, z);
+            double rzNext = dot(r, z, N);
+            double beta = rzNext/rz;
+            rz = rzNext;
+            for (int i = 0; i < N; i++) {
+                p[i] = z[i] + beta*p[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DGrowArray;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * <p>
+ * Restarted Generalized Minimal Residual (GMRES(m)) with right preconditioning. Works with general square
+ * matrices. An orthonormal basis of the Krylov subspace is built with modified Gram-Schmidt and the
+ * least-squares problem is updated with Givens rotations, so the residual is known at every iteration without
+ * computing x. After {@link #restart} iterations x is updated and the basis is discarded.
+ * </p>
+ *
+ * <p>
+ * Memory is (restart+1)*N for the basis. A larger restart converges in fewer iterations but each iteration
+ * costs more, since every basis vector is orthogonalized against the others.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearSolverGmres_DSCC extends LinearSolverIterative_DSCC {
+    /** Number of iterations before it restarts */
+    public int restart;
+
+    // Orthonormal basis. Each vector is stored in a row
+    DGrowArray gV = new DGrowArray();
+    // Upper Hessenberg matrix. (restart+1) x restart
+    DGrowArray gH = new DGrowArray();
+    // Givens rotations
+    DGrowArray gcs = new DGrowArray();
+    DGrowArray gsn = new DGrowArray();
+    // right hand side of the least-squares problem and its solution
+    DGrowArray gg = new DGrowArray();
+    DGrowArray gy = new DGrowArray();
+    DGrowArray gw = new DGrowArray();
+    DGrowArray gz = new DGrowArray();
+
+    public LinearSolverGmres_DSCC( int restart, @Nullable Preconditioner_DSCC preconditioner ) {
+        super(preconditioner);
+        if (restart <= 0)
+            throw new IllegalArgumentException("restart must be more than zero");
+        this.restart = restart;
+    }
+
+    public LinearSolverGmres_DSCC() {
+        this(30, null);
+    }
+
+    @Override
+    protected void solveColumn( double[] b, double[] x ) {
+        final int N = A.numRows;
+        final int m = Math.min(restart, N);
+        double[] V = adjust(gV, (m + 1)*N);
+        double[] H = adjust(gH, (m + 1)*m);
+        double[] cs = adjust(gcs, m);
+        double[] sn = adjust(gsn, m);
+        double[] g = adjust(gg, m + 1);
+        double[] y = adjust(gy, m);
+        double[] w = adjust(gw, N);
+        double[] z = adjust(gz, N);
+
+        int iteration = 0;
+        while (true) {
+            // r = b - A*x is the first basis vector
+            multA(x, w);
+            for (int i = 0; i < N; i++) {
+                w[i] = b[i] - w[i];
+            }
+            double beta = norm(w, N);
+            if (iteration == 0) {
+                if (isFinished(0, beta/normB))
+                    return;
+            } else if (beta/normB <= tolerance) {
+                // The estimated residual can be slightly different from the actual residual after a restart
+                columnResidual = beta/normB;
+                columnConverged = true;
+                return;
+            }
+            for (int i = 0; i < N; i++) {
+                V[i] = w[i]/beta;
+            }
+            Arrays.fill(g, 0, m + 1, 0.0);
+            g[0] = beta;
+
+            int k = 0;
+            boolean stop = false;
+            while (k < m) {
+                // w = A*M^-1*v_k
+                System.arraycopy(V, k*N, w, 0, N);
+                precondition(w, z);
+                multA(z, w);
+
+                // Orthogonalize against the previous basis vectors
+                for (int i = 0; i <= k; i++) {
+                    int offset = i*N;
+                    double h = 0.0;
+                    for (int j = 0; j < N; j++) {
+                        h += w[j]*V[offset + j];
+                    }
+                    for (int j = 0; j < N; j++) {
+                        w[j] -= h*V[offset + j];
+                    }
+                    H[i*m + k] = h;
+                }
+                double h_next = norm(w, N);
+                if (h_next != 0.0) {
+                    int offset = (k + 1)*N;
+                    for (int j = 0; j < N; j++) {
+                        V[offset + j] = w[j]/h_next;
+                    }
+                }
+
+                // Apply the previous rotations to the new column, then zero the element below the diagonal
+                for (int i = 0; i < k; i++) {
+                    double a = H[i*m + k];
+                    double c = H[(i + 1)*m + k];
+                    H[i*m + k] = cs[i]*a + sn[i]*c;
+                    H[(i + 1)*m + k] = -sn[i]*a + cs[i]*c;
+                }
+                double a = H[k*m + k];
+                double r = Math.sqrt(a*a + h_next*h_next);
+                if (r == 0.0) {
+                    cs[k] = 1.0;
+                    sn[k] = 0.0;
+                } else {
+                    cs[k] = a/r;
+                    sn[k] = h_next/r;
+                }
+                H[k*m + k] = r;
+                g[k + 1] = -sn[k]*g[k];
+                g[k] = cs[k]*g[k];
+
+                k++;
+                iteration++;
+                stop = isFinished(iteration, Math.abs(g[k])/normB);
+                // The basis can't be extended when h_next is zero, but the solution in this subspace is exact
+                if (stop || h_next == 0.0)
+                    break;
+            }
+
+            // Solve the triangular system H*y = g then x = x + M^-1*V*y
+            for (int i = k - 1; i >= 0; i--) {
+                double sum = g[i];
+                for (int j = i + 1; j < k; j++) {
+                    sum -= H[i*m + j]*y[j];
+                }
+                double diag = H[i*m + i];
+                y[i] = diag == 0.0 ? 0.0 : sum/diag;
+            }
+            Arrays.fill(w, 0, N, 0.0);
+            for (int i = 0; i < k; i++) {
+                int offset = i*N;
+                double y_i = y[i];
+                for (int j = 0; j < N; j++) {
+                    w[j] += y_i*V[offset + j];
+                }
+            }
+            precondition(w, z);
+            addScaled(1.0, z, x, N);
+
+            if (stop)
+                return;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.decomposition.DecompositionInterface;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.mult.MatrixVectorMult_DSCC;
+import org.ejml.sparse.csc.mult.MatrixVectorMult_MT_DSCC;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * <p>
+ * Base class for iterative linear solvers. Instead of decomposing A they only need to compute matrix-vector
+ * products, so the memory required is a few vectors. Each column in B is solved independently.
+ * </p>
+ *
+ * <p>
+ * Iterations stop once the relative residual, ||b - A*x||/||b||, is less than {@link #tolerance} or after
+ * {@link #maxIterations}. Convergence of the most recent solve is reported by {@link #getIterations()},
+ * {@link #getResidual()}, and {@link #isConverged()}. A {@link IterationListener} can be used to monitor or stop
+ * each iteration.
+ * </p>
+ *
+ * <p>
+ * Iterative solvers never decompose A, so {@link #quality()} can't measure how singular A is. Instead it returns
+ * the relative residual of the most recent solve. Unlike the quality of a direct solver, smaller is better.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class LinearSolverIterative_DSCC implements LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> {
+    /** Iterations stop when the relative residual is less than or equal to this value */
+    public double tolerance = 1e-10;
+
+    /** Maximum number of iterations for each column in B. If &le; 0 then it will be 10 times the size of A */
+    public int maxIterations = 0;
+
+    /** If true then the values in X are used as the initial estimate of the solution. Otherwise zero is used */
+    public boolean useInitialGuess = false;
+
+    /** Optional function which is called after every iteration */
+    public @Nullable IterationListener listener;
+
+    // If not null then the system is preconditioned with this
+    protected @Nullable Preconditioner_DSCC preconditioner;
+
+    // The A matrix in the linear system
+    protected DMatrixSparseCSC A = new DMatrixSparseCSC(1, 1, 0);
+
+    // Norm of the column in B which is being solved
+    protected double normB;
+
+    // Number of iterations for the column in B which took the most iterations
+    protected int iterations;
+
+    // Largest relative residual for all the columns in B. NaN if nothing has been solved since setA()
+    protected double residual = Double.NaN;
+
+    // True if all the columns in B converged
+    protected boolean converged;
+
+    // column being solved and its state
+    protected int column;
+    protected int columnIterations;
+    protected double columnResidual;
+    protected boolean columnConverged;
+
+    protected boolean locked = false;
+
+    // storage for a column in B and X
+    DGrowArray gb = new DGrowArray();
+    DGrowArray gx = new DGrowArray();
+
+    // dense copies of sparse inputs
+    DMatrixRMaj denseB = new DMatrixRMaj(1, 1);
+    DMatrixRMaj denseX = new DMatrixRMaj(1, 1);
+
+    // partial vectors for concurrent matrix-vector products
+    GrowArray<DGrowArray> workspaceMT = new GrowArray<>(DGrowArray::new);
+
+    protected LinearSolverIterative_DSCC( @Nullable Preconditioner_DSCC preconditioner ) {
+        this.preconditioner = preconditioner;
+    }
+
+    /**
+     * Solves for x in A*x = b, where 'b' is a single column in B
+     *
+     * @param b (Input) column in B. Not modified.
+     * @param x (Input) Initial estimate. (Output) solution.
+     */
+    protected abstract void solveColumn( double[] b, double[] x );
+
+    /**
+     * Returns true if this solver can only handle square matrices
+     */
+    protected boolean isSquareRequired() {
+        return true;
+    }
+
+    @Override
+    public boolean setA( DMatrixSparseCSC A ) {
+        if (isSquareRequired() && A.numRows != A.numCols)
+            throw new IllegalArgumentException("A must be square. " + A.numRows + "x" + A.numCols);
+        this.A = A;
+        this.residual = Double.NaN;
+        return preconditioner == null || preconditioner.setA(A);
+    }
+
+    /**
+     * Returns the relative residual, ||b - A*x||/||b||, from the most recent solve. If B has multiple columns then
+     * it's the largest. Unlike the quality of a direct solver, smaller values are better.
+     *
+     * @return The relative residual or NaN if nothing has been solved since {@link #setA}
+     * @see #getResidual()
+     */
+    @Override
+    public /**/double quality() {
+        return residual;
+    }
+
+    @Override
+    public void solve( DMatrixRMaj B, DMatrixRMaj X ) {
+        UtilEjml.checkReshapeSolve(A.numRows, A.numCols, B, X);
+
+        double[] b = adjust(gb, A.numRows);
+        double[] x = adjust(gx, A.numCols);
+
+        iterations = 0;
+        residual = 0.0;
+        converged = true;
+
+        for (column = 0; column < B.numCols; column++) {
+            for (int i = 0, index = column; i < A.numRows; i++, index += B.numCols) {
+                b[i] = B.data[index];
+            }
+            if (useInitialGuess) {
+                for (int i = 0, index = column; i < A.numCols; i++, index += X.numCols) {
+                    x[i] = X.data[index];
+                }
+            } else {
+                Arrays.fill(x, 0, A.numCols, 0.0);
+            }
+
+            columnIterations = 0;
+            columnResidual = 0.0;
+            columnConverged = true;
+            normB = norm(b, A.numRows);
+            if (normB != 0.0) {
+                columnConverged = false;
+                solveColumn(b, x);
+            } else {
+                Arrays.fill(x, 0, A.numCols, 0.0);
+            }
+
+            iterations = Math.max(iterations, columnIterations);
+            residual = Math.max(residual, columnResidual);
+            converged &= columnConverged;
+
+            for (int i = 0, index = column; i < A.numCols; i++, index += X.numCols) {
+                X.data[index] = x[i];
+            }
+        }
+    }
+
+    @Override
+    public void solveSparse( DMatrixSparseCSC B, DMatrixSparseCSC X ) {
+        DConvertMatrixStruct.convert(B, denseB);
+        if (useInitialGuess)
+            DConvertMatrixStruct.convert(X, denseX);
+        solve(denseB, denseX);
+        DConvertMatrixStruct.convert(denseX, X, 0.0);
+    }
+
+    /**
+     * Records the state of the current column after an iteration and decides if it should stop
+     *
+     * @param iteration Number of iterations so far
+     * @param relativeResidual Relative residual after this iteration
+     * @return true if it should stop iterating
+     */
+    protected boolean isFinished( int iteration, double relativeResidual ) {
+        columnIterations = iteration;
+        columnResidual = relativeResidual;
+
+        boolean keepGoing = listener == null || listener.iteration(column, iteration, relativeResidual);
+
+        if (relativeResidual <= tolerance) {
+            columnConverged = true;
+            return true;
+        }
+        return !keepGoing || iteration >= getMaxIterations();
+    }
+
+    /**
+     * Maximum number of iterations for a single column
+     */
+    protected int getMaxIterations() {
+        return maxIterations > 0 ? maxIterations : 10*Math.max(A.numRows, A.numCols);
+    }
+
+    /**
+     * y = A*x
+     */
+    protected void multA( double[] x, double[] y ) {
+        if (EjmlConcurrency.useConcurrent(A)) {
+            MatrixVectorMult_MT_DSCC.mult(A, x, 0, y, 0, workspaceMT);
+        } else {
+            MatrixVectorMult_DSCC.mult(A, x, 0, y, 0);
+        }
+    }
+
+    /**
+     * y = A<sup>T</sup>*x
+     */
+    protected void multTransA( double[] x, double[] y ) {
+        if (EjmlConcurrency.useConcurrent(A)) {
+            MatrixVectorMult_MT_DSCC.multTransA(A, x, 0, y, 0);
+        } else {
+            MatrixVectorMult_DSCC.multTransA(A, x, 0, y, 0);
+        }
+    }
+
+    /**
+     * z = M<sup>-1</sup>*r, or z = r if there is no preconditioner
+     */
+    protected void precondition( double[] r, double[] z ) {
+        if (preconditioner == null) {
+            System.arraycopy(r, 0, z, 0, A.numCols);
+        } else {
+            preconditioner.apply(r, z);
+        }
+    }
+
+    /** Returns the dot product of the first 'length' elements */
+    static double dot( double[] a, double[] b, int length ) {
+        double sum = 0.0;
+        for (int i = 0; i < length; i++) {
+            sum += a[i]*b[i];
+        }
+        return sum;
+    }
+
+    /** Returns the Euclidean norm of the first 'length' elements */
+    static double norm( double[] a, int length ) {
+        return Math.sqrt(dot(a, a, length));
+    }
+
+    /** y = y + alpha*x */
+    static void addScaled( double alpha, double[] x, double[] y, int length ) {
+        for (int i = 0; i < length; i++) {
+            y[i] += alpha*x[i];
+        }
+    }
+
+    /** Number of iterations in the most recent solve. If B has multiple columns then it's the largest */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Relative residual from the most recent solve. If B has multiple columns then it's the largest.
+     * NaN if nothing has been solved since {@link #setA}.
+     */
+    public double getResidual() {
+        return residual;
+    }
+
+    /** True if all the columns in B converged in the most recent solve */
+    public boolean isConverged() {
+        return converged;
+    }
+
+    public @Nullable Preconditioner_DSCC getPreconditioner() {
+        return preconditioner;
+    }
+
+    /**
+     * Iterative solvers have no symbolic step which can be reused. The flag is saved but has no effect.
+     */
+    @Override
+    public void setStructureLocked( boolean locked ) {
+        this.locked = locked;
+    }
+
+    @Override
+    public boolean isStructureLocked() {
+        return locked;
+    }
+
+    @Override
+    public boolean modifiesA() {
+        return false;
+    }
+
+    @Override
+    public boolean modifiesB() {
+        return false;
+    }
+
+    @Override
+    public <D extends DecompositionInterface> @Nullable D getDecomposition() {
+        return null;
+    }
+
+    /**
+     * Used to monitor the progress of an iterative solver
+     */
+    @FunctionalInterface
+    public interface IterationListener {
+        /**
+         * Called after each iteration
+         *
+         * @param column Column in B which is being solved
+         * @param iteration Number of iterations so far
+         * @param residual Relative residual, ||b - A*x||/||b||
+         * @return true to keep iterating or false to stop
+         */
+        boolean iteration( int column, int iteration, double residual );
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DGrowArray;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * <p>
+ * LSQR by Paige and Saunders. Finds the x which minimizes ||A*x - b|| for any shape of A, using
+ * products with A and A<sup>T</sup>. It's equivalent to Conjugate Gradient on the normal equations,
+ * A<sup>T</sup>*A*x = A<sup>T</sup>*b, but is more numerically stable since A<sup>T</sup>*A is never formed.
+ * </p>
+ *
+ * <p>
+ * If the system has an exact solution then it stops once the relative residual is less than
+ * {@link #tolerance}. Otherwise the residual can't go to zero, so it also stops once
+ * ||A<sup>T</sup>*r||/(||A||*||r||) is less than {@link #tolerance}, where ||A|| is estimated
+ * from the bidiagonalization. Preconditioners are not supported.
+ * </p>
+ *
+ * <p>
+ * C. C. Paige and M. A. Saunders, "LSQR: An Algorithm for Sparse Linear Equations and Sparse Least Squares",
+ * ACM Transactions on Mathematical Software, 1982
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearSolverLsqr_DSCC extends LinearSolverIterative_DSCC {
+    DGrowArray gu = new DGrowArray();
+    DGrowArray gv = new DGrowArray();
+    DGrowArray gw = new DGrowArray();
+    DGrowArray gt = new DGrowArray();
+
+    public LinearSolverLsqr_DSCC() {
+        super(null);
+    }
+
+    @Override
+    protected boolean isSquareRequired() {
+        return false;
+    }
+
+    @Override
+    protected void solveColumn( double[] b, double[] x ) {
+        final int M = A.numRows;
+        final int N = A.numCols;
+        double[] u = adjust(gu, M);
+        double[] v = adjust(gv, N);
+        double[] w = adjust(gw, N);
+        double[] t = adjust(gt, Math.max(M, N));
+
+        // beta*u = b - A*x
+        multA(x, u);
+        for (int i = 0; i < M; i++) {
+            u[i] = b[i] - u[i];
+        }
+        double beta = norm(u, M);
+        if (isFinished(0, beta/normB))
+            return;
+        scale(1.0/beta, u, M);
+
+        // alpha*v = A'*u
+        multTransA(u, v);
+        double alpha = norm(v, N);
+        // x is already the least-squares solution
+        if (alpha == 0.0) {
+            columnConverged = true;
+            return;
+        }
+        scale(1.0/alpha, v, N);
+        System.arraycopy(v, 0, w, 0, N);
+
+        double phiBar = beta;
+        double rhoBar = alpha;
+        // estimate of the Frobenius norm of A
+        double normA2 = alpha*alpha;
+
+        for (int iteration = 1; ; iteration++) {
+            // beta*u = A*v - alpha*u
+            multA(v, t);
+            for (int i = 0; i < M; i++) {
+                u[i] = t[i] - alpha*u[i];
+            }
+            beta = norm(u, M);
+            if (beta != 0.0)
+                scale(1.0/beta, u, M);
+
+            // alpha*v = A'*u - beta*v
+            multTransA(u, t);
+            for (int i = 0; i < N; i++) {
+                v[i] = t[i] - beta*v[i];
+            }
+            alpha = norm(v, N);
+            if (alpha != 0.0)
+                scale(1.0/alpha, v, N);
+            normA2 += alpha*alpha + beta*beta;
+
+            // Orthogonal transformation which eliminates beta from the bidiagonal matrix
+            double rho = Math.sqrt(rhoBar*rhoBar + beta*beta);
+            double c = rhoBar/rho;
+            double s = beta/rho;
+            double theta = s*alpha;
+            rhoBar = -c*alpha;
+            double phi = c*phiBar;
+            phiBar = s*phiBar;
+
+            // update x and the search direction
+            addScaled(phi/rho, w, x, N);
+            for (int i = 0; i < N; i++) {
+                w[i] = v[i] - (theta/rho)*w[i];
+            }
+
+            // ||r|| = phiBar and ||A'*r|| = phiBar*alpha*|c|
+            double relativeResidual = phiBar/normB;
+            double normalResidual = alpha*Math.abs(c)/Math.sqrt(normA2);
+            if (normalResidual <= tolerance) {
+                isFinished(iteration, relativeResidual);
+                columnConverged = true;
+                return;
+            }
+            if (isFinished(iteration, relativeResidual))
+                return;
+        }
+    }
+
+    /** a = alpha*a */
+    static void scale( double alpha, double[] a, int length ) {
+        for (int i = 0; i < length; i++) {
+            a[i] *= alpha;
+        }
+    }
+}
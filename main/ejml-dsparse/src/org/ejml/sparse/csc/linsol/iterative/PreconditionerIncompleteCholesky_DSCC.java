@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * <p>
+ * Incomplete Cholesky preconditioner with zero fill in, IC(0). M = L*L<sup>T</sup> where L has the same
+ * non-zero pattern as the lower triangle of A. Only for symmetric positive definite matrices. Only the
+ * lower triangle of A is read.
+ * </p>
+ *
+ * <p>
+ * The factorization can fail even if A is positive definite, since elements outside the pattern are dropped.
+ * In that case {@link #setA} returns false.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PreconditionerIncompleteCholesky_DSCC implements Preconditioner_DSCC {
+    // The incomplete factor. The diagonal is the first element in each column
+    DMatrixSparseCSC L = new DMatrixSparseCSC(1, 1, 0);
+
+    // used to sort A if it isn't already sorted
+    DMatrixSparseCSC sorted = new DMatrixSparseCSC(1, 1, 0);
+
+    // Maps a row in the column being updated to its index in L
+    IGrowArray gw = new IGrowArray();
+
+    @Override
+    public boolean setA( DMatrixSparseCSC A ) {
+        if (A.numRows != A.numCols)
+            throw new IllegalArgumentException("A must be square");
+        if (!A.indicesSorted) {
+            sorted.setTo(A);
+            sorted.sortIndices(null);
+            A = sorted;
+        }
+
+        if (!copyLower(A, L))
+            return false;
+
+        final int N = A.numCols;
+        int[] w = adjust(gw, N);
+        Arrays.fill(w, 0, N, -1);
+
+        // Right looking factorization. Updates which would create fill in are dropped
+        for (int k = 0; k < N; k++) {
+            int idx0 = L.col_idx[k];
+            int idx1 = L.col_idx[k + 1];
+
+            double d = L.nz_values[idx0];
+            if (d <= 0.0)
+                return false;
+            d = Math.sqrt(d);
+            L.nz_values[idx0] = d;
+            for (int p = idx0 + 1; p < idx1; p++) {
+                L.nz_values[p] /= d;
+            }
+
+            // L(i,j) -= L(i,k)*L(j,k) for all i >= j > k
+            for (int p = idx0 + 1; p < idx1; p++) {
+                int j = L.nz_rows[p];
+                double l_jk = L.nz_values[p];
+
+                int jdx0 = L.col_idx[j];
+                int jdx1 = L.col_idx[j + 1];
+                for (int q = jdx0; q < jdx1; q++) {
+                    w[L.nz_rows[q]] = q;
+                }
+                for (int q = p; q < idx1; q++) {
+                    int location = w[L.nz_rows[q]];
+                    if (location >= 0)
+                        L.nz_values[location] -= L.nz_values[q]*l_jk;
+                }
+                for (int q = jdx0; q < jdx1; q++) {
+                    w[L.nz_rows[q]] = -1;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the lower triangle of A into L. The diagonal must be the first element in each column.
+     *
+     * @return false if a diagonal element is missing
+     */
+    static boolean copyLower( DMatrixSparseCSC A, DMatrixSparseCSC L ) {
+        final int N = A.numCols;
+        L.reshape(N, N, A.nz_length);
+        L.col_idx[0] = 0;
+
+        int nz = 0;
+        for (int col = 0; col < N; col++) {
+            int idx0 = A.col_idx[col];
+            int idx1 = A.col_idx[col + 1];
+
+            int start = nz;
+            for (int p = idx0; p < idx1; p++) {
+                int row = A.nz_rows[p];
+                if (row < col)
+                    continue;
+                L.nz_rows[nz] = row;
+                L.nz_values[nz++] = A.nz_values[p];
+            }
+            if (nz == start || L.nz_rows[start] != col)
+                return false;
+            L.col_idx[col + 1] = nz;
+        }
+        L.nz_length = nz;
+        L.indicesSorted = true;
+        return true;
+    }
+
+    @Override
+    public void apply( double[] r, double[] z ) {
+        System.arraycopy(r, 0, z, 0, L.numCols);
+        TriangularSolver_DSCC.solveL(L, z);
+        TriangularSolver_DSCC.solveTranL(L, z);
+    }
+
+    /**
+     * Returns the incomplete factor L
+     */
+    public DMatrixSparseCSC getL() {
+        return L;
+    }
+}
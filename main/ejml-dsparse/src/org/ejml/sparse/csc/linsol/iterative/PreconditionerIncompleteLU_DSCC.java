@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * <p>
+ * Incomplete LU preconditioner with zero fill in, ILU(0). M = L*U where L and U have the same non-zero
+ * pattern as A. L has ones along its diagonal, which are not saved. Both are stored in a single matrix
+ * with the same structure as A. No pivoting is done, so every diagonal element in A must be in its pattern.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class PreconditionerIncompleteLU_DSCC implements Preconditioner_DSCC {
+    // L and U stored in the same matrix
+    DMatrixSparseCSC LU = new DMatrixSparseCSC(1, 1, 0);
+
+    // index of the diagonal element in each column
+    IGrowArray gdiag = new IGrowArray();
+
+    // Maps a row in the column being updated to its index in LU
+    IGrowArray gw = new IGrowArray();
+
+    @Override
+    public boolean setA( DMatrixSparseCSC A ) {
+        if (A.numRows != A.numCols)
+            throw new IllegalArgumentException("A must be square");
+        LU.setTo(A);
+        if (!LU.indicesSorted)
+            LU.sortIndices(null);
+
+        final int N = A.numCols;
+        int[] diag = adjust(gdiag, N);
+        int[] w = adjust(gw, N);
+        Arrays.fill(w, 0, N, -1);
+
+        final int[] rows = LU.nz_rows;
+        final double[] values = LU.nz_values;
+
+        // Left looking factorization. Column j is computed using the previously computed columns.
+        for (int j = 0; j < N; j++) {
+            int idx0 = LU.col_idx[j];
+            int idx1 = LU.col_idx[j + 1];
+
+            diag[j] = -1;
+            for (int p = idx0; p < idx1; p++) {
+                w[rows[p]] = p;
+                if (rows[p] == j)
+                    diag[j] = p;
+            }
+            if (diag[j] < 0)
+                return false;
+
+            // A(i,j) -= L(i,k)*U(k,j) for all k < j, in increasing order of k. Updates outside the pattern
+            // are dropped
+            for (int p = idx0; p < diag[j]; p++) {
+                int k = rows[p];
+                double u_kj = values[p];
+
+                int kdx1 = LU.col_idx[k + 1];
+                for (int q = diag[k] + 1; q < kdx1; q++) {
+                    int location = w[rows[q]];
+                    if (location >= 0)
+                        values[location] -= values[q]*u_kj;
+                }
+            }
+
+            for (int p = idx0; p < idx1; p++) {
+                w[rows[p]] = -1;
+            }
+
+            double pivot = values[diag[j]];
+            if (pivot == 0.0)
+                return false;
+            for (int p = diag[j] + 1; p < idx1; p++) {
+                values[p] /= pivot;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void apply( double[] r, double[] z ) {
+        final int N = LU.numCols;
+        final int[] diag = gdiag.data;
+        final int[] rows = LU.nz_rows;
+        final double[] values = LU.nz_values;
+        System.arraycopy(r, 0, z, 0, N);
+
+        // L*y = r
+        for (int j = 0; j < N; j++) {
+            double z_j = z[j];
+            int idx1 = LU.col_idx[j + 1];
+            for (int p = diag[j] + 1; p < idx1; p++) {
+                z[rows[p]] -= values[p]*z_j;
+            }
+        }
+
+        // U*z = y
+        for (int j = N - 1; j >= 0; j--) {
+            double z_j = z[j] /= values[diag[j]];
+            int idx0 = LU.col_idx[j];
+            for (int p = idx0; p < diag[j]; p++) {
+                z[rows[p]] -= values[p]*z_j;
+            }
+        }
+    }
+
+    /**
+     * Returns a matrix which contains L and U. The unit diagonal of L is not stored.
+     */
+    public DMatrixSparseCSC getLU() {
+        return LU;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+
+/**
+ * Jacobi preconditioner, where M is the diagonal of A. Very cheap to compute and apply, and it works well
+ * when the rows in A have very different scales.
+ *
+ * @author Peter Abeles
+ */
+public class PreconditionerJacobi_DSCC implements Preconditioner_DSCC {
+    // inverse of the diagonal elements in A
+    DGrowArray invDiag = new DGrowArray();
+
+    @Override
+    public boolean setA( DMatrixSparseCSC A ) {
+        final int N = Math.min(A.numRows, A.numCols);
+        invDiag.reshape(N);
+        double[] d = invDiag.data;
+
+        for (int col = 0; col < N; col++) {
+            double value = A.unsafe_get(col, col);
+            if (value == 0.0)
+                return false;
+            d[col] = 1.0/value;
+        }
+        return true;
+    }
+
+    @Override
+    public void apply( double[] r, double[] z ) {
+        final int N = invDiag.length;
+        final double[] d = invDiag.data;
+        for (int i = 0; i < N; i++) {
+            z[i] = d[i]*r[i];
+        }
+    }
+}
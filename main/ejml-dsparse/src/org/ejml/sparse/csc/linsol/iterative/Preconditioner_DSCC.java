@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DMatrixSparseCSC;
+
+/**
+ * A preconditioner M approximates A and is cheap to invert. Iterative solvers converge much faster on
+ * M<sup>-1</sup>*A than on A, when M is a good approximation.
+ *
+ * @author Peter Abeles
+ */
+public interface Preconditioner_DSCC {
+    /**
+     * Computes the preconditioner for A
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @return true if successful or false if the preconditioner can't be computed for this matrix
+     */
+    boolean setA( DMatrixSparseCSC A );
+
+    /**
+     * Computes z = M<sup>-1</sup>*r
+     *
+     * @param r (Input) vector. Not modified.
+     * @param z (Output) vector. Can't be the same array as r.
+     */
+    void apply( double[] r, double[] z );
+}
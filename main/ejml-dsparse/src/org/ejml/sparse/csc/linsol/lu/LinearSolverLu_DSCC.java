@@ -19,15 +19,21 @@
 package org.ejml.sparse.csc.linsol.lu;
 
 import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
 import org.ejml.data.DGrowArray;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.DMatrixSparseCSC;
 import org.ejml.data.IGrowArray;
 import org.ejml.interfaces.decomposition.DecompositionInterface;
 import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.sparse.SparseSymbolicAnalysis;
 import org.ejml.sparse.csc.CommonOps_DSCC;
 import org.ejml.sparse.csc.decomposition.lu.LuUpLooking_DSCC;
+import org.ejml.sparse.csc.misc.LevelSchedule_DSCC;
 import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
+import org.ejml.sparse.csc.misc.TriangularSolver_MT_DSCC;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
 
 import static org.ejml.UtilEjml.adjust;
 
@@ -49,6 +55,21 @@ public class LinearSolverLu_DSCC implements LinearSolverSparse<DMatrixSparseCSC,
     // Number of rows in A
     int AnumRows,AnumCols;
 
+    // Used when solving large systems concurrently. L and U are transposed so that they can be solved one row
+    // at a time. Pivots depend on the values so the schedules are computed again after each decomposition
+    DMatrixSparseCSC Lt = new DMatrixSparseCSC(1, 1, 0);
+    DMatrixSparseCSC Ut = new DMatrixSparseCSC(1, 1, 0);
+    LevelSchedule_DSCC scheduleLt = new LevelSchedule_DSCC();
+    LevelSchedule_DSCC scheduleUt = new LevelSchedule_DSCC();
+    // true if the transposes and schedules are up to date
+    boolean scheduled = false;
+
+    /** Number of columns in B which are solved together when there are multiple right hand sides */
+    public int panelWidth = 16;
+
+    // Storage for each panel of right hand sides
+    GrowArray<DGrowArray> panels = new GrowArray<>(DGrowArray::new);
+
     public LinearSolverLu_DSCC( LuUpLooking_DSCC decomposition ) {
         this.decomposition = decomposition;
     }
@@ -57,6 +78,7 @@ public class LinearSolverLu_DSCC implements LinearSolverSparse<DMatrixSparseCSC,
     public boolean setA( DMatrixSparseCSC A ) {
         this.AnumRows = A.numRows;
         this.AnumCols = A.numCols;
+        this.scheduled = false;
         return decomposition.decompose(A);
     }
 
@@ -83,7 +105,32 @@ public class LinearSolverLu_DSCC implements LinearSolverSparse<DMatrixSparseCSC,
         tmp.reshape(L.numRows, B.numCols, 1);
 
         TriangularSolver_DSCC.solve(L, true, Bp, tmp, null, gx, gw, gw1);
-        TriangularSolver_DSCC.solve(U, false, tmp, X, null, gx, gw, gw1);
+        if (decomposition.isReduceFill()) {
+            // undo the column permutation
+            Bp.reshape(X.numRows, X.numCols, 1);
+            TriangularSolver_DSCC.solve(U, false, tmp, Bp, null, gx, gw, gw1);
+            CommonOps_DSCC.permuteRowInv(decomposition.getReducePermutation(), Bp, X);
+        } else {
+            TriangularSolver_DSCC.solve(U, false, tmp, X, null, gx, gw, gw1);
+        }
+    }
+
+    /**
+     * Saves the symbolic analysis from the most recent call to {@link #setA}.
+     *
+     * @see LuUpLooking_DSCC#getSymbolicAnalysis
+     */
+    public SparseSymbolicAnalysis getSymbolicAnalysis( @Nullable SparseSymbolicAnalysis output ) {
+        return decomposition.getSymbolicAnalysis(output);
+    }
+
+    /**
+     * Specifies a symbolic analysis which is used instead of computing it.
+     *
+     * @see LuUpLooking_DSCC#setSymbolicAnalysis
+     */
+    public void setSymbolicAnalysis( @Nullable SparseSymbolicAnalysis analysis ) {
+        decomposition.setSymbolicAnalysis(analysis);
     }
 
     @Override
@@ -101,6 +148,11 @@ public class LinearSolverLu_DSCC implements LinearSolverSparse<DMatrixSparseCSC,
     public void solve( DMatrixRMaj B, DMatrixRMaj X ) {
         UtilEjml.checkReshapeSolve(AnumRows, AnumCols, B, X);
 
+        if (B.numCols > 1) {
+            solvePanels(B, X);
+            return;
+        }
+
         int[] pinv = decomposition.getPinv();
         double[] x = adjust(gx, X.numRows);
         double[] b = adjust(gb, B.numRows);
@@ -111,17 +163,32 @@ public class LinearSolverLu_DSCC implements LinearSolverSparse<DMatrixSparseCSC,
         final boolean reduceFill = decomposition.isReduceFill();
         final int[] q = reduceFill ? decomposition.getReducePermutation() : null;
 
+        boolean concurrent = EjmlConcurrency.useConcurrent(L) || EjmlConcurrency.useConcurrent(U);
+        if (concurrent && !scheduled) {
+            IGrowArray gw = decomposition.getGw();
+            CommonOps_DSCC.transpose(L, Lt, gw);
+            CommonOps_DSCC.transpose(U, Ut, gw);
+            scheduleLt.process(Lt, false);
+            scheduleUt.process(Ut, true);
+            scheduled = true;
+        }
+
         // process each column in X and B individually
         for (int colX = 0; colX < X.numCols; colX++) {
             int index = colX;
             for (int i = 0; i < B.numRows; i++, index += X.numCols) b[i] = B.data[index];
 
             CommonOps_DSCC.permuteInv(pinv, b, x, X.numRows);
-            TriangularSolver_DSCC.solveL(L, x);
-            TriangularSolver_DSCC.solveU(U, x);
+            if (concurrent) {
+                TriangularSolver_MT_DSCC.solveTran(Lt, x, scheduleLt);
+                TriangularSolver_MT_DSCC.solveTran(Ut, x, scheduleUt);
+            } else {
+                TriangularSolver_DSCC.solveL(L, x);
+                TriangularSolver_DSCC.solveU(U, x);
+            }
             double[] d;
             if (reduceFill) {
-                CommonOps_DSCC.permute(q, x, b, X.numRows);
+                CommonOps_DSCC.permuteInv(q, x, b, X.numRows);
                 d = b;
             } else {
                 d = x;
@@ -131,6 +198,57 @@ public class LinearSolverLu_DSCC implements LinearSolverSparse<DMatrixSparseCSC,
         }
     }
 
+    /**
+     * Solves for multiple right hand sides by processing panels of columns together. Each element in L and U is
+     * then read once per panel instead of once per column. Panels are independent and are solved concurrently
+     * when the problem is large enough.
+     */
+    @SuppressWarnings("NullAway")
+    void solvePanels( DMatrixRMaj B, DMatrixRMaj X ) {
+        DMatrixSparseCSC L = decomposition.getL();
+        DMatrixSparseCSC U = decomposition.getU();
+        int[] pinv = decomposition.getPinv();
+        int[] q = decomposition.isReduceFill() ? decomposition.getReducePermutation() : null;
+
+        boolean concurrent = EjmlConcurrency.useConcurrent(L) || EjmlConcurrency.useConcurrent(U);
+        int width = TriangularSolver_MT_DSCC.selectPanelWidth(B.numCols, panelWidth, concurrent);
+        int numPanels = (B.numCols + width - 1)/width;
+
+        if (concurrent && numPanels > 1) {
+            EjmlConcurrency.loopFor(0, numPanels, 1, panels, ( work, panel ) ->
+                    solvePanel(L, U, pinv, q, B, X, panel*width, Math.min(B.numCols, (panel + 1)*width), work));
+        } else {
+            panels.reset();
+            DGrowArray work = panels.grow();
+            for (int col0 = 0; col0 < B.numCols; col0 += width) {
+                solvePanel(L, U, pinv, q, B, X, col0, Math.min(B.numCols, col0 + width), work);
+            }
+        }
+    }
+
+    /**
+     * Solves for columns col0 to col1-1 in B and writes the results into X
+     */
+    static void solvePanel( DMatrixSparseCSC L, DMatrixSparseCSC U, int[] pinv, @Nullable int[] q,
+                            DMatrixRMaj B, DMatrixRMaj X, int col0, int col1, DGrowArray work ) {
+        final int width = col1 - col0;
+        double[] panel = adjust(work, Math.max(B.numRows, X.numRows)*width);
+
+        // copy B into the panel and apply the row pivots
+        for (int i = 0; i < B.numRows; i++) {
+            System.arraycopy(B.data, i*B.numCols + col0, panel, pinv[i]*width, width);
+        }
+
+        TriangularSolver_DSCC.solveL(L, panel, width);
+        TriangularSolver_DSCC.solveU(U, panel, width);
+
+        // undo the fill reducing column permutation and copy into X
+        for (int i = 0; i < X.numRows; i++) {
+            int row = q == null ? i : q[i];
+            System.arraycopy(panel, i*width, X.data, row*X.numCols + col0, width);
+        }
+    }
+
     @Override
     public boolean modifiesA() {
         return decomposition.inputModified();
@@ -19,16 +19,23 @@
 package org.ejml.sparse.csc.linsol.qr;
 
 import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
 import org.ejml.data.DGrowArray;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.DMatrixSparseCSC;
 import org.ejml.data.IGrowArray;
 import org.ejml.interfaces.decomposition.DecompositionInterface;
 import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.sparse.SparseSymbolicAnalysis;
 import org.ejml.sparse.csc.CommonOps_DSCC;
 import org.ejml.sparse.csc.decomposition.qr.QrHelperFunctions_DSCC;
 import org.ejml.sparse.csc.decomposition.qr.QrLeftLookingDecomposition_DSCC;
 import org.ejml.sparse.csc.misc.TriangularSolver_DSCC;
+import org.ejml.sparse.csc.misc.TriangularSolver_MT_DSCC;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
 
 import static org.ejml.UtilEjml.adjust;
 
@@ -49,6 +56,12 @@ public class LinearSolverQrLeftLooking_DSCC implements LinearSolverSparse<DMatri
 
     private final DMatrixSparseCSC tmp = new DMatrixSparseCSC(1, 1, 1);
 
+    /** Number of columns in B which are solved together when there are multiple right hand sides */
+    public int panelWidth = 16;
+
+    // Storage for each panel of right hand sides
+    private final GrowArray<PanelWorkspace> panels = new GrowArray<>(PanelWorkspace::new);
+
     public LinearSolverQrLeftLooking_DSCC( QrLeftLookingDecomposition_DSCC qr ) {
         this.qr = qr;
     }
@@ -81,6 +94,13 @@ public class LinearSolverQrLeftLooking_DSCC implements LinearSolverSparse<DMatri
 
         // Apply permutation to B
         int[] pinv = qr.getStructure().getPinv();
+        int[] pinvFill = qr.getFillRowPinv();
+        if (pinvFill != null) {
+            CommonOps_DSCC.permuteRowInv(pinvFill, B, B_tmp);
+            swap = B_tmp;
+            B_tmp = B;
+            B = swap;
+        }
         CommonOps_DSCC.permuteRowInv(pinv, B, B_tmp);
         swap = B_tmp;
         B_tmp = B;
@@ -97,7 +117,32 @@ public class LinearSolverQrLeftLooking_DSCC implements LinearSolverSparse<DMatri
 
         // Solve for X
         DMatrixSparseCSC R = qr.getR();
-        TriangularSolver_DSCC.solve(R, false, B, X, null, gx, gw, gw1);
+        if (qr.isFillPermutated()) {
+            // undo the column permutation
+            B_tmp.reshape(X.numRows, X.numCols, 1);
+            TriangularSolver_DSCC.solve(R, false, B, B_tmp, null, gx, gw, gw1);
+            CommonOps_DSCC.permuteRowInv(qr.getFillPermutation(), B_tmp, X);
+        } else {
+            TriangularSolver_DSCC.solve(R, false, B, X, null, gx, gw, gw1);
+        }
+    }
+
+    /**
+     * Saves the symbolic analysis from the most recent call to {@link #setA}.
+     *
+     * @see QrLeftLookingDecomposition_DSCC#getSymbolicAnalysis
+     */
+    public SparseSymbolicAnalysis getSymbolicAnalysis( @Nullable SparseSymbolicAnalysis output ) {
+        return qr.getSymbolicAnalysis(output);
+    }
+
+    /**
+     * Specifies a symbolic analysis which is used instead of computing it.
+     *
+     * @see QrLeftLookingDecomposition_DSCC#setSymbolicAnalysis
+     */
+    public void setSymbolicAnalysis( @Nullable SparseSymbolicAnalysis analysis ) {
+        qr.setSymbolicAnalysis(analysis);
     }
 
     @Override
@@ -114,16 +159,28 @@ public class LinearSolverQrLeftLooking_DSCC implements LinearSolverSparse<DMatri
     public void solve( DMatrixRMaj B, DMatrixRMaj X ) {
         UtilEjml.checkReshapeSolve(AnumRows, AnumCols, B, X);
 
+        if (B.numCols > 1) {
+            solvePanels(B, X);
+            return;
+        }
+
         double[] b = adjust(gb, B.numRows);
         double[] bp = adjust(gbp, B.numRows);
         double[] x = adjust(gx, AnumCols);
 
         int[] pinv = qr.getStructure().getPinv();
+        int[] pinvFill = qr.getFillRowPinv();
 
         // process each column in X and B individually
         for (int colX = 0; colX < B.numCols; colX++) {
             int index = colX;
-            for (int i = 0; i < B.numRows; i++, index += X.numCols) b[i] = B.data[index];
+            if (pinvFill != null) {
+                // apply the fill reducing row permutation
+                for (int i = 0; i < B.numRows; i++, index += X.numCols) bp[pinvFill[i]] = B.data[index];
+                System.arraycopy(bp, 0, b, 0, B.numRows);
+            } else {
+                for (int i = 0; i < B.numRows; i++, index += X.numCols) b[i] = B.data[index];
+            }
 
             // apply row pivots
             CommonOps_DSCC.permuteInv(pinv, b, bp, AnumRows);
@@ -138,7 +195,7 @@ public class LinearSolverQrLeftLooking_DSCC implements LinearSolverSparse<DMatri
             // undo the permutation
             double[] out;
             if (qr.isFillPermutated()) {
-                CommonOps_DSCC.permute(qr.getFillPermutation(), bp, x, X.numRows);
+                CommonOps_DSCC.permuteInv(qr.getFillPermutation(), bp, x, X.numRows);
                 out = x;
             } else {
                 out = bp;
@@ -149,6 +206,73 @@ public class LinearSolverQrLeftLooking_DSCC implements LinearSolverSparse<DMatri
         }
     }
 
+    /**
+     * Solves for multiple right hand sides by processing panels of columns together. Each Householder vector
+     * and element in R is then read once per panel instead of once per column. Panels are independent and are
+     * solved concurrently when the problem is large enough.
+     */
+    void solvePanels( DMatrixRMaj B, DMatrixRMaj X ) {
+        boolean concurrent = EjmlConcurrency.useConcurrent(qr.getV()) || EjmlConcurrency.useConcurrent(qr.getR());
+        int width = TriangularSolver_MT_DSCC.selectPanelWidth(B.numCols, panelWidth, concurrent);
+        int numPanels = (B.numCols + width - 1)/width;
+
+        if (concurrent && numPanels > 1) {
+            EjmlConcurrency.loopFor(0, numPanels, 1, panels, ( work, panel ) ->
+                    solvePanel(B, X, panel*width, Math.min(B.numCols, (panel + 1)*width), work));
+        } else {
+            panels.reset();
+            PanelWorkspace work = panels.grow();
+            for (int col0 = 0; col0 < B.numCols; col0 += width) {
+                solvePanel(B, X, col0, Math.min(B.numCols, col0 + width), work);
+            }
+        }
+    }
+
+    /**
+     * Solves for columns col0 to col1-1 in B and writes the results into X
+     */
+    private void solvePanel( DMatrixRMaj B, DMatrixRMaj X, int col0, int col1, PanelWorkspace work ) {
+        final int width = col1 - col0;
+        DMatrixSparseCSC V = qr.getV();
+
+        int[] pinv = qr.getStructure().getPinv();
+        int[] pinvFill = qr.getFillRowPinv();
+
+        // Fictitious rows are zero
+        int panelRows = Math.max(B.numRows, V.numRows);
+        double[] panel = adjust(work.panel, panelRows*width);
+        Arrays.fill(panel, 0, panelRows*width, 0.0);
+        double[] tau = adjust(work.tau, width);
+
+        // copy B into the panel and apply the fill reducing row permutation and row pivots
+        for (int i = 0; i < B.numRows; i++) {
+            int row = pinv[pinvFill == null ? i : pinvFill[i]];
+            System.arraycopy(B.data, i*B.numCols + col0, panel, row*width, width);
+        }
+
+        // apply Householder reflectors
+        for (int j = 0; j < AnumCols; j++) {
+            QrHelperFunctions_DSCC.applyHouseholder(V, j, qr.getBeta(j), panel, width, tau);
+        }
+        // Solve for R*X = B
+        TriangularSolver_DSCC.solveU(qr.getR(), panel, width);
+
+        // undo the permutation and copy into X
+        int[] q = qr.isFillPermutated() ? qr.getFillPermutation() : null;
+        for (int i = 0; i < X.numRows; i++) {
+            int row = q == null ? i : q[i];
+            System.arraycopy(panel, i*width, X.data, row*X.numCols + col0, width);
+        }
+    }
+
+    /**
+     * Workspace for solving a panel of right hand sides
+     */
+    private static class PanelWorkspace {
+        final DGrowArray panel = new DGrowArray();
+        final DGrowArray tau = new DGrowArray();
+    }
+
     @Override
     public boolean modifiesA() {
         return qr.inputModified();
@@ -43,6 +43,14 @@ public class ApplyFillReductionPermutation_DSCC {
 
     boolean symmetric;
 
+    // true if the rows of the input matrix were permuted
+    boolean rowPermuted;
+
+    // if true then the permutation was provided and fillReduce is not used
+    boolean fixed;
+    @Nullable int[] fixedRow;
+    @Nullable int[] fixedCol;
+
     public ApplyFillReductionPermutation_DSCC( @Nullable ComputePermutation<DMatrixSparseCSC> fillReduce,
                                                boolean symmetric ) {
         this.fillReduce = fillReduce;
@@ -53,40 +61,110 @@ public class ApplyFillReductionPermutation_DSCC {
      * Computes and applies the fill reduction permutation. Either A is returned (unmodified) or the permutated
      * version of A.
      *
+     * <p>If symmetric then the row permutation is applied to the rows and columns. If there is no row permutation
+     * then the column permutation is used instead. If not symmetric then P*A*Q is returned, where either
+     * permutation is optional.</p>
+     *
      * @param A Input matrix. unmodified.
      * @return A permuted matrix. Might be A or a different matrix.
      */
     public DMatrixSparseCSC apply( DMatrixSparseCSC A ) {
-        if (fillReduce == null)
+        rowPermuted = false;
+        if (!fixed) {
+            if (fillReduce == null)
+                return A;
+            fillReduce.process(A);
+        }
+
+        @Nullable int[] p = getArrayP();
+        @Nullable int[] q = getArrayQ();
+
+        if (symmetric) {
+            if (p == null)
+                p = q;
+            if (p == null) {
+                if (fixed)
+                    return A;
+                throw new RuntimeException("No row or column permutation matrix");
+            }
+            computeRowInverse(p, A.numRows);
+            CommonOps_DSCC.permuteSymmetric(A, pinv, Aperm, gw);
+            return Aperm;
+        }
+
+        if (p == null && q == null)
             return A;
-        fillReduce.process(A);
+        if (p != null)
+            computeRowInverse(p, A.numRows);
+        CommonOps_DSCC.permute(p == null ? null : pinv, A, q, Aperm);
+        return Aperm;
+    }
 
-        IGrowArray gp = fillReduce.getRow();
-        if (gp == null)
-            throw new RuntimeException("No row permutation matrix");
+    /**
+     * Specifies the permutation instead of computing it. Useful when the permutation has already been computed
+     * for a matrix with the same structure. The arrays are not copied or modified.
+     *
+     * @param row Row permutation or null if the rows are not permuted
+     * @param col Column permutation or null if the columns are not permuted
+     */
+    public void setFixedPermutation( @Nullable int[] row, @Nullable int[] col ) {
+        this.fixed = true;
+        this.fixedRow = row;
+        this.fixedCol = col;
+    }
 
-        if (pinv.length < gp.length)
-            pinv = new int[gp.length];
-        CommonOps_DSCC.permutationInverse(gp.data, pinv, gp.length);
-        if (symmetric)
-            CommonOps_DSCC.permuteSymmetric(A, pinv, Aperm, gw);
-        else
-            CommonOps_DSCC.permuteRowInv(pinv, A, Aperm);
-        return Aperm;
+    /**
+     * Discards the fixed permutation. The permutation will be computed by the fill reduction algorithm again.
+     */
+    public void clearFixedPermutation() {
+        this.fixed = false;
+        this.fixedRow = null;
+        this.fixedCol = null;
+    }
+
+    private void computeRowInverse( int[] p, int length ) {
+        if (pinv.length < length)
+            pinv = new int[length];
+        CommonOps_DSCC.permutationInverse(p, pinv, length);
+        rowPermuted = true;
     }
 
+    /**
+     * Inverse of the permutation applied to the rows of A or null if the rows were not permuted.
+     */
     public @Nullable int[] getArrayPinv() {
-        return fillReduce == null ? null : pinv;
+        return rowPermuted ? pinv : null;
     }
 
-    @SuppressWarnings("NullAway")
+    /**
+     * Row permutation or null if there is none
+     */
     public @Nullable int[] getArrayP() {
-        return fillReduce == null ? null : fillReduce.getRow().data;
+        if (fixed)
+            return fixedRow;
+        if (fillReduce == null)
+            return null;
+        IGrowArray p = fillReduce.getRow();
+        return p == null ? null : p.data;
     }
 
-    @SuppressWarnings("NullAway")
+    /**
+     * Column permutation or null if there is none
+     */
     public @Nullable int[] getArrayQ() {
-        return fillReduce == null ? null : fillReduce.getColumn().data;
+        if (fixed)
+            return fixedCol;
+        if (fillReduce == null)
+            return null;
+        IGrowArray q = fillReduce.getColumn();
+        return q == null ? null : q.data;
+    }
+
+    /**
+     * Returns true if a row permutation was applied to A in the last call to {@link #apply}
+     */
+    public boolean isRowPermuted() {
+        return rowPermuted;
     }
 
     public IGrowArray getGw() {
@@ -102,6 +180,6 @@ public class ApplyFillReductionPermutation_DSCC {
     }
 
     public boolean isApplied() {
-        return fillReduce != null;
+        return fixed ? fixedRow != null || fixedCol != null : fillReduce != null;
     }
 }
@@ -0,0 +1,499 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+
+import java.util.Arrays;
+
+/**
+ * <p>Approximate Minimum Degree (AMD) fill reducing ordering. Given the non-zero pattern of a symmetric matrix it
+ * selects an elimination order which greedily minimizes an upper bound on the degree of each node in the
+ * quotient graph. Applying the ordering before a Cholesky, LU, or QR decomposition can drastically reduce
+ * the number of non-zero elements in the factors and with it the time needed to compute them.</p>
+ *
+ * <p>Two graphs can be ordered:</p>
+ * <ul>
+ *     <li>{@link #orderSymmetric} the graph of A+A<sup>T</sup>. Intended for Cholesky and for LU when the
+ *     matrix's structure is close to symmetric.</li>
+ *     <li>{@link #orderColumns} the graph of A<sup>T</sup>A with dense rows of A ignored. A column ordering
+ *     for QR and LU. Since the pivots in QR and LU are determined by the columns, only a column permutation is
+ *     needed.</li>
+ * </ul>
+ *
+ * <p>NOTE: Based on cs_amd() on page 130 in csparse, which includes aggressive absorption, mass elimination,
+ * supernode detection, and removal of dense nodes.</p>
+ *
+ * @author Peter Abeles
+ */
+public class ApproximateMinimumDegree_DSCC {
+
+    // Graph which is being ordered. Elbow room is added to the end of nz_rows so that new elements can be appended
+    DMatrixSparseCSC C = new DMatrixSparseCSC(1, 1, 0);
+    // Storage for the transpose of the input matrix
+    DMatrixSparseCSC At = new DMatrixSparseCSC(1, 1, 0);
+
+    // Workspace. Each array has N+1 elements
+    int[] len = new int[0];    // length of each node's adjacency list
+    int[] nv = new int[0];     // number of nodes a supernode represents
+    int[] next = new int[0];   // next node in a linked list
+    int[] head = new int[0];   // head of a linked list
+    int[] elen = new int[0];   // number of elements in a node's list
+    int[] degree = new int[0]; // approximate degree of each node
+    int[] w = new int[0];      // mark array
+    int[] hhead = new int[0];  // head of a hash bucket
+    int[] last = new int[0];   // previous node in a linked list
+
+    IGrowArray gw = new IGrowArray();
+
+    /**
+     * Computes an ordering for the symmetric pattern of A+A<sup>T</sup>. Only the structure is used and the
+     * diagonal elements are ignored.
+     *
+     * @param A (Input) Square matrix. Not modified.
+     * @param permutation (Output) The ordering. permutation[k] = i means column 'i' in A becomes column 'k'.
+     */
+    public void orderSymmetric( DMatrixSparseCSC A, IGrowArray permutation ) {
+        if (A.numRows != A.numCols)
+            throw new IllegalArgumentException("A must be square");
+
+        CommonOps_DSCC.transpose(A, At, gw);
+        int n = A.numCols;
+        int[] mark = initializeGraph(n, A.nz_length*2);
+
+        for (int j = 0; j < n; j++) {
+            C.col_idx[j] = C.nz_length;
+            mark[j] = j; // this excludes the diagonal element
+            addColumnPattern(A, j, j, mark);
+            addColumnPattern(At, j, j, mark);
+        }
+        C.col_idx[n] = C.nz_length;
+
+        process(n, permutation);
+    }
+
+    /**
+     * Computes a column ordering using the pattern of A<sup>T</sup>A. Dense rows in A are ignored since they
+     * would make A<sup>T</sup>A dense and provide no information, as is done by COLAMD.
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param permutation (Output) The column ordering. permutation[k] = i means column 'i' in A becomes column 'k'.
+     */
+    public void orderColumns( DMatrixSparseCSC A, IGrowArray permutation ) {
+        CommonOps_DSCC.transpose(A, At, gw);
+        int n = A.numCols;
+        int dense = denseThreshold(n);
+        int[] mark = initializeGraph(n, A.nz_length*2);
+
+        for (int j = 0; j < n; j++) {
+            C.col_idx[j] = C.nz_length;
+            mark[j] = j;
+            for (int p = A.col_idx[j]; p < A.col_idx[j + 1]; p++) {
+                int row = A.nz_rows[p];
+                // skip dense rows
+                if (At.col_idx[row + 1] - At.col_idx[row] > dense)
+                    continue;
+                addColumnPattern(At, row, j, mark);
+            }
+        }
+        C.col_idx[n] = C.nz_length;
+
+        process(n, permutation);
+    }
+
+    private int[] initializeGraph( int n, int estimatedLength ) {
+        C.reshape(n, n, Math.max(1, estimatedLength));
+        C.nz_length = 0;
+        int[] mark = UtilEjml.adjust(gw, n);
+        Arrays.fill(mark, 0, n, -1);
+        return mark;
+    }
+
+    /**
+     * Adds the rows in column 'col' of 'A' into column 'target' of C, skipping elements already marked.
+     */
+    private void addColumnPattern( DMatrixSparseCSC A, int col, int target, int[] mark ) {
+        int idx0 = A.col_idx[col];
+        int idx1 = A.col_idx[col + 1];
+        if (C.nz_length + idx1 - idx0 > C.nz_rows.length)
+            C.growMaxLength(Math.max(C.nz_rows.length*2, C.nz_length + idx1 - idx0), true);
+        for (int p = idx0; p < idx1; p++) {
+            int i = A.nz_rows[p];
+            if (mark[i] == target)
+                continue;
+            mark[i] = target;
+            C.nz_rows[C.nz_length++] = i;
+        }
+    }
+
+    private static int denseThreshold( int n ) {
+        int dense = (int)Math.max(16, 10*Math.sqrt(n));
+        return Math.min(n - 2, dense);
+    }
+
+    private static int flip( int i ) {
+        return -i - 2;
+    }
+
+    /**
+     * Computes the ordering of the graph stored in 'C'. C has no diagonal elements and is symmetric.
+     */
+    void process( int n, IGrowArray permutation ) {
+        permutation.reshape(n);
+
+        int dense = denseThreshold(n);
+
+        // add elbow room to C
+        int cnz = C.col_idx[n];
+        int nzmax = cnz + cnz/5 + 2*n;
+        if (C.nz_rows.length < nzmax)
+            C.growMaxLength(nzmax, true);
+        nzmax = C.nz_rows.length;
+
+        int[] Cp = C.col_idx;
+        int[] Ci = C.nz_rows;
+
+        declareWorkspace(n + 1);
+
+        int lemax = 0, mindeg = 0, nel = 0;
+
+        //------------------------ Initialize quotient graph
+        for (int k = 0; k < n; k++) {
+            len[k] = Cp[k + 1] - Cp[k];
+        }
+        len[n] = 0;
+        for (int i = 0; i <= n; i++) {
+            head[i] = -1;      // degree list i is empty
+            last[i] = -1;
+            next[i] = -1;
+            hhead[i] = -1;     // hash list i is empty
+            nv[i] = 1;         // node i is just one node
+            w[i] = 1;          // node i is alive
+            elen[i] = 0;       // Ek of node i is empty
+            degree[i] = len[i];
+        }
+        int mark = clearMarks(0, 0, n);
+        elen[n] = -2;          // n is a dead element
+        Cp[n] = -1;            // n is a root of the assembly tree
+        w[n] = 0;              // n is a dead element
+
+        //------------------------ Initialize degree lists
+        for (int i = 0; i < n; i++) {
+            int d = degree[i];
+            if (d == 0) {               // node i is empty
+                elen[i] = -2;           // element i is dead
+                nel++;
+                Cp[i] = -1;             // i is a root of the assembly tree
+                w[i] = 0;
+            } else if (d > dense) {     // node i is dense
+                nv[i] = 0;              // absorb i into element n
+                elen[i] = -1;           // node i is dead
+                nel++;
+                Cp[i] = flip(n);
+                nv[n]++;
+            } else {
+                if (head[d] != -1) last[head[d]] = i;
+                next[i] = head[d];      // put node i in degree list d
+                head[d] = i;
+            }
+        }
+
+        while (nel < n) {
+            //-------------------- Select node of minimum approximate degree
+            int k = -1;
+            for (; mindeg < n && (k = head[mindeg]) == -1; mindeg++) {}
+            if (next[k] != -1) last[next[k]] = -1;
+            head[mindeg] = next[k];     // remove k from degree list
+            int elenk = elen[k];        // elenk = |Ek|
+            int nvk = nv[k];            // number of nodes k represents
+            nel += nvk;                 // nv[k] nodes of A eliminated
+
+            //-------------------- Garbage collection
+            if (elenk > 0 && cnz + mindeg >= nzmax) {
+                for (int j = 0; j < n; j++) {
+                    int p;
+                    if ((p = Cp[j]) >= 0) {     // j is a live node or element
+                        Cp[j] = Ci[p];          // save first entry of object
+                        Ci[p] = flip(j);        // first entry is now flip(j)
+                    }
+                }
+                int q = 0;
+                for (int p = 0; p < cnz; ) {  // scan all of memory
+                    int j;
+                    if ((j = flip(Ci[p++])) >= 0) { // found object j
+                        Ci[q] = Cp[j];              // restore first entry of object
+                        Cp[j] = q++;                // new pointer to object j
+                        for (int k3 = 0; k3 < len[j] - 1; k3++) Ci[q++] = Ci[p++];
+                    }
+                }
+                cnz = q;                        // Ci[cnz...nzmax-1] now free
+            }
+
+            //-------------------- Construct new element
+            int dk = 0;
+            nv[k] = -nvk;                       // flag k as in Lk
+            int p = Cp[k];
+            int pk1 = (elenk == 0) ? p : cnz;   // do in place if elen[k] == 0
+            int pk2 = pk1;
+            for (int k1 = 1; k1 <= elenk + 1; k1++) {
+                int e, pj, ln;
+                if (k1 > elenk) {
+                    e = k;                      // search the nodes in k
+                    pj = p;                     // list of nodes starts at Ci[pj]
+                    ln = len[k] - elenk;        // length of list of nodes in k
+                } else {
+                    e = Ci[p++];                // search the nodes in e
+                    pj = Cp[e];
+                    ln = len[e];                // length of list of nodes in e
+                }
+                for (int k2 = 1; k2 <= ln; k2++) {
+                    int i = Ci[pj++];
+                    int nvi;
+                    if ((nvi = nv[i]) <= 0) continue; // node i dead, or seen
+                    dk += nvi;                  // degree[Lk] += size of node i
+                    nv[i] = -nvi;               // negate nv[i] to denote i in Lk
+                    Ci[pk2++] = i;              // place i in Lk
+                    if (next[i] != -1) last[next[i]] = last[i];
+                    if (last[i] != -1) {        // remove i from degree list
+                        next[last[i]] = next[i];
+                    } else {
+                        head[degree[i]] = next[i];
+                    }
+                }
+                if (e != k) {
+                    Cp[e] = flip(k);            // absorb e into k
+                    w[e] = 0;                   // e is now a dead element
+                }
+            }
+            if (elenk != 0) cnz = pk2;          // Ci[cnz...nzmax] is free
+            degree[k] = dk;                     // external degree of k - |Lk\i|
+            Cp[k] = pk1;                        // element k is in Ci[pk1..pk2-1]
+            len[k] = pk2 - pk1;
+            elen[k] = -2;                       // k is now an element
+
+            //-------------------- Find set differences
+            mark = clearMarks(mark, lemax, n);
+            for (int pk = pk1; pk < pk2; pk++) { // scan 1: find |Le\Lk|
+                int i = Ci[pk];
+                int eln;
+                if ((eln = elen[i]) <= 0) continue; // skip if elen[i] empty
+                int nvi = -nv[i];                   // nv[i] was negated
+                int wnvi = mark - nvi;
+                for (p = Cp[i]; p <= Cp[i] + eln - 1; p++) { // scan Ei
+                    int e = Ci[p];
+                    if (w[e] >= mark) {
+                        w[e] -= nvi;                // decrement |Le\Lk|
+                    } else if (w[e] != 0) {         // ensure e is a live element
+                        w[e] = degree[e] + wnvi;    // 1st time e seen in scan 1
+                    }
+                }
+            }
+
+            //-------------------- Degree update
+            for (int pk = pk1; pk < pk2; pk++) { // scan 2: degree update
+                int i = Ci[pk];                 // consider node i in Lk
+                int p1 = Cp[i];
+                int p2 = p1 + elen[i] - 1;
+                int pn = p1;
+                int h = 0, d = 0;
+                for (p = p1; p <= p2; p++) {    // scan Ei
+                    int e = Ci[p];
+                    if (w[e] != 0) {            // e is an unabsorbed element
+                        int dext = w[e] - mark; // dext = |Le\Lk|
+                        if (dext > 0) {
+                            d += dext;          // sum up the set differences
+                            Ci[pn++] = e;       // keep e in Ei
+                            h += e;             // compute the hash of node i
+                        } else {
+                            Cp[e] = flip(k);    // aggressive absorb. e->k
+                            w[e] = 0;           // e is a dead element
+                        }
+                    }
+                }
+                elen[i] = pn - p1 + 1;          // elen[i] = |Ei|
+                int p3 = pn;
+                int p4 = p1 + len[i];
+                for (p = p2 + 1; p < p4; p++) { // prune edges in Ai
+                    int j = Ci[p];
+                    int nvj;
+                    if ((nvj = nv[j]) <= 0) continue; // node j dead or in Lk
+                    d += nvj;                   // degree(i) += |j|
+                    Ci[pn++] = j;               // place j in node list of i
+                    h += j;                     // compute hash for node i
+                }
+                if (d == 0) {                   // check for mass elimination
+                    Cp[i] = flip(k);            // absorb i into k
+                    int nvi = -nv[i];
+                    dk -= nvi;                  // |Lk| -= |i|
+                    nvk += nvi;                 // |k| += nv[i]
+                    nel += nvi;
+                    nv[i] = 0;
+                    elen[i] = -1;               // node i is dead
+                } else {
+                    degree[i] = Math.min(degree[i], d); // update degree(i)
+                    Ci[pn] = Ci[p3];            // move first node to end
+                    Ci[p3] = Ci[p1];            // move 1st el. to end of Ei
+                    Ci[p1] = k;                 // add k as 1st element in of Ei
+                    len[i] = pn - p1 + 1;       // new len of adj. list of node i
+                    h = ((h < 0) ? (-h) : h)%n; // finalize hash of i
+                    next[i] = hhead[h];         // place i in hash bucket
+                    hhead[h] = i;
+                    last[i] = h;                // save hash of i in last[i]
+                }
+            }
+            degree[k] = dk;                     // finalize |Lk|
+            lemax = Math.max(lemax, dk);
+            mark = clearMarks(mark + lemax, lemax, n);
+
+            //-------------------- Supernode detection
+            for (int pk = pk1; pk < pk2; pk++) {
+                int i = Ci[pk];
+                if (nv[i] >= 0) continue;       // skip if i is dead
+                int h = last[i];                // scan hash bucket of node i
+                i = hhead[h];
+                hhead[h] = -1;                  // hash bucket will be empty
+                for (; i != -1 && next[i] != -1; i = next[i], mark++) {
+                    int ln = len[i];
+                    int eln = elen[i];
+                    for (p = Cp[i] + 1; p <= Cp[i] + ln - 1; p++) w[Ci[p]] = mark;
+                    int jlast = i;
+                    for (int j = next[i]; j != -1; ) { // compare i with all j
+                        boolean ok = (len[j] == ln) && (elen[j] == eln);
+                        for (p = Cp[j] + 1; ok && p <= Cp[j] + ln - 1; p++) {
+                            if (w[Ci[p]] != mark) ok = false; // compare i and j
+                        }
+                        if (ok) {               // i and j are identical
+                            Cp[j] = flip(i);    // absorb j into i
+                            nv[i] += nv[j];
+                            nv[j] = 0;
+                            elen[j] = -1;       // node j is dead
+                            j = next[j];        // delete j from hash bucket
+                            next[jlast] = j;
+                        } else {
+                            jlast = j;          // j and i are different
+                            j = next[j];
+                        }
+                    }
+                }
+            }
+
+            //-------------------- Finalize new element
+            p = pk1;
+            for (int pk = pk1; pk < pk2; pk++) { // finalize Lk
+                int i = Ci[pk];
+                int nvi;
+                if ((nvi = -nv[i]) <= 0) continue; // skip if i is dead
+                nv[i] = nvi;                    // restore nv[i]
+                int d = degree[i] + dk - nvi;   // compute external degree(i)
+                d = Math.min(d, n - nel - nvi);
+                if (head[d] != -1) last[head[d]] = i;
+                next[i] = head[d];              // put i back in degree list
+                last[i] = -1;
+                head[d] = i;
+                mindeg = Math.min(mindeg, d);   // find new minimum degree
+                degree[i] = d;
+                Ci[p++] = i;                    // place i in Lk
+            }
+            nv[k] = nvk;                        // # nodes absorbed into k
+            if ((len[k] = p - pk1) == 0) {      // length of adj list of element k
+                Cp[k] = -1;                     // k is a root of the tree
+                w[k] = 0;                       // k is now a dead element
+            }
+            if (elenk != 0) cnz = p;            // free unused space in Lk
+        }
+
+        //------------------------ Post ordering
+        for (int i = 0; i < n; i++) Cp[i] = flip(Cp[i]); // fix assembly tree
+        Arrays.fill(head, 0, n + 1, -1);
+        for (int j = n; j >= 0; j--) {          // place unordered nodes in lists
+            if (nv[j] > 0) continue;            // skip if j is an element
+            next[j] = head[Cp[j]];              // place j in list of its parent
+            head[Cp[j]] = j;
+        }
+        for (int e = n; e >= 0; e--) {          // place elements in lists
+            if (nv[e] <= 0) continue;           // skip unless e is an element
+            if (Cp[e] != -1) {
+                next[e] = head[Cp[e]];          // place e in list of its parent
+                head[Cp[e]] = e;
+            }
+        }
+        // the post ordering is written into 'last' since it has N+1 elements. The last element is the
+        // fictitious node 'n' which is ignored
+        int k = 0;
+        for (int i = 0; i <= n; i++) {          // postorder the assembly tree
+            if (Cp[i] == -1) k = treeDepthFirst(i, k, last, w);
+        }
+        System.arraycopy(last, 0, permutation.data, 0, n);
+
+        // The graph is no longer valid
+        C.nz_length = 0;
+        Arrays.fill(C.col_idx, 0, n + 1, 0);
+    }
+
+    /**
+     * Depth first search and postorder of a tree rooted at node j. See cs_tdfs() on page 44
+     */
+    private int treeDepthFirst( int j, int k, int[] post, int[] stack ) {
+        int top = 0;
+        stack[0] = j;
+        while (top >= 0) {
+            int p = stack[top];
+            int i = head[p];
+            if (i == -1) {
+                top--;
+                post[k++] = p;
+            } else {
+                head[p] = next[i];
+                stack[++top] = i;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Clears the mark array w if needed. After calling w[0..n-1] &lt; mark. See cs_wclear()
+     */
+    private int clearMarks( int mark, int lemax, int n ) {
+        if (mark < 2 || (mark + lemax < 0)) {
+            for (int k = 0; k < n; k++) {
+                if (w[k] != 0)
+                    w[k] = 1;
+            }
+            mark = 2;
+        }
+        return mark;
+    }
+
+    private void declareWorkspace( int length ) {
+        if (len.length >= length)
+            return;
+        len = new int[length];
+        nv = new int[length];
+        next = new int[length];
+        head = new int[length];
+        elen = new int[length];
+        degree = new int[length];
+        w = new int[length];
+        hhead = new int[length];
+        last = new int[length];
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.data.IGrowArray;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Used to assemble a sparse matrix one element at a time, e.g. a finite element stiffness matrix. Elements are
+ * stored in a {@link LongKeyHashMap_DSCC}, so unlike {@link DMatrixSparseTriplet} setting, adding to, or reading an
+ * element is an O(1) operation and duplicates are summed as they are added.
+ * </p>
+ *
+ * <p>
+ * To assemble in parallel, give each thread its own assembler and combine them with {@link #merge}, or
+ * convert all of them at once with {@link #convert(List, DMatrixSparseCSC)}. Conversion into
+ * {@link DMatrixSparseCSC} is done with {@link ImplConvertTriplet_MT_DSCC}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class HashAssembler_DSCC {
+    /** Storage for elements. The key encodes the column in the upper 32-bits and the row in the lower. */
+    public final LongKeyHashMap_DSCC map;
+
+    public int numRows;
+    public int numCols;
+
+    // Workspace for conversion
+    IGrowArray rowcol = new IGrowArray();
+    DGrowArray values = new DGrowArray();
+    @Nullable ImplConvertTriplet_MT_DSCC converter;
+
+    /**
+     * @param numRows Number of rows in the matrix
+     * @param numCols Number of columns in the matrix
+     * @param expectedNonZero Expected number of non-zero elements. Used to avoid resizing the hash table.
+     */
+    public HashAssembler_DSCC( int numRows, int numCols, int expectedNonZero ) {
+        if (numRows < 0 || numCols < 0 || expectedNonZero < 0)
+            throw new IllegalArgumentException("Rows, columns, and expectedNonZero must be not be negative");
+        this.numRows = numRows;
+        this.numCols = numCols;
+        this.map = new LongKeyHashMap_DSCC(expectedNonZero);
+    }
+
+    /**
+     * Changes the shape and removes all the elements
+     */
+    public void reshape( int numRows, int numCols ) {
+        if (numRows < 0 || numCols < 0)
+            throw new IllegalArgumentException("Rows and columns must be not be negative");
+        this.numRows = numRows;
+        this.numCols = numCols;
+        map.clear();
+    }
+
+    /**
+     * Assigns a value to the element, replacing the previous value
+     */
+    public void set( int row, int col, double value ) {
+        checkBounds(row, col);
+        map.put(key(row, col), value);
+    }
+
+    /**
+     * Adds the value to the element. If the element doesn't exist it's created.
+     */
+    public void add( int row, int col, double value ) {
+        checkBounds(row, col);
+        map.add(key(row, col), value);
+    }
+
+    /**
+     * Returns the value of the element or zero if it doesn't exist
+     */
+    public double get( int row, int col ) {
+        checkBounds(row, col);
+        return map.get(key(row, col), 0.0);
+    }
+
+    public void unsafe_set( int row, int col, double value ) {
+        map.put(key(row, col), value);
+    }
+
+    public void unsafe_add( int row, int col, double value ) {
+        map.add(key(row, col), value);
+    }
+
+    public double unsafe_get( int row, int col ) {
+        return map.get(key(row, col), 0.0);
+    }
+
+    /**
+     * Returns true if the element has been assigned a value
+     */
+    public boolean isAssigned( int row, int col ) {
+        checkBounds(row, col);
+        return map.containsKey(key(row, col));
+    }
+
+    /**
+     * Removes the element
+     */
+    public void remove( int row, int col ) {
+        checkBounds(row, col);
+        map.remove(key(row, col));
+    }
+
+    /**
+     * Adds the elements in 'src' to this assembler.
+     */
+    public void merge( HashAssembler_DSCC src ) {
+        if (src.numRows != numRows || src.numCols != numCols)
+            throw new IllegalArgumentException("Shapes do not match");
+        LongKeyHashMap_DSCC srcMap = src.map;
+        map.reserve(map.size() + srcMap.size());
+        for (int slot = 0; slot < srcMap.capacity(); slot++) {
+            if (srcMap.isOccupied(slot))
+                map.add(srcMap.keyAt(slot), srcMap.valueAt(slot));
+        }
+    }
+
+    /**
+     * Number of elements which have been assigned a value
+     */
+    public int getNonZeroLength() {
+        return map.size();
+    }
+
+    /**
+     * Converts into a {@link DMatrixSparseCSC} with sorted row indexes
+     *
+     * @param dst (Output) Storage for the matrix. If null a new instance is created.
+     * @return The converted matrix
+     */
+    public DMatrixSparseCSC convert( @Nullable DMatrixSparseCSC dst ) {
+        if (dst == null)
+            dst = new DMatrixSparseCSC(numRows, numCols, map.size());
+        if (converter == null)
+            converter = new ImplConvertTriplet_MT_DSCC();
+
+        int length = copyElements(this, rowcol, values, 0);
+        converter.convert(rowcol.data, values.data, length, numRows, numCols, dst);
+        return dst;
+    }
+
+    /**
+     * Converts the sum of several assemblers into a single {@link DMatrixSparseCSC}. This avoids merging
+     * them first.
+     *
+     * @param list (Input) Assemblers which all have the same shape. Not modified.
+     * @param dst (Output) Storage for the matrix. If null a new instance is created.
+     * @return The converted matrix
+     */
+    public static DMatrixSparseCSC convert( List<HashAssembler_DSCC> list, @Nullable DMatrixSparseCSC dst ) {
+        if (list.isEmpty())
+            throw new IllegalArgumentException("List is empty");
+        HashAssembler_DSCC first = list.get(0);
+
+        int total = 0;
+        for (int i = 0; i < list.size(); i++) {
+            HashAssembler_DSCC a = list.get(i);
+            if (a.numRows != first.numRows || a.numCols != first.numCols)
+                throw new IllegalArgumentException("Shapes do not match");
+            total += a.map.size();
+        }
+
+        var rowcol = new IGrowArray(total*2);
+        var values = new DGrowArray(total);
+        int length = 0;
+        for (int i = 0; i < list.size(); i++) {
+            length = copyElements(list.get(i), rowcol, values, length);
+        }
+
+        if (dst == null)
+            dst = new DMatrixSparseCSC(first.numRows, first.numCols, total);
+        new ImplConvertTriplet_MT_DSCC().convert(rowcol.data, values.data, length, first.numRows, first.numCols, dst);
+        return dst;
+    }
+
+    /**
+     * Copies all the elements into triplet arrays, starting at 'offset'
+     *
+     * @return Number of triplets in the arrays after the elements have been added
+     */
+    static int copyElements( HashAssembler_DSCC src, IGrowArray rowcol, DGrowArray values, int offset ) {
+        LongKeyHashMap_DSCC map = src.map;
+        int length = offset + map.size();
+        if (rowcol.data.length < length*2)
+            rowcol.growInternal(length*2 - rowcol.data.length);
+        if (values.data.length < length)
+            values.growInternal(length - values.data.length);
+        rowcol.length = length*2;
+        values.length = length;
+
+        int index = offset;
+        for (int slot = 0; slot < map.capacity(); slot++) {
+            if (!map.isOccupied(slot))
+                continue;
+            long key = map.keyAt(slot);
+            rowcol.data[index*2] = (int)(key & 0xFFFFFFFFL);
+            rowcol.data[index*2 + 1] = (int)(key >>> 32);
+            values.data[index] = map.valueAt(slot);
+            index++;
+        }
+        return length;
+    }
+
+    static long key( int row, int col ) {
+        return ((long)col << 32) | row;
+    }
+
+    void checkBounds( int row, int col ) {
+        if (row < 0 || col < 0 || row >= numRows || col >= numCols)
+            throw new IllegalArgumentException("Out of bounds. (" + row + "," + col + ") " + numRows + " " + numCols);
+    }
+}
@@ -142,6 +142,7 @@ public class ImplCommonOpsWithSemiRing_DSCC {
 
         int maxMaskEntries = Integer.MAX_VALUE;
         if (mask != null) {
+            mask = mask.optimized();
             maxMaskEntries = mask.maxMaskedEntries();
         }
 
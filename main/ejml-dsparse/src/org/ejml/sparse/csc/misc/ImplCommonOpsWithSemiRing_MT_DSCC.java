@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.masks.Mask;
+import org.ejml.ops.DSemiRing;
+import org.ejml.sparse.csc.mult.Workspace_MT_DSCC;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+import static org.ejml.sparse.csc.mult.ImplMultiplicationWithSemiRing_DSCC.multAddColA;
+import static org.ejml.sparse.csc.mult.ImplMultiplication_MT_DSCC.stitchMatrix;
+
+/**
+ * Concurrent implementations of {@link ImplCommonOpsWithSemiRing_DSCC}. Each thread computes a block of
+ * columns in the output, which are then stitched together.
+ *
+ * @author Peter Abeles
+ */
+public class ImplCommonOpsWithSemiRing_MT_DSCC {
+    /**
+     * Performs matrix addition:<br>
+     * C = A + B
+     *
+     * @param A Matrix
+     * @param B Matrix
+     * @param C Output matrix.
+     * @param semiRing Semi-Ring to define + and *
+     * @param mask (Optional) Mask for specifying which entries should be overwritten
+     * @param listWork Storage for internal workspace.
+     */
+    public static void add( double alpha, DMatrixSparseCSC A, double beta, DMatrixSparseCSC B, DMatrixSparseCSC C,
+                            DSemiRing semiRing, @Nullable Mask mask, GrowArray<Workspace_MT_DSCC> listWork ) {
+        EjmlConcurrency.loopBlocks(0, A.numCols, listWork, ( workspace, col0, col1 ) -> {
+            DMatrixSparseCSC workC = workspace.mat;
+            workC.reshape(A.numRows, col1 - col0, col1 - col0);
+            workC.col_idx[0] = 0;
+
+            double[] x = adjust(workspace.gx, A.numRows);
+            int[] w = adjust(workspace.gw, A.numRows, A.numRows);
+            @Nullable Mask localMask = mask == null ? null : mask.copyForThread();
+
+            for (int col = col0; col < col1; col++) {
+                int colC = col - col0;
+                workC.col_idx[colC + 1] = workC.nz_length;
+
+                if (localMask != null) {
+                    localMask.setIndexColumn(col);
+                }
+
+                multAddColA(A, col, alpha, workC, colC + 1, col, semiRing, localMask, x, w);
+                multAddColA(B, col, beta, workC, colC + 1, col, semiRing, localMask, x, w);
+
+                // take the values in the dense vector 'x' and put them into 'C'
+                int idxC0 = workC.col_idx[colC];
+                int idxC1 = workC.col_idx[colC + 1];
+
+                for (int i = idxC0; i < idxC1; i++) {
+                    workC.nz_values[i] = x[workC.nz_rows[i]];
+                }
+            }
+        });
+
+        stitchMatrix(C, A.numRows, A.numCols, listWork);
+    }
+
+    /**
+     * Performs element-wise multiplication:<br>
+     * C_ij = A_ij * B_ij
+     *
+     * @param A (Input) Matrix
+     * @param B (Input) Matrix
+     * @param C (Output) Matrix.
+     * @param semiRing Semi-Ring to define + and *
+     * @param mask (Optional) Mask for specifying which entries should be overwritten
+     * @param listWork Storage for internal workspace.
+     */
+    public static void elementMult( DMatrixSparseCSC A, DMatrixSparseCSC B, DMatrixSparseCSC C, DSemiRing semiRing,
+                                    @Nullable Mask mask, GrowArray<Workspace_MT_DSCC> listWork ) {
+        final @Nullable Mask sharedMask = mask == null ? null : mask.optimized();
+        final int maxMaskEntries = sharedMask == null ? Integer.MAX_VALUE : sharedMask.maxMaskedEntries();
+
+        EjmlConcurrency.loopBlocks(0, A.numCols, listWork, ( workspace, col0, col1 ) -> {
+            int nzA = A.col_idx[col1] - A.col_idx[col0];
+            int nzB = B.col_idx[col1] - B.col_idx[col0];
+
+            DMatrixSparseCSC workC = workspace.mat;
+            workC.reshape(A.numRows, col1 - col0, Math.min(maxMaskEntries, Math.min(nzA, nzB)));
+            workC.col_idx[0] = 0;
+
+            double[] x = adjust(workspace.gx, A.numRows);
+            int[] w = adjust(workspace.gw, A.numRows);
+            Arrays.fill(w, 0, A.numRows, -1); // fill with -1. This will be a value less than column
+            @Nullable Mask localMask = sharedMask == null ? null : sharedMask.copyForThread();
+
+            for (int col = col0; col < col1; col++) {
+                int colC = col - col0;
+                int idxA0 = A.col_idx[col];
+                int idxA1 = A.col_idx[col + 1];
+                int idxB0 = B.col_idx[col];
+                int idxB1 = B.col_idx[col + 1];
+
+                // make sure there are enough non-zero elements in C
+                int expectedResultSize = workC.nz_length + Math.min(idxA1 - idxA0, idxB1 - idxB0);
+                if (expectedResultSize > workC.nz_values.length) {
+                    workC.growMaxLength(Math.min(maxMaskEntries, expectedResultSize), true);
+                }
+
+                // mark the rows that appear in A and save their value
+                for (int i = idxA0; i < idxA1; i++) {
+                    int row = A.nz_rows[i];
+                    w[row] = col;
+                    x[row] = A.nz_values[i];
+                }
+
+                // If a row appears in A and B, multiply and set as an element in C
+                for (int i = idxB0; i < idxB1; i++) {
+                    int row = B.nz_rows[i];
+                    if (w[row] == col && (localMask == null || localMask.isSet(row, col))) {
+                        workC.nz_values[workC.nz_length] = semiRing.mult.func.apply(x[row], B.nz_values[i]);
+                        workC.nz_rows[workC.nz_length++] = row;
+                    }
+                }
+                workC.col_idx[colC + 1] = workC.nz_length;
+            }
+        });
+
+        stitchMatrix(C, A.numRows, A.numCols, listWork);
+    }
+}
@@ -56,6 +56,8 @@ public class ImplCommonOps_DSCC {
             output.col_idx[col] = selectCount;
 
             if (output.nz_rows.length < (selectCount + (end - start))) {
+                // nz_length needs to be up to date so that the selected elements are copied
+                output.nz_length = selectCount;
                 int maxLength = Integer.max(output.nz_length*2 + 1, A.nz_length);
                 output.growMaxLength(maxLength, true);
             }
@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.data.IGrowArray;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * <p>
+ * Concurrent conversion of a list of (row, col, value) triplets into {@link DMatrixSparseCSC}. Unlike
+ * {@link org.ejml.ops.DConvertMatrixStruct#convert(DMatrixSparseTriplet, DMatrixSparseCSC, IGrowArray)},
+ * elements which appear multiple times are summed together and row indexes in the output are sorted.
+ * </p>
+ *
+ * <p>
+ * Triplets are sorted with two stable counting sorts, first by row and then by column. After the second sort
+ * the rows inside each column are in order, without sorting each column, and duplicates are next to each
+ * other. Each counting sort is done in parallel:
+ * </p>
+ * <ol>
+ *     <li>The input is split into blocks and each thread computes a histogram for its block</li>
+ *     <li>The histograms are combined into the start of each block's elements for every row/column</li>
+ *     <li>Each thread copies its block into the sorted array. Since blocks are processed in order the
+ *     sort is stable</li>
+ * </ol>
+ * <p>
+ * Duplicates are then summed, with columns split between threads, and the unique elements are copied into
+ * the output matrix.
+ * </p>
+ *
+ * <p>
+ * Memory for the histograms is the number of rows plus columns times the number of blocks.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplConvertTriplet_MT_DSCC {
+    /** Minimum number of triplets processed by a single thread */
+    public int minBlock = 20_000;
+
+    // Histogram for each block. hist[block*N + index]
+    IGrowArray histogram = new IGrowArray();
+    // Start of each row in the row sorted arrays
+    IGrowArray rowStart = new IGrowArray();
+    // Start of each column in the column sorted arrays
+    IGrowArray columnStart = new IGrowArray();
+    // Number of unique elements in each column
+    IGrowArray columnCounts = new IGrowArray();
+    // Block boundaries in the row sorted arrays
+    IGrowArray blockRows = new IGrowArray();
+
+    // Row sorted triplets. Only the column and value need to be saved
+    IGrowArray rowSortedCols = new IGrowArray();
+    DGrowArray rowSortedValues = new DGrowArray();
+    // Column sorted triplets. Only the row and value need to be saved
+    IGrowArray colSortedRows = new IGrowArray();
+    DGrowArray colSortedValues = new DGrowArray();
+
+    /**
+     * Converts a triplet matrix into a CSC matrix.
+     *
+     * @param src (Input) Triplet matrix. Not modified.
+     * @param dst (Output) Storage for the converted matrix. Modified.
+     */
+    public void convert( DMatrixSparseTriplet src, DMatrixSparseCSC dst ) {
+        convert(src.nz_rowcol.data, src.nz_value.data, src.nz_length, src.numRows, src.numCols, dst);
+    }
+
+    /**
+     * Converts triplets stored in arrays into a CSC matrix.
+     *
+     * @param rowcol (Input) Interleaved row and column of each triplet. Not modified.
+     * @param values (Input) Value of each triplet. Not modified.
+     * @param length Number of triplets
+     * @param numRows Number of rows in the matrix
+     * @param numCols Number of columns in the matrix
+     * @param dst (Output) Storage for the converted matrix. Modified.
+     */
+    public void convert( int[] rowcol, double[] values, int length, int numRows, int numCols,
+                         DMatrixSparseCSC dst ) {
+        final int numBlocks = Math.max(1, Math.min(EjmlConcurrency.getMaxThreads(), length/Math.max(1, minBlock)));
+        final int blockSize = length/numBlocks;
+
+        final int[] hist = adjust(histogram, numBlocks*Math.max(numRows, numCols));
+        final int[] rStart = adjust(rowStart, numRows + 1);
+        final int[] cStart = adjust(columnStart, numCols + 1);
+        final int[] counts = adjust(columnCounts, numCols);
+        final int[] blocks = adjust(blockRows, numBlocks + 1);
+        final int[] sortedCols = adjust(rowSortedCols, length);
+        final double[] sortedValuesR = rowSortedValues.reshape(length).data;
+        final int[] sortedRows = adjust(colSortedRows, length);
+        final double[] sortedValuesC = colSortedValues.reshape(length).data;
+
+        //----------- Sort by row
+        EjmlConcurrency.loopFor(0, numBlocks, block -> {
+            int idx0 = block*blockSize;
+            int idx1 = block == numBlocks - 1 ? length : idx0 + blockSize;
+            int offset = block*numRows;
+            for (int row = 0; row < numRows; row++) {
+                hist[offset + row] = 0;
+            }
+            for (int i = idx0; i < idx1; i++) {
+                hist[offset + rowcol[i*2]]++;
+            }
+        });
+        histogramToStart(hist, numBlocks, numRows, rStart);
+        EjmlConcurrency.loopFor(0, numBlocks, block -> {
+            int idx0 = block*blockSize;
+            int idx1 = block == numBlocks - 1 ? length : idx0 + blockSize;
+            int offset = block*numRows;
+            for (int i = idx0; i < idx1; i++) {
+                int index = hist[offset + rowcol[i*2]]++;
+                sortedCols[index] = rowcol[i*2 + 1];
+                sortedValuesR[index] = values[i];
+            }
+        });
+
+        //----------- Sort by column. Blocks are now ranges of rows with about the same number of elements
+        blocks[0] = 0;
+        for (int block = 1, row = 0; block < numBlocks; block++) {
+            int target = block*blockSize;
+            while (row < numRows && rStart[row] < target)
+                row++;
+            blocks[block] = row;
+        }
+        blocks[numBlocks] = numRows;
+
+        EjmlConcurrency.loopFor(0, numBlocks, block -> {
+            int idx0 = rStart[blocks[block]];
+            int idx1 = rStart[blocks[block + 1]];
+            int offset = block*numCols;
+            for (int col = 0; col < numCols; col++) {
+                hist[offset + col] = 0;
+            }
+            for (int i = idx0; i < idx1; i++) {
+                hist[offset + sortedCols[i]]++;
+            }
+        });
+        histogramToStart(hist, numBlocks, numCols, cStart);
+        EjmlConcurrency.loopFor(0, numBlocks, block -> {
+            int offset = block*numCols;
+            for (int row = blocks[block]; row < blocks[block + 1]; row++) {
+                for (int i = rStart[row]; i < rStart[row + 1]; i++) {
+                    int index = hist[offset + sortedCols[i]]++;
+                    sortedRows[index] = row;
+                    sortedValuesC[index] = sortedValuesR[i];
+                }
+            }
+        });
+
+        //----------- Sum duplicates, which are now next to each other
+        EjmlConcurrency.loopBlocks(0, numCols, ( col0, col1 ) -> {
+            for (int col = col0; col < col1; col++) {
+                counts[col] = sumDuplicates(sortedRows, sortedValuesC, cStart[col], cStart[col + 1]);
+            }
+        });
+
+        // Copy the unique elements into the output matrix
+        dst.reshape(numRows, numCols, 0);
+        dst.col_idx[0] = 0;
+        for (int col = 0; col < numCols; col++) {
+            dst.col_idx[col + 1] = dst.col_idx[col] + counts[col];
+        }
+        dst.nz_length = dst.col_idx[numCols];
+        dst.growMaxLength(dst.nz_length, false);
+
+        final int[] dst_rows = dst.nz_rows;
+        final double[] dst_values = dst.nz_values;
+        final int[] dst_col_idx = dst.col_idx;
+        EjmlConcurrency.loopBlocks(0, numCols, ( col0, col1 ) -> {
+            for (int col = col0; col < col1; col++) {
+                System.arraycopy(sortedRows, cStart[col], dst_rows, dst_col_idx[col], counts[col]);
+                System.arraycopy(sortedValuesC, cStart[col], dst_values, dst_col_idx[col], counts[col]);
+            }
+        });
+        dst.indicesSorted = true;
+    }
+
+    /**
+     * Converts the histogram for each block into the location of the block's first element for every index.
+     * The start of each index, for all blocks combined, is saved in 'start'.
+     */
+    static void histogramToStart( int[] hist, int numBlocks, int length, int[] start ) {
+        int total = 0;
+        for (int i = 0; i < length; i++) {
+            start[i] = total;
+            for (int block = 0; block < numBlocks; block++) {
+                int count = hist[block*length + i];
+                hist[block*length + i] = total;
+                total += count;
+            }
+        }
+        start[length] = total;
+    }
+
+    /**
+     * Sums elements with the same row in a sorted column and moves them to the front of the column
+     *
+     * @return Number of unique elements in the column
+     */
+    static int sumDuplicates( int[] rows, double[] values, int idx0, int idx1 ) {
+        if (idx0 == idx1)
+            return 0;
+        int last = idx0;
+        for (int i = idx0 + 1; i < idx1; i++) {
+            if (rows[i] == rows[last]) {
+                values[last] += values[i];
+            } else {
+                last++;
+                rows[last] = rows[i];
+                values[last] = values[i];
+            }
+        }
+        return last - idx0 + 1;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+
+import static org.ejml.UtilEjml.adjust;
+import static org.ejml.UtilEjml.adjustClear;
+
+/**
+ * <p>Level schedule for solving T<sup>T</sup>*x = b, where T is a triangular matrix. Element x[j] is computed
+ * from the elements in column j of T and it depends on x[i] for every off diagonal row i in that column. Each
+ * element is assigned to a level which is one more than the largest level it depends on. Elements in the same level
+ * are independent and can be computed at the same time.</p>
+ *
+ * <p>The schedule only depends on the non-zero pattern of T and can be reused when the values change.</p>
+ *
+ * @author Peter Abeles
+ * @see TriangularSolver_MT_DSCC#solveTran(DMatrixSparseCSC, double[], LevelSchedule_DSCC)
+ */
+public class LevelSchedule_DSCC {
+    /** A level with fewer elements than this will be processed in a single thread */
+    public int minimumParallel = 500;
+
+    // Columns sorted by level
+    final IGrowArray nodes = new IGrowArray();
+    // Index in nodes where each level starts. Length numLevels + 1
+    final IGrowArray levelOffset = new IGrowArray();
+    int numLevels;
+
+    // true if T is lower triangular
+    boolean lower;
+
+    // workspace
+    final IGrowArray glevel = new IGrowArray();
+
+    /**
+     * Computes the schedule for the triangular matrix
+     *
+     * @param T Triangular matrix. The diagonal element must be the first element in each column if lower or the
+     * last element if upper.
+     * @param lower true if T is lower triangular or false if upper triangular
+     */
+    public void process( DMatrixSparseCSC T, boolean lower ) {
+        this.lower = lower;
+        final int N = T.numCols;
+        int[] level = adjustClear(glevel, N);
+
+        // Go through the columns in the same order as the sequential solver would so that all the dependencies
+        // of a column have already been assigned a level
+        numLevels = 0;
+        for (int step = 0; step < N; step++) {
+            int j = lower ? N - 1 - step : step;
+            int idx0 = T.col_idx[j];
+            int idx1 = T.col_idx[j + 1];
+            int value = 0;
+            for (int p = idx0; p < idx1; p++) {
+                int i = T.nz_rows[p];
+                if (i != j)
+                    value = Math.max(value, level[i] + 1);
+            }
+            level[j] = value;
+            numLevels = Math.max(numLevels, value + 1);
+        }
+
+        // sort the columns by level
+        int[] offset = adjust(levelOffset, numLevels + 1, numLevels + 1);
+        for (int j = 0; j < N; j++) {
+            offset[level[j] + 1]++;
+        }
+        for (int i = 0; i < numLevels; i++) {
+            offset[i + 1] += offset[i];
+        }
+        int[] sorted = adjust(nodes, N);
+        for (int step = 0; step < N; step++) {
+            int j = lower ? N - 1 - step : step;
+            sorted[offset[level[j]]++] = j;
+        }
+        // undo the changes to offset
+        for (int i = numLevels; i > 0; i--) {
+            offset[i] = offset[i - 1];
+        }
+        offset[0] = 0;
+    }
+
+    /** Number of levels. This is the number of steps which need to be done sequentially. */
+    public int getNumLevels() {
+        return numLevels;
+    }
+
+    /** Number of columns in level 'level' */
+    public int getLevelSize( int level ) {
+        return levelOffset.data[level + 1] - levelOffset.data[level];
+    }
+
+    /** Columns in each level. Use {@link #getLevelOffset()} to find where each level starts. */
+    public int[] getNodes() {
+        return nodes.data;
+    }
+
+    /** Index in {@link #getNodes()} where each level starts */
+    public int[] getLevelOffset() {
+        return levelOffset.data;
+    }
+
+    public boolean isLower() {
+        return lower;
+    }
+}
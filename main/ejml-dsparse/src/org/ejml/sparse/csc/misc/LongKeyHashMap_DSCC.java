@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Hash map from a primitive long to a primitive double which uses open addressing with linear probing.
+ * Nothing is boxed and all the data is stored in two arrays, so insertions and lookups are O(1) and
+ * don't create garbage. Keys must be non-negative since -1 is used to mark empty slots.
+ * </p>
+ *
+ * <p>
+ * The slots can be traversed directly with {@link #capacity()}, {@link #isOccupied(int)}, {@link #keyAt(int)},
+ * and {@link #valueAt(int)}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LongKeyHashMap_DSCC {
+    /** Value of a key in an empty slot */
+    public static final long EMPTY = -1L;
+
+    /** The table is grown when the number of elements exceeds this fraction of its capacity */
+    static final double MAX_LOAD = 0.5;
+
+    long[] keys;
+    double[] values;
+    // number of elements in the map
+    int size;
+    // capacity - 1. capacity is always a power of two
+    int mask;
+    // number of bits in the capacity
+    int bits;
+
+    public LongKeyHashMap_DSCC( int expectedSize ) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public LongKeyHashMap_DSCC() {
+        this(8);
+    }
+
+    /**
+     * Assigns the value to the key, replacing the previous value.
+     */
+    public void put( long key, double value ) {
+        int slot = findSlot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size > MAX_LOAD*keys.length)
+                grow();
+        } else {
+            values[slot] = value;
+        }
+    }
+
+    /**
+     * Adds the value to the key's current value. If the key isn't in the map it's inserted with the value.
+     */
+    public void add( long key, double value ) {
+        int slot = findSlot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            values[slot] = value;
+            if (++size > MAX_LOAD*keys.length)
+                grow();
+        } else {
+            values[slot] += value;
+        }
+    }
+
+    /**
+     * Returns the value of the key or defaultValue if the key isn't in the map
+     */
+    public double get( long key, double defaultValue ) {
+        int slot = findSlot(key);
+        return keys[slot] == EMPTY ? defaultValue : values[slot];
+    }
+
+    public boolean containsKey( long key ) {
+        return keys[findSlot(key)] != EMPTY;
+    }
+
+    /**
+     * Removes the key from the map.
+     *
+     * @return true if the key was in the map
+     */
+    public boolean remove( long key ) {
+        int slot = findSlot(key);
+        if (keys[slot] == EMPTY)
+            return false;
+
+        // Shift elements back to fill the hole so that all keys can still be found by linear probing
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int ideal = hash(keys[next]);
+            // move the element if the hole is between its ideal slot and its current slot
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes all elements without changing the capacity
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Ensures that the specified number of elements can be stored without growing the table
+     */
+    public void reserve( int expectedSize ) {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > keys.length)
+            rehash(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Number of slots in the table */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /** Returns true if the slot contains an element */
+    public boolean isOccupied( int slot ) {
+        return keys[slot] != EMPTY;
+    }
+
+    public long keyAt( int slot ) {
+        return keys[slot];
+    }
+
+    public double valueAt( int slot ) {
+        return values[slot];
+    }
+
+    /**
+     * Returns the slot which contains the key, or the empty slot where it would be inserted
+     */
+    int findSlot( long key ) {
+        if (key < 0)
+            throw new IllegalArgumentException("Keys must be non-negative");
+        int slot = hash(key);
+        while (true) {
+            long k = keys[slot];
+            if (k == key || k == EMPTY)
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Fibonacci hashing. Spreads keys which only differ in their lower or upper bits across the table.
+     */
+    int hash( long key ) {
+        return (int)((key*0x9E3779B97F4A7C15L) >>> (64 - bits));
+    }
+
+    void grow() {
+        rehash(keys.length*2);
+    }
+
+    void rehash( int capacity ) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key == EMPTY)
+                continue;
+            int slot = findSlot(key);
+            keys[slot] = key;
+            values[slot] = oldValues[i];
+            size++;
+        }
+    }
+
+    void allocate( int capacity ) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+        bits = Integer.numberOfTrailingZeros(capacity);
+        size = 0;
+    }
+
+    /**
+     * Smallest power of two capacity which can store the number of elements without exceeding the load factor
+     */
+    static int capacityFor( int expectedSize ) {
+        int capacity = 2;
+        while (capacity*MAX_LOAD < expectedSize) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+}
@@ -97,6 +97,103 @@ public class TriangularSolver_DSCC {
         }
     }
 
+    /**
+     * Solves for a lower triangular matrix against a panel of dense vectors. L*X = B. The panel is stored
+     * in a row-major format with 'width' columns. Each element in L is only read once for the entire panel.
+     *
+     * @param L Lower triangular matrix. Diagonal elements are assumed to be non-zero
+     * @param X (Input) Solution matrix 'B'. (Output) matrix 'X'
+     * @param width Number of columns in the panel
+     */
+    public static void solveL( DMatrixSparseCSC L, double[] X, int width ) {
+        final int N = L.numCols;
+
+        int idx0 = L.col_idx[0];
+        for (int col = 0; col < N; col++) {
+            int idx1 = L.col_idx[col + 1];
+            int indexJ = col*width;
+
+            double diag = L.nz_values[idx0];
+            for (int k = 0; k < width; k++) {
+                X[indexJ + k] /= diag;
+            }
+
+            for (int i = idx0 + 1; i < idx1; i++) {
+                int indexRow = L.nz_rows[i]*width;
+                double v = L.nz_values[i];
+                for (int k = 0; k < width; k++) {
+                    X[indexRow + k] -= v*X[indexJ + k];
+                }
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    /**
+     * Solves for the transpose of a lower triangular matrix against a panel of dense vectors. L<sup>T</sup>*X = B.
+     * The panel is stored in a row-major format with 'width' columns.
+     *
+     * @param L Lower triangular matrix. Diagonal elements are assumed to be non-zero
+     * @param X (Input) Solution matrix 'B'. (Output) matrix 'X'
+     * @param width Number of columns in the panel
+     */
+    public static void solveTranL( DMatrixSparseCSC L, double[] X, int width ) {
+        final int N = L.numCols;
+
+        for (int j = N - 1; j >= 0; j--) {
+            int idx0 = L.col_idx[j];
+            int idx1 = L.col_idx[j + 1];
+            int indexJ = j*width;
+
+            for (int p = idx0 + 1; p < idx1; p++) {
+                int indexRow = L.nz_rows[p]*width;
+                double v = L.nz_values[p];
+                for (int k = 0; k < width; k++) {
+                    X[indexJ + k] -= v*X[indexRow + k];
+                }
+            }
+
+            double diag = L.nz_values[idx0];
+            for (int k = 0; k < width; k++) {
+                X[indexJ + k] /= diag;
+            }
+        }
+    }
+
+    /**
+     * Solves for an upper triangular matrix against a panel of dense vectors. U*X = B. The panel is stored
+     * in a row-major format with 'width' columns.
+     *
+     * @param U Upper triangular matrix. Diagonal elements are assumed to be non-zero
+     * @param X (Input) Solution matrix 'B'. (Output) matrix 'X'
+     * @param width Number of columns in the panel
+     */
+    public static void solveU( DMatrixSparseCSC U, double[] X, int width ) {
+        final int N = U.numCols;
+
+        int idx1 = U.col_idx[N];
+        for (int col = N - 1; col >= 0; col--) {
+            int idx0 = U.col_idx[col];
+            int indexJ = col*width;
+
+            double diag = U.nz_values[idx1 - 1];
+            for (int k = 0; k < width; k++) {
+                X[indexJ + k] /= diag;
+            }
+
+            for (int i = idx0; i < idx1 - 1; i++) {
+                int indexRow = U.nz_rows[i]*width;
+                double v = U.nz_values[i];
+                for (int k = 0; k < width; k++) {
+                    X[indexRow + k] -= v*X[indexJ + k];
+                }
+            }
+
+            idx1 = idx0;
+        }
+    }
+
     /**
      * Solution to a sparse transposed triangular system with sparse B and sparse X
      *
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixSparseCSC;
+
+/**
+ * Concurrent triangular solvers which use a {@link LevelSchedule_DSCC}. All the elements in a level are
+ * computed in parallel and then the next level is processed. Each element is computed from a column of the
+ * matrix so threads never write to the same element. To solve L*x = b, pass in L<sup>T</sup> to
+ * {@link #solveTran}.
+ *
+ * @author Peter Abeles
+ */
+public class TriangularSolver_MT_DSCC {
+    /**
+     * Solves T<sup>T</sup>*x = b where T is a lower or upper triangular matrix.
+     *
+     * @param T Triangular matrix. Diagonal elements are assumed to be non-zero. Not modified.
+     * @param x (Input) Solution matrix 'b'. (Output) matrix 'x'
+     * @param schedule Level schedule computed for the structure of T
+     */
+    public static void solveTran( DMatrixSparseCSC T, double[] x, LevelSchedule_DSCC schedule ) {
+        final boolean lower = schedule.lower;
+        final int[] nodes = schedule.nodes.data;
+        final int[] offset = schedule.levelOffset.data;
+
+        for (int level = 0; level < schedule.numLevels; level++) {
+            int idx0 = offset[level];
+            int idx1 = offset[level + 1];
+
+            if (idx1 - idx0 < schedule.minimumParallel) {
+                solveTran(T, lower, x, nodes, idx0, idx1);
+            } else {
+                EjmlConcurrency.loopBlocks(idx0, idx1, Math.max(1, schedule.minimumParallel/2),
+                        ( i0, i1 ) -> solveTran(T, lower, x, nodes, i0, i1));
+            }
+        }
+    }
+
+    /**
+     * Computes x[j] for the columns j in nodes[idx0:idx1-1]
+     */
+    static void solveTran( DMatrixSparseCSC T, boolean lower, double[] x, int[] nodes, int idx0, int idx1 ) {
+        for (int idx = idx0; idx < idx1; idx++) {
+            int j = nodes[idx];
+            int p0 = T.col_idx[j];
+            int p1 = T.col_idx[j + 1];
+
+            // the diagonal element is first in a lower triangular matrix and last in an upper
+            double diag;
+            if (lower) {
+                diag = T.nz_values[p0++];
+            } else {
+                diag = T.nz_values[--p1];
+            }
+
+            double sum = x[j];
+            for (int p = p0; p < p1; p++) {
+                sum -= T.nz_values[p]*x[T.nz_rows[p]];
+            }
+            x[j] = sum/diag;
+        }
+    }
+
+    /**
+     * Selects the number of columns in each panel when solving for multiple right hand sides. If concurrent,
+     * the panels are made smaller so that every thread has a panel to work on.
+     *
+     * @param numCols Number of columns in B
+     * @param panelWidth Preferred panel width
+     * @param concurrent If panels will be processed concurrently
+     * @return The panel width
+     */
+    public static int selectPanelWidth( int numCols, int panelWidth, boolean concurrent ) {
+        int width = Math.min(numCols, panelWidth);
+        if (concurrent) {
+            int threads = EjmlConcurrency.getMaxThreads();
+            width = Math.min(width, (numCols + threads - 1)/threads);
+        }
+        return Math.max(1, width);
+    }
+}
@@ -51,12 +51,35 @@ public class ImplMultiplicationWithSemiRing_DSCC {
         C.indicesSorted = false;
         C.nz_length = 0;
 
+        multColumns(A, B, 0, B.numCols, C, semiRing, mask, x, w);
+    }
+
+    /**
+     * Computes columns col0 to col1-1 of A*B and saves them in columns 0 to col1-col0-1 of C. This allows
+     * blocks of columns to be computed independently. The mask is referenced using columns in B.
+     *
+     * @param A Matrix
+     * @param B Matrix
+     * @param col0 First column in B
+     * @param col1 Last column in B, exclusive
+     * @param C Storage for results. nz_length and col_idx[0] must be initialized.
+     * @param mask (Optional) Mask for specifying which entries should be overwritten
+     * @param x Workspace with at least A.numRows elements
+     * @param w Workspace with at least A.numRows elements, all of which are less than one
+     */
+    public static void multColumns( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                    DMatrixSparseCSC C, DSemiRing semiRing, @Nullable Mask mask,
+                                    double[] x, int[] w ) {
+        // use a kernel with the operators inlined if there is one
+        if (ImplSemiRingKernels_DSCC.mult(A, B, col0, col1, C, semiRing, mask, x, w))
+            return;
+
         // C(i,j) = sum_k A(i,k) * B(k,j)
-        int idx0 = B.col_idx[0];
-        for (int bj = 1; bj <= B.numCols; bj++) {
-            int colB = bj - 1;
-            int idx1 = B.col_idx[bj];
-            C.col_idx[bj] = C.nz_length;
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[colC + 1] = C.nz_length;
 
             if (idx0 == idx1) {
                 continue;
@@ -72,12 +95,12 @@ public class ImplMultiplicationWithSemiRing_DSCC {
                 int rowB = B.nz_rows[bi];
                 double valB = B.nz_values[bi];  // B(k,j)  k=rowB j=colB
 
-                multAddColA(A, rowB, valB, C, colB + 1, semiRing, mask, x, w);
+                multAddColA(A, rowB, valB, C, colC + 1, colB, semiRing, mask, x, w);
             }
 
             // take the values in the dense vector 'x' and put them into 'C'
-            int idxC0 = C.col_idx[colB];
-            int idxC1 = C.col_idx[colB + 1];
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[colC + 1];
 
             for (int i = idxC0; i < idxC1; i++) {
                 C.nz_values[i] = x[C.nz_rows[i]];
@@ -97,13 +120,25 @@ public class ImplMultiplicationWithSemiRing_DSCC {
                                     DMatrixSparseCSC C, int mark,
                                     DSemiRing semiRing,
                                     @Nullable Mask mask, double[] x, int[] w ) {
+        multAddColA(A, colA, alpha, C, mark, mark - 1, semiRing, mask, x, w);
+    }
+
+    /**
+     * Same as {@link #multAddColA(DMatrixSparseCSC, int, double, DMatrixSparseCSC, int, DSemiRing, Mask, double[], int[])}
+     * but the mask is referenced using column 'colMask' instead of the column in C.
+     */
+    public static void multAddColA( DMatrixSparseCSC A, int colA,
+                                    double alpha,
+                                    DMatrixSparseCSC C, int mark, int colMask,
+                                    DSemiRing semiRing,
+                                    @Nullable Mask mask, double[] x, int[] w ) {
         int idxA0 = A.col_idx[colA];
         int idxA1 = A.col_idx[colA + 1];
 
         for (int j = idxA0; j < idxA1; j++) {
             int row = A.nz_rows[j];
 
-            if (mask == null || mask.isSet(row, mark - 1)) {
+            if (mask == null || mask.isSet(row, colMask)) {
                 if (w[row] < mark) {
                     if (C.nz_length >= C.nz_rows.length) {
                         int growToLength = C.nz_length*2 + 1;
@@ -130,6 +165,9 @@ public class ImplMultiplicationWithSemiRing_DSCC {
     }
 
     public static void multAdd( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C, DSemiRing semiRing ) {
+        if (ImplSemiRingKernels_DSCC.multAdd(A, B, C, semiRing))
+            return;
+
         // C(i,j) = sum_k A(i,k) * B(k,j)
         for (int k = 0; k < A.numCols; k++) {
             int idx0 = A.col_idx[k];
@@ -145,7 +183,8 @@ public class ImplMultiplicationWithSemiRing_DSCC {
 
 //                for (int j = 0; j < B.numCols; j++) {
                 while (indexB < end) {
-                    C.data[indexC++] = semiRing.add.func.apply(C.data[indexC++], semiRing.mult.func.apply(valueA, B.data[indexB++]));
+                    C.data[indexC] = semiRing.add.func.apply(C.data[indexC], semiRing.mult.func.apply(valueA, B.data[indexB++]));
+                    indexC++;
                 }
             }
         }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.masks.Mask;
+import org.ejml.ops.DSemiRing;
+import org.ejml.sparse.csc.CommonOpsWithSemiRing_MT_DSCC;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import static org.ejml.UtilEjml.adjust;
+import static org.ejml.sparse.csc.mult.ImplMultiplication_MT_DSCC.stitchMatrix;
+
+/**
+ * Concurrent implementation of {@link ImplMultiplicationWithSemiRing_DSCC}. Please invoke through
+ * {@link CommonOpsWithSemiRing_MT_DSCC} as that provides a nicer API.
+ *
+ * @author Peter Abeles
+ */
+public class ImplMultiplicationWithSemiRing_MT_DSCC {
+    /**
+     * <p>Invoke through {@link CommonOpsWithSemiRing_MT_DSCC} as it will manage the input contract</p>
+     *
+     * <p>Performs matrix multiplication. C = A*B. Each thread computes a block of columns in C, which are
+     * then stitched together. Since a mask has internal state, each thread uses its own copy of the mask.</p>
+     *
+     * @param A Matrix
+     * @param B Matrix
+     * @param C Storage for results. Array size is increased if needed.
+     * @param semiRing Semi-Ring to define + and *
+     * @param mask (Optional) Mask for specifying which entries should be overwritten
+     * @param listWork Storage for internal workspace.
+     */
+    public static void mult( DMatrixSparseCSC A, DMatrixSparseCSC B, DMatrixSparseCSC C, DSemiRing semiRing,
+                             @Nullable Mask mask, GrowArray<Workspace_MT_DSCC> listWork ) {
+        // Break the problem up into blocks of columns and process them independently
+        EjmlConcurrency.loopBlocks(0, B.numCols, listWork, ( workspace, col0, col1 ) -> {
+            DMatrixSparseCSC workC = workspace.mat;
+            workC.reshape(A.numRows, col1 - col0, col1 - col0);
+            workC.col_idx[0] = 0;
+
+            double[] x = adjust(workspace.gx, A.numRows);
+            int[] w = adjust(workspace.gw, A.numRows, A.numRows);
+            @Nullable Mask localMask = mask == null ? null : mask.copyForThread();
+
+            ImplMultiplicationWithSemiRing_DSCC.multColumns(A, B, col0, col1, workC, semiRing, localMask, x, w);
+        });
+
+        // Stitch the output back together
+        stitchMatrix(C, A.numRows, B.numCols, listWork);
+    }
+}
@@ -17,6 +17,7 @@
  */
 package org.ejml.sparse.csc.mult;
 
+import org.ejml.EjmlParameters;
 import org.ejml.data.DGrowArray;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.DMatrixSparseCSC;
@@ -163,26 +164,15 @@ public class ImplMultiplication_DSCC {
 
     /**
      * <p>Invoke through {@link CommonOps_DSCC}</p>
+     *
+     * <p>Columns in B and C are processed in panels of {@link EjmlParameters#MULT_SPARSE_PANEL} columns. Rows of
+     * the panel in B are read directly since they are already next to each other in memory.</p>
      */
     public static void multAdd( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
-        // C(i,j) = sum_k A(i,k) * B(k,j)
-        for (int k = 0; k < A.numCols; k++) {
-            int idx0 = A.col_idx[k];
-            int idx1 = A.col_idx[k + 1];
-
-            for (int indexA = idx0; indexA < idx1; indexA++) {
-                int i = A.nz_rows[indexA];
-                double valueA = A.nz_values[indexA];
-
-                int indexB = k*B.numCols;
-                int indexC = i*C.numCols;
-                int end = indexB + B.numCols;
-
-//                for (int j = 0; j < B.numCols; j++) {
-                while (indexB < end) {
-                    C.data[indexC++] += valueA*B.data[indexB++];
-                }
-            }
+        final int panel = EjmlParameters.MULT_SPARSE_PANEL;
+        for (int j0 = 0; j0 < B.numCols; j0 += panel) {
+            int width = Math.min(panel, B.numCols - j0);
+            multAddPanel(A, B.data, j0, B.numCols, width, C, j0);
         }
     }
 
@@ -202,30 +192,19 @@ public class ImplMultiplication_DSCC {
 
     /**
      * <p>Invoke through {@link CommonOps_DSCC}</p>
+     *
+     * <p>Columns in B and C are processed in panels of {@link EjmlParameters#MULT_SPARSE_PANEL} columns, which
+     * allows A to be traversed once per panel instead of once per column in B.</p>
      */
     public static void multTransA( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C, DGrowArray workArray,
                                    DOperatorBinary op ) {
-        double[] work = workArray.reshape(B.numRows).data;
+        final int panel = EjmlParameters.MULT_SPARSE_PANEL;
+        double[] sums = workArray.reshape(Math.min(panel, B.numCols)).data;
 
         // C(i,j) = sum_k A(k,i) * B(k,j)
-        for (int j = 0; j < B.numCols; j++) {
-            // local copy of row to avoid cache misses
-            for (int k = 0; k < B.numRows; k++) {
-                work[k] = B.data[k*B.numCols + j];
-            }
-
-            for (int i = 0; i < A.numCols; i++) {
-                int idx0 = A.col_idx[i];
-                int idx1 = A.col_idx[i + 1];
-
-                double sum = 0;
-                for (int indexA = idx0; indexA < idx1; indexA++) {
-                    int k = A.nz_rows[indexA];
-                    sum += A.nz_values[indexA]*work[k];
-                }
-
-                C.data[i*C.numCols + j] = op.apply(C.data[i*C.numCols + j], sum);
-            }
+        for (int j0 = 0; j0 < B.numCols; j0 += panel) {
+            int width = Math.min(panel, B.numCols - j0);
+            multTransAPanel(A, B.data, j0, B.numCols, width, C, j0, sums, op);
         }
     }
 
@@ -239,72 +218,326 @@ public class ImplMultiplication_DSCC {
 
     /**
      * <p>Invoke through {@link CommonOps_DSCC}</p>
+     *
+     * <p>Rows in B are processed in panels of {@link EjmlParameters#MULT_SPARSE_PANEL}. Each panel is transposed
+     * into the work array so that it can be used just like a panel in {@link #multAdd}.</p>
      */
     public static void multAddTransB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C, DGrowArray workArray ) {
-        double[] work = workArray.reshape(B.numRows).data;
+        final int panel = EjmlParameters.MULT_SPARSE_PANEL;
+        double[] work = workArray.reshape(B.numCols*Math.min(panel, B.numRows)).data;
 
         // C(i,j) = sum_k A(i,k) * B(j,k)
-        for (int k = 0; k < A.numCols; k++) {
-            // local copy of row to avoid cache misses
-            for (int j = 0; j < B.numRows; j++) {
-                work[j] = B.data[j*B.numCols + k];
-            }
+        for (int j0 = 0; j0 < B.numRows; j0 += panel) {
+            int width = Math.min(panel, B.numRows - j0);
+            packTransposed(B, j0, width, work);
+            multAddPanel(A, work, 0, width, width, C, j0);
+        }
+    }
+
+    /**
+     * <p>Invoke through {@link CommonOps_DSCC}</p>
+     */
+    public static void multTransAB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        multTransAB(A, B, C, null);
+    }
+
+    /**
+     * <p>Invoke through {@link CommonOps_DSCC}</p>
+     */
+    public static void multAddTransAB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        multAddTransAB(A, B, C, null);
+    }
+
+    /**
+     * <p>Invoke through {@link CommonOps_DSCC}</p>
+     */
+    public static void multTransAB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C,
+                                    @Nullable DGrowArray workArray ) {
+        multTransAB(A, B, C, workArray, ( a, b ) -> b);
+    }
+
+    /**
+     * <p>Invoke through {@link CommonOps_DSCC}</p>
+     */
+    public static void multAddTransAB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C,
+                                       @Nullable DGrowArray workArray ) {
+        multTransAB(A, B, C, workArray, Double::sum);
+    }
 
+    /**
+     * <p>Invoke through {@link CommonOps_DSCC}</p>
+     *
+     * <p>Rows in B are processed in panels of {@link EjmlParameters#MULT_SPARSE_PANEL}. Each panel is transposed
+     * into the work array so that it can be used just like a panel in {@link #multTransA}.</p>
+     */
+    public static void multTransAB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C,
+                                    @Nullable DGrowArray workArray, DOperatorBinary op ) {
+        final int panel = EjmlParameters.MULT_SPARSE_PANEL;
+        final int maxWidth = Math.min(panel, B.numRows);
+        double[] work = adjust(workArray, (B.numCols + 1)*maxWidth);
+        int offsetSums = B.numCols*maxWidth;
+
+        // C(i,j) = sum_k A(k,i) * B(j,k)
+        for (int j0 = 0; j0 < B.numRows; j0 += panel) {
+            int width = Math.min(panel, B.numRows - j0);
+            packTransposed(B, j0, width, work);
+            multTransAPanel(A, work, 0, width, width, C, j0, work, offsetSums, op);
+        }
+    }
+
+    /**
+     * Computes C(:,colC:colC+width-1) += A*P, where P is a dense panel with A.numCols rows and 'width' columns.
+     * Element P(k,j) is stored at panel[offsetP + k*strideP + j].
+     */
+    public static void multAddPanel( DMatrixSparseCSC A, double[] panel, int offsetP, int strideP, int width,
+                                     DMatrixRMaj C, int colC ) {
+        final double[] dataC = C.data;
+        for (int k = 0; k < A.numCols; k++) {
             int idx0 = A.col_idx[k];
             int idx1 = A.col_idx[k + 1];
+            int indexRowP = offsetP + k*strideP;
+
             for (int indexA = idx0; indexA < idx1; indexA++) {
-                for (int j = 0; j < B.numRows; j++) {
-                    int i = A.nz_rows[indexA];
-                    C.data[i*C.numCols + j] += A.nz_values[indexA]*work[j];
+                double valueA = A.nz_values[indexA];
+                int indexP = indexRowP;
+                int indexC = A.nz_rows[indexA]*C.numCols + colC;
+                int end = indexC + width;
+
+                while (indexC < end) {
+                    dataC[indexC++] += valueA*panel[indexP++];
                 }
             }
         }
     }
 
     /**
-     * <p>Invoke through {@link CommonOps_DSCC}</p>
+     * Computes C(:,colC:colC+width-1) = op(C(:,colC:colC+width-1), A<sup>T</sup>*P), where P is a dense panel
+     * with A.numRows rows and 'width' columns. Element P(k,j) is stored at panel[offsetP + k*strideP + j].
+     *
+     * @param sums Work space with at least 'width' elements
      */
-    public static void multTransAB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
-        // C(i,j) = sum_k A(k,i) * B(j,K)
-        for (int j = 0; j < B.numRows; j++) {
-            for (int i = 0; i < A.numCols; i++) {
-                int idx0 = A.col_idx[i];
-                int idx1 = A.col_idx[i + 1];
-
-                final int indexRowB = j*B.numCols;
-
-                double sum = 0;
-                for (int indexA = idx0; indexA < idx1; indexA++) {
-                    int k = A.nz_rows[indexA];
-                    sum += A.nz_values[indexA]*B.data[indexRowB + k];
+    public static void multTransAPanel( DMatrixSparseCSC A, double[] panel, int offsetP, int strideP, int width,
+                                        DMatrixRMaj C, int colC, double[] sums, DOperatorBinary op ) {
+        multTransAPanel(A, panel, offsetP, strideP, width, C, colC, sums, 0, op);
+    }
+
+    static void multTransAPanel( DMatrixSparseCSC A, double[] panel, int offsetP, int strideP, int width,
+                                 DMatrixRMaj C, int colC, double[] sums, int offsetSums, DOperatorBinary op ) {
+        final int endSums = offsetSums + width;
+        for (int i = 0; i < A.numCols; i++) {
+            int idx0 = A.col_idx[i];
+            int idx1 = A.col_idx[i + 1];
+
+            Arrays.fill(sums, offsetSums, endSums, 0.0);
+            for (int indexA = idx0; indexA < idx1; indexA++) {
+                double valueA = A.nz_values[indexA];
+                int indexP = offsetP + A.nz_rows[indexA]*strideP;
+                for (int indexS = offsetSums; indexS < endSums; indexS++) {
+                    sums[indexS] += valueA*panel[indexP++];
                 }
+            }
+
+            int indexC = i*C.numCols + colC;
+            for (int indexS = offsetSums; indexS < endSums; indexS++, indexC++) {
+                C.data[indexC] = op.apply(C.data[indexC], sums[indexS]);
+            }
+        }
+    }
 
-                C.data[i*C.numCols + j] = sum;
+    /**
+     * Copies rows row0 to row0+width-1 in B into the panel so that it's transposed. The panel has
+     * B.numCols rows and 'width' columns.
+     */
+    public static void packTransposed( DMatrixRMaj B, int row0, int width, double[] panel ) {
+        for (int j = 0; j < width; j++) {
+            int indexB = (row0 + j)*B.numCols;
+            for (int k = 0; k < B.numCols; k++) {
+                panel[k*width + j] = B.data[indexB + k];
             }
         }
     }
 
     /**
+     * <p>Computes one triangle of the symmetric matrix C = A<sup>T</sup>*W*A, where W is an optional diagonal
+     * matrix. Elements in the other triangle are not computed, which is about half the work of a general
+     * multiplication. The row pattern of A is stored in 'gw' so A doesn't need to be transposed.</p>
+     *
      * <p>Invoke through {@link CommonOps_DSCC}</p>
+     *
+     * @param A Matrix
+     * @param weights (Optional) Diagonal elements of W. Length A.numRows. If null then W = I.
+     * @param lower If true the lower triangle is computed, otherwise the upper triangle.
+     * @param C Storage for results. Array size is increased if needed.
+     * @param gw (Optional) Storage for internal workspace. Can be null.
+     * @param gx (Optional) Storage for internal workspace. Can be null.
      */
-    public static void multAddTransAB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
-        // C(i,j) = sum_k A(k,i) * B(j,K)
-        for (int j = 0; j < B.numRows; j++) {
-            for (int i = 0; i < A.numCols; i++) {
-                int idx0 = A.col_idx[i];
-                int idx1 = A.col_idx[i + 1];
-
-                final int indexRowB = j*B.numCols;
-
-                double sum = 0;
-                for (int indexA = idx0; indexA < idx1; indexA++) {
-                    int k = A.nz_rows[indexA];
-                    sum += A.nz_values[indexA]*B.data[indexRowB + k];
+    public static void multInner( DMatrixSparseCSC A, @Nullable double[] weights, boolean lower,
+                                  DMatrixSparseCSC C,
+                                  @Nullable IGrowArray gw, @Nullable DGrowArray gx ) {
+        final int N = A.numCols;
+        final int nz = A.nz_length;
+
+        // layout: row start (numRows+1), column of each element, index of each element in A, marker
+        int[] work = adjust(gw, A.numRows + 1 + 2*nz + N);
+        rowPattern(A, work);
+        final int offsetCols = A.numRows + 1;
+        final int offsetIdx = offsetCols + nz;
+        final int offsetMarker = offsetIdx + nz;
+        Arrays.fill(work, offsetMarker, offsetMarker + N, -1);
+        double[] x = adjust(gx, N);
+
+        C.reshape(N, N, A.nz_length);
+        C.nz_length = 0;
+
+        // C(i,j) = sum_k A(k,i) * W(k) * A(k,j)
+        for (int j = 0; j < N; j++) {
+            int idx1 = A.col_idx[j + 1];
+            for (int indexA = A.col_idx[j]; indexA < idx1; indexA++) {
+                int k = A.nz_rows[indexA];
+                double alpha = weights == null ? A.nz_values[indexA] : A.nz_values[indexA]*weights[k];
+
+                // columns in a row are sorted, so the search can stop once it leaves the triangle
+                int start = work[k];
+                int end = work[k + 1];
+                if (lower) {
+                    for (int q = end - 1; q >= start; q--) {
+                        int i = work[offsetCols + q];
+                        if (i < j)
+                            break;
+                        addToColumn(C, j, i, A.nz_values[work[offsetIdx + q]]*alpha, x, work, offsetMarker);
+                    }
+                } else {
+                    for (int q = start; q < end; q++) {
+                        int i = work[offsetCols + q];
+                        if (i > j)
+                            break;
+                        addToColumn(C, j, i, A.nz_values[work[offsetIdx + q]]*alpha, x, work, offsetMarker);
+                    }
                 }
+            }
+            finishColumn(C, j, x);
+        }
+        C.indicesSorted = true;
+    }
 
-                C.data[i*C.numCols + j] += sum;
+    /**
+     * <p>Computes one triangle of the symmetric matrix C = A*W*A<sup>T</sup>, where W is an optional diagonal
+     * matrix. Elements in the other triangle are not computed, which is about half the work of a general
+     * multiplication. The row pattern of A is stored in 'gw' so A doesn't need to be transposed.</p>
+     *
+     * <p>Invoke through {@link CommonOps_DSCC}</p>
+     *
+     * @param A Matrix
+     * @param weights (Optional) Diagonal elements of W. Length A.numCols. If null then W = I.
+     * @param lower If true the lower triangle is computed, otherwise the upper triangle.
+     * @param C Storage for results. Array size is increased if needed.
+     * @param gw (Optional) Storage for internal workspace. Can be null.
+     * @param gx (Optional) Storage for internal workspace. Can be null.
+     */
+    public static void multOuter( DMatrixSparseCSC A, @Nullable double[] weights, boolean lower,
+                                  DMatrixSparseCSC C,
+                                  @Nullable IGrowArray gw, @Nullable DGrowArray gx ) {
+        final int N = A.numRows;
+        final int nz = A.nz_length;
+
+        // layout: row start (numRows+1), column of each element, index of each element in A, marker
+        int[] work = adjust(gw, N + 1 + 2*nz + N);
+        rowPattern(A, work);
+        final int offsetCols = N + 1;
+        final int offsetIdx = offsetCols + nz;
+        final int offsetMarker = offsetIdx + nz;
+        Arrays.fill(work, offsetMarker, offsetMarker + N, -1);
+        double[] x = adjust(gx, N);
+
+        C.reshape(N, N, A.nz_length);
+        C.nz_length = 0;
+
+        // C(:,j) = sum_k A(:,k) * W(k) * A(j,k)
+        for (int j = 0; j < N; j++) {
+            int end = work[j + 1];
+            for (int q = work[j]; q < end; q++) {
+                int k = work[offsetCols + q];
+                double alpha = A.nz_values[work[offsetIdx + q]];
+                if (weights != null)
+                    alpha *= weights[k];
+
+                int idx1 = A.col_idx[k + 1];
+                for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                    int i = A.nz_rows[indexA];
+                    if (lower ? i < j : i > j)
+                        continue;
+                    addToColumn(C, j, i, A.nz_values[indexA]*alpha, x, work, offsetMarker);
+                }
+            }
+            finishColumn(C, j, x);
+        }
+        C.indicesSorted = true;
+    }
+
+    /**
+     * Computes the row pattern of A, which is the pattern of A<sup>T</sup> without copying the values. Elements
+     * in each row are sorted by column.
+     *
+     * <pre>
+     * work[i]                       = index of the first element in row i. Has A.numRows+1 elements.
+     * work[A.numRows+1+q]           = column of the q-th element
+     * work[A.numRows+1+nz_length+q] = index of the q-th element in A
+     * </pre>
+     */
+    static void rowPattern( DMatrixSparseCSC A, int[] work ) {
+        final int offsetCols = A.numRows + 1;
+        final int offsetIdx = offsetCols + A.nz_length;
+
+        Arrays.fill(work, 0, A.numRows + 1, 0);
+        for (int i = 0; i < A.nz_length; i++) {
+            work[A.nz_rows[i] + 1]++;
+        }
+        for (int i = 0; i < A.numRows; i++) {
+            work[i + 1] += work[i];
+        }
+
+        // the start of each row is used as the insertion point then shifted back afterwards
+        for (int col = 0; col < A.numCols; col++) {
+            int idx1 = A.col_idx[col + 1];
+            for (int i = A.col_idx[col]; i < idx1; i++) {
+                int dst = work[A.nz_rows[i]]++;
+                work[offsetCols + dst] = col;
+                work[offsetIdx + dst] = i;
             }
         }
+        for (int i = A.numRows; i > 0; i--) {
+            work[i] = work[i - 1];
+        }
+        work[0] = 0;
+    }
+
+    /**
+     * Adds 'value' to element (row,col) in C. The row is appended to the last column if it's not already in it.
+     */
+    private static void addToColumn( DMatrixSparseCSC C, int col, int row, double value,
+                                     double[] x, int[] work, int offsetMarker ) {
+        if (work[offsetMarker + row] != col) {
+            work[offsetMarker + row] = col;
+            if (C.nz_length >= C.nz_rows.length) {
+                C.growMaxLength(C.nz_length*2 + 1, true);
+            }
+            C.nz_rows[C.nz_length++] = row;
+            x[row] = value;
+        } else {
+            x[row] += value;
+        }
+    }
+
+    /**
+     * Sorts the rows in the last column of C and copies the values from x
+     */
+    private static void finishColumn( DMatrixSparseCSC C, int col, double[] x ) {
+        int idx0 = C.col_idx[col];
+        C.col_idx[col + 1] = C.nz_length;
+        Arrays.sort(C.nz_rows, idx0, C.nz_length);
+        for (int i = idx0; i < C.nz_length; i++) {
+            C.nz_values[i] = x[C.nz_rows[i]];
+        }
     }
 
     /**
@@ -17,11 +17,13 @@
  */
 package org.ejml.sparse.csc.mult;
 
+import org.ejml.EjmlParameters;
 import org.ejml.UtilEjml;
 import org.ejml.concurrency.EjmlConcurrency;
 import org.ejml.data.DGrowArray;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.ops.DOperatorBinary;
 import org.ejml.sparse.csc.CommonOps_MT_DSCC;
 import pabeles.concurrency.GrowArray;
 
@@ -141,50 +143,21 @@ public class ImplMultiplication_MT_DSCC {
         mult(A, B, C, true, listWork);
     }
 
-    /** <p>Invoke through {@link CommonOps_MT_DSCC} as it will manage the input contract</p> */
+    /**
+     * <p>Invoke through {@link CommonOps_MT_DSCC} as it will manage the input contract</p>
+     *
+     * <p>Each thread is assigned a block of columns in B and C, which it processes in panels of
+     * {@link EjmlParameters#MULT_SPARSE_PANEL} columns. Threads write to different columns in C.</p>
+     */
     public static void mult( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C, boolean add,
                              GrowArray<DGrowArray> listWork ) {
-        // Break the problem up into blocks of columns and process them independently
         EjmlConcurrency.loopBlocks(0, B.numCols, listWork, ( gwork, bj0, bj1 ) -> {
-            // same array to store column in A and B. This is done to reduce cache misses in B and C access
-            double[] work = gwork.reshape(A.numRows + B.numRows).data;
-
-            // C(i,j) = sum_k A(i,k) * B(k,j)
-            for (int bj = bj0; bj < bj1; bj++) {
-                // initialize column in C to all zeros
-                Arrays.fill(work, 0, A.numRows, 0.0);
-
-                // copy the column of B
-                for (int k = 0; k < B.numRows; k++) {
-                    work[A.numRows + k] = B.data[k*B.numCols + bj];
-                }
-
-                // Ideally this would be the outer loops, but there's no good way to only compute a row or column at
-                // a time if that is done
-                for (int k = 0; k < A.numCols; k++) {
-                    int idx0 = A.col_idx[k];
-                    int idx1 = A.col_idx[k + 1];
-
-                    if (idx0 == idx1)
-                        continue;
-
-                    for (int i = idx0; i < idx1; i++) {
-                        int ai = A.nz_rows[i];
-                        work[ai] += A.nz_values[i]*work[A.numRows + k];
-//                        C.data[ai*C.numCols + bj] += A.nz_values[i]*B.data[k*B.numCols + bj];
-                    }
-                }
-
-                // Copy results over
-                if (add) {
-                    for (int rowC = 0; rowC < C.numRows; rowC++) {
-                        C.data[rowC*C.numCols + bj] += work[rowC];
-                    }
-                } else {
-                    for (int rowC = 0; rowC < C.numRows; rowC++) {
-                        C.data[rowC*C.numCols + bj] = work[rowC];
-                    }
-                }
+            final int panel = EjmlParameters.MULT_SPARSE_PANEL;
+            for (int j0 = bj0; j0 < bj1; j0 += panel) {
+                int width = Math.min(panel, bj1 - j0);
+                if (!add)
+                    zeroColumns(C, j0, width);
+                ImplMultiplication_DSCC.multAddPanel(A, B.data, j0, B.numCols, width, C, j0);
             }
         });
     }
@@ -192,59 +165,26 @@ public class ImplMultiplication_MT_DSCC {
     /** <p>Invoke through {@link CommonOps_MT_DSCC} as it will manage the input contract</p> */
     public static void multTransA( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C,
                                    GrowArray<DGrowArray> listWork ) {
-        // C(i,j) = sum_k A(k,i) * B(k,j)
-        EjmlConcurrency.loopBlocks(0, B.numCols, listWork, ( gwork, j0, j1 ) -> {
-            // Local copy of column in A to reduce cache misses
-            double[] work = gwork.reshape(B.numRows).data;
-
-            for (int j = j0; j < j1; j++) {
-                for (int k = 0; k < B.numRows; k++) {
-                    work[k] = B.data[k*B.numCols + j];
-                }
-
-                for (int i = 0; i < A.numCols; i++) {
-                    int idx0 = A.col_idx[i];
-                    int idx1 = A.col_idx[i + 1];
-
-                    double sum = 0;
-                    for (int indexA = idx0; indexA < idx1; indexA++) {
-                        int k = A.nz_rows[indexA];
-                        sum += A.nz_values[indexA]*work[k];
-//                        sum += A.nz_values[indexA]*B.data[k*B.numCols + j];
-                    }
-
-                    C.data[i*C.numCols + j] = sum;
-                }
-            }
-        });
+        multTransA(A, B, C, listWork, ( a, b ) -> b);
     }
 
     /** <p>Invoke through {@link CommonOps_MT_DSCC} as it will manage the input contract</p> */
     public static void multAddTransA( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C,
                                       GrowArray<DGrowArray> listWork ) {
-        // C(i,j) = sum_k A(k,i) * B(k,j)
-        EjmlConcurrency.loopBlocks(0, B.numCols, listWork, ( gwork, j0, j1 ) -> {
-            // Local copy of column in A to reduce cache misses
-            double[] work = gwork.reshape(B.numRows).data;
-
-            for (int j = j0; j < j1; j++) {
-                for (int k = 0; k < B.numRows; k++) {
-                    work[k] = B.data[k*B.numCols + j];
-                }
-
-                for (int i = 0; i < A.numCols; i++) {
-                    int idx0 = A.col_idx[i];
-                    int idx1 = A.col_idx[i + 1];
+        multTransA(A, B, C, listWork, Double::sum);
+    }
 
-                    double sum = 0;
-                    for (int indexA = idx0; indexA < idx1; indexA++) {
-                        int k = A.nz_rows[indexA];
-                        sum += A.nz_values[indexA]*work[k];
-//                        sum += A.nz_values[indexA]*B.data[k*B.numCols + j];
-                    }
+    /** <p>Invoke through {@link CommonOps_MT_DSCC} as it will manage the input contract</p> */
+    public static void multTransA( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C,
+                                   GrowArray<DGrowArray> listWork, DOperatorBinary op ) {
+        // C(i,j) = sum_k A(k,i) * B(k,j)
+        EjmlConcurrency.loopBlocks(0, B.numCols, listWork, ( gwork, bj0, bj1 ) -> {
+            final int panel = EjmlParameters.MULT_SPARSE_PANEL;
+            double[] sums = gwork.reshape(Math.min(panel, bj1 - bj0)).data;
 
-                    C.data[i*C.numCols + j] += sum;
-                }
+            for (int j0 = bj0; j0 < bj1; j0 += panel) {
+                int width = Math.min(panel, bj1 - j0);
+                ImplMultiplication_DSCC.multTransAPanel(A, B.data, j0, B.numCols, width, C, j0, sums, op);
             }
         });
     }
@@ -259,88 +199,64 @@ public class ImplMultiplication_MT_DSCC {
         multTransB(A, B, C, true, listWork);
     }
 
-    /** <p>Invoke through {@link CommonOps_MT_DSCC} as it will manage the input contract</p> */
+    /**
+     * <p>Invoke through {@link CommonOps_MT_DSCC} as it will manage the input contract</p>
+     *
+     * <p>Each thread is assigned a block of rows in B, which it transposes and processes in panels of
+     * {@link EjmlParameters#MULT_SPARSE_PANEL} rows. Threads write to different columns in C.</p>
+     */
     public static void multTransB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C, boolean add,
                                    GrowArray<DGrowArray> listWork ) {
-        // Break the problem up into blocks of columns and process them independently
+        // C(i,j) = sum_k A(i,k) * B(j,k)
         EjmlConcurrency.loopBlocks(0, B.numRows, listWork, ( gwork, bj0, bj1 ) -> {
-            // Local copy of column in A to reduce cache misses
-            double[] work = gwork.reshape(A.numRows).data;
-
-            // C(i,j) = sum_k A(i,k) * B(k,j)
-            for (int bj = bj0; bj < bj1; bj++) {
-                // initialize column in C to all zeros
-                Arrays.fill(work, 0, A.numRows, 0.0);
-
-                // Ideally this would be the outer loops, but there's no good way to only compute a row or column at
-                // a time if that is done
-                for (int k = 0; k < A.numCols; k++) {
-                    int idx0 = A.col_idx[k];
-                    int idx1 = A.col_idx[k + 1];
-
-                    if (idx0 == idx1)
-                        continue;
-
-                    for (int i = idx0; i < idx1; i++) {
-                        int ai = A.nz_rows[i];
-                        work[ai] += A.nz_values[i]*B.data[bj*B.numCols + k];
-//                        C.data[ai*C.numCols + bj] += A.nz_values[i]*B.data[k*B.numCols + bj];
-                    }
-                }
-
-                // Copy results over
-                if (add) {
-                    for (int rowC = 0; rowC < C.numRows; rowC++) {
-                        C.data[rowC*C.numCols + bj] += work[rowC];
-                    }
-                } else {
-                    for (int rowC = 0; rowC < C.numRows; rowC++) {
-                        C.data[rowC*C.numCols + bj] = work[rowC];
-                    }
-                }
+            final int panel = EjmlParameters.MULT_SPARSE_PANEL;
+            double[] work = gwork.reshape(B.numCols*Math.min(panel, bj1 - bj0)).data;
+
+            for (int j0 = bj0; j0 < bj1; j0 += panel) {
+                int width = Math.min(panel, bj1 - j0);
+                if (!add)
+                    zeroColumns(C, j0, width);
+                ImplMultiplication_DSCC.packTransposed(B, j0, width, work);
+                ImplMultiplication_DSCC.multAddPanel(A, work, 0, width, width, C, j0);
             }
         });
     }
 
     /** <p>Invoke through {@link CommonOps_MT_DSCC} as it will manage the input contract</p> */
     public static void multTransAB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
-        // C(i,j) = sum_k A(k,i) * B(j,k)
-        EjmlConcurrency.loopFor(0, B.numRows, j -> {
-            for (int i = 0; i < A.numCols; i++) {
-                int idx0 = A.col_idx[i];
-                int idx1 = A.col_idx[i + 1];
-
-                final int indexRowB = j*B.numCols;
-
-                double sum = 0;
-                for (int indexA = idx0; indexA < idx1; indexA++) {
-                    int k = A.nz_rows[indexA];
-                    sum += A.nz_values[indexA]*B.data[indexRowB + k];
-                }
-
-                C.data[i*C.numCols + j] = sum;
-            }
-        });
+        multTransAB(A, B, C, new GrowArray<>(DGrowArray::new), ( a, b ) -> b);
     }
 
     /** <p>Invoke through {@link CommonOps_MT_DSCC} as it will manage the input contract</p> */
     public static void multAddTransAB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
-        // C(i,j) = sum_k A(k,i) * B(j,k)
-        EjmlConcurrency.loopFor(0, B.numRows, j -> {
-            for (int i = 0; i < A.numCols; i++) {
-                int idx0 = A.col_idx[i];
-                int idx1 = A.col_idx[i + 1];
-
-                final int indexRowB = j*B.numCols;
-
-                double sum = 0;
-                for (int indexA = idx0; indexA < idx1; indexA++) {
-                    int k = A.nz_rows[indexA];
-                    sum += A.nz_values[indexA]*B.data[indexRowB + k];
-                }
+        multTransAB(A, B, C, new GrowArray<>(DGrowArray::new), Double::sum);
+    }
 
-                C.data[i*C.numCols + j] += sum;
+    /** <p>Invoke through {@link CommonOps_MT_DSCC} as it will manage the input contract</p> */
+    public static void multTransAB( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C,
+                                    GrowArray<DGrowArray> listWork, DOperatorBinary op ) {
+        // C(i,j) = sum_k A(k,i) * B(j,k)
+        EjmlConcurrency.loopBlocks(0, B.numRows, listWork, ( gwork, bj0, bj1 ) -> {
+            final int panel = EjmlParameters.MULT_SPARSE_PANEL;
+            final int maxWidth = Math.min(panel, bj1 - bj0);
+            double[] work = gwork.reshape((B.numCols + 1)*maxWidth).data;
+            int offsetSums = B.numCols*maxWidth;
+
+            for (int j0 = bj0; j0 < bj1; j0 += panel) {
+                int width = Math.min(panel, bj1 - j0);
+                ImplMultiplication_DSCC.packTransposed(B, j0, width, work);
+                ImplMultiplication_DSCC.multTransAPanel(A, work, 0, width, width, C, j0, work, offsetSums, op);
             }
         });
     }
+
+    /**
+     * Sets columns col0 to col0+width-1 in C to zero
+     */
+    private static void zeroColumns( DMatrixRMaj C, int col0, int width ) {
+        for (int row = 0; row < C.numRows; row++) {
+            int index = row*C.numCols + col0;
+            Arrays.fill(C.data, index, index + width, 0.0);
+        }
+    }
 }
@@ -0,0 +1,2165 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.mult;
+
+import javax.annotation.Generated;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.masks.Mask;
+import org.ejml.ops.DSemiRing;
+import org.ejml.ops.DSemiRings;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <p>
+ * Kernels for sparse matrix multiplication with the semi-rings in {@link DSemiRings}. Each kernel has the
+ * operators of its semi-ring written out inline, so there's no call through an interface for every
+ * non-zero element. The dispatch functions select the kernel by comparing the reference of the semi-ring
+ * and return false if there is no kernel for it, in which case the caller should use the generic code.
+ * </p>
+ *
+ * <p>Invoke through {@link ImplMultiplicationWithSemiRing_DSCC} and {@link MatrixVectorMultWithSemiRing_DSCC}</p>
+ *
+ * <p>DO NOT MODIFY. Automatically generated code created by GenerateImplSemiRingKernels_DSCC</p>
+ *
+ * @author Peter Abeles
+ */
+@Generated("org.ejml.sparse.csc.mult.GenerateImplSemiRingKernels_DSCC")
+@SuppressWarnings({"Duplicates", "ConstantConditions"})
+public class ImplSemiRingKernels_DSCC {
+    /**
+     * Returns true if there is a specialized kernel for the semi-ring
+     */
+    public static boolean isSupported( DSemiRing semiRing ) {
+        return semiRing == DSemiRings.PLUS_TIMES ||
+                semiRing == DSemiRings.MIN_PLUS ||
+                semiRing == DSemiRings.MAX_PLUS ||
+                semiRing == DSemiRings.MIN_TIMES ||
+                semiRing == DSemiRings.MIN_MAX ||
+                semiRing == DSemiRings.MAX_MIN ||
+                semiRing == DSemiRings.MAX_TIMES ||
+                semiRing == DSemiRings.PLUS_MIN ||
+                semiRing == DSemiRings.OR_AND ||
+                semiRing == DSemiRings.AND_OR ||
+                semiRing == DSemiRings.XOR_AND ||
+                semiRing == DSemiRings.XNOR_OR ||
+                semiRing == DSemiRings.MIN_FIRST ||
+                semiRing == DSemiRings.MIN_SECOND ||
+                semiRing == DSemiRings.MAX_FIRST ||
+                semiRing == DSemiRings.MAX_SECOND;
+    }
+
+    /**
+     * Computes columns col0 to col1-1 of A*B and writes them to columns 0 to col1-col0-1 in C. C must be
+     * initialized the same way as in
+     * {@link ImplMultiplicationWithSemiRing_DSCC#mult(DMatrixSparseCSC, DMatrixSparseCSC, DMatrixSparseCSC, DSemiRing, Mask, org.ejml.data.IGrowArray, org.ejml.data.DGrowArray)}.
+     * The mask is referenced using columns in B.
+     *
+     * @return true if a kernel was found for the semi-ring
+     */
+    public static boolean mult( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1, DMatrixSparseCSC C,
+                                DSemiRing semiRing, @Nullable Mask mask, double[] x, int[] w ) {
+        if (semiRing == DSemiRings.PLUS_TIMES) {
+            mult_PLUS_TIMES(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_PLUS) {
+            mult_MIN_PLUS(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_PLUS) {
+            mult_MAX_PLUS(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_TIMES) {
+            mult_MIN_TIMES(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_MAX) {
+            mult_MIN_MAX(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_MIN) {
+            mult_MAX_MIN(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_TIMES) {
+            mult_MAX_TIMES(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.PLUS_MIN) {
+            mult_PLUS_MIN(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.OR_AND) {
+            mult_OR_AND(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.AND_OR) {
+            mult_AND_OR(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.XOR_AND) {
+            mult_XOR_AND(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.XNOR_OR) {
+            mult_XNOR_OR(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_FIRST) {
+            mult_MIN_FIRST(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_SECOND) {
+            mult_MIN_SECOND(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_FIRST) {
+            mult_MAX_FIRST(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_SECOND) {
+            mult_MAX_SECOND(A, B, col0, col1, C, mask, x, w);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * c = c + A(:,col0:col1-1)*b(col0:col1-1)
+     *
+     * @return true if a kernel was found for the semi-ring
+     */
+    public static boolean multAdd( DMatrixSparseCSC A, int col0, int col1, double[] b, int offsetB,
+                                   double[] c, int offsetC, DSemiRing semiRing ) {
+        if (semiRing == DSemiRings.PLUS_TIMES) {
+            multAdd_PLUS_TIMES(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_PLUS) {
+            multAdd_MIN_PLUS(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_PLUS) {
+            multAdd_MAX_PLUS(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_TIMES) {
+            multAdd_MIN_TIMES(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_MAX) {
+            multAdd_MIN_MAX(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_MIN) {
+            multAdd_MAX_MIN(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_TIMES) {
+            multAdd_MAX_TIMES(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.PLUS_MIN) {
+            multAdd_PLUS_MIN(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.OR_AND) {
+            multAdd_OR_AND(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.AND_OR) {
+            multAdd_AND_OR(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.XOR_AND) {
+            multAdd_XOR_AND(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.XNOR_OR) {
+            multAdd_XNOR_OR(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_FIRST) {
+            multAdd_MIN_FIRST(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_SECOND) {
+            multAdd_MIN_SECOND(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_FIRST) {
+            multAdd_MAX_FIRST(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_SECOND) {
+            multAdd_MAX_SECOND(A, col0, col1, b, offsetB, c, offsetC);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * c(col0:col1-1) = a<sup>T</sup>*B(:,col0:col1-1)
+     *
+     * @return true if a kernel was found for the semi-ring
+     */
+    public static boolean mult( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, DSemiRing semiRing, @Nullable Mask mask ) {
+        if (semiRing == DSemiRings.PLUS_TIMES) {
+            mult_PLUS_TIMES(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_PLUS) {
+            mult_MIN_PLUS(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_PLUS) {
+            mult_MAX_PLUS(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_TIMES) {
+            mult_MIN_TIMES(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_MAX) {
+            mult_MIN_MAX(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_MIN) {
+            mult_MAX_MIN(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_TIMES) {
+            mult_MAX_TIMES(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.PLUS_MIN) {
+            mult_PLUS_MIN(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.OR_AND) {
+            mult_OR_AND(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.AND_OR) {
+            mult_AND_OR(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.XOR_AND) {
+            mult_XOR_AND(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.XNOR_OR) {
+            mult_XNOR_OR(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_FIRST) {
+            mult_MIN_FIRST(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_SECOND) {
+            mult_MIN_SECOND(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_FIRST) {
+            mult_MAX_FIRST(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_SECOND) {
+            mult_MAX_SECOND(a, offsetA, B, col0, col1, c, offsetC, semiRing.add.id, mask);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * C = C + A*B
+     *
+     * @return true if a kernel was found for the semi-ring
+     */
+    public static boolean multAdd( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C, DSemiRing semiRing ) {
+        if (semiRing == DSemiRings.PLUS_TIMES) {
+            multAdd_PLUS_TIMES(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_PLUS) {
+            multAdd_MIN_PLUS(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_PLUS) {
+            multAdd_MAX_PLUS(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_TIMES) {
+            multAdd_MIN_TIMES(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_MAX) {
+            multAdd_MIN_MAX(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_MIN) {
+            multAdd_MAX_MIN(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_TIMES) {
+            multAdd_MAX_TIMES(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.PLUS_MIN) {
+            multAdd_PLUS_MIN(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.OR_AND) {
+            multAdd_OR_AND(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.AND_OR) {
+            multAdd_AND_OR(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.XOR_AND) {
+            multAdd_XOR_AND(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.XNOR_OR) {
+            multAdd_XNOR_OR(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_FIRST) {
+            multAdd_MIN_FIRST(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.MIN_SECOND) {
+            multAdd_MIN_SECOND(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_FIRST) {
+            multAdd_MAX_FIRST(A, B, C);
+            return true;
+        }
+        if (semiRing == DSemiRings.MAX_SECOND) {
+            multAdd_MAX_SECOND(A, B, C);
+            return true;
+        }
+        return false;
+    }
+
+    public static void mult_PLUS_TIMES( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = valA*valB;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = sum + product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_PLUS_TIMES( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = valA*valB;
+                double sum = c[indexC];
+                c[indexC] = sum + product;
+            }
+        }
+    }
+
+    public static void mult_PLUS_TIMES( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = valA*valB;
+                sum = sum + product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_PLUS_TIMES( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = valA*valB;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = sum + product;
+                }
+            }
+        }
+    }
+
+    public static void mult_MIN_PLUS( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = valA + valB;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum <= product) ? sum : product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_MIN_PLUS( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = valA + valB;
+                double sum = c[indexC];
+                c[indexC] = (sum <= product) ? sum : product;
+            }
+        }
+    }
+
+    public static void mult_MIN_PLUS( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = valA + valB;
+                sum = (sum <= product) ? sum : product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_MIN_PLUS( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = valA + valB;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum <= product) ? sum : product;
+                }
+            }
+        }
+    }
+
+    public static void mult_MAX_PLUS( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = valA + valB;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum >= product) ? sum : product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_MAX_PLUS( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = valA + valB;
+                double sum = c[indexC];
+                c[indexC] = (sum >= product) ? sum : product;
+            }
+        }
+    }
+
+    public static void mult_MAX_PLUS( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = valA + valB;
+                sum = (sum >= product) ? sum : product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_MAX_PLUS( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = valA + valB;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum >= product) ? sum : product;
+                }
+            }
+        }
+    }
+
+    public static void mult_MIN_TIMES( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = valA*valB;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum <= product) ? sum : product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_MIN_TIMES( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = valA*valB;
+                double sum = c[indexC];
+                c[indexC] = (sum <= product) ? sum : product;
+            }
+        }
+    }
+
+    public static void mult_MIN_TIMES( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = valA*valB;
+                sum = (sum <= product) ? sum : product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_MIN_TIMES( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = valA*valB;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum <= product) ? sum : product;
+                }
+            }
+        }
+    }
+
+    public static void mult_MIN_MAX( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = (valA >= valB) ? valA : valB;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum <= product) ? sum : product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_MIN_MAX( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = (valA >= valB) ? valA : valB;
+                double sum = c[indexC];
+                c[indexC] = (sum <= product) ? sum : product;
+            }
+        }
+    }
+
+    public static void mult_MIN_MAX( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = (valA >= valB) ? valA : valB;
+                sum = (sum <= product) ? sum : product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_MIN_MAX( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = (valA >= valB) ? valA : valB;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum <= product) ? sum : product;
+                }
+            }
+        }
+    }
+
+    public static void mult_MAX_MIN( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = (valA <= valB) ? valA : valB;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum >= product) ? sum : product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_MAX_MIN( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = (valA <= valB) ? valA : valB;
+                double sum = c[indexC];
+                c[indexC] = (sum >= product) ? sum : product;
+            }
+        }
+    }
+
+    public static void mult_MAX_MIN( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = (valA <= valB) ? valA : valB;
+                sum = (sum >= product) ? sum : product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_MAX_MIN( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = (valA <= valB) ? valA : valB;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum >= product) ? sum : product;
+                }
+            }
+        }
+    }
+
+    public static void mult_MAX_TIMES( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = valA*valB;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum >= product) ? sum : product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_MAX_TIMES( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = valA*valB;
+                double sum = c[indexC];
+                c[indexC] = (sum >= product) ? sum : product;
+            }
+        }
+    }
+
+    public static void mult_MAX_TIMES( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = valA*valB;
+                sum = (sum >= product) ? sum : product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_MAX_TIMES( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = valA*valB;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum >= product) ? sum : product;
+                }
+            }
+        }
+    }
+
+    public static void mult_PLUS_MIN( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = (valA <= valB) ? valA : valB;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = sum + product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_PLUS_MIN( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = (valA <= valB) ? valA : valB;
+                double sum = c[indexC];
+                c[indexC] = sum + product;
+            }
+        }
+    }
+
+    public static void mult_PLUS_MIN( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = (valA <= valB) ? valA : valB;
+                sum = sum + product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_PLUS_MIN( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = (valA <= valB) ? valA : valB;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = sum + product;
+                }
+            }
+        }
+    }
+
+    public static void mult_OR_AND( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = (valA == 0 || valB == 0) ? 0 : 1;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum != 0 || product != 0) ? 1 : 0;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_OR_AND( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = (valA == 0 || valB == 0) ? 0 : 1;
+                double sum = c[indexC];
+                c[indexC] = (sum != 0 || product != 0) ? 1 : 0;
+            }
+        }
+    }
+
+    public static void mult_OR_AND( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = (valA == 0 || valB == 0) ? 0 : 1;
+                sum = (sum != 0 || product != 0) ? 1 : 0;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_OR_AND( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = (valA == 0 || valB == 0) ? 0 : 1;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum != 0 || product != 0) ? 1 : 0;
+                }
+            }
+        }
+    }
+
+    public static void mult_AND_OR( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = (valA != 0 || valB != 0) ? 1 : 0;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum == 0 || product == 0) ? 0 : 1;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_AND_OR( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = (valA != 0 || valB != 0) ? 1 : 0;
+                double sum = c[indexC];
+                c[indexC] = (sum == 0 || product == 0) ? 0 : 1;
+            }
+        }
+    }
+
+    public static void mult_AND_OR( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = (valA != 0 || valB != 0) ? 1 : 0;
+                sum = (sum == 0 || product == 0) ? 0 : 1;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_AND_OR( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = (valA != 0 || valB != 0) ? 1 : 0;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum == 0 || product == 0) ? 0 : 1;
+                }
+            }
+        }
+    }
+
+    public static void mult_XOR_AND( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = (valA == 0 || valB == 0) ? 0 : 1;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = ((sum != 0) == (product != 0)) ? 0 : 1;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_XOR_AND( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = (valA == 0 || valB == 0) ? 0 : 1;
+                double sum = c[indexC];
+                c[indexC] = ((sum != 0) == (product != 0)) ? 0 : 1;
+            }
+        }
+    }
+
+    public static void mult_XOR_AND( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = (valA == 0 || valB == 0) ? 0 : 1;
+                sum = ((sum != 0) == (product != 0)) ? 0 : 1;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_XOR_AND( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = (valA == 0 || valB == 0) ? 0 : 1;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = ((sum != 0) == (product != 0)) ? 0 : 1;
+                }
+            }
+        }
+    }
+
+    public static void mult_XNOR_OR( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = (valA != 0 || valB != 0) ? 1 : 0;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = ((sum != 0) == (product != 0)) ? 1 : 0;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_XNOR_OR( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = (valA != 0 || valB != 0) ? 1 : 0;
+                double sum = c[indexC];
+                c[indexC] = ((sum != 0) == (product != 0)) ? 1 : 0;
+            }
+        }
+    }
+
+    public static void mult_XNOR_OR( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = (valA != 0 || valB != 0) ? 1 : 0;
+                sum = ((sum != 0) == (product != 0)) ? 1 : 0;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_XNOR_OR( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = (valA != 0 || valB != 0) ? 1 : 0;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = ((sum != 0) == (product != 0)) ? 1 : 0;
+                }
+            }
+        }
+    }
+
+    public static void mult_MIN_FIRST( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = valA;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum <= product) ? sum : product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_MIN_FIRST( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = valA;
+                double sum = c[indexC];
+                c[indexC] = (sum <= product) ? sum : product;
+            }
+        }
+    }
+
+    public static void mult_MIN_FIRST( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = valA;
+                sum = (sum <= product) ? sum : product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_MIN_FIRST( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = valA;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum <= product) ? sum : product;
+                }
+            }
+        }
+    }
+
+    public static void mult_MIN_SECOND( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = valB;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum <= product) ? sum : product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_MIN_SECOND( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = valB;
+                double sum = c[indexC];
+                c[indexC] = (sum <= product) ? sum : product;
+            }
+        }
+    }
+
+    public static void mult_MIN_SECOND( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = valB;
+                sum = (sum <= product) ? sum : product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_MIN_SECOND( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = valB;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum <= product) ? sum : product;
+                }
+            }
+        }
+    }
+
+    public static void mult_MAX_FIRST( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = valA;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum >= product) ? sum : product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_MAX_FIRST( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = valA;
+                double sum = c[indexC];
+                c[indexC] = (sum >= product) ? sum : product;
+            }
+        }
+    }
+
+    public static void mult_MAX_FIRST( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = valA;
+                sum = (sum >= product) ? sum : product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_MAX_FIRST( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = valA;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum >= product) ? sum : product;
+                }
+            }
+        }
+    }
+
+    public static void mult_MAX_SECOND( DMatrixSparseCSC A, DMatrixSparseCSC B, int col0, int col1,
+                                DMatrixSparseCSC C, @Nullable Mask mask, double[] x, int[] w ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        int idx0 = B.col_idx[col0];
+        for (int colB = col0; colB < col1; colB++) {
+            int colC = colB - col0;
+            int mark = colC + 1;
+            int idx1 = B.col_idx[colB + 1];
+            C.col_idx[mark] = C.nz_length;
+
+            if (idx0 == idx1) {
+                continue;
+            }
+
+            if (mask != null) {
+                mask.setIndexColumn(colB);
+            }
+
+            // C(:,j) = sum_k A(:,k)*B(k,j)
+            for (int bi = idx0; bi < idx1; bi++) {
+                int rowB = B.nz_rows[bi];
+                double valB = B.nz_values[bi];
+
+                int idxA1 = A.col_idx[rowB + 1];
+                for (int indexA = A.col_idx[rowB]; indexA < idxA1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    if (mask != null && !mask.isSet(row, colB))
+                        continue;
+
+                    double valA = A.nz_values[indexA];
+                    double product = valB;
+                    if (w[row] < mark) {
+                        if (C.nz_length >= C.nz_rows.length) {
+                            grow(C, mask);
+                        }
+                        w[row] = mark;
+                        C.nz_rows[C.nz_length] = row;
+                        C.col_idx[mark] = ++C.nz_length;
+                        x[row] = product;
+                    } else {
+                        double sum = x[row];
+                        x[row] = (sum >= product) ? sum : product;
+                    }
+                }
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.col_idx[colC];
+            int idxC1 = C.col_idx[mark];
+            for (int i = idxC0; i < idxC1; i++) {
+                C.nz_values[i] = x[C.nz_rows[i]];
+            }
+
+            idx0 = idx1;
+        }
+    }
+
+    public static void multAdd_MAX_SECOND( DMatrixSparseCSC A, int col0, int col1,
+                                   double[] b, int offsetB, double[] c, int offsetC ) {
+        for (int k = col0; k < col1; k++) {
+            int idx1 = A.col_idx[k + 1];
+            double valB = b[offsetB + k];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                int indexC = offsetC + A.nz_rows[indexA];
+                double valA = A.nz_values[indexA];
+                double product = valB;
+                double sum = c[indexC];
+                c[indexC] = (sum >= product) ? sum : product;
+            }
+        }
+    }
+
+    public static void mult_MAX_SECOND( double[] a, int offsetA, DMatrixSparseCSC B, int col0, int col1,
+                                double[] c, int offsetC, double id, @Nullable Mask mask ) {
+        for (int k = col0; k < col1; k++) {
+            if (mask != null && !mask.isSet(k))
+                continue;
+
+            int idx1 = B.col_idx[k + 1];
+            double sum = id;
+            for (int indexB = B.col_idx[k]; indexB < idx1; indexB++) {
+                double valA = a[offsetA + B.nz_rows[indexB]];
+                double valB = B.nz_values[indexB];
+                double product = valB;
+                sum = (sum >= product) ? sum : product;
+            }
+            c[offsetC + k] = sum;
+        }
+    }
+
+    public static void multAdd_MAX_SECOND( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixRMaj C ) {
+        // C(i,j) = sum_k A(i,k) * B(k,j)
+        for (int k = 0; k < A.numCols; k++) {
+            int idx1 = A.col_idx[k + 1];
+
+            for (int indexA = A.col_idx[k]; indexA < idx1; indexA++) {
+                double valA = A.nz_values[indexA];
+                int indexB = k*B.numCols;
+                int indexC = A.nz_rows[indexA]*C.numCols;
+                int end = indexB + B.numCols;
+
+                while (indexB < end) {
+                    double valB = B.data[indexB++];
+                    double product = valB;
+                    double sum = C.data[indexC];
+                    C.data[indexC++] = (sum >= product) ? sum : product;
+                }
+            }
+        }
+    }
+
+    private static void grow( DMatrixSparseCSC C, @Nullable Mask mask ) {
+        int growToLength = C.nz_length*2 + 1;
+        if (mask != null) {
+            growToLength = Math.min(growToLength, mask.maxMaskedEntries());
+        }
+        C.growMaxLength(growToLength, true);
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.EjmlParameters;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DVectorSparse;
+import org.ejml.masks.Mask;
+import org.ejml.ops.DMonoid;
+import org.ejml.ops.DMonoids;
+import org.ejml.ops.DSemiRing;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Multiplication of a sparse matrix by a {@link DVectorSparse} using a semi-ring. The amount of work depends on the
+ * number of assigned elements in the vector instead of its size, which makes it well suited for graph traversal
+ * where the frontier is often small.
+ * </p>
+ *
+ * <p>
+ * There are two ways to compute the product. Push scatters the matrix columns selected by the vector's assigned
+ * elements into the output, which is fast when the vector has few assigned elements. Pull computes a dot product
+ * between the vector and a column of the matrix for every output element that's set in the mask, which is faster
+ * when the vector is dense or the mask removes most of the output. With OR and AND as the semi-ring's addition,
+ * pull stops as soon as the sum can no longer change. For c = A*b push uses the columns of A and pull
+ * requires the transpose of A. For c = a<sup>T</sup>*B pull uses the columns of B and push requires the transpose
+ * of B. If the transpose is provided then the direction is selected by estimating the amount of work, see
+ * {@link EjmlParameters#MULT_SPARSE_VECTOR_PULL}.
+ * </p>
+ *
+ * <p>
+ * Only output elements which have at least one term in their sum are assigned.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MatrixSparseVectorMultWithSemiRing_DSCC {
+    /** Specifies how the product is computed */
+    public enum Direction {
+        /** Selects the direction based on the estimated amount of work */
+        AUTO,
+        /** Scatters columns selected by the vector */
+        PUSH,
+        /** Computes a dot product for each output element */
+        PULL
+    }
+
+    /**
+     * c = A*b
+     *
+     * @param A (Input) Matrix
+     * @param AT (Optional) Transpose of A. Required for pull.
+     * @param b (Input) Vector
+     * @param c (Output) Vector. Is reshaped.
+     * @param semiRing Semi-Ring to define + and *
+     * @param mask (Optional) Mask for specifying which elements in c should be computed
+     * @param direction How the product is computed. If PULL then AT must be provided.
+     * @param work (Optional) Storage for internal workspace. Can be null.
+     */
+    public static void mult( DMatrixSparseCSC A, @Nullable DMatrixSparseCSC AT, DVectorSparse b, DVectorSparse c,
+                             DSemiRing semiRing, @Nullable Mask mask, Direction direction,
+                             @Nullable Workspace work ) {
+        if (b.size != A.numCols)
+            throw new IllegalArgumentException("Length of 'b' doesn't match the number of columns in 'A'");
+        if (AT != null && (AT.numRows != A.numCols || AT.numCols != A.numRows))
+            throw new IllegalArgumentException("AT isn't the transpose of A");
+        if (b == c)
+            throw new IllegalArgumentException("'b' and 'c' can't be the same vector");
+
+        multImpl(A, AT, b, c, semiRing, mask, direction, false, work);
+    }
+
+    public static void mult( DMatrixSparseCSC A, @Nullable DMatrixSparseCSC AT, DVectorSparse b, DVectorSparse c,
+                             DSemiRing semiRing, @Nullable Mask mask ) {
+        mult(A, AT, b, c, semiRing, mask, Direction.AUTO, null);
+    }
+
+    /**
+     * c = a<sup>T</sup>*B
+     *
+     * @param a (Input) Vector
+     * @param B (Input) Matrix
+     * @param BT (Optional) Transpose of B. Required for push.
+     * @param c (Output) Vector. Is reshaped.
+     * @param semiRing Semi-Ring to define + and *
+     * @param mask (Optional) Mask for specifying which elements in c should be computed
+     * @param direction How the product is computed. If PUSH then BT must be provided.
+     * @param work (Optional) Storage for internal workspace. Can be null.
+     */
+    public static void mult( DVectorSparse a, DMatrixSparseCSC B, @Nullable DMatrixSparseCSC BT, DVectorSparse c,
+                             DSemiRing semiRing, @Nullable Mask mask, Direction direction,
+                             @Nullable Workspace work ) {
+        if (a.size != B.numRows)
+            throw new IllegalArgumentException("Length of 'a' doesn't match the number of rows in 'B'");
+        if (BT != null && (BT.numRows != B.numCols || BT.numCols != B.numRows))
+            throw new IllegalArgumentException("BT isn't the transpose of B");
+        if (a == c)
+            throw new IllegalArgumentException("'a' and 'c' can't be the same vector");
+
+        // c = B^T*a. The columns of BT are rows of B so they are used to push
+        multImpl(BT, B, a, c, semiRing, mask, direction, true, work);
+    }
+
+    public static void mult( DVectorSparse a, DMatrixSparseCSC B, @Nullable DMatrixSparseCSC BT, DVectorSparse c,
+                             DSemiRing semiRing, @Nullable Mask mask ) {
+        mult(a, B, BT, c, semiRing, mask, Direction.AUTO, null);
+    }
+
+    /**
+     * Computes c = M*v using the columns in 'push' or the columns in 'pull', where pull is the transpose of push.
+     *
+     * @param vectorFirst If true the vector is the first argument to the semi-ring's multiplication
+     */
+    static void multImpl( @Nullable DMatrixSparseCSC push, @Nullable DMatrixSparseCSC pull, DVectorSparse v,
+                          DVectorSparse c, DSemiRing semiRing, @Nullable Mask mask, Direction direction,
+                          boolean vectorFirst, @Nullable Workspace work ) {
+        if (work == null)
+            work = new Workspace();
+
+        if (direction == Direction.AUTO) {
+            direction = selectDirection(push, pull, v);
+        }
+
+        if (direction == Direction.PUSH) {
+            if (push == null)
+                throw new IllegalArgumentException("Push requires the columns of the matrix that's multiplied " +
+                        "against the vector. Provide the transpose.");
+            push(push, v, c, semiRing, mask, vectorFirst, work);
+        } else {
+            if (pull == null)
+                throw new IllegalArgumentException("Pull requires the rows of the matrix that's multiplied " +
+                        "against the vector. Provide the transpose.");
+            pull(pull, v, c, semiRing, mask, vectorFirst, work);
+        }
+    }
+
+    /**
+     * Selects the direction which should require the least amount of work
+     */
+    static Direction selectDirection( @Nullable DMatrixSparseCSC push, @Nullable DMatrixSparseCSC pull,
+                                      DVectorSparse v ) {
+        if (push == null)
+            return Direction.PULL;
+        if (pull == null)
+            return Direction.PUSH;
+
+        // number of matrix elements which push would touch
+        long pushWork = 0;
+        if (v.isBitmap) {
+            for (int k = 0; k < v.size; k++) {
+                if (v.bitmap[k])
+                    pushWork += push.col_idx[k + 1] - push.col_idx[k];
+            }
+        } else {
+            for (int i = 0; i < v.nz_length; i++) {
+                int k = v.nz_indexes[i];
+                pushWork += push.col_idx[k + 1] - push.col_idx[k];
+            }
+        }
+
+        return pushWork > pull.nz_length*EjmlParameters.MULT_SPARSE_VECTOR_PULL ? Direction.PULL : Direction.PUSH;
+    }
+
+    /**
+     * For every assigned element v(k), scatter M(:,k) into the output. Assigned output elements are tracked and
+     * the output is saved in which ever format is the best for its number of elements.
+     */
+    static void push( DMatrixSparseCSC M, DVectorSparse v, DVectorSparse c, DSemiRing semiRing,
+                      @Nullable Mask mask, boolean vectorFirst, Workspace work ) {
+        final int N = M.numRows;
+        work.reshape(N);
+        final int[] marks = work.marks;
+        final int stamp = work.nextStamp();
+        final double[] x = work.values;
+        int[] touched = work.touched;
+        int numTouched = 0;
+
+        if (mask != null)
+            mask.setIndexColumn(0);
+
+        int numAssigned = v.isBitmap ? v.size : v.nz_length;
+        for (int i = 0; i < numAssigned; i++) {
+            int k;
+            double valueV;
+            if (v.isBitmap) {
+                if (!v.bitmap[i])
+                    continue;
+                k = i;
+                valueV = v.bitmap_values[i];
+            } else {
+                k = v.nz_indexes[i];
+                valueV = v.nz_values[i];
+            }
+
+            int idx1 = M.col_idx[k + 1];
+            for (int indexM = M.col_idx[k]; indexM < idx1; indexM++) {
+                int row = M.nz_rows[indexM];
+                if (mask != null && !mask.isSet(row))
+                    continue;
+
+                double valueM = M.nz_values[indexM];
+                double product = vectorFirst ?
+                        semiRing.mult.func.apply(valueV, valueM) : semiRing.mult.func.apply(valueM, valueV);
+                if (marks[row] != stamp) {
+                    marks[row] = stamp;
+                    x[row] = product;
+                    touched[numTouched++] = row;
+                } else {
+                    x[row] = semiRing.add.func.apply(x[row], product);
+                }
+            }
+        }
+
+        c.reshape(N);
+        if (numTouched > N*EjmlParameters.SPARSE_VECTOR_BITMAP) {
+            // no need to sort when saved as a bitmap
+            c.convertToBitmap();
+            for (int i = 0; i < numTouched; i++) {
+                int row = touched[i];
+                c.bitmap[row] = true;
+                c.bitmap_values[row] = x[row];
+            }
+        } else {
+            Arrays.sort(touched, 0, numTouched);
+            c.growMaxLength(numTouched, false);
+            for (int i = 0; i < numTouched; i++) {
+                int row = touched[i];
+                c.nz_indexes[i] = row;
+                c.nz_values[i] = x[row];
+            }
+        }
+        c.nz_length = numTouched;
+    }
+
+    /**
+     * For every output element c(j) which is set in the mask, compute the dot product between M(:,j) and v.
+     * If v is in sparse format it's first scattered into a dense array for constant time look up.
+     */
+    static void pull( DMatrixSparseCSC M, DVectorSparse v, DVectorSparse c, DSemiRing semiRing,
+                      @Nullable Mask mask, boolean vectorFirst, Workspace work ) {
+        final int N = M.numCols;
+
+        // Look up tables for v. In bitmap format it's used directly
+        final boolean[] assigned;
+        final double[] values;
+        final int[] marks;
+        final int stamp;
+        if (v.isBitmap) {
+            assigned = v.bitmap;
+            values = v.bitmap_values;
+            marks = work.marks;
+            stamp = 0;
+        } else {
+            work.reshape(v.size);
+            assigned = null;
+            values = work.values;
+            marks = work.marks;
+            stamp = work.nextStamp();
+            for (int i = 0; i < v.nz_length; i++) {
+                marks[v.nz_indexes[i]] = stamp;
+                values[v.nz_indexes[i]] = v.nz_values[i];
+            }
+        }
+
+        if (mask != null)
+            mask.setIndexColumn(0);
+
+        // Once the sum is equal to this value it can't change and the remaining terms can be skipped
+        final double terminal = terminalValue(semiRing.add);
+
+        c.reshape(N);
+        c.growMaxLength(Math.min(N, Math.max(16, v.nz_length)), false);
+        for (int j = 0; j < N; j++) {
+            if (mask != null && !mask.isSet(j))
+                continue;
+
+            boolean found = false;
+            double sum = 0;
+            int idx1 = M.col_idx[j + 1];
+            for (int indexM = M.col_idx[j]; indexM < idx1; indexM++) {
+                int k = M.nz_rows[indexM];
+                if (assigned != null ? !assigned[k] : marks[k] != stamp)
+                    continue;
+
+                double valueM = M.nz_values[indexM];
+                double product = vectorFirst ?
+                        semiRing.mult.func.apply(values[k], valueM) : semiRing.mult.func.apply(valueM, values[k]);
+                if (found) {
+                    sum = semiRing.add.func.apply(sum, product);
+                } else {
+                    sum = product;
+                    found = true;
+                }
+                if (sum == terminal)
+                    break;
+            }
+
+            if (found)
+                c.append(j, sum);
+        }
+        c.selectFormat();
+    }
+
+    /**
+     * Returns the value which the monoid can't change once it's been reached, or NaN if there is none. For
+     * example, with OR the sum will always be 1 once a single term is true.
+     */
+    static double terminalValue( DMonoid add ) {
+        if (add == DMonoids.OR)
+            return 1;
+        if (add == DMonoids.AND)
+            return 0;
+        return Double.NaN;
+    }
+
+    /**
+     * Workspace which allows elements to be marked as being used in constant time, without clearing an array
+     * the size of the vector for each call.
+     */
+    public static class Workspace {
+        /** marks[i] is equal to the current stamp if element 'i' is in use */
+        int[] marks = new int[0];
+        /** Value of each element that's in use */
+        double[] values = new double[0];
+        /** List of elements which are in use */
+        int[] touched = new int[0];
+        int stamp = 0;
+
+        void reshape( int length ) {
+            if (marks.length < length) {
+                marks = new int[length];
+                values = new double[length];
+                touched = new int[length];
+                stamp = 0;
+            }
+        }
+
+        /** Returns a new stamp. Previous marks are now invalid */
+        int nextStamp() {
+            if (stamp == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                stamp = 0;
+            }
+            return ++stamp;
+        }
+    }
+}
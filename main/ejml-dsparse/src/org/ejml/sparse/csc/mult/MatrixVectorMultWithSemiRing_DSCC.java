@@ -19,8 +19,10 @@ package org.ejml.sparse.csc.mult;
 
 import org.ejml.data.DMatrixSparseCSC;
 import org.ejml.masks.Mask;
+import org.ejml.masks.DMaskBitmap;
 import org.ejml.masks.DMaskPrimitive;
 import org.ejml.masks.DMaskSparse;
+import org.ejml.masks.DMaskSparseMerge;
 import org.ejml.ops.DSemiRing;
 import org.jetbrains.annotations.Nullable;
 
@@ -73,25 +75,24 @@ public class MatrixVectorMultWithSemiRing_DSCC {
         // could also just fill where mask.isSet()
         Arrays.fill(c, semiRing.add.id);
 
-        for (int k = 0; k < A.numCols; k++) {
-            int idx0 = A.col_idx[k];
-            int idx1 = A.col_idx[k + 1];
+        // use a kernel with the operators inlined if there is one
+        if (!ImplSemiRingKernels_DSCC.multAdd(A, 0, A.numCols, b, offsetB, c, offsetC, semiRing)) {
+            for (int k = 0; k < A.numCols; k++) {
+                int idx0 = A.col_idx[k];
+                int idx1 = A.col_idx[k + 1];
 
-            for (int indexA = idx0; indexA < idx1; indexA++) {
-                c[offsetC + A.nz_rows[indexA]] = semiRing.add.func.apply(
-                        c[offsetC + A.nz_rows[indexA]],
-                        semiRing.mult.func.apply(A.nz_values[indexA], b[offsetB + k]));
+                for (int indexA = idx0; indexA < idx1; indexA++) {
+                    c[offsetC + A.nz_rows[indexA]] = semiRing.add.func.apply(
+                            c[offsetC + A.nz_rows[indexA]],
+                            semiRing.mult.func.apply(A.nz_values[indexA], b[offsetB + k]));
+                }
             }
         }
 
         if (mask != null) {
             // apply mask at once as computation is not column-wise
-            double zeroElement = 0;
-            if (mask instanceof DMaskPrimitive) {
-                zeroElement = ((DMaskPrimitive)mask).zeroElement;
-            } else if ((mask instanceof DMaskSparse)) {
-                zeroElement = ((DMaskSparse)mask).zeroElement;
-            }
+            mask = mask.optimized();
+            double zeroElement = zeroElement(mask);
 
             // in case the mask wasn't applied during computation f.i. reduceRowWise
             for (int i = offsetC; i < (c.length - offsetC); i++) {
@@ -103,6 +104,22 @@ public class MatrixVectorMultWithSemiRing_DSCC {
         }
     }
 
+    /**
+     * Value which elements that are not set in the mask are assigned to
+     */
+    static double zeroElement( Mask mask ) {
+        if (mask instanceof DMaskPrimitive) {
+            return ((DMaskPrimitive)mask).zeroElement;
+        } else if ((mask instanceof DMaskSparse)) {
+            return ((DMaskSparse)mask).zeroElement;
+        } else if ((mask instanceof DMaskSparseMerge)) {
+            return ((DMaskSparseMerge)mask).zeroElement;
+        } else if ((mask instanceof DMaskBitmap)) {
+            return ((DMaskBitmap)mask).zeroElement;
+        }
+        return 0;
+    }
+
     /**
      * c = a<sup>T</sup>*B
      *
@@ -122,6 +139,13 @@ public class MatrixVectorMultWithSemiRing_DSCC {
         if (c.length - offsetC < B.numCols)
             throw new IllegalArgumentException("Length of 'c' isn't long enough");
 
+        if (mask != null)
+            mask = mask.optimized();
+
+        // use a kernel with the operators inlined if there is one
+        if (ImplSemiRingKernels_DSCC.mult(a, offsetA, B, 0, B.numCols, c, offsetC, semiRing, mask))
+            return;
+
         for (int k = 0; k < B.numCols; k++) {
             if (mask == null || mask.isSet(k)) {
                 int idx0 = B.col_idx[k];
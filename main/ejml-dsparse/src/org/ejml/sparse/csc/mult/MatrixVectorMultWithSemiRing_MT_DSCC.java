@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.masks.Mask;
+import org.ejml.ops.DSemiRing;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link MatrixVectorMultWithSemiRing_DSCC}.
+ * </p>
+ *
+ * <p>
+ * For c = a<sup>T</sup>*B each thread computes a block of elements in c. For c = A*b each block of columns in A
+ * scatters into its own partial vector and the partial vectors are then combined using the semi-ring's add
+ * operator, the same as in {@link MatrixVectorMult_MT_DSCC}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MatrixVectorMultWithSemiRing_MT_DSCC {
+    /**
+     * c = A*b
+     *
+     * @param A (Input) Matrix
+     * @param b (Input) vector
+     * @param offsetB (Input) first index in vector b
+     * @param c (Output) vector
+     * @param offsetC (Output) first index in vector c
+     * @param semiRing Semi-Ring to define + and *
+     * @param mask (Optional) Mask for specifying which entries should be overwritten
+     * @param workspace (Optional) Storage for the partial vectors. Can be null.
+     */
+    public static void mult( DMatrixSparseCSC A,
+                             double[] b, int offsetB,
+                             double[] c, int offsetC, DSemiRing semiRing, @Nullable Mask mask,
+                             @Nullable GrowArray<DGrowArray> workspace ) {
+        if (b.length - offsetB < A.numCols)
+            throw new IllegalArgumentException("Length of 'b' isn't long enough");
+        if (c.length - offsetC < A.numRows)
+            throw new IllegalArgumentException("Length of 'c' isn't long enough");
+
+        if (workspace == null)
+            workspace = new GrowArray<>(DGrowArray::new);
+        final GrowArray<DGrowArray> listWork = workspace;
+
+        // Each block of columns scatters into its own partial vector
+        EjmlConcurrency.loopBlocks(0, A.numCols, listWork, ( work, col0, col1 ) -> {
+            work.reshape(A.numRows);
+            double[] x = work.data;
+            Arrays.fill(x, 0, A.numRows, semiRing.add.id);
+
+            if (ImplSemiRingKernels_DSCC.multAdd(A, col0, col1, b, offsetB, x, 0, semiRing))
+                return;
+
+            for (int k = col0; k < col1; k++) {
+                int idx0 = A.col_idx[k];
+                int idx1 = A.col_idx[k + 1];
+                double valueB = b[offsetB + k];
+
+                for (int indexA = idx0; indexA < idx1; indexA++) {
+                    int row = A.nz_rows[indexA];
+                    x[row] = semiRing.add.func.apply(x[row], semiRing.mult.func.apply(A.nz_values[indexA], valueB));
+                }
+            }
+        });
+
+        // Combine the partial vectors. Each thread handles a different set of rows
+        final int numPartial = listWork.size();
+        final @Nullable Mask sharedMask = mask == null ? null : mask.optimized();
+        final double zeroElement = sharedMask == null ? 0 : MatrixVectorMultWithSemiRing_DSCC.zeroElement(sharedMask);
+        EjmlConcurrency.loopBlocks(0, A.numRows, ( row0, row1 ) -> {
+            @Nullable Mask localMask = sharedMask == null ? null : sharedMask.copyForThread();
+            for (int row = row0; row < row1; row++) {
+                if (localMask != null && !localMask.isSet(row)) {
+                    c[offsetC + row] = zeroElement;
+                    continue;
+                }
+
+                double sum = semiRing.add.id;
+                for (int i = 0; i < numPartial; i++) {
+                    sum = semiRing.add.func.apply(sum, listWork.get(i).data[row]);
+                }
+                c[offsetC + row] = sum;
+            }
+        });
+    }
+
+    public static void mult( DMatrixSparseCSC A, double[] b, double[] c, DSemiRing semiRing, @Nullable Mask mask ) {
+        mult(A, b, 0, c, 0, semiRing, mask, null);
+    }
+
+    /**
+     * c = a<sup>T</sup>*B. Each thread computes a block of elements in c.
+     *
+     * @param a (Input) vector
+     * @param offsetA Input) first index in vector a
+     * @param B (Input) Matrix
+     * @param c (Output) vector
+     * @param offsetC (Output) first index in vector c
+     * @param semiRing Semi-Ring to define + and *
+     * @param mask (Optional) Mask for specifying which entries should be overwritten
+     */
+    public static void mult( double[] a, int offsetA,
+                             DMatrixSparseCSC B,
+                             double[] c, int offsetC, DSemiRing semiRing, @Nullable Mask mask ) {
+        if (a.length - offsetA < B.numRows)
+            throw new IllegalArgumentException("Length of 'a' isn't long enough");
+        if (c.length - offsetC < B.numCols)
+            throw new IllegalArgumentException("Length of 'c' isn't long enough");
+
+        final @Nullable Mask sharedMask = mask == null ? null : mask.optimized();
+        EjmlConcurrency.loopBlocks(0, B.numCols, ( col0, col1 ) -> {
+            @Nullable Mask localMask = sharedMask == null ? null : sharedMask.copyForThread();
+            if (ImplSemiRingKernels_DSCC.mult(a, offsetA, B, col0, col1, c, offsetC, semiRing, localMask))
+                return;
+
+            for (int k = col0; k < col1; k++) {
+                if (localMask != null && !localMask.isSet(k))
+                    continue;
+
+                int idx0 = B.col_idx[k];
+                int idx1 = B.col_idx[k + 1];
+
+                double sum = semiRing.add.id;
+                for (int indexB = idx0; indexB < idx1; indexB++) {
+                    sum = semiRing.add.func.apply(sum, semiRing.mult.func.apply(a[offsetA + B.nz_rows[indexB]], B.nz_values[indexB]));
+                }
+                c[offsetC + k] = sum;
+            }
+        });
+    }
+
+    public static void mult( double[] a, DMatrixSparseCSC B, double[] c, DSemiRing semiRing, @Nullable Mask mask ) {
+        mult(a, 0, B, c, 0, semiRing, mask);
+    }
+}
@@ -101,6 +101,21 @@ public class MatrixVectorMult_DSCC {
         }
     }
 
+    /**
+     * c = A<sup>T</sup>*b. Same as {@link #mult(double[], int, DMatrixSparseCSC, double[], int)}.
+     *
+     * @param A (Input) Matrix
+     * @param b (Input) vector
+     * @param offsetB (Input) first index in vector b
+     * @param c (Output) vector
+     * @param offsetC (Output) first index in vector c
+     */
+    public static void multTransA( DMatrixSparseCSC A,
+                                   double[] b, int offsetB,
+                                   double[] c, int offsetC ) {
+        mult(b, offsetB, A, c, offsetC);
+    }
+
     /**
      * scalar = A<sup>T</sup>*B*C
      *
@@ -134,7 +149,7 @@ public class MatrixVectorMult_DSCC {
         return output;
     }
 
-    private static void checkInnerProductArguments( DMatrixSparseCSC A, DMatrix1Row B, DMatrixSparseCSC C ) {
+    static void checkInnerProductArguments( DMatrixSparseCSC A, DMatrix1Row B, DMatrixSparseCSC C ) {
         UtilEjml.assertTrue(MatrixFeatures_DDRM.isVector(A), "'A' must be a vector");
         UtilEjml.assertEq(1, A.numCols, "'A' must be a column vector");
         UtilEjml.assertShape(A.getNumElements(), B.numRows, "Length of 'A' vector not equal to number of rows in 'B' matrix");
@@ -165,7 +180,7 @@ public class MatrixVectorMult_DSCC {
         return output;
     }
 
-    private static void checkInnerProductSelfSymmetricalArguments( DMatrixSparseCSC A, DMatrix1Row B ) {
+    static void checkInnerProductSelfSymmetricalArguments( DMatrixSparseCSC A, DMatrix1Row B ) {
         UtilEjml.assertTrue(MatrixFeatures_DDRM.isVector(A), "'A' must be a vector");
         UtilEjml.assertEq(1, A.numCols, "'A' must be a column vector");
         UtilEjml.assertTrue(MatrixFeatures_DDRM.isSquare(B), "'B' must be a square matrix");
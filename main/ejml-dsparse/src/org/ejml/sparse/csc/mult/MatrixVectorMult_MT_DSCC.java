@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link MatrixVectorMult_DSCC}.
+ * </p>
+ *
+ * <p>
+ * Operations which compute one output element per column of the matrix, e.g. c = A<sup>T</sup>*b, are split
+ * into blocks of columns and each block writes to its own part of the output. For c = A*b the columns of A
+ * scatter into every element of c. Here each block of columns scatters into its own partial vector, taken from
+ * a {@link GrowArray}, and the partial vectors are summed at the end. This requires an extra vector for each
+ * thread, but no synchronization.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MatrixVectorMult_MT_DSCC {
+    /**
+     * c = A*b
+     *
+     * @param A (Input) Matrix
+     * @param b (Input) vector
+     * @param offsetB (Input) first index in vector b
+     * @param c (Output) vector
+     * @param offsetC (Output) first index in vector c
+     * @param workspace (Optional) Storage for the partial vectors. Can be null.
+     */
+    public static void mult( DMatrixSparseCSC A,
+                             double[] b, int offsetB,
+                             double[] c, int offsetC,
+                             @Nullable GrowArray<DGrowArray> workspace ) {
+        scatter(A, b, offsetB, c, offsetC, false, workspace);
+    }
+
+    /**
+     * c = c + A*b
+     *
+     * @param A (Input) Matrix
+     * @param b (Input) vector
+     * @param offsetB (Input) first index in vector b
+     * @param c (Output) vector
+     * @param offsetC (Output) first index in vector c
+     * @param workspace (Optional) Storage for the partial vectors. Can be null.
+     */
+    public static void multAdd( DMatrixSparseCSC A,
+                                double[] b, int offsetB,
+                                double[] c, int offsetC,
+                                @Nullable GrowArray<DGrowArray> workspace ) {
+        scatter(A, b, offsetB, c, offsetC, true, workspace);
+    }
+
+    private static void scatter( DMatrixSparseCSC A,
+                                 double[] b, int offsetB,
+                                 double[] c, int offsetC, boolean add,
+                                 @Nullable GrowArray<DGrowArray> workspace ) {
+        if (b.length - offsetB < A.numCols)
+            throw new IllegalArgumentException("Length of 'b' isn't long enough");
+        if (c.length - offsetC < A.numRows)
+            throw new IllegalArgumentException("Length of 'c' isn't long enough");
+
+        if (workspace == null)
+            workspace = new GrowArray<>(DGrowArray::new);
+        final GrowArray<DGrowArray> listWork = workspace;
+
+        // Each block of columns scatters into its own partial vector
+        EjmlConcurrency.loopBlocks(0, A.numCols, listWork, ( work, col0, col1 ) -> {
+            work.reshape(A.numRows);
+            double[] x = work.data;
+            Arrays.fill(x, 0, A.numRows, 0);
+
+            for (int k = col0; k < col1; k++) {
+                int idx0 = A.col_idx[k];
+                int idx1 = A.col_idx[k + 1];
+                double valueB = b[offsetB + k];
+
+                for (int indexA = idx0; indexA < idx1; indexA++) {
+                    x[A.nz_rows[indexA]] += A.nz_values[indexA]*valueB;
+                }
+            }
+        });
+
+        // Sum up the partial vectors. Each thread handles a different set of rows
+        final int numPartial = listWork.size();
+        EjmlConcurrency.loopBlocks(0, A.numRows, ( row0, row1 ) -> {
+            if (!add)
+                Arrays.fill(c, offsetC + row0, offsetC + row1, 0);
+            for (int i = 0; i < numPartial; i++) {
+                double[] x = listWork.get(i).data;
+                for (int row = row0; row < row1; row++) {
+                    c[offsetC + row] += x[row];
+                }
+            }
+        });
+    }
+
+    /**
+     * c = a<sup>T</sup>*B. Each thread computes a block of elements in c.
+     *
+     * @param a (Input) vector
+     * @param offsetA Input) first index in vector a
+     * @param B (Input) Matrix
+     * @param c (Output) vector
+     * @param offsetC (Output) first index in vector c
+     */
+    public static void mult( double[] a, int offsetA,
+                             DMatrixSparseCSC B,
+                             double[] c, int offsetC ) {
+        if (a.length - offsetA < B.numRows)
+            throw new IllegalArgumentException("Length of 'a' isn't long enough");
+        if (c.length - offsetC < B.numCols)
+            throw new IllegalArgumentException("Length of 'c' isn't long enough");
+
+        EjmlConcurrency.loopBlocks(0, B.numCols, ( col0, col1 ) -> {
+            for (int k = col0; k < col1; k++) {
+                int idx0 = B.col_idx[k];
+                int idx1 = B.col_idx[k + 1];
+
+                double sum = 0;
+                for (int indexB = idx0; indexB < idx1; indexB++) {
+                    sum += a[offsetA + B.nz_rows[indexB]]*B.nz_values[indexB];
+                }
+                c[offsetC + k] = sum;
+            }
+        });
+    }
+
+    /**
+     * c = A<sup>T</sup>*b. Same as {@link #mult(double[], int, DMatrixSparseCSC, double[], int)}.
+     *
+     * @param A (Input) Matrix
+     * @param b (Input) vector
+     * @param offsetB (Input) first index in vector b
+     * @param c (Output) vector
+     * @param offsetC (Output) first index in vector c
+     */
+    public static void multTransA( DMatrixSparseCSC A,
+                                   double[] b, int offsetB,
+                                   double[] c, int offsetC ) {
+        mult(b, offsetB, A, c, offsetC);
+    }
+
+    /**
+     * scalar = A<sup>T</sup>*B*C. Each block of columns in B computes a partial sum.
+     *
+     * @param a (Input) vector
+     * @param offsetA Input) first index in vector a
+     * @param B (Input) Matrix
+     * @param c (Output) vector
+     * @param offsetC (Output) first index in vector c
+     * @param workspace (Optional) Storage for the partial sums. Can be null.
+     */
+    public static double innerProduct( double[] a, int offsetA,
+                                       DMatrixSparseCSC B,
+                                       double[] c, int offsetC,
+                                       @Nullable GrowArray<DGrowArray> workspace ) {
+        if (a.length - offsetA < B.numRows)
+            throw new IllegalArgumentException("Length of 'a' isn't long enough");
+        if (c.length - offsetC < B.numCols)
+            throw new IllegalArgumentException("Length of 'c' isn't long enough");
+
+        if (workspace == null)
+            workspace = new GrowArray<>(DGrowArray::new);
+
+        EjmlConcurrency.loopBlocks(0, B.numCols, workspace, ( work, col0, col1 ) -> {
+            double output = 0;
+            for (int k = col0; k < col1; k++) {
+                int idx0 = B.col_idx[k];
+                int idx1 = B.col_idx[k + 1];
+
+                double sum = 0;
+                for (int indexB = idx0; indexB < idx1; indexB++) {
+                    sum += a[offsetA + B.nz_rows[indexB]]*B.nz_values[indexB];
+                }
+                output += sum*c[offsetC + k];
+            }
+            work.reshape(1);
+            work.data[0] = output;
+        });
+
+        return sumPartial(workspace);
+    }
+
+    /**
+     * scalar = A<sup>T</sup>*B*C. Work is split up across the non-zero elements in A.
+     *
+     * @param A (Input) A column vector that has length m.
+     * @param B (Input) A matrix that is m by n.
+     * @param C (Input) A column vector that has length n.
+     * @param workspace (Optional) Storage for the partial sums. Can be null.
+     */
+    public static double innerProduct( DMatrixSparseCSC A, DMatrixRMaj B, DMatrixSparseCSC C,
+                                       @Nullable GrowArray<DGrowArray> workspace ) {
+        MatrixVectorMult_DSCC.checkInnerProductArguments(A, B, C);
+
+        if (workspace == null)
+            workspace = new GrowArray<>(DGrowArray::new);
+
+        EjmlConcurrency.loopBlocks(0, A.nz_length, workspace, ( work, idx0, idx1 ) -> {
+            double output = 0.0;
+            for (int i = idx0; i < idx1; i++) {
+                int b_offset = A.nz_rows[i]*B.numCols;
+                double sum = 0.0;
+                for (int j = 0; j < C.nz_length; j++) {
+                    sum += C.nz_values[j]*B.data[b_offset + C.nz_rows[j]];
+                }
+                output += A.nz_values[i]*sum;
+            }
+            work.reshape(1);
+            work.data[0] = output;
+        });
+
+        return sumPartial(workspace);
+    }
+
+    /**
+     * scalar = A<sup>T</sup>*B*A. The cost of the i-th non-zero element in A decreases with i, so elements
+     * i and n-1-i are processed together to keep the blocks balanced.
+     *
+     * @param A (Input) A column vector that has length n.
+     * @param B (Input) A matrix that is n by n and symmetrical.
+     * @param workspace (Optional) Storage for the partial sums. Can be null.
+     */
+    public static double innerProductSelfSymmetrical( DMatrixSparseCSC A, DMatrixRMaj B,
+                                                      @Nullable GrowArray<DGrowArray> workspace ) {
+        MatrixVectorMult_DSCC.checkInnerProductSelfSymmetricalArguments(A, B);
+
+        if (workspace == null)
+            workspace = new GrowArray<>(DGrowArray::new);
+
+        final int N = A.nz_length;
+        EjmlConcurrency.loopBlocks(0, (N + 1)/2, workspace, ( work, pair0, pair1 ) -> {
+            double output = 0.0;
+            for (int pair = pair0; pair < pair1; pair++) {
+                output += selfSymmetricalElement(A, B, pair);
+                if (N - 1 - pair != pair)
+                    output += selfSymmetricalElement(A, B, N - 1 - pair);
+            }
+            work.reshape(1);
+            work.data[0] = output;
+        });
+
+        return sumPartial(workspace);
+    }
+
+    /**
+     * Contribution from the i-th non-zero element in A to A<sup>T</sup>*B*A
+     */
+    private static double selfSymmetricalElement( DMatrixSparseCSC A, DMatrixRMaj B, int i ) {
+        int index1 = A.nz_rows[i];
+        double value1 = A.nz_values[i];
+        int b_offset = index1*B.numCols;
+        double diagonalValue = B.data[b_offset + index1];
+        double sum = 0.0;
+        for (int j = i + 1; j < A.nz_length; j++) {
+            sum += A.nz_values[j]*B.data[b_offset + A.nz_rows[j]];
+        }
+        return value1*value1*diagonalValue + value1*(sum + sum);
+    }
+
+    private static double sumPartial( GrowArray<DGrowArray> workspace ) {
+        double output = 0;
+        for (int i = 0; i < workspace.size(); i++) {
+            output += workspace.get(i).data[0];
+        }
+        return output;
+    }
+}
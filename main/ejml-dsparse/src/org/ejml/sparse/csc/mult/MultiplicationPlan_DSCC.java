@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.MatrixDimensionException;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+import static org.ejml.UtilEjml.stringShapes;
+
+/**
+ * <p>
+ * Sparse matrix multiplication which is split into a symbolic and a numeric step. The symbolic step,
+ * {@link #planMult} or {@link #planMultTransA}, computes the non-zero pattern of the output and declares it in C.
+ * The numeric step, {@link #compute}, only fills in the values of C. It doesn't allocate memory or change the
+ * structure of C, which makes it much faster than {@link ImplMultiplication_DSCC#mult} when the same product is
+ * computed many times with inputs that have the same non-zero pattern and different values, e.g. J<sup>T</sup>*J
+ * inside of a Gauss-Newton loop.
+ * </p>
+ *
+ * <p>
+ * The non-zero pattern of the inputs passed to {@link #compute} must be identical to the pattern of the inputs
+ * which were planned. Only the number of non-zero elements is checked, so it's up to the caller to not change
+ * the pattern. Rows in each column of C are sorted.
+ * </p>
+ *
+ * @author Peter Abeles
+ * @see MultiplicationPlan_MT_DSCC
+ */
+public class MultiplicationPlan_DSCC {
+    // Is the first input transposed
+    boolean transA;
+
+    // Shape and number of non-zero elements in the inputs and the output used to sanity check inputs
+    int rowsA, colsA, nzA;
+    int rowsB, colsB, nzB;
+    int nzC;
+
+    // Pattern of A transposed. Only used when A is transposed.
+    final DMatrixSparseCSC At = new DMatrixSparseCSC(1, 1, 0);
+    // Location of each element in A inside of At
+    final IGrowArray transposeMap = new IGrowArray();
+
+    // Dense accumulator used by the numeric step. All elements are zero between columns.
+    final DGrowArray gx = new DGrowArray();
+
+    // workspace for the symbolic step
+    final IGrowArray gw = new IGrowArray();
+
+    /**
+     * Computes the non-zero pattern of C = A*B and declares it in C. The values in C are not computed.
+     *
+     * @param A (Input) Matrix. Only the pattern is used.
+     * @param B (Input) Matrix. Only the pattern is used.
+     * @param C (Output) Matrix which the structure is declared in.
+     */
+    public void planMult( DMatrixSparseCSC A, DMatrixSparseCSC B, DMatrixSparseCSC C ) {
+        if (A.numCols != B.numRows)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B));
+
+        transA = false;
+        saveShapes(A, B);
+        symbolic(A, B, C);
+    }
+
+    /**
+     * Computes the non-zero pattern of C = A<sup>T</sup>*B and declares it in C. The values in C are not computed.
+     * To compute A<sup>T</sup>*A pass in the same matrix for A and B.
+     *
+     * @param A (Input) Matrix. Only the pattern is used.
+     * @param B (Input) Matrix. Only the pattern is used.
+     * @param C (Output) Matrix which the structure is declared in.
+     */
+    public void planMultTransA( DMatrixSparseCSC A, DMatrixSparseCSC B, DMatrixSparseCSC C ) {
+        if (A.numRows != B.numRows)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B));
+
+        transA = true;
+        saveShapes(A, B);
+        transposePattern(A);
+        symbolic(At, B, C);
+    }
+
+    /**
+     * Computes the values in C using the plan. The structure of C is not modified.
+     *
+     * @param A (Input) Matrix with the same pattern as the planned A
+     * @param B (Input) Matrix with the same pattern as the planned B
+     * @param C (Output) Matrix with the structure declared by the plan
+     */
+    public void compute( DMatrixSparseCSC A, DMatrixSparseCSC B, DMatrixSparseCSC C ) {
+        DMatrixSparseCSC left = checkAndPrepare(A, B, C);
+
+        double[] x = gx.reshape(left.numRows).data;
+        numeric(left, B, C, 0, C.numCols, x);
+    }
+
+    /**
+     * Makes sure the inputs match the plan and returns the matrix on the left side of the product
+     */
+    DMatrixSparseCSC checkAndPrepare( DMatrixSparseCSC A, DMatrixSparseCSC B, DMatrixSparseCSC C ) {
+        if (A.numRows != rowsA || A.numCols != colsA || A.nz_length != nzA)
+            throw new IllegalArgumentException("A does not match the plan");
+        if (B.numRows != rowsB || B.numCols != colsB || B.nz_length != nzB)
+            throw new IllegalArgumentException("B does not match the plan");
+        int expectedRowsC = transA ? colsA : rowsA;
+        if (C.numRows != expectedRowsC || C.numCols != colsB || C.nz_length != nzC)
+            throw new IllegalArgumentException("C does not have the structure declared by the plan");
+
+        if (!transA)
+            return A;
+
+        // Copy the values into the transposed matrix. The pattern has already been computed
+        final int[] map = transposeMap.data;
+        for (int i = 0; i < A.nz_length; i++) {
+            At.nz_values[map[i]] = A.nz_values[i];
+        }
+        return At;
+    }
+
+    /**
+     * Computes the values in columns j0 to j1-1 of C = A*B
+     *
+     * @param x Dense accumulator with A.numRows elements which are all zero. Will be all zero when it returns.
+     */
+    static void numeric( DMatrixSparseCSC A, DMatrixSparseCSC B, DMatrixSparseCSC C, int j0, int j1, double[] x ) {
+        for (int j = j0; j < j1; j++) {
+            // x = sum_k A(:,k)*B(k,j)
+            int idxB1 = B.col_idx[j + 1];
+            for (int indexB = B.col_idx[j]; indexB < idxB1; indexB++) {
+                int k = B.nz_rows[indexB];
+                double valueB = B.nz_values[indexB];
+
+                int idxA1 = A.col_idx[k + 1];
+                for (int indexA = A.col_idx[k]; indexA < idxA1; indexA++) {
+                    x[A.nz_rows[indexA]] += A.nz_values[indexA]*valueB;
+                }
+            }
+
+            // Copy the results into C and reset the accumulator
+            int idxC1 = C.col_idx[j + 1];
+            for (int indexC = C.col_idx[j]; indexC < idxC1; indexC++) {
+                int row = C.nz_rows[indexC];
+                C.nz_values[indexC] = x[row];
+                x[row] = 0.0;
+            }
+        }
+    }
+
+    private void saveShapes( DMatrixSparseCSC A, DMatrixSparseCSC B ) {
+        rowsA = A.numRows;
+        colsA = A.numCols;
+        nzA = A.nz_length;
+        rowsB = B.numRows;
+        colsB = B.numCols;
+        nzB = B.nz_length;
+    }
+
+    /**
+     * Computes the pattern of A*B. The number of non-zero elements is counted first so that C's arrays are
+     * allocated exactly once.
+     */
+    private void symbolic( DMatrixSparseCSC A, DMatrixSparseCSC B, DMatrixSparseCSC C ) {
+        int[] w = adjust(gw, A.numRows);
+        Arrays.fill(w, 0, A.numRows, -1);
+
+        // Pass 1: count the number of elements in each column
+        int total = 0;
+        for (int j = 0; j < B.numCols; j++) {
+            total += scatterPattern(A, B, j, w, null, 0);
+        }
+
+        // Pass 2: record the rows in each column
+        C.reshape(A.numRows, B.numCols, total);
+        Arrays.fill(w, 0, A.numRows, -1);
+        C.col_idx[0] = 0;
+        for (int j = 0; j < B.numCols; j++) {
+            int idx0 = C.col_idx[j];
+            int count = scatterPattern(A, B, j, w, C.nz_rows, idx0);
+            C.col_idx[j + 1] = idx0 + count;
+            Arrays.sort(C.nz_rows, idx0, idx0 + count);
+        }
+        C.nz_length = total;
+        C.indicesSorted = true;
+        Arrays.fill(C.nz_values, 0, total, 0.0);
+        nzC = total;
+    }
+
+    /**
+     * Finds the rows in column j of A*B which are not zero.
+     *
+     * @param w Marker for each row. w[i] == j if row i has already been added to this column
+     * @param rows If not null then rows are written to this array starting at 'offset'
+     * @return Number of non-zero rows
+     */
+    private static int scatterPattern( DMatrixSparseCSC A, DMatrixSparseCSC B, int j, int[] w,
+                                       @Nullable int[] rows, int offset ) {
+        int count = 0;
+        int idxB1 = B.col_idx[j + 1];
+        for (int indexB = B.col_idx[j]; indexB < idxB1; indexB++) {
+            int k = B.nz_rows[indexB];
+            int idxA1 = A.col_idx[k + 1];
+            for (int indexA = A.col_idx[k]; indexA < idxA1; indexA++) {
+                int row = A.nz_rows[indexA];
+                if (w[row] == j)
+                    continue;
+                w[row] = j;
+                if (rows != null)
+                    rows[offset + count] = row;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Computes the pattern of A<sup>T</sup> and where each element in A is stored in it
+     */
+    private void transposePattern( DMatrixSparseCSC A ) {
+        At.reshape(A.numCols, A.numRows, A.nz_length);
+        int[] map = adjust(transposeMap, A.nz_length);
+
+        // Count the number of elements in each row of A, which are the columns in At
+        int[] next = adjust(gw, A.numRows + 1, A.numRows + 1);
+        for (int i = 0; i < A.nz_length; i++) {
+            next[A.nz_rows[i] + 1]++;
+        }
+        for (int i = 0; i < A.numRows; i++) {
+            next[i + 1] += next[i];
+        }
+        System.arraycopy(next, 0, At.col_idx, 0, A.numRows + 1);
+
+        // Columns are traversed in order so rows in At will be sorted
+        for (int col = 0; col < A.numCols; col++) {
+            int idx1 = A.col_idx[col + 1];
+            for (int i = A.col_idx[col]; i < idx1; i++) {
+                int dst = next[A.nz_rows[i]]++;
+                At.nz_rows[dst] = col;
+                map[i] = dst;
+            }
+        }
+        At.nz_length = A.nz_length;
+        At.indicesSorted = true;
+    }
+
+    /** True if the plan is for A<sup>T</sup>*B */
+    public boolean isTransA() {
+        return transA;
+    }
+
+    /** Number of non-zero elements in the output */
+    public int getOutputNonZero() {
+        return nzC;
+    }
+}
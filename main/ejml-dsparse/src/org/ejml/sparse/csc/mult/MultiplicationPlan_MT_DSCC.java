@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+/**
+ * Concurrent version of {@link MultiplicationPlan_DSCC}. The symbolic step is single threaded. In the numeric
+ * step each thread computes a block of columns in C. Since the structure of C is already known, threads write
+ * to different parts of C and no stitching is required.
+ *
+ * @author Peter Abeles
+ */
+public class MultiplicationPlan_MT_DSCC extends MultiplicationPlan_DSCC {
+    // Dense accumulator for each thread
+    final GrowArray<DGrowArray> workspace = new GrowArray<>(DGrowArray::new);
+
+    @Override public void compute( DMatrixSparseCSC A, DMatrixSparseCSC B, DMatrixSparseCSC C ) {
+        DMatrixSparseCSC left = checkAndPrepare(A, B, C);
+
+        EjmlConcurrency.loopBlocks(0, C.numCols, workspace, ( gx, j0, j1 ) -> {
+            // The workspace could have been used by a different sized problem, so it needs to be zeroed
+            double[] x = gx.reshape(left.numRows).data;
+            Arrays.fill(x, 0, left.numRows, 0.0);
+            numeric(left, B, C, j0, j1, x);
+        });
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csr;
+
+import org.ejml.MatrixDimensionException;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseCSR;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.csr.mult.ImplMultiplication_DSCR;
+import org.jetbrains.annotations.Nullable;
+
+import static org.ejml.UtilEjml.reshapeOrDeclare;
+import static org.ejml.UtilEjml.stringShapes;
+
+/**
+ * Common operations on {@link DMatrixSparseCSR} matrices. To convert to and from {@link DMatrixSparseCSC}
+ * see {@link org.ejml.ops.DConvertMatrixStruct}.
+ *
+ * @author Peter Abeles
+ */
+public class CommonOps_DSCR {
+    private CommonOps_DSCR(){}
+
+    /**
+     * Checks to see if column indices are sorted into ascending order. O(N)
+     *
+     * @return true if sorted and false if not
+     */
+    public static boolean checkIndicesSorted( DMatrixSparseCSR A ) {
+        for (int i = 0; i < A.numRows; i++) {
+            int idx0 = A.row_idx[i];
+            int idx1 = A.row_idx[i + 1];
+
+            if (idx0 != idx1 && A.nz_cols[idx0] >= A.numCols)
+                return false;
+
+            for (int j = idx0 + 1; j < idx1; j++) {
+                int col = A.nz_cols[j];
+                if (A.nz_cols[j - 1] >= col)
+                    return false;
+                if (col >= A.numCols)
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean checkStructure( DMatrixSparseCSR A ) {
+        if (A.row_idx.length < A.numRows + 1)
+            return false;
+        if (A.row_idx[A.numRows] != A.nz_length)
+            return false;
+        if (A.nz_cols.length < A.nz_length)
+            return false;
+        if (A.nz_values.length < A.nz_length)
+            return false;
+        if (A.row_idx[0] != 0)
+            return false;
+        for (int i = 0; i < A.numRows; i++) {
+            if (A.row_idx[i] > A.row_idx[i + 1]) {
+                return false;
+            }
+            if (A.row_idx[i + 1] - A.row_idx[i] > A.numCols)
+                return false;
+        }
+        if (!checkSortedFlag(A))
+            return false;
+        if (checkDuplicateElements(A))
+            return false;
+        return true;
+    }
+
+    public static boolean checkSortedFlag( DMatrixSparseCSR A ) {
+        if (A.indicesSorted)
+            return checkIndicesSorted(A);
+        return true;
+    }
+
+    /**
+     * Checks for duplicate elements. A is sorted
+     *
+     * @param A Matrix to be tested.
+     * @return true if duplicates or false if false duplicates
+     */
+    public static boolean checkDuplicateElements( DMatrixSparseCSR A ) {
+        A = A.copy(); // create a copy so that it doesn't modify A
+        A.sortIndices(null);
+        return !checkSortedFlag(A);
+    }
+
+    public static DMatrixSparseCSR mult( DMatrixSparseCSR A, DMatrixSparseCSR B,
+                                         @Nullable DMatrixSparseCSR outputC ) {
+        return mult(A, B, outputC, null, null);
+    }
+
+    /**
+     * Performs matrix multiplication. C = A*B
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param B (Input) Matrix. Not modified.
+     * @param outputC (Output) Storage for results. Data length is increased if insufficient.
+     * @param gw (Optional) Storage for internal workspace. Can be null.
+     * @param gx (Optional) Storage for internal workspace. Can be null.
+     */
+    public static DMatrixSparseCSR mult( DMatrixSparseCSR A, DMatrixSparseCSR B,
+                                         @Nullable DMatrixSparseCSR outputC,
+                                         @Nullable IGrowArray gw, @Nullable DGrowArray gx ) {
+        if (A.numCols != B.numRows)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B));
+        outputC = reshapeOrDeclare(outputC, A, A.numRows, B.numCols);
+
+        ImplMultiplication_DSCR.mult(A, B, outputC, gw, gx);
+
+        return outputC;
+    }
+
+    /**
+     * Performs matrix multiplication. C = A*B, where B is in a compressed column format. Since a row of A
+     * and a column of B are both stored contiguously, each element in C is an inner product.
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param B (Input) Matrix. Not modified.
+     * @param outputC (Output) Dense Matrix
+     * @param gx (Optional) Storage for internal workspace. Can be null.
+     */
+    public static DMatrixRMaj mult( DMatrixSparseCSR A, DMatrixSparseCSC B, @Nullable DMatrixRMaj outputC,
+                                    @Nullable DGrowArray gx ) {
+        if (A.numCols != B.numRows)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B));
+        outputC = reshapeOrDeclare(outputC, A.numRows, B.numCols);
+
+        ImplMultiplication_DSCR.mult(A, B, outputC, gx);
+
+        return outputC;
+    }
+
+    /**
+     * Performs matrix multiplication. C = A*B
+     *
+     * @param A Matrix
+     * @param B Dense Matrix
+     * @param outputC Dense Matrix
+     */
+    public static DMatrixRMaj mult( DMatrixSparseCSR A, DMatrixRMaj B, @Nullable DMatrixRMaj outputC ) {
+        if (A.numCols != B.numRows)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B));
+        outputC = reshapeOrDeclare(outputC, A.numRows, B.numCols);
+
+        ImplMultiplication_DSCR.multRows(A, B, outputC, 0, A.numRows, false);
+
+        return outputC;
+    }
+
+    /**
+     * <p>C = C + A*B</p>
+     */
+    public static void multAdd( DMatrixSparseCSR A, DMatrixRMaj B, DMatrixRMaj outputC ) {
+        if (A.numCols != B.numRows)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B));
+        if (A.numRows != outputC.numRows || B.numCols != outputC.numCols)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B, outputC));
+
+        ImplMultiplication_DSCR.multRows(A, B, outputC, 0, A.numRows, true);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csr;
+
+import org.ejml.MatrixDimensionException;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseCSR;
+import org.ejml.sparse.csc.mult.Workspace_MT_DSCC;
+import org.ejml.sparse.csr.mult.ImplMultiplication_MT_DSCR;
+import org.jetbrains.annotations.Nullable;
+import pabeles.concurrency.GrowArray;
+
+import static org.ejml.UtilEjml.reshapeOrDeclare;
+import static org.ejml.UtilEjml.stringShapes;
+
+/**
+ * Concurrent implementations of functions found in {@link CommonOps_DSCR}. Work is split up by rows and each
+ * thread only writes to the rows it owns, so no synchronization is needed when writing the output.
+ *
+ * @author Peter Abeles
+ */
+public class CommonOps_MT_DSCR {
+    private CommonOps_MT_DSCR(){}
+
+    public static DMatrixSparseCSR mult( DMatrixSparseCSR A, DMatrixSparseCSR B, @Nullable DMatrixSparseCSR outputC ) {
+        return mult(A, B, outputC, null);
+    }
+
+    /**
+     * Performs matrix multiplication. C = A*B. Unlike the DSCC version, the only memory required by each thread
+     * is a dense row of B.
+     *
+     * @param A (Input) Sparse matrix. Not modified.
+     * @param B (Input) Sparse matrix. Not modified.
+     * @param outputC (Output) Storage for results. If null a new instance is returned.
+     * @param workspace (Optional) Storage for internal workspace. Can be null.
+     * @return Results of matrix multiplication, the 'C' matrix
+     */
+    public static DMatrixSparseCSR mult( DMatrixSparseCSR A, DMatrixSparseCSR B, @Nullable DMatrixSparseCSR outputC,
+                                         @Nullable GrowArray<Workspace_MT_DSCC> workspace ) {
+        if (A.numCols != B.numRows)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B));
+        outputC = reshapeOrDeclare(outputC, A, A.numRows, B.numCols);
+
+        if (workspace == null)
+            workspace = new GrowArray<>(Workspace_MT_DSCC::new);
+
+        ImplMultiplication_MT_DSCR.mult(A, B, outputC, workspace);
+
+        return outputC;
+    }
+
+    /**
+     * Performs matrix multiplication. C = A*B, where B is in a compressed column format.
+     *
+     * @param A (Input) Matrix. Not modified.
+     * @param B (Input) Matrix. Not modified.
+     * @param outputC (Output) Dense Matrix
+     * @param workspace (Optional) Storage for internal workspace. Can be null.
+     */
+    public static DMatrixRMaj mult( DMatrixSparseCSR A, DMatrixSparseCSC B, @Nullable DMatrixRMaj outputC,
+                                    @Nullable GrowArray<DGrowArray> workspace ) {
+        if (A.numCols != B.numRows)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B));
+        outputC = reshapeOrDeclare(outputC, A.numRows, B.numCols);
+
+        if (workspace == null)
+            workspace = new GrowArray<>(DGrowArray::new);
+
+        ImplMultiplication_MT_DSCR.mult(A, B, outputC, workspace);
+
+        return outputC;
+    }
+
+    /**
+     * Performs matrix multiplication. C = A*B. Each row in C is computed by a single thread.
+     *
+     * @param A Matrix
+     * @param B Dense Matrix
+     * @param outputC Dense Matrix
+     */
+    public static DMatrixRMaj mult( DMatrixSparseCSR A, DMatrixRMaj B, @Nullable DMatrixRMaj outputC ) {
+        if (A.numCols != B.numRows)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B));
+        outputC = reshapeOrDeclare(outputC, A.numRows, B.numCols);
+
+        ImplMultiplication_MT_DSCR.mult(A, B, outputC);
+
+        return outputC;
+    }
+
+    /**
+     * <p>C = C + A*B</p>
+     */
+    public static void multAdd( DMatrixSparseCSR A, DMatrixRMaj B, DMatrixRMaj outputC ) {
+        if (A.numCols != B.numRows)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B));
+        if (A.numRows != outputC.numRows || B.numCols != outputC.numCols)
+            throw new MatrixDimensionException("Inconsistent matrix shapes. " + stringShapes(A, B, outputC));
+
+        ImplMultiplication_MT_DSCR.multAdd(A, B, outputC);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csr.mult;
+
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseCSR;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.csr.CommonOps_DSCR;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * Implementation class. Use {@link CommonOps_DSCR} instead. Since each row of a {@link DMatrixSparseCSR} is stored
+ * in a contiguous block, every algorithm here computes the output one row at a time. The row range functions
+ * are used by the concurrent implementations to process independent blocks of rows.
+ *
+ * @author Peter Abeles
+ */
+public class ImplMultiplication_DSCR {
+    /**
+     * Performs matrix multiplication. C = A*B
+     *
+     * @param A Matrix
+     * @param B Matrix
+     * @param C Storage for results. Array size is increased if needed.
+     * @param gw (Optional) Storage for internal workspace. Can be null.
+     * @param gx (Optional) Storage for internal workspace. Can be null.
+     */
+    public static void mult( DMatrixSparseCSR A, DMatrixSparseCSR B, DMatrixSparseCSR C,
+                             @Nullable IGrowArray gw, @Nullable DGrowArray gx ) {
+        double[] x = adjust(gx, B.numCols);
+        int[] w = adjust(gw, B.numCols, B.numCols);
+
+        C.growMaxLength(A.nz_length + B.nz_length, false);
+        C.indicesSorted = false;
+        C.nz_length = 0;
+        C.row_idx[0] = 0;
+
+        // C(i,:) = sum_k A(i,k) * B(k,:)
+        for (int rowA = 0; rowA < A.numRows; rowA++) {
+            int idx0 = A.row_idx[rowA];
+            int idx1 = A.row_idx[rowA + 1];
+            int mark = rowA + 1;
+
+            for (int ai = idx0; ai < idx1; ai++) {
+                multAddRowB(B, A.nz_cols[ai], A.nz_values[ai], C, mark, x, w);
+            }
+
+            // take the values in the dense vector 'x' and put them into 'C'
+            int idxC0 = C.row_idx[rowA];
+            for (int i = idxC0; i < C.nz_length; i++) {
+                C.nz_values[i] = x[C.nz_cols[i]];
+            }
+            C.row_idx[rowA + 1] = C.nz_length;
+        }
+    }
+
+    /**
+     * Performs the operation x = x + B(i,:)*alpha. Columns which have not been marked yet are added to the
+     * end of C.
+     */
+    public static void multAddRowB( DMatrixSparseCSR B, int rowB, double alpha,
+                                    DMatrixSparseCSR C, int mark, double[] x, int[] w ) {
+        int idxB0 = B.row_idx[rowB];
+        int idxB1 = B.row_idx[rowB + 1];
+
+        for (int j = idxB0; j < idxB1; j++) {
+            int col = B.nz_cols[j];
+
+            if (w[col] < mark) {
+                if (C.nz_length >= C.nz_cols.length) {
+                    C.growMaxLength(C.nz_length*2 + 1, true);
+                }
+
+                w[col] = mark;
+                C.nz_cols[C.nz_length++] = col;
+                x[col] = alpha*B.nz_values[j];
+            } else {
+                x[col] += alpha*B.nz_values[j];
+            }
+        }
+    }
+
+    /**
+     * Counts the number of non-zero elements in each row of C = A*B. The count for row 'i' is written to
+     * counts[i+1], so that a prefix sum will convert it into the row_idx array.
+     *
+     * @param w Work space for marking columns. Must be of length B.numCols or more and filled with values less
+     * than row0+1.
+     */
+    public static void symbolicRows( DMatrixSparseCSR A, DMatrixSparseCSR B, int row0, int row1,
+                                     int[] counts, int[] w ) {
+        for (int rowA = row0; rowA < row1; rowA++) {
+            int idx0 = A.row_idx[rowA];
+            int idx1 = A.row_idx[rowA + 1];
+            int mark = rowA + 1;
+            int count = 0;
+
+            for (int ai = idx0; ai < idx1; ai++) {
+                int rowB = A.nz_cols[ai];
+                int idxB1 = B.row_idx[rowB + 1];
+                for (int j = B.row_idx[rowB]; j < idxB1; j++) {
+                    int col = B.nz_cols[j];
+                    if (w[col] < mark) {
+                        w[col] = mark;
+                        count++;
+                    }
+                }
+            }
+            counts[rowA + 1] = count;
+        }
+    }
+
+    /**
+     * Computes the values for rows row0 to row1-1 in C = A*B. C.row_idx must already be filled in by
+     * {@link #symbolicRows}. Each row only writes to its own portion of C.
+     *
+     * @param w Work space for marking columns. Must be of length B.numCols or more and filled with values less
+     * than row0+1.
+     * @param x Work space for accumulating values. Must be of length B.numCols or more.
+     */
+    public static void numericRows( DMatrixSparseCSR A, DMatrixSparseCSR B, DMatrixSparseCSR C, int row0, int row1,
+                                    int[] w, double[] x ) {
+        for (int rowA = row0; rowA < row1; rowA++) {
+            int idx0 = A.row_idx[rowA];
+            int idx1 = A.row_idx[rowA + 1];
+            int mark = rowA + 1;
+            int idxC0 = C.row_idx[rowA];
+            int idxC = idxC0;
+
+            for (int ai = idx0; ai < idx1; ai++) {
+                int rowB = A.nz_cols[ai];
+                double valA = A.nz_values[ai];
+                int idxB1 = B.row_idx[rowB + 1];
+                for (int j = B.row_idx[rowB]; j < idxB1; j++) {
+                    int col = B.nz_cols[j];
+                    if (w[col] < mark) {
+                        w[col] = mark;
+                        C.nz_cols[idxC++] = col;
+                        x[col] = valA*B.nz_values[j];
+                    } else {
+                        x[col] += valA*B.nz_values[j];
+                    }
+                }
+            }
+
+            for (int i = idxC0; i < idxC; i++) {
+                C.nz_values[i] = x[C.nz_cols[i]];
+            }
+        }
+    }
+
+    /**
+     * Computes C = A*B where B is in a compressed column format and C is dense. Each row in A is scattered
+     * into a dense vector and then a dot product is computed with every column in B.
+     *
+     * @param A Matrix
+     * @param B Matrix
+     * @param C Storage for results. Must be the correct shape.
+     * @param gx (Optional) Storage for internal workspace. Can be null.
+     */
+    public static void mult( DMatrixSparseCSR A, DMatrixSparseCSC B, DMatrixRMaj C, @Nullable DGrowArray gx ) {
+        double[] x = adjust(gx, A.numCols);
+        Arrays.fill(x, 0, A.numCols, 0);
+        multRows(A, B, C, 0, A.numRows, x);
+    }
+
+    /**
+     * Computes rows row0 to row1-1 in C = A*B where B is in a compressed column format.
+     *
+     * @param x Work space. Must be of length A.numCols or more and filled with zeros. Will be filled with zeros
+     * when finished.
+     */
+    public static void multRows( DMatrixSparseCSR A, DMatrixSparseCSC B, DMatrixRMaj C, int row0, int row1,
+                                 double[] x ) {
+        for (int rowA = row0; rowA < row1; rowA++) {
+            int idx0 = A.row_idx[rowA];
+            int idx1 = A.row_idx[rowA + 1];
+            int indexC = rowA*C.numCols;
+
+            if (idx0 == idx1) {
+                Arrays.fill(C.data, indexC, indexC + C.numCols, 0);
+                continue;
+            }
+
+            for (int i = idx0; i < idx1; i++) {
+                x[A.nz_cols[i]] = A.nz_values[i];
+            }
+
+            for (int colB = 0; colB < B.numCols; colB++) {
+                int idxB1 = B.col_idx[colB + 1];
+                double sum = 0;
+                for (int j = B.col_idx[colB]; j < idxB1; j++) {
+                    sum += x[B.nz_rows[j]]*B.nz_values[j];
+                }
+                C.data[indexC + colB] = sum;
+            }
+
+            for (int i = idx0; i < idx1; i++) {
+                x[A.nz_cols[i]] = 0;
+            }
+        }
+    }
+
+    /**
+     * Computes C = A*B or C = C + A*B for rows row0 to row1-1. When B is a column vector this is a sparse
+     * matrix-vector product where every row of C is a single dot product.
+     *
+     * @param add If true the results are added to C, otherwise C is overwritten.
+     */
+    public static void multRows( DMatrixSparseCSR A, DMatrixRMaj B, DMatrixRMaj C, int row0, int row1,
+                                 boolean add ) {
+        final int N = B.numCols;
+
+        if (N == 1) {
+            MatrixVectorMult_DSCR.multRows(A, B.data, 0, C.data, 0, row0, row1, add);
+            return;
+        }
+
+        for (int rowA = row0; rowA < row1; rowA++) {
+            int idx0 = A.row_idx[rowA];
+            int idx1 = A.row_idx[rowA + 1];
+            int indexC = rowA*N;
+
+            if (!add)
+                Arrays.fill(C.data, indexC, indexC + N, 0);
+
+            // C(i,:) += A(i,k)*B(k,:)
+            for (int i = idx0; i < idx1; i++) {
+                double valA = A.nz_values[i];
+                int indexB = A.nz_cols[i]*N;
+                for (int j = 0; j < N; j++) {
+                    C.data[indexC + j] += valA*B.data[indexB + j];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csr.mult;
+
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseCSR;
+import org.ejml.sparse.csc.mult.Workspace_MT_DSCC;
+import org.ejml.sparse.csr.CommonOps_MT_DSCR;
+import pabeles.concurrency.GrowArray;
+
+import java.util.Arrays;
+
+import static org.ejml.UtilEjml.adjust;
+
+/**
+ * Implementation of concurrent matrix multiplication for DSCR matrices. Please invoke through
+ * {@link CommonOps_MT_DSCR} as that provides a nicer API.
+ *
+ * The matrix is split into blocks of rows. Each output row is only written to by a single thread, so unlike
+ * the column oriented algorithms used by {@link org.ejml.sparse.csc.mult.ImplMultiplication_MT_DSCC} no
+ * stitching or per-thread copies of the output are required.
+ *
+ * @author Peter Abeles
+ */
+public class ImplMultiplication_MT_DSCR {
+    /**
+     * <p>Invoke through {@link CommonOps_MT_DSCR} as it will manage the input contract</p>
+     *
+     * <p>Performs matrix multiplication. C = A*B. In the first pass the number of non-zero elements in each row
+     * of C is counted. From that the location of every row in C is known and the second pass fills in the
+     * columns and values of each row independently.</p>
+     *
+     * @param A Matrix
+     * @param B Matrix
+     * @param C Storage for results. Array size is increased if needed.
+     * @param listWork Storage for internal workspace. Only the 'gw' and 'gx' arrays are used.
+     */
+    public static void mult( DMatrixSparseCSR A, DMatrixSparseCSR B, DMatrixSparseCSR C,
+                             GrowArray<Workspace_MT_DSCC> listWork ) {
+        final int[] row_idx = C.row_idx;
+        row_idx[0] = 0;
+
+        // Count the number of elements in each row
+        EjmlConcurrency.loopBlocks(0, A.numRows, listWork, ( workspace, row0, row1 ) -> {
+            int[] w = adjust(workspace.gw, B.numCols, B.numCols);
+            ImplMultiplication_DSCR.symbolicRows(A, B, row0, row1, row_idx, w);
+        });
+
+        for (int row = 0; row < A.numRows; row++) {
+            row_idx[row + 1] += row_idx[row];
+        }
+        C.nz_length = row_idx[A.numRows];
+        C.growMaxLength(C.nz_length, false);
+        C.indicesSorted = false;
+
+        // Compute the values
+        EjmlConcurrency.loopBlocks(0, A.numRows, listWork, ( workspace, row0, row1 ) -> {
+            int[] w = adjust(workspace.gw, B.numCols, B.numCols);
+            double[] x = adjust(workspace.gx, B.numCols);
+            ImplMultiplication_DSCR.numericRows(A, B, C, row0, row1, w, x);
+        });
+    }
+
+    /**
+     * <p>Invoke through {@link CommonOps_MT_DSCR} as it will manage the input contract</p>
+     *
+     * Computes C = A*B where B is in a compressed column format and C is dense.
+     */
+    public static void mult( DMatrixSparseCSR A, DMatrixSparseCSC B, DMatrixRMaj C,
+                             GrowArray<DGrowArray> listWork ) {
+        EjmlConcurrency.loopBlocks(0, A.numRows, listWork, ( work, row0, row1 ) -> {
+            double[] x = adjust(work, A.numCols);
+            Arrays.fill(x, 0, A.numCols, 0);
+            ImplMultiplication_DSCR.multRows(A, B, C, row0, row1, x);
+        });
+    }
+
+    /** <p>Invoke through {@link CommonOps_MT_DSCR} as it will manage the input contract</p> */
+    public static void mult( DMatrixSparseCSR A, DMatrixRMaj B, DMatrixRMaj C ) {
+        EjmlConcurrency.loopBlocks(0, A.numRows, ( row0, row1 ) ->
+                ImplMultiplication_DSCR.multRows(A, B, C, row0, row1, false));
+    }
+
+    /** <p>Invoke through {@link CommonOps_MT_DSCR} as it will manage the input contract</p> */
+    public static void multAdd( DMatrixSparseCSR A, DMatrixRMaj B, DMatrixRMaj C ) {
+        EjmlConcurrency.loopBlocks(0, A.numRows, ( row0, row1 ) ->
+                ImplMultiplication_DSCR.multRows(A, B, C, row0, row1, true));
+    }
+}
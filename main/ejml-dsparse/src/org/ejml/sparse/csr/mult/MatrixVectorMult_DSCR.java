@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csr.mult;
+
+import org.ejml.data.DMatrixSparseCSR;
+
+/**
+ * Matrix-vector operations for {@link DMatrixSparseCSR}. Each element in the output is the inner product
+ * of a row in A and the input vector.
+ *
+ * @author Peter Abeles
+ */
+public class MatrixVectorMult_DSCR {
+    /**
+     * c = A*b
+     *
+     * @param A (Input) Matrix
+     * @param b (Input) vector
+     * @param offsetB (Input) first index in vector b
+     * @param c (Output) vector
+     * @param offsetC (Output) first index in vector c
+     */
+    public static void mult( DMatrixSparseCSR A,
+                             double[] b, int offsetB,
+                             double[] c, int offsetC ) {
+        multRows(A, b, offsetB, c, offsetC, 0, A.numRows, false);
+    }
+
+    /**
+     * c = c + A*b
+     *
+     * @param A (Input) Matrix
+     * @param b (Input) vector
+     * @param offsetB (Input) first index in vector b
+     * @param c (Output) vector
+     * @param offsetC (Output) first index in vector c
+     */
+    public static void multAdd( DMatrixSparseCSR A,
+                                double[] b, int offsetB,
+                                double[] c, int offsetC ) {
+        multRows(A, b, offsetB, c, offsetC, 0, A.numRows, true);
+    }
+
+    /**
+     * Computes rows row0 to row1-1 in c = A*b or c = c + A*b
+     *
+     * @param add If true the results are added to c, otherwise c is overwritten.
+     */
+    public static void multRows( DMatrixSparseCSR A,
+                                 double[] b, int offsetB,
+                                 double[] c, int offsetC,
+                                 int row0, int row1, boolean add ) {
+        for (int row = row0; row < row1; row++) {
+            int idx1 = A.row_idx[row + 1];
+            double sum = 0;
+            for (int i = A.row_idx[row]; i < idx1; i++) {
+                sum += A.nz_values[i]*b[offsetB + A.nz_cols[i]];
+            }
+            if (add)
+                c[offsetC + row] += sum;
+            else
+                c[offsetC + row] = sum;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.decomposition.chol.CholeskySupernodal_DSCC;
+import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_MT_DSCC;
+import org.ejml.sparse.csc.factory.FillReductionFactory_DSCC;
+import org.ejml.sparse.csc.factory.LinearSolverFactory_DSCC;
+import org.ejml.sparse.csc.linsol.chol.LinearSolverCholesky_DSCC;
+import org.ejml.sparse.csc.linsol.lu.LinearSolverLu_DSCC;
+import org.ejml.sparse.csc.linsol.qr.LinearSolverQrLeftLooking_DSCC;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the symbolic analysis can be reused by sparse solvers
+ *
+ * @author Peter Abeles
+ */
+public class TestSparseSymbolicAnalysis extends EjmlStandardJUnit {
+    @Test
+    public void cholesky() {
+        List<Supplier<LinearSolverCholesky_DSCC>> factories = new ArrayList<>();
+        factories.add(() -> (LinearSolverCholesky_DSCC)LinearSolverFactory_DSCC.cholesky(FillReducing.AMD));
+        factories.add(() -> (LinearSolverCholesky_DSCC)LinearSolverFactory_DSCC.cholesky(FillReducing.NONE));
+        factories.add(() -> new LinearSolverCholesky_DSCC(new CholeskySupernodal_DSCC(),
+                FillReductionFactory_DSCC.create(FillReducing.AMD)));
+        factories.add(() -> new LinearSolverCholesky_DSCC(new CholeskyUpLooking_MT_DSCC(),
+                FillReductionFactory_DSCC.create(FillReducing.AMD)));
+
+        for (var factory : factories) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(40, 0.85, rand);
+            DMatrixSparseCSC A2 = A.copy();
+            for (int i = 0; i < A2.nz_length; i++) {
+                A2.nz_values[i] *= 0.5;
+            }
+            for (int i = 0; i < A2.numCols; i++) {
+                A2.set(i, i, A2.get(i, i) + 1.0);
+            }
+
+            LinearSolverCholesky_DSCC original = factory.get();
+            assertTrue(original.setA(A));
+            SparseSymbolicAnalysis analysis = original.getSymbolicAnalysis(null);
+            assertEquals(SparseSymbolicAnalysis.Type.CHOLESKY, analysis.type);
+            assertTrue(analysis.nz_L > 0);
+
+            LinearSolverCholesky_DSCC reuse = factory.get();
+            reuse.setSymbolicAnalysis(analysis);
+            checkSameSolution(factory.get(), reuse, A2, 40);
+            // Should work multiple times
+            checkSameSolution(factory.get(), reuse, A, 40);
+
+            // go back to computing it
+            reuse.setSymbolicAnalysis(null);
+            checkSameSolution(factory.get(), reuse, A2, 40);
+        }
+    }
+
+    @Test
+    public void lu() {
+        for (FillReducing type : new FillReducing[]{FillReducing.NONE, FillReducing.COLAMD}) {
+            Supplier<LinearSolverLu_DSCC> factory = () -> (LinearSolverLu_DSCC)LinearSolverFactory_DSCC.lu(type);
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(30, 30, 200, rand);
+            RandomMatrices_DSCC.ensureNotSingular(A, rand);
+            DMatrixSparseCSC A2 = perturbValues(A);
+
+            LinearSolverLu_DSCC original = factory.get();
+            assertTrue(original.setA(A));
+            SparseSymbolicAnalysis analysis = original.getSymbolicAnalysis(null);
+            assertEquals(SparseSymbolicAnalysis.Type.LU, analysis.type);
+            assertEquals(type == FillReducing.COLAMD, analysis.fillCol != null);
+
+            LinearSolverLu_DSCC reuse = factory.get();
+            reuse.setSymbolicAnalysis(analysis);
+            checkSameSolution(factory.get(), reuse, A2, 30);
+            checkSameSolution(factory.get(), reuse, A, 30);
+        }
+    }
+
+    @Test
+    public void qr() {
+        for (FillReducing type : new FillReducing[]{FillReducing.NONE, FillReducing.COLAMD}) {
+            Supplier<LinearSolverQrLeftLooking_DSCC> factory =
+                    () -> (LinearSolverQrLeftLooking_DSCC)LinearSolverFactory_DSCC.qr(type);
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(40, 30, 300, rand);
+            RandomMatrices_DSCC.ensureNotSingular(A, rand);
+            DMatrixSparseCSC A2 = perturbValues(A);
+
+            LinearSolverQrLeftLooking_DSCC original = factory.get();
+            assertTrue(original.setA(A));
+            SparseSymbolicAnalysis analysis = original.getSymbolicAnalysis(null);
+            assertEquals(SparseSymbolicAnalysis.Type.QR, analysis.type);
+
+            LinearSolverQrLeftLooking_DSCC reuse = factory.get();
+            reuse.setSymbolicAnalysis(analysis);
+            checkSameSolution(factory.get(), reuse, A2, 40);
+            checkSameSolution(factory.get(), reuse, A, 40);
+        }
+    }
+
+    /**
+     * Save and load the analysis then use it
+     */
+    @Test
+    public void serialize() throws Exception {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(30, 0.85, rand);
+        var original = (LinearSolverCholesky_DSCC)LinearSolverFactory_DSCC.cholesky(FillReducing.AMD);
+        assertTrue(original.setA(A));
+        SparseSymbolicAnalysis analysis = original.getSymbolicAnalysis(null);
+
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new ObjectOutputStream(bytes)) {
+            output.writeObject(analysis);
+        }
+        SparseSymbolicAnalysis loaded;
+        try (var input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            loaded = (SparseSymbolicAnalysis)input.readObject();
+        }
+        assertArrayEquals(analysis.fillCol, loaded.fillCol);
+        assertArrayEquals(analysis.parent, loaded.parent);
+
+        var reuse = (LinearSolverCholesky_DSCC)LinearSolverFactory_DSCC.cholesky(FillReducing.AMD);
+        reuse.setSymbolicAnalysis(loaded);
+        checkSameSolution(original, reuse, A, 30);
+    }
+
+    /**
+     * Several solvers in different threads share the same analysis
+     */
+    @Test
+    public void sharedBetweenThreads() throws Exception {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(60, 0.9, rand);
+        var original = (LinearSolverCholesky_DSCC)LinearSolverFactory_DSCC.cholesky(FillReducing.AMD);
+        assertTrue(original.setA(A));
+        SparseSymbolicAnalysis analysis = original.getSymbolicAnalysis(null);
+        SparseSymbolicAnalysis copy = analysis.copy();
+
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(60, 2, rand);
+        DMatrixRMaj expected = new DMatrixRMaj(60, 2);
+        original.solve(B, expected);
+
+        var failed = new boolean[4];
+        var threads = new Thread[failed.length];
+        for (int i = 0; i < threads.length; i++) {
+            int which = i;
+            threads[i] = new Thread(() -> {
+                var solver = (LinearSolverCholesky_DSCC)LinearSolverFactory_DSCC.cholesky(FillReducing.AMD);
+                solver.setSymbolicAnalysis(analysis);
+                var X = new DMatrixRMaj(60, 2);
+                for (int trial = 0; trial < 20; trial++) {
+                    if (!solver.setA(A)) {
+                        failed[which] = true;
+                        return;
+                    }
+                    solver.solve(B, X);
+                    if (!MatrixFeatures_DDRM.isIdentical(expected, X, UtilEjml.TEST_F64))
+                        failed[which] = true;
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        for (boolean f : failed) {
+            assertFalse(f);
+        }
+
+        // the analysis should not have been modified
+        assertArrayEquals(copy.fillCol, analysis.fillCol);
+        assertArrayEquals(copy.parent, analysis.parent);
+        assertArrayEquals(copy.post, analysis.post);
+        assertArrayEquals(copy.counts, analysis.counts);
+    }
+
+    @Test
+    public void incompatible() {
+        var solver = (LinearSolverCholesky_DSCC)LinearSolverFactory_DSCC.cholesky(FillReducing.AMD);
+        assertTrue(solver.setA(RandomMatrices_DSCC.symmetricPosDef(20, 0.8, rand)));
+        SparseSymbolicAnalysis analysis = solver.getSymbolicAnalysis(null);
+
+        // wrong shape
+        solver.setSymbolicAnalysis(analysis);
+        assertThrows(IllegalArgumentException.class,
+                () -> solver.setA(RandomMatrices_DSCC.symmetricPosDef(21, 0.8, rand)));
+
+        // wrong type of decomposition
+        var lu = (LinearSolverLu_DSCC)LinearSolverFactory_DSCC.lu(FillReducing.NONE);
+        assertThrows(IllegalArgumentException.class, () -> lu.setSymbolicAnalysis(analysis));
+    }
+
+    private DMatrixSparseCSC perturbValues( DMatrixSparseCSC A ) {
+        DMatrixSparseCSC A2 = A.copy();
+        for (int i = 0; i < A2.nz_length; i++) {
+            A2.nz_values[i] *= 0.5 + rand.nextDouble();
+        }
+        return A2;
+    }
+
+    private void checkSameSolution( LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> expectedSolver,
+                                    LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> foundSolver,
+                                    DMatrixSparseCSC A, int numRows ) {
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(numRows, 3, rand);
+        DMatrixRMaj expected = new DMatrixRMaj(1, 1);
+        DMatrixRMaj found = new DMatrixRMaj(1, 1);
+
+        assertTrue(expectedSolver.setA(A));
+        assertTrue(foundSolver.setA(A));
+        expectedSolver.solve(B, expected);
+        foundSolver.solve(B, found);
+        assertTrue(MatrixFeatures_DDRM.isIdentical(expected, found, UtilEjml.TEST_F64));
+    }
+}
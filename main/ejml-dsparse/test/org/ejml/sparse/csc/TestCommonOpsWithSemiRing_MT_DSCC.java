@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.masks.DMaskFactory;
+import org.ejml.masks.Mask;
+import org.ejml.ops.DMonoids;
+import org.ejml.ops.DSemiRing;
+import org.ejml.ops.DSemiRings;
+import org.ejml.sparse.csc.mult.Workspace_MT_DSCC;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import pabeles.concurrency.GrowArray;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the concurrent implementations against the single threaded ones
+ *
+ * @author Peter Abeles
+ */
+class TestCommonOpsWithSemiRing_MT_DSCC extends EjmlStandardJUnit {
+    GrowArray<Workspace_MT_DSCC> workspace = new GrowArray<>(Workspace_MT_DSCC::new);
+
+    // a custom semi-ring is included to test the generic code
+    DSemiRing[] semiRings = new DSemiRing[]{DSemiRings.PLUS_TIMES, DSemiRings.MIN_PLUS, DSemiRings.OR_AND,
+            new DSemiRing(DMonoids.MAX, DMonoids.PLUS)};
+
+    @Test void mult() {
+        for (DSemiRing semiRing : semiRings) {
+            for (int trial = 0; trial < 4; trial++) {
+                DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(40, 30, 200, rand);
+                DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(30, 50, 250, rand);
+                @Nullable Mask mask = createMask(trial, 40, 50);
+
+                DMatrixSparseCSC expected = CommonOpsWithSemiRing_DSCC.mult(A, B, null, semiRing, mask, null, null);
+                // output and workspace are reused to make sure stale data is handled
+                DMatrixSparseCSC found = CommonOpsWithSemiRing_MT_DSCC.mult(A, B, output(), semiRing, mask, workspace);
+
+                assertTrue(CommonOps_DSCC.checkStructure(found));
+                EjmlUnitTests.assertEquals(expected, found);
+            }
+        }
+    }
+
+    @Test void add() {
+        for (DSemiRing semiRing : semiRings) {
+            for (int trial = 0; trial < 4; trial++) {
+                DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(40, 50, 300, rand);
+                DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(40, 50, 300, rand);
+                @Nullable Mask mask = createMask(trial, 40, 50);
+
+                DMatrixSparseCSC expected = CommonOpsWithSemiRing_DSCC.add(1.5, A, 0.5, B, null, semiRing, mask, null, null);
+                DMatrixSparseCSC found = CommonOpsWithSemiRing_MT_DSCC.add(1.5, A, 0.5, B, output(), semiRing, mask, workspace);
+
+                assertTrue(CommonOps_DSCC.checkStructure(found));
+                EjmlUnitTests.assertEquals(expected, found);
+            }
+        }
+    }
+
+    @Test void elementMult() {
+        for (DSemiRing semiRing : semiRings) {
+            for (int trial = 0; trial < 4; trial++) {
+                DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(40, 50, 600, rand);
+                DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(40, 50, 600, rand);
+                @Nullable Mask mask = createMask(trial, 40, 50);
+
+                DMatrixSparseCSC expected = CommonOpsWithSemiRing_DSCC.elementMult(A, B, null, semiRing, mask, null, null);
+                DMatrixSparseCSC found = CommonOpsWithSemiRing_MT_DSCC.elementMult(A, B, output(), semiRing, mask, workspace);
+
+                assertTrue(CommonOps_DSCC.checkStructure(found));
+                EjmlUnitTests.assertEquals(expected, found);
+            }
+        }
+    }
+
+    /**
+     * The single threaded API should switch to the concurrent implementation for large inputs and produce the
+     * same results
+     */
+    @Test void autoSelect() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(40, 40, 300, rand);
+        DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(40, 40, 300, rand);
+        Mask mask = createMask(1, 40, 40);
+        double[] v = new double[40];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = rand.nextDouble();
+        }
+
+        DMatrixSparseCSC expectedMult = CommonOpsWithSemiRing_DSCC.mult(A, B, null, DSemiRings.MIN_PLUS, mask, null, null);
+        DMatrixSparseCSC expectedAdd = CommonOpsWithSemiRing_DSCC.add(1, A, 1, B, null, DSemiRings.MIN_PLUS, mask, null, null);
+        double[] expectedMxv = new double[40];
+        CommonOpsWithSemiRing_DSCC.mult(A, v, expectedMxv, DSemiRings.MIN_PLUS, null);
+
+        int threshold = EjmlConcurrency.ELEMENT_THRESHOLD;
+        try {
+            EjmlConcurrency.ELEMENT_THRESHOLD = 0;
+            EjmlUnitTests.assertEquals(expectedMult, CommonOpsWithSemiRing_DSCC.mult(A, B, null, DSemiRings.MIN_PLUS, mask, null, null));
+            EjmlUnitTests.assertEquals(expectedAdd, CommonOpsWithSemiRing_DSCC.add(1, A, 1, B, null, DSemiRings.MIN_PLUS, mask, null, null));
+
+            double[] foundMxv = new double[40];
+            CommonOpsWithSemiRing_DSCC.mult(A, v, foundMxv, DSemiRings.MIN_PLUS, null);
+            assertArrayEquals(expectedMxv, foundMxv, UtilEjml.TEST_F64);
+        } finally {
+            EjmlConcurrency.ELEMENT_THRESHOLD = threshold;
+        }
+    }
+
+    /**
+     * Alternates between no mask, a structural mask, a negated structural mask, and a mask with values. The
+     * density is randomly selected so that the kernels will convert it into a bitmap or a merge mask.
+     */
+    @Nullable Mask createMask( int trial, int numRows, int numCols ) {
+        int nz = rand.nextBoolean() ? numRows*numCols/3 : numRows*numCols/50;
+        DMatrixSparseCSC M = RandomMatrices_DSCC.rectangle(numRows, numCols, nz, rand);
+        return switch (trial%4) {
+            case 1 -> DMaskFactory.builder(M, true).build();
+            case 2 -> DMaskFactory.builder(M, true).withNegated(true).build();
+            case 3 -> DMaskFactory.builder(M, false).build();
+            default -> null;
+        };
+    }
+
+    /** Output matrix which has the wrong shape and garbage in it */
+    DMatrixSparseCSC output() {
+        return RandomMatrices_DSCC.rectangle(3, 4, 6, rand);
+    }
+}
@@ -27,10 +27,12 @@ import org.ejml.data.DMatrixSparseTriplet;
 import org.ejml.dense.row.CommonOps_DDRM;
 import org.ejml.dense.row.MatrixFeatures_DDRM;
 import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
 import org.ejml.masks.DMaskFactory;
 import org.ejml.masks.Mask;
 import org.ejml.ops.DConvertMatrixStruct;
 import org.ejml.ops.DOperatorBinaryIdx;
+import org.ejml.sparse.csc.factory.DecompositionFactory_DSCC;
 import org.ejml.sparse.csc.mult.CheckMatrixMultShape_DSCC;
 import org.ejml.sparse.csc.mult.ImplMultiplication_DSCC;
 import org.ejml.sparse.triplet.RandomMatrices_DSTL;
@@ -253,6 +255,56 @@ public class TestCommonOps_DSCC extends EjmlStandardJUnit {
     /**
      * See if it adds correctly when the last column is empty. This was a bug once.
      */
+    /**
+     * The upper triangle of A'*W*A should be accepted by Cholesky and produce the same decomposition as the full
+     * matrix. A more rigorous test is done in the Impl class
+     */
+    @Test
+    public void multInner() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(30, 10, 80, rand);
+        for (int i = 0; i < A.numCols; i++) {
+            A.set(i, i, 2.0);
+        }
+        double[] weights = new double[A.numRows];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 0.5 + rand.nextDouble();
+        }
+
+        DMatrixSparseCSC upper = CommonOps_DSCC.multInner(A, weights, false, null, null, null);
+
+        DMatrixSparseCSC WA = A.copy();
+        CommonOps_DSCC.multRows(weights, 0, WA);
+        DMatrixSparseCSC full = CommonOps_DSCC.mult(CommonOps_DSCC.transpose(A, null, null), WA, null);
+
+        CholeskySparseDecomposition_F64<DMatrixSparseCSC> expected = DecompositionFactory_DSCC.cholesky();
+        CholeskySparseDecomposition_F64<DMatrixSparseCSC> found = DecompositionFactory_DSCC.cholesky();
+        assertTrue(expected.decompose(full));
+        assertTrue(found.decompose(upper));
+        EjmlUnitTests.assertEquals(expected.getT(null), found.getT(null), UtilEjml.TEST_F64);
+
+        // Lower triangle should be the transpose of the upper
+        DMatrixSparseCSC lower = CommonOps_DSCC.multInner(A, weights, true, null, null, null);
+        EjmlUnitTests.assertEquals(CommonOps_DSCC.transpose(upper, null, null), lower, UtilEjml.TEST_F64);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                CommonOps_DSCC.multInner(A, new double[A.numRows - 1], false, null, null, null));
+    }
+
+    @Test
+    public void multOuter() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(10, 30, 80, rand);
+
+        DMatrixSparseCSC lower = CommonOps_DSCC.multOuter(A, null, true, null, null, null);
+        DMatrixSparseCSC full = new DMatrixSparseCSC(1, 1);
+        CommonOps_DSCC.symmLowerToFull(lower, full, null);
+
+        DMatrixSparseCSC expected = CommonOps_DSCC.mult(A, CommonOps_DSCC.transpose(A, null, null), null);
+        assertTrue(MatrixFeatures_DSCC.isEqualsSort(expected, full, UtilEjml.TEST_F64));
+
+        assertThrows(IllegalArgumentException.class, () ->
+                CommonOps_DSCC.multOuter(A, new double[A.numCols - 1], false, null, null, null));
+    }
+
     @Test
     public void add_empty_columns() {
         DMatrixSparseTriplet trip_A = new DMatrixSparseTriplet(5, 6, 6);
@@ -19,10 +19,12 @@
 package org.ejml.sparse.csc;
 
 import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
 import org.ejml.UtilEjml;
 import org.ejml.data.DGrowArray;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
 import org.ejml.dense.row.CommonOps_DDRM;
 import org.ejml.dense.row.MatrixFeatures_DDRM;
 import org.ejml.dense.row.RandomMatrices_DDRM;
@@ -141,6 +143,24 @@ class TestCommonOps_MT_DSCC extends EjmlStandardJUnit {
         }
     }
 
+    /**
+     * Compare against the single threaded conversion. Duplicates are summed by the concurrent version.
+     */
+    @Test void convert_triplet() {
+        var triplet = new DMatrixSparseTriplet(50, 40, 0);
+        for (int i = 0; i < 500; i++) {
+            triplet.addItem(rand.nextInt(50), rand.nextInt(40), rand.nextGaussian());
+        }
+
+        DMatrixSparseCSC expected = DConvertMatrixStruct.convert(triplet, (DMatrixSparseCSC)null);
+        CommonOps_DSCC.duplicatesAdd(expected, null);
+        DMatrixSparseCSC found = CommonOps_MT_DSCC.convert(triplet, null, null);
+
+        assertTrue(CommonOps_DSCC.checkStructure(found));
+        assertTrue(found.indicesSorted);
+        EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+    }
+
     @Test void mult_s_d_shapes() {
         check_s_d_mult(
                 RandomMatrices_DSCC.rectangle(5, 6, 5, rand),
@@ -170,4 +170,31 @@ public class TestRandomMatrices_DSCC extends EjmlStandardJUnit {
             }
         }
     }
+
+    @Test
+    void rmat() {
+        for (boolean symmetric : new boolean[]{false, true}) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rmat(10, 8, symmetric, rand);
+
+            assertEquals(1024, A.numRows);
+            assertEquals(1024, A.numCols);
+            assertTrue(CommonOps_DSCC.checkStructure(A));
+            assertFalse(CommonOps_DSCC.checkDuplicateElements(A));
+            assertTrue(A.nz_length > 0 && A.nz_length <= (symmetric ? 2 : 1)*1024*8);
+            assertEquals(symmetric, MatrixFeatures_DSCC.isSymmetric(A, 0.0));
+
+            // no self loops and every edge has a value of one
+            int maxDegree = 0;
+            for (int col = 0; col < A.numCols; col++) {
+                assertFalse(A.isAssigned(col, col));
+                maxDegree = Math.max(maxDegree, A.col_idx[col + 1] - A.col_idx[col]);
+            }
+            for (int i = 0; i < A.nz_length; i++) {
+                assertEquals(1.0, A.nz_values[i]);
+            }
+
+            // With a power-law distribution some vertices should have a much higher degree than the average
+            assertTrue(maxDegree > 5*A.nz_length/1024);
+        }
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.factory.FillReductionFactory_DSCC;
+import org.ejml.sparse.csc.misc.ApplyFillReductionPermutation_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCholeskySupernodal_DSCC extends GenericCholeskyTests_DSCC {
+
+    public TestCholeskySupernodal_DSCC() {
+        canR = false;
+    }
+
+    @Override
+    public CholeskySparseDecomposition_F64<DMatrixSparseCSC> create( boolean lower ) {
+        return new CholeskySupernodal_DSCC();
+    }
+
+    /**
+     * A dense matrix should be a single supernode
+     */
+    @Test
+    public void dense_singleSupernode() {
+        int N = 15;
+        DMatrixSparseCSC A = new DMatrixSparseCSC(N, N, N*N);
+        for (int col = 0; col < N; col++) {
+            for (int row = 0; row < N; row++) {
+                A.set(row, col, row == col ? N + 1 : 1.0);
+            }
+        }
+
+        var alg = new CholeskySupernodal_DSCC();
+        assertTrue(alg.decompose(A));
+        assertEquals(1, alg.getNumSupernodes());
+
+        checkSameAsUpLooking(A, alg.getL());
+    }
+
+    /**
+     * Compare against the up looking algorithm for matrices which will have many supernodes of different sizes
+     */
+    @Test
+    public void compareToUpLooking() {
+        var alg = new CholeskySupernodal_DSCC();
+        for (int trial = 0; trial < 20; trial++) {
+            int N = 5 + rand.nextInt(60);
+            DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(N, 0.5 + 0.45*rand.nextDouble(), rand);
+            assertTrue(alg.decompose(A));
+            assertTrue(alg.getNumSupernodes() <= N);
+            checkSameAsUpLooking(A, alg.getL());
+        }
+    }
+
+    /**
+     * Matrices from 3D meshes have large supernodes after a fill reducing permutation is applied
+     */
+    @Test
+    public void mesh3D() {
+        int width = 8;
+        int N = width*width*width;
+        DMatrixSparseCSC A = new DMatrixSparseCSC(N, N, 7*N);
+        for (int i = 0; i < N; i++) {
+            A.set(i, i, 6.5);
+            if (i % width != 0) A.set(i - 1, i, -1);
+            if ((i/width) % width != 0) A.set(i - width, i, -1);
+            if (i >= width*width) A.set(i - width*width, i, -1);
+        }
+
+        // reorder it and only save the upper triangle
+        var reduce = new ApplyFillReductionPermutation_DSCC(FillReductionFactory_DSCC.create(FillReducing.AMD), true);
+        A = reduce.apply(A);
+
+        var alg = new CholeskySupernodal_DSCC();
+        assertTrue(alg.decompose(A));
+        assertTrue(alg.getNumSupernodes() < N/2);
+        checkSameAsUpLooking(A, alg.getL());
+    }
+
+    /**
+     * Locking the structure and then decomposing a matrix with the same structure
+     */
+    @Test
+    public void lockedStructure() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(40, 0.7, rand);
+
+        var alg = new CholeskySupernodal_DSCC();
+        assertTrue(alg.decompose(A));
+        alg.setStructureLocked(true);
+
+        CommonOps_DSCC.scale(2.0, A, A);
+        assertTrue(alg.decompose(A));
+        checkSameAsUpLooking(A, alg.getL());
+    }
+
+    private void checkSameAsUpLooking( DMatrixSparseCSC A, DMatrixSparseCSC found ) {
+        var upLooking = new CholeskyUpLooking_DSCC();
+        assertTrue(upLooking.decompose(A));
+        EjmlUnitTests.assertEquals(upLooking.getL(), found, UtilEjml.TEST_F64);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.EjmlUnitTests;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.factory.FillReductionFactory_DSCC;
+import org.ejml.sparse.csc.misc.ApplyFillReductionPermutation_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCholeskyUpLooking_MT_DSCC extends GenericCholeskyTests_DSCC {
+
+    public TestCholeskyUpLooking_MT_DSCC() {
+        canR = false;
+    }
+
+    @Override
+    public CholeskySparseDecomposition_F64<DMatrixSparseCSC> create( boolean lower ) {
+        return new CholeskyUpLooking_MT_DSCC();
+    }
+
+    /**
+     * Compare against the single threaded algorithm. The results should be identical
+     */
+    @Test
+    public void compareToSingleThread() {
+        var alg = new CholeskyUpLooking_MT_DSCC();
+        for (int trial = 0; trial < 20; trial++) {
+            int N = 5 + rand.nextInt(100);
+            DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(N, 0.05 + 0.4*rand.nextDouble(), rand);
+            // vary how much the tree is split up
+            alg.subtreesPerThread = 1 + rand.nextInt(20);
+            assertTrue(alg.decompose(A));
+            checkSameAsSingleThread(A, alg.getL());
+        }
+    }
+
+    /**
+     * A mesh with a fill reducing permutation has a wide elimination tree and the schedule will have
+     * multiple levels
+     */
+    @Test
+    public void mesh3D() {
+        DMatrixSparseCSC A = createMesh3D(10);
+
+        var alg = new CholeskyUpLooking_MT_DSCC();
+        alg.subtreesPerThread = 20;
+        assertTrue(alg.decompose(A));
+        assertTrue(alg.getNumLevels() > 1);
+        checkSameAsSingleThread(A, alg.getL());
+    }
+
+    /**
+     * Every possible schedule for a single thread and many threads should produce the same results
+     */
+    @Test
+    public void computeSchedule_numThreads() {
+        DMatrixSparseCSC A = createMesh3D(6);
+
+        var alg = new CholeskyUpLooking_MT_DSCC();
+        for (int numThreads : new int[]{1, 2, 3, 16}) {
+            alg.performSymbolic(A);
+            alg.computeSchedule(numThreads);
+
+            // every row should be in the schedule once
+            boolean[] found = new boolean[A.numCols];
+            for (int i = 0; i < A.numCols; i++) {
+                assertFalse(found[alg.binRows[i]]);
+                found[alg.binRows[i]] = true;
+            }
+
+            assertTrue(alg.performDecomposition(A));
+            checkSameAsSingleThread(A, alg.getL());
+        }
+    }
+
+    /**
+     * Failure inside of a subtree should be detected
+     */
+    @Test
+    public void notPositiveDefinite() {
+        DMatrixSparseCSC A = createMesh3D(6);
+
+        var alg = new CholeskyUpLooking_MT_DSCC();
+        alg.subtreesPerThread = 20;
+        assertTrue(alg.decompose(A));
+
+        // make one of the first rows not positive definite
+        A.set(1, 1, -10);
+        assertFalse(alg.decompose(A));
+
+        // it should recover after a bad matrix
+        A.set(1, 1, 6.5);
+        assertTrue(alg.decompose(A));
+        checkSameAsSingleThread(A, alg.getL());
+    }
+
+    /**
+     * Locking the structure and then decomposing a matrix with the same structure
+     */
+    @Test
+    public void lockedStructure() {
+        DMatrixSparseCSC A = createMesh3D(5);
+
+        var alg = new CholeskyUpLooking_MT_DSCC();
+        assertTrue(alg.decompose(A));
+        alg.setStructureLocked(true);
+
+        CommonOps_DSCC.scale(2.0, A, A);
+        assertTrue(alg.decompose(A));
+        checkSameAsSingleThread(A, alg.getL());
+    }
+
+    /**
+     * Creates the upper triangle of a 3D Laplacian which has been reordered with AMD
+     */
+    private DMatrixSparseCSC createMesh3D( int width ) {
+        int N = width*width*width;
+        DMatrixSparseCSC A = new DMatrixSparseCSC(N, N, 7*N);
+        for (int i = 0; i < N; i++) {
+            A.set(i, i, 6.5);
+            if (i%width != 0) A.set(i - 1, i, -1);
+            if ((i/width)%width != 0) A.set(i - width, i, -1);
+            if (i >= width*width) A.set(i - width*width, i, -1);
+        }
+
+        var reduce = new ApplyFillReductionPermutation_DSCC(FillReductionFactory_DSCC.create(FillReducing.AMD), true);
+        return reduce.apply(A).copy();
+    }
+
+    private void checkSameAsSingleThread( DMatrixSparseCSC A, DMatrixSparseCSC found ) {
+        var single = new CholeskyUpLooking_DSCC();
+        assertTrue(single.decompose(A));
+        EjmlUnitTests.assertEquals(single.getL(), found, 0.0);
+    }
+}
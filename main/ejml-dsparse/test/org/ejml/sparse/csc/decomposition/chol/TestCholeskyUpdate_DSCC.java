@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.chol;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.MatrixFeatures_DDRM;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCholeskyUpdate_DSCC extends EjmlStandardJUnit {
+    @Test
+    public void update() {
+        for (boolean supernodal : new boolean[]{false, true}) {
+            for (int numCols : new int[]{1, 3}) {
+                for (int trial = 0; trial < 10; trial++) {
+                    DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(30, 0.25, rand);
+                    CholeskyUpLooking_DSCC cholesky = createCholesky(supernodal);
+                    assertTrue(cholesky.decompose(A));
+
+                    DMatrixSparseCSC C = createC(cholesky.getL(), numCols);
+                    DMatrixSparseCSC expected = addOuter(A, C, 1.0);
+
+                    var alg = new CholeskyUpdate_DSCC();
+                    assertTrue(alg.update(cholesky, C));
+                    checkFactor(expected, cholesky.getL());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void downdate() {
+        for (boolean supernodal : new boolean[]{false, true}) {
+            for (int numCols : new int[]{1, 3}) {
+                for (int trial = 0; trial < 10; trial++) {
+                    DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(30, 0.25, rand);
+                    CholeskyUpLooking_DSCC cholesky = createCholesky(supernodal);
+                    assertTrue(cholesky.decompose(A));
+
+                    // Decompose A + C*C' then downdate to get back to A
+                    DMatrixSparseCSC C = createC(cholesky.getL(), numCols);
+                    assertTrue(cholesky.decompose(addOuter(A, C, 1.0)));
+
+                    var alg = new CholeskyUpdate_DSCC();
+                    assertTrue(alg.downdate(cholesky, C));
+                    checkFactor(A, cholesky.getL());
+                }
+            }
+        }
+    }
+
+    /**
+     * The matrix after the downdate isn't positive definite
+     */
+    @Test
+    public void downdate_notPositiveDefinite() {
+        DMatrixSparseCSC A = CommonOps_DSCC.identity(5);
+        var cholesky = new CholeskyUpLooking_DSCC();
+        assertTrue(cholesky.decompose(A));
+
+        DMatrixSparseCSC C = new DMatrixSparseCSC(5, 1, 1);
+        C.set(2, 0, 2.0);
+
+        var alg = new CholeskyUpdate_DSCC();
+        assertFalse(alg.downdate(cholesky, C));
+
+        // The workspace should have been cleaned up and a valid downdate should work
+        assertTrue(cholesky.decompose(A));
+        C.set(2, 0, 0.5);
+        assertTrue(alg.downdate(cholesky, C));
+        DMatrixSparseCSC expected = addOuter(A, C, -1.0);
+        checkFactor(expected, cholesky.getL());
+    }
+
+    /**
+     * If C would change the pattern of L an exception should be thrown and L not modified
+     */
+    @Test
+    public void patternChange() {
+        DMatrixSparseCSC A = CommonOps_DSCC.identity(5);
+        var cholesky = new CholeskyUpLooking_DSCC();
+        assertTrue(cholesky.decompose(A));
+        DMatrixSparseCSC L = cholesky.getL().copy();
+
+        // The first column is valid but the second would create fill in
+        DMatrixSparseCSC C = new DMatrixSparseCSC(5, 2, 3);
+        C.set(1, 0, 2.0);
+        C.set(1, 1, 2.0);
+        C.set(3, 1, 2.0);
+
+        var alg = new CholeskyUpdate_DSCC();
+        assertThrows(IllegalArgumentException.class, () -> alg.update(cholesky, C));
+        assertTrue(CommonOps_DSCC.checkStructure(cholesky.getL()));
+        for (int i = 0; i < L.nz_length; i++) {
+            assertEquals(L.nz_values[i], cholesky.getL().nz_values[i]);
+        }
+
+        // Make sure the workspace was cleaned up
+        C.remove(3, 1);
+        assertTrue(alg.update(cholesky, C));
+        checkFactor(addOuter(A, C, 1.0), cholesky.getL());
+    }
+
+    private CholeskyUpLooking_DSCC createCholesky( boolean supernodal ) {
+        return supernodal ? new CholeskySupernodal_DSCC() : new CholeskyUpLooking_DSCC();
+    }
+
+    /**
+     * Creates a matrix where the pattern of each column is inside of the pattern of a random column in L
+     */
+    private DMatrixSparseCSC createC( DMatrixSparseCSC L, int numCols ) {
+        var C = new DMatrixSparseCSC(L.numRows, numCols, 0);
+        for (int col = 0; col < numCols; col++) {
+            int f = rand.nextInt(L.numCols);
+            C.set(f, col, rand.nextDouble() + 0.1);
+            for (int p = L.col_idx[f] + 1; p < L.col_idx[f + 1]; p++) {
+                if (rand.nextBoolean())
+                    C.set(L.nz_rows[p], col, rand.nextDouble() - 0.5);
+            }
+        }
+        return C;
+    }
+
+    /**
+     * Computes A + scale*C*C'
+     */
+    private DMatrixSparseCSC addOuter( DMatrixSparseCSC A, DMatrixSparseCSC C, double scale ) {
+        DMatrixSparseCSC CC = CommonOps_DSCC.mult(C, CommonOps_DSCC.transpose(C, null, null), null);
+        DMatrixSparseCSC out = new DMatrixSparseCSC(1, 1, 0);
+        CommonOps_DSCC.add(1.0, A, scale, CC, out, null, null);
+        return out;
+    }
+
+    /**
+     * Makes sure L*L' = A
+     */
+    private void checkFactor( DMatrixSparseCSC A, DMatrixSparseCSC L ) {
+        DMatrixSparseCSC LL = CommonOps_DSCC.mult(L, CommonOps_DSCC.transpose(L, null, null), null);
+
+        DMatrixRMaj expected = DConvertMatrixStruct.convert(A, (DMatrixRMaj)null);
+        DMatrixRMaj found = DConvertMatrixStruct.convert(LL, (DMatrixRMaj)null);
+        assertTrue(MatrixFeatures_DDRM.isIdentical(expected, found, UtilEjml.TEST_F64));
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.NormOps_DDRM;
+import org.ejml.dense.row.factory.DecompositionFactory_DDRM;
+import org.ejml.interfaces.decomposition.EigenDecomposition_F64;
+import org.ejml.interfaces.decomposition.WhichEigenvalues;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Common tests for Krylov based sparse eigen solvers. Results are compared against a dense decomposition.
+ *
+ * @author Peter Abeles
+ */
+public abstract class GenericEigenKrylovTests_DSCC extends EjmlStandardJUnit {
+    public abstract EigenKrylovBase_DSCC createAlg( int numEigen, WhichEigenvalues which );
+
+    /**
+     * Creates a random square matrix the algorithm can process
+     */
+    public abstract DMatrixSparseCSC createA( int N );
+
+    @Test void compareToDense() {
+        DMatrixSparseCSC A = createA(100);
+        List<Complex_F64> expected = denseEigenvalues(A);
+
+        // Smallest magnitude is skipped since those eigenvalues are inside the spectrum and converge slowly
+        for (WhichEigenvalues which : new WhichEigenvalues[]{WhichEigenvalues.LARGEST_MAGNITUDE,
+                WhichEigenvalues.LARGEST_REAL, WhichEigenvalues.SMALLEST_REAL}) {
+            EigenKrylovBase_DSCC alg = createAlg(4, which);
+            assertTrue(alg.process(A), which.name());
+            checkEigenvalues(expected, which, alg);
+            checkEigenvectors(A, alg);
+        }
+    }
+
+    /**
+     * Smallest magnitude with a positive definite matrix, where the smallest eigenvalues are at the edge
+     * of the spectrum
+     */
+    @Test void smallestMagnitude() {
+        DMatrixSparseCSC A = createA(100);
+        double shift = 0.0;
+        for (Complex_F64 c : denseEigenvalues(A)) {
+            shift = Math.max(shift, 0.5 - c.real);
+        }
+        A = CommonOps_DSCC.add(1.0, A, shift, CommonOps_DSCC.identity(A.numRows), null, null, null);
+        List<Complex_F64> expected = denseEigenvalues(A);
+
+        EigenKrylovBase_DSCC alg = createAlg(4, WhichEigenvalues.SMALLEST_MAGNITUDE);
+        assertTrue(alg.process(A));
+        checkEigenvalues(expected, WhichEigenvalues.SMALLEST_MAGNITUDE, alg);
+        checkEigenvectors(A, alg);
+    }
+
+    /**
+     * When the matrix is small the Krylov subspace spans the entire space and it should converge immediately
+     */
+    @Test void smallMatrix() {
+        DMatrixSparseCSC A = createA(6);
+        List<Complex_F64> expected = denseEigenvalues(A);
+
+        EigenKrylovBase_DSCC alg = createAlg(4, WhichEigenvalues.LARGEST_MAGNITUDE);
+        assertTrue(alg.process(A));
+        checkEigenvalues(expected, WhichEigenvalues.LARGEST_MAGNITUDE, alg);
+        checkEigenvectors(A, alg);
+    }
+
+    @Test void shiftInvert() {
+        DMatrixSparseCSC A = createA(100);
+        List<Complex_F64> expected = denseEigenvalues(A);
+        double sigma = 0.55;
+
+        EigenKrylovBase_DSCC alg = createAlg(3, WhichEigenvalues.LARGEST_REAL);
+        assertTrue(alg.processShiftInvert(A, sigma, null));
+        // the requested eigenvalues should not have been changed
+        assertEquals(WhichEigenvalues.LARGEST_REAL, alg.getWhich());
+
+        // find the eigenvalues closest to sigma
+        expected.sort(( a, b ) -> Double.compare(distance2(a, sigma), distance2(b, sigma)));
+        for (int i = 0; i < alg.getNumberOfEigenvalues(); i++) {
+            double found = distance2(alg.getEigenvalue(i), sigma);
+            assertEquals(distance2(expected.get(i), sigma), found, UtilEjml.TEST_F64);
+        }
+        checkEigenvectors(A, alg);
+    }
+
+    /**
+     * Processing the operator directly should produce the same results
+     */
+    @Test void matrixFreeOperator() {
+        DMatrixSparseCSC A = createA(60);
+
+        EigenKrylovBase_DSCC algA = createAlg(3, WhichEigenvalues.LARGEST_MAGNITUDE);
+        EigenKrylovBase_DSCC algB = createAlg(3, WhichEigenvalues.LARGEST_MAGNITUDE);
+        assertTrue(algA.process(A));
+        assertTrue(algB.process(EigenOperators_DSCC.matrix(A)));
+
+        assertEquals(algA.getNumberOfEigenvalues(), algB.getNumberOfEigenvalues());
+        for (int i = 0; i < algA.getNumberOfEigenvalues(); i++) {
+            assertEquals(algA.getEigenvalue(i).real, algB.getEigenvalue(i).real, UtilEjml.TEST_F64);
+            assertEquals(algA.getEigenvalue(i).imaginary, algB.getEigenvalue(i).imaginary, UtilEjml.TEST_F64);
+        }
+    }
+
+    /**
+     * The same instance should produce the same results when called multiple times
+     */
+    @Test void multipleCalls() {
+        DMatrixSparseCSC A = createA(60);
+        DMatrixSparseCSC B = createA(80);
+
+        EigenKrylovBase_DSCC alg = createAlg(3, WhichEigenvalues.LARGEST_MAGNITUDE);
+        assertTrue(alg.process(B));
+        assertTrue(alg.process(A));
+        double[] found = new double[alg.getNumberOfEigenvalues()];
+        for (int i = 0; i < found.length; i++) {
+            found[i] = alg.getEigenvalue(i).getMagnitude();
+        }
+
+        EigenKrylovBase_DSCC expected = createAlg(3, WhichEigenvalues.LARGEST_MAGNITUDE);
+        assertTrue(expected.process(A));
+        for (int i = 0; i < found.length; i++) {
+            assertEquals(expected.getEigenvalue(i).getMagnitude(), found[i], UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void notSquare() {
+        DMatrixSparseCSC A = new DMatrixSparseCSC(10, 8);
+        EigenKrylovBase_DSCC alg = createAlg(3, WhichEigenvalues.LARGEST_MAGNITUDE);
+        assertThrows(IllegalArgumentException.class, () -> alg.process(A));
+    }
+
+    /**
+     * Sees if the found eigenvalues match the expected eigenvalues. Ties in the sort order are resolved by
+     * comparing the value which is sorted on.
+     */
+    protected void checkEigenvalues( List<Complex_F64> expected, WhichEigenvalues which,
+                                     EigenKrylovBase_DSCC alg ) {
+        Comparator<Complex_F64> comparator = comparator(which);
+        expected.sort(comparator);
+
+        assertEquals(alg.getNumEigen(), alg.getNumberOfEigenvalues());
+        for (int i = 0; i < alg.getNumberOfEigenvalues(); i++) {
+            Complex_F64 e = expected.get(i);
+            Complex_F64 f = alg.getEigenvalue(i);
+            assertEquals(sortValue(which, e), sortValue(which, f), UtilEjml.TEST_F64, which.name());
+            assertEquals(Math.abs(e.imaginary), Math.abs(f.imaginary), UtilEjml.TEST_F64, which.name());
+        }
+    }
+
+    /**
+     * Eigenvectors for real eigenvalues must satisfy A*v = &lambda;*v
+     */
+    protected void checkEigenvectors( DMatrixSparseCSC A, EigenKrylovBase_DSCC alg ) {
+        var Av = new DMatrixRMaj(1, 1);
+        for (int i = 0; i < alg.getNumberOfEigenvalues(); i++) {
+            Complex_F64 value = alg.getEigenvalue(i);
+            DMatrixRMaj v = alg.getEigenVector(i);
+            if (!value.isReal()) {
+                assertNull(v);
+                continue;
+            }
+            assertNotNull(v);
+            assertEquals(1.0, NormOps_DDRM.normF(v), UtilEjml.TEST_F64);
+            CommonOps_DSCC.mult(A, v, Av);
+            CommonOps_DDRM.addEquals(Av, -value.real, v);
+            assertEquals(0.0, NormOps_DDRM.normF(Av), UtilEjml.TEST_F64_SQ);
+        }
+    }
+
+    protected static List<Complex_F64> denseEigenvalues( DMatrixSparseCSC A ) {
+        DMatrixRMaj dense = DConvertMatrixStruct.convert(A, (DMatrixRMaj)null);
+        EigenDecomposition_F64<DMatrixRMaj> eig = DecompositionFactory_DDRM.eig(A.numCols, false);
+        assertTrue(eig.decompose(dense));
+        List<Complex_F64> values = new ArrayList<>();
+        for (int i = 0; i < eig.getNumberOfEigenvalues(); i++) {
+            values.add(eig.getEigenvalue(i));
+        }
+        return values;
+    }
+
+    private static double distance2( Complex_F64 a, double sigma ) {
+        double dr = a.real - sigma;
+        return dr*dr + a.imaginary*a.imaginary;
+    }
+
+    private static double sortValue( WhichEigenvalues which, Complex_F64 a ) {
+        switch (which) {
+            case LARGEST_MAGNITUDE:
+            case SMALLEST_MAGNITUDE:
+                return a.getMagnitude();
+            default:
+                return a.real;
+        }
+    }
+
+    private static Comparator<Complex_F64> comparator( WhichEigenvalues which ) {
+        Comparator<Complex_F64> c = ( a, b ) -> Double.compare(sortValue(which, a), sortValue(which, b));
+        if (which == WhichEigenvalues.LARGEST_MAGNITUDE || which == WhichEigenvalues.LARGEST_REAL)
+            c = c.reversed();
+        return c;
+    }
+}
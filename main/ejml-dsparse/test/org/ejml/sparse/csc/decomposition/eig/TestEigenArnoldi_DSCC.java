@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.UtilEjml;
+import org.ejml.data.Complex_F64;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.decomposition.WhichEigenvalues;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestEigenArnoldi_DSCC extends GenericEigenKrylovTests_DSCC {
+    @Override public EigenKrylovBase_DSCC createAlg( int numEigen, WhichEigenvalues which ) {
+        return new EigenArnoldi_DSCC(numEigen, which);
+    }
+
+    /**
+     * Random non-symmetric matrix with well separated eigenvalues at both ends of the spectrum
+     */
+    @Override public DMatrixSparseCSC createA( int N ) {
+        DMatrixSparseCSC noise = RandomMatrices_DSCC.rectangle(N, N, N*2, -0.05, 0.05, rand);
+        double[] diag = new double[N];
+        for (int i = 0; i < N; i++) {
+            diag[i] = (i - N/3)*(i - N/3)*0.01*(i%2 == 0 ? 1 : -1) + 0.01*i;
+        }
+        return CommonOps_DSCC.add(1.0, noise, 1.0, CommonOps_DSCC.diag(diag), null, null, null);
+    }
+
+    /**
+     * A rotation has complex conjugate eigenvalues. Both values in the pair should be returned and neither
+     * has an eigenvector.
+     */
+    @Test void complexConjugatePair() {
+        int N = 30;
+        DMatrixSparseCSC A = new DMatrixSparseCSC(N, N);
+        // 2x2 rotation block with eigenvalues 5 +- 2i
+        A.set(0, 0, 5);
+        A.set(0, 1, -2);
+        A.set(1, 0, 2);
+        A.set(1, 1, 5);
+        for (int i = 2; i < N; i++) {
+            A.set(i, i, 0.1*i);
+            A.set(i, i - 1, 0.01);
+        }
+
+        var alg = new EigenArnoldi_DSCC(2, WhichEigenvalues.LARGEST_MAGNITUDE);
+        assertTrue(alg.process(A));
+        assertEquals(2, alg.getNumberOfEigenvalues());
+        Complex_F64 a = alg.getEigenvalue(0);
+        Complex_F64 b = alg.getEigenvalue(1);
+        assertEquals(5.0, a.real, UtilEjml.TEST_F64);
+        assertEquals(5.0, b.real, UtilEjml.TEST_F64);
+        assertEquals(2.0, Math.abs(a.imaginary), UtilEjml.TEST_F64);
+        assertEquals(-a.imaginary, b.imaginary, UtilEjml.TEST_F64);
+        assertNull(alg.getEigenVector(0));
+        assertNull(alg.getEigenVector(1));
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.decomposition.WhichEigenvalues;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestEigenLanczos_DSCC extends GenericEigenKrylovTests_DSCC {
+    @Override public EigenKrylovBase_DSCC createAlg( int numEigen, WhichEigenvalues which ) {
+        return new EigenLanczos_DSCC(numEigen, which);
+    }
+
+    /**
+     * Random symmetric matrix with well separated eigenvalues at both ends of the spectrum
+     */
+    @Override public DMatrixSparseCSC createA( int N ) {
+        DMatrixSparseCSC noise = RandomMatrices_DSCC.symmetric(N, N*2, -0.05, 0.05, rand);
+        double[] diag = new double[N];
+        for (int i = 0; i < N; i++) {
+            diag[i] = (i - N/3)*(i - N/3)*0.01*(i%2 == 0 ? 1 : -1) + 0.01*i;
+        }
+        return CommonOps_DSCC.add(1.0, noise, 1.0, CommonOps_DSCC.diag(diag), null, null, null);
+    }
+
+    /**
+     * All the eigenvalues of a symmetric matrix are real and should have eigenvectors
+     */
+    @Test void allReal() {
+        DMatrixSparseCSC A = createA(50);
+        var alg = new EigenLanczos_DSCC(5, WhichEigenvalues.LARGEST_REAL);
+        assertTrue(alg.process(A));
+        for (int i = 0; i < alg.getNumberOfEigenvalues(); i++) {
+            assertTrue(alg.getEigenvalue(i).isReal());
+        }
+        checkEigenvectors(A, alg);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.eig;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.LinearOperator_F64;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestEigenOperators_DSCC extends EjmlStandardJUnit {
+    @Test void matrix() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(12, 8, 40, rand);
+        LinearOperator_F64 op = EigenOperators_DSCC.matrix(A);
+        assertEquals(12, op.getNumRows());
+        assertEquals(8, op.getNumCols());
+
+        var x = new DMatrixRMaj(8, 1);
+        for (int i = 0; i < 8; i++) {
+            x.data[i] = rand.nextGaussian();
+        }
+        var expected = new DMatrixRMaj(1, 1);
+        CommonOps_DSCC.mult(A, x, expected);
+
+        double[] y = new double[12];
+        op.mult(x.data, y);
+        for (int i = 0; i < 12; i++) {
+            assertEquals(expected.data[i], y[i], UtilEjml.TEST_F64);
+        }
+    }
+
+    /**
+     * Applying (A - sigma*I) to the output should return the input
+     */
+    @Test void shiftInvert() {
+        int N = 15;
+        double sigma = 0.3;
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(N, N, 60, rand);
+        A = CommonOps_DSCC.add(1.0, A, 1.0, CommonOps_DSCC.identity(N, N), null, null, null);
+        LinearOperator_F64 op = EigenOperators_DSCC.shiftInvert(A, sigma, null);
+
+        double[] x = new double[N];
+        for (int i = 0; i < N; i++) {
+            x[i] = rand.nextGaussian();
+        }
+        double[] y = new double[N];
+        op.mult(x, y);
+
+        var Ay = new DMatrixRMaj(1, 1);
+        CommonOps_DSCC.mult(A, DMatrixRMaj.wrap(N, 1, y), Ay);
+        for (int i = 0; i < N; i++) {
+            assertEquals(x[i], Ay.data[i] - sigma*y[i], UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void shiftInvert_singular() {
+        DMatrixSparseCSC A = CommonOps_DSCC.diag(1, 2, 3);
+        assertThrows(IllegalArgumentException.class, () -> EigenOperators_DSCC.shiftInvert(A, 2.0, null));
+    }
+}
@@ -57,6 +57,34 @@ public class TestQrHelperFunctions_DSCC extends EjmlStandardJUnit {
         }
     }
 
+    /**
+     * Compare the panel version against applying the Householder to each column individually
+     */
+    @Test
+    public void applyHouseholder_panel() {
+        DMatrixSparseCSC V = RandomMatrices_DSCC.rectangle(6, 4, 14, rand);
+        int width = 3;
+
+        double[] panel = new double[6*width];
+        for (int i = 0; i < panel.length; i++) {
+            panel[i] = rand.nextDouble();
+        }
+        double[] expected = panel.clone();
+        double[] x = new double[6];
+        for (int k = 0; k < width; k++) {
+            for (int i = 0; i < 6; i++) x[i] = expected[i*width + k];
+            QrHelperFunctions_DSCC.applyHouseholder(V, 2, 2.1, x);
+            for (int i = 0; i < 6; i++) expected[i*width + k] = x[i];
+        }
+
+        // tau is larger than needed to make sure it only uses the first elements
+        QrHelperFunctions_DSCC.applyHouseholder(V, 2, 2.1, panel, width, new double[width + 2]);
+
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], panel[i], UtilEjml.TEST_F64);
+        }
+    }
+
     @Test
     public void rank1UpdateMultR() {
         DMatrixSparseCSC V = RandomMatrices_DSCC.rectangle(5,6,20,rand);
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.decomposition.svd;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.SingularOps_DDRM;
+import org.ejml.dense.row.decomposition.svd.SvdRandomized_DDRM;
+import org.ejml.interfaces.decomposition.SingularValueDecomposition_F64;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestSvdRandomized_DSCC extends EjmlStandardJUnit {
+    /**
+     * Should produce the same results as the dense implementation since the same random matrix is used
+     */
+    @Test void compareToDense() {
+        for (int[] shape : new int[][]{{40, 25}, {25, 40}}) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(shape[0], shape[1], 150, rand);
+            DMatrixSparseCSC A_orig = A.copy();
+            DMatrixRMaj denseA = DConvertMatrixStruct.convert(A, (DMatrixRMaj)null);
+
+            var expected = new SvdRandomized_DDRM(4, 6, 2);
+            var found = new SvdRandomized_DSCC(4, 6, 2);
+            assertTrue(expected.decompose(denseA));
+            assertTrue(found.decompose(A));
+            EjmlUnitTests.assertEquals(A_orig, A, 0.0);
+
+            assertEquals(expected.numberOfSingularValues(), found.numberOfSingularValues());
+            for (int i = 0; i < found.numberOfSingularValues(); i++) {
+                assertEquals(expected.getSingularValues()[i], found.getSingularValues()[i], UtilEjml.TEST_F64);
+            }
+            EjmlUnitTests.assertEquals(expected.getU(null, false), found.getU(null, false), UtilEjml.TEST_F64);
+            EjmlUnitTests.assertEquals(expected.getV(null, false), found.getV(null, false), UtilEjml.TEST_F64);
+        }
+    }
+
+    /**
+     * A diagonal matrix has known singular values and the decomposition is exact when all are requested
+     */
+    @Test void diagonal() {
+        int N = 12;
+        var A = new DMatrixSparseCSC(N, N);
+        for (int i = 0; i < N; i++) {
+            A.set(i, i, i + 1);
+        }
+
+        var alg = new SvdRandomized_DSCC(N, 0, 0);
+        assertTrue(alg.decompose(A));
+        for (int i = 0; i < N; i++) {
+            assertEquals(N - i, alg.getSingularValues()[i], UtilEjml.TEST_F64);
+        }
+
+        DMatrixSparseCSC found = CommonOps_DSCC.mult(alg.getU(null, false), alg.getW(null), null);
+        found = CommonOps_DSCC.mult(found, alg.getV(null, true), null);
+        EjmlUnitTests.assertEquals(A, found, UtilEjml.TEST_F64);
+    }
+
+    /**
+     * Can be used with functions which expect a SingularValueDecomposition
+     */
+    @Test void singularValueDecompositionInterface() {
+        var A = new DMatrixSparseCSC(8, 6);
+        for (int i = 0; i < 4; i++) {
+            A.set(i, i, i + 1);
+        }
+
+        SingularValueDecomposition_F64<DMatrixSparseCSC> alg = new SvdRandomized_DSCC(6, 0, 0);
+        assertFalse(alg.inputModified());
+        assertTrue(alg.decompose(A));
+        assertEquals(4, SingularOps_DDRM.rank(alg));
+        assertEquals(2, SingularOps_DDRM.nullity(alg));
+    }
+
+    /**
+     * The concurrent code path should produce the same results
+     */
+    @Test void concurrent() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(60, 45, 300, rand);
+        int threshold = EjmlConcurrency.ELEMENT_THRESHOLD;
+        try {
+            var expected = new SvdRandomized_DSCC(5, 5, 2);
+            assertTrue(expected.decompose(A));
+
+            EjmlConcurrency.ELEMENT_THRESHOLD = 0;
+            var found = new SvdRandomized_DSCC(5, 5, 2);
+            assertTrue(found.decompose(A));
+
+            for (int i = 0; i < 5; i++) {
+                assertEquals(expected.getSingularValues()[i], found.getSingularValues()[i], UtilEjml.TEST_F64);
+            }
+        } finally {
+            EjmlConcurrency.ELEMENT_THRESHOLD = threshold;
+        }
+    }
+}
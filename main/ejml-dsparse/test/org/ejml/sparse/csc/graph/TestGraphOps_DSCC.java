@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.graph;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestGraphOps_DSCC extends EjmlStandardJUnit {
+    @Test void bfsLevels() {
+        for (boolean symmetric : new boolean[]{false, true}) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rmat(7, 4, symmetric, rand);
+            DMatrixSparseCSC AT = CommonOps_DSCC.transpose(A, null, null);
+            for (int trial = 0; trial < 5; trial++) {
+                int source = rand.nextInt(A.numRows);
+                int[] expected = bruteForceBfs(A, source);
+
+                // with and without the transpose
+                assertArrayEquals(expected, GraphOps_DSCC.bfsLevels(A, null, source, null));
+                assertArrayEquals(expected, GraphOps_DSCC.bfsLevels(A, AT, source, new int[2]));
+            }
+        }
+    }
+
+    @Test void bfsParents() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rmat(7, 4, false, rand);
+        DMatrixSparseCSC AT = CommonOps_DSCC.transpose(A, null, null);
+        for (int trial = 0; trial < 5; trial++) {
+            int source = rand.nextInt(A.numRows);
+            int[] levels = bruteForceBfs(A, source);
+
+            for (DMatrixSparseCSC transpose : new DMatrixSparseCSC[]{null, AT}) {
+                int[] parents = GraphOps_DSCC.bfsParents(A, transpose, source, null);
+                for (int i = 0; i < A.numRows; i++) {
+                    if (levels[i] == -1) {
+                        assertEquals(-1, parents[i]);
+                    } else if (i == source) {
+                        assertEquals(source, parents[i]);
+                    } else {
+                        // must be an edge from the previous level with the lowest index
+                        int expected = -1;
+                        for (int j = 0; j < A.numRows; j++) {
+                            if (levels[j] == levels[i] - 1 && A.isAssigned(j, i)) {
+                                expected = j;
+                                break;
+                            }
+                        }
+                        assertEquals(expected, parents[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /** A graph with no vertices has no valid source, but operations on the whole graph should still work */
+    @Test void emptyGraph() {
+        var A = new DMatrixSparseCSC(0, 0);
+        assertThrows(IllegalArgumentException.class, () -> GraphOps_DSCC.bfsLevels(A, null, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> GraphOps_DSCC.bfsParents(A, null, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> GraphOps_DSCC.ssspBellmanFord(A, null, 0, new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> GraphOps_DSCC.ssspDeltaStepping(A, 0, 1.0, null));
+
+        assertEquals(0, GraphOps_DSCC.connectedComponents(A, new int[0]));
+        assertEquals(0, GraphOps_DSCC.triangleCount(A));
+    }
+
+    @Test void ssspBellmanFord() {
+        DMatrixSparseCSC A = createWeighted(7, -0.1, 1.0);
+        DMatrixSparseCSC AT = CommonOps_DSCC.transpose(A, null, null);
+        for (int trial = 0; trial < 5; trial++) {
+            int source = rand.nextInt(A.numRows);
+            double[] expected = new double[A.numRows];
+            boolean expectedValid = bruteForceBellmanFord(A, source, expected);
+
+            double[] found = new double[A.numRows];
+            assertEquals(expectedValid, GraphOps_DSCC.ssspBellmanFord(A, null, source, found));
+            if (expectedValid)
+                assertArrayEquals(expected, found, UtilEjml.TEST_F64);
+
+            assertEquals(expectedValid, GraphOps_DSCC.ssspBellmanFord(A, AT, source, found));
+            if (expectedValid)
+                assertArrayEquals(expected, found, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void ssspBellmanFord_negativeCycle() {
+        var A = new DMatrixSparseCSC(4, 4);
+        A.set(0, 1, 1.0);
+        A.set(1, 2, -2.0);
+        A.set(2, 1, 1.0);
+        A.set(3, 0, 1.0);
+
+        assertFalse(GraphOps_DSCC.ssspBellmanFord(A, null, 0, new double[4]));
+        // the cycle can't be reached from 3 if the edge is removed
+        A.remove(1, 2);
+        double[] distances = new double[4];
+        assertTrue(GraphOps_DSCC.ssspBellmanFord(A, null, 3, distances));
+        assertArrayEquals(new double[]{1, 2, Double.POSITIVE_INFINITY, 0}, distances);
+    }
+
+    @Test void ssspDeltaStepping() {
+        DMatrixSparseCSC A = createWeighted(7, 0.0, 1.0);
+        for (double delta : new double[]{0.05, 0.3, 10}) {
+            int source = rand.nextInt(A.numRows);
+            double[] expected = new double[A.numRows];
+            assertTrue(bruteForceBellmanFord(A, source, expected));
+            double[] found = GraphOps_DSCC.ssspDeltaStepping(A, source, delta, null);
+            assertArrayEquals(expected, found, UtilEjml.TEST_F64);
+        }
+
+        DMatrixSparseCSC B = createWeighted(4, -1.0, 1.0);
+        assertThrows(IllegalArgumentException.class, () -> GraphOps_DSCC.ssspDeltaStepping(B, 0, 1.0, null));
+    }
+
+    /**
+     * A long path with a small delta visits many buckets
+     */
+    @Test void ssspDeltaStepping_longPath() {
+        int N = 2000;
+        var A = new DMatrixSparseTriplet(N, N, 2*N);
+        for (int i = 0; i + 1 < N; i++) {
+            A.addItem(i, i + 1, 0.5 + rand.nextDouble());
+            if (i + 10 < N)
+                A.addItem(i, i + 10, 20*rand.nextDouble());
+        }
+        DMatrixSparseCSC G = DConvertMatrixStruct.convert(A, (DMatrixSparseCSC)null);
+
+        double[] expected = new double[N];
+        assertTrue(GraphOps_DSCC.ssspBellmanFord(G, null, 0, expected));
+        for (double delta : new double[]{0.1, 1.0, 5.0}) {
+            assertArrayEquals(expected, GraphOps_DSCC.ssspDeltaStepping(G, 0, delta, null), UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void pageRank() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rmat(6, 3, false, rand);
+        int N = A.numRows;
+        double damping = 0.85;
+
+        double[] found = new double[N];
+        int iterations = GraphOps_DSCC.pageRank(A, damping, 1e-12, 500, found);
+        assertTrue(iterations < 500);
+
+        // It should be a fixed point of the PageRank equation
+        int[] degree = new int[N];
+        double dangling = 0;
+        for (int row = 0; row < N; row++) {
+            for (int col = 0; col < N; col++) {
+                if (A.isAssigned(row, col))
+                    degree[row]++;
+            }
+            if (degree[row] == 0)
+                dangling += found[row];
+        }
+        double sum = 0;
+        for (int col = 0; col < N; col++) {
+            double expected = (1.0 - damping)/N + damping*dangling/N;
+            for (int row = 0; row < N; row++) {
+                if (A.isAssigned(row, col))
+                    expected += damping*found[row]/degree[row];
+            }
+            assertEquals(expected, found[col], 1e-10);
+            sum += found[col];
+        }
+        assertEquals(1.0, sum, UtilEjml.TEST_F64);
+    }
+
+    @Test void connectedComponents() {
+        // sparse enough that there will be several components
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rmat(8, 1, true, rand);
+        int N = A.numRows;
+
+        int[] labels = new int[N];
+        int count = GraphOps_DSCC.connectedComponents(A, labels);
+
+        // Every vertex should be labeled with the lowest vertex it can reach
+        int expectedCount = 0;
+        for (int i = 0; i < N; i++) {
+            int[] levels = bruteForceBfs(A, i);
+            int lowest = i;
+            for (int j = 0; j < N; j++) {
+                if (levels[j] != -1) {
+                    lowest = Math.min(lowest, j);
+                }
+            }
+            assertEquals(lowest, labels[i]);
+            if (lowest == i)
+                expectedCount++;
+        }
+        assertEquals(expectedCount, count);
+        assertTrue(count > 1);
+    }
+
+    @Test void triangleCount() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rmat(6, 4, true, rand);
+        // values should be ignored
+        CommonOps_DSCC.apply(A, x -> rand.nextDouble() + 2.0);
+        int N = A.numRows;
+
+        long expected = 0;
+        for (int i = 0; i < N; i++) {
+            for (int j = i + 1; j < N; j++) {
+                if (!A.isAssigned(i, j))
+                    continue;
+                for (int k = j + 1; k < N; k++) {
+                    if (A.isAssigned(j, k) && A.isAssigned(i, k))
+                        expected++;
+                }
+            }
+        }
+        assertTrue(expected > 0);
+        assertEquals(expected, GraphOps_DSCC.triangleCount(A));
+    }
+
+    @Test void kTruss() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rmat(6, 6, true, rand);
+        for (int k = 3; k <= 6; k++) {
+            boolean[][] expected = bruteForceTruss(A, k);
+            DMatrixSparseCSC found = GraphOps_DSCC.kTruss(A, k, null);
+            assertTrue(CommonOps_DSCC.checkStructure(found));
+
+            int N = A.numRows;
+            for (int i = 0; i < N; i++) {
+                for (int j = 0; j < N; j++) {
+                    assertEquals(expected[i][j], found.isAssigned(i, j));
+                    if (!expected[i][j])
+                        continue;
+                    // value is the number of triangles in the truss
+                    int triangles = 0;
+                    for (int m = 0; m < N; m++) {
+                        if (expected[i][m] && expected[m][j])
+                            triangles++;
+                    }
+                    assertEquals(triangles, found.get(i, j));
+                    assertTrue(triangles >= k - 2);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a random graph with random weights
+     */
+    DMatrixSparseCSC createWeighted( int scale, double min, double max ) {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rmat(scale, 4, false, rand);
+        CommonOps_DSCC.apply(A, x -> rand.nextDouble()*(max - min) + min);
+        return A;
+    }
+
+    static int[] bruteForceBfs( DMatrixSparseCSC A, int source ) {
+        int[] levels = new int[A.numRows];
+        Arrays.fill(levels, -1);
+        levels[source] = 0;
+        var queue = new ArrayDeque<Integer>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int vertex = queue.poll();
+            for (int j = 0; j < A.numCols; j++) {
+                if (A.isAssigned(vertex, j) && levels[j] == -1) {
+                    levels[j] = levels[vertex] + 1;
+                    queue.add(j);
+                }
+            }
+        }
+        return levels;
+    }
+
+    static boolean bruteForceBellmanFord( DMatrixSparseCSC A, int source, double[] distances ) {
+        int N = A.numRows;
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        distances[source] = 0;
+        for (int iteration = 0; iteration <= N; iteration++) {
+            boolean changed = false;
+            for (int col = 0; col < N; col++) {
+                for (int idx = A.col_idx[col]; idx < A.col_idx[col + 1]; idx++) {
+                    int row = A.nz_rows[idx];
+                    double d = distances[row] + A.nz_values[idx];
+                    if (d < distances[col]) {
+                        distances[col] = d;
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed)
+                return true;
+        }
+        return false;
+    }
+
+    static boolean[][] bruteForceTruss( DMatrixSparseCSC A, int k ) {
+        int N = A.numRows;
+        boolean[][] edges = new boolean[N][N];
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) {
+                edges[i][j] = i != j && A.isAssigned(i, j);
+            }
+        }
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            boolean[][] next = new boolean[N][N];
+            for (int i = 0; i < N; i++) {
+                for (int j = 0; j < N; j++) {
+                    if (!edges[i][j])
+                        continue;
+                    int triangles = 0;
+                    for (int m = 0; m < N; m++) {
+                        if (edges[i][m] && edges[m][j])
+                            triangles++;
+                    }
+                    next[i][j] = triangles >= k - 2;
+                    changed |= !next[i][j];
+                }
+            }
+            edges = next;
+        }
+        return edges;
+    }
+}
@@ -21,8 +21,10 @@ package org.ejml.sparse.csc.linsol;
 import org.ejml.EjmlStandardJUnit;
 import org.ejml.EjmlUnitTests;
 import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.CommonOps_DDRM;
 import org.ejml.dense.row.RandomMatrices_DDRM;
 import org.ejml.interfaces.linsol.LinearSolverSparse;
 import org.ejml.sparse.FillReducing;
@@ -103,6 +105,76 @@ public abstract class GenericLinearSolverSparseTests_DSCC extends EjmlStandardJU
         }
     }
 
+    /**
+     * Solving for multiple columns at once should produce the same results as solving each column one at a time
+     */
+    @Test void solve_multipleColumns() {
+        for (FillReducing perm : permutationTests) {
+            LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> solver = createSolver(perm);
+
+            DMatrixSparseCSC A = createA(20);
+            assertTrue(solver.setA(A));
+
+            // Number of columns will be less than, equal to, and more than a panel
+            for (int numCols : new int[]{2, 16, 37}) {
+                DMatrixRMaj B = create(A.numRows, numCols);
+                DMatrixRMaj B_cpy = B.copy();
+                DMatrixRMaj X = new DMatrixRMaj(1, 1);
+                solver.solve(B, X);
+
+                DMatrixRMaj b = new DMatrixRMaj(1, 1);
+                DMatrixRMaj x = new DMatrixRMaj(1, 1);
+                for (int col = 0; col < numCols; col++) {
+                    CommonOps_DDRM.extractColumn(B_cpy, col, b);
+                    solver.solve(b, x);
+                    for (int row = 0; row < X.numRows; row++) {
+                        assertEquals(x.get(row, 0), X.get(row, col), equalityTolerance);
+                    }
+                }
+
+                if (!solver.modifiesB()) {
+                    EjmlUnitTests.assertEquals(B, B_cpy, equalityTolerance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forces it to use concurrent algorithms, when available, and compares against the single threaded solution
+     */
+    @Test void randomSolveable_Concurrent() {
+        int threshold = EjmlConcurrency.ELEMENT_THRESHOLD;
+        try {
+            for (FillReducing perm : permutationTests) {
+                LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> expectedSolver = createSolver(perm);
+                LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> solver = createSolver(perm);
+
+                for (int mc = 0; mc < 10; mc++) {
+                    DMatrixSparseCSC A = createA(30);
+                    // Single column and multiple column solvers can use different concurrent algorithms
+                    DMatrixRMaj B = create(A.numRows, mc%2 == 0 ? 1 : 40);
+                    DMatrixRMaj expected = new DMatrixRMaj(1, 1);
+                    DMatrixRMaj found = new DMatrixRMaj(1, 1);
+
+                    EjmlConcurrency.ELEMENT_THRESHOLD = threshold;
+                    assertTrue(expectedSolver.setA(A.copy()));
+                    expectedSolver.solve(B.copy(), expected);
+
+                    EjmlConcurrency.ELEMENT_THRESHOLD = 0;
+                    assertTrue(solver.setA(A.copy()));
+                    solver.solve(B.copy(), found);
+                    EjmlUnitTests.assertEquals(expected, found, equalityTolerance);
+
+                    // solve a second time to make sure the cached data is handled correctly
+                    solver.solve(B.copy(), found);
+                    EjmlUnitTests.assertEquals(expected, found, equalityTolerance);
+                }
+            }
+        } finally {
+            EjmlConcurrency.ELEMENT_THRESHOLD = threshold;
+        }
+    }
+
     @Test void randomSolveable_Sparse() {
         for (FillReducing perm : permutationTests) {
 //            System.out.println("perm = "+perm);
@@ -180,7 +252,7 @@ public abstract class GenericLinearSolverSparseTests_DSCC extends EjmlStandardJU
         }
     }
 
-    @Test void quality() {
+    @Test public void quality() {
         DMatrixSparseCSC A_good = CommonOps_DSCC.diag(4, 3, 2, 1);
         DMatrixSparseCSC A_bad = CommonOps_DSCC.diag(4, 3, 2, 0.1);
 
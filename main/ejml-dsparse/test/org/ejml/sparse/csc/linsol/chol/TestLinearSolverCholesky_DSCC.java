@@ -18,16 +18,24 @@
 
 package org.ejml.sparse.csc.linsol.chol;
 
+import org.ejml.EjmlUnitTests;
 import org.ejml.UtilEjml;
+import org.ejml.concurrency.EjmlConcurrency;
 import org.ejml.data.DMatrixRMaj;
 import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.RandomMatrices_DDRM;
 import org.ejml.interfaces.linsol.LinearSolverSparse;
 import org.ejml.sparse.ComputePermutation;
 import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.SparseSymbolicAnalysis;
+import org.ejml.sparse.csc.CommonOps_DSCC;
 import org.ejml.sparse.csc.RandomMatrices_DSCC;
 import org.ejml.sparse.csc.decomposition.chol.CholeskyUpLooking_DSCC;
 import org.ejml.sparse.csc.factory.FillReductionFactory_DSCC;
 import org.ejml.sparse.csc.linsol.GenericLinearSolverSparseTests_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Peter Abeles
@@ -40,7 +48,7 @@ public class TestLinearSolverCholesky_DSCC extends GenericLinearSolverSparseTest
         canHandleTall = false;
         canDecomposeZeros = false;
 
-        permutationTests = new FillReducing[]{FillReducing.NONE, FillReducing.IDENTITY}; // todo add a cholesky specific
+        permutationTests = new FillReducing[]{FillReducing.NONE, FillReducing.IDENTITY, FillReducing.AMD};
     }
 
     @Override
@@ -50,6 +58,86 @@ public class TestLinearSolverCholesky_DSCC extends GenericLinearSolverSparseTest
         return new LinearSolverCholesky_DSCC(cholesky, cp);
     }
 
+    /**
+     * Update and downdate the decomposition and see if the solution matches decomposing the modified matrix
+     */
+    @Test void updateDowndate() {
+        for (FillReducing perm : permutationTests) {
+            var solver = (LinearSolverCholesky_DSCC)createSolver(perm);
+            var expectedSolver = createSolver(perm);
+
+            DMatrixSparseCSC A = createA(20);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(20, 2, rand);
+            assertTrue(solver.setA(A));
+
+            // The pattern of C needs to be inside the pattern of A, independent of the permutation
+            int row0 = A.nz_rows[A.col_idx[3]];
+            DMatrixSparseCSC C = new DMatrixSparseCSC(20, 2, 3);
+            C.set(row0, 0, 0.6);
+            C.set(3, 0, 0.7);
+            C.set(10, 1, 1.2);
+
+            DMatrixSparseCSC CC = CommonOps_DSCC.mult(C, CommonOps_DSCC.transpose(C, null, null), null);
+            DMatrixSparseCSC A2 = CommonOps_DSCC.add(1.0, A, 1.0, CC, null, null, null);
+
+            assertTrue(solver.update(C));
+            assertTrue(expectedSolver.setA(A2));
+            checkSameSolution(expectedSolver, solver, B);
+
+            assertTrue(solver.downdate(C));
+            assertTrue(expectedSolver.setA(A));
+            checkSameSolution(expectedSolver, solver, B);
+        }
+    }
+
+    /**
+     * The cached level schedules must be discarded when a symbolic analysis with a different pattern is set
+     */
+    @Test void setSymbolicAnalysis_differentPattern_Concurrent() {
+        int threshold = EjmlConcurrency.ELEMENT_THRESHOLD;
+        try {
+            EjmlConcurrency.ELEMENT_THRESHOLD = 0;
+            for (FillReducing perm : permutationTests) {
+                DMatrixSparseCSC A1 = createA(30);
+                DMatrixSparseCSC A2 = createA(30);
+                DMatrixRMaj B = RandomMatrices_DDRM.rectangle(30, 1, rand);
+
+                var original = (LinearSolverCholesky_DSCC)createSolver(perm);
+                assertTrue(original.setA(A1.copy()));
+                SparseSymbolicAnalysis analysis1 = original.getSymbolicAnalysis(null);
+                assertTrue(original.setA(A2.copy()));
+                SparseSymbolicAnalysis analysis2 = original.getSymbolicAnalysis(null);
+
+                var solver = (LinearSolverCholesky_DSCC)createSolver(perm);
+                solver.setSymbolicAnalysis(analysis1);
+                assertTrue(solver.setA(A1.copy()));
+                checkSameSolution(createSolver(perm), A1, solver, B);
+
+                solver.setSymbolicAnalysis(analysis2);
+                assertTrue(solver.setA(A2.copy()));
+                checkSameSolution(createSolver(perm), A2, solver, B);
+            }
+        } finally {
+            EjmlConcurrency.ELEMENT_THRESHOLD = threshold;
+        }
+    }
+
+    private void checkSameSolution( LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> expectedSolver,
+                                    DMatrixSparseCSC A,
+                                    LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> solver, DMatrixRMaj B ) {
+        assertTrue(expectedSolver.setA(A.copy()));
+        checkSameSolution(expectedSolver, solver, B);
+    }
+
+    private void checkSameSolution( LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> expectedSolver,
+                                    LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> solver, DMatrixRMaj B ) {
+        DMatrixRMaj expected = new DMatrixRMaj(1, 1);
+        DMatrixRMaj found = new DMatrixRMaj(1, 1);
+        expectedSolver.solve(B, expected);
+        solver.solve(B, found);
+        EjmlUnitTests.assertEquals(expected, found, equalityTolerance);
+    }
+
     @Override
     public DMatrixSparseCSC createA( int N ) {
         // turns out it's not trivial to create a SPD matrix with elements randomly zero that isn't nearly singular
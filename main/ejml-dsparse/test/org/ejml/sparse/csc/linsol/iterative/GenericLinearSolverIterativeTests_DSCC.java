@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlUnitTests;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.interfaces.linsol.LinearSolverSparse;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.linsol.GenericLinearSolverSparseTests_DSCC;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests which are specific to iterative solvers
+ *
+ * @author Peter Abeles
+ */
+public abstract class GenericLinearSolverIterativeTests_DSCC extends GenericLinearSolverSparseTests_DSCC {
+
+    protected GenericLinearSolverIterativeTests_DSCC() {
+        // There's no fill reducing permutation
+        permutationTests = new FillReducing[]{FillReducing.NONE};
+    }
+
+    public abstract LinearSolverIterative_DSCC createSolver( @Nullable Preconditioner_DSCC preconditioner );
+
+    /**
+     * Preconditioners which should be tested with this solver
+     */
+    public abstract List<Preconditioner_DSCC> createPreconditioners();
+
+    @Override
+    public LinearSolverSparse<DMatrixSparseCSC, DMatrixRMaj> createSolver( FillReducing permutation ) {
+        return createSolver((Preconditioner_DSCC)null);
+    }
+
+    LinearSolverIterative_DSCC createTightSolver( @Nullable Preconditioner_DSCC preconditioner ) {
+        LinearSolverIterative_DSCC solver = createSolver(preconditioner);
+        solver.tolerance = 1e-12;
+        return solver;
+    }
+
+    /**
+     * Creates a matrix where the rows are scaled very differently, which is difficult without a preconditioner
+     */
+    public DMatrixSparseCSC createPoorlyScaled( int size ) {
+        DMatrixSparseCSC A = createA(size);
+        double[] scales = new double[A.numRows];
+        for (int i = 0; i < scales.length; i++) {
+            scales[i] = Math.pow(10, rand.nextInt(4));
+        }
+        DMatrixSparseCSC D = CommonOps_DSCC.diag(scales);
+        // Keep it symmetric for solvers which need a symmetric matrix
+        DMatrixSparseCSC DA = CommonOps_DSCC.mult(D, A, null);
+        return CommonOps_DSCC.mult(DA, D, null);
+    }
+
+    @Test void preconditioned() {
+        for (Preconditioner_DSCC preconditioner : createPreconditioners()) {
+            LinearSolverIterative_DSCC solver = createTightSolver(preconditioner);
+            for (int trial = 0; trial < 5; trial++) {
+                DMatrixSparseCSC A = createPoorlyScaled(30);
+                DMatrixRMaj B = create(A.numRows, 2);
+
+                assertTrue(solver.setA(A));
+                DMatrixRMaj X = new DMatrixRMaj(1, 1);
+                solver.solve(B, X);
+                assertTrue(solver.isConverged());
+
+                DMatrixRMaj foundB = CommonOps_DSCC.mult(A, X, null);
+                EjmlUnitTests.assertRelativeEquals(B, foundB, 1e-8);
+            }
+        }
+    }
+
+    @Test void reportsConvergence() {
+        LinearSolverIterative_DSCC solver = createTightSolver(null);
+        DMatrixSparseCSC A = createA(20);
+        DMatrixRMaj B = CommonOps_DSCC.mult(A, create(A.numCols, 3), null);
+
+        assertTrue(solver.setA(A));
+        solver.solve(B, new DMatrixRMaj(1, 1));
+        assertTrue(solver.isConverged());
+        assertTrue(solver.getIterations() > 0);
+        assertTrue(solver.getResidual() <= solver.tolerance);
+    }
+
+    /**
+     * Quality is the relative residual from the most recent solve instead of a measure of how singular A is
+     */
+    @Override @Test public void quality() {
+        LinearSolverIterative_DSCC solver = createTightSolver(null);
+        DMatrixSparseCSC A = createA(20);
+        DMatrixRMaj B = CommonOps_DSCC.mult(A, create(A.numCols, 2), null);
+
+        assertTrue(solver.setA(A));
+        assertTrue(Double.isNaN(solver.quality()));
+
+        solver.solve(B, new DMatrixRMaj(1, 1));
+        assertEquals(solver.getResidual(), solver.quality());
+        assertTrue(solver.quality() <= solver.tolerance);
+
+        // A new matrix invalidates the previous residual
+        assertTrue(solver.setA(A));
+        assertTrue(Double.isNaN(solver.quality()));
+    }
+
+    @Test void maxIterations() {
+        LinearSolverIterative_DSCC solver = createTightSolver(null);
+        solver.maxIterations = 2;
+        DMatrixSparseCSC A = createA(30);
+        DMatrixRMaj B = create(A.numRows, 1);
+
+        assertTrue(solver.setA(A));
+        solver.solve(B, new DMatrixRMaj(1, 1));
+        assertFalse(solver.isConverged());
+        assertEquals(2, solver.getIterations());
+        assertTrue(solver.getResidual() > solver.tolerance);
+    }
+
+    @Test void listenerCanStop() {
+        LinearSolverIterative_DSCC solver = createTightSolver(null);
+        List<Integer> found = new ArrayList<>();
+        solver.listener = ( column, iteration, residual ) -> {
+            assertEquals(0, column);
+            found.add(iteration);
+            return iteration < 3;
+        };
+        DMatrixSparseCSC A = createA(30);
+        DMatrixRMaj B = create(A.numRows, 1);
+
+        assertTrue(solver.setA(A));
+        solver.solve(B, new DMatrixRMaj(1, 1));
+        assertFalse(solver.isConverged());
+        assertEquals(3, solver.getIterations());
+        for (int i = 0; i < found.size(); i++) {
+            assertEquals(i, (int)found.get(i));
+        }
+    }
+
+    /**
+     * If the initial guess is the solution then it should stop immediately
+     */
+    @Test void initialGuess() {
+        LinearSolverIterative_DSCC solver = createTightSolver(null);
+        DMatrixSparseCSC A = createA(20);
+        DMatrixRMaj X = create(A.numCols, 2);
+        DMatrixRMaj B = CommonOps_DSCC.mult(A, X, null);
+
+        assertTrue(solver.setA(A));
+        solver.useInitialGuess = true;
+        DMatrixRMaj found = X.copy();
+        solver.solve(B, found);
+        assertTrue(solver.isConverged());
+        assertEquals(0, solver.getIterations());
+        EjmlUnitTests.assertEquals(X, found, 1e-12);
+
+        // it should converge to the same solution with a poor initial guess
+        found.fill(1.0);
+        solver.solve(B, found);
+        assertTrue(solver.isConverged());
+        EjmlUnitTests.assertEquals(X, found, 1e-8);
+    }
+
+    @Test void zeroB() {
+        LinearSolverIterative_DSCC solver = createTightSolver(null);
+        DMatrixSparseCSC A = createA(10);
+        DMatrixRMaj B = new DMatrixRMaj(A.numRows, 2);
+        DMatrixRMaj X = create(A.numCols, 2);
+
+        assertTrue(solver.setA(A));
+        solver.solve(B, X);
+        assertTrue(solver.isConverged());
+        for (int i = 0; i < X.getNumElements(); i++) {
+            assertEquals(0.0, X.data[i]);
+        }
+    }
+
+    /**
+     * Creates a random square matrix which isn't symmetric and is well conditioned
+     */
+    public DMatrixSparseCSC createNonSymmetric( int size ) {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(size, size, size*size/4, -1, 1, rand);
+        double[] diag = new double[size];
+        for (int i = 0; i < size; i++) {
+            diag[i] = size/2.0 + rand.nextDouble();
+        }
+        return CommonOps_DSCC.add(1.0, A, 1.0, CommonOps_DSCC.diag(diag), null, null, null);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLinearSolverConjugateGradient_DSCC extends GenericLinearSolverIterativeTests_DSCC {
+    public TestLinearSolverConjugateGradient_DSCC() {
+        canHandleTall = false;
+        canHandleWide = false;
+    }
+
+    @Override
+    public LinearSolverIterative_DSCC createSolver( @Nullable Preconditioner_DSCC preconditioner ) {
+        return new LinearSolverConjugateGradient_DSCC(preconditioner);
+    }
+
+    @Override
+    public List<Preconditioner_DSCC> createPreconditioners() {
+        return List.of(new PreconditionerJacobi_DSCC(), new PreconditionerIncompleteCholesky_DSCC());
+    }
+
+    @Override
+    public DMatrixSparseCSC createA( int size ) {
+        return RandomMatrices_DSCC.symmetricPosDef(size, 0.25, rand);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlUnitTests;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.factory.LinearSolverFactory_DDRM;
+import org.ejml.interfaces.linsol.LinearSolverDense;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLinearSolverLsqr_DSCC extends GenericLinearSolverIterativeTests_DSCC {
+    @Override
+    public LinearSolverIterative_DSCC createSolver( @Nullable Preconditioner_DSCC preconditioner ) {
+        return new LinearSolverLsqr_DSCC();
+    }
+
+    @Override
+    public List<Preconditioner_DSCC> createPreconditioners() {
+        return List.of();
+    }
+
+    /**
+     * Square or tall matrices with full rank, so that there's a unique solution
+     */
+    @Override
+    public DMatrixSparseCSC createA( int size ) {
+        int numRows = size + rand.nextInt(size/2 + 1);
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(numRows, size, numRows*size/4, -1, 1, rand);
+        DMatrixSparseCSC I = CommonOps_DSCC.identity(numRows, size);
+        return CommonOps_DSCC.add(1.0, A, size/2.0, I, null, null, null);
+    }
+
+    /**
+     * The system has no exact solution. Compare against the dense least-squares solution
+     */
+    @Test void leastSquares() {
+        LinearSolverIterative_DSCC solver = createTightSolver(null);
+
+        for (int trial = 0; trial < 5; trial++) {
+            DMatrixSparseCSC A = createA(20);
+            DMatrixRMaj B = create(A.numRows, 2);
+            DMatrixRMaj found = new DMatrixRMaj(1, 1);
+
+            assertTrue(solver.setA(A));
+            solver.solve(B, found);
+            assertTrue(solver.isConverged());
+
+            LinearSolverDense<DMatrixRMaj> dense = LinearSolverFactory_DDRM.leastSquares(A.numRows, A.numCols);
+            DMatrixRMaj expected = new DMatrixRMaj(1, 1);
+            assertTrue(dense.setA(DConvertMatrixStruct.convert(A, (DMatrixRMaj)null)));
+            dense.solve(B, expected);
+
+            EjmlUnitTests.assertEquals(expected, found, 1e-8);
+        }
+    }
+
+    /**
+     * For a wide matrix it should find the solution with the smallest norm
+     */
+    @Test void wide() {
+        LinearSolverIterative_DSCC solver = createTightSolver(null);
+        DMatrixSparseCSC A = CommonOps_DSCC.transpose(createA(15), null, null);
+        DMatrixRMaj B = create(A.numRows, 1);
+        DMatrixRMaj found = new DMatrixRMaj(1, 1);
+
+        assertTrue(solver.setA(A));
+        solver.solve(B, found);
+        assertTrue(solver.isConverged());
+
+        EjmlUnitTests.assertEquals(B, CommonOps_DSCC.mult(A, found, null), 1e-8);
+
+        // the pseudo inverse finds the minimum norm solution
+        DMatrixRMaj Ad = DConvertMatrixStruct.convert(A, (DMatrixRMaj)null);
+        LinearSolverDense<DMatrixRMaj> dense = LinearSolverFactory_DDRM.pseudoInverse(true);
+        assertTrue(dense.setA(Ad));
+        DMatrixRMaj expected = new DMatrixRMaj(1, 1);
+        dense.solve(B, expected);
+        EjmlUnitTests.assertEquals(expected, found, 1e-8);
+    }
+}
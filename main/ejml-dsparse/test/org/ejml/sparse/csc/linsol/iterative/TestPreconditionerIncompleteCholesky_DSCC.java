@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.factory.DecompositionFactory_DSCC;
+import org.ejml.interfaces.decomposition.CholeskySparseDecomposition_F64;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPreconditionerIncompleteCholesky_DSCC extends EjmlStandardJUnit {
+    /**
+     * A tridiagonal matrix has no fill in, so the incomplete factor is the same as the complete one
+     */
+    @Test void noFillIn() {
+        DMatrixSparseCSC A = tridiagonal(20);
+
+        var alg = new PreconditionerIncompleteCholesky_DSCC();
+        assertTrue(alg.setA(A));
+
+        CholeskySparseDecomposition_F64<DMatrixSparseCSC> chol = DecompositionFactory_DSCC.cholesky();
+        assertTrue(chol.decompose(A.copy()));
+
+        EjmlUnitTests.assertEquals(chol.getT(null), alg.getL(), UtilEjml.TEST_F64);
+    }
+
+    /**
+     * L*L' should be equal to A for every element in the pattern of A
+     */
+    @Test void matchesPattern() {
+        for (int trial = 0; trial < 10; trial++) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(30, 0.8, rand);
+            // make it diagonally dominant so that it doesn't break down
+            A = CommonOps_DSCC.add(1.0, A, 30.0, CommonOps_DSCC.identity(30), null, null, null);
+
+            var alg = new PreconditionerIncompleteCholesky_DSCC();
+            assertTrue(alg.setA(A));
+
+            DMatrixSparseCSC L = alg.getL();
+            assertTrue(CommonOps_DSCC.checkStructure(L));
+            DMatrixSparseCSC LLt = CommonOps_DSCC.mult(L, CommonOps_DSCC.transpose(L, null, null), null);
+
+            for (int col = 0; col < A.numCols; col++) {
+                for (int idx = A.col_idx[col]; idx < A.col_idx[col + 1]; idx++) {
+                    int row = A.nz_rows[idx];
+                    assertEquals(A.nz_values[idx], LLt.get(row, col), UtilEjml.TEST_F64);
+                }
+            }
+        }
+    }
+
+    @Test void apply() {
+        DMatrixSparseCSC A = tridiagonal(15);
+        var alg = new PreconditionerIncompleteCholesky_DSCC();
+        assertTrue(alg.setA(A));
+
+        double[] r = new double[A.numRows];
+        for (int i = 0; i < r.length; i++) {
+            r[i] = rand.nextGaussian();
+        }
+        double[] z = new double[A.numRows];
+        alg.apply(r, z);
+
+        // Since there's no fill in, M = A
+        DMatrixRMaj found = CommonOps_DSCC.mult(A, DMatrixRMaj.wrap(A.numRows, 1, z), null);
+        for (int i = 0; i < r.length; i++) {
+            assertEquals(r[i], found.data[i], UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void notPositiveDefinite() {
+        DMatrixSparseCSC A = CommonOps_DSCC.diag(1, 2, -1, 3);
+        assertFalse(new PreconditionerIncompleteCholesky_DSCC().setA(A));
+    }
+
+    @Test void missingDiagonal() {
+        DMatrixSparseTriplet T = new DMatrixSparseTriplet(3, 3, 4);
+        T.addItem(0, 0, 1);
+        T.addItem(1, 0, 0.1);
+        T.addItem(0, 1, 0.1);
+        T.addItem(2, 2, 1);
+        DMatrixSparseCSC A = DConvertMatrixStruct.convert(T, (DMatrixSparseCSC)null);
+        assertFalse(new PreconditionerIncompleteCholesky_DSCC().setA(A));
+    }
+
+    static DMatrixSparseCSC tridiagonal( int N ) {
+        DMatrixSparseTriplet T = new DMatrixSparseTriplet(N, N, 3*N);
+        for (int i = 0; i < N; i++) {
+            T.addItem(i, i, 4);
+            if (i > 0) {
+                T.addItem(i, i - 1, -1);
+                T.addItem(i - 1, i, -1);
+            }
+        }
+        return DConvertMatrixStruct.convert(T, (DMatrixSparseCSC)null);
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPreconditionerIncompleteLU_DSCC extends EjmlStandardJUnit {
+    /**
+     * L*U should be equal to A for every element in the pattern of A
+     */
+    @Test void matchesPattern() {
+        for (int trial = 0; trial < 10; trial++) {
+            DMatrixSparseCSC A = createA(30);
+
+            var alg = new PreconditionerIncompleteLU_DSCC();
+            assertTrue(alg.setA(A));
+
+            DMatrixRMaj LU = multLU(alg.getLU());
+            for (int col = 0; col < A.numCols; col++) {
+                for (int idx = A.col_idx[col]; idx < A.col_idx[col + 1]; idx++) {
+                    int row = A.nz_rows[idx];
+                    assertEquals(A.nz_values[idx], LU.get(row, col), UtilEjml.TEST_F64);
+                }
+            }
+        }
+    }
+
+    /**
+     * If A is dense then ILU(0) is a complete LU decomposition
+     */
+    @Test void dense() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(12, 12, 144, rand);
+        A = CommonOps_DSCC.add(1.0, A, 12.0, CommonOps_DSCC.identity(12), null, null, null);
+
+        var alg = new PreconditionerIncompleteLU_DSCC();
+        assertTrue(alg.setA(A));
+
+        double[] r = new double[A.numRows];
+        for (int i = 0; i < r.length; i++) {
+            r[i] = rand.nextGaussian();
+        }
+        double[] z = new double[A.numRows];
+        alg.apply(r, z);
+
+        DMatrixRMaj found = CommonOps_DSCC.mult(A, DMatrixRMaj.wrap(A.numRows, 1, z), null);
+        for (int i = 0; i < r.length; i++) {
+            assertEquals(r[i], found.data[i], UtilEjml.TEST_F64);
+        }
+    }
+
+    /**
+     * Unsorted input should produce the same results as sorted input
+     */
+    @Test void unsorted() {
+        DMatrixSparseCSC A = createA(20);
+        DMatrixSparseCSC shuffled = reverseColumns(A);
+
+        var expected = new PreconditionerIncompleteLU_DSCC();
+        var found = new PreconditionerIncompleteLU_DSCC();
+        assertTrue(expected.setA(A));
+        assertTrue(found.setA(shuffled));
+
+        assertTrue(CommonOps_DSCC.checkStructure(found.getLU()));
+        assertTrue(CommonOps_DSCC.checkIndicesSorted(found.getLU()));
+        for (int i = 0; i < A.nz_length; i++) {
+            assertEquals(expected.getLU().nz_values[i], found.getLU().nz_values[i], UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void missingDiagonal() {
+        DMatrixSparseCSC A = CommonOps_DSCC.diag(1, 2, 0, 3);
+        A.remove(2, 2);
+        assertFalse(new PreconditionerIncompleteLU_DSCC().setA(A));
+    }
+
+    /**
+     * Reverses the order of elements inside each column
+     */
+    static DMatrixSparseCSC reverseColumns( DMatrixSparseCSC A ) {
+        DMatrixSparseCSC B = A.copy();
+        for (int col = 0; col < A.numCols; col++) {
+            int idx0 = A.col_idx[col];
+            int idx1 = A.col_idx[col + 1];
+            for (int i = idx0; i < idx1; i++) {
+                B.nz_rows[idx1 - 1 - (i - idx0)] = A.nz_rows[i];
+                B.nz_values[idx1 - 1 - (i - idx0)] = A.nz_values[i];
+            }
+        }
+        B.indicesSorted = false;
+        return B;
+    }
+
+    DMatrixSparseCSC createA( int N ) {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(N, N, N*N/5, rand);
+        return CommonOps_DSCC.add(1.0, A, N, CommonOps_DSCC.identity(N), null, null, null);
+    }
+
+    /**
+     * Multiplies the L and U which are stored together
+     */
+    static DMatrixRMaj multLU( DMatrixSparseCSC LU ) {
+        int N = LU.numCols;
+        DMatrixRMaj L = new DMatrixRMaj(N, N);
+        DMatrixRMaj U = new DMatrixRMaj(N, N);
+        for (int col = 0; col < N; col++) {
+            L.set(col, col, 1.0);
+            for (int idx = LU.col_idx[col]; idx < LU.col_idx[col + 1]; idx++) {
+                int row = LU.nz_rows[idx];
+                if (row > col)
+                    L.set(row, col, LU.nz_values[idx]);
+                else
+                    U.set(row, col, LU.nz_values[idx]);
+            }
+        }
+        return CommonOps_DDRM.mult(L, U, null);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.linsol.iterative;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPreconditionerJacobi_DSCC extends EjmlStandardJUnit {
+    @Test void apply() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(10, 10, 40, rand);
+        A = CommonOps_DSCC.add(1.0, A, 5.0, CommonOps_DSCC.identity(10), null, null, null);
+
+        var alg = new PreconditionerJacobi_DSCC();
+        assertTrue(alg.setA(A));
+
+        double[] r = new double[10];
+        double[] z = new double[10];
+        for (int i = 0; i < r.length; i++) {
+            r[i] = rand.nextGaussian();
+        }
+        alg.apply(r, z);
+
+        for (int i = 0; i < r.length; i++) {
+            assertEquals(r[i]/A.get(i, i), z[i], UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void zeroDiagonal() {
+        DMatrixSparseCSC A = CommonOps_DSCC.diag(1, 2, 0, 3);
+        assertFalse(new PreconditionerJacobi_DSCC().setA(A));
+    }
+}
@@ -37,6 +37,9 @@ public class TestLinearSolverQrLeftLooking_DSCC extends GenericLinearSolverSpars
     public TestLinearSolverQrLeftLooking_DSCC() {
         canHandleWide = false;
         canDecomposeZeros = false;
+
+        permutationTests = new FillReducing[]{FillReducing.NONE, FillReducing.IDENTITY, FillReducing.RANDOM,
+                FillReducing.COLAMD};
     }
 
     @Override
@@ -18,27 +18,137 @@
 
 package org.ejml.sparse.csc.misc;
 
-
 import org.ejml.EjmlStandardJUnit;
-import org.junit.jupiter.api.Disabled;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.FillReducing;
+import org.ejml.sparse.csc.MatrixFeatures_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.factory.FillReductionFactory_DSCC;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author Peter Abeles
  */
 public class TestApplyFillReductionPermutation_DSCC extends EjmlStandardJUnit {
-    @Disabled
+    @Test
+    public void none() {
+        var alg = new ApplyFillReductionPermutation_DSCC(null, false);
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(8, 6, 20, rand);
+        assertSame(A, alg.apply(A));
+        assertNull(alg.getArrayPinv());
+        assertNull(alg.getArrayP());
+        assertNull(alg.getArrayQ());
+    }
+
+    /**
+     * The permutation should be applied to the rows and columns of a symmetric matrix
+     */
     @Test
     public void symmetric() {
-        fail("implement");
+        for (FillReducing type : new FillReducing[]{FillReducing.RANDOM, FillReducing.AMD}) {
+            var alg = new ApplyFillReductionPermutation_DSCC(FillReductionFactory_DSCC.create(type), true);
+            DMatrixSparseCSC A = RandomMatrices_DSCC.symmetricPosDef(20, 0.25, rand);
+            DMatrixSparseCSC found = alg.apply(A);
+
+            int[] p = type == FillReducing.AMD ? alg.getArrayQ() : alg.getArrayP();
+            int[] pinv = alg.getArrayPinv();
+            assertNotNull(p);
+            assertNotNull(pinv);
+
+            // only the upper triangle is saved
+            for (int row = 0; row < A.numRows; row++) {
+                for (int col = row; col < A.numCols; col++) {
+                    assertEquals(A.get(p[row], p[col]), found.get(row, col), UtilEjml.TEST_F64);
+                    assertEquals(row, pinv[p[row]]);
+                }
+            }
+        }
     }
 
-    @Disabled
+    /**
+     * Row and column permutations are both applied, i.e. P*A*Q
+     */
     @Test
     public void non_symmetric() {
-        fail("implement");
+        var alg = new ApplyFillReductionPermutation_DSCC(FillReductionFactory_DSCC.create(FillReducing.RANDOM), false);
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(12, 9, 40, rand);
+        DMatrixSparseCSC found = alg.apply(A);
+
+        int[] p = alg.getArrayP();
+        int[] q = alg.getArrayQ();
+        assertNotNull(p);
+        assertNotNull(q);
+        assertNotNull(alg.getArrayPinv());
+
+        for (int row = 0; row < A.numRows; row++) {
+            for (int col = 0; col < A.numCols; col++) {
+                assertEquals(A.get(p[row], q[col]), found.get(row, col), UtilEjml.TEST_F64);
+            }
+        }
     }
 
-}
\ No newline at end of file
+    /**
+     * Only a column permutation is computed. The rows should not be modified
+     */
+    @Test
+    public void non_symmetric_columnOnly() {
+        var alg = new ApplyFillReductionPermutation_DSCC(FillReductionFactory_DSCC.create(FillReducing.COLAMD), false);
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(12, 9, 40, rand);
+        DMatrixSparseCSC found = alg.apply(A);
+
+        int[] q = alg.getArrayQ();
+        assertNotNull(q);
+        assertNull(alg.getArrayP());
+        assertNull(alg.getArrayPinv());
+
+        for (int row = 0; row < A.numRows; row++) {
+            for (int col = 0; col < A.numCols; col++) {
+                assertEquals(A.get(row, q[col]), found.get(row, col), UtilEjml.TEST_F64);
+            }
+        }
+    }
+
+    /**
+     * A fixed permutation should be used instead of computing a new one
+     */
+    @Test
+    public void setFixedPermutation() {
+        var alg = new ApplyFillReductionPermutation_DSCC(FillReductionFactory_DSCC.create(FillReducing.RANDOM), false);
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(12, 9, 40, rand);
+        DMatrixSparseCSC expected = alg.apply(A).copy();
+        int[] p = alg.getArrayP().clone();
+        int[] q = alg.getArrayQ().clone();
+
+        // the random permutation would be different if it was computed again
+        alg.setFixedPermutation(p, q);
+        for (int trial = 0; trial < 2; trial++) {
+            DMatrixSparseCSC found = alg.apply(A);
+            assertTrue(MatrixFeatures_DSCC.isEqualsSort(expected, found, UtilEjml.TEST_F64));
+            assertSame(p, alg.getArrayP());
+            assertSame(q, alg.getArrayQ());
+        }
+
+        // only a column permutation
+        alg.setFixedPermutation(null, q);
+        DMatrixSparseCSC found = alg.apply(A);
+        assertNull(alg.getArrayPinv());
+        for (int row = 0; row < A.numRows; row++) {
+            for (int col = 0; col < A.numCols; col++) {
+                assertEquals(A.get(row, q[col]), found.get(row, col), UtilEjml.TEST_F64);
+            }
+        }
+
+        // Nothing is permuted
+        alg.setFixedPermutation(null, null);
+        assertSame(A, alg.apply(A));
+        assertFalse(alg.isApplied());
+
+        // Go back to computing the permutation
+        alg.clearFixedPermutation();
+        assertNotSame(A, alg.apply(A));
+        assertTrue(alg.isApplied());
+    }
+}
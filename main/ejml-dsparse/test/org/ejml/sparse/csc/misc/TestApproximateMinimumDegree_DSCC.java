@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2021, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.IGrowArray;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestApproximateMinimumDegree_DSCC extends EjmlStandardJUnit {
+
+    ApproximateMinimumDegree_DSCC alg = new ApproximateMinimumDegree_DSCC();
+    IGrowArray perm = new IGrowArray();
+
+    /**
+     * Makes sure a valid permutation is always returned
+     */
+    @Test
+    public void orderSymmetric_validPermutation() {
+        for (int N : new int[]{1, 2, 5, 20, 100}) {
+            for (int trial = 0; trial < 5; trial++) {
+                DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(N, N, Math.max(1, N*N/5), rand);
+                alg.orderSymmetric(A, perm);
+                checkPermutation(perm, N);
+            }
+        }
+    }
+
+    @Test
+    public void orderColumns_validPermutation() {
+        for (int N : new int[]{1, 2, 5, 20, 100}) {
+            for (int trial = 0; trial < 5; trial++) {
+                int rows = N + rand.nextInt(10);
+                DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(rows, N, Math.max(1, rows*N/5), rand);
+                alg.orderColumns(A, perm);
+                checkPermutation(perm, N);
+            }
+        }
+    }
+
+    /**
+     * An arrow matrix where the first row and column are filled in. Without reordering the factor is dense. The
+     * dense node should be eliminated last, resulting in no fill in.
+     */
+    @Test
+    public void orderSymmetric_arrow() {
+        int N = 30;
+        DMatrixSparseCSC A = new DMatrixSparseCSC(N, N, 3*N);
+        for (int i = 0; i < N; i++) {
+            A.set(i, i, N + 1);
+            if (i > 0) {
+                A.set(0, i, 1);
+                A.set(i, 0, 1);
+            }
+        }
+
+        alg.orderSymmetric(A, perm);
+        checkPermutation(perm, N);
+        assertEquals(0, perm.data[N - 1]);
+
+        assertEquals(N*(N + 1)/2, countNonZeroL(A, null));
+        assertEquals(2*N - 1, countNonZeroL(A, perm.data));
+    }
+
+    /**
+     * The ordering should reduce the fill in of a 2D Laplacian
+     */
+    @Test
+    public void orderSymmetric_grid() {
+        DMatrixSparseCSC A = laplacian2D(12);
+
+        alg.orderSymmetric(A, perm);
+        checkPermutation(perm, A.numCols);
+
+        int natural = countNonZeroL(A, null);
+        int amd = countNonZeroL(A, perm.data);
+        assertTrue(amd < natural, amd + " vs " + natural);
+    }
+
+    /**
+     * Dense rows should be ignored when computing the column ordering
+     */
+    @Test
+    public void orderColumns_denseRow() {
+        int N = 30;
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(N + 5, N, N*2, rand);
+        DMatrixSparseCSC B = new DMatrixSparseCSC(N + 6, N, 0);
+        for (int col = 0; col < N; col++) {
+            for (int p = A.col_idx[col]; p < A.col_idx[col + 1]; p++) {
+                B.set(A.nz_rows[p], col, A.nz_values[p]);
+            }
+            B.set(N + 5, col, 1.0);
+        }
+
+        alg.orderColumns(A, perm);
+        int[] expected = perm.data.clone();
+        alg.orderColumns(B, perm);
+        for (int i = 0; i < N; i++) {
+            assertEquals(expected[i], perm.data[i]);
+        }
+    }
+
+    private static void checkPermutation( IGrowArray perm, int N ) {
+        assertEquals(N, perm.length);
+        boolean[] found = new boolean[N];
+        for (int i = 0; i < N; i++) {
+            int v = perm.data[i];
+            assertTrue(v >= 0 && v < N);
+            assertFalse(found[v]);
+            found[v] = true;
+        }
+    }
+
+    /**
+     * Computes the number of non-zero elements in the Cholesky factor from the symbolic analysis
+     */
+    private static int countNonZeroL( DMatrixSparseCSC A, int[] perm ) {
+        int N = A.numCols;
+        DMatrixSparseCSC C = A;
+        if (perm != null) {
+            int[] pinv = new int[N];
+            CommonOps_DSCC.permutationInverse(perm, pinv, N);
+            C = new DMatrixSparseCSC(N, N, 0);
+            CommonOps_DSCC.permuteSymmetric(A, pinv, C, null);
+        }
+        int[] parent = new int[N];
+        int[] post = new int[N];
+        int[] counts = new int[N];
+        TriangularSolver_DSCC.eliminationTree(C, false, parent, null);
+        TriangularSolver_DSCC.postorder(parent, N, post, null);
+        new ColumnCounts_DSCC(false).process(C, parent, post, counts);
+
+        int total = 0;
+        for (int i = 0; i < N; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+
+    private static DMatrixSparseCSC laplacian2D( int width ) {
+        int N = width*width;
+        DMatrixSparseCSC A = new DMatrixSparseCSC(N, N, 5*N);
+        for (int y = 0; y < width; y++) {
+            for (int x = 0; x < width; x++) {
+                int i = y*width + x;
+                A.set(i, i, 4);
+                if (x > 0) A.set(i, i - 1, -1);
+                if (x + 1 < width) A.set(i, i + 1, -1);
+                if (y > 0) A.set(i, i - width, -1);
+                if (y + 1 < width) A.set(i, i + width, -1);
+            }
+        }
+        return A;
+    }
+}
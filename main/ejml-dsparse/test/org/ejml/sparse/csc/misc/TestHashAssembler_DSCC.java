@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestHashAssembler_DSCC extends EjmlStandardJUnit {
+    @Test void set_add_get() {
+        var alg = new HashAssembler_DSCC(4, 5, 0);
+        alg.set(1, 2, 3.0);
+        alg.add(1, 2, 1.0);
+        alg.add(3, 4, 2.0);
+        assertEquals(4.0, alg.get(1, 2));
+        assertEquals(2.0, alg.get(3, 4));
+        assertEquals(0.0, alg.get(0, 0));
+        assertEquals(2, alg.getNonZeroLength());
+        assertTrue(alg.isAssigned(3, 4));
+        assertFalse(alg.isAssigned(4 - 1, 0));
+
+        alg.set(1, 2, -1.0);
+        assertEquals(-1.0, alg.get(1, 2));
+
+        alg.remove(1, 2);
+        assertFalse(alg.isAssigned(1, 2));
+        assertEquals(1, alg.getNonZeroLength());
+    }
+
+    @Test void bounds() {
+        var alg = new HashAssembler_DSCC(4, 5, 0);
+        assertThrows(IllegalArgumentException.class, () -> alg.set(4, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> alg.add(0, 5, 1));
+        assertThrows(IllegalArgumentException.class, () -> alg.get(-1, 0));
+    }
+
+    /**
+     * Assemble a random matrix and compare against the same operations applied to a dense matrix
+     */
+    @Test void convert() {
+        for (int[] shape : new int[][]{{20, 30}, {30, 20}, {1, 7}, {0, 4}}) {
+            var alg = new HashAssembler_DSCC(shape[0], shape[1], 10);
+            DMatrixRMaj expected = new DMatrixRMaj(shape[0], shape[1]);
+            addRandom(alg, expected, 200);
+
+            DMatrixSparseCSC found = alg.convert(null);
+            assertTrue(CommonOps_DSCC.checkStructure(found));
+            assertTrue(found.indicesSorted);
+            assertEquals(alg.getNonZeroLength(), found.nz_length);
+            EjmlUnitTests.assertEquals(expected, DConvertMatrixStruct.convert(found, (DMatrixRMaj)null), UtilEjml.TEST_F64);
+
+            // Convert a second time into the same matrix
+            alg.convert(found);
+            EjmlUnitTests.assertEquals(expected, DConvertMatrixStruct.convert(found, (DMatrixRMaj)null), UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void merge() {
+        var a = new HashAssembler_DSCC(15, 12, 0);
+        var b = new HashAssembler_DSCC(15, 12, 0);
+        DMatrixRMaj expected = new DMatrixRMaj(15, 12);
+        addRandom(a, expected, 60);
+        addRandom(b, expected, 60);
+
+        a.merge(b);
+        EjmlUnitTests.assertEquals(expected, DConvertMatrixStruct.convert(a.convert(null), (DMatrixRMaj)null), UtilEjml.TEST_F64);
+
+        assertThrows(IllegalArgumentException.class, () -> a.merge(new HashAssembler_DSCC(15, 11, 0)));
+    }
+
+    /**
+     * Converting a list of assemblers should be the same as merging them
+     */
+    @Test void convert_list() {
+        List<HashAssembler_DSCC> list = new ArrayList<>();
+        DMatrixRMaj expected = new DMatrixRMaj(25, 18);
+        for (int i = 0; i < 4; i++) {
+            var a = new HashAssembler_DSCC(25, 18, 0);
+            addRandom(a, expected, 80);
+            list.add(a);
+        }
+
+        DMatrixSparseCSC found = HashAssembler_DSCC.convert(list, null);
+        assertTrue(CommonOps_DSCC.checkStructure(found));
+        EjmlUnitTests.assertEquals(expected, DConvertMatrixStruct.convert(found, (DMatrixRMaj)null), UtilEjml.TEST_F64);
+    }
+
+    @Test void reshape() {
+        var alg = new HashAssembler_DSCC(4, 5, 0);
+        alg.set(1, 1, 2);
+        alg.reshape(10, 2);
+        assertEquals(0, alg.getNonZeroLength());
+        alg.set(9, 1, 2);
+        DMatrixSparseCSC found = alg.convert(null);
+        assertEquals(10, found.numRows);
+        assertEquals(2, found.numCols);
+        assertEquals(2.0, found.get(9, 1));
+    }
+
+    private void addRandom( HashAssembler_DSCC alg, DMatrixRMaj expected, int count ) {
+        if (expected.numRows == 0 || expected.numCols == 0)
+            return;
+        for (int i = 0; i < count; i++) {
+            int row = rand.nextInt(expected.numRows);
+            int col = rand.nextInt(expected.numCols);
+            double value = rand.nextGaussian();
+            alg.add(row, col, value);
+            expected.add(row, col, value);
+        }
+    }
+}
@@ -285,4 +285,29 @@ public class TestImplCommonOps_DSCC extends EjmlStandardJUnit {
             }
         }
     }
+
+    /**
+     * The output is a different matrix which needs to grow while elements are being selected
+     */
+    @Test
+    public void select_growOutput() {
+        int dim = 30;
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(dim, dim, 400, 1, 2, rand);
+        DMatrixSparseCSC B = new DMatrixSparseCSC(dim, dim, 0);
+
+        IPredicateBinary selector = IPredicatesBinary.lowerTriangle;
+        ImplCommonOps_DSCC.select(A, B, selector);
+        assertTrue(CommonOps_DSCC.checkStructure(B));
+
+        for (int row = 0; row < dim; row++) {
+            for (int col = 0; col < dim; col++) {
+                if (selector.apply(row, col)) {
+                    assertEquals(A.get(row, col), B.get(row, col));
+                    assertEquals(A.isAssigned(row, col), B.isAssigned(row, col));
+                } else {
+                    assertFalse(B.isAssigned(row, col));
+                }
+            }
+        }
+    }
 }
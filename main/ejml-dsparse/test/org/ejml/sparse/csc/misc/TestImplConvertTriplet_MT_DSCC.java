@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseTriplet;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestImplConvertTriplet_MT_DSCC extends EjmlStandardJUnit {
+    /**
+     * Random triplets with duplicates. The block size is adjusted so that it's split between multiple threads
+     */
+    @Test void randomWithDuplicates() {
+        for (int minBlock : new int[]{1, 7, 100_000}) {
+            var alg = new ImplConvertTriplet_MT_DSCC();
+            alg.minBlock = minBlock;
+
+            for (int[] shape : new int[][]{{20, 30}, {30, 20}, {1, 9}, {9, 1}}) {
+                var triplet = new DMatrixSparseTriplet(shape[0], shape[1], 0);
+                var expected = new DMatrixRMaj(shape[0], shape[1]);
+                for (int i = 0; i < 300; i++) {
+                    int row = rand.nextInt(shape[0]);
+                    int col = rand.nextInt(shape[1]);
+                    double value = rand.nextGaussian();
+                    triplet.addItem(row, col, value);
+                    expected.add(row, col, value);
+                }
+
+                var found = new DMatrixSparseCSC(1, 1);
+                alg.convert(triplet, found);
+                checkFound(expected, found);
+            }
+        }
+    }
+
+    /**
+     * Columns which are already sorted should be handled correctly, along with empty columns
+     */
+    @Test void sortedAndEmptyColumns() {
+        var triplet = new DMatrixSparseTriplet(10, 8, 0);
+        var expected = new DMatrixRMaj(10, 8);
+        for (int col = 0; col < 8; col += 2) {
+            for (int row = 0; row < 10; row++) {
+                triplet.addItem(row, col, row + col);
+                expected.set(row, col, row + col);
+            }
+        }
+
+        var alg = new ImplConvertTriplet_MT_DSCC();
+        alg.minBlock = 3;
+        var found = new DMatrixSparseCSC(1, 1);
+        alg.convert(triplet, found);
+        checkFound(expected, found);
+        assertEquals(40, found.nz_length);
+    }
+
+    @Test void empty() {
+        var found = new DMatrixSparseCSC(2, 2, 5);
+        found.set(1, 1, 2);
+        new ImplConvertTriplet_MT_DSCC().convert(new DMatrixSparseTriplet(5, 4, 0), found);
+        assertEquals(5, found.numRows);
+        assertEquals(4, found.numCols);
+        assertEquals(0, found.nz_length);
+        assertTrue(CommonOps_DSCC.checkStructure(found));
+    }
+
+    private void checkFound( DMatrixRMaj expected, DMatrixSparseCSC found ) {
+        assertTrue(CommonOps_DSCC.checkStructure(found));
+        assertTrue(found.indicesSorted);
+        EjmlUnitTests.assertEquals(expected, DConvertMatrixStruct.convert(found, (DMatrixRMaj)null), UtilEjml.TEST_F64);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLevelSchedule_DSCC extends EjmlStandardJUnit {
+    /**
+     * Every column should be in the schedule once and only depend on columns in earlier levels
+     */
+    @Test
+    public void process() {
+        for (boolean upper : new boolean[]{false, true}) {
+            for (int trial = 0; trial < 10; trial++) {
+                int N = 1 + rand.nextInt(60);
+                DMatrixSparseCSC T = RandomMatrices_DSCC.triangle(upper, N, 0.02, 0.3, rand);
+
+                var alg = new LevelSchedule_DSCC();
+                alg.process(T, !upper);
+                assertEquals(!upper, alg.isLower());
+
+                int[] level = new int[N];
+                boolean[] found = new boolean[N];
+                int[] offset = alg.getLevelOffset();
+                assertEquals(0, offset[0]);
+                assertEquals(N, offset[alg.getNumLevels()]);
+                for (int i = 0; i < alg.getNumLevels(); i++) {
+                    assertTrue(alg.getLevelSize(i) > 0);
+                    for (int idx = offset[i]; idx < offset[i + 1]; idx++) {
+                        int j = alg.getNodes()[idx];
+                        assertFalse(found[j]);
+                        found[j] = true;
+                        level[j] = i;
+                    }
+                }
+
+                for (int j = 0; j < N; j++) {
+                    for (int p = T.col_idx[j]; p < T.col_idx[j + 1]; p++) {
+                        int i = T.nz_rows[p];
+                        if (i != j)
+                            assertTrue(level[i] < level[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A diagonal matrix has no dependencies and should be a single level
+     */
+    @Test
+    public void diagonal() {
+        DMatrixSparseCSC T = CommonOps_DSCC.identity(20);
+        var alg = new LevelSchedule_DSCC();
+        alg.process(T, true);
+        assertEquals(1, alg.getNumLevels());
+        assertEquals(20, alg.getLevelSize(0));
+    }
+
+    /**
+     * A bidiagonal matrix has to be solved sequentially
+     */
+    @Test
+    public void chain() {
+        int N = 15;
+        DMatrixSparseCSC T = new DMatrixSparseCSC(N, N, 2*N);
+        for (int i = 0; i < N; i++) {
+            T.set(i, i, 2);
+            if (i + 1 < N)
+                T.set(i + 1, i, 1);
+        }
+        var alg = new LevelSchedule_DSCC();
+        alg.process(T, true);
+        assertEquals(N, alg.getNumLevels());
+        // The last row doesn't depend on anything when solving the transpose
+        assertEquals(N - 1, alg.getNodes()[0]);
+    }
+}
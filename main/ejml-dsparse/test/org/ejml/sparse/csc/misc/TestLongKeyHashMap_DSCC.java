@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.EjmlStandardJUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestLongKeyHashMap_DSCC extends EjmlStandardJUnit {
+    @Test void put_get() {
+        var alg = new LongKeyHashMap_DSCC();
+        alg.put(5, 2.0);
+        alg.put(1L << 40, 3.0);
+        assertEquals(2, alg.size());
+        assertEquals(2.0, alg.get(5, -1));
+        assertEquals(3.0, alg.get(1L << 40, -1));
+        assertEquals(-1.0, alg.get(6, -1));
+
+        // replace the value
+        alg.put(5, 4.0);
+        assertEquals(2, alg.size());
+        assertEquals(4.0, alg.get(5, -1));
+    }
+
+    @Test void add() {
+        var alg = new LongKeyHashMap_DSCC();
+        alg.add(7, 1.5);
+        alg.add(7, 2.0);
+        assertEquals(1, alg.size());
+        assertEquals(3.5, alg.get(7, 0));
+    }
+
+    /**
+     * Perform a random sequence of operations and compare against a reference map. The table starts
+     * small so that it's grown and keys are selected from a small range so there are lots of collisions.
+     */
+    @Test void compareToReference() {
+        var alg = new LongKeyHashMap_DSCC(2);
+        var expected = new HashMap<Long, Double>();
+
+        for (int trial = 0; trial < 20_000; trial++) {
+            long key = rand.nextInt(500)*1000L;
+            double value = rand.nextDouble();
+            switch (rand.nextInt(4)) {
+                case 0:
+                    alg.put(key, value);
+                    expected.put(key, value);
+                    break;
+                case 1:
+                    alg.add(key, value);
+                    expected.merge(key, value, Double::sum);
+                    break;
+                case 2:
+                    assertEquals(expected.remove(key) != null, alg.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.containsKey(key), alg.containsKey(key));
+                    break;
+            }
+            assertEquals(expected.size(), alg.size());
+        }
+
+        for (Map.Entry<Long, Double> e : expected.entrySet()) {
+            assertEquals(e.getValue(), alg.get(e.getKey(), -1), 1e-12);
+        }
+
+        // traverse the slots
+        int count = 0;
+        for (int slot = 0; slot < alg.capacity(); slot++) {
+            if (!alg.isOccupied(slot))
+                continue;
+            count++;
+            assertEquals(expected.get(alg.keyAt(slot)), alg.valueAt(slot), 1e-12);
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    @Test void clear() {
+        var alg = new LongKeyHashMap_DSCC();
+        for (int i = 0; i < 100; i++) {
+            alg.put(i, i);
+        }
+        int capacity = alg.capacity();
+        alg.clear();
+        assertTrue(alg.isEmpty());
+        assertEquals(capacity, alg.capacity());
+        assertFalse(alg.containsKey(5));
+    }
+
+    @Test void reserve() {
+        var alg = new LongKeyHashMap_DSCC();
+        alg.put(3, 1.0);
+        alg.reserve(1000);
+        int capacity = alg.capacity();
+        assertTrue(capacity*LongKeyHashMap_DSCC.MAX_LOAD >= 1000);
+        for (int i = 0; i < 1000; i++) {
+            alg.add(i, 1.0);
+        }
+        assertEquals(capacity, alg.capacity());
+        assertEquals(2.0, alg.get(3, 0));
+    }
+
+    @Test void negativeKey() {
+        var alg = new LongKeyHashMap_DSCC();
+        assertThrows(IllegalArgumentException.class, () -> alg.put(-2, 1.0));
+    }
+}
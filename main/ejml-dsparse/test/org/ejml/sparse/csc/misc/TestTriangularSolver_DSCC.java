@@ -91,6 +91,60 @@ public class TestTriangularSolver_DSCC extends EjmlStandardJUnit {
         }
     }
 
+    /**
+     * A panel is stored in a row-major format, which is the same as DMatrixRMaj
+     */
+    @Test
+    public void solveL_panel() {
+        for (int nz_size : new int[]{5, 8, 10, 20}) {
+            DMatrixSparseCSC L = RandomMatrices_DSCC.triangleLower(5, 0, nz_size, -1, 1, rand);
+            DMatrixRMaj b = RandomMatrices_DDRM.rectangle(5, 3, rand);
+            DMatrixRMaj x = b.copy();
+
+            TriangularSolver_DSCC.solveL(L, x.data, 3);
+
+            DMatrixRMaj found = x.createLike();
+            CommonOps_DSCC.mult(L, x, found);
+
+            assertTrue(MatrixFeatures_DDRM.isIdentical(found, b, UtilEjml.TEST_F64));
+        }
+    }
+
+    @Test
+    public void solveTranL_panel() {
+        for (int nz_size : new int[]{5, 8, 10, 20}) {
+            DMatrixSparseCSC L = RandomMatrices_DSCC.triangleLower(5, 0, nz_size, -1, 1, rand);
+            DMatrixRMaj b = RandomMatrices_DDRM.rectangle(5, 3, rand);
+            DMatrixRMaj x = b.copy();
+
+            TriangularSolver_DSCC.solveTranL(L, x.data, 3);
+
+            DMatrixRMaj found = x.createLike();
+            DMatrixSparseCSC L_tran = CommonOps_DSCC.transpose(L, null, null);
+            CommonOps_DSCC.mult(L_tran, x, found);
+
+            assertTrue(MatrixFeatures_DDRM.isIdentical(found, b, UtilEjml.TEST_F64));
+        }
+    }
+
+    @Test
+    public void solveU_panel() {
+        for (int nz_size : new int[]{5, 8, 10, 20}) {
+            DMatrixSparseCSC L = RandomMatrices_DSCC.triangleLower(5, 0, nz_size, -1, 1, rand);
+            DMatrixSparseCSC U = CommonOps_DSCC.transpose(L, null, null);
+
+            DMatrixRMaj b = RandomMatrices_DDRM.rectangle(5, 3, rand);
+            DMatrixRMaj x = b.copy();
+
+            TriangularSolver_DSCC.solveU(U, x.data, 3);
+
+            DMatrixRMaj found = x.createLike();
+            CommonOps_DSCC.mult(U, x, found);
+
+            assertTrue(MatrixFeatures_DDRM.isIdentical(found, b, UtilEjml.TEST_F64));
+        }
+    }
+
     @Test
     public void solve_sparseX_vector() {
         solve_sparseX_vector(true);
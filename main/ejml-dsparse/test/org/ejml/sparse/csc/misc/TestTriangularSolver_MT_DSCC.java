@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.misc;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestTriangularSolver_MT_DSCC extends EjmlStandardJUnit {
+    /**
+     * Solve using the transpose of a lower triangular matrix and compare against the single thread version
+     */
+    @Test
+    public void solveTran_lower() {
+        for (int trial = 0; trial < 10; trial++) {
+            int N = 1 + rand.nextInt(200);
+            DMatrixSparseCSC L = RandomMatrices_DSCC.triangle(false, N, 0.01, 0.2, rand);
+            double[] b = randomVector(N);
+
+            double[] expected = b.clone();
+            TriangularSolver_DSCC.solveTranL(L, expected);
+
+            double[] found = b.clone();
+            TriangularSolver_MT_DSCC.solveTran(L, found, createSchedule(L, true));
+            assertSame(expected, found);
+
+            // L*x = b can be solved by passing in the transpose
+            expected = b.clone();
+            TriangularSolver_DSCC.solveL(L, expected);
+            DMatrixSparseCSC Lt = CommonOps_DSCC.transpose(L, null, null);
+            found = b.clone();
+            TriangularSolver_MT_DSCC.solveTran(Lt, found, createSchedule(Lt, false));
+            assertSame(expected, found);
+        }
+    }
+
+    /**
+     * Solve U*x = b by passing in U transpose, which is lower triangular
+     */
+    @Test
+    public void solveTran_upper() {
+        for (int trial = 0; trial < 10; trial++) {
+            int N = 1 + rand.nextInt(200);
+            DMatrixSparseCSC U = RandomMatrices_DSCC.triangle(true, N, 0.01, 0.2, rand);
+            double[] b = randomVector(N);
+
+            double[] expected = b.clone();
+            TriangularSolver_DSCC.solveU(U, expected);
+
+            DMatrixSparseCSC Ut = CommonOps_DSCC.transpose(U, null, null);
+            double[] found = b.clone();
+            TriangularSolver_MT_DSCC.solveTran(Ut, found, createSchedule(Ut, true));
+            assertSame(expected, found);
+        }
+    }
+
+    /**
+     * Random triangular matrices can be poorly conditioned so a relative tolerance is used
+     */
+    private void assertSame( double[] expected, double[] found ) {
+        assertEquals(expected.length, found.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], found[i], UtilEjml.TEST_F64*Math.max(1.0, Math.abs(expected[i])));
+        }
+    }
+
+    private double[] randomVector( int N ) {
+        double[] v = new double[N];
+        for (int i = 0; i < N; i++) {
+            v[i] = rand.nextDouble() - 0.5;
+        }
+        return v;
+    }
+
+    /**
+     * Creates a schedule where every level is processed with multiple threads
+     */
+    private LevelSchedule_DSCC createSchedule( DMatrixSparseCSC T, boolean lower ) {
+        var schedule = new LevelSchedule_DSCC();
+        schedule.minimumParallel = 2;
+        schedule.process(T, lower);
+        return schedule;
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.ejml.sparse.csc.mult;
 
+import org.ejml.EjmlParameters;
 import org.ejml.EjmlStandardJUnit;
 import org.ejml.UtilEjml;
 import org.ejml.data.DGrowArray;
@@ -197,6 +198,24 @@ public class TestImplMultiplication_DSCC extends EjmlStandardJUnit {
         }
     }
 
+    /**
+     * Make the panels smaller than the dense matrix so that the results from multiple panels are combined
+     */
+    @Test void multiplePanels_s_d() {
+        int panel = EjmlParameters.MULT_SPARSE_PANEL;
+        try {
+            EjmlParameters.MULT_SPARSE_PANEL = 2;
+            for (boolean add : new boolean[]{false, true}) {
+                mult_s_d(15, add);
+                multTransA_s_d(15, add);
+                multTransB_s_d(15, add);
+                multTransAB_s_d(15, add);
+            }
+        } finally {
+            EjmlParameters.MULT_SPARSE_PANEL = panel;
+        }
+    }
+
     @Test void multTransAB_s_d() {
         for (int i = 0; i < 10; i++) {
             multTransAB_s_d(24, false);
@@ -231,6 +250,94 @@ public class TestImplMultiplication_DSCC extends EjmlStandardJUnit {
         }
     }
 
+    @Test void multInner() {
+        for (boolean lower : new boolean[]{false, true}) {
+            for (boolean weighted : new boolean[]{false, true}) {
+                multInner(10, 6, 20, lower, weighted);
+                multInner(6, 10, 20, lower, weighted);
+                multInner(10, 6, 0, lower, weighted);
+                multInner(15, 15, 60, lower, weighted);
+            }
+        }
+    }
+
+    private void multInner( int rows, int cols, int nz, boolean lower, boolean weighted ) {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(rows, cols, nz, -1, 1, rand);
+        double[] weights = weighted ? randomWeights(rows) : null;
+        DMatrixSparseCSC C = RandomMatrices_DSCC.rectangle(2, 3, 4, rand);
+
+        ImplMultiplication_DSCC.multInner(A, weights, lower, C, null, null);
+        assertTrue(CommonOps_DSCC.checkStructure(C));
+
+        // A'*W*A computed using dense matrices
+        DMatrixRMaj dense_a = DConvertMatrixStruct.convert(A, (DMatrixRMaj)null);
+        DMatrixRMaj wa = dense_a.copy();
+        if (weights != null)
+            CommonOps_DDRM.multRows(weights, wa);
+        DMatrixRMaj expected = CommonOps_DDRM.multTransA(dense_a, wa, null);
+
+        checkTriangle(expected, C, lower);
+    }
+
+    @Test void multOuter() {
+        for (boolean lower : new boolean[]{false, true}) {
+            for (boolean weighted : new boolean[]{false, true}) {
+                multOuter(10, 6, 20, lower, weighted);
+                multOuter(6, 10, 20, lower, weighted);
+                multOuter(10, 6, 0, lower, weighted);
+                multOuter(15, 15, 60, lower, weighted);
+            }
+        }
+    }
+
+    private void multOuter( int rows, int cols, int nz, boolean lower, boolean weighted ) {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(rows, cols, nz, -1, 1, rand);
+        double[] weights = weighted ? randomWeights(cols) : null;
+        DMatrixSparseCSC C = RandomMatrices_DSCC.rectangle(2, 3, 4, rand);
+
+        ImplMultiplication_DSCC.multOuter(A, weights, lower, C, null, null);
+        assertTrue(CommonOps_DSCC.checkStructure(C));
+
+        // A*W*A' computed using dense matrices
+        DMatrixRMaj dense_a = DConvertMatrixStruct.convert(A, (DMatrixRMaj)null);
+        DMatrixRMaj aw = dense_a.copy();
+        if (weights != null)
+            CommonOps_DDRM.multCols(aw, weights);
+        DMatrixRMaj expected = CommonOps_DDRM.multTransB(aw, dense_a, null);
+
+        checkTriangle(expected, C, lower);
+    }
+
+    private double[] randomWeights( int length ) {
+        double[] weights = new double[length];
+        for (int i = 0; i < length; i++) {
+            weights[i] = 0.5 + rand.nextDouble();
+        }
+        return weights;
+    }
+
+    /**
+     * Makes sure only one triangle was computed and that its values are correct
+     */
+    private void checkTriangle( DMatrixRMaj expected, DMatrixSparseCSC found, boolean lower ) {
+        assertEquals(expected.numRows, found.numRows);
+        assertEquals(expected.numCols, found.numCols);
+        assertTrue(found.indicesSorted);
+        assertTrue(CommonOps_DSCC.checkIndicesSorted(found));
+
+        for (int col = 0; col < found.numCols; col++) {
+            for (int idx = found.col_idx[col]; idx < found.col_idx[col + 1]; idx++) {
+                int row = found.nz_rows[idx];
+                assertTrue(lower ? row >= col : row <= col);
+            }
+            for (int row = 0; row < found.numRows; row++) {
+                if (lower ? row < col : row > col)
+                    continue;
+                assertEquals(expected.get(row, col), found.get(row, col), UtilEjml.TEST_F64);
+            }
+        }
+    }
+
     @Test void addRowsInAInToC() {
         DMatrixSparseCSC A = UtilEjml.parse_DSCC(
                 "1 0 1 0 0 " +
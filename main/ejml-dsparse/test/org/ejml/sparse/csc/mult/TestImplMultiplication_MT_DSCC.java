@@ -18,6 +18,7 @@
 
 package org.ejml.sparse.csc.mult;
 
+import org.ejml.EjmlParameters;
 import org.ejml.EjmlStandardJUnit;
 import org.ejml.UtilEjml;
 import org.ejml.data.DGrowArray;
@@ -189,6 +190,25 @@ class TestImplMultiplication_MT_DSCC extends EjmlStandardJUnit {
         }
     }
 
+    /**
+     * Make the panels smaller than the dense matrix so that the results from multiple panels are combined
+     */
+    @Test void multiplePanels_s_d() {
+        int panel = EjmlParameters.MULT_SPARSE_PANEL;
+        try {
+            EjmlParameters.MULT_SPARSE_PANEL = 2;
+            for (boolean add : new boolean[]{false, true}) {
+                mult_s_d(15, add);
+                multTransB_s_d(15, add);
+                multTransAB_s_d(15, add);
+            }
+            multTransA_s_d(5, 5, 5);
+            multAddTransA_s_d(5, 5, 5);
+        } finally {
+            EjmlParameters.MULT_SPARSE_PANEL = panel;
+        }
+    }
+
     @Test void multTransAB_s_d() {
         for (int i = 0; i < 10; i++) {
             multTransAB_s_d(24, false);
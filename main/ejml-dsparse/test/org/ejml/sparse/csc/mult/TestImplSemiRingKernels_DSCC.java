@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.masks.DMaskFactory;
+import org.ejml.masks.Mask;
+import org.ejml.ops.DSemiRing;
+import org.ejml.ops.DSemiRings;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the specialized kernels against the generic implementation. A copy of a predefined semiring has
+ * a different identity, which forces the generic code to be used.
+ *
+ * @author Peter Abeles
+ */
+class TestImplSemiRingKernels_DSCC extends EjmlStandardJUnit {
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("semiRings")
+    void isSupported( String name, DSemiRing semiRing ) {
+        assertTrue(ImplSemiRingKernels_DSCC.isSupported(semiRing));
+        assertFalse(ImplSemiRingKernels_DSCC.isSupported(copy(semiRing)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("semiRings")
+    void mult_s_s( String name, DSemiRing semiRing ) {
+        DMatrixSparseCSC A = create(8, 6);
+        DMatrixSparseCSC B = create(6, 7);
+
+        for (boolean masked : new boolean[]{false, true}) {
+            @Nullable Mask mask = masked ? DMaskFactory.builder(create(8, 7), true).build() : null;
+
+            DMatrixSparseCSC expected = new DMatrixSparseCSC(8, 7, 0);
+            DMatrixSparseCSC found = new DMatrixSparseCSC(8, 7, 0);
+            ImplMultiplicationWithSemiRing_DSCC.mult(A, B, expected, copy(semiRing), mask, null, null);
+            ImplMultiplicationWithSemiRing_DSCC.mult(A, B, found, semiRing, mask, null, null);
+
+            EjmlUnitTests.assertEquals(expected, found);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("semiRings")
+    void mult_s_vector( String name, DSemiRing semiRing ) {
+        DMatrixSparseCSC A = create(8, 6);
+        double[] b = createVector(6 + 2);
+
+        double[] expected = new double[8 + 1];
+        double[] found = new double[8 + 1];
+        MatrixVectorMultWithSemiRing_DSCC.multAdd(A, b, 2, expected, 1, copy(semiRing), null);
+        MatrixVectorMultWithSemiRing_DSCC.multAdd(A, b, 2, found, 1, semiRing, null);
+
+        assertArrayEquals(expected, found, UtilEjml.TEST_F64);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("semiRings")
+    void mult_vector_s( String name, DSemiRing semiRing ) {
+        DMatrixSparseCSC B = create(6, 8);
+        double[] a = createVector(6 + 2);
+
+        for (boolean masked : new boolean[]{false, true}) {
+            @Nullable Mask mask = masked ? DMaskFactory.builder(createVector(8 + 1)).build() : null;
+
+            double[] expected = createVector(8 + 1);
+            double[] found = expected.clone();
+            MatrixVectorMultWithSemiRing_DSCC.mult(a, 2, B, expected, 1, copy(semiRing), mask);
+            MatrixVectorMultWithSemiRing_DSCC.mult(a, 2, B, found, 1, semiRing, mask);
+
+            assertArrayEquals(expected, found, UtilEjml.TEST_F64);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("semiRings")
+    void multAdd_s_d( String name, DSemiRing semiRing ) {
+        DMatrixSparseCSC A = create(8, 6);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(6, 5, -1, 1, rand);
+        DMatrixRMaj expected = RandomMatrices_DDRM.rectangle(8, 5, -1, 1, rand);
+        DMatrixRMaj found = expected.copy();
+
+        ImplMultiplicationWithSemiRing_DSCC.multAdd(A, B, expected, copy(semiRing));
+        ImplMultiplicationWithSemiRing_DSCC.multAdd(A, B, found, semiRing);
+
+        EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+    }
+
+    /**
+     * Values are a mix of zeros, ones, and arbitrary numbers so that the logical semirings are exercised too
+     */
+    DMatrixSparseCSC create( int rows, int cols ) {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(rows, cols, rows*cols/2, -1, 1, rand);
+        for (int i = 0; i < A.nz_length; i++) {
+            A.nz_values[i] = value(A.nz_values[i]);
+        }
+        return A;
+    }
+
+    double[] createVector( int length ) {
+        double[] v = new double[length];
+        for (int i = 0; i < length; i++) {
+            v[i] = value(rand.nextDouble()*2 - 1);
+        }
+        return v;
+    }
+
+    double value( double original ) {
+        return switch (rand.nextInt(3)) {
+            case 0 -> 0.0;
+            case 1 -> 1.0;
+            default -> original;
+        };
+    }
+
+    static DSemiRing copy( DSemiRing semiRing ) {
+        return new DSemiRing(semiRing.add, semiRing.mult);
+    }
+
+    static Stream<Arguments> semiRings() throws IllegalAccessException {
+        List<Arguments> list = new ArrayList<>();
+        for (Field f : DSemiRings.class.getFields()) {
+            if (Modifier.isStatic(f.getModifiers()) && f.getType() == DSemiRing.class)
+                list.add(Arguments.of(f.getName(), f.get(null)));
+        }
+        return list.stream();
+    }
+}
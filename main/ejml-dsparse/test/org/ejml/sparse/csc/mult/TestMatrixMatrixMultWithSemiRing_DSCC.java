@@ -113,6 +113,32 @@ public class TestMatrixMatrixMultWithSemiRing_DSCC extends EjmlStandardJUnit {
         assertMaskedResult(unmasked, masked, mask);
     }
 
+    /**
+     * Sparse masks are evaluated with a merge and dense masks with a bitmap. Both must select the same entries as
+     * the mask which was passed in.
+     */
+    @Test
+    public void maskedElementMult_representations() {
+        var random = new Random(234);
+        var a = RandomMatrices_DSCC.rectangle(30, 30, 500, random);
+        var b = RandomMatrices_DSCC.rectangle(30, 30, 500, random);
+
+        var unmasked = new DMatrixSparseCSC(30, 30, 0);
+        var masked = new DMatrixSparseCSC(30, 30, 0);
+        CommonOpsWithSemiRing_DSCC.elementMult(a, b, unmasked, DSemiRings.PLUS_TIMES, null, null, null);
+
+        for (int nz : new int[]{15, 300}) {
+            var maskMatrix = RandomMatrices_DSCC.rectangle(30, 30, nz, random);
+            for (boolean structural : new boolean[]{true, false}) {
+                for (boolean negated : new boolean[]{true, false}) {
+                    var mask = DMaskFactory.builder(maskMatrix, structural).withNegated(negated).build();
+                    CommonOpsWithSemiRing_DSCC.elementMult(a, b, masked, DSemiRings.PLUS_TIMES, mask, null, null);
+                    assertMaskedResult(unmasked, masked, mask);
+                }
+            }
+        }
+    }
+
     private static Stream<Arguments> sparseVectorMatrixMultSources() {
         return Stream.of(
                 // expected entries for (0, 0) and (0, 2)
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DVectorSparse;
+import org.ejml.masks.DMaskFactory;
+import org.ejml.masks.Mask;
+import org.ejml.ops.DSemiRing;
+import org.ejml.ops.DSemiRings;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.mult.MatrixSparseVectorMultWithSemiRing_DSCC.Direction;
+import org.ejml.sparse.csc.mult.MatrixSparseVectorMultWithSemiRing_DSCC.Workspace;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMatrixSparseVectorMultWithSemiRing_DSCC extends EjmlStandardJUnit {
+    // MIN_FIRST and MAX_SECOND make sure the order of arguments to mult is correct. OR_AND and AND_OR can stop early
+    DSemiRing[] semiRings = new DSemiRing[]{DSemiRings.PLUS_TIMES, DSemiRings.MIN_PLUS, DSemiRings.OR_AND,
+            DSemiRings.AND_OR, DSemiRings.MIN_FIRST, DSemiRings.MAX_SECOND};
+
+    // fraction of assigned elements in the vector. Covers both the sparse and bitmap formats
+    double[] densities = new double[]{0.0, 0.02, 0.3, 1.0};
+
+    /**
+     * Compare c = A*b against a brute force implementation
+     */
+    @Test void mult_A_v() {
+        Workspace work = new Workspace();
+        for (DSemiRing semiRing : semiRings) {
+            for (double density : densities) {
+                for (int maskType = 0; maskType < 4; maskType++) {
+                    DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(40, 30, 150, rand);
+                    DMatrixSparseCSC AT = CommonOps_DSCC.transpose(A, null, null);
+                    DVectorSparse b = createVector(30, density);
+                    DVectorSparse expected = bruteForce(A, b, false, semiRing, createMask(40, maskType));
+
+                    for (Direction direction : Direction.values()) {
+                        DVectorSparse c = new DVectorSparse(2);
+                        MatrixSparseVectorMultWithSemiRing_DSCC.mult(A, AT, b, c, semiRing,
+                                createMask(40, maskType), direction, work);
+                        assertSame(expected, c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare c = a<sup>T</sup>*B against a brute force implementation
+     */
+    @Test void mult_v_A() {
+        Workspace work = new Workspace();
+        for (DSemiRing semiRing : semiRings) {
+            for (double density : densities) {
+                for (int maskType = 0; maskType < 4; maskType++) {
+                    DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(30, 40, 150, rand);
+                    DMatrixSparseCSC BT = CommonOps_DSCC.transpose(B, null, null);
+                    DVectorSparse a = createVector(30, density);
+                    DVectorSparse expected = bruteForce(BT, a, true, semiRing, createMask(40, maskType));
+
+                    for (Direction direction : Direction.values()) {
+                        DVectorSparse c = new DVectorSparse(2);
+                        MatrixSparseVectorMultWithSemiRing_DSCC.mult(a, B, BT, c, semiRing,
+                                createMask(40, maskType), direction, work);
+                        assertSame(expected, c);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * If the transpose isn't provided then it should use the only direction which is possible
+     */
+    @Test void noTranspose() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(20, 20, 80, rand);
+        DVectorSparse b = createVector(20, 0.9);
+        DVectorSparse c = new DVectorSparse(20);
+
+        DVectorSparse expected = bruteForce(A, b, false, DSemiRings.PLUS_TIMES, null);
+        MatrixSparseVectorMultWithSemiRing_DSCC.mult(A, null, b, c, DSemiRings.PLUS_TIMES, null);
+        assertSame(expected, c);
+
+        expected = bruteForce(CommonOps_DSCC.transpose(A, null, null), b, true, DSemiRings.PLUS_TIMES, null);
+        MatrixSparseVectorMultWithSemiRing_DSCC.mult(b, A, null, c, DSemiRings.PLUS_TIMES, null);
+        assertSame(expected, c);
+
+        assertThrows(IllegalArgumentException.class, () -> MatrixSparseVectorMultWithSemiRing_DSCC.mult(
+                A, null, b, c, DSemiRings.PLUS_TIMES, null, Direction.PULL, null));
+        assertThrows(IllegalArgumentException.class, () -> MatrixSparseVectorMultWithSemiRing_DSCC.mult(
+                b, A, null, c, DSemiRings.PLUS_TIMES, null, Direction.PUSH, null));
+    }
+
+    @Test void selectDirection() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(100, 100, 1000, rand);
+        DMatrixSparseCSC AT = CommonOps_DSCC.transpose(A, null, null);
+
+        // Small frontier should push and large frontier should pull
+        assertEquals(Direction.PUSH, MatrixSparseVectorMultWithSemiRing_DSCC.selectDirection(
+                A, AT, createVector(100, 0.01)));
+        assertEquals(Direction.PULL, MatrixSparseVectorMultWithSemiRing_DSCC.selectDirection(
+                A, AT, createVector(100, 0.9)));
+    }
+
+    @Test void checkShape() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(20, 10, 40, rand);
+        assertThrows(IllegalArgumentException.class, () -> MatrixSparseVectorMultWithSemiRing_DSCC.mult(
+                A, null, new DVectorSparse(20), new DVectorSparse(20), DSemiRings.PLUS_TIMES, null));
+        assertThrows(IllegalArgumentException.class, () -> MatrixSparseVectorMultWithSemiRing_DSCC.mult(
+                new DVectorSparse(10), A, null, new DVectorSparse(20), DSemiRings.PLUS_TIMES, null));
+        assertThrows(IllegalArgumentException.class, () -> MatrixSparseVectorMultWithSemiRing_DSCC.mult(
+                A, A, new DVectorSparse(10), new DVectorSparse(20), DSemiRings.PLUS_TIMES, null));
+    }
+
+    /**
+     * Creates a random vector. Some elements are assigned the value zero
+     */
+    DVectorSparse createVector( int size, double density ) {
+        var v = new DVectorSparse(size);
+        for (int i = 0; i < size; i++) {
+            if (rand.nextDouble() < density)
+                v.set(i, rand.nextInt(4) == 0 ? 0.0 : rand.nextDouble() + 0.1);
+        }
+        v.selectFormat();
+        return v;
+    }
+
+    /**
+     * 0 = no mask, 1 = primitive, 2 = negated primitive, 3 = sparse
+     */
+    @Nullable Mask createMask( int size, int type ) {
+        // same seed so that the masks are identical
+        var local = new Random(234);
+        double[] values = new double[size];
+        DMatrixSparseCSC matrix = new DMatrixSparseCSC(size, 1);
+        for (int i = 0; i < size; i++) {
+            if (local.nextBoolean()) {
+                values[i] = 1;
+                matrix.set(i, 0, 1);
+            }
+        }
+
+        return switch (type) {
+            case 0 -> null;
+            case 1 -> DMaskFactory.builder(values).build();
+            case 2 -> DMaskFactory.builder(values).withNegated(true).build();
+            default -> DMaskFactory.builder(matrix, false).build();
+        };
+    }
+
+    /**
+     * Computes M*v, only assigning elements which have at least one term in their sum
+     */
+    DVectorSparse bruteForce( DMatrixSparseCSC M, DVectorSparse v, boolean vectorFirst, DSemiRing semiRing,
+                              @Nullable Mask mask ) {
+        var c = new DVectorSparse(M.numRows);
+        if (mask != null)
+            mask.setIndexColumn(0);
+        for (int row = 0; row < M.numRows; row++) {
+            if (mask != null && !mask.isSet(row))
+                continue;
+            boolean found = false;
+            double sum = 0;
+            for (int k = 0; k < M.numCols; k++) {
+                if (!M.isAssigned(row, k) || !v.isAssigned(k))
+                    continue;
+                double product = vectorFirst ?
+                        semiRing.mult.func.apply(v.get(k), M.get(row, k)) :
+                        semiRing.mult.func.apply(M.get(row, k), v.get(k));
+                sum = found ? semiRing.add.func.apply(sum, product) : product;
+                found = true;
+            }
+            if (found)
+                c.set(row, sum);
+        }
+        return c;
+    }
+
+    void assertSame( DVectorSparse expected, DVectorSparse found ) {
+        assertEquals(expected.size, found.size);
+        assertEquals(expected.nz_length, found.nz_length);
+        for (int i = 0; i < expected.size; i++) {
+            assertEquals(expected.isAssigned(i), found.isAssigned(i));
+            if (expected.isAssigned(i))
+                assertEquals(expected.get(i), found.get(i), UtilEjml.TEST_F64);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.masks.DMaskFactory;
+import org.ejml.masks.Mask;
+import org.ejml.ops.DMonoids;
+import org.ejml.ops.DSemiRing;
+import org.ejml.ops.DSemiRings;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import pabeles.concurrency.GrowArray;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Compares the concurrent implementations against the single threaded ones
+ *
+ * @author Peter Abeles
+ */
+class TestMatrixVectorMultWithSemiRing_MT_DSCC extends EjmlStandardJUnit {
+    GrowArray<DGrowArray> workspace = new GrowArray<>(DGrowArray::new);
+
+    // a custom semi-ring is included to test the generic code
+    DSemiRing[] semiRings = new DSemiRing[]{DSemiRings.PLUS_TIMES, DSemiRings.MIN_PLUS, DSemiRings.OR_AND,
+            new DSemiRing(DMonoids.MAX, DMonoids.PLUS)};
+
+    @Test void mult_A_v() {
+        for (DSemiRing semiRing : semiRings) {
+            for (int trial = 0; trial < 3; trial++) {
+                DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(120, 90, 800, rand);
+                double[] v = randomArray(A.numCols);
+                @Nullable Mask mask = trial == 0 ? null : DMaskFactory.builder(randomMask(A.numRows)).build();
+
+                double[] expected = new double[A.numRows];
+                double[] found = randomArray(A.numRows);
+
+                MatrixVectorMultWithSemiRing_DSCC.mult(A, v, expected, semiRing, mask);
+                // the workspace is reused to make sure stale partial vectors are handled
+                MatrixVectorMultWithSemiRing_MT_DSCC.mult(A, v, 0, found, 0, semiRing, mask, workspace);
+
+                // partial results are combined in a different order
+                assertArrayEquals(expected, found, UtilEjml.TEST_F64);
+            }
+        }
+    }
+
+    @Test void mult_v_A() {
+        for (DSemiRing semiRing : semiRings) {
+            for (int trial = 0; trial < 3; trial++) {
+                DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(120, 90, 800, rand);
+                double[] v = randomArray(A.numRows + 1);
+                @Nullable Mask mask = trial == 0 ? null : DMaskFactory.builder(randomMask(A.numCols)).build();
+
+                double[] expected = randomArray(A.numCols + 2);
+                double[] found = expected.clone();
+
+                MatrixVectorMultWithSemiRing_DSCC.mult(v, 1, A, expected, 2, semiRing, mask);
+                MatrixVectorMultWithSemiRing_MT_DSCC.mult(v, 1, A, found, 2, semiRing, mask);
+
+                assertArrayEquals(expected, found);
+            }
+        }
+    }
+
+    double[] randomArray( int length ) {
+        double[] v = new double[length];
+        for (int i = 0; i < length; i++) {
+            v[i] = rand.nextDouble()*2 - 1;
+        }
+        return v;
+    }
+
+    double[] randomMask( int length ) {
+        double[] v = new double[length];
+        for (int i = 0; i < length; i++) {
+            v[i] = rand.nextInt(3) == 0 ? 0 : 1;
+        }
+        return v;
+    }
+}
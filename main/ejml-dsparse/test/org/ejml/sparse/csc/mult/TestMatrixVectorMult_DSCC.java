@@ -100,6 +100,21 @@ public class TestMatrixVectorMult_DSCC extends EjmlStandardJUnit {
         }
     }
 
+    @Test void multTransA() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(6,4,14,rand);
+
+        double[] v = new double[]{0,1,2,3,4,5,6,7};
+        double[] expected = new double[5];
+        double[] found = new double[5];
+
+        MatrixVectorMult_DSCC.mult(v,1,A,expected,1);
+        MatrixVectorMult_DSCC.multTransA(A,v,1,found,1);
+
+        for (int i = 0; i < found.length; i++) {
+            assertEquals(expected[i],found[i], UtilEjml.TEST_F64);
+        }
+    }
+
     @Test void innerProduct_DSD_array() {
         DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(6,4,14,rand);
 
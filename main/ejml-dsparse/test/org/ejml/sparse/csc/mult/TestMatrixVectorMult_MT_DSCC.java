@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+import pabeles.concurrency.GrowArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the concurrent implementations against the single threaded ones
+ *
+ * @author Peter Abeles
+ */
+class TestMatrixVectorMult_MT_DSCC extends EjmlStandardJUnit {
+    GrowArray<DGrowArray> workspace = new GrowArray<>(DGrowArray::new);
+
+    @Test void mult_A_v() {
+        for (int trial = 0; trial < 3; trial++) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(120, 90, 800, rand);
+            double[] v = randomArray(A.numCols + 2);
+
+            double[] expected = randomArray(A.numRows + 1);
+            double[] found = randomArray(A.numRows + 1);
+            found[0] = expected[0];
+
+            MatrixVectorMult_DSCC.mult(A, v, 2, expected, 1);
+            // the workspace is reused to make sure stale partial vectors are handled
+            MatrixVectorMult_MT_DSCC.mult(A, v, 2, found, 1, workspace);
+
+            assertArrayEquals(expected, found);
+        }
+    }
+
+    @Test void multAdd_A_v() {
+        for (int trial = 0; trial < 3; trial++) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(120, 90, 800, rand);
+            double[] v = randomArray(A.numCols + 2);
+
+            double[] expected = randomArray(A.numRows + 1);
+            double[] found = expected.clone();
+
+            MatrixVectorMult_DSCC.multAdd(A, v, 2, expected, 1);
+            MatrixVectorMult_MT_DSCC.multAdd(A, v, 2, found, 1, workspace);
+
+            assertArrayEquals(expected, found);
+        }
+    }
+
+    @Test void mult_v_A() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(120, 90, 800, rand);
+        double[] v = randomArray(A.numRows + 1);
+
+        double[] expected = randomArray(A.numCols + 2);
+        double[] found = expected.clone();
+
+        MatrixVectorMult_DSCC.mult(v, 1, A, expected, 2);
+        MatrixVectorMult_MT_DSCC.mult(v, 1, A, found, 2);
+        assertArrayEquals(expected, found);
+
+        found = randomArray(A.numCols + 2);
+        System.arraycopy(expected, 0, found, 0, 2);
+        MatrixVectorMult_MT_DSCC.multTransA(A, v, 1, found, 2);
+        assertArrayEquals(expected, found);
+    }
+
+    @Test void innerProduct_DSD_array() {
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(120, 90, 800, rand);
+        double[] v = randomArray(A.numRows + 1);
+        double[] w = randomArray(A.numCols + 2);
+
+        double expected = MatrixVectorMult_DSCC.innerProduct(v, 1, A, w, 2);
+        double found = MatrixVectorMult_MT_DSCC.innerProduct(v, 1, A, w, 2, workspace);
+
+        assertEquals(expected, found, UtilEjml.TEST_F64);
+    }
+
+    @Test void innerProduct_SDS() {
+        DMatrixSparseCSC a = RandomMatrices_DSCC.rectangle(50, 1, 30, rand);
+        DMatrixRMaj b = RandomMatrices_DDRM.rectangle(50, 40, rand);
+        DMatrixSparseCSC c = RandomMatrices_DSCC.rectangle(40, 1, 20, rand);
+
+        double expected = MatrixVectorMult_DSCC.innerProduct(a, b, c);
+        double found = MatrixVectorMult_MT_DSCC.innerProduct(a, b, c, workspace);
+        assertEquals(expected, found, UtilEjml.TEST_F64);
+    }
+
+    @Test void innerProduct_symmetric_SD() {
+        // Check odd and even number of non-zero elements since they are processed in pairs
+        for (int nz : new int[]{0, 1, 29, 30}) {
+            DMatrixSparseCSC a = RandomMatrices_DSCC.rectangle(50, 1, nz, rand);
+            DMatrixRMaj b = RandomMatrices_DDRM.symmetricPosDef(50, rand);
+
+            double expected = MatrixVectorMult_DSCC.innerProductSelfSymmetrical(a, b);
+            double found = MatrixVectorMult_MT_DSCC.innerProductSelfSymmetrical(a, b, workspace);
+            assertEquals(expected, found, UtilEjml.TEST_F64);
+        }
+    }
+
+    private double[] randomArray( int length ) {
+        double[] array = new double[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = rand.nextGaussian();
+        }
+        return array;
+    }
+
+    private static void assertArrayEquals( double[] expected, double[] found ) {
+        assertEquals(expected.length, found.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], found[i], UtilEjml.TEST_F64);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csc.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.MatrixFeatures_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMultiplicationPlan_DSCC extends EjmlStandardJUnit {
+    protected MultiplicationPlan_DSCC createPlan() {
+        return new MultiplicationPlan_DSCC();
+    }
+
+    @Test void mult() {
+        MultiplicationPlan_DSCC plan = createPlan();
+
+        for (int trial = 0; trial < 20; trial++) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(20, 15, 60, rand);
+            DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(15, 12, 40, rand);
+            DMatrixSparseCSC C = new DMatrixSparseCSC(1, 1, 0);
+
+            plan.planMult(A, B, C);
+            assertFalse(plan.isTransA());
+            assertTrue(C.indicesSorted);
+            assertTrue(CommonOps_DSCC.checkStructure(C));
+
+            // Computing it multiple times with different values should work
+            for (int i = 0; i < 3; i++) {
+                randomizeValues(A);
+                randomizeValues(B);
+                plan.compute(A, B, C);
+
+                DMatrixSparseCSC expected = CommonOps_DSCC.mult(A, B, null);
+                assertTrue(MatrixFeatures_DSCC.isEqualsSort(expected, C, UtilEjml.TEST_F64));
+            }
+        }
+    }
+
+    @Test void multTransA() {
+        MultiplicationPlan_DSCC plan = createPlan();
+
+        for (int trial = 0; trial < 20; trial++) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(20, 15, 60, rand);
+            DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(20, 12, 40, rand);
+            DMatrixSparseCSC C = new DMatrixSparseCSC(1, 1, 0);
+
+            plan.planMultTransA(A, B, C);
+            assertTrue(plan.isTransA());
+            assertTrue(C.indicesSorted);
+            assertTrue(CommonOps_DSCC.checkStructure(C));
+
+            for (int i = 0; i < 3; i++) {
+                randomizeValues(A);
+                randomizeValues(B);
+                plan.compute(A, B, C);
+
+                DMatrixSparseCSC expected = CommonOps_DSCC.mult(CommonOps_DSCC.transpose(A, null, null), B, null);
+                assertTrue(MatrixFeatures_DSCC.isEqualsSort(expected, C, UtilEjml.TEST_F64));
+            }
+        }
+    }
+
+    /**
+     * A<sup>T</sup>*A is a common special case where both inputs are the same matrix
+     */
+    @Test void multTransA_self() {
+        MultiplicationPlan_DSCC plan = createPlan();
+
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(30, 12, 70, rand);
+        DMatrixSparseCSC C = new DMatrixSparseCSC(1, 1, 0);
+
+        plan.planMultTransA(A, A, C);
+        for (int i = 0; i < 3; i++) {
+            randomizeValues(A);
+            plan.compute(A, A, C);
+
+            DMatrixSparseCSC expected = CommonOps_DSCC.mult(CommonOps_DSCC.transpose(A, null, null), A, null);
+            assertTrue(MatrixFeatures_DSCC.isEqualsSort(expected, C, UtilEjml.TEST_F64));
+            assertTrue(MatrixFeatures_DSCC.isSymmetric(C, UtilEjml.TEST_F64));
+        }
+    }
+
+    /**
+     * Inputs which are empty or have empty columns
+     */
+    @Test void emptyInputs() {
+        MultiplicationPlan_DSCC plan = createPlan();
+
+        DMatrixSparseCSC A = new DMatrixSparseCSC(5, 4, 0);
+        DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(4, 6, 3, rand);
+        DMatrixSparseCSC C = new DMatrixSparseCSC(1, 1, 0);
+
+        plan.planMult(A, B, C);
+        assertEquals(0, C.nz_length);
+        plan.compute(A, B, C);
+        assertEquals(5, C.numRows);
+        assertEquals(6, C.numCols);
+        assertEquals(0, plan.getOutputNonZero());
+    }
+
+    @Test void inputsDoNotMatchPlan() {
+        MultiplicationPlan_DSCC plan = createPlan();
+
+        DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(10, 8, 30, rand);
+        DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(8, 6, 20, rand);
+        DMatrixSparseCSC C = new DMatrixSparseCSC(1, 1, 0);
+        plan.planMult(A, B, C);
+
+        assertThrows(IllegalArgumentException.class, () ->
+                plan.compute(RandomMatrices_DSCC.rectangle(10, 8, 31, rand), B, C));
+        assertThrows(IllegalArgumentException.class, () ->
+                plan.compute(A, RandomMatrices_DSCC.rectangle(8, 7, 20, rand), C));
+        assertThrows(IllegalArgumentException.class, () ->
+                plan.compute(A, B, new DMatrixSparseCSC(10, 6, 0)));
+    }
+
+    /**
+     * Changes the values of the non-zero elements without changing the pattern
+     */
+    private void randomizeValues( DMatrixSparseCSC A ) {
+        for (int i = 0; i < A.nz_length; i++) {
+            A.nz_values[i] = rand.nextDouble()*2.0 - 1.0;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csr;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.MatrixDimensionException;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseCSR;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.ejml.sparse.csc.CommonOps_DSCC;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCommonOps_DSCR extends EjmlStandardJUnit {
+    public static DMatrixSparseCSR random( int rows, int cols, int nz, Random rand ) {
+        DMatrixSparseCSC csc = RandomMatrices_DSCC.rectangle(rows, cols, nz, -1, 1, rand);
+        return DConvertMatrixStruct.convert(csc, (DMatrixSparseCSR)null);
+    }
+
+    @Test void checkStructure() {
+        DMatrixSparseCSR A = random(6, 5, 12, rand);
+        assertTrue(CommonOps_DSCR.checkStructure(A));
+
+        // duplicate element
+        DMatrixSparseCSR B = new DMatrixSparseCSR(3, 3, 2);
+        B.row_idx[1] = 2;
+        B.row_idx[2] = 2;
+        B.row_idx[3] = 2;
+        B.nz_length = 2;
+        B.nz_cols[0] = 1;
+        B.nz_cols[1] = 1;
+        assertFalse(CommonOps_DSCR.checkStructure(B));
+
+        // out of order but the flag says it's sorted
+        B.nz_cols[0] = 2;
+        assertTrue(CommonOps_DSCR.checkStructure(B));
+        B.indicesSorted = true;
+        assertFalse(CommonOps_DSCR.checkStructure(B));
+    }
+
+    @Test void mult_s_s() {
+        for (int trial = 0; trial < 20; trial++) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(6, 7, 15, -1, 1, rand);
+            DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(7, 5, 12, -1, 1, rand);
+
+            DMatrixSparseCSR A_r = DConvertMatrixStruct.convert(A, (DMatrixSparseCSR)null);
+            DMatrixSparseCSR B_r = DConvertMatrixStruct.convert(B, (DMatrixSparseCSR)null);
+
+            // reuse of the output matrix should be handled
+            DMatrixSparseCSR found = new DMatrixSparseCSR(1, 1, 0);
+            for (int i = 0; i < 2; i++) {
+                CommonOps_DSCR.mult(A_r, B_r, found);
+                assertTrue(CommonOps_DSCR.checkStructure(found));
+                DMatrixSparseCSC expected = CommonOps_DSCC.mult(A, B, null);
+                EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+            }
+        }
+    }
+
+    @Test void mult_s_s_shapes() {
+        assertThrows(MatrixDimensionException.class,
+                () -> CommonOps_DSCR.mult(random(5, 6, 5, rand), random(5, 6, 5, rand), null));
+    }
+
+    @Test void mult_s_csc() {
+        for (int trial = 0; trial < 20; trial++) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(6, 7, 15, -1, 1, rand);
+            DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(7, 5, 12, -1, 1, rand);
+            DMatrixSparseCSR A_r = DConvertMatrixStruct.convert(A, (DMatrixSparseCSR)null);
+
+            DMatrixRMaj found = CommonOps_DSCR.mult(A_r, B, new DMatrixRMaj(1, 1), null);
+            DMatrixRMaj expected = CommonOps_DSCC.mult(A, DConvertMatrixStruct.convert(B, (DMatrixRMaj)null), null);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void mult_s_d() {
+        // the single column case is handled differently
+        for (int numCols : new int[]{1, 4}) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(6, 7, 15, -1, 1, rand);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(7, numCols, -1, 1, rand);
+            DMatrixSparseCSR A_r = DConvertMatrixStruct.convert(A, (DMatrixSparseCSR)null);
+
+            DMatrixRMaj expected = CommonOps_DSCC.mult(A, B, null);
+            DMatrixRMaj found = RandomMatrices_DDRM.rectangle(6, numCols, -1, 1, rand);
+            CommonOps_DSCR.mult(A_r, B, found);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void multAdd_s_d() {
+        for (int numCols : new int[]{1, 4}) {
+            DMatrixSparseCSC A = RandomMatrices_DSCC.rectangle(6, 7, 15, -1, 1, rand);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(7, numCols, -1, 1, rand);
+            DMatrixRMaj C = RandomMatrices_DDRM.rectangle(6, numCols, -1, 1, rand);
+            DMatrixSparseCSR A_r = DConvertMatrixStruct.convert(A, (DMatrixSparseCSR)null);
+
+            DMatrixRMaj expected = C.copy();
+            CommonOps_DSCC.multAdd(A, B, expected);
+            CommonOps_DSCR.multAdd(A_r, B, C);
+            EjmlUnitTests.assertEquals(expected, C, UtilEjml.TEST_F64);
+        }
+
+        assertThrows(MatrixDimensionException.class,
+                () -> CommonOps_DSCR.multAdd(random(5, 6, 5, rand), new DMatrixRMaj(6, 2), new DMatrixRMaj(5, 3)));
+    }
+
+    /**
+     * Checks the dense result directly to make sure the tests above aren't only testing self consistency
+     */
+    @Test void mult_s_d_dense() {
+        DMatrixRMaj A = RandomMatrices_DDRM.rectangle(5, 4, -1, 1, rand);
+        A.set(1, 2, 0);
+        A.set(3, 0, 0);
+        DMatrixRMaj B = RandomMatrices_DDRM.rectangle(4, 3, -1, 1, rand);
+
+        DMatrixSparseCSR A_r = DConvertMatrixStruct.convert(A, (DMatrixSparseCSR)null, 0.0);
+        DMatrixRMaj expected = CommonOps_DDRM.mult(A, B, null);
+        EjmlUnitTests.assertEquals(expected, CommonOps_DSCR.mult(A_r, B, null), UtilEjml.TEST_F64);
+    }
+}
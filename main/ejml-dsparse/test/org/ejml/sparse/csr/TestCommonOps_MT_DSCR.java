@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csr;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.EjmlUnitTests;
+import org.ejml.UtilEjml;
+import org.ejml.data.DGrowArray;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSC;
+import org.ejml.data.DMatrixSparseCSR;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.sparse.csc.RandomMatrices_DSCC;
+import org.ejml.sparse.csc.mult.Workspace_MT_DSCC;
+import org.junit.jupiter.api.Test;
+import pabeles.concurrency.GrowArray;
+
+import static org.ejml.sparse.csr.TestCommonOps_DSCR.random;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+class TestCommonOps_MT_DSCR extends EjmlStandardJUnit {
+    @Test void mult_s_s() {
+        var workspace = new GrowArray<>(Workspace_MT_DSCC::new);
+        DMatrixSparseCSR found = new DMatrixSparseCSR(1, 1, 0);
+
+        for (int trial = 0; trial < 20; trial++) {
+            DMatrixSparseCSR A = random(60, 40, 300, rand);
+            DMatrixSparseCSR B = random(40, 50, 200, rand);
+
+            DMatrixSparseCSR expected = CommonOps_DSCR.mult(A, B, null);
+            // workspace is recycled to make sure it's reset correctly
+            CommonOps_MT_DSCR.mult(A, B, found, workspace);
+
+            assertTrue(CommonOps_DSCR.checkStructure(found));
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void mult_s_csc() {
+        var workspace = new GrowArray<>(DGrowArray::new);
+        for (int trial = 0; trial < 10; trial++) {
+            DMatrixSparseCSR A = random(60, 40, 300, rand);
+            DMatrixSparseCSC B = RandomMatrices_DSCC.rectangle(40, 20, 150, -1, 1, rand);
+
+            DMatrixRMaj expected = CommonOps_DSCR.mult(A, B, null, null);
+            DMatrixRMaj found = CommonOps_MT_DSCR.mult(A, B, null, workspace);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void mult_s_d() {
+        for (int numCols : new int[]{1, 7}) {
+            DMatrixSparseCSR A = random(60, 40, 300, rand);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(40, numCols, -1, 1, rand);
+
+            DMatrixRMaj expected = CommonOps_DSCR.mult(A, B, null);
+            DMatrixRMaj found = RandomMatrices_DDRM.rectangle(60, numCols, -1, 1, rand);
+            CommonOps_MT_DSCR.mult(A, B, found);
+            EjmlUnitTests.assertEquals(expected, found, UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void multAdd_s_d() {
+        for (int numCols : new int[]{1, 7}) {
+            DMatrixSparseCSR A = random(60, 40, 300, rand);
+            DMatrixRMaj B = RandomMatrices_DDRM.rectangle(40, numCols, -1, 1, rand);
+            DMatrixRMaj C = RandomMatrices_DDRM.rectangle(60, numCols, -1, 1, rand);
+
+            DMatrixRMaj expected = C.copy();
+            CommonOps_DSCR.multAdd(A, B, expected);
+            CommonOps_MT_DSCR.multAdd(A, B, C);
+            EjmlUnitTests.assertEquals(expected, C, UtilEjml.TEST_F64);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ejml.sparse.csr.mult;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.data.DMatrixSparseCSR;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.ops.DConvertMatrixStruct;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMatrixVectorMult_DSCR extends EjmlStandardJUnit {
+    DMatrixRMaj A_d = RandomMatrices_DDRM.rectangle(30, 25, -1, 1, rand);
+    DMatrixSparseCSR A = DConvertMatrixStruct.convert(sparsify(A_d), (DMatrixSparseCSR)null, 0.0);
+    DMatrixRMaj b = RandomMatrices_DDRM.rectangle(25, 1, -1, 1, rand);
+
+    private DMatrixRMaj sparsify( DMatrixRMaj A ) {
+        for (int i = 0; i < A.getNumElements(); i++) {
+            if (rand.nextDouble() < 0.8)
+                A.data[i] = 0;
+        }
+        return A;
+    }
+
+    @Test void mult() {
+        check(false, false);
+        check(false, true);
+    }
+
+    @Test void multAdd() {
+        check(true, false);
+        check(true, true);
+    }
+
+    void check( boolean add, boolean concurrent ) {
+        int offsetB = 2, offsetC = 3;
+        double[] arrayB = new double[b.numRows + offsetB];
+        System.arraycopy(b.data, 0, arrayB, offsetB, b.numRows);
+        double[] arrayC = new double[A.numRows + offsetC];
+        for (int i = 0; i < arrayC.length; i++) {
+            arrayC[i] = rand.nextDouble();
+        }
+        double[] original = arrayC.clone();
+
+        if (concurrent) {
+            if (add) MatrixVectorMult_MT_DSCR.multAdd(A, arrayB, offsetB, arrayC, offsetC);
+            else MatrixVectorMult_MT_DSCR.mult(A, arrayB, offsetB, arrayC, offsetC);
+        } else {
+            if (add) MatrixVectorMult_DSCR.multAdd(A, arrayB, offsetB, arrayC, offsetC);
+            else MatrixVectorMult_DSCR.mult(A, arrayB, offsetB, arrayC, offsetC);
+        }
+
+        DMatrixRMaj expected = CommonOps_DDRM.mult(A_d, b, null);
+        for (int i = 0; i < offsetC; i++) {
+            assertEquals(original[i], arrayC[i]);
+        }
+        for (int i = 0; i < A.numRows; i++) {
+            double e = expected.data[i] + (add ? original[offsetC + i] : 0.0);
+            assertEquals(e, arrayC[offsetC + i], UtilEjml.TEST_F64);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.simd;
+
+import org.ejml.data.DMatrixRBlock;
+import org.ejml.data.DMatrixRMaj;
+import org.ejml.dense.block.MatrixOps_DDRB;
+import org.ejml.dense.row.CommonOps_DDRM;
+import org.ejml.dense.row.RandomMatrices_DDRM;
+import org.ejml.dense.row.mult.MatrixVectorMult_DDRM;
+import org.ejml.dense.row.mult.SimdKernels_DDRM;
+import org.ejml.dense.row.mult.VectorVectorMult_DDRM;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the operations which delegate to {@link org.ejml.dense.row.mult.VectorKernels_DDRM} with the
+ * vectorized kernels turned on and off.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class BenchmarkVectorKernels_DDRM {
+
+    @Param({"true", "false"})
+    public boolean simd;
+
+    @Param({"20", "100", "500"})
+    public int size;
+
+    // vectors with size*size elements
+    public DMatrixRMaj x = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj y = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj z = new DMatrixRMaj(1, 1);
+
+    // size by size matrix and vectors which can be multiplied against it
+    public DMatrixRMaj A = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj u = new DMatrixRMaj(1, 1);
+    public DMatrixRMaj w = new DMatrixRMaj(1, 1);
+
+    public DMatrixRBlock blockA, blockB, blockC;
+
+    @Setup
+    public void setup() {
+        SimdKernels_DDRM.set(simd ? new VectorKernelsSimd_DDRM() : null);
+
+        Random rand = new Random(234);
+        x = RandomMatrices_DDRM.rectangle(size*size, 1, -1, 1, rand);
+        y = RandomMatrices_DDRM.rectangle(size*size, 1, 0.5, 1, rand);
+        z.reshape(size*size, 1);
+
+        A = RandomMatrices_DDRM.rectangle(size, size, -1, 1, rand);
+        u = RandomMatrices_DDRM.rectangle(size, 1, -1, 1, rand);
+        w = RandomMatrices_DDRM.rectangle(size, 1, -1, 1, rand);
+
+        blockA = MatrixOps_DDRB.convert(A);
+        blockB = MatrixOps_DDRB.convert(RandomMatrices_DDRM.rectangle(size, size, -1, 1, rand));
+        blockC = new DMatrixRBlock(size, size);
+    }
+
+    // @formatter:off
+    @Benchmark public double innerProd() { return VectorVectorMult_DDRM.innerProd(x, y); }
+    @Benchmark public double innerProduct() { return MatrixVectorMult_DDRM.innerProduct(u.data, 0, A, w.data, 0); }
+    @Benchmark public void addOuterProd() { VectorVectorMult_DDRM.addOuterProd(0.1, u, w, A); }
+    @Benchmark public void matrixVector() { MatrixVectorMult_DDRM.mult(A, u, w); }
+    @Benchmark public void elementMult() { CommonOps_DDRM.elementMult(x, y, z); }
+    @Benchmark public void elementDiv() { CommonOps_DDRM.elementDiv(x, y, z); }
+    @Benchmark public double elementSum() { return CommonOps_DDRM.elementSum(x); }
+    @Benchmark public double elementSumAbs() { return CommonOps_DDRM.elementSumAbs(x); }
+    @Benchmark public void blockMult() { MatrixOps_DDRB.mult(blockA, blockB, blockC); }
+    // @formatter:on
+
+    public static void main( String[] args ) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(BenchmarkVectorKernels_DDRM.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+}
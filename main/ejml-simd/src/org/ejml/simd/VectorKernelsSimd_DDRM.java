@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.simd;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import org.ejml.dense.row.mult.VectorKernels_DDRM;
+
+/**
+ * Implementation of {@link VectorKernels_DDRM} which uses the Java Vector API. Each kernel processes as many
+ * elements as possible using the preferred vector width of the CPU then finishes the remainder with a scalar loop.
+ * This class is registered as a service and will be found automatically by
+ * {@link org.ejml.dense.row.mult.SimdKernels_DDRM} when this module is on the class path and the JVM has been
+ * started with "--add-modules jdk.incubator.vector".
+ *
+ * @author Peter Abeles
+ */
+public class VectorKernelsSimd_DDRM implements VectorKernels_DDRM {
+    static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override public double dot( double[] a, int offsetA, double[] b, int offsetB, int length ) {
+        final int width = SPECIES.length();
+        final int upper = SPECIES.loopBound(length);
+
+        // Two accumulators hide the latency of the fused multiply add
+        var sum0 = DoubleVector.zero(SPECIES);
+        var sum1 = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i + width < upper; i += 2*width) {
+            var va0 = DoubleVector.fromArray(SPECIES, a, offsetA + i);
+            var vb0 = DoubleVector.fromArray(SPECIES, b, offsetB + i);
+            var va1 = DoubleVector.fromArray(SPECIES, a, offsetA + i + width);
+            var vb1 = DoubleVector.fromArray(SPECIES, b, offsetB + i + width);
+            sum0 = va0.fma(vb0, sum0);
+            sum1 = va1.fma(vb1, sum1);
+        }
+        for (; i < upper; i += width) {
+            var va = DoubleVector.fromArray(SPECIES, a, offsetA + i);
+            var vb = DoubleVector.fromArray(SPECIES, b, offsetB + i);
+            sum0 = va.fma(vb, sum0);
+        }
+        double total = sum0.add(sum1).reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            total += a[offsetA + i]*b[offsetB + i];
+        }
+        return total;
+    }
+
+    @Override public void addScaled( double[] a, int offsetA, double beta, double[] b, int offsetB,
+                                     double[] c, int offsetC, int length ) {
+        final int upper = SPECIES.loopBound(length);
+
+        var vbeta = DoubleVector.broadcast(SPECIES, beta);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            var va = DoubleVector.fromArray(SPECIES, a, offsetA + i);
+            var vb = DoubleVector.fromArray(SPECIES, b, offsetB + i);
+            vb.fma(vbeta, va).intoArray(c, offsetC + i);
+        }
+        for (; i < length; i++) {
+            c[offsetC + i] = a[offsetA + i] + beta*b[offsetB + i];
+        }
+    }
+
+    @Override public void scale( double alpha, double[] a, int offsetA, double[] c, int offsetC, int length ) {
+        final int upper = SPECIES.loopBound(length);
+
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, offsetA + i).mul(alpha).intoArray(c, offsetC + i);
+        }
+        for (; i < length; i++) {
+            c[offsetC + i] = alpha*a[offsetA + i];
+        }
+    }
+
+    @Override
+    public void elementMult( double[] a, int offsetA, double[] b, int offsetB, double[] c, int offsetC, int length ) {
+        final int upper = SPECIES.loopBound(length);
+
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            var va = DoubleVector.fromArray(SPECIES, a, offsetA + i);
+            var vb = DoubleVector.fromArray(SPECIES, b, offsetB + i);
+            va.mul(vb).intoArray(c, offsetC + i);
+        }
+        for (; i < length; i++) {
+            c[offsetC + i] = a[offsetA + i]*b[offsetB + i];
+        }
+    }
+
+    @Override
+    public void elementDiv( double[] a, int offsetA, double[] b, int offsetB, double[] c, int offsetC, int length ) {
+        final int upper = SPECIES.loopBound(length);
+
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            var va = DoubleVector.fromArray(SPECIES, a, offsetA + i);
+            var vb = DoubleVector.fromArray(SPECIES, b, offsetB + i);
+            va.div(vb).intoArray(c, offsetC + i);
+        }
+        for (; i < length; i++) {
+            c[offsetC + i] = a[offsetA + i]/b[offsetB + i];
+        }
+    }
+
+    @Override public double elementSum( double[] a, int offset, int length ) {
+        final int upper = SPECIES.loopBound(length);
+
+        var sum = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            sum = sum.add(DoubleVector.fromArray(SPECIES, a, offset + i));
+        }
+        double total = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            total += a[offset + i];
+        }
+        return total;
+    }
+
+    @Override public double elementSumAbs( double[] a, int offset, int length ) {
+        final int upper = SPECIES.loopBound(length);
+
+        var sum = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            sum = sum.add(DoubleVector.fromArray(SPECIES, a, offset + i).abs());
+        }
+        double total = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            total += Math.abs(a[offset + i]);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2023, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of Efficient Java Matrix Library (EJML).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ejml.simd;
+
+import org.ejml.EjmlStandardJUnit;
+import org.ejml.UtilEjml;
+import org.ejml.dense.row.mult.SimdKernels_DDRM;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares each kernel against a scalar loop for lengths which include partial vectors
+ *
+ * @author Peter Abeles
+ */
+public class TestVectorKernelsSimd_DDRM extends EjmlStandardJUnit {
+    VectorKernelsSimd_DDRM alg = new VectorKernelsSimd_DDRM();
+
+    // Offsets into the arrays. Different offsets for each array ensure misaligned reads are handled
+    int offA = 1, offB = 3, offC = 2;
+
+    /**
+     * The service file should cause these kernels to be used automatically
+     */
+    @Test void discoveredByServiceLoader() {
+        assertTrue(SimdKernels_DDRM.get() instanceof VectorKernelsSimd_DDRM);
+    }
+
+    @Test void dot() {
+        for (int length = 0; length < 40; length++) {
+            double[] a = random(offA + length);
+            double[] b = random(offB + length);
+
+            double expected = 0;
+            for (int i = 0; i < length; i++) {
+                expected += a[offA + i]*b[offB + i];
+            }
+            assertEquals(expected, alg.dot(a, offA, b, offB, length), UtilEjml.TEST_F64);
+        }
+    }
+
+    @Test void addScaled() {
+        for (int length = 0; length < 40; length++) {
+            double[] a = random(offA + length);
+            double[] b = random(offB + length);
+            double[] c = random(offC + length);
+            double[] expected = c.clone();
+            for (int i = 0; i < length; i++) {
+                expected[offC + i] = a[offA + i] + 0.6*b[offB + i];
+            }
+            alg.addScaled(a, offA, 0.6, b, offB, c, offC, length);
+            assertArrayEquals(expected, c);
+
+            // In-place. The output is the same as the first input
+            expected = a.clone();
+            for (int i = 0; i < length; i++) {
+                expected[offA + i] += -1.2*b[offB + i];
+            }
+            alg.addScaled(a, offA, -1.2, b, offB, a, offA, length);
+            assertArrayEquals(expected, a);
+        }
+    }
+
+    @Test void scale() {
+        for (int length = 0; length < 40; length++) {
+            double[] a = random(offA + length);
+            double[] c = random(offC + length);
+            double[] expected = c.clone();
+            for (int i = 0; i < length; i++) {
+                expected[offC + i] = 2.5*a[offA + i];
+            }
+            alg.scale(2.5, a, offA, c, offC, length);
+            assertArrayEquals(expected, c);
+        }
+    }
+
+    @Test void elementMult() {
+        for (int length = 0; length < 40; length++) {
+            double[] a = random(offA + length);
+            double[] b = random(offB + length);
+            double[] c = random(offC + length);
+            double[] expected = c.clone();
+            for (int i = 0; i < length; i++) {
+                expected[offC + i] = a[offA + i]*b[offB + i];
+            }
+            alg.elementMult(a, offA, b, offB, c, offC, length);
+            assertArrayEquals(expected, c);
+        }
+    }
+
+    @Test void elementDiv() {
+        for (int length = 0; length < 40; length++) {
+            double[] a = random(offA + length);
+            double[] b = random(offB + length);
+            double[] c = random(offC + length);
+            double[] expected = c.clone();
+            for (int i = 0; i < length; i++) {
+                expected[offC + i] = a[offA + i]/b[offB + i];
+            }
+            alg.elementDiv(a, offA, b, offB, c, offC, length);
+            assertArrayEquals(expected, c);
+        }
+    }
+
+    @Test void elementSum() {
+        for (int length = 0; length < 40; length++) {
+            double[] a = random(offA + length);
+
+            double sum = 0, sumAbs = 0;
+            for (int i = 0; i < length; i++) {
+                sum += a[offA + i];
+                sumAbs += Math.abs(a[offA + i]);
+            }
+            assertEquals(sum, alg.elementSum(a, offA, length), UtilEjml.TEST_F64);
+            assertEquals(sumAbs, alg.elementSumAbs(a, offA, length), UtilEjml.TEST_F64);
+        }
+    }
+
+    double[] random( int length ) {
+        double[] a = new double[length];
+        for (int i = 0; i < length; i++) {
+            a[i] = rand.nextDouble() - 0.5;
+        }
+        return a;
+    }
+
+    static void assertArrayEquals( double[] expected, double[] found ) {
+        assertEquals(expected.length, found.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], found[i], UtilEjml.TEST_F64);
+        }
+    }
+}